@@ -67,12 +67,12 @@ public interface KafkaChannelConfig extends KafkaConsumerGroupConfig {
 
         properties.put("acks", "all");
         properties.put("retries", 0);
-        properties.put("batch.size", 4);
+        properties.put("batch.size", 16384);
         properties.put("buffer.memory", 33554432);
         properties.put("linger.ms", 10);
 
         properties.put("key.serializer", "org.apache.kafka.common.serialization.StringSerializer");
-        properties.put("value.serializer", "org.apache.kafka.common.serialization.StringSerializer");
+        properties.put("value.serializer", "org.apache.kafka.common.serialization.ByteArraySerializer");
 
         return properties;
     }
@@ -23,8 +23,12 @@ import org.openkilda.floodlight.service.kafka.KafkaConsumerSetup;
 import org.openkilda.floodlight.service.kafka.KafkaUtilityService;
 import org.openkilda.floodlight.switchmanager.ISwitchManager;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.google.common.annotations.VisibleForTesting;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.OffsetAndMetadata;
@@ -33,15 +37,32 @@ import org.apache.kafka.common.errors.InterruptException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.concurrent.ExecutorService;
-
+import java.util.NavigableSet;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Polls commands from Kafka and hands them over to the handlers. Commands of the same switch are handled in order of
+ * their offsets, commands of different switches are handled in parallel. An offset is committed only when all the
+ * commands of the partition up to it are handled, offsets which advanced are committed once per commit interval.
+ */
 public class Consumer implements Runnable {
     private static final Logger logger = LoggerFactory.getLogger(Consumer.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String SWITCH_ID_FIELD = "switch_id";
 
-    private final ExecutorService handlersPool;
+    private final SwitchShardedExecutor handlersPool;
     private final RecordHandler.Factory handlerFactory;
     private final KafkaConsumerSetup kafkaSetup;
     private final long commitInterval;
@@ -49,7 +70,7 @@ public class Consumer implements Runnable {
     private final KafkaUtilityService kafkaUtilityService;
     private final ISwitchManager switchManager; // HACK alert.. adding to facilitate safeSwitchTick()
 
-    public Consumer(FloodlightModuleContext moduleContext, ExecutorService handlersPool,
+    public Consumer(FloodlightModuleContext moduleContext, SwitchShardedExecutor handlersPool,
                     KafkaConsumerSetup kafkaSetup, RecordHandler.Factory handlerFactory,
                     long commitInterval) {
         this.handlersPool = requireNonNull(handlersPool);
@@ -76,32 +97,32 @@ public class Consumer implements Runnable {
              *  - max.poll.records = 500 (must be able to process about 2 records per second
              */
 
+            ConsumerSession session = new ConsumerSession();
             try (org.apache.kafka.clients.consumer.Consumer<String, String> consumer =
-                         kafkaUtilityService.makeConsumer(kafkaSetup)) {
+                         kafkaUtilityService.makeConsumer(kafkaSetup, session)) {
                 logger.info("Kafka consumer: start. Topics: {}", kafkaSetup.getTopics());
 
-                KafkaOffsetRegistry offsetRegistry = new KafkaOffsetRegistry(consumer, commitInterval);
-
-                while (true) {
-                    try {
-                        ConsumerRecords<String, String> batch = consumer.poll(100);
-                        if (batch.isEmpty()) {
-                            continue;
+                session.attach(consumer);
+                try {
+                    while (true) {
+                        try {
+                            ConsumerRecords<String, String> batch = consumer.poll(100);
+                            // the records held back by full shards are retried on each poll, even an empty one
+                            session.dispatch(batch);
+                            if (batch.isEmpty()) {
+                                continue;
+                            }
+
+                            logger.debug("Received records batch contain {} messages", batch.count());
+                        } finally {
+                            session.commitCompleted(false);
                         }
 
-                        logger.debug("Received records batch contain {} messages", batch.count());
-
-                        for (ConsumerRecord<String, String> record : batch) {
-                            handle(record);
-
-                            offsetRegistry.addAndCommit(record);
-                        }
-                    } finally {
-                        // force to commit after each completed batch or in a case of an exception / error.
-                        offsetRegistry.commitOffsets();
+                        switchManager.safeModeTick(); // HACK alert .. should go in its own timer loop
                     }
-
-                    switchManager.safeModeTick(); // HACK alert .. should go in its own timer loop
+                } finally {
+                    // commit offsets of handled records before the consumer is closed on an exception / error.
+                    session.commitCompleted(true);
                 }
             } catch (InterruptException ex) {
                 // Gracefully finish loop on thread interruption.
@@ -114,9 +135,191 @@ public class Consumer implements Runnable {
         }
     }
 
-    protected void handle(ConsumerRecord<String, String> record) {
+    /**
+     * Submits the record to its shard without blocking.
+     *
+     * @return false if the queue of the shard is full and the record must be retried later.
+     */
+    protected boolean handle(ConsumerRecord<String, String> record, PartitionWatermark watermark) {
         logger.trace("received message: {} - key:{}, value:{}", record.offset(), record.key(), record.value());
-        handlersPool.execute(handlerFactory.produce(record));
+        Runnable handler = handlerFactory.produce(record);
+
+        watermark.submitted(record.offset());
+        boolean accepted = handlersPool.tryExecute(getShardKey(record), () -> {
+            try {
+                handler.run();
+            } finally {
+                watermark.completed(record.offset());
+            }
+        });
+        if (!accepted) {
+            watermark.rejected(record.offset());
+        }
+        return accepted;
+    }
+
+    /**
+     * Gets the switch the command is addressed to. Only the beginning of the record is scanned up to the first switch
+     * id field. Records with no switch id are ordered by the record key, or by the partition if there is no key.
+     */
+    @VisibleForTesting
+    static String getShardKey(ConsumerRecord<String, String> record) {
+        if (record.value() != null) {
+            try (JsonParser parser = JSON_FACTORY.createParser(record.value())) {
+                JsonToken token;
+                while ((token = parser.nextToken()) != null) {
+                    if (token == JsonToken.FIELD_NAME && SWITCH_ID_FIELD.equals(parser.getCurrentName())
+                            && parser.nextToken() == JsonToken.VALUE_STRING) {
+                        return parser.getText();
+                    }
+                }
+            } catch (IOException e) {
+                logger.debug("Unable to find switch id in record {}: {}", record.offset(), e.getMessage());
+            }
+        }
+        if (record.key() != null) {
+            return record.key();
+        }
+        return record.topic() + "-" + record.partition();
+    }
+
+    /**
+     * State of a single consumer instance: the watermarks of the assigned partitions and the records which are polled
+     * but not accepted by the full shards yet. A partition with such records is paused, so the consumer keeps polling
+     * (and stays in the group) without fetching more of it, and is resumed once its records are submitted.
+     * <p/>
+     * The state of revoked partitions is dropped on rebalance, after their completed offsets are committed.
+     */
+    private class ConsumerSession implements ConsumerRebalanceListener {
+        private final Map<TopicPartition, PartitionWatermark> watermarks = new HashMap<>();
+        private final Map<TopicPartition, Deque<ConsumerRecord<String, String>>> backlogs = new HashMap<>();
+        private final Set<TopicPartition> paused = new HashSet<>();
+
+        private org.apache.kafka.clients.consumer.Consumer<String, String> consumer;
+        private KafkaOffsetRegistry offsetRegistry;
+
+        void attach(org.apache.kafka.clients.consumer.Consumer<String, String> consumer) {
+            this.consumer = consumer;
+            offsetRegistry = new KafkaOffsetRegistry(consumer, commitInterval);
+        }
+
+        void dispatch(ConsumerRecords<String, String> batch) {
+            for (TopicPartition partition : batch.partitions()) {
+                backlogs.computeIfAbsent(partition, ignore -> new ArrayDeque<>())
+                        .addAll(batch.records(partition));
+            }
+
+            Iterator<Entry<TopicPartition, Deque<ConsumerRecord<String, String>>>> iterator =
+                    backlogs.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Entry<TopicPartition, Deque<ConsumerRecord<String, String>>> entry = iterator.next();
+                TopicPartition partition = entry.getKey();
+                Deque<ConsumerRecord<String, String>> backlog = entry.getValue();
+                PartitionWatermark watermark = watermarks.computeIfAbsent(
+                        partition, ignore -> new PartitionWatermark());
+
+                while (!backlog.isEmpty() && handle(backlog.peekFirst(), watermark)) {
+                    backlog.removeFirst();
+                }
+
+                if (!backlog.isEmpty()) {
+                    if (paused.add(partition)) {
+                        logger.debug("Pause partition {}, {} records wait for a full shard", partition, backlog.size());
+                        consumer.pause(Collections.singleton(partition));
+                    }
+                } else {
+                    iterator.remove();
+                    if (paused.remove(partition)) {
+                        logger.debug("Resume partition {}", partition);
+                        consumer.resume(Collections.singleton(partition));
+                    }
+                }
+            }
+        }
+
+        /**
+         * Adds the completed offsets to the registry and commits them if the commit interval has passed or forced.
+         */
+        void commitCompleted(boolean force) {
+            if (offsetRegistry == null) {
+                return;
+            }
+            addCompletedOffsets(watermarks.keySet());
+            if (force) {
+                offsetRegistry.commitOffsets();
+            } else {
+                offsetRegistry.commitIfDue();
+            }
+        }
+
+        @Override
+        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+            logger.info("Kafka consumer: partitions revoked {}", partitions);
+            if (offsetRegistry != null) {
+                addCompletedOffsets(partitions);
+                offsetRegistry.commitOffsets();
+                offsetRegistry.forget(partitions);
+            }
+
+            // the records in progress may be redelivered to the new owner of the partition
+            for (TopicPartition partition : partitions) {
+                watermarks.remove(partition);
+                backlogs.remove(partition);
+                paused.remove(partition);
+            }
+        }
+
+        @Override
+        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+            logger.info("Kafka consumer: partitions assigned {}", partitions);
+        }
+
+        private void addCompletedOffsets(Collection<TopicPartition> partitions) {
+            for (TopicPartition partition : partitions) {
+                PartitionWatermark watermark = watermarks.get(partition);
+                if (watermark != null) {
+                    watermark.getCompletedOffset().ifPresent(offset -> offsetRegistry.add(partition, offset));
+                }
+            }
+        }
+    }
+
+    /**
+     * Tracks the records of a partition which are submitted but not handled yet.
+     */
+    @VisibleForTesting
+    static class PartitionWatermark {
+        private final NavigableSet<Long> inProgress = new ConcurrentSkipListSet<>();
+        private volatile long lastSubmitted = -1;
+        private long previousSubmitted = -1;
+
+        void submitted(long offset) {
+            inProgress.add(offset);
+            previousSubmitted = lastSubmitted;
+            lastSubmitted = offset;
+        }
+
+        /**
+         * Withdraws the last submitted offset, the executor has not accepted its record.
+         */
+        void rejected(long offset) {
+            inProgress.remove(offset);
+            lastSubmitted = previousSubmitted;
+        }
+
+        void completed(long offset) {
+            inProgress.remove(offset);
+        }
+
+        /**
+         * Gets the highest offset such that all the submitted records up to it are handled.
+         */
+        OptionalLong getCompletedOffset() {
+            long last = lastSubmitted;
+            Long firstInProgress = inProgress.isEmpty() ? null : inProgress.first();
+            long completed = firstInProgress != null ? firstInProgress - 1 : last;
+            return completed >= 0 ? OptionalLong.of(completed) : OptionalLong.empty();
+        }
     }
 
     /**
@@ -130,6 +333,7 @@ public class Consumer implements Runnable {
         private final long autoCommitInterval;
 
         private final Map<TopicPartition, Long> partitionToUncommittedOffset = new HashMap<>();
+        private final Map<TopicPartition, Long> partitionToCommittedOffset = new HashMap<>();
         private long lastCommitTime;
 
         KafkaOffsetRegistry(org.apache.kafka.clients.consumer.Consumer<String, String> consumer,
@@ -145,21 +349,29 @@ public class Consumer implements Runnable {
          * if more than autoCommitInterval ms passed since the last commit.
          */
         void addAndCommit(ConsumerRecord<String, String> record) {
-            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            add(new TopicPartition(record.topic(), record.partition()), record.offset());
+
+            commitIfDue();
+        }
+
+        /**
+         * Add the offset of a processed record of the partition to the registry. The offset is ignored if it is not
+         * above the one committed last.
+         */
+        void add(TopicPartition partition, long offset) {
+            Long committedOffset = partitionToCommittedOffset.get(partition);
+            if (committedOffset != null && committedOffset >= offset) {
+                return;
+            }
 
             Long previousOffset = partitionToUncommittedOffset.get(partition);
-            if (previousOffset != null && previousOffset > record.offset()) {
+            if (previousOffset != null && previousOffset > offset) {
                 throw new IllegalArgumentException(
                         format("The record has offset %d which less than the previously added %d.",
-                                record.offset(), previousOffset));
+                                offset, previousOffset));
             }
 
-            partitionToUncommittedOffset.put(partition, record.offset());
-
-            // commit offsets of processed messages
-            if ((System.currentTimeMillis() - lastCommitTime) >= autoCommitInterval) {
-                commitOffsets();
-            }
+            partitionToUncommittedOffset.put(partition, offset);
         }
 
         /**
@@ -174,10 +386,30 @@ public class Consumer implements Runnable {
 
                 consumer.commitSync(partitionToMetadata);
 
+                partitionToCommittedOffset.putAll(partitionToUncommittedOffset);
                 partitionToUncommittedOffset.clear();
             }
 
             lastCommitTime = System.currentTimeMillis();
         }
+
+        /**
+         * Commits the offsets added since the last commit if more than autoCommitInterval ms passed since it.
+         */
+        void commitIfDue() {
+            if ((System.currentTimeMillis() - lastCommitTime) >= autoCommitInterval) {
+                commitOffsets();
+            }
+        }
+
+        /**
+         * Drops the offsets of the partitions which are not assigned to the consumer anymore.
+         */
+        void forget(Collection<TopicPartition> partitions) {
+            for (TopicPartition partition : partitions) {
+                partitionToUncommittedOffset.remove(partition);
+                partitionToCommittedOffset.remove(partition);
+            }
+        }
     }
 }
@@ -36,6 +36,11 @@ public interface KafkaMessageCollectorConfig {
     @Min(1)
     int getDiscoExecutorCount();
 
+    @Key("consumer-executor-queue-size")
+    @Default("100")
+    @Min(1)
+    int getExecutorQueueSize();
+
     @Key("consumer-auto-commit-interval")
     @Default("1000")
     @Min(1)
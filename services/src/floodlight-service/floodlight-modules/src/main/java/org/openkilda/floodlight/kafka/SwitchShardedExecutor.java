@@ -0,0 +1,81 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.kafka;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes tasks on a fixed set of single-threaded shards. Tasks with the same shard key (i.e. the same switch) are
+ * executed one by one in order of submission, tasks with different keys run in parallel.
+ * <p/>
+ * Each shard has a bounded queue, submission into a full queue is rejected. So the caller holds back a slow switch
+ * instead of piling up its commands in memory, and is never blocked itself.
+ */
+public class SwitchShardedExecutor {
+    private final ThreadPoolExecutor[] shards;
+
+    public SwitchShardedExecutor(String name, int shardCount, int queueCapacity) {
+        checkArgument(shardCount > 0, "shardCount must be positive");
+        checkArgument(queueCapacity > 0, "queueCapacity must be positive");
+
+        ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                .setNameFormat(name + "-%d")
+                .setDaemon(true)
+                .build();
+        shards = new ThreadPoolExecutor[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+            // Tasks are put into the queue directly, so the worker must be running before the first task.
+            shards[i].prestartAllCoreThreads();
+        }
+    }
+
+    /**
+     * Submits the task into the shard of the key unless the queue of the shard is full.
+     *
+     * @return false if the queue is full and the task is not accepted.
+     */
+    public boolean tryExecute(String shardKey, Runnable task) {
+        ThreadPoolExecutor shard = shards[getShardIndex(shardKey)];
+        if (shard.isShutdown()) {
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+        return shard.getQueue().offer(task);
+    }
+
+    /**
+     * Stops the workers, queued tasks are dropped.
+     */
+    public void shutdown() {
+        for (ThreadPoolExecutor shard : shards) {
+            shard.shutdownNow();
+        }
+    }
+
+    int getShardIndex(String shardKey) {
+        int hash = shardKey != null ? shardKey.hashCode() : 0;
+        return Math.floorMod(hash ^ (hash >>> 16), shards.length);
+    }
+}
@@ -30,7 +30,7 @@ import java.util.List;
 
 @Builder()
 @lombok.Data
-@EqualsAndHashCode(callSuper = true)
+@EqualsAndHashCode(callSuper = true, exclude = "rawData")
 @AllArgsConstructor
 public class DiscoveryPacket extends BasePacket {
     public static final byte CHASSIS_ID_LLDPTV_PACKET_TYPE = (byte) 1;
@@ -46,6 +46,11 @@ public class DiscoveryPacket extends BasePacket {
     @Default
     private List<LLDPTLV> optionalTlvList = new ArrayList<>();
 
+    /**
+     * The received LLDPDU, kept to verify the signature over the original bytes.
+     */
+    private ByteBuffer rawData;
+
     DiscoveryPacket(Data data, boolean roundTripLatency) {
         this.roundTripLatency = roundTripLatency;
         deserialize(data.getData(), 0, data.getData().length);
@@ -90,6 +95,7 @@ public class DiscoveryPacket extends BasePacket {
      */
     public IPacket deserialize(byte[] data, int offset, int length) {
         this.optionalTlvList = new ArrayList<>();
+        this.rawData = ByteBuffer.wrap(data, offset, length).slice();
         ByteBuffer bb = ByteBuffer.wrap(data, offset, length);
         LLDPTLV tlv;
         do {
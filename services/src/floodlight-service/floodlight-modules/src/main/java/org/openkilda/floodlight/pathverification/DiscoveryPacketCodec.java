@@ -0,0 +1,299 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.pathverification;
+
+import static org.openkilda.floodlight.pathverification.DiscoveryPacket.OPTIONAL_LLDPTV_PACKET_TYPE;
+import static org.openkilda.floodlight.pathverification.PathVerificationService.HMAC_SIGNATURE_OPTIONAL_TYPE;
+import static org.openkilda.floodlight.pathverification.PathVerificationService.LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES;
+import static org.openkilda.floodlight.pathverification.PathVerificationService.ORGANIZATIONALLY_UNIQUE_IDENTIFIER;
+import static org.openkilda.floodlight.pathverification.PathVerificationService.SWITCH_T0_OPTIONAL_TYPE;
+import static org.openkilda.floodlight.pathverification.PathVerificationService.SWITCH_T1_OPTIONAL_TYPE;
+import static org.openkilda.floodlight.pathverification.PathVerificationService.TIMESTAMP_OPTIONAL_TYPE;
+
+import net.floodlightcontroller.packet.LLDPTLV;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Fast path of signed discovery packets.
+ * <p/>
+ * A discovery packet of a switch port is serialized once into a {@link Template}, each send copies the template and
+ * patches the timestamp, the packet id and the signature in place. The signature is a fixed-size HMAC-SHA256
+ * (truncated to 128 bits) TLV which covers all the LLDP TLVs before it, except the values of the round trip latency
+ * timestamps which are overwritten by switches. The received packet is verified over the received bytes, without
+ * decoding it.
+ * <p/>
+ * Signature TLV value: OUI (3 bytes), optional type (1), flags (1), packet id (8), HMAC (16).
+ */
+class DiscoveryPacketCodec {
+    static final int HMAC_SIZE = 16;
+    static final int SIGNATURE_TLV_VALUE_LENGTH = LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES + 1 + 8 + HMAC_SIZE;
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int TLV_HEADER_SIZE = 2;
+    private static final int FLAGS_POSITION = LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES;
+    private static final int PACKET_ID_POSITION = FLAGS_POSITION + 1;
+    private static final int HMAC_POSITION = PACKET_ID_POSITION + 8;
+    private static final byte FLAG_HAS_PACKET_ID = 0x01;
+    private static final int SWITCH_TIMESTAMP_TLV_VALUE_LENGTH = LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES + 8;
+    private static final byte[] ZERO_TIMESTAMP = new byte[8];
+    private static final int ETHER_TYPE_OFFSET = 12;
+    private static final int VLAN_TAG_SIZE = 4;
+    private static final int ETHER_TYPE_IPV4 = 0x0800;
+    private static final int ETHER_TYPE_VLAN = 0x8100;
+    private static final int ETHER_TYPE_QINQ = 0x88a8;
+    private static final int ETHER_TYPE_QINQ_LEGACY = 0x9100;
+
+    private final ThreadLocal<Mac> macs;
+
+    DiscoveryPacketCodec(String secret) throws NoSuchAlgorithmException {
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        // fail early on a broken JCE setup
+        Mac.getInstance(HMAC_ALGORITHM);
+        macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    /**
+     * Makes the signature TLV to be added to the template, the TLV is filled on each send.
+     */
+    static LLDPTLV makeSignatureTlvPlaceholder() {
+        byte[] value = new byte[SIGNATURE_TLV_VALUE_LENGTH];
+        System.arraycopy(ORGANIZATIONALLY_UNIQUE_IDENTIFIER, 0, value, 0, ORGANIZATIONALLY_UNIQUE_IDENTIFIER.length);
+        value[LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES - 1] = HMAC_SIGNATURE_OPTIONAL_TYPE;
+        return new LLDPTLV().setType(OPTIONAL_LLDPTV_PACKET_TYPE).setLength((short) value.length).setValue(value);
+    }
+
+    /**
+     * Reads the packet id from the value of the signature TLV.
+     */
+    static Long readPacketId(byte[] signatureTlvValue) {
+        if ((signatureTlvValue[FLAGS_POSITION] & FLAG_HAS_PACKET_ID) == 0) {
+            return null;
+        }
+        return ByteBuffer.wrap(signatureTlvValue).getLong(PACKET_ID_POSITION);
+    }
+
+    /**
+     * Makes the frame of a discovery packet from the template.
+     */
+    byte[] encode(Template template, long timestamp, Long packetId) {
+        byte[] frame = template.frame.clone();
+        ByteBuffer buffer = ByteBuffer.wrap(frame);
+        buffer.putLong(template.timestampOffset, timestamp);
+        if (packetId != null) {
+            frame[template.signatureOffset + FLAGS_POSITION] = FLAG_HAS_PACKET_ID;
+            buffer.putLong(template.signatureOffset + PACKET_ID_POSITION, packetId);
+        }
+
+        Mac mac = macs.get();
+        digest(mac, frame, template.lldpOffset, frame.length);
+        System.arraycopy(mac.doFinal(), 0, frame, template.signatureOffset + HMAC_POSITION, HMAC_SIZE);
+
+        updateUdpChecksum(frame, template.ipOffset, template.udpOffset);
+        return frame;
+    }
+
+    /**
+     * Verifies the signature of the LLDPDU. The signature TLV must be the last one before the end of LLDPDU TLV.
+     */
+    boolean verify(ByteBuffer lldp) {
+        if (lldp == null || !lldp.hasArray()) {
+            return false;
+        }
+        byte[] data = lldp.array();
+        int offset = lldp.arrayOffset() + lldp.position();
+        int limit = offset + lldp.remaining();
+
+        Mac mac = macs.get();
+        int signatureOffset = digest(mac, data, offset, limit);
+        if (signatureOffset < 0) {
+            mac.reset();
+            return false;
+        }
+        int end = signatureOffset + SIGNATURE_TLV_VALUE_LENGTH;
+        if (end + TLV_HEADER_SIZE > limit || data[end] != 0 || data[end + 1] != 0) {
+            mac.reset();
+            return false;
+        }
+
+        byte[] expected = mac.doFinal();
+        int difference = 0;
+        for (int i = 0; i < HMAC_SIZE; i++) {
+            difference |= expected[i] ^ data[signatureOffset + HMAC_POSITION + i];
+        }
+        return difference == 0;
+    }
+
+    /**
+     * Feeds the TLVs up to the HMAC of the signature TLV into the MAC.
+     *
+     * @return the offset of the signature TLV value, or -1 if there is no signature TLV.
+     */
+    private static int digest(Mac mac, byte[] data, int offset, int limit) {
+        int position = offset;
+        while (position + TLV_HEADER_SIZE <= limit) {
+            int header = ((data[position] & 0xff) << 8) | (data[position + 1] & 0xff);
+            int type = header >>> 9;
+            int length = header & 0x1ff;
+            int valueOffset = position + TLV_HEADER_SIZE;
+            if (type == 0 || valueOffset + length > limit) {
+                return -1;
+            }
+
+            if (isOptionalTlv(data, type, valueOffset, length, HMAC_SIGNATURE_OPTIONAL_TYPE,
+                    SIGNATURE_TLV_VALUE_LENGTH)) {
+                mac.update(data, position, TLV_HEADER_SIZE + HMAC_POSITION);
+                return valueOffset;
+            }
+            if (isOptionalTlv(data, type, valueOffset, length, SWITCH_T0_OPTIONAL_TYPE,
+                    SWITCH_TIMESTAMP_TLV_VALUE_LENGTH)
+                    || isOptionalTlv(data, type, valueOffset, length, SWITCH_T1_OPTIONAL_TYPE,
+                    SWITCH_TIMESTAMP_TLV_VALUE_LENGTH)) {
+                // the timestamp is written by the switch
+                mac.update(data, position, TLV_HEADER_SIZE + LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES);
+                mac.update(ZERO_TIMESTAMP);
+            } else {
+                mac.update(data, position, TLV_HEADER_SIZE + length);
+            }
+            position = valueOffset + length;
+        }
+        return -1;
+    }
+
+    private static boolean isOptionalTlv(byte[] data, int type, int valueOffset, int length, byte optionalType,
+                                         int expectedLength) {
+        return type == OPTIONAL_LLDPTV_PACKET_TYPE
+                && length == expectedLength
+                && data[valueOffset] == ORGANIZATIONALLY_UNIQUE_IDENTIFIER[0]
+                && data[valueOffset + 1] == ORGANIZATIONALLY_UNIQUE_IDENTIFIER[1]
+                && data[valueOffset + 2] == ORGANIZATIONALLY_UNIQUE_IDENTIFIER[2]
+                && data[valueOffset + 3] == optionalType;
+    }
+
+    /**
+     * Recalculates the UDP checksum, the payload is changed after the frame is serialized.
+     */
+    private static void updateUdpChecksum(byte[] frame, int ipOffset, int udpOffset) {
+        int udpLength = readShort(frame, udpOffset + 4);
+        frame[udpOffset + 6] = 0;
+        frame[udpOffset + 7] = 0;
+
+        // pseudo header: source and destination addresses, protocol, UDP length
+        long sum = 0;
+        for (int i = ipOffset + 12; i < ipOffset + 20; i += 2) {
+            sum += readShort(frame, i);
+        }
+        sum += frame[ipOffset + 9] & 0xff;
+        sum += udpLength;
+
+        int end = udpOffset + udpLength;
+        int i = udpOffset;
+        for (; i + 1 < end; i += 2) {
+            sum += readShort(frame, i);
+        }
+        if (i < end) {
+            sum += (frame[i] & 0xff) << 8;
+        }
+        while ((sum >>> 16) != 0) {
+            sum = (sum & 0xffff) + (sum >>> 16);
+        }
+
+        int checksum = (int) ~sum & 0xffff;
+        if (checksum == 0) {
+            checksum = 0xffff;
+        }
+        frame[udpOffset + 6] = (byte) (checksum >>> 8);
+        frame[udpOffset + 7] = (byte) checksum;
+    }
+
+    private static boolean isVlanTag(int etherType) {
+        return etherType == ETHER_TYPE_VLAN || etherType == ETHER_TYPE_QINQ || etherType == ETHER_TYPE_QINQ_LEGACY;
+    }
+
+    private static int readShort(byte[] data, int offset) {
+        return ((data[offset] & 0xff) << 8) | (data[offset + 1] & 0xff);
+    }
+
+    /**
+     * Serialized discovery packet of a switch port with the offsets of the fields patched on each send.
+     */
+    static final class Template {
+        private final byte[] frame;
+        private final int ipOffset;
+        private final int udpOffset;
+        private final int lldpOffset;
+        private final int timestampOffset;
+        private final int signatureOffset;
+
+        /**
+         * Locates the fields in the serialized Ethernet/IPv4/UDP/LLDP frame, the Ethernet header may have VLAN tags.
+         *
+         * @throws IllegalArgumentException if the frame is not an IPv4 one or has no timestamp or signature TLV.
+         */
+        Template(byte[] frame) {
+            this.frame = frame;
+            int etherTypeOffset = ETHER_TYPE_OFFSET;
+            while (isVlanTag(readShort(frame, etherTypeOffset))) {
+                etherTypeOffset += VLAN_TAG_SIZE;
+            }
+            if (readShort(frame, etherTypeOffset) != ETHER_TYPE_IPV4) {
+                throw new IllegalArgumentException("Discovery packet template is not an IPv4 packet");
+            }
+            ipOffset = etherTypeOffset + 2;
+            udpOffset = ipOffset + (frame[ipOffset] & 0x0f) * 4;
+            lldpOffset = udpOffset + 8;
+
+            int timestamp = -1;
+            int signature = -1;
+            int position = lldpOffset;
+            while (position + TLV_HEADER_SIZE <= frame.length) {
+                int header = readShort(frame, position);
+                int type = header >>> 9;
+                int length = header & 0x1ff;
+                int valueOffset = position + TLV_HEADER_SIZE;
+                if (type == 0) {
+                    break;
+                }
+                if (isOptionalTlv(frame, type, valueOffset, length, TIMESTAMP_OPTIONAL_TYPE,
+                        LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES + 8)) {
+                    timestamp = valueOffset + LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES;
+                } else if (isOptionalTlv(frame, type, valueOffset, length, HMAC_SIGNATURE_OPTIONAL_TYPE,
+                        SIGNATURE_TLV_VALUE_LENGTH)) {
+                    signature = valueOffset;
+                }
+                position = valueOffset + length;
+            }
+            if (timestamp < 0 || signature < 0) {
+                throw new IllegalArgumentException("Discovery packet template has no timestamp or signature TLV");
+            }
+            timestampOffset = timestamp;
+            signatureOffset = signature;
+        }
+    }
+}
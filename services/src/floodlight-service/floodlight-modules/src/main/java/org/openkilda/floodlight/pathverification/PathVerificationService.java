@@ -57,7 +57,10 @@ import com.auth0.jwt.interfaces.DecodedJWT;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import lombok.Value;
 import net.floodlightcontroller.core.IOFSwitch;
+import net.floodlightcontroller.core.IOFSwitchListener;
+import net.floodlightcontroller.core.PortChangeType;
 import net.floodlightcontroller.core.internal.IOFSwitchService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.FloodlightModuleException;
@@ -98,14 +101,18 @@ import java.io.UnsupportedEncodingException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
-public class PathVerificationService implements IFloodlightModule, IPathVerificationService, IInputTranslator {
+public class PathVerificationService implements IFloodlightModule, IPathVerificationService, IInputTranslator,
+        IOFSwitchListener {
     private static final Logger logger = LoggerFactory.getLogger(PathVerificationService.class);
     private static final Logger logIsl = LoggerFactory.getLogger(
             String.format("%s.ISL", PathVerificationService.class.getName()));
@@ -123,6 +130,8 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
     public static final byte TOKEN_OPTIONAL_TYPE = 0x03;
     public static final byte SWITCH_T0_OPTIONAL_TYPE = 0x04;
     public static final byte SWITCH_T1_OPTIONAL_TYPE = 0x05;
+    public static final byte HMAC_SIGNATURE_OPTIONAL_TYPE = 0x06;
+    public static final String JWT_DISCOVERY_SIGNATURE = "jwt";
     public static final int ETHERNET_HEADER_SIZE = 112; // 48 dst mac, 48 src mac, 16 ether type
     public static final int IP_V4_HEADER_SIZE = 160; /*
                                                       * 4 version, 4 IHL, 8 Type of service, 16 length, 16 ID,
@@ -165,6 +174,10 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
     private double islBandwidthQuotient = 1.0;
     private Algorithm algorithm;
     private JWTVerifier verifier;
+    private DiscoveryPacketCodec discoveryCodec;
+    private boolean jwtDiscoverySignature;
+    private final ConcurrentMap<DiscoveryTemplateKey, DiscoveryPacketCodec.Template> discoveryTemplates =
+            new ConcurrentHashMap<>();
 
     /**
      * IFloodlightModule Methods.
@@ -221,6 +234,7 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
         config = provider.getConfiguration(PathVerificationServiceConfig.class);
 
         islBandwidthQuotient = config.getIslBandwidthQuotient();
+        jwtDiscoverySignature = JWT_DISCOVERY_SIGNATURE.equalsIgnoreCase(config.getDiscoverySignature());
 
         initAlgorithm(config.getHmac256Secret());
     }
@@ -230,12 +244,18 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
         try {
             algorithm = Algorithm.HMAC256(secret);
             verifier = JWT.require(algorithm).build();
-        } catch (UnsupportedEncodingException e) {
+            discoveryCodec = new DiscoveryPacketCodec(secret);
+        } catch (UnsupportedEncodingException | NoSuchAlgorithmException e) {
             logger.error("Ivalid secret", e);
             throw new FloodlightModuleException("Invalid secret for HMAC256");
         }
     }
 
+    @VisibleForTesting
+    void setJwtDiscoverySignature(boolean jwtDiscoverySignature) {
+        this.jwtDiscoverySignature = jwtDiscoverySignature;
+    }
+
     @Override
     public void startUp(FloodlightModuleContext context) throws FloodlightModuleException {
         logger.info("Stating {}", PathVerificationService.class.getCanonicalName());
@@ -246,12 +266,54 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
         region = context.getServiceImpl(KafkaUtilityService.class).getKafkaChannel().getRegion();
         InputService inputService = context.getServiceImpl(InputService.class);
         inputService.addTranslator(OFType.PACKET_IN, this);
+        switchService.addOFSwitchListener(this);
 
         context.getServiceImpl(PingService.class).setup(context);
         context.getServiceImpl(IRestApiService.class)
                 .addRestletRoutable(new PathVerificationServiceWebRoutable());
     }
 
+    /**
+     * IOFSwitchListener Methods. The discovery templates of gone switches and ports are dropped, so the cache holds
+     * only the ports in use and a reconnected switch gets templates with its actual address.
+     */
+    @Override
+    public void switchAdded(DatapathId switchId) {
+        // the templates are built on the first discovery packet
+    }
+
+    @Override
+    public void switchRemoved(DatapathId switchId) {
+        evictDiscoveryTemplates(switchId, null);
+    }
+
+    @Override
+    public void switchActivated(DatapathId switchId) {
+        // the templates are built on the first discovery packet
+    }
+
+    @Override
+    public void switchPortChanged(DatapathId switchId, OFPortDesc port, PortChangeType type) {
+        if (type == PortChangeType.DELETE || type == PortChangeType.DOWN) {
+            evictDiscoveryTemplates(switchId, port.getPortNo());
+        }
+    }
+
+    @Override
+    public void switchChanged(DatapathId switchId) {
+        evictDiscoveryTemplates(switchId, null);
+    }
+
+    @Override
+    public void switchDeactivated(DatapathId switchId) {
+        evictDiscoveryTemplates(switchId, null);
+    }
+
+    private void evictDiscoveryTemplates(DatapathId switchId, OFPort port) {
+        discoveryTemplates.keySet().removeIf(
+                key -> key.getSwitchId().equals(switchId) && (port == null || key.getPort().equals(port)));
+    }
+
     @Override
     public Command makeCommand(CommandContext context, OfInput input) {
         return new Command(context) {
@@ -350,104 +412,21 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
      */
     OFPacketOut generateDiscoveryPacket(IOFSwitch srcSw, OFPort port, boolean sign, Long packetId) {
         try {
-            byte[] dpidArray = new byte[8];
-            ByteBuffer dpidBb = ByteBuffer.wrap(dpidArray);
-
-            DatapathId dpid = srcSw.getId();
-            dpidBb.putLong(dpid.getLong());
-            byte[] chassisId = new byte[]{4, 0, 0, 0, 0, 0, 0};
-            System.arraycopy(dpidArray, 2, chassisId, 1, 6);
-            // Set the optionalTLV to the full SwitchID
-            byte[] dpidTlvValue = Arrays.concatenate(
-                    ORGANIZATIONALLY_UNIQUE_IDENTIFIER,
-                    new byte[] {REMOTE_SWITCH_OPTIONAL_TYPE, 0, 0, 0, 0, 0, 0, 0, 0});
-            System.arraycopy(dpidArray, 0, dpidTlvValue, LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES, 8);
-
-            // Set src mac to be able to detect the origin of the packet.
-            // NB: previously we set port's address instead of switch (some switches declare unique address per port)
-            byte[] srcMac = new byte[6];
-            System.arraycopy(dpidArray, 2, srcMac, 0, 6);
-
-            byte[] portId = new byte[]{2, 0, 0};
-            ByteBuffer portBb = ByteBuffer.wrap(portId, 1, 2);
-            portBb.putShort(port.getShortPortNumber());
-
-            byte[] ttlValue = new byte[]{0, 0x78};
-            DiscoveryPacket dp = DiscoveryPacket.builder()
-                    .chassisId(makeIdLldptvPacket(chassisId, CHASSIS_ID_LLDPTV_PACKET_TYPE))
-                    .portId(makeIdLldptvPacket(portId, PORT_ID_LLDPTV_PACKET_TYPE))
-                    .ttl(makeIdLldptvPacket(ttlValue, TTL_LLDPTV_PACKET_TYPE))
-                    .build();
-
-            // Add TLV for t0, this will be overwritten by the switch if it supports switch timestamps
-            dp.getOptionalTlvList().add(switchTimestampTlv(SWITCH_T0_OPTIONAL_TYPE));
-
-            // Add TLV for t1, this will be overwritten by the switch if it supports switch timestamps
-            dp.getOptionalTlvList().add(switchTimestampTlv(SWITCH_T1_OPTIONAL_TYPE));
-
-            LLDPTLV dpidTlv = makeIdLldptvPacket(dpidTlvValue, OPTIONAL_LLDPTV_PACKET_TYPE);
-            dp.getOptionalTlvList().add(dpidTlv);
-
             // Add T0 based on format from Floodlight LLDP
             long time = System.currentTimeMillis();
             long swLatency = srcSw.getLatency().getValue();
-            byte[] timestampTlvValue = ByteBuffer.allocate(Long.SIZE / 8 + LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES)
-                    .put(ORGANIZATIONALLY_UNIQUE_IDENTIFIER)
-                    .put(TIMESTAMP_OPTIONAL_TYPE) // 0x01 is what we'll use to differentiate DPID 0x00 from time 0x01
-                    .putLong(time + swLatency /* account for our switch's one-way latency */)
-                    .array();
-
-            LLDPTLV timestampTlv = makeIdLldptvPacket(timestampTlvValue, OPTIONAL_LLDPTV_PACKET_TYPE);
-
-            dp.getOptionalTlvList().add(timestampTlv);
-
-            // Type
-            byte[] typeTlvValue = ByteBuffer.allocate(Integer.SIZE / 8 + LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES)
-                    .put(ORGANIZATIONALLY_UNIQUE_IDENTIFIER)
-                    .put(PATH_ORDINAL_OPTIONAL_TYPE)
-                    .putInt(PathType.ISL.ordinal()).array();
-            LLDPTLV typeTlv = makeIdLldptvPacket(typeTlvValue, OPTIONAL_LLDPTV_PACKET_TYPE);
-            dp.getOptionalTlvList().add(typeTlv);
-
-            if (sign) {
-                Builder builder = JWT.create()
-                        .withClaim("dpid", dpid.getLong())
-                        .withClaim("ts", time + swLatency);
-                if (packetId != null) {
-                    builder.withClaim("id", packetId);
-                }
-                String token = builder.sign(algorithm);
-
-                byte[] tokenBytes = token.getBytes(Charset.forName("UTF-8"));
-
-                byte[] tokenTlvValue = ByteBuffer.allocate(LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES + tokenBytes.length)
-                        .put(ORGANIZATIONALLY_UNIQUE_IDENTIFIER)
-                        .put(TOKEN_OPTIONAL_TYPE)
-                        .put(tokenBytes).array();
-                LLDPTLV tokenTlv = makeIdLldptvPacket(tokenTlvValue, OPTIONAL_LLDPTV_PACKET_TYPE);
-
-                dp.getOptionalTlvList().add(tokenTlv);
+            long timestamp = time + swLatency; /* account for our switch's one-way latency */
+
+            byte[] data;
+            if (!sign) {
+                data = serializeDiscoveryPacket(srcSw, port, timestamp, null);
+            } else if (jwtDiscoverySignature) {
+                LLDPTLV tokenTlv = makeTokenTlv(srcSw.getId(), timestamp, packetId);
+                data = serializeDiscoveryPacket(srcSw, port, timestamp, tokenTlv);
+            } else {
+                data = discoveryCodec.encode(getDiscoveryTemplate(srcSw, port), timestamp, packetId);
             }
 
-            MacAddress dstMac = MacAddress.of(config.getVerificationBcastPacketDst());
-            IPv4Address dstIp = IPv4Address.of(DISCOVERY_PACKET_IP_DST);
-            IPv4 l3 = new IPv4()
-                    .setSourceAddress(
-                            IPv4Address.of(((InetSocketAddress) srcSw.getInetAddress()).getAddress().getAddress()))
-                    .setDestinationAddress(dstIp).setTtl((byte) 64).setProtocol(IpProtocol.UDP);
-
-            UDP l4 = new UDP();
-            l4.setSourcePort(TransportPort.of(DISCOVERY_PACKET_UDP_PORT));
-            l4.setDestinationPort(TransportPort.of(DISCOVERY_PACKET_UDP_PORT));
-
-
-            Ethernet l2 = new Ethernet().setSourceMACAddress(MacAddress.of(srcMac))
-                    .setDestinationMACAddress(dstMac).setEtherType(EthType.IPv4);
-            l2.setPayload(l3);
-            l3.setPayload(l4);
-            l4.setPayload(dp);
-
-            byte[] data = l2.serialize();
             OFPacketOut.Builder pob = srcSw.getOFFactory().buildPacketOut()
                     .setBufferId(OFBufferId.NO_BUFFER).setActions(getDiscoveryActions(srcSw, port))
                     .setData(data);
@@ -460,6 +439,113 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
         return null;
     }
 
+    private DiscoveryPacketCodec.Template getDiscoveryTemplate(IOFSwitch srcSw, OFPort port) {
+        IPv4Address srcIp = IPv4Address.of(((InetSocketAddress) srcSw.getInetAddress()).getAddress().getAddress());
+        return discoveryTemplates.computeIfAbsent(new DiscoveryTemplateKey(srcSw.getId(), port, srcIp),
+                key -> new DiscoveryPacketCodec.Template(serializeDiscoveryPacket(
+                        srcSw, port, 0L, DiscoveryPacketCodec.makeSignatureTlvPlaceholder())));
+    }
+
+    private LLDPTLV makeTokenTlv(DatapathId dpid, long timestamp, Long packetId) {
+        Builder builder = JWT.create()
+                .withClaim("dpid", dpid.getLong())
+                .withClaim("ts", timestamp);
+        if (packetId != null) {
+            builder.withClaim("id", packetId);
+        }
+        String token = builder.sign(algorithm);
+
+        byte[] tokenBytes = token.getBytes(Charset.forName("UTF-8"));
+
+        byte[] tokenTlvValue = ByteBuffer.allocate(LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES + tokenBytes.length)
+                .put(ORGANIZATIONALLY_UNIQUE_IDENTIFIER)
+                .put(TOKEN_OPTIONAL_TYPE)
+                .put(tokenBytes).array();
+        return makeIdLldptvPacket(tokenTlvValue, OPTIONAL_LLDPTV_PACKET_TYPE);
+    }
+
+    private byte[] serializeDiscoveryPacket(IOFSwitch srcSw, OFPort port, long timestamp, LLDPTLV signatureTlv) {
+        byte[] dpidArray = new byte[8];
+        ByteBuffer dpidBb = ByteBuffer.wrap(dpidArray);
+
+        DatapathId dpid = srcSw.getId();
+        dpidBb.putLong(dpid.getLong());
+        byte[] chassisId = new byte[]{4, 0, 0, 0, 0, 0, 0};
+        System.arraycopy(dpidArray, 2, chassisId, 1, 6);
+        // Set the optionalTLV to the full SwitchID
+        byte[] dpidTlvValue = Arrays.concatenate(
+                ORGANIZATIONALLY_UNIQUE_IDENTIFIER,
+                new byte[] {REMOTE_SWITCH_OPTIONAL_TYPE, 0, 0, 0, 0, 0, 0, 0, 0});
+        System.arraycopy(dpidArray, 0, dpidTlvValue, LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES, 8);
+
+        // Set src mac to be able to detect the origin of the packet.
+        // NB: previously we set port's address instead of switch (some switches declare unique address per port)
+        byte[] srcMac = new byte[6];
+        System.arraycopy(dpidArray, 2, srcMac, 0, 6);
+
+        byte[] portId = new byte[]{2, 0, 0};
+        ByteBuffer portBb = ByteBuffer.wrap(portId, 1, 2);
+        portBb.putShort(port.getShortPortNumber());
+
+        byte[] ttlValue = new byte[]{0, 0x78};
+        DiscoveryPacket dp = DiscoveryPacket.builder()
+                .chassisId(makeIdLldptvPacket(chassisId, CHASSIS_ID_LLDPTV_PACKET_TYPE))
+                .portId(makeIdLldptvPacket(portId, PORT_ID_LLDPTV_PACKET_TYPE))
+                .ttl(makeIdLldptvPacket(ttlValue, TTL_LLDPTV_PACKET_TYPE))
+                .build();
+
+        // Add TLV for t0, this will be overwritten by the switch if it supports switch timestamps
+        dp.getOptionalTlvList().add(switchTimestampTlv(SWITCH_T0_OPTIONAL_TYPE));
+
+        // Add TLV for t1, this will be overwritten by the switch if it supports switch timestamps
+        dp.getOptionalTlvList().add(switchTimestampTlv(SWITCH_T1_OPTIONAL_TYPE));
+
+        LLDPTLV dpidTlv = makeIdLldptvPacket(dpidTlvValue, OPTIONAL_LLDPTV_PACKET_TYPE);
+        dp.getOptionalTlvList().add(dpidTlv);
+
+        byte[] timestampTlvValue = ByteBuffer.allocate(Long.SIZE / 8 + LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES)
+                .put(ORGANIZATIONALLY_UNIQUE_IDENTIFIER)
+                .put(TIMESTAMP_OPTIONAL_TYPE) // 0x01 is what we'll use to differentiate DPID 0x00 from time 0x01
+                .putLong(timestamp)
+                .array();
+
+        LLDPTLV timestampTlv = makeIdLldptvPacket(timestampTlvValue, OPTIONAL_LLDPTV_PACKET_TYPE);
+
+        dp.getOptionalTlvList().add(timestampTlv);
+
+        // Type
+        byte[] typeTlvValue = ByteBuffer.allocate(Integer.SIZE / 8 + LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES)
+                .put(ORGANIZATIONALLY_UNIQUE_IDENTIFIER)
+                .put(PATH_ORDINAL_OPTIONAL_TYPE)
+                .putInt(PathType.ISL.ordinal()).array();
+        LLDPTLV typeTlv = makeIdLldptvPacket(typeTlvValue, OPTIONAL_LLDPTV_PACKET_TYPE);
+        dp.getOptionalTlvList().add(typeTlv);
+
+        if (signatureTlv != null) {
+            dp.getOptionalTlvList().add(signatureTlv);
+        }
+
+        MacAddress dstMac = MacAddress.of(config.getVerificationBcastPacketDst());
+        IPv4Address dstIp = IPv4Address.of(DISCOVERY_PACKET_IP_DST);
+        IPv4 l3 = new IPv4()
+                .setSourceAddress(
+                        IPv4Address.of(((InetSocketAddress) srcSw.getInetAddress()).getAddress().getAddress()))
+                .setDestinationAddress(dstIp).setTtl((byte) 64).setProtocol(IpProtocol.UDP);
+
+        UDP l4 = new UDP();
+        l4.setSourcePort(TransportPort.of(DISCOVERY_PACKET_UDP_PORT));
+        l4.setDestinationPort(TransportPort.of(DISCOVERY_PACKET_UDP_PORT));
+
+
+        Ethernet l2 = new Ethernet().setSourceMACAddress(MacAddress.of(srcMac))
+                .setDestinationMACAddress(dstMac).setEtherType(EthType.IPv4);
+        l2.setPayload(l3);
+        l3.setPayload(l4);
+        l4.setPayload(dp);
+
+        return l2.serialize();
+    }
+
     private LLDPTLV makeIdLldptvPacket(byte[] data, byte type) {
         return new LLDPTLV().setType(type).setLength((short) data.length).setValue(data);
     }
@@ -669,6 +755,15 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
             } else if (matchOptionalLldptlv(lldptlv, SWITCH_T1_OPTIONAL_TYPE, 12)) {
                 builder.switchT1(noviflowTimestamp(Arrays.copyOfRange(
                         lldptlv.getValue(), LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES, lldptlv.getValue().length)));
+            } else if (matchOptionalLldptlv(
+                    lldptlv, HMAC_SIGNATURE_OPTIONAL_TYPE, DiscoveryPacketCodec.SIGNATURE_TLV_VALUE_LENGTH)) {
+                boolean signed = discoveryCodec.verify(discoveryPacket.getRawData());
+                if (signed) {
+                    builder.packetId(DiscoveryPacketCodec.readPacketId(lldptlv.getValue()));
+                } else {
+                    logger.error("Packet verification failed");
+                }
+                builder.signed(signed);
             } else if (matchOptionalLldptlv(lldptlv, TOKEN_OPTIONAL_TYPE)) {
                 ByteBuffer bb = ByteBuffer.wrap(lldptlv.getValue());
                 bb.position(LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES);
@@ -739,4 +834,11 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
     private long getAvailableBandwidth(long speed) {
         return (long) (speed * islBandwidthQuotient);
     }
+
+    @Value
+    private static class DiscoveryTemplateKey {
+        private DatapathId switchId;
+        private OFPort port;
+        private IPv4Address address;
+    }
 }
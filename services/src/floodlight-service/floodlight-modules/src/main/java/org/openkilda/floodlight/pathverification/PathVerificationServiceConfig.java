@@ -17,6 +17,7 @@ package org.openkilda.floodlight.pathverification;
 
 import com.sabre.oss.conf4j.annotation.Configuration;
 import com.sabre.oss.conf4j.annotation.Default;
+import com.sabre.oss.conf4j.annotation.Description;
 import com.sabre.oss.conf4j.annotation.Key;
 
 import javax.validation.constraints.Max;
@@ -35,6 +36,13 @@ public interface PathVerificationServiceConfig {
     @NotBlank
     String getHmac256Secret();
 
+    @Key("discovery-signature")
+    @Default("jwt")
+    @Description("Signature of sent discovery packets: 'jwt' for a JWT token TLV or 'hmac' for a binary HMAC TLV. "
+               + "Received packets are accepted with either signature, so 'hmac' can be enabled once all the "
+               + "speakers are upgraded.")
+    String getDiscoverySignature();
+
     @Key("verification-bcast-packet-dst")
     @Default("00:26:E1:FF:FF:FF")
     String getVerificationBcastPacketDst();
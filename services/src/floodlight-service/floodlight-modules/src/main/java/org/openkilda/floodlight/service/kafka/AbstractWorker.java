@@ -18,22 +18,25 @@ package org.openkilda.floodlight.service.kafka;
 import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+
+import java.util.concurrent.Future;
 
 abstract class AbstractWorker {
-    protected final Producer<String, String> kafkaProducer;
+    protected final Producer<String, byte[]> kafkaProducer;
 
     AbstractWorker(AbstractWorker other) {
         this(other.kafkaProducer);
     }
 
-    AbstractWorker(Producer<String, String> kafkaProducer) {
+    AbstractWorker(Producer<String, byte[]> kafkaProducer) {
         this.kafkaProducer = kafkaProducer;
     }
 
     /**
-     * Serialize and send message into kafka topic.
+     * Send serialized message into kafka topic.
      */
-    abstract SendStatus send(ProducerRecord<String, String> record, Callback callback);
+    abstract Future<RecordMetadata> send(ProducerRecord<String, byte[]> record, Callback callback);
 
     void deactivate(long transitionPeriod) {}
 
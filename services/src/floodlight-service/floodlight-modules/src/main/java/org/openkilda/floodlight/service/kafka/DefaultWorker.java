@@ -18,14 +18,17 @@ package org.openkilda.floodlight.service.kafka;
 import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+
+import java.util.concurrent.Future;
 
 class DefaultWorker extends AbstractWorker {
-    DefaultWorker(Producer<String, String> kafkaProducer) {
+    DefaultWorker(Producer<String, byte[]> kafkaProducer) {
         super(kafkaProducer);
     }
 
     @Override
-    SendStatus send(ProducerRecord<String, String> record, Callback callback) {
-        return new SendStatus(kafkaProducer.send(record, callback));
+    Future<RecordMetadata> send(ProducerRecord<String, byte[]> record, Callback callback) {
+        return kafkaProducer.send(record, callback);
     }
 }
@@ -21,8 +21,8 @@ import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.event.IslInfoData;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.annotations.VisibleForTesting;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.Producer;
@@ -31,111 +31,193 @@ import org.apache.kafka.clients.producer.RecordMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
+/**
+ * Sends messages into kafka asynchronously. Callers only put messages into a lock-free queue, the dispatcher thread
+ * serializes them and passes them to the kafka producer, so a caller (i.e. an OpenFlow I/O thread) never waits for
+ * serialization or for kafka.
+ * <p/>
+ * Changes of the guaranteed order mode go through the same queue, so they take effect exactly between the messages
+ * sent before and after the change.
+ */
 public class KafkaProducerService implements IKafkaProducerService {
 
     private static final Logger logger = LoggerFactory.getLogger(KafkaProducerService.class);
     private static final Logger discoLogger = LoggerFactory.getLogger(
             String.format("%s.DISCO", KafkaProducerService.class.getName()));
 
+    private static final int QUEUE_CAPACITY = 1 << 16;
+    private static final int DISPATCH_BATCH_SIZE = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FULL_QUEUE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
     private int failedSendMessageCounter;
-    private Producer<String, String> producer;
-    private final Map<String, AbstractWorker> workersMap = new HashMap<>();
+    private Producer<String, byte[]> producer;
     private final ObjectMapper jsonObjectMapper = new ObjectMapper();
+    private final MpscRingBuffer<Runnable> queue = new MpscRingBuffer<>(QUEUE_CAPACITY);
+
+    // accessed by the dispatcher thread only
+    private final Map<String, AbstractWorker> workersMap = new HashMap<>();
+    private final ByteArrayOutputStream encodeBuffer = new ByteArrayOutputStream(4096);
+
+    private Thread dispatcher;
+    private volatile boolean dispatcherIdle;
+    private volatile long dispatchedCount;
 
     @Override
     public void setup(FloodlightModuleContext moduleContext) {
         producer = moduleContext.getServiceImpl(KafkaUtilityService.class).makeProducer();
+
+        dispatcher = new Thread(this::dispatchLoop, "kafka-producer-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
     }
 
     /**
      * Enable guaranteed message order for topic.
      */
-    public synchronized void enableGuaranteedOrder(String topic) {
-        logger.debug("Enable predictable order for topic {}", topic);
-        AbstractWorker worker = getWorker(topic);
-        workersMap.put(topic, new OrderAwareWorker(worker));
+    public void enableGuaranteedOrder(String topic) {
+        submit(() -> {
+            logger.debug("Enable predictable order for topic {}", topic);
+            AbstractWorker worker = getWorker(topic);
+            workersMap.put(topic, new OrderAwareWorker(worker));
+        });
     }
 
     /**
      * Disable guaranteed message order for topic.
      */
-    public synchronized void disableGuaranteedOrder(String topic) {
-        logger.debug(
-                "Disable predictable order for topic {} (due to effect of transition period some future messages will "
-                + "be forced to have predictable order)", topic);
-        getWorker(topic).deactivate(1000);
+    public void disableGuaranteedOrder(String topic) {
+        submit(() -> {
+            logger.debug(
+                    "Disable predictable order for topic {} (due to effect of transition period some future messages "
+                    + "will be forced to have predictable order)", topic);
+            getWorker(topic).deactivate(1000);
+        });
     }
 
     /**
      * Disable guaranteed message order for topic, with defined transition period.
      */
-    public synchronized void disableGuaranteedOrder(String topic, long transitionPeriod) {
-        logger.debug(
-                "Disable predictable order for topic {} (transition period {} ms)", topic, transitionPeriod);
-        getWorker(topic).deactivate(transitionPeriod);
+    public void disableGuaranteedOrder(String topic, long transitionPeriod) {
+        submit(() -> {
+            logger.debug(
+                    "Disable predictable order for topic {} (transition period {} ms)", topic, transitionPeriod);
+            getWorker(topic).deactivate(transitionPeriod);
+        });
     }
 
     public void sendMessageAndTrack(String topic, Message message) {
-        produce(encode(topic, message), new SendStatusCallback(this, topic, message));
+        produce(new PendingMessage(topic, null, message, new SendStatusCallback(this, topic, message), null));
     }
 
     public void sendMessageAndTrack(String topic, String key, Message message) {
-        produce(encode(topic, key, message), new SendStatusCallback(this, topic, message));
+        produce(new PendingMessage(topic, key, message, new SendStatusCallback(this, topic, message), null));
     }
 
     @Override
     public void sendMessageAndTrack(String topic, String key, AbstractMessage message) {
-        produce(encode(topic, key, message), new SendStatusCallback(this, topic,
-                message.getMessageContext().getCorrelationId()));
+        produce(new PendingMessage(topic, key, message, new SendStatusCallback(this, topic,
+                message.getMessageContext().getCorrelationId()), null));
     }
 
     /**
      * Push message into kafka-broker and do not control operation result.
      *
-     * <p>Caller can check operation result by himself using returned {@link SendStatusCallback} object.
+     * <p>Caller can check operation result by himself using returned {@link SendStatus} object.
      */
     public SendStatus sendMessage(String topic, Message message) {
-        SendStatus sendStatus = produce(encode(topic, message), null);
-        return sendStatus;
+        CompletableFuture<Future<RecordMetadata>> dispatched = new CompletableFuture<>();
+        produce(new PendingMessage(topic, null, message, null, dispatched));
+        return new SendStatus(dispatched);
     }
 
-    protected SendStatus produce(ProducerRecord<String, String> record, Callback callback) {
-        logger.debug("Send kafka message: {} <== key:{} value:{}", record.topic(), record.key(), record.value());
-        return getWorker(record.topic())
-                .send(record, callback);
+    protected void produce(PendingMessage message) {
+        submit(message);
     }
 
-    private ProducerRecord<String, String> encode(String topic, Message payload) {
-        return encode(topic, null, payload);
+    /**
+     * get failed sent messages count since last run.
+     * @return
+     */
+    public int getFailedSendMessageCounter() {
+        return failedSendMessageCounter;
     }
 
-    private ProducerRecord<String, String> encode(String topic, String key, Object payload) {
-        return new ProducerRecord<>(topic, key, encodeValue(payload));
+    /**
+     * Waits until all the messages and order changes submitted so far are passed to the kafka producer.
+     */
+    @VisibleForTesting
+    void waitForDispatch() throws InterruptedException {
+        long submitted = queue.getClaimedCount();
+        while (dispatchedCount < submitted) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
     }
 
-    private String encodeValue(Object message) {
-        String encoded;
-        try {
-            encoded = jsonObjectMapper.writeValueAsString(message);
-        } catch (JsonProcessingException e) {
-            throw new IllegalArgumentException(String.format("Can not serialize message: %s", e.toString()), e);
+    private void submit(Runnable task) {
+        while (!queue.offer(task)) {
+            // The dispatcher is far behind, the only option left is to wait for it.
+            LockSupport.parkNanos(this, FULL_QUEUE_PARK_NANOS);
         }
+        if (dispatcherIdle && dispatcher != null) {
+            LockSupport.unpark(dispatcher);
+        }
+    }
 
-        return encoded;
+    private void dispatchLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            if (dispatchBatch() == 0) {
+                dispatcherIdle = true;
+                // check again after the flag is set, to not miss the wakeup of a message submitted meanwhile
+                if (queue.isEmpty()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                dispatcherIdle = false;
+            }
+        }
     }
 
-    /**
-     * get failed sent messages count since last run.
-     * @return
-     */
-    public int getFailedSendMessageCounter() {
-        return failedSendMessageCounter;
+    private int dispatchBatch() {
+        int count = 0;
+        Runnable task;
+        while (count < DISPATCH_BATCH_SIZE && (task = queue.poll()) != null) {
+            try {
+                task.run();
+            } catch (Exception e) {
+                logger.error("Failed to process kafka producer request: {}", e.toString(), e);
+            }
+            count++;
+            dispatchedCount++;
+        }
+        return count;
+    }
+
+    private Future<RecordMetadata> send(String topic, String key, Object payload, Callback callback) {
+        logger.debug("Send kafka message: {} <== key:{} value:{}", topic, key, payload);
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, key, encodeValue(payload));
+        return getWorker(topic).send(record, callback);
+    }
+
+    private byte[] encodeValue(Object message) {
+        encodeBuffer.reset();
+        try {
+            jsonObjectMapper.writeValue(encodeBuffer, message);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(String.format("Can not serialize message: %s", e.toString()), e);
+        }
+        return encodeBuffer.toByteArray();
     }
 
-    private synchronized AbstractWorker getWorker(String topic) {
+    private AbstractWorker getWorker(String topic) {
         AbstractWorker worker = workersMap.computeIfAbsent(
                 topic, t -> new DefaultWorker(producer));
         if (!worker.isActive()) {
@@ -145,6 +227,45 @@ public class KafkaProducerService implements IKafkaProducerService {
         return worker;
     }
 
+    /**
+     * Message waiting in the queue for serialization and sending.
+     */
+    protected final class PendingMessage implements Runnable {
+        private final String topic;
+        private final String key;
+        private final Object payload;
+        private final Callback callback;
+        private final CompletableFuture<Future<RecordMetadata>> dispatched;
+
+        PendingMessage(String topic, String key, Object payload, Callback callback,
+                       CompletableFuture<Future<RecordMetadata>> dispatched) {
+            this.topic = topic;
+            this.key = key;
+            this.payload = payload;
+            this.callback = callback;
+            this.dispatched = dispatched;
+        }
+
+        @Override
+        public void run() {
+            Future<RecordMetadata> promise;
+            try {
+                promise = send(topic, key, payload, callback);
+            } catch (RuntimeException e) {
+                if (callback != null) {
+                    callback.onCompletion(null, e);
+                }
+                if (dispatched != null) {
+                    dispatched.completeExceptionally(e);
+                }
+                return;
+            }
+            if (dispatched != null) {
+                dispatched.complete(promise);
+            }
+        }
+    }
+
     private static class SendStatusCallback implements Callback {
         private final KafkaProducerService service;
         private final String topic;
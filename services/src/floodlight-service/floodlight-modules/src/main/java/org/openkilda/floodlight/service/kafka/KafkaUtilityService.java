@@ -21,6 +21,7 @@ import org.openkilda.floodlight.service.IService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.FloodlightModuleException;
 import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
@@ -44,7 +45,18 @@ public class KafkaUtilityService implements IService {
         return consumer;
     }
 
-    public Producer<String, String> makeProducer() {
+    /**
+     * Create new kafka-consumer, apply setting from {@link KafkaConsumerSetup} argument and subscribe it with the
+     * rebalance listener.
+     */
+    public Consumer<String, String> makeConsumer(KafkaConsumerSetup setup, ConsumerRebalanceListener listener) {
+        Properties config = setup.applyConfig(owner.getConfig().consumerProperties());
+        KafkaConsumer<String, String> consumer = new KafkaConsumer<>(config);
+        setup.applyInstance(consumer, listener);
+        return consumer;
+    }
+
+    public Producer<String, byte[]> makeProducer() {
         return new KafkaProducer<>(owner.getConfig().producerProperties());
     }
 
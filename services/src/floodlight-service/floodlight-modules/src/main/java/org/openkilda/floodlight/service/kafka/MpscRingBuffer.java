@@ -0,0 +1,86 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.service.kafka;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer for many producers and a single consumer.
+ * <p/>
+ * Producers claim a slot by CAS on the head sequence and publish the element into it, the consumer takes elements in
+ * order of the claimed sequences and waits for a claimed but not yet published slot.
+ */
+final class MpscRingBuffer<T> {
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private volatile long tail;
+
+    MpscRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException(String.format("Capacity must be a power of 2, got %d", capacity));
+        }
+        slots = new AtomicReferenceArray<>(capacity);
+        mask = capacity - 1;
+    }
+
+    /**
+     * Adds the element to the buffer.
+     *
+     * @return false if the buffer is full.
+     */
+    boolean offer(T element) {
+        long sequence;
+        do {
+            sequence = head.get();
+            if (sequence - tail > mask) {
+                return false;
+            }
+        } while (!head.compareAndSet(sequence, sequence + 1));
+
+        slots.lazySet((int) sequence & mask, element);
+        return true;
+    }
+
+    /**
+     * Takes the next element, must be called by the consumer thread only.
+     *
+     * @return the element or null if there is no published element.
+     */
+    T poll() {
+        long sequence = tail;
+        int index = (int) sequence & mask;
+        T element = slots.get(index);
+        if (element == null) {
+            return null;
+        }
+        slots.lazySet(index, null);
+        tail = sequence + 1;
+        return element;
+    }
+
+    /**
+     * Returns the number of claimed slots, including the ones which are not published yet.
+     */
+    long getClaimedCount() {
+        return head.get();
+    }
+
+    boolean isEmpty() {
+        return head.get() == tail;
+    }
+}
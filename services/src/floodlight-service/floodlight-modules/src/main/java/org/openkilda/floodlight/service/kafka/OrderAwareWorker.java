@@ -18,9 +18,14 @@ package org.openkilda.floodlight.service.kafka;
 import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.PartitionInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.concurrent.Future;
 
 class OrderAwareWorker extends AbstractWorker {
@@ -40,24 +45,21 @@ class OrderAwareWorker extends AbstractWorker {
         }
     }
 
+    /**
+     * Sends the record into the pinned partition. The partition is chosen from the topic metadata on the first send,
+     * so the sender never waits for the result of a previous send.
+     */
     @Override
-    protected synchronized SendStatus send(ProducerRecord<String, String> record, Callback callback) {
-        ProducerRecord<String, String> actualRecord = record;
-        if (partition != null) {
-            actualRecord = new ProducerRecord<>(record.topic(), partition, record.key(), record.value());
-        }
-
-        Future<RecordMetadata> promise = kafkaProducer.send(actualRecord, callback);
+    protected Future<RecordMetadata> send(ProducerRecord<String, byte[]> record, Callback callback) {
         if (partition == null) {
-            try {
-                partition = promise.get().partition();
-            } catch (Exception e) {
-                log.error("Can't determine kafka topic partition for order aware writing, due to send error "
-                        + "(will retry on next send attempt). Error: {}", e.toString());
-            }
+            partition = choosePartition(record.topic());
         }
 
-        return new SendStatus(promise);
+        ProducerRecord<String, byte[]> actualRecord = record;
+        if (partition != null) {
+            actualRecord = new ProducerRecord<>(record.topic(), partition, record.key(), record.value());
+        }
+        return kafkaProducer.send(actualRecord, callback);
     }
 
     @Override
@@ -79,4 +81,21 @@ class OrderAwareWorker extends AbstractWorker {
         }
         return System.currentTimeMillis() < expireAt;
     }
+
+    private Integer choosePartition(String topic) {
+        List<PartitionInfo> partitions;
+        try {
+            partitions = kafkaProducer.partitionsFor(topic);
+        } catch (KafkaException e) {
+            log.error("Can't determine kafka topic partition for order aware writing, due to metadata fetch error "
+                    + "(will retry on next send attempt). Error: {}", e.toString());
+            return null;
+        }
+        if (partitions == null || partitions.isEmpty()) {
+            return null;
+        }
+        partitions = new ArrayList<>(partitions);
+        partitions.sort(Comparator.comparingInt(PartitionInfo::partition));
+        return partitions.get(Math.floorMod(topic.hashCode(), partitions.size())).partition();
+    }
 }
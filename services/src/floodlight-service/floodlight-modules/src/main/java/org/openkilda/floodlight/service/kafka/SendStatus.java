@@ -17,21 +17,36 @@ package org.openkilda.floodlight.service.kafka;
 
 import org.apache.kafka.clients.producer.RecordMetadata;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
+/**
+ * Status of a message passed to the producer. The message is sent to kafka asynchronously, so the status is complete
+ * when the message is handed over to kafka and kafka has completed the send.
+ */
 public class SendStatus {
-    private final Future<RecordMetadata> promise;
+    private final CompletableFuture<Future<RecordMetadata>> dispatched;
 
     protected SendStatus(Future<RecordMetadata> promise) {
-        this.promise = promise;
+        this(CompletableFuture.completedFuture(promise));
+    }
+
+    SendStatus(CompletableFuture<Future<RecordMetadata>> dispatched) {
+        this.dispatched = dispatched;
     }
 
+    /**
+     * Checks whether the send is complete, successfully or not.
+     */
     public boolean isComplete() {
-        return promise.isDone();
+        if (!dispatched.isDone()) {
+            return false;
+        }
+        return dispatched.isCompletedExceptionally() || dispatched.join().isDone();
     }
 
     public void waitTillComplete() throws InterruptedException, ExecutionException {
-        promise.get();
+        dispatched.get().get();
     }
 }
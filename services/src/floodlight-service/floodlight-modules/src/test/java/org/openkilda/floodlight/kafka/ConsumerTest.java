@@ -0,0 +1,80 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.kafka;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.openkilda.floodlight.kafka.Consumer.PartitionWatermark;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.Test;
+
+import java.util.OptionalLong;
+
+public class ConsumerTest {
+    @Test
+    public void shouldUseSwitchIdAsShardKey() {
+        String value = "{\"clazz\":\"org.openkilda.messaging.command.CommandMessage\","
+                + "\"payload\":{\"flowid\":\"flow\",\"switch_id\":\"00:00:00:00:00:00:00:01\"}}";
+        ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 1, 1, "key", value);
+
+        assertEquals("00:00:00:00:00:00:00:01", Consumer.getShardKey(record));
+    }
+
+    @Test
+    public void shouldUseRecordKeyAsShardKeyIfNoSwitchId() {
+        ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 1, 1, "key", "{\"payload\":{}}");
+
+        assertEquals("key", Consumer.getShardKey(record));
+    }
+
+    @Test
+    public void shouldUsePartitionAsShardKeyIfNoSwitchIdAndKey() {
+        ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 1, 1, null, "not a json");
+
+        assertEquals("test-1", Consumer.getShardKey(record));
+    }
+
+    @Test
+    public void shouldNotCompleteOffsetsUntilAllPreviousAreHandled() {
+        PartitionWatermark watermark = new PartitionWatermark();
+        assertFalse(watermark.getCompletedOffset().isPresent());
+
+        watermark.submitted(10);
+        watermark.submitted(11);
+        watermark.submitted(12);
+        assertEquals(OptionalLong.of(9), watermark.getCompletedOffset());
+
+        watermark.completed(11);
+        watermark.completed(12);
+        assertEquals(OptionalLong.of(9), watermark.getCompletedOffset());
+
+        watermark.completed(10);
+        assertEquals(OptionalLong.of(12), watermark.getCompletedOffset());
+    }
+
+    @Test
+    public void shouldWithdrawRejectedOffset() {
+        PartitionWatermark watermark = new PartitionWatermark();
+        watermark.submitted(10);
+        watermark.completed(10);
+
+        watermark.submitted(11);
+        watermark.rejected(11);
+        assertEquals(OptionalLong.of(10), watermark.getCompletedOffset());
+    }
+}
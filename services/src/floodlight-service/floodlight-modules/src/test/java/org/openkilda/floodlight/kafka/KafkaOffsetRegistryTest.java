@@ -22,6 +22,7 @@ import org.openkilda.floodlight.kafka.Consumer.KafkaOffsetRegistry;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
 import org.easymock.EasyMock;
 import org.junit.Rule;
 import org.junit.Test;
@@ -88,6 +89,44 @@ public class KafkaOffsetRegistryTest {
         EasyMock.verify(consumer);
     }
 
+    @Test
+    public void shouldNotCommitOffsetsWhichHaveNotAdvanced() {
+        // given
+        @SuppressWarnings("unchecked")
+        KafkaConsumer<String, String> consumer = mock(KafkaConsumer.class);
+        consumer.commitSync(anyObject());
+        EasyMock.expectLastCall().once();
+        EasyMock.replay(consumer);
+        Consumer.KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L);
+        TopicPartition partition = new TopicPartition("test", 1);
+
+        // when
+        registry.add(partition, 5);
+        registry.commitOffsets();
+        registry.add(partition, 5);
+        registry.add(partition, 4);
+        registry.commitOffsets();
+
+        // then
+        EasyMock.verify(consumer);
+    }
+
+    @Test
+    public void shouldNotCommitBeforeIntervalPassed() {
+        // given
+        @SuppressWarnings("unchecked")
+        KafkaConsumer<String, String> consumer = mock(KafkaConsumer.class);
+        EasyMock.replay(consumer);
+        Consumer.KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L);
+
+        // when
+        registry.add(new TopicPartition("test", 1), 5);
+        registry.commitIfDue();
+
+        // then
+        EasyMock.verify(consumer);
+    }
+
     @Test
     public void failTryingToAddRecordWithOutdatedOffset() {
         // given
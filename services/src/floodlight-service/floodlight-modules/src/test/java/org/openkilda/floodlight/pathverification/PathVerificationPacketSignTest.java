@@ -133,4 +133,58 @@ public class PathVerificationPacketSignTest extends PathVerificationPacketInTest
 
         verify(producerService);
     }
+
+    @Test
+    public void testSignPacketHmacPositive() {
+        producerService.sendMessageAndTrack(anyObject(), anyObject(), anyObject(Message.class));
+        expectLastCall().times(2);
+        replay(producerService);
+
+        pvs.setJwtDiscoverySignature(false);
+        OFPacketOut hmacPacket = pvs.generateDiscoveryPacket(sw1, OFPort.of(1), true, null);
+        context.getStorage().put(IFloodlightProviderService.CONTEXT_PI_PAYLOAD,
+                new Ethernet().deserialize(hmacPacket.getData(), 0, hmacPacket.getData().length));
+
+        pvs.handlePacketIn(new OfInput(sw2, ofPacketIn, context));
+        verify(producerService);
+    }
+
+    @Test
+    public void testSignPacketModifiedPacket() {
+        replay(producerService);
+
+        pvs.setJwtDiscoverySignature(false);
+        byte[] data = pvs.generateDiscoveryPacket(sw1, OFPort.of(1), true, null).getData();
+        // the last byte of the port TLV, i.e. the port number
+        int portOffset = (PathVerificationService.ETHERNET_HEADER_SIZE + PathVerificationService.IP_V4_HEADER_SIZE
+                + PathVerificationService.UDP_HEADER_SIZE + PathVerificationService.LLDP_TLV_CHASSIS_ID_TOTAL_SIZE
+                + PathVerificationService.LLDP_TLV_PORT_ID_TOTAL_SIZE) / 8 - 1;
+        data[portOffset] = 2;
+        context.getStorage().put(IFloodlightProviderService.CONTEXT_PI_PAYLOAD,
+                new Ethernet().deserialize(data, 0, data.length));
+
+        pvs.handlePacketIn(new OfInput(sw2, ofPacketIn, context));
+        verify(producerService);
+    }
+
+    @Test
+    public void testSignVlanTaggedPacket() throws Exception {
+        pvs.setJwtDiscoverySignature(false);
+        byte[] untagged = pvs.generateDiscoveryPacket(sw1, OFPort.of(1), true, null).getData();
+        byte[] tag = new byte[] {(byte) 0x81, 0x00, 0x00, 0x0a};
+
+        DiscoveryPacketCodec codec = new DiscoveryPacketCodec("secret");
+        byte[] expected = codec.encode(new DiscoveryPacketCodec.Template(untagged), 1L, 2L);
+        byte[] actual = codec.encode(new DiscoveryPacketCodec.Template(insertVlanTag(untagged, tag)), 1L, 2L);
+
+        Assert.assertArrayEquals(insertVlanTag(expected, tag), actual);
+    }
+
+    private static byte[] insertVlanTag(byte[] frame, byte[] tag) {
+        byte[] tagged = new byte[frame.length + tag.length];
+        System.arraycopy(frame, 0, tagged, 0, 12);
+        System.arraycopy(tag, 0, tagged, 12, tag.length);
+        System.arraycopy(frame, 12, tagged, 12 + tag.length, frame.length - 12);
+        return tagged;
+    }
 }
@@ -44,6 +44,7 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -59,7 +60,7 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
     private KafkaProducerService subject;
 
     @SuppressWarnings("unchecked")
-    private Producer<String, String> kafkaProducer = (Producer<String, String>) strictMock(Producer.class);
+    private Producer<String, byte[]> kafkaProducer = (Producer<String, byte[]>) strictMock(Producer.class);
 
     @Before
     public void setUp() {
@@ -75,12 +76,6 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
 
         subject = new KafkaProducerService();
         subject.setup(moduleContext);
-
-        ArrayList<PartitionInfo> partitionsForResult = new ArrayList<>(2);
-        for (TopicPartition p : partitions) {
-            partitionsForResult.add(new PartitionInfo(p.topic(), p.partition(), null, null, null));
-        }
-        expect(kafkaProducer.partitionsFor(TOPIC)).andReturn(partitionsForResult).anyTimes();
     }
 
     @Test
@@ -97,12 +92,18 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
                 new RecordMetadata(partitions[0], -1L, 0L, System.currentTimeMillis(), 0, 0, 0)
         };
 
+        // ordered sends are pinned to the partition chosen by the topic name
         Integer[] expectedPartitions = new Integer[] {
-                null, null, null, 0, null, null, null, 1, null};
+                null, null, 1, 1, null, null, 1, 1, null};
         Assert.assertEquals(sendResults.length, expectedPartitions.length);
 
-        Capture<ProducerRecord<String, String>> sendArguments = Capture.newInstance(CaptureType.ALL);
-        setupSendCapture(sendArguments, sendResults);
+        // the partition is chosen on the first ordered send after each enable
+        Capture<ProducerRecord<String, byte[]>> sendArguments = Capture.newInstance(CaptureType.ALL);
+        setupSendCapture(sendArguments, Arrays.copyOfRange(sendResults, 0, 2));
+        setupPartitionsFor();
+        setupSendCapture(sendArguments, Arrays.copyOfRange(sendResults, 2, 6));
+        setupPartitionsFor();
+        setupSendCapture(sendArguments, Arrays.copyOfRange(sendResults, 6, 9));
 
         replay(kafkaProducer);
 
@@ -128,14 +129,16 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
         }
         subject.sendMessageAndTrack(TOPIC, payload);
 
+        subject.waitForDispatch();
         verify(kafkaProducer);
 
-        List<ProducerRecord<String, String>> values = sendArguments.getValues();
+        List<ProducerRecord<String, byte[]>> values = sendArguments.getValues();
         for (int i = 0; i < values.size(); i++) {
-            ProducerRecord<String, String> record = values.get(i);
+            ProducerRecord<String, byte[]> record = values.get(i);
             Integer partition = expectedPartitions[i];
             Assert.assertEquals(String.format(
-                    "%d: Invalid partition argument for message \"%s\" - %s", i, record.value(), record.partition()),
+                    "%d: Invalid partition argument for message \"%s\" - %s",
+                    i, new String(record.value()), record.partition()),
                     partition, record.partition());
         }
     }
@@ -159,6 +162,7 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
 
         replay(kafkaProducer);
         subject.sendMessageAndTrack(TOPIC, makePayload());
+        subject.waitForDispatch();
         verify(kafkaProducer);
 
         // This test does not do any assertions, because the only action is log message with error
@@ -176,6 +180,7 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
 
         replay(kafkaProducer);
         SendStatus status = subject.sendMessage(TOPIC, makePayload());
+        subject.waitForDispatch();
         verify(kafkaProducer);
 
         Boolean isThrown;
@@ -195,8 +200,16 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
                 System.currentTimeMillis(), getClass().getCanonicalName() + "-test");
     }
 
+    private void setupPartitionsFor() {
+        ArrayList<PartitionInfo> partitionsForResult = new ArrayList<>(2);
+        for (TopicPartition p : partitions) {
+            partitionsForResult.add(new PartitionInfo(p.topic(), p.partition(), null, null, null));
+        }
+        expect(kafkaProducer.partitionsFor(TOPIC)).andReturn(partitionsForResult);
+    }
+
     @SuppressWarnings("unchecked")
-    private void setupSendCapture(Capture<ProducerRecord<String, String>> trap, RecordMetadata[] sendResults)
+    private void setupSendCapture(Capture<ProducerRecord<String, byte[]>> trap, RecordMetadata[] sendResults)
             throws Exception {
         for (RecordMetadata metadata : sendResults) {
             Future promise = mock(Future.class);
@@ -0,0 +1,80 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.service.kafka;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MpscRingBufferTest {
+    @Test
+    public void shouldRejectOfferWhenFull() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+
+        assertEquals(Integer.valueOf(0), buffer.poll());
+        assertTrue(buffer.offer(4));
+    }
+
+    @Test
+    public void shouldKeepOrderOfEachProducer() throws InterruptedException {
+        MpscRingBuffer<int[]> buffer = new MpscRingBuffer<>(64);
+        int producers = 4;
+        int count = 10000;
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < count; i++) {
+                    while (!buffer.offer(new int[]{producer, i})) {
+                        Thread.yield();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        int[] expected = new int[producers];
+        int received = 0;
+        while (received < producers * count) {
+            int[] element = buffer.poll();
+            if (element == null) {
+                Thread.yield();
+                continue;
+            }
+            assertEquals(expected[element[0]], element[1]);
+            expected[element[0]]++;
+            received++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertNull(buffer.poll());
+        assertTrue(buffer.isEmpty());
+    }
+}
@@ -18,7 +18,9 @@ package org.openkilda.persistence.repositories;
 import org.openkilda.model.ConnectedDevice;
 import org.openkilda.model.ConnectedDeviceType;
 
+import java.time.Instant;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 public interface ConnectedDeviceRepository extends Repository<ConnectedDevice> {
@@ -28,4 +30,10 @@ public interface ConnectedDeviceRepository extends Repository<ConnectedDevice> {
                                                            ConnectedDeviceType type, String chassisId, String portId);
 
     boolean exists(String flowId, String macAddress, boolean source);
+
+    /**
+     * Set time last seen of several devices using one query. The devices are identified by their unique index,
+     * devices missing in DB are skipped.
+     */
+    void updateTimeLastSeen(Map<String, Instant> timeLastSeen);
 }
@@ -20,14 +20,7 @@ import org.openkilda.model.FlowCookie;
 import java.util.Optional;
 
 public interface FlowCookieRepository extends Repository<FlowCookie> {
-    Optional<FlowCookie> findByCookie(long unmaskedCookie);
+    boolean exists(long unmaskedCookie);
 
-    /**
-     * Find an unmasked cookie which is not assigned to any flow.
-     * Use the provided {@code defaultCookie} as the first candidate.
-     *
-     * @param defaultCookie the potential cookie to be checked first.
-     * @return an unmasked cookie value or {@link Optional#empty()} if no cookie available.
-     */
-    Optional<Long> findUnassignedCookie(long defaultCookie);
+    Optional<FlowCookie> findByCookie(long unmaskedCookie);
 }
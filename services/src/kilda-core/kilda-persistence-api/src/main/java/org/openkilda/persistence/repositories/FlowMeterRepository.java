@@ -24,6 +24,8 @@ import java.util.Collection;
 import java.util.Optional;
 
 public interface FlowMeterRepository extends Repository<FlowMeter> {
+    boolean exists(SwitchId switchId, MeterId meterId);
+
     Optional<FlowMeter> findLldpMeterByMeterIdSwitchIdAndFlowId(MeterId meterId, SwitchId switchId, String flowId);
 
     /**
@@ -35,13 +37,5 @@ public interface FlowMeterRepository extends Repository<FlowMeter> {
      */
     Collection<FlowMeter> findByPathId(PathId pathId);
 
-    /**
-     * Find a meter id which is not assigned to any flow.
-     * Use the provided {@code defaultMeterId} as the first candidate.
-     *
-     * @param switchId       the switch defines where the meter is applied on.
-     * @param defaultMeterId the potential meter to be checked first.
-     * @return a meter id or {@link Optional#empty()} if no meter available.
-     */
-    Optional<MeterId> findUnassignedMeterId(SwitchId switchId, MeterId defaultMeterId);
+    Collection<FlowMeter> findBySwitchId(SwitchId switchId);
 }
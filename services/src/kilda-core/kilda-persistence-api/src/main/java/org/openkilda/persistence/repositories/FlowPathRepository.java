@@ -66,6 +66,24 @@ public interface FlowPathRepository extends Repository<FlowPath> {
 
     Collection<FlowPath> findBySegmentDestSwitch(SwitchId switchId);
 
+    /**
+     * Finds paths that have passed {@param switchId} switch in endpoints or as a destination of any path segment.
+     * NB. This method returns protected paths as well, so it covers all flow paths that have rules on the switch.
+     *
+     * @param switchId the switch
+     * @return collection of paths
+     */
+    Collection<FlowPath> findByEndpointOrSegmentDestSwitch(SwitchId switchId);
+
+    /**
+     * Finds paths that have any of passed switches in endpoints or as a destination of any path segment.
+     * NB. This method returns protected paths as well.
+     *
+     * @param switchIds the switches
+     * @return collection of paths
+     */
+    Collection<FlowPath> findByEndpointOrSegmentDestSwitches(Collection<SwitchId> switchIds);
+
     Collection<FlowPath> findWithPathSegment(SwitchId srcSwitchId, int srcPort,
                                              SwitchId dstSwitchId, int dstPort);
 
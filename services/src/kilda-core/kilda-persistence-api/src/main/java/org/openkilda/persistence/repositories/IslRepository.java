@@ -17,9 +17,16 @@ package org.openkilda.persistence.repositories;
 
 import org.openkilda.model.FlowEncapsulationType;
 import org.openkilda.model.Isl;
+import org.openkilda.model.IslDownReason;
+import org.openkilda.model.IslStatus;
 import org.openkilda.model.PathId;
 import org.openkilda.model.SwitchId;
 
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -91,4 +98,47 @@ public interface IslRepository extends Repository<Isl> {
      */
     long updateAvailableBandwidth(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
                                   long usedBandwidth);
+
+    /**
+     * Add the delta to ISL available bandwidth: negative on bandwidth allocation, positive on release. The ISL is
+     * locked before reading the current value, so concurrent updates of the same ISL are not lost.
+     * @return the result available bandwidth of the updated ISL.
+     */
+    long adjustAvailableBandwidth(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
+                                  long bandwidthDelta);
+
+    /**
+     * Recalculate ISL available bandwidth from bandwidth of flow paths going through it, fixes the value if it
+     * differs from the stored one.
+     * @return the difference between the recalculated and previously stored available bandwidth.
+     */
+    long reconcileAvailableBandwidth(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort);
+
+    /**
+     * Set status related fields of several ISLs using one query. ISLs missing in DB are skipped. Status, actual status
+     * and down reason are written only if status or actual status differ from stored ones, the unstable time is
+     * written if it is set.
+     */
+    void updateStatus(Collection<IslStatusUpdate> updates);
+
+    @Value
+    @Builder(toBuilder = true)
+    class IslStatusUpdate {
+        @NonNull
+        SwitchId srcSwitchId;
+        int srcPort;
+        @NonNull
+        SwitchId destSwitchId;
+        int destPort;
+
+        @NonNull
+        IslStatus status;
+        @NonNull
+        IslStatus actualStatus;
+        IslDownReason downReason;
+
+        @NonNull
+        Instant timeModify;
+        Instant timeUnstable;
+    }
 }
@@ -22,5 +22,14 @@ public interface Repository<T> {
 
     void createOrUpdate(T entity);
 
+    /**
+     * Creates or updates the entities. Implementations may write them all with a single request.
+     */
+    default void createOrUpdateAll(Collection<T> entities) {
+        for (T entity : entities) {
+            createOrUpdate(entity);
+        }
+    }
+
     void delete(T entity);
 }
@@ -17,8 +17,10 @@ package org.openkilda.persistence.repositories;
 
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchStatus;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 public interface SwitchRepository extends Repository<Switch> {
@@ -33,4 +35,9 @@ public interface SwitchRepository extends Repository<Switch> {
     void lockSwitches(Switch... switches);
 
     void forceDelete(SwitchId switchId);
+
+    /**
+     * Set status of several switches using one query. Switches missing in DB are skipped.
+     */
+    void updateStatus(Map<SwitchId, SwitchStatus> statuses);
 }
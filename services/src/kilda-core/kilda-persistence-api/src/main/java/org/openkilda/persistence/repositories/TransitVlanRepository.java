@@ -19,17 +19,9 @@ import org.openkilda.model.PathId;
 import org.openkilda.model.TransitVlan;
 
 import java.util.Collection;
-import java.util.Optional;
 
 public interface TransitVlanRepository extends Repository<TransitVlan> {
-    Collection<TransitVlan> findByPathId(PathId pathId, PathId oppositePathId);
+    boolean exists(int vlan);
 
-    /**
-     * Find a transit vlan which is not assigned to any flow.
-     * Use the provided defaultVlan as the first candidate.
-     *
-     * @param defaultVlan the potential vlan to be checked first.
-     * @return a transit vlan or {@link Optional#empty()} if no vlan available.
-     */
-    Optional<Integer> findUnassignedTransitVlan(int defaultVlan);
+    Collection<TransitVlan> findByPathId(PathId pathId, PathId oppositePathId);
 }
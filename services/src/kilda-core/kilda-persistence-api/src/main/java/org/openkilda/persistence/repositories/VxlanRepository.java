@@ -19,17 +19,9 @@ import org.openkilda.model.PathId;
 import org.openkilda.model.Vxlan;
 
 import java.util.Collection;
-import java.util.Optional;
 
 public interface VxlanRepository extends Repository<Vxlan> {
-    Collection<Vxlan> findByPathId(PathId pathId, PathId oppositePathId);
+    boolean exists(int vni);
 
-    /**
-     * Find a vxlan which is not assigned to any flow.
-     * Use the provided defaultVxlan as the first candidate.
-     *
-     * @param defaultVni the potential vxlan to be checked first.
-     * @return a vxlan or {@link Optional#empty()} if no vxlan available.
-     */
-    Optional<Integer> findUnassignedVxlan(int defaultVni);
+    Collection<Vxlan> findByPathId(PathId pathId, PathId oppositePathId);
 }
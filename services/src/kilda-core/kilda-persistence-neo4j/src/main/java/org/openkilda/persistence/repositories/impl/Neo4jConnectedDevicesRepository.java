@@ -23,10 +23,19 @@ import org.openkilda.persistence.PersistenceException;
 import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.ConnectedDeviceRepository;
 
+import com.google.common.collect.ImmutableMap;
 import org.neo4j.ogm.cypher.ComparisonOperator;
 import org.neo4j.ogm.cypher.Filter;
+import org.neo4j.ogm.model.Result;
+import org.neo4j.ogm.session.Neo4jSession;
+import org.neo4j.ogm.session.Session;
+import org.neo4j.ogm.typeconversion.InstantStringConverter;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class Neo4jConnectedDevicesRepository
@@ -38,6 +47,8 @@ public class Neo4jConnectedDevicesRepository
     private static final String CHASSIS_ID_PROPERTY_NAME = "chassis_id";
     private static final String PORT_ID_PROPERTY_NAME = "port_id";
 
+    private final InstantStringConverter instantStringConverter = new InstantStringConverter();
+
     Neo4jConnectedDevicesRepository(Neo4jSessionFactory sessionFactory, TransactionManager transactionManager) {
         super(sessionFactory, transactionManager);
     }
@@ -76,6 +87,41 @@ public class Neo4jConnectedDevicesRepository
         return getSession().count(getEntityType(), flowIdFilter.and(forwardFilter).and(macAddressFilter)) > 0;
     }
 
+    @Override
+    public void updateTimeLastSeen(Map<String, Instant> timeLastSeen) {
+        if (timeLastSeen.isEmpty()) {
+            return;
+        }
+
+        List<Map<String, Object>> updates = new ArrayList<>(timeLastSeen.size());
+        for (Map.Entry<String, Instant> entry : timeLastSeen.entrySet()) {
+            updates.add(ImmutableMap.of(
+                    "unique_index", entry.getKey(),
+                    "time_last_seen", instantStringConverter.toGraphProperty(entry.getValue())));
+        }
+
+        Session session = getSession();
+        Result result = session.query(
+                "UNWIND $updates AS u "
+                        + "MATCH (cd:connected_device {unique_index: u.unique_index}) "
+                        + "SET cd.time_last_seen = u.time_last_seen "
+                        + "RETURN id(cd) as id, cd.time_last_seen as time_last_seen",
+                ImmutableMap.of("updates", updates));
+
+        // keep entities loaded into the session in sync with DB
+        for (Map<String, Object> row : result.queryResults()) {
+            Long updatedEntityId = ((Number) row.get("id")).longValue();
+            Object updatedEntity = ((Neo4jSession) session).context().getNodeEntity(updatedEntityId);
+            if (updatedEntity instanceof ConnectedDevice) {
+                ((ConnectedDevice) updatedEntity).setTimeLastSeen(
+                        instantStringConverter.toEntityAttribute((String) row.get("time_last_seen")));
+            } else if (updatedEntity != null) {
+                throw new PersistenceException(
+                        format("Expected a ConnectedDevice entity, but found %s.", updatedEntity));
+            }
+        }
+    }
+
     @Override
     protected Class<ConnectedDevice> getEntityType() {
         return ConnectedDevice.class;
@@ -16,18 +16,17 @@
 package org.openkilda.persistence.repositories.impl;
 
 import static java.lang.String.format;
+import static java.util.Collections.singleton;
 
 import org.openkilda.model.FlowCookie;
 import org.openkilda.persistence.PersistenceException;
 import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.FlowCookieRepository;
 
-import com.google.common.collect.ImmutableMap;
 import org.neo4j.ogm.cypher.ComparisonOperator;
 import org.neo4j.ogm.cypher.Filter;
 
 import java.util.Collection;
-import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -40,6 +39,18 @@ public class Neo4jFlowCookieRepository extends Neo4jGenericRepository<FlowCookie
         super(sessionFactory, transactionManager);
     }
 
+    @Override
+    public void createOrUpdateAll(Collection<FlowCookie> entities) {
+        save(entities);
+    }
+
+    @Override
+    public boolean exists(long unmaskedCookie) {
+        Filter cookieFilter = new Filter(UNMASKED_COOKIE_PROPERTY_NAME, ComparisonOperator.EQUALS, unmaskedCookie);
+
+        return getSession().count(getEntityType(), singleton(cookieFilter)) > 0;
+    }
+
     @Override
     public Optional<FlowCookie> findByCookie(long unmaskedCookie) {
         Filter cookieFilter = new Filter(UNMASKED_COOKIE_PROPERTY_NAME, ComparisonOperator.EQUALS, unmaskedCookie);
@@ -51,34 +62,6 @@ public class Neo4jFlowCookieRepository extends Neo4jGenericRepository<FlowCookie
         return cookies.isEmpty() ? Optional.empty() : Optional.of(cookies.iterator().next());
     }
 
-    @Override
-    public Optional<Long> findUnassignedCookie(long defaultCookie) {
-        Map<String, Object> parameters = ImmutableMap.of(
-                "default_cookie", defaultCookie);
-
-        // The query returns the default_cookie if it's not used in any flow_cookie,
-        // otherwise locates a gap between / after the values used in flow_cookie entities.
-
-        String query = "UNWIND [$default_cookie] AS cookie "
-                + "OPTIONAL MATCH (n:flow_cookie) "
-                + "WHERE cookie = n.unmasked_cookie "
-                + "WITH cookie, n "
-                + "WHERE n IS NULL "
-                + "RETURN cookie "
-                + "UNION ALL "
-                + "MATCH (n1:flow_cookie) "
-                + "WHERE n1.unmasked_cookie >= $default_cookie "
-                + "OPTIONAL MATCH (n2:flow_cookie) "
-                + "WHERE (n1.unmasked_cookie + 1) = n2.unmasked_cookie "
-                + "WITH n1, n2 "
-                + "WHERE n2 IS NULL "
-                + "RETURN n1.unmasked_cookie + 1 AS cookie "
-                + "ORDER BY cookie "
-                + "LIMIT 1";
-
-        return queryForLong(query, parameters, "cookie");
-    }
-
     @Override
     protected Class<FlowCookie> getEntityType() {
         return FlowCookie.class;
@@ -25,12 +25,10 @@ import org.openkilda.persistence.PersistenceException;
 import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.FlowMeterRepository;
 
-import com.google.common.collect.ImmutableMap;
 import org.neo4j.ogm.cypher.ComparisonOperator;
 import org.neo4j.ogm.cypher.Filter;
 
 import java.util.Collection;
-import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -46,6 +44,19 @@ public class Neo4jFlowMeterRepository extends Neo4jGenericRepository<FlowMeter>
         super(sessionFactory, transactionManager);
     }
 
+    @Override
+    public void createOrUpdateAll(Collection<FlowMeter> entities) {
+        save(entities);
+    }
+
+    @Override
+    public boolean exists(SwitchId switchId, MeterId meterId) {
+        Filter switchIdFilter = new Filter(SWITCH_PROPERTY_NAME, ComparisonOperator.EQUALS, switchId);
+        Filter meterIdFilter = new Filter(METER_ID_PROPERTY_NAME, ComparisonOperator.EQUALS, meterId);
+
+        return getSession().count(getEntityType(), switchIdFilter.and(meterIdFilter)) > 0;
+    }
+
     @Override
     public Optional<FlowMeter> findLldpMeterByMeterIdSwitchIdAndFlowId(
             MeterId meterId, SwitchId switchId, String flowId) {
@@ -77,33 +88,10 @@ public class Neo4jFlowMeterRepository extends Neo4jGenericRepository<FlowMeter>
     }
 
     @Override
-    public Optional<MeterId> findUnassignedMeterId(SwitchId switchId, MeterId defaultMeterId) {
-        Map<String, Object> parameters = ImmutableMap.of(
-                "default_meter", defaultMeterId.getValue(),
-                "switch_id", switchId.toString()
-        );
-
-        // The query returns the default_meter if it's not used in any flow_meter,
-        // otherwise locates a gap between / after the values used in flow_meter entities.
-
-        String query = "UNWIND [$default_meter] AS meter "
-                + "OPTIONAL MATCH (n:flow_meter {switch_id: $switch_id}) "
-                + "WHERE meter = n.meter_id "
-                + "WITH meter, n "
-                + "WHERE n IS NULL "
-                + "RETURN meter "
-                + "UNION ALL "
-                + "MATCH (n1:flow_meter {switch_id: $switch_id}) "
-                + "WHERE n1.meter_id >= $default_meter "
-                + "OPTIONAL MATCH (n2:flow_meter {switch_id: $switch_id}) "
-                + "WHERE (n1.meter_id + 1) = n2.meter_id "
-                + "WITH n1, n2 "
-                + "WHERE n2 IS NULL "
-                + "RETURN n1.meter_id + 1 AS meter "
-                + "ORDER BY meter "
-                + "LIMIT 1";
-
-        return queryForLong(query, parameters, "meter").map(MeterId::new);
+    public Collection<FlowMeter> findBySwitchId(SwitchId switchId) {
+        Filter switchIdFilter = new Filter(SWITCH_PROPERTY_NAME, ComparisonOperator.EQUALS, switchId);
+
+        return loadAll(switchIdFilter);
     }
 
     @Override
@@ -45,6 +45,7 @@ import org.neo4j.ogm.typeconversion.InstantStringConverter;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -252,6 +253,40 @@ public class Neo4jFlowPathRepository extends Neo4jGenericRepository<FlowPath> im
         return loadAll(pathIdsFilter);
     }
 
+    @Override
+    public Collection<FlowPath> findByEndpointOrSegmentDestSwitch(SwitchId switchId) {
+        return findByEndpointOrSegmentDestSwitches(Collections.singletonList(switchId));
+    }
+
+    @Override
+    public Collection<FlowPath> findByEndpointOrSegmentDestSwitches(Collection<SwitchId> switchIds) {
+        if (switchIds.isEmpty()) {
+            return emptyList();
+        }
+        Map<String, Object> parameters = ImmutableMap.of(
+                "switch_ids", switchIds.stream()
+                        .map(switchIdConverter::toGraphProperty)
+                        .collect(Collectors.toList()));
+
+        Set<String> pathIds = new HashSet<>();
+        queryForStrings("MATCH (fp:flow_path)-[:source|destination]-(sw:switch) "
+                + "WHERE sw.name IN $switch_ids "
+                + "RETURN fp.path_id as path_id "
+                + "UNION "
+                + "MATCH (fp:flow_path)-[:owns]-(:path_segment)-[:destination]-(ps_dst:switch) "
+                + "WHERE ps_dst.name IN $switch_ids "
+                + "RETURN fp.path_id as path_id", parameters, "path_id").forEach(pathIds::add);
+
+        if (pathIds.isEmpty()) {
+            return emptyList();
+        }
+
+        Filter pathIdsFilter = new Filter(PATH_ID_PROPERTY_NAME, new InOperatorWithNoConverterComparison(pathIds));
+        pathIdsFilter.setPropertyConverter(null);
+
+        return loadAll(pathIdsFilter);
+    }
+
     @Override
     public Collection<FlowPath> findBySegmentEndpoint(SwitchId switchId, int port) {
         Map<String, Object> parameters = ImmutableMap.of(
@@ -75,8 +75,15 @@ abstract class Neo4jGenericRepository<T> implements Repository<T> {
 
     @Override
     public void createOrUpdate(T entity) {
+        save(entity);
+    }
+
+    /**
+     * Saves the entity or all entities of the collection with one request.
+     */
+    protected void save(Object entityOrCollection) {
         try {
-            getSession().save(entity, getDepthCreateUpdateEntity());
+            getSession().save(entityOrCollection, getDepthCreateUpdateEntity());
         } catch (ClientException ex) {
             if (ex.code().endsWith("ConstraintValidationFailed")) {
                 throw new ConstraintViolationException("Unable to create/update " + getEntityType(), ex);
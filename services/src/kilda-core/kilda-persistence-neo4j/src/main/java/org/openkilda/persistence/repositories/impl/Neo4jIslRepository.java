@@ -27,6 +27,7 @@ import org.openkilda.model.SwitchStatus;
 import org.openkilda.persistence.PersistenceException;
 import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.converters.FlowEncapsulationTypeConverter;
+import org.openkilda.persistence.converters.IslDownReasonConverter;
 import org.openkilda.persistence.converters.IslStatusConverter;
 import org.openkilda.persistence.converters.SwitchIdConverter;
 import org.openkilda.persistence.converters.SwitchStatusConverter;
@@ -39,8 +40,13 @@ import org.neo4j.ogm.cypher.Filter;
 import org.neo4j.ogm.cypher.Filters;
 import org.neo4j.ogm.model.Result;
 import org.neo4j.ogm.session.Neo4jSession;
+import org.neo4j.ogm.session.Session;
+import org.neo4j.ogm.typeconversion.InstantStringConverter;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -57,6 +63,8 @@ public class Neo4jIslRepository extends Neo4jGenericRepository<Isl> implements I
     private final SwitchIdConverter switchIdConverter = new SwitchIdConverter();
     private final SwitchStatusConverter switchStatusConverter = new SwitchStatusConverter();
     private final IslStatusConverter islStatusConverter = new IslStatusConverter();
+    private final IslDownReasonConverter islDownReasonConverter = new IslDownReasonConverter();
+    private final InstantStringConverter instantStringConverter = new InstantStringConverter();
     private final FlowEncapsulationTypeConverter flowEncapsulationTypeConverter = new FlowEncapsulationTypeConverter();
 
     private final IslConfig islConfig;
@@ -265,6 +273,123 @@ public class Neo4jIslRepository extends Neo4jGenericRepository<Isl> implements I
                 + "SET link.available_bandwidth = (link.max_bandwidth - $used_bandwidth) "
                 + "RETURN id(link) as id, link.available_bandwidth as available_bandwidth";
 
+        Map<String, Object> queryResult = queryForUpdatedIsl(query, parameters,
+                srcSwitchId, srcPort, dstSwitchId, dstPort);
+        return (Long) queryResult.get("available_bandwidth");
+    }
+
+    @Override
+    public long adjustAvailableBandwidth(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
+                                         long bandwidthDelta) {
+        Map<String, Object> parameters = ImmutableMap.of(
+                "src_switch", switchIdConverter.toGraphProperty(srcSwitchId),
+                "src_port", srcPort,
+                "dst_switch", switchIdConverter.toGraphProperty(dstSwitchId),
+                "dst_port", dstPort,
+                "bandwidth_delta", bandwidthDelta);
+
+        // The dummy property write takes the ISL lock before the available bandwidth is read.
+        String query = "MATCH (src:switch {name: $src_switch}), (dst:switch {name: $dst_switch}) "
+                + "MATCH (src)-[link:isl {src_port: $src_port, dst_port: $dst_port}]->(dst) "
+                + "SET link.tx_override_workaround='dummy' "
+                + "WITH link "
+                + "SET link.available_bandwidth = (link.available_bandwidth + $bandwidth_delta) "
+                + "RETURN id(link) as id, link.available_bandwidth as available_bandwidth";
+
+        Map<String, Object> queryResult = queryForUpdatedIsl(query, parameters,
+                srcSwitchId, srcPort, dstSwitchId, dstPort);
+        return (Long) queryResult.get("available_bandwidth");
+    }
+
+    @Override
+    public long reconcileAvailableBandwidth(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort) {
+        Map<String, Object> parameters = ImmutableMap.of(
+                "src_switch", switchIdConverter.toGraphProperty(srcSwitchId),
+                "src_port", srcPort,
+                "dst_switch", switchIdConverter.toGraphProperty(dstSwitchId),
+                "dst_port", dstPort);
+
+        // The ISL is locked first, so paths are summed up only after concurrent allocations are committed.
+        String query = "MATCH (src:switch {name: $src_switch}), (dst:switch {name: $dst_switch}) "
+                + "MATCH (src)-[link:isl {src_port: $src_port, dst_port: $dst_port}]->(dst) "
+                + "SET link.tx_override_workaround='dummy' "
+                + "WITH src, dst, link, link.available_bandwidth AS stored_bandwidth "
+                + "OPTIONAL MATCH (src)-[:source]-(ps:path_segment { "
+                + " src_port: $src_port, "
+                + " dst_port: $dst_port "
+                + "})-[:destination]-(dst) "
+                + "OPTIONAL MATCH (fp:flow_path { ignore_bandwidth: false })-[:owns]-(ps) "
+                + "WITH link, stored_bandwidth, sum(fp.bandwidth) AS used_bandwidth "
+                + "SET link.available_bandwidth = (link.max_bandwidth - used_bandwidth) "
+                + "RETURN id(link) as id, link.available_bandwidth as available_bandwidth, "
+                + "stored_bandwidth";
+
+        Map<String, Object> queryResult = queryForUpdatedIsl(query, parameters,
+                srcSwitchId, srcPort, dstSwitchId, dstPort);
+        return (Long) queryResult.get("available_bandwidth") - (Long) queryResult.get("stored_bandwidth");
+    }
+
+    @Override
+    public void updateStatus(Collection<IslStatusUpdate> updates) {
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        List<Map<String, Object>> parameters = new ArrayList<>(updates.size());
+        for (IslStatusUpdate entry : updates) {
+            // null values are not allowed in ImmutableMap
+            Map<String, Object> update = new HashMap<>();
+            update.put("src_switch", switchIdConverter.toGraphProperty(entry.getSrcSwitchId()));
+            update.put("src_port", entry.getSrcPort());
+            update.put("dst_switch", switchIdConverter.toGraphProperty(entry.getDestSwitchId()));
+            update.put("dst_port", entry.getDestPort());
+            update.put("status", islStatusConverter.toGraphProperty(entry.getStatus()));
+            update.put("actual", islStatusConverter.toGraphProperty(entry.getActualStatus()));
+            update.put("down_reason", islDownReasonConverter.toGraphProperty(entry.getDownReason()));
+            update.put("time_modify", instantStringConverter.toGraphProperty(entry.getTimeModify()));
+            update.put("time_unstable", entry.getTimeUnstable() != null
+                    ? instantStringConverter.toGraphProperty(entry.getTimeUnstable()) : null);
+            parameters.add(update);
+        }
+
+        String query = "UNWIND $updates AS u "
+                + "MATCH (src:switch {name: u.src_switch}), (dst:switch {name: u.dst_switch}) "
+                + "MATCH (src)-[link:isl {src_port: u.src_port, dst_port: u.dst_port}]->(dst) "
+                + "FOREACH (ignored IN CASE WHEN coalesce(link.status, '') <> u.status "
+                + " OR coalesce(link.actual, '') <> u.actual THEN [1] ELSE [] END | "
+                + " SET link.status = u.status, link.actual = u.actual, link.down_reason = u.down_reason, "
+                + " link.time_modify = u.time_modify) "
+                + "FOREACH (ignored IN CASE WHEN u.time_unstable IS NOT NULL THEN [1] ELSE [] END | "
+                + " SET link.time_unstable = u.time_unstable, link.time_modify = u.time_modify) "
+                + "RETURN id(link) as id, link.status as status, link.actual as actual, "
+                + "link.down_reason as down_reason, link.time_modify as time_modify, "
+                + "link.time_unstable as time_unstable";
+
+        Session session = getSession();
+        Result result = session.query(query, ImmutableMap.of("updates", parameters));
+        for (Map<String, Object> row : result.queryResults()) {
+            Long updatedEntityId = ((Number) row.get("id")).longValue();
+            Object updatedEntity = ((Neo4jSession) session).context().getRelationshipEntity(updatedEntityId);
+            if (updatedEntity instanceof Isl) {
+                Isl isl = (Isl) updatedEntity;
+                isl.setStatus(islStatusConverter.toEntityAttribute((String) row.get("status")));
+                isl.setActualStatus(islStatusConverter.toEntityAttribute((String) row.get("actual")));
+                isl.setDownReason(islDownReasonConverter.toEntityAttribute((String) row.get("down_reason")));
+                isl.setTimeModify(toInstant(row.get("time_modify")));
+                isl.setTimeUnstable(toInstant(row.get("time_unstable")));
+            } else if (updatedEntity != null) {
+                throw new PersistenceException(format("Expected an ISL entity, but found %s.", updatedEntity));
+            }
+        }
+    }
+
+    private Instant toInstant(Object value) {
+        return value != null ? instantStringConverter.toEntityAttribute((String) value) : null;
+    }
+
+    private Map<String, Object> queryForUpdatedIsl(String query, Map<String, Object> parameters,
+                                                   SwitchId srcSwitchId, int srcPort,
+                                                   SwitchId dstSwitchId, int dstPort) {
         Result result = getSession().query(query, parameters);
         Iterator<Map<String, Object>> it = result.queryResults().iterator();
         if (!it.hasNext()) {
@@ -283,7 +408,7 @@ public class Neo4jIslRepository extends Neo4jGenericRepository<Isl> implements I
             throw new PersistenceException(format("Expected an ISL entity, but found %s.", updatedEntity));
         }
 
-        return updatedAvailableBandwidth;
+        return queryResult;
     }
 
     @Override
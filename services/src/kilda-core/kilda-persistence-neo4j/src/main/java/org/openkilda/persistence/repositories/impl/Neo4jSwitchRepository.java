@@ -20,20 +20,26 @@ import static java.util.Collections.singleton;
 
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchStatus;
 import org.openkilda.persistence.FetchStrategy;
 import org.openkilda.persistence.PersistenceException;
 import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.converters.SwitchIdConverter;
+import org.openkilda.persistence.converters.SwitchStatusConverter;
 import org.openkilda.persistence.repositories.SwitchRepository;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
 import org.neo4j.ogm.cypher.ComparisonOperator;
 import org.neo4j.ogm.cypher.Filter;
+import org.neo4j.ogm.model.Result;
 import org.neo4j.ogm.session.Neo4jSession;
 import org.neo4j.ogm.session.Session;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -43,6 +49,9 @@ import java.util.Optional;
 public class Neo4jSwitchRepository extends Neo4jGenericRepository<Switch> implements SwitchRepository {
     static final String SWITCH_NAME_PROPERTY_NAME = "name";
 
+    private final SwitchIdConverter switchIdConverter = new SwitchIdConverter();
+    private final SwitchStatusConverter switchStatusConverter = new SwitchStatusConverter();
+
     public Neo4jSwitchRepository(Neo4jSessionFactory sessionFactory, TransactionManager transactionManager) {
         super(sessionFactory, transactionManager);
     }
@@ -108,6 +117,37 @@ public class Neo4jSwitchRepository extends Neo4jGenericRepository<Switch> implem
         });
     }
 
+    @Override
+    public void updateStatus(Map<SwitchId, SwitchStatus> statuses) {
+        if (statuses.isEmpty()) {
+            return;
+        }
+
+        List<Map<String, Object>> updates = new ArrayList<>(statuses.size());
+        for (Map.Entry<SwitchId, SwitchStatus> entry : statuses.entrySet()) {
+            updates.add(ImmutableMap.of(
+                    "name", switchIdConverter.toGraphProperty(entry.getKey()),
+                    "state", switchStatusConverter.toGraphProperty(entry.getValue())));
+        }
+
+        Session session = getSession();
+        Result result = session.query(
+                "UNWIND $updates AS u "
+                        + "MATCH (sw:switch {name: u.name}) "
+                        + "SET sw.state = u.state "
+                        + "RETURN id(sw) as id, sw.state as state", ImmutableMap.of("updates", updates));
+
+        for (Map<String, Object> row : result.queryResults()) {
+            Long updatedEntityId = ((Number) row.get("id")).longValue();
+            Object updatedEntity = ((Neo4jSession) session).context().getNodeEntity(updatedEntityId);
+            if (updatedEntity instanceof Switch) {
+                ((Switch) updatedEntity).setStatus(switchStatusConverter.toEntityAttribute((String) row.get("state")));
+            } else if (updatedEntity != null) {
+                throw new PersistenceException(format("Expected a Switch entity, but found %s.", updatedEntity));
+            }
+        }
+    }
+
     @Override
     public void lockSwitches(Switch... switches) {
         super.lockSwitches(Arrays.stream(switches).map(Switch::getSwitchId));
@@ -15,30 +15,42 @@
 
 package org.openkilda.persistence.repositories.impl;
 
+import static java.util.Collections.singleton;
+
 import org.openkilda.model.FlowPath;
 import org.openkilda.model.PathId;
 import org.openkilda.model.TransitVlan;
 import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.TransitVlanRepository;
 
-import com.google.common.collect.ImmutableMap;
 import org.neo4j.ogm.cypher.ComparisonOperator;
 import org.neo4j.ogm.cypher.Filter;
 
 import java.util.Collection;
-import java.util.Map;
-import java.util.Optional;
 
 /**
  * Neo4j OGM implementation of {@link TransitVlanRepository}.
  */
 public class Neo4jTransitVlanRepository extends Neo4jGenericRepository<TransitVlan> implements TransitVlanRepository {
     static final String PATH_ID_PROPERTY_NAME = "path_id";
+    static final String VLAN_PROPERTY_NAME = "vlan";
 
     public Neo4jTransitVlanRepository(Neo4jSessionFactory sessionFactory, TransactionManager transactionManager) {
         super(sessionFactory, transactionManager);
     }
 
+    @Override
+    public void createOrUpdateAll(Collection<TransitVlan> entities) {
+        save(entities);
+    }
+
+    @Override
+    public boolean exists(int vlan) {
+        Filter vlanFilter = new Filter(VLAN_PROPERTY_NAME, ComparisonOperator.EQUALS, vlan);
+
+        return getSession().count(getEntityType(), singleton(vlanFilter)) > 0;
+    }
+
     /**
      * Lookup for {@link FlowPath} object by pathId (or opposite pathId) value.
      *
@@ -57,34 +69,6 @@ public class Neo4jTransitVlanRepository extends Neo4jGenericRepository<TransitVl
         return result;
     }
 
-    @Override
-    public Optional<Integer> findUnassignedTransitVlan(int defaultVlan) {
-        Map<String, Object> parameters = ImmutableMap.of(
-                "default_vlan", defaultVlan);
-
-        // The query returns the default_vlan if it's not used in any transit_vlan,
-        // otherwise locates a gap between / after the values used in transit_vlan entities.
-
-        String query = "UNWIND [$default_vlan] AS vlan "
-                + "OPTIONAL MATCH (n:transit_vlan) "
-                + "WHERE vlan = n.vlan "
-                + "WITH vlan, n "
-                + "WHERE n IS NULL "
-                + "RETURN vlan "
-                + "UNION ALL "
-                + "MATCH (n1:transit_vlan) "
-                + "WHERE n1.vlan >= $default_vlan "
-                + "OPTIONAL MATCH (n2:transit_vlan) "
-                + "WHERE (n1.vlan + 1) = n2.vlan "
-                + "WITH n1, n2 "
-                + "WHERE n2 IS NULL "
-                + "RETURN n1.vlan + 1 AS vlan "
-                + "ORDER BY vlan "
-                + "LIMIT 1";
-
-        return queryForLong(query, parameters, "vlan").map(Long::intValue);
-    }
-
     @Override
     protected Class<TransitVlan> getEntityType() {
         return TransitVlan.class;
@@ -15,29 +15,41 @@
 
 package org.openkilda.persistence.repositories.impl;
 
+import static java.util.Collections.singleton;
+
 import org.openkilda.model.PathId;
 import org.openkilda.model.Vxlan;
 import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.VxlanRepository;
 
-import com.google.common.collect.ImmutableMap;
 import org.neo4j.ogm.cypher.ComparisonOperator;
 import org.neo4j.ogm.cypher.Filter;
 
 import java.util.Collection;
-import java.util.Map;
-import java.util.Optional;
 
 /**
  * Neo4j OGM implementation of {@link VxlanRepository}.
  */
 public class Neo4jVxlanRepository extends Neo4jGenericRepository<Vxlan> implements VxlanRepository {
     static final String PATH_ID_PROPERTY_NAME = "path_id";
+    static final String VNI_PROPERTY_NAME = "vni";
 
     public Neo4jVxlanRepository(Neo4jSessionFactory sessionFactory, TransactionManager transactionManager) {
         super(sessionFactory, transactionManager);
     }
 
+    @Override
+    public void createOrUpdateAll(Collection<Vxlan> entities) {
+        save(entities);
+    }
+
+    @Override
+    public boolean exists(int vni) {
+        Filter vniFilter = new Filter(VNI_PROPERTY_NAME, ComparisonOperator.EQUALS, vni);
+
+        return getSession().count(getEntityType(), singleton(vniFilter)) > 0;
+    }
+
     @Override
     public Collection<Vxlan> findByPathId(PathId pathId, PathId oppositePathId) {
         Filter pathIdFilter = new Filter(PATH_ID_PROPERTY_NAME, ComparisonOperator.EQUALS, pathId);
@@ -49,34 +61,6 @@ public class Neo4jVxlanRepository extends Neo4jGenericRepository<Vxlan> implemen
         return result;
     }
 
-    @Override
-    public Optional<Integer> findUnassignedVxlan(int defaultVni) {
-        Map<String, Object> parameters = ImmutableMap.of(
-                "default_vni", defaultVni);
-
-        // The query returns the default_vni if it's not used in any vxlan,
-        // otherwise locates a gap between / after the values used in vxlan entities.
-
-        String query = "UNWIND [$default_vni] AS vni "
-                + "OPTIONAL MATCH (n:vxlan) "
-                + "WHERE vni = n.vni "
-                + "WITH vni, n "
-                + "WHERE n IS NULL "
-                + "RETURN vni "
-                + "UNION ALL "
-                + "MATCH (n1:vxlan) "
-                + "WHERE n1.vni >= $default_vni "
-                + "OPTIONAL MATCH (n2:vxlan) "
-                + "WHERE (n1.vni + 1) = n2.vni "
-                + "WITH n1, n2 "
-                + "WHERE n2 IS NULL "
-                + "RETURN n1.vni + 1 AS vni "
-                + "ORDER BY vni "
-                + "LIMIT 1";
-
-        return queryForLong(query, parameters, "vni").map(Long::intValue);
-    }
-
     @Override
     protected Class<Vxlan> getEntityType() {
         return Vxlan.class;
@@ -26,6 +26,7 @@ import org.openkilda.model.ConnectedDevice;
 import org.openkilda.persistence.Neo4jBasedTest;
 import org.openkilda.persistence.repositories.ConnectedDeviceRepository;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -138,6 +139,27 @@ public class Neo4jConnectedDeviceRepositoryTest extends Neo4jBasedTest {
                 "fake", false, "fake", LLDP, CHASSIS_ID, PORT_ID).isPresent());
     }
 
+    @Test
+    public void updateTimeLastSeenOfSeveralDevices() {
+        repository.createOrUpdate(connectedDeviceA);
+        repository.createOrUpdate(connectedDeviceB);
+
+        Instant timeLastSeen = TIME_LAST_SEEN.plusSeconds(30);
+        repository.updateTimeLastSeen(ImmutableMap.of(
+                connectedDeviceA.getUniqueIndex(), timeLastSeen,
+                connectedDeviceC.getUniqueIndex(), timeLastSeen));
+
+        assertEquals(timeLastSeen, findDevice(connectedDeviceA).getTimeLastSeen());
+        assertEquals(TIME_LAST_SEEN, findDevice(connectedDeviceB).getTimeLastSeen());
+        assertEquals(2, repository.findAll().size());
+    }
+
+    private ConnectedDevice findDevice(ConnectedDevice device) {
+        return repository.findByUniqueFieldCombination(
+                device.getFlowId(), device.isSource(), device.getMacAddress(), device.getType(),
+                device.getChassisId(), device.getPortId()).get();
+    }
+
     private void runFindByUniqueFields(ConnectedDevice device) {
         Optional<ConnectedDevice> foundDevice = repository.findByUniqueFieldCombination(
                 device.getFlowId(), device.isSource(), device.getMacAddress(), device.getType(),
@@ -30,6 +30,7 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collection;
 
 public class Neo4jFlowMeterRepositoryTest extends Neo4jBasedTest {
@@ -79,6 +80,24 @@ public class Neo4jFlowMeterRepositoryTest extends Neo4jBasedTest {
         assertEquals(0, meters.size());
     }
 
+    @Test
+    public void shouldCreateAllAndFindFlowMetersBySwitch() {
+        Switch anotherSwitch = buildTestSwitch(2);
+        switchRepository.createOrUpdate(anotherSwitch);
+        FlowMeter anotherSwitchMeter = createFlowMeter(1, new PathId(TEST_PATH_ID)).toBuilder()
+                .switchId(anotherSwitch.getSwitchId())
+                .build();
+
+        flowMeterRepository.createOrUpdateAll(Arrays.asList(
+                createFlowMeter(1, new PathId(TEST_PATH_ID)), createFlowMeter(2, new PathId(TEST_PATH_ID)),
+                anotherSwitchMeter));
+
+        assertEquals(3, flowMeterRepository.findAll().size());
+        Collection<FlowMeter> meters = flowMeterRepository.findBySwitchId(theSwitch.getSwitchId());
+        assertEquals(2, meters.size());
+        meters.forEach(meter -> assertEquals(theSwitch.getSwitchId(), meter.getSwitchId()));
+    }
+
     @Test
     public void shouldDeleteFlowMeter() {
         FlowMeter meter = createFlowMeter();
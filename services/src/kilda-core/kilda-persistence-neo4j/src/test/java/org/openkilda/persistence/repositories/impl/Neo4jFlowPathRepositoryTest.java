@@ -44,6 +44,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -352,6 +353,41 @@ public class Neo4jFlowPathRepositoryTest extends Neo4jBasedTest {
         assertThat(foundPaths, Matchers.empty());
     }
 
+    @Test
+    public void shouldFindPathByEndpointOrSegmentDestSwitch() {
+        FlowPath flowPath = buildTestFlowPathWithIntermediate(switchC, 100);
+        flowPathRepository.createOrUpdate(flowPath);
+
+        assertThat(flowPathRepository.findByEndpointOrSegmentDestSwitch(switchA.getSwitchId()), hasSize(1));
+        assertThat(flowPathRepository.findByEndpointOrSegmentDestSwitch(switchB.getSwitchId()), hasSize(1));
+        assertThat(flowPathRepository.findByEndpointOrSegmentDestSwitch(switchC.getSwitchId()), hasSize(1));
+    }
+
+    @Test
+    public void shouldFindPathsByEndpointOrSegmentDestSwitches() {
+        FlowPath flowPath = buildTestFlowPathWithIntermediate(switchC, 100);
+        flowPathRepository.createOrUpdate(flowPath);
+
+        assertThat(flowPathRepository.findByEndpointOrSegmentDestSwitches(
+                Arrays.asList(switchA.getSwitchId(), switchC.getSwitchId())), hasSize(1));
+        assertThat(flowPathRepository.findByEndpointOrSegmentDestSwitches(
+                Collections.singletonList(new SwitchId(100))), Matchers.empty());
+    }
+
+    @Test
+    public void shouldFindProtectedPathsByEndpointOrSegmentDestSwitch() {
+        Flow flow = buildTestFlowPathPair();
+        flow.setProtectedForwardPath(buildFlowPath(flow, "_forward_protected", 10, 10, switchA, switchB));
+        flow.setProtectedReversePath(buildFlowPath(flow, "_reverse_protected", 11, 11, switchB, switchA));
+
+        flowRepository.createOrUpdate(flow);
+
+        assertThat(flowPathRepository.findByEndpointOrSegmentDestSwitch(switchA.getSwitchId()),
+                containsInAnyOrder(flow.getForwardPath(), flow.getReversePath(),
+                        flow.getProtectedForwardPath(), flow.getProtectedReversePath()));
+        assertThat(flowPathRepository.findByEndpointOrSegmentDestSwitch(switchC.getSwitchId()), Matchers.empty());
+    }
+
     @Test
     public void shouldKeepSegmentsOrdered() {
         FlowPath flowPath = buildTestFlowPath();
@@ -26,6 +26,7 @@ import org.openkilda.model.FlowPathStatus;
 import org.openkilda.model.FlowStatus;
 import org.openkilda.model.Isl;
 import org.openkilda.model.IslConfig;
+import org.openkilda.model.IslDownReason;
 import org.openkilda.model.IslStatus;
 import org.openkilda.model.MeterId;
 import org.openkilda.model.PathId;
@@ -38,6 +39,7 @@ import org.openkilda.persistence.Neo4jBasedTest;
 import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.persistence.repositories.FlowRepository;
 import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.IslRepository.IslStatusUpdate;
 import org.openkilda.persistence.repositories.SwitchPropertiesRepository;
 import org.openkilda.persistence.repositories.SwitchRepository;
 
@@ -308,6 +310,93 @@ public class Neo4jIslRepositoryTest extends Neo4jBasedTest {
                 TEST_SWITCH_B_ID, 2, TEST_SWITCH_A_ID, 1));
     }
 
+    @Test
+    public void shouldAdjustAvailableBandwidth() {
+        Isl isl = new Isl();
+        isl.setSrcSwitch(switchA);
+        isl.setSrcPort(1);
+        isl.setDestSwitch(switchB);
+        isl.setDestPort(2);
+        isl.setMaxBandwidth(100);
+        isl.setAvailableBandwidth(100);
+
+        islRepository.createOrUpdate(isl);
+
+        assertEquals(70, islRepository.adjustAvailableBandwidth(TEST_SWITCH_A_ID, 1, TEST_SWITCH_B_ID, 2, -30));
+        assertEquals(80, islRepository.adjustAvailableBandwidth(TEST_SWITCH_A_ID, 1, TEST_SWITCH_B_ID, 2, 10));
+        assertEquals(80, islRepository.findByEndpoints(TEST_SWITCH_A_ID, 1, TEST_SWITCH_B_ID, 2).get()
+                .getAvailableBandwidth());
+    }
+
+    @Test
+    public void shouldReconcileAvailableBandwidth() {
+        Isl isl = new Isl();
+        isl.setSrcSwitch(switchA);
+        isl.setSrcPort(1);
+        isl.setDestSwitch(switchB);
+        isl.setDestPort(2);
+        isl.setMaxBandwidth(100);
+        isl.setAvailableBandwidth(40);
+
+        islRepository.createOrUpdate(isl);
+
+        assertEquals(60, islRepository.reconcileAvailableBandwidth(TEST_SWITCH_A_ID, 1, TEST_SWITCH_B_ID, 2));
+        assertEquals(0, islRepository.reconcileAvailableBandwidth(TEST_SWITCH_A_ID, 1, TEST_SWITCH_B_ID, 2));
+        assertEquals(100, islRepository.findByEndpoints(TEST_SWITCH_A_ID, 1, TEST_SWITCH_B_ID, 2).get()
+                .getAvailableBandwidth());
+    }
+
+    @Test
+    public void shouldUpdateStatusOfSeveralIsls() {
+        Isl forward = new Isl();
+        forward.setSrcSwitch(switchA);
+        forward.setSrcPort(1);
+        forward.setDestSwitch(switchB);
+        forward.setDestPort(2);
+        forward.setStatus(IslStatus.ACTIVE);
+        forward.setActualStatus(IslStatus.ACTIVE);
+        islRepository.createOrUpdate(forward);
+
+        Isl reverse = new Isl();
+        reverse.setSrcSwitch(switchB);
+        reverse.setSrcPort(2);
+        reverse.setDestSwitch(switchA);
+        reverse.setDestPort(1);
+        reverse.setStatus(IslStatus.ACTIVE);
+        reverse.setActualStatus(IslStatus.ACTIVE);
+        islRepository.createOrUpdate(reverse);
+
+        Instant timeNow = Instant.now();
+        islRepository.updateStatus(Lists.newArrayList(
+                IslStatusUpdate.builder()
+                        .srcSwitchId(TEST_SWITCH_A_ID).srcPort(1).destSwitchId(TEST_SWITCH_B_ID).destPort(2)
+                        .status(IslStatus.INACTIVE).actualStatus(IslStatus.INACTIVE)
+                        .downReason(IslDownReason.PORT_DOWN)
+                        .timeModify(timeNow).timeUnstable(timeNow)
+                        .build(),
+                IslStatusUpdate.builder()
+                        .srcSwitchId(TEST_SWITCH_B_ID).srcPort(2).destSwitchId(TEST_SWITCH_A_ID).destPort(1)
+                        .status(IslStatus.INACTIVE).actualStatus(IslStatus.ACTIVE)
+                        .timeModify(timeNow)
+                        .build(),
+                IslStatusUpdate.builder()
+                        .srcSwitchId(TEST_SWITCH_A_ID).srcPort(3).destSwitchId(TEST_SWITCH_B_ID).destPort(4)
+                        .status(IslStatus.INACTIVE).actualStatus(IslStatus.INACTIVE)
+                        .timeModify(timeNow)
+                        .build()));
+
+        Isl foundForward = islRepository.findByEndpoints(TEST_SWITCH_A_ID, 1, TEST_SWITCH_B_ID, 2).get();
+        assertEquals(IslStatus.INACTIVE, foundForward.getStatus());
+        assertEquals(IslStatus.INACTIVE, foundForward.getActualStatus());
+        assertEquals(IslDownReason.PORT_DOWN, foundForward.getDownReason());
+        assertEquals(timeNow, foundForward.getTimeUnstable());
+
+        Isl foundReverse = islRepository.findByEndpoints(TEST_SWITCH_B_ID, 2, TEST_SWITCH_A_ID, 1).get();
+        assertEquals(IslStatus.INACTIVE, foundReverse.getStatus());
+        assertEquals(IslStatus.ACTIVE, foundReverse.getActualStatus());
+        assertEquals(2, islRepository.findAll().size());
+    }
+
     @Test
     public void shouldDeleteIsl() {
         Isl isl = new Isl();
@@ -30,10 +30,12 @@ import org.openkilda.model.PathId;
 import org.openkilda.model.PathSegment;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchStatus;
 import org.openkilda.persistence.Neo4jBasedTest;
 import org.openkilda.persistence.repositories.FlowRepository;
 import org.openkilda.persistence.repositories.SwitchRepository;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -117,6 +119,22 @@ public class Neo4jSwitchRepositoryTest extends Neo4jBasedTest {
         assertEquals(0, switchRepository.findAll().size());
     }
 
+    @Test
+    public void shouldUpdateStatusOfSeveralSwitches() {
+        switchRepository.createOrUpdate(Switch.builder().switchId(TEST_SWITCH_ID_A)
+                .status(SwitchStatus.ACTIVE).build());
+        switchRepository.createOrUpdate(Switch.builder().switchId(TEST_SWITCH_ID_B)
+                .status(SwitchStatus.ACTIVE).build());
+
+        switchRepository.updateStatus(ImmutableMap.of(
+                TEST_SWITCH_ID_A, SwitchStatus.INACTIVE,
+                TEST_SWITCH_ID_C, SwitchStatus.INACTIVE));
+
+        assertEquals(SwitchStatus.INACTIVE, switchRepository.findById(TEST_SWITCH_ID_A).get().getStatus());
+        assertEquals(SwitchStatus.ACTIVE, switchRepository.findById(TEST_SWITCH_ID_B).get().getStatus());
+        assertFalse(switchRepository.exists(TEST_SWITCH_ID_C));
+    }
+
     private void createOneSwitchFlow() {
         Switch switchA = Switch.builder().switchId(TEST_SWITCH_ID_A).build();
         switchRepository.createOrUpdate(switchA);
@@ -0,0 +1,97 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmark;
+
+import org.openkilda.config.provider.PropertiesBasedConfigurationProvider;
+import org.openkilda.model.Isl;
+import org.openkilda.pce.PathComputerConfig;
+import org.openkilda.pce.PathComputerFactory;
+import org.openkilda.pce.PathComputerFactory.WeightStrategy;
+import org.openkilda.pce.benchmark.TopologyGenerator.TopologyType;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.WeightFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures preparation of the {@link AvailableNetwork} for a path request: building it from ISLs and reducing
+ * parallel ISLs by weight. Only {@link TopologyType#RANDOM_MESH} has parallel ISLs, so other topologies show the cost
+ * of the traversal itself.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AvailableNetworkBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"RING", "FAT_TREE", "RANDOM_MESH"})
+    private TopologyType topology;
+
+    @Param({"100", "1000", "5000"})
+    private int switchCount;
+
+    private List<Isl> isls;
+    private WeightFunction weightFunction;
+    private AvailableNetwork network;
+
+    /**
+     * Generates ISLs of the topology once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        PathComputerConfig config = new PropertiesBasedConfigurationProvider()
+                .getConfiguration(PathComputerConfig.class);
+        weightFunction = new PathComputerFactory(config, null).getWeightFunctionByStrategy(WeightStrategy.COST);
+        isls = new TopologyGenerator(SEED).generate(topology, switchCount);
+    }
+
+    /**
+     * {@link AvailableNetwork#reduceByWeight} modifies the network, so each invocation needs a fresh one. The
+     * invocation-level setup is acceptable here as a single reduction takes much longer than the setup overhead.
+     */
+    @Setup(Level.Invocation)
+    public void buildNetwork() {
+        network = TopologyGenerator.buildNetwork(isls);
+    }
+
+    @Benchmark
+    public AvailableNetwork build() {
+        return TopologyGenerator.buildNetwork(isls);
+    }
+
+    @Benchmark
+    public AvailableNetwork reduceByWeight() {
+        network.reduceByWeight(weightFunction);
+        return network;
+    }
+}
@@ -0,0 +1,157 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmark;
+
+import org.openkilda.config.provider.PropertiesBasedConfigurationProvider;
+import org.openkilda.model.Isl;
+import org.openkilda.model.PathSegment;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.PathComputerConfig;
+import org.openkilda.pce.PathComputerFactory;
+import org.openkilda.pce.PathComputerFactory.PathFinderType;
+import org.openkilda.pce.PathComputerFactory.WeightStrategy;
+import org.openkilda.pce.benchmark.TopologyGenerator.TopologyType;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.finder.BestCostAndShortestPathFinder;
+import org.openkilda.pce.finder.DijkstraPathFinder;
+import org.openkilda.pce.finder.PathFinder;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.WeightFunction;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single path request as performed by {@link org.openkilda.pce.impl.InMemoryPathComputer} over a reduced
+ * network: the best path search and Yen's N best paths search. Every invocation takes the next pair of endpoints from
+ * a pre-generated list, so the results are averaged over different path lengths.
+ * <p/>
+ * Run with {@code -prof gc} to get the allocation rate per path request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PathFinderBenchmark {
+    private static final long SEED = 42;
+    private static final int ENDPOINTS_COUNT = 64;
+    private static final int DIVERSE_FLOWS_COUNT = 16;
+    private static final int PATHS_COUNT = 10;
+
+    @Param({"RING", "FAT_TREE", "RANDOM_MESH"})
+    private TopologyType topology;
+
+    @Param({"100", "1000", "5000"})
+    private int switchCount;
+
+    @Param({"BEST_COST_AND_SHORTEST", "DIJKSTRA"})
+    private PathFinderType finderType;
+
+    @Param({"false", "true"})
+    private boolean diversity;
+
+    private AvailableNetwork network;
+    private PathFinder pathFinder;
+    private List<SwitchId[]> endpoints;
+    private int cursor;
+
+    /**
+     * Generates the topology and prepares the network in the same way as it's done for a path request.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws UnroutableFlowException {
+        PathComputerConfig config = new PropertiesBasedConfigurationProvider()
+                .getConfiguration(PathComputerConfig.class);
+        WeightFunction weightFunction = new PathComputerFactory(config, null)
+                .getWeightFunctionByStrategy(WeightStrategy.COST);
+        pathFinder = createPathFinder(config.getMaxAllowedDepth(), weightFunction);
+
+        TopologyGenerator generator = new TopologyGenerator(SEED);
+        List<Isl> isls = generator.generate(topology, switchCount);
+        network = TopologyGenerator.buildNetwork(isls);
+        endpoints = generator.pickEndpoints(network, ENDPOINTS_COUNT, config.getMaxAllowedDepth());
+
+        if (diversity) {
+            addDiversityWeights(config);
+        }
+        network.reduceByWeight(weightFunction);
+    }
+
+    @Benchmark
+    public Pair<List<Edge>, List<Edge>> findPath() throws UnroutableFlowException {
+        SwitchId[] pair = nextEndpoints();
+        return pathFinder.findPathInNetwork(network, pair[0], pair[1]);
+    }
+
+    @Benchmark
+    public List<List<Edge>> findNPaths() throws UnroutableFlowException {
+        SwitchId[] pair = nextEndpoints();
+        return pathFinder.findNPathsBetweenSwitches(network, pair[0], pair[1], PATHS_COUNT);
+    }
+
+    private SwitchId[] nextEndpoints() {
+        SwitchId[] pair = endpoints.get(cursor);
+        cursor = (cursor + 1) % endpoints.size();
+        return pair;
+    }
+
+    private PathFinder createPathFinder(int allowedDepth, WeightFunction weightFunction) {
+        switch (finderType) {
+            case DIJKSTRA:
+                return new DijkstraPathFinder(allowedDepth, weightFunction);
+            case BEST_COST_AND_SHORTEST:
+            default:
+                return new BestCostAndShortestPathFinder(allowedDepth, weightFunction);
+        }
+    }
+
+    /**
+     * Emulates a diverse group: paths of several flows become diversity segments for the requested path.
+     */
+    private void addDiversityWeights(PathComputerConfig config) throws UnroutableFlowException {
+        List<PathSegment> segments = new ArrayList<>();
+        for (SwitchId[] pair : endpoints.subList(0, Math.min(DIVERSE_FLOWS_COUNT, endpoints.size()))) {
+            for (Edge edge : pathFinder.findPathInNetwork(network, pair[0], pair[1]).getLeft()) {
+                segments.add(PathSegment.builder()
+                        .srcSwitch(Switch.builder().switchId(edge.getSrcSwitch().getSwitchId()).build())
+                        .srcPort(edge.getSrcPort())
+                        .destSwitch(Switch.builder().switchId(edge.getDestSwitch().getSwitchId()).build())
+                        .destPort(edge.getDestPort())
+                        .build());
+            }
+        }
+        network.processDiversitySegments(segments, config);
+    }
+}
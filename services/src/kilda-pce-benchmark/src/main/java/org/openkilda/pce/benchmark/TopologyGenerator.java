@@ -0,0 +1,232 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmark;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslConfig;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchStatus;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.Edge;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates synthetic topologies of the requested size. The generation is driven by a seeded {@link Random}, so the
+ * same parameters always produce the same set of ISLs and the benchmark results are comparable between runs.
+ */
+public class TopologyGenerator {
+    private static final int MAX_PARALLEL_ISLS = 3;
+    private static final int MESH_DEGREE = 4;
+    private static final int MAX_COST = 1000;
+    private static final long BANDWIDTH = 10_000_000;
+
+    private final Random random;
+    private final Map<SwitchId, Switch> switches = new HashMap<>();
+    private final Map<SwitchId, Integer> lastPorts = new HashMap<>();
+    private final IslConfig islConfig = IslConfig.builder().unstableIslTimeout(Duration.ofSeconds(120)).build();
+
+    public TopologyGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Generates ISLs (both directions) of the topology with approximately {@code switchCount} switches.
+     */
+    public List<Isl> generate(TopologyType type, int switchCount) {
+        switches.clear();
+        lastPorts.clear();
+
+        List<Isl> isls = new ArrayList<>();
+        switch (type) {
+            case RING:
+                generateRing(isls, switchCount);
+                break;
+            case FAT_TREE:
+                generateFatTree(isls, switchCount);
+                break;
+            case RANDOM_MESH:
+                generateRandomMesh(isls, switchCount);
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Unsupported topology type %s", type));
+        }
+        return isls;
+    }
+
+    /**
+     * Builds the network from ISLs in the same way {@link org.openkilda.pce.AvailableNetworkFactory} does.
+     */
+    public static AvailableNetwork buildNetwork(List<Isl> isls) {
+        AvailableNetwork network = new AvailableNetwork();
+        isls.forEach(network::addLink);
+        return network;
+    }
+
+    /**
+     * Picks random pairs of switches connected by a path not deeper than {@code allowedDepth}.
+     */
+    public List<SwitchId[]> pickEndpoints(AvailableNetwork network, int count, int allowedDepth) {
+        List<SwitchId> switchIds = new ArrayList<>(switches.keySet());
+        switchIds.sort(SwitchId::compareTo);
+
+        List<SwitchId[]> endpoints = new ArrayList<>(count);
+        for (int attempt = 0; endpoints.size() < count && attempt < count * 100; attempt++) {
+            SwitchId src = switchIds.get(random.nextInt(switchIds.size()));
+            SwitchId dst = switchIds.get(random.nextInt(switchIds.size()));
+            int hops = getHops(network, src, dst);
+            if (!src.equals(dst) && hops > 0 && hops <= allowedDepth) {
+                endpoints.add(new SwitchId[] {src, dst});
+            }
+        }
+        if (endpoints.isEmpty()) {
+            throw new IllegalStateException("Unable to find switches connected by a path within allowed depth");
+        }
+        return endpoints;
+    }
+
+    private void generateRing(List<Isl> isls, int switchCount) {
+        for (int i = 0; i < switchCount; i++) {
+            addLink(isls, getSwitch(i), getSwitch((i + 1) % switchCount), randomCost());
+        }
+    }
+
+    /**
+     * Three-tier k-ary fat-tree: k pods of k/2 aggregation and k/2 edge switches plus (k/2)^2 core switches.
+     */
+    private void generateFatTree(List<Isl> isls, int switchCount) {
+        int half = 1;
+        while (5 * (half * 2) * (half * 2) / 4 < switchCount) {
+            half++;
+        }
+        int pods = half * 2;
+        int coreCount = half * half;
+
+        int next = coreCount;
+        for (int pod = 0; pod < pods; pod++) {
+            int aggregationBase = next;
+            int edgeBase = next + half;
+            next += half * 2;
+            for (int aggregation = 0; aggregation < half; aggregation++) {
+                for (int core = 0; core < half; core++) {
+                    addLink(isls, getSwitch(aggregationBase + aggregation), getSwitch(aggregation * half + core),
+                            randomCost());
+                }
+                for (int edge = 0; edge < half; edge++) {
+                    addLink(isls, getSwitch(edgeBase + edge), getSwitch(aggregationBase + aggregation),
+                            randomCost());
+                }
+            }
+        }
+    }
+
+    /**
+     * Connected random mesh: a random spanning tree plus extra links up to average degree of {@link #MESH_DEGREE}.
+     * Each pair of connected switches may have several parallel ISLs with different costs.
+     */
+    private void generateRandomMesh(List<Isl> isls, int switchCount) {
+        for (int i = 1; i < switchCount; i++) {
+            addParallelLinks(isls, getSwitch(i), getSwitch(random.nextInt(i)));
+        }
+        int extraLinks = switchCount * (MESH_DEGREE - 2) / 2;
+        for (int i = 0; i < extraLinks; i++) {
+            int src = random.nextInt(switchCount);
+            int dst = random.nextInt(switchCount);
+            if (src != dst) {
+                addParallelLinks(isls, getSwitch(src), getSwitch(dst));
+            }
+        }
+    }
+
+    private void addParallelLinks(List<Isl> isls, Switch src, Switch dst) {
+        int parallel = 1 + random.nextInt(MAX_PARALLEL_ISLS);
+        for (int i = 0; i < parallel; i++) {
+            addLink(isls, src, dst, randomCost());
+        }
+    }
+
+    private void addLink(List<Isl> isls, Switch src, Switch dst, int cost) {
+        int srcPort = nextPort(src);
+        int dstPort = nextPort(dst);
+        isls.add(buildIsl(src, srcPort, dst, dstPort, cost));
+        isls.add(buildIsl(dst, dstPort, src, srcPort, cost));
+    }
+
+    private Isl buildIsl(Switch src, int srcPort, Switch dst, int dstPort, int cost) {
+        Isl isl = Isl.builder()
+                .srcSwitch(src).srcPort(srcPort)
+                .destSwitch(dst).destPort(dstPort)
+                .status(IslStatus.ACTIVE)
+                .actualStatus(IslStatus.ACTIVE)
+                .cost(cost)
+                .latency(cost * 1000L)
+                .maxBandwidth(BANDWIDTH)
+                .availableBandwidth(BANDWIDTH)
+                .build();
+        isl.setIslConfig(islConfig);
+        return isl;
+    }
+
+    private Switch getSwitch(int index) {
+        SwitchId switchId = new SwitchId(index + 1);
+        return switches.computeIfAbsent(switchId,
+                id -> Switch.builder().switchId(id).status(SwitchStatus.ACTIVE).build());
+    }
+
+    private int nextPort(Switch sw) {
+        return lastPorts.merge(sw.getSwitchId(), 1, Integer::sum);
+    }
+
+    private int randomCost() {
+        return 1 + random.nextInt(MAX_COST);
+    }
+
+    private static int getHops(AvailableNetwork network, SwitchId src, SwitchId dst) {
+        Map<SwitchId, Integer> hops = new HashMap<>();
+        Deque<SwitchId> queue = new ArrayDeque<>();
+        hops.put(src, 0);
+        queue.add(src);
+        while (!queue.isEmpty()) {
+            SwitchId current = queue.poll();
+            if (current.equals(dst)) {
+                return hops.get(current);
+            }
+            for (Edge edge : network.getSwitch(current).getOutgoingLinks()) {
+                SwitchId next = edge.getDestSwitch().getSwitchId();
+                if (!hops.containsKey(next)) {
+                    hops.put(next, hops.get(current) + 1);
+                    queue.add(next);
+                }
+            }
+        }
+        return -1;
+    }
+
+    public enum TopologyType {
+        RING,
+        FAT_TREE,
+        RANDOM_MESH
+    }
+}
@@ -20,6 +20,8 @@ import org.openkilda.model.Isl;
 import org.openkilda.model.PathId;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.impl.NetworkModel;
+import org.openkilda.pce.impl.SharedNetworkSnapshot;
 import org.openkilda.persistence.PersistenceException;
 import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.persistence.repositories.IslRepository;
@@ -27,8 +29,11 @@ import org.openkilda.persistence.repositories.RepositoryFactory;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -39,11 +44,39 @@ public class AvailableNetworkFactory {
     private PathComputerConfig config;
     private IslRepository islRepository;
     private FlowPathRepository flowPathRepository;
+    private NetworkModel networkModel;
 
     public AvailableNetworkFactory(PathComputerConfig config, RepositoryFactory repositoryFactory) {
+        this(config, repositoryFactory, null);
+    }
+
+    public AvailableNetworkFactory(PathComputerConfig config, RepositoryFactory repositoryFactory,
+                                   NetworkModel networkModel) {
         this.config = config;
         this.islRepository = repositoryFactory.createIslRepository();
         this.flowPathRepository = repositoryFactory.createFlowPathRepository();
+        this.networkModel = networkModel;
+    }
+
+    /**
+     * Creates the in-memory network model if it's enabled by the config. The owner of the model is responsible for
+     * delivering network events to it, see {@link NetworkModel}.
+     */
+    public static Optional<NetworkModel> createNetworkModel(PathComputerConfig config,
+                                                            RepositoryFactory repositoryFactory) {
+        if (!config.isNetworkModelEnabled()) {
+            return Optional.empty();
+        }
+        return Optional.of(new NetworkModel(repositoryFactory,
+                Duration.ofSeconds(config.getNetworkModelMaxStalenessSeconds()),
+                Duration.ofSeconds(config.getNetworkModelMinReloadIntervalSeconds())));
+    }
+
+    /**
+     * Returns the in-memory network model used as a source of ISLs, if enabled.
+     */
+    public Optional<NetworkModel> getNetworkModel() {
+        return Optional.ofNullable(networkModel);
     }
 
     /**
@@ -74,16 +107,65 @@ public class AvailableNetworkFactory {
             Collection<Isl> links = getAvailableIsls(buildStrategy, flow);
             links.forEach(network::addLink);
 
-            if (!reusePathsResources.isEmpty() && !flow.isIgnoreBandwidth()) {
-                // ISLs occupied by the flow (take the bandwidth already occupied by the flow into account).
-                Collection<Isl> flowLinks = islRepository.findActiveAndOccupiedByFlowPathWithAvailableBandwidth(
-                        reusePathsResources, flow.getBandwidth(), flow.getEncapsulationType());
-                flowLinks.forEach(network::addLink);
-            }
+            // ISLs occupied by the flow (take the bandwidth already occupied by the flow into account).
+            getOccupiedIsls(flow, reusePathsResources).forEach(network::addLink);
         } catch (PersistenceException e) {
             throw new RecoverableException("An error from neo4j", e);
         }
 
+        fillDiversityWeights(network, flow, reusePathsResources);
+        return network;
+    }
+
+    /**
+     * Gets a {@link AvailableNetwork} built over the shared snapshot, so the bandwidth allocated by the previous
+     * computations of a batch is taken into account.
+     *
+     * @param flow                        the flow, for which {@link AvailableNetwork} is constructing.
+     * @param reusePathsResources         reuse resources already allocated by paths.
+     * @param snapshot                    the network snapshot shared by the batch.
+     * @return {@link AvailableNetwork} instance
+     */
+    public AvailableNetwork getAvailableNetwork(
+            Flow flow, List<PathId> reusePathsResources, SharedNetworkSnapshot snapshot) throws RecoverableException {
+        BuildStrategy buildStrategy = BuildStrategy.from(config.getNetworkStrategy());
+        AvailableNetwork network = new AvailableNetwork();
+        try {
+            Collection<Isl> links = getAvailableIsls(buildStrategy, flow, snapshot);
+            links.forEach(network::addLink);
+
+            snapshot.filterOccupiedIsls(getOccupiedIsls(flow, reusePathsResources), flow.getBandwidth())
+                    .forEach(network::addLink);
+        } catch (PersistenceException e) {
+            throw new RecoverableException("An error from neo4j", e);
+        }
+
+        fillDiversityWeights(network, flow, reusePathsResources);
+        return network;
+    }
+
+    /**
+     * Creates a view of the network to be shared by a batch of path computations.
+     */
+    public SharedNetworkSnapshot createSharedSnapshot() {
+        if (networkModel != null) {
+            NetworkModel.Snapshot snapshot = networkModel.getSnapshot();
+            return new SharedNetworkSnapshot(snapshot::findAllActive,
+                    encapsulation -> snapshot.findActiveWithAvailableBandwidth(0, encapsulation));
+        }
+        return new SharedNetworkSnapshot(islRepository::findAllActive,
+                encapsulation -> islRepository.findActiveWithAvailableBandwidth(0, encapsulation));
+    }
+
+    private Collection<Isl> getOccupiedIsls(Flow flow, List<PathId> reusePathsResources) {
+        if (reusePathsResources.isEmpty() || flow.isIgnoreBandwidth()) {
+            return Collections.emptyList();
+        }
+        return islRepository.findActiveAndOccupiedByFlowPathWithAvailableBandwidth(
+                reusePathsResources, flow.getBandwidth(), flow.getEncapsulationType());
+    }
+
+    private void fillDiversityWeights(AvailableNetwork network, Flow flow, List<PathId> reusePathsResources) {
         if (flow.getGroupId() != null) {
             log.info("Filling AvailableNetwork diverse weighs for group with id {}", flow.getGroupId());
 
@@ -99,11 +181,13 @@ public class AvailableNetworkFactory {
                             .ifPresent(flowPath ->
                                     network.processDiversitySegments(flowPath.getSegments(), config)));
         }
-
-        return network;
     }
 
     private Collection<Isl> getAvailableIsls(BuildStrategy buildStrategy, Flow flow) {
+        if (networkModel != null) {
+            return getAvailableIsls(buildStrategy, flow, networkModel.getSnapshot());
+        }
+
         if (buildStrategy == BuildStrategy.COST) {
             return flow.isIgnoreBandwidth() ? islRepository.findAllActive() :
                     islRepository.findActiveWithAvailableBandwidth(flow.getBandwidth(), flow.getEncapsulationType());
@@ -116,6 +200,32 @@ public class AvailableNetworkFactory {
         }
     }
 
+    private Collection<Isl> getAvailableIsls(BuildStrategy buildStrategy, Flow flow, NetworkModel.Snapshot snapshot) {
+        if (buildStrategy == BuildStrategy.COST) {
+            return flow.isIgnoreBandwidth() ? snapshot.findAllActive() :
+                    snapshot.findActiveWithAvailableBandwidth(flow.getBandwidth(), flow.getEncapsulationType());
+        } else if (buildStrategy == BuildStrategy.SYMMETRIC_COST) {
+            return flow.isIgnoreBandwidth() ? snapshot.findAllActive() :
+                    snapshot.findSymmetricActiveWithAvailableBandwidth(flow.getBandwidth(),
+                            flow.getEncapsulationType());
+        } else {
+            throw new UnsupportedOperationException(String.format("Unsupported buildStrategy type %s", buildStrategy));
+        }
+    }
+
+    private Collection<Isl> getAvailableIsls(BuildStrategy buildStrategy, Flow flow, SharedNetworkSnapshot snapshot) {
+        if (buildStrategy == BuildStrategy.COST) {
+            return flow.isIgnoreBandwidth() ? snapshot.findAllActive() :
+                    snapshot.findActiveWithAvailableBandwidth(flow.getBandwidth(), flow.getEncapsulationType());
+        } else if (buildStrategy == BuildStrategy.SYMMETRIC_COST) {
+            return flow.isIgnoreBandwidth() ? snapshot.findAllActive() :
+                    snapshot.findSymmetricActiveWithAvailableBandwidth(flow.getBandwidth(),
+                            flow.getEncapsulationType());
+        } else {
+            throw new UnsupportedOperationException(String.format("Unsupported buildStrategy type %s", buildStrategy));
+        }
+    }
+
     public enum BuildStrategy {
         /**
          * WeightStrategy based on cost of links.
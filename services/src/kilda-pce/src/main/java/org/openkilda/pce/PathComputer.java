@@ -52,6 +52,16 @@ public interface PathComputer {
     PathPair getPath(Flow flow, List<PathId> reusePathsResources)
             throws UnroutableFlowException, RecoverableException;
 
+    /**
+     * Gets paths for a batch of flows. All paths are computed over a single view of the network: flows are processed
+     * sequentially in order of their priority, and the bandwidth allocated for a flow is not available for the flows
+     * processed after it.
+     *
+     * @param requests the flows to compute paths for.
+     * @return {@link BatchPathResult} with computed paths and failure reasons.
+     */
+    BatchPathResult getPaths(List<PathRequest> requests) throws RecoverableException;
+
     /**
      * Gets N best paths.
      *
@@ -44,7 +44,33 @@ public interface PathComputerConfig extends Serializable {
     @Default("COST")
     String getStrategy();
 
+    @Key("path.finder")
+    @Default("BEST_COST_AND_SHORTEST")
+    String getPathFinder();
+
     @Key("network.strategy")
     @Default("COST")
     String getNetworkStrategy();
+
+    @Key("network.model.enabled")
+    @Default("false")
+    boolean isNetworkModelEnabled();
+
+    @Key("network.model.max.staleness.seconds")
+    @Default("60")
+    int getNetworkModelMaxStalenessSeconds();
+
+    /**
+     * Minimal interval between reloads of the network model requested by the path computation.
+     */
+    @Key("network.model.min.reload.interval.seconds")
+    @Default("10")
+    int getNetworkModelMinReloadIntervalSeconds();
+
+    /**
+     * Number of threads that search N best paths, 0 to use all available processors and 1 to search sequentially.
+     */
+    @Key("k.paths.parallelism")
+    @Default("0")
+    int getKPathsParallelism();
 }
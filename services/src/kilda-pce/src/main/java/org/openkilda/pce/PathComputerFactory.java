@@ -16,16 +16,25 @@
 package org.openkilda.pce;
 
 import org.openkilda.pce.finder.BestCostAndShortestPathFinder;
+import org.openkilda.pce.finder.DijkstraPathFinder;
+import org.openkilda.pce.finder.PathFinder;
 import org.openkilda.pce.impl.InMemoryPathComputer;
 import org.openkilda.pce.model.WeightFunction;
 
 import com.google.common.annotations.VisibleForTesting;
 
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * A factory for {@link PathComputer} instances. It provides a specific {@link PathComputer} depending on configuration
  * ({@link PathComputerConfig}) and requested strategy ({@link WeightStrategy}).
  */
 public class PathComputerFactory {
+    /**
+     * The pool for searches of N best paths. It is shared by all factories of the worker and is not shared with
+     * other parallel computations, so the search doesn't compete for the common pool.
+     */
+    private static ForkJoinPool kPathsPool;
 
     private PathComputerConfig config;
     private AvailableNetworkFactory availableNetworkFactory;
@@ -42,10 +51,7 @@ public class PathComputerFactory {
      * @return {@link PathComputer} instances
      */
     public PathComputer getPathComputer(WeightStrategy weightStrategy) {
-        return new InMemoryPathComputer(availableNetworkFactory,
-                new BestCostAndShortestPathFinder(
-                        config.getMaxAllowedDepth(),
-                        getWeightFunctionByStrategy(weightStrategy)));
+        return new InMemoryPathComputer(availableNetworkFactory, getPathFinder(weightStrategy));
     }
 
     /**
@@ -57,6 +63,37 @@ public class PathComputerFactory {
         return getPathComputer(WeightStrategy.from(config.getStrategy()));
     }
 
+    private PathFinder getPathFinder(WeightStrategy weightStrategy) {
+        WeightFunction weightFunction = getWeightFunctionByStrategy(weightStrategy);
+        PathFinderType finderType = config.getPathFinder() != null
+                ? PathFinderType.from(config.getPathFinder()) : PathFinderType.BEST_COST_AND_SHORTEST;
+        switch (finderType) {
+            case DIJKSTRA:
+                return new DijkstraPathFinder(config.getMaxAllowedDepth(), weightFunction, getKPathsPool());
+            case BEST_COST_AND_SHORTEST:
+            default:
+                return new BestCostAndShortestPathFinder(config.getMaxAllowedDepth(), weightFunction,
+                        getKPathsPool());
+        }
+    }
+
+    /**
+     * Returns the pool for searches of N best paths, or null if they have to be done sequentially.
+     */
+    private ForkJoinPool getKPathsPool() {
+        int parallelism = config.getKPathsParallelism() > 0
+                ? config.getKPathsParallelism() : Runtime.getRuntime().availableProcessors();
+        if (parallelism <= 1) {
+            return null;
+        }
+        synchronized (PathComputerFactory.class) {
+            if (kPathsPool == null) {
+                kPathsPool = new ForkJoinPool(parallelism);
+            }
+            return kPathsPool;
+        }
+    }
+
     /**
      * Returns weight computing function for passed strategy.
      *
@@ -96,4 +133,27 @@ public class PathComputerFactory {
             }
         }
     }
+
+    /**
+     * Defines the path finding algorithm.
+     */
+    public enum PathFinderType {
+        /**
+         * Depth-limited breadth first search, see {@link BestCostAndShortestPathFinder}.
+         */
+        BEST_COST_AND_SHORTEST,
+
+        /**
+         * Dijkstra search over the compact network representation, see {@link DijkstraPathFinder}.
+         */
+        DIJKSTRA;
+
+        private static PathFinderType from(String finder) {
+            try {
+                return valueOf(finder.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format("PathFinder %s is not supported", finder));
+            }
+        }
+    }
 }
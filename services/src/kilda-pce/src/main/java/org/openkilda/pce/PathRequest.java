@@ -0,0 +1,43 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce;
+
+import org.openkilda.model.Flow;
+import org.openkilda.model.PathId;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A single path computation request of a batch, see {@link PathComputer#getPaths(List)}.
+ */
+@Value
+@Builder
+public class PathRequest {
+    @NonNull
+    private Flow flow;
+
+    /**
+     * Paths which resources (bandwidth) may be reused by the new path.
+     */
+    @NonNull
+    @Builder.Default
+    private List<PathId> reusePathsResources = Collections.emptyList();
+}
@@ -17,6 +17,7 @@ package org.openkilda.pce.finder;
 
 import static java.lang.String.format;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
 import static java.util.stream.Collectors.toSet;
 
 import org.openkilda.model.SwitchId;
@@ -42,6 +43,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 /**
@@ -63,16 +65,29 @@ import java.util.stream.Collectors;
 public class BestCostAndShortestPathFinder implements PathFinder {
     private final int allowedDepth;
     private final WeightFunction weightFunction;
+    private final ForkJoinPool pool;
 
     /**
-     * Constructs the finder with the specified limit on path depth.
+     * Constructs the finder with the specified limit on path depth, N best paths are searched sequentially.
      *
      * @param allowedDepth the allowed depth for a potential path.
      * @param weightFunction  the edge weight computing function.
      */
     public BestCostAndShortestPathFinder(int allowedDepth, WeightFunction weightFunction) {
+        this(allowedDepth, weightFunction, null);
+    }
+
+    /**
+     * Constructs the finder with the specified limit on path depth and the pool for parallel searches.
+     *
+     * @param allowedDepth the allowed depth for a potential path.
+     * @param weightFunction  the edge weight computing function.
+     * @param pool the pool to run searches of N best paths in, null to search sequentially.
+     */
+    public BestCostAndShortestPathFinder(int allowedDepth, WeightFunction weightFunction, ForkJoinPool pool) {
         this.allowedDepth = allowedDepth;
         this.weightFunction = weightFunction;
+        this.pool = pool;
     }
 
     @Override
@@ -106,7 +121,8 @@ public class BestCostAndShortestPathFinder implements PathFinder {
     }
 
     /**
-     * Find N (or less) best paths. To find N paths Yen's algorithm is used.
+     * Find N (or less) best paths. To find N paths Yen's algorithm is used, spur paths are searched in parallel
+     * without modification of the network.
      *
      * @return an list of N (or less) best paths.
      */
@@ -122,87 +138,23 @@ public class BestCostAndShortestPathFinder implements PathFinder {
                     start == null ? startSwitchId : endSwitchId));
         }
 
-        // Determine the shortest path from the start to the end.
-        List<List<Edge>> bestPaths = new ArrayList<>();
-        bestPaths.add(getPath(start, end));
-
-        // Initialize the set to store the potential kth shortest path.
-        Set<List<Edge>> potentialKthShortestPaths = new HashSet<>();
-
-        for (int k = 1; k < count; k++) {
-            List<Edge> bestPath = bestPaths.get(k - 1);
-            for (int i = 0; i < bestPath.size(); i++) {
-                // Spur node is retrieved from the previous k-shortest path.
-                Node spurNode = bestPath.get(i).getSrcSwitch();
-                // The sequence of edges from the start to the spur node (without spur node).
-                List<Edge> rootPath = new ArrayList<>(bestPath.subList(0, i));
-
-                Set<Edge> removedEdges = new HashSet<>();
-                // Remove the links that are part of the previous shortest paths which share the same root path.
-                for (List<Edge> path : bestPaths) {
-                    if (path.size() > i && rootPath.equals(path.subList(0, i))
-                            && spurNode.equals(path.get(i).getSrcSwitch())) {
-                        removedEdges.add(path.get(i));
-                        removeEdge(path.get(i));
-                    }
-                }
-
-                for (Edge edge : rootPath) {
-                    edge.getSrcSwitch().remove();
-                }
-
-                // Calculate the spur path from the spur node to the end.
-                List<Edge> pathFromSpurNode = getPath(spurNode, end);
-                if (!pathFromSpurNode.isEmpty()) {
-                    List<Edge> totalPath = new ArrayList<>(rootPath);
-                    // Entire path is made up of the root path and spur path.
-                    totalPath.addAll(pathFromSpurNode);
-                    // Add the potential k-shortest path to the heap.
-                    potentialKthShortestPaths.add(totalPath);
-                }
+        YenKShortestPaths<Edge> search = new YenKShortestPaths<>(pool, (previousPath, spurIndex, excludedEdges) -> {
+            // Spur node is retrieved from the previous k-shortest path.
+            Node spurNode = previousPath.get(spurIndex).getSrcSwitch();
 
-                // Add back the edges and nodes that were removed from the graph.
-                for (Edge edge : removedEdges) {
-                    restoreEdge(edge);
-                }
-                for (Edge edge : rootPath) {
-                    edge.getSrcSwitch().restore();
-                }
+            // Both directions of excluded edges and nodes of the root path are masked out.
+            Set<Edge> excluded = new HashSet<>(excludedEdges);
+            excludedEdges.forEach(edge -> excluded.add(edge.swap()));
+            Set<Node> excludedNodes = new HashSet<>();
+            for (Edge edge : previousPath.subList(0, spurIndex)) {
+                excludedNodes.add(edge.getSrcSwitch());
             }
 
-            if (potentialKthShortestPaths.isEmpty()) {
-                break;
-            }
-
-            // Add the lowest cost path becomes the k-shortest path.
-            List<Edge> newBestPath = getBestPotentialKthShortestPath(potentialKthShortestPaths, bestPaths);
-            bestPaths.add(newBestPath);
-        }
+            return getPath(spurNode, end, excluded, excludedNodes);
+        }, Comparator.comparingLong(this::getMinAvailableBandwidth).reversed()
+                .thenComparingLong(this::getTotalCost));
 
-        return bestPaths;
-    }
-
-    private List<Edge> getBestPotentialKthShortestPath(Set<List<Edge>> potentialKthShortestPaths,
-                                                       List<List<Edge>> bestPaths) {
-        List<Edge> bestKthShortestPath = new ArrayList<>();
-
-        long bestAvailableBandwidth = Long.MIN_VALUE;
-        long bestCost = Long.MAX_VALUE;
-
-        for (List<Edge> path : potentialKthShortestPaths) {
-            long currentAvailableBandwidth = getMinAvailableBandwidth(path);
-            long currentCost = getTotalCost(path);
-            if (!bestPaths.contains(path) && (currentAvailableBandwidth > bestAvailableBandwidth
-                    || (currentAvailableBandwidth == bestAvailableBandwidth && currentCost < bestCost))) {
-                bestAvailableBandwidth = currentAvailableBandwidth;
-                bestCost = currentCost;
-                bestKthShortestPath = path;
-            }
-        }
-
-        potentialKthShortestPaths.remove(bestKthShortestPath);
-
-        return bestKthShortestPath;
+        return search.find(getPath(start, end), count);
     }
 
     private long getMinAvailableBandwidth(List<Edge> path) {
@@ -216,24 +168,6 @@ public class BestCostAndShortestPathFinder implements PathFinder {
         return path.stream().mapToLong(Edge::getCost).sum();
     }
 
-    private void removeEdge(Edge edge) {
-        edge.getSrcSwitch().getOutgoingLinks().remove(edge);
-        edge.getDestSwitch().getIncomingLinks().remove(edge);
-
-        Edge reverseEdge = edge.swap();
-        reverseEdge.getSrcSwitch().getOutgoingLinks().remove(reverseEdge);
-        reverseEdge.getDestSwitch().getIncomingLinks().remove(reverseEdge);
-    }
-
-    private void restoreEdge(Edge edge) {
-        edge.getSrcSwitch().getOutgoingLinks().add(edge);
-        edge.getDestSwitch().getIncomingLinks().add(edge);
-
-        Edge reverseEdge = edge.swap();
-        reverseEdge.getSrcSwitch().getOutgoingLinks().add(reverseEdge);
-        reverseEdge.getDestSwitch().getIncomingLinks().add(reverseEdge);
-    }
-
     /**
      * Call this method to find a path from start to end (srcDpid to dstDpid), particularly if you have no idea if the
      * path exists or what the best path is.
@@ -241,6 +175,16 @@ public class BestCostAndShortestPathFinder implements PathFinder {
      * @return An ordered list that represents the path from start to end, or an empty list
      */
     private List<Edge> getPath(Node start, Node end) {
+        return getPath(start, end, emptySet(), emptySet());
+    }
+
+    /**
+     * Finds a path from start to end, which doesn't contain the excluded edges and doesn't pass through the excluded
+     * nodes. The network is not modified, so the method can be safely called concurrently.
+     *
+     * @return An ordered list that represents the path from start to end, or an empty list
+     */
+    private List<Edge> getPath(Node start, Node end, Set<Edge> excludedEdges, Set<Node> excludedNodes) {
         long bestCost = Integer.MAX_VALUE; // Need to be long because it stores sum of ints.
         SearchNode bestPath = null;
 
@@ -284,6 +228,7 @@ public class BestCostAndShortestPathFinder implements PathFinder {
             // At this stage .. haven't found END, haven't gone too deep, and we are not over cost.
             // So, add the outbound isls.
             current.dstSw.getOutgoingLinks().stream()
+                    .filter(edge -> !excludedEdges.contains(edge) && !excludedNodes.contains(edge.getDestSwitch()))
                     .sorted(Comparator.comparing(edge -> edge.getDestSwitch().getSwitchId()))
                     .forEach(edge -> toVisit.add(current.addNode(edge)));
         }
@@ -0,0 +1,371 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.Node;
+import org.openkilda.pce.model.WeightFunction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only compressed sparse row (CSR) representation of an {@link AvailableNetwork}. Nodes are addressed by int
+ * indexes, outgoing edges of node {@code n} occupy the range {@code [offsets[n], offsets[n + 1])} of the parallel edge
+ * arrays. Edge weights are pre-calculated with the {@link WeightFunction} once, so searches over the network don't
+ * touch the object graph at all.
+ */
+public final class CompactNetwork {
+    private final Node[] nodes;
+    private final Map<SwitchId, Integer> nodeIndexes;
+    private final long[] nodeWeights;
+
+    private final int[] offsets;
+    private final int[] sources;
+    private final int[] targets;
+    private final long[] weights;
+    private final int[] reverseEdges;
+    private final Edge[] edges;
+
+    private CompactNetwork(Node[] nodes, Map<SwitchId, Integer> nodeIndexes, long[] nodeWeights, int[] offsets,
+                           int[] sources, int[] targets, long[] weights, int[] reverseEdges, Edge[] edges) {
+        this.nodes = nodes;
+        this.nodeIndexes = nodeIndexes;
+        this.nodeWeights = nodeWeights;
+        this.offsets = offsets;
+        this.sources = sources;
+        this.targets = targets;
+        this.weights = weights;
+        this.reverseEdges = reverseEdges;
+        this.edges = edges;
+    }
+
+    /**
+     * Builds the compact representation of the network. Outgoing edges of each node are ordered by destination switch
+     * and port to keep the search results stable.
+     */
+    public static CompactNetwork build(AvailableNetwork network, WeightFunction weightFunction) {
+        Node[] nodes = network.getSwitches().stream()
+                .sorted(Comparator.comparing(Node::getSwitchId))
+                .toArray(Node[]::new);
+        Map<SwitchId, Integer> nodeIndexes = new HashMap<>(nodes.length * 2);
+        long[] nodeWeights = new long[nodes.length];
+        int edgeCount = 0;
+        for (int i = 0; i < nodes.length; i++) {
+            nodeIndexes.put(nodes[i].getSwitchId(), i);
+            nodeWeights[i] = nodes[i].getStaticWeight();
+            edgeCount += nodes[i].getOutgoingLinks().size();
+        }
+
+        int[] offsets = new int[nodes.length + 1];
+        int[] sources = new int[edgeCount];
+        int[] targets = new int[edgeCount];
+        long[] weights = new long[edgeCount];
+        Edge[] edges = new Edge[edgeCount];
+        Map<Edge, Integer> edgeIndexes = new HashMap<>(edgeCount * 2);
+
+        Comparator<Edge> edgeOrder = Comparator.comparing((Edge edge) -> edge.getDestSwitch().getSwitchId())
+                .thenComparingInt(Edge::getSrcPort);
+        int position = 0;
+        for (int i = 0; i < nodes.length; i++) {
+            offsets[i] = position;
+            List<Edge> outgoing = new ArrayList<>(nodes[i].getOutgoingLinks());
+            outgoing.sort(edgeOrder);
+            for (Edge edge : outgoing) {
+                Integer target = nodeIndexes.get(edge.getDestSwitch().getSwitchId());
+                if (target == null) {
+                    continue;
+                }
+                sources[position] = i;
+                targets[position] = target;
+                weights[position] = edge.getFullWeight(weightFunction);
+                edges[position] = edge;
+                edgeIndexes.put(edge, position);
+                position++;
+            }
+        }
+        offsets[nodes.length] = position;
+
+        int[] reverseEdges = new int[position];
+        for (int i = 0; i < position; i++) {
+            Integer reverse = edgeIndexes.get(edges[i].swap());
+            reverseEdges[i] = reverse != null ? reverse : -1;
+        }
+
+        return new CompactNetwork(nodes, nodeIndexes, nodeWeights, offsets,
+                Arrays.copyOf(sources, position), Arrays.copyOf(targets, position), Arrays.copyOf(weights, position),
+                reverseEdges, Arrays.copyOf(edges, position));
+    }
+
+    public int getNodeCount() {
+        return nodes.length;
+    }
+
+    public int getEdgeCount() {
+        return edges.length;
+    }
+
+    /**
+     * Returns the index of the switch or -1 if the switch is not in the network.
+     */
+    public int indexOf(SwitchId switchId) {
+        Integer index = nodeIndexes.get(switchId);
+        return index != null ? index : -1;
+    }
+
+    public Node getNode(int node) {
+        return nodes[node];
+    }
+
+    public Edge getEdge(int edge) {
+        return edges[edge];
+    }
+
+    int getSource(int edge) {
+        return sources[edge];
+    }
+
+    int getTarget(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Returns the index of the edge going in the opposite direction over the same ports, or -1 if there is none.
+     */
+    int getReverseEdge(int edge) {
+        return reverseEdges[edge];
+    }
+
+    /**
+     * Finds the cheapest path from {@code start} to {@code end} consisting of no more than {@code allowedDepth} edges.
+     * The weight of a path is the sum of full weights of its edges and static weights of the nodes it passes through.
+     *
+     * @param disabledEdges edges excluded from the search, may be null.
+     * @param disabledNodes nodes excluded from the search, may be null.
+     * @return the edge indexes of the path, or null if there is no path.
+     */
+    int[] findPath(int start, int end, int allowedDepth, BitSet disabledEdges, BitSet disabledNodes) {
+        if (start == end || isDisabled(disabledNodes, start) || isDisabled(disabledNodes, end)) {
+            return null;
+        }
+
+        int nodeCount = nodes.length;
+        long[] distances = new long[nodeCount];
+        int[] hops = new int[nodeCount];
+        int[] predecessors = new int[nodeCount];
+        Arrays.fill(distances, Long.MAX_VALUE);
+        Arrays.fill(predecessors, -1);
+
+        NodeHeap heap = new NodeHeap(nodeCount, distances);
+        distances[start] = 0;
+        heap.push(start);
+
+        while (!heap.isEmpty()) {
+            int node = heap.pop();
+            if (node == end) {
+                break;
+            }
+
+            for (int edge = offsets[node]; edge < offsets[node + 1]; edge++) {
+                int target = targets[edge];
+                if (isDisabled(disabledEdges, edge) || isDisabled(disabledNodes, target)) {
+                    continue;
+                }
+                long distance = distances[node] + weights[edge] + nodeWeights[target];
+                if (distance < distances[target]) {
+                    distances[target] = distance;
+                    hops[target] = hops[node] + 1;
+                    predecessors[target] = edge;
+                    heap.pushOrDecrease(target);
+                }
+            }
+        }
+
+        if (predecessors[end] == -1) {
+            return null;
+        }
+        if (hops[end] <= allowedDepth) {
+            return collectPath(predecessors, hops[end], end);
+        }
+
+        // The cheapest path is too deep, fall back to the exact search limited by the number of hops.
+        return findDepthLimitedPath(start, end, allowedDepth, disabledEdges, disabledNodes);
+    }
+
+    /**
+     * Hop-bounded Bellman-Ford search: on the k-th iteration it finds the cheapest paths consisting of at most k edges.
+     */
+    private int[] findDepthLimitedPath(int start, int end, int allowedDepth,
+                                       BitSet disabledEdges, BitSet disabledNodes) {
+        int nodeCount = nodes.length;
+        long[] current = new long[nodeCount];
+        Arrays.fill(current, Long.MAX_VALUE);
+        current[start] = 0;
+        int[][] predecessors = new int[allowedDepth + 1][];
+
+        for (int depth = 1; depth <= allowedDepth; depth++) {
+            long[] next = Arrays.copyOf(current, nodeCount);
+            int[] layer = new int[nodeCount];
+            Arrays.fill(layer, -1);
+            boolean changed = false;
+            for (int edge = 0; edge < edges.length; edge++) {
+                int source = sources[edge];
+                int target = targets[edge];
+                if (current[source] == Long.MAX_VALUE || target == start
+                        || isDisabled(disabledEdges, edge) || isDisabled(disabledNodes, target)) {
+                    continue;
+                }
+                long distance = current[source] + weights[edge] + nodeWeights[target];
+                if (distance < next[target]) {
+                    next[target] = distance;
+                    layer[target] = edge;
+                    changed = true;
+                }
+            }
+            predecessors[depth] = layer;
+            current = next;
+            if (!changed) {
+                allowedDepth = depth;
+                break;
+            }
+        }
+
+        if (current[end] == Long.MAX_VALUE) {
+            return null;
+        }
+
+        List<Integer> path = new ArrayList<>();
+        int node = end;
+        for (int depth = Math.min(allowedDepth, predecessors.length - 1); node != start && depth > 0; depth--) {
+            int edge = predecessors[depth][node];
+            if (edge != -1) {
+                path.add(edge);
+                node = sources[edge];
+            }
+        }
+        int[] result = new int[path.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = path.get(result.length - 1 - i);
+        }
+        return result;
+    }
+
+    private int[] collectPath(int[] predecessors, int length, int end) {
+        int[] path = new int[length];
+        int node = end;
+        for (int i = length - 1; i >= 0; i--) {
+            int edge = predecessors[node];
+            path[i] = edge;
+            node = sources[edge];
+        }
+        return path;
+    }
+
+    private static boolean isDisabled(BitSet mask, int index) {
+        return mask != null && mask.get(index);
+    }
+
+    /**
+     * Binary min-heap of node indexes ordered by distance, with support of the decrease-key operation.
+     */
+    private static final class NodeHeap {
+        private final int[] heap;
+        private final int[] positions;
+        private final long[] distances;
+        private int size;
+
+        NodeHeap(int capacity, long[] distances) {
+            this.heap = new int[capacity];
+            this.positions = new int[capacity];
+            this.distances = distances;
+            Arrays.fill(positions, -1);
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void push(int node) {
+            heap[size] = node;
+            positions[node] = size;
+            siftUp(size++);
+        }
+
+        void pushOrDecrease(int node) {
+            if (positions[node] == -1) {
+                push(node);
+            } else if (positions[node] >= 0) {
+                siftUp(positions[node]);
+            }
+        }
+
+        int pop() {
+            int top = heap[0];
+            positions[top] = -2;
+            size--;
+            if (size > 0) {
+                heap[0] = heap[size];
+                positions[heap[0]] = 0;
+                siftDown(0);
+            }
+            return top;
+        }
+
+        private void siftUp(int index) {
+            int node = heap[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (distances[heap[parent]] <= distances[node]) {
+                    break;
+                }
+                move(heap[parent], index);
+                index = parent;
+            }
+            move(node, index);
+        }
+
+        private void siftDown(int index) {
+            int node = heap[index];
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && distances[heap[child + 1]] < distances[heap[child]]) {
+                    child++;
+                }
+                if (distances[node] <= distances[heap[child]]) {
+                    break;
+                }
+                move(heap[child], index);
+                index = child;
+            }
+            move(node, index);
+        }
+
+        private void move(int node, int index) {
+            heap[index] = node;
+            positions[node] = index;
+        }
+    }
+}
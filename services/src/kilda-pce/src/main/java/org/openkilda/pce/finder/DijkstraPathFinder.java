@@ -0,0 +1,219 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import static java.lang.String.format;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.WeightFunction;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Path finder which converts the {@link AvailableNetwork} into {@link CompactNetwork} and runs a binary-heap Dijkstra
+ * search over it. The weight of a path is calculated in the same way as {@link BestCostAndShortestPathFinder} does:
+ * full weights of edges plus static weights of the passed nodes, and paths deeper than {@code allowedDepth} are not
+ * considered.
+ * <p/>
+ * The reverse path consists of the reverse edges of the forward one taken from the network, so a flow is rejected if
+ * some ISL of the forward path has no usable counterpart in the opposite direction.
+ */
+@Slf4j
+public class DijkstraPathFinder implements PathFinder {
+    private final int allowedDepth;
+    private final WeightFunction weightFunction;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs the finder with the specified limit on path depth, N best paths are searched sequentially.
+     *
+     * @param allowedDepth the allowed depth for a potential path.
+     * @param weightFunction  the edge weight computing function.
+     */
+    public DijkstraPathFinder(int allowedDepth, WeightFunction weightFunction) {
+        this(allowedDepth, weightFunction, null);
+    }
+
+    /**
+     * Constructs the finder with the specified limit on path depth and the pool for parallel searches.
+     *
+     * @param allowedDepth the allowed depth for a potential path.
+     * @param weightFunction  the edge weight computing function.
+     * @param pool the pool to run searches of N best paths in, null to search sequentially.
+     */
+    public DijkstraPathFinder(int allowedDepth, WeightFunction weightFunction, ForkJoinPool pool) {
+        this.allowedDepth = allowedDepth;
+        this.weightFunction = weightFunction;
+        this.pool = pool;
+    }
+
+    @Override
+    public WeightFunction getWeightFunction() {
+        return weightFunction;
+    }
+
+    @Override
+    public Pair<List<Edge>, List<Edge>> findPathInNetwork(AvailableNetwork network,
+                                                        SwitchId startSwitchId, SwitchId endSwitchId)
+            throws UnroutableFlowException {
+        CompactNetwork compactNetwork = CompactNetwork.build(network, weightFunction);
+        int start = getNodeIndex(compactNetwork, startSwitchId);
+        int end = getNodeIndex(compactNetwork, endSwitchId);
+
+        int[] path = compactNetwork.findPath(start, end, allowedDepth, null, null);
+        if (path == null) {
+            throw new UnroutableFlowException(format("Can't find a path from %s to %s",
+                    compactNetwork.getNode(start), compactNetwork.getNode(end)));
+        }
+
+        List<Edge> forwardPath = new ArrayList<>(path.length);
+        for (int edge : path) {
+            forwardPath.add(compactNetwork.getEdge(edge));
+        }
+        List<Edge> reversePath = getReversePath(compactNetwork, path, start, end);
+        if (reversePath.isEmpty()) {
+            throw new UnroutableFlowException(format("Can't find a reverse path from %s to %s. Forward path : %s",
+                    compactNetwork.getNode(end), compactNetwork.getNode(start), StringUtils.join(forwardPath, ", ")));
+        }
+        return Pair.of(forwardPath, reversePath);
+    }
+
+    /**
+     * Collects the reverse edges of the forward path in the opposite order.
+     *
+     * @return the reverse path or an empty list if some reverse edge is absent or the edges don't form a path from
+     *     {@code end} to {@code start}.
+     */
+    private List<Edge> getReversePath(CompactNetwork network, int[] forwardPath, int start, int end) {
+        List<Edge> reversePath = new ArrayList<>(forwardPath.length);
+        int node = end;
+        for (int i = forwardPath.length - 1; i >= 0; i--) {
+            Edge forwardEdge = network.getEdge(forwardPath[i]);
+            int reverse = network.getReverseEdge(forwardPath[i]);
+            if (reverse < 0 || network.getSource(reverse) != node) {
+                log.warn("No reverse ISL for {} in the available network", forwardEdge);
+                return Collections.emptyList();
+            }
+            Edge reverseEdge = network.getEdge(reverse);
+            if (reverseEdge.getSrcPort() != forwardEdge.getDestPort()
+                    || reverseEdge.getDestPort() != forwardEdge.getSrcPort()) {
+                log.warn("Reverse ISL {} doesn't match the ports of {}", reverseEdge, forwardEdge);
+                return Collections.emptyList();
+            }
+            reversePath.add(reverseEdge);
+            node = network.getTarget(reverse);
+        }
+        return node == start ? reversePath : Collections.emptyList();
+    }
+
+    /**
+     * Find N (or less) best paths. To find N paths Yen's algorithm is used, removal of edges and nodes is emulated by
+     * masks, so the network is not modified and spur paths are searched in parallel.
+     *
+     * @return an list of N (or less) best paths.
+     */
+    @Override
+    public List<List<Edge>> findNPathsBetweenSwitches(
+            AvailableNetwork network, SwitchId startSwitchId, SwitchId endSwitchId, int count)
+            throws UnroutableFlowException {
+        CompactNetwork compactNetwork = CompactNetwork.build(network, weightFunction);
+        int start = getNodeIndex(compactNetwork, startSwitchId);
+        int end = getNodeIndex(compactNetwork, endSwitchId);
+
+        int[] shortestPath = compactNetwork.findPath(start, end, allowedDepth, null, null);
+        if (shortestPath == null) {
+            return new ArrayList<>();
+        }
+
+        YenKShortestPaths<Integer> search = new YenKShortestPaths<>(pool, (previousPath, spurIndex, excludedEdges) -> {
+            BitSet disabledEdges = new BitSet(compactNetwork.getEdgeCount());
+            for (int edge : excludedEdges) {
+                disableEdge(compactNetwork, disabledEdges, edge);
+            }
+            BitSet disabledNodes = new BitSet(compactNetwork.getNodeCount());
+            for (int j = 0; j < spurIndex; j++) {
+                disabledNodes.set(compactNetwork.getSource(previousPath.get(j)));
+            }
+
+            int spurNode = compactNetwork.getSource(previousPath.get(spurIndex));
+            int[] spurPath = compactNetwork.findPath(spurNode, end, allowedDepth, disabledEdges, disabledNodes);
+            return spurPath != null ? toList(spurPath) : Collections.emptyList();
+        }, Comparator.comparingLong((List<Integer> path) -> getMinAvailableBandwidth(compactNetwork, path)).reversed()
+                .thenComparingLong(path -> getTotalCost(compactNetwork, path)));
+
+        List<List<Edge>> result = new ArrayList<>();
+        for (List<Integer> path : search.find(toList(shortestPath), count)) {
+            List<Edge> edges = new ArrayList<>(path.size());
+            for (int edge : path) {
+                edges.add(compactNetwork.getEdge(edge));
+            }
+            result.add(edges);
+        }
+        return result;
+    }
+
+    private int getNodeIndex(CompactNetwork network, SwitchId switchId) throws UnroutableFlowException {
+        int index = network.indexOf(switchId);
+        if (index < 0) {
+            throw new UnroutableFlowException(format("Switch %s doesn't have links with enough bandwidth", switchId));
+        }
+        return index;
+    }
+
+    private void disableEdge(CompactNetwork network, BitSet disabledEdges, int edge) {
+        disabledEdges.set(edge);
+        int reverse = network.getReverseEdge(edge);
+        if (reverse >= 0) {
+            disabledEdges.set(reverse);
+        }
+    }
+
+    private long getMinAvailableBandwidth(CompactNetwork network, List<Integer> path) {
+        long availableBandwidth = Long.MAX_VALUE;
+        for (int edge : path) {
+            availableBandwidth = Math.min(availableBandwidth, network.getEdge(edge).getAvailableBandwidth());
+        }
+        return availableBandwidth;
+    }
+
+    private long getTotalCost(CompactNetwork network, List<Integer> path) {
+        long cost = 0;
+        for (int edge : path) {
+            cost += network.getEdge(edge).getCost();
+        }
+        return cost;
+    }
+
+    private static List<Integer> toList(int[] path) {
+        List<Integer> result = new ArrayList<>(path.length);
+        for (int edge : path) {
+            result.add(edge);
+        }
+        return result;
+    }
+}
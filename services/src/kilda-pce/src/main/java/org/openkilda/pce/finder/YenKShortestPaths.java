@@ -0,0 +1,172 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Yen's k shortest paths algorithm. The graph is never modified: edges and nodes removed for a spur path search are
+ * passed to the {@link SpurPathFinder} as exclusions, so spur paths of an iteration are independent and computed in
+ * parallel by the fork-join pool, or one by one if no pool is given.
+ *
+ * @param <E> the type of path edges.
+ */
+final class YenKShortestPaths<E> {
+    private final ForkJoinPool pool;
+    private final SpurPathFinder<E> spurPathFinder;
+    private final Comparator<List<E>> candidateOrder;
+
+    /**
+     * Constructs the search.
+     *
+     * @param pool the pool to run spur path searches in, null to run them sequentially in the calling thread.
+     * @param spurPathFinder the spur path search.
+     * @param candidateOrder the order of candidate paths, the least one becomes the next best path.
+     */
+    YenKShortestPaths(ForkJoinPool pool, SpurPathFinder<E> spurPathFinder, Comparator<List<E>> candidateOrder) {
+        this.pool = pool;
+        this.spurPathFinder = spurPathFinder;
+        this.candidateOrder = candidateOrder;
+    }
+
+    /**
+     * Finds N (or less) best paths.
+     *
+     * @param shortestPath the shortest path between the endpoints, empty if there is no path.
+     * @param count the number of paths to find.
+     * @return a list of N (or less) best paths.
+     */
+    List<List<E>> find(List<E> shortestPath, int count) {
+        List<List<E>> bestPaths = new ArrayList<>();
+        if (shortestPath.isEmpty()) {
+            return bestPaths;
+        }
+        bestPaths.add(shortestPath);
+
+        // Candidates are collected in the same set whatever the order of task completion is, so the choice between
+        // equal candidates doesn't depend on the scheduling.
+        Set<List<E>> candidates = new HashSet<>();
+        for (int k = 1; k < count; k++) {
+            List<E> previous = bestPaths.get(k - 1);
+            List<List<E>> currentBestPaths = Collections.unmodifiableList(new ArrayList<>(bestPaths));
+            if (pool != null) {
+                candidates.addAll(pool.invoke(new SpurPathTask(previous, currentBestPaths, 0, previous.size())));
+            } else {
+                for (int spurIndex = 0; spurIndex < previous.size(); spurIndex++) {
+                    List<E> candidate = findCandidate(previous, currentBestPaths, spurIndex);
+                    if (!candidate.isEmpty()) {
+                        candidates.add(candidate);
+                    }
+                }
+            }
+
+            List<E> best = null;
+            for (List<E> candidate : candidates) {
+                if (!bestPaths.contains(candidate)
+                        && (best == null || candidateOrder.compare(candidate, best) < 0)) {
+                    best = candidate;
+                }
+            }
+            if (best == null) {
+                break;
+            }
+            candidates.remove(best);
+            bestPaths.add(best);
+        }
+        return bestPaths;
+    }
+
+    /**
+     * Finds the candidate path going through the spur node {@code spurIndex} of the previous best path.
+     */
+    private List<E> findCandidate(List<E> previous, List<List<E>> bestPaths, int spurIndex) {
+        List<E> rootPath = previous.subList(0, spurIndex);
+
+        // Remove the edges that are part of the previous best paths which share the same root path.
+        Set<E> excludedEdges = new HashSet<>();
+        for (List<E> path : bestPaths) {
+            if (path.size() > spurIndex && rootPath.equals(path.subList(0, spurIndex))) {
+                excludedEdges.add(path.get(spurIndex));
+            }
+        }
+
+        List<E> spurPath = spurPathFinder.find(previous, spurIndex, excludedEdges);
+        if (spurPath.isEmpty()) {
+            return spurPath;
+        }
+        List<E> totalPath = new ArrayList<>(rootPath.size() + spurPath.size());
+        totalPath.addAll(rootPath);
+        totalPath.addAll(spurPath);
+        return totalPath;
+    }
+
+    /**
+     * Computes candidates for the range of spur nodes, splitting the range until a single spur node is left.
+     */
+    private final class SpurPathTask extends RecursiveTask<List<List<E>>> {
+        private final List<E> previous;
+        private final List<List<E>> bestPaths;
+        private final int from;
+        private final int to;
+
+        SpurPathTask(List<E> previous, List<List<E>> bestPaths, int from, int to) {
+            this.previous = previous;
+            this.bestPaths = bestPaths;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<List<E>> compute() {
+            if (to - from == 1) {
+                List<E> candidate = findCandidate(previous, bestPaths, from);
+                return candidate.isEmpty() ? Collections.emptyList() : Collections.singletonList(candidate);
+            }
+
+            int middle = (from + to) >>> 1;
+            SpurPathTask left = new SpurPathTask(previous, bestPaths, from, middle);
+            left.fork();
+            List<List<E>> right = new SpurPathTask(previous, bestPaths, middle, to).compute();
+
+            List<List<E>> result = new ArrayList<>(left.join());
+            result.addAll(right);
+            return result;
+        }
+    }
+
+    /**
+     * Search of a spur path. Implementations are called concurrently and must not modify the graph.
+     *
+     * @param <E> the type of path edges.
+     */
+    interface SpurPathFinder<E> {
+        /**
+         * Finds the path from the source of the edge {@code spurIndex} of the previous best path to the end.
+         * Implementations must not pass through the nodes of the root path (edges before {@code spurIndex}) and must
+         * not use the excluded edges.
+         *
+         * @return the spur path, or an empty list if there is no path.
+         */
+        List<E> find(List<E> previousPath, int spurIndex, Set<E> excludedEdges);
+    }
+}
@@ -28,6 +28,7 @@ import com.google.common.annotations.VisibleForTesting;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -48,6 +49,10 @@ public class AvailableNetwork {
         return switches.get(dpid);
     }
 
+    public Collection<Node> getSwitches() {
+        return switches.values();
+    }
+
     /**
      * Creates switches (if they are not created yet) and ISL between them.
      */
@@ -24,9 +24,11 @@ import org.openkilda.model.PathId;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.pce.AvailableNetworkFactory;
+import org.openkilda.pce.BatchPathResult;
 import org.openkilda.pce.Path;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathPair;
+import org.openkilda.pce.PathRequest;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.exception.UnroutableFlowException;
 import org.openkilda.pce.finder.PathFinder;
@@ -35,16 +37,21 @@ import org.openkilda.pce.model.Edge;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
  * Implementation of {@link PathComputer} that operates over in-memory {@link AvailableNetwork}.
  * <p/>
- * The path finding algorithm is defined by provided {@link PathFinder}.
+ * The path finding algorithm is defined by provided {@link PathFinder}. If the {@link NetworkModel} is enabled, a flow
+ * that is unroutable over the model is computed once more if the model can be reloaded, as the model may miss changes
+ * which are not delivered as events (e.g. a new ISL). Reloads are rate-limited by the model itself.
  */
 @Slf4j
 public class InMemoryPathComputer implements PathComputer {
@@ -59,6 +66,15 @@ public class InMemoryPathComputer implements PathComputer {
     @Override
     public PathPair getPath(Flow flow, List<PathId> reusePathsResources)
             throws UnroutableFlowException, RecoverableException {
+        try {
+            return getPath(availableNetworkFactory.getAvailableNetwork(flow, reusePathsResources), flow);
+        } catch (UnroutableFlowException e) {
+            Optional<NetworkModel> networkModel = availableNetworkFactory.getNetworkModel();
+            if (!networkModel.isPresent() || !networkModel.get().requestReload()) {
+                throw e;
+            }
+            log.debug("No path over the network model for flow {}, retry over the reloaded model", flow.getFlowId());
+        }
         return getPath(availableNetworkFactory.getAvailableNetwork(flow, reusePathsResources), flow);
     }
 
@@ -87,6 +103,46 @@ public class InMemoryPathComputer implements PathComputer {
         return convertToPathPair(flow.getSrcSwitch().getSwitchId(), flow.getDestSwitch().getSwitchId(), biPath);
     }
 
+    @Override
+    public BatchPathResult getPaths(List<PathRequest> requests) throws RecoverableException {
+        List<PathRequest> orderedRequests = new ArrayList<>(requests);
+        orderedRequests.sort(Comparator.comparing(PathRequest::getFlow, new FlowPriorityComparator()));
+
+        BatchPathResult result = getOrderedPaths(orderedRequests);
+        if (result.getFailures().isEmpty()) {
+            return result;
+        }
+
+        Optional<NetworkModel> networkModel = availableNetworkFactory.getNetworkModel();
+        if (!networkModel.isPresent() || !networkModel.get().requestReload()) {
+            return result;
+        }
+        log.debug("Failed to compute paths of {} flows over the network model, retry over the reloaded model",
+                result.getFailures().size());
+        return getOrderedPaths(orderedRequests);
+    }
+
+    private BatchPathResult getOrderedPaths(List<PathRequest> orderedRequests) throws RecoverableException {
+        SharedNetworkSnapshot snapshot = availableNetworkFactory.createSharedSnapshot();
+        BatchPathResult.BatchPathResultBuilder result = BatchPathResult.builder();
+        for (PathRequest request : orderedRequests) {
+            Flow flow = request.getFlow();
+            try {
+                AvailableNetwork network = availableNetworkFactory.getAvailableNetwork(
+                        flow, request.getReusePathsResources(), snapshot);
+                PathPair pathPair = getPath(network, flow);
+                if (!flow.isIgnoreBandwidth()) {
+                    snapshot.allocate(pathPair, flow.getBandwidth());
+                }
+                result.path(flow.getFlowId(), pathPair);
+            } catch (UnroutableFlowException e) {
+                log.info("Failed to compute path for flow {} in batch: {}", flow.getFlowId(), e.getMessage());
+                result.failure(flow.getFlowId(), e.getMessage());
+            }
+        }
+        return result.build();
+    }
+
     @Override
     public List<Path> getNPaths(SwitchId srcSwitchId, SwitchId dstSwitchId, int count,
                                 FlowEncapsulationType flowEncapsulationType)
@@ -150,4 +206,28 @@ public class InMemoryPathComputer implements PathComputer {
                 .latency(edge.getLatency())
                 .build();
     }
+
+    /**
+     * Orders flows by priority (lower value goes first, flows without priority go last), then by creation time.
+     */
+    private static class FlowPriorityComparator implements Comparator<Flow> {
+        @Override
+        public int compare(Flow flowA, Flow flowB) {
+            int priorityA = flowA.getPriority() == null ? Integer.MAX_VALUE : flowA.getPriority();
+            int priorityB = flowB.getPriority() == null ? Integer.MAX_VALUE : flowB.getPriority();
+            if (priorityA != priorityB) {
+                return Integer.compare(priorityA, priorityB);
+            }
+
+            Instant timeCreateA = flowA.getTimeCreate();
+            Instant timeCreateB = flowB.getTimeCreate();
+            if (timeCreateA == null || timeCreateB == null) {
+                if (timeCreateA == timeCreateB) {
+                    return 0;
+                }
+                return timeCreateA == null ? -1 : 1;
+            }
+            return timeCreateA.compareTo(timeCreateB);
+        }
+    }
 }
@@ -0,0 +1,364 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchProperties;
+import org.openkilda.model.SwitchStatus;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.SwitchPropertiesRepository;
+import org.openkilda.persistence.repositories.SwitchRepository;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Long-lived in-memory representation of the network used by the path computation. The model is loaded once from the
+ * persistent storage and then kept up to date by ISL and switch status events of the network topology, which are
+ * applied in memory by {@link #applyIslStatus} and {@link #applySwitchStatus}. Each modification produces a new
+ * immutable {@link Snapshot} (copy-on-write), so the readers never observe a partially applied update and never need
+ * any locking.
+ * <p/>
+ * Full reloads are a safety net for the changes which are not delivered as events (available bandwidth, ISL costs,
+ * new ISLs): the model is reloaded if it hasn't been reloaded for longer than {@code maxStaleness}, and on
+ * {@link #requestReload()}, which is rate-limited by {@code minReloadInterval}. The persistent storage is read outside
+ * of the model monitor, events that arrive during a reload are replayed over the reloaded state.
+ */
+@Slf4j
+public class NetworkModel {
+    private final IslRepository islRepository;
+    private final SwitchRepository switchRepository;
+    private final SwitchPropertiesRepository switchPropertiesRepository;
+
+    private final Duration maxStaleness;
+    private final Duration minReloadInterval;
+    private final Clock clock;
+
+    private final Object reloadLock = new Object();
+
+    private volatile Snapshot snapshot;
+    private volatile Instant loadedAt;
+    private volatile boolean reloadRequired;
+
+    /**
+     * Events applied while a reload is in progress, guarded by the model monitor.
+     */
+    private List<UnaryOperator<Snapshot>> pendingEvents;
+
+    public NetworkModel(RepositoryFactory repositoryFactory, Duration maxStaleness, Duration minReloadInterval) {
+        this(repositoryFactory, maxStaleness, minReloadInterval, Clock.systemUTC());
+    }
+
+    NetworkModel(RepositoryFactory repositoryFactory, Duration maxStaleness, Duration minReloadInterval,
+                 Clock clock) {
+        this.islRepository = repositoryFactory.createIslRepository();
+        this.switchRepository = repositoryFactory.createSwitchRepository();
+        this.switchPropertiesRepository = repositoryFactory.createSwitchPropertiesRepository();
+        this.maxStaleness = maxStaleness;
+        this.minReloadInterval = minReloadInterval;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns current state of the model. Performs a full reload if the model hasn't been loaded yet, is outdated or
+     * has received an event it can't apply in memory.
+     */
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null && !isReloadNeeded()) {
+            return current;
+        }
+        synchronized (reloadLock) {
+            if (snapshot == null || isReloadNeeded()) {
+                return reload();
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Reloads the model unless it has been reloaded less than {@code minReloadInterval} ago.
+     *
+     * @return true if the model has been reloaded since the call was made.
+     */
+    public boolean requestReload() {
+        Instant requestedAt = clock.instant();
+        synchronized (reloadLock) {
+            Instant lastLoad = loadedAt;
+            if (lastLoad != null && lastLoad.isAfter(requestedAt)) {
+                // reloaded by a concurrent request while this one was waiting
+                return true;
+            }
+            if (!isReloadAllowed(requestedAt)) {
+                log.debug("Network model has been reloaded at {}, skip the reload request", lastLoad);
+                return false;
+            }
+            reload();
+            return true;
+        }
+    }
+
+    /**
+     * Reads the whole network from the persistent storage and replaces the current state of the model.
+     */
+    public Snapshot reload() {
+        synchronized (reloadLock) {
+            synchronized (this) {
+                pendingEvents = new ArrayList<>();
+            }
+
+            Snapshot loaded;
+            try {
+                loaded = load();
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    pendingEvents = null;
+                }
+                throw e;
+            }
+
+            synchronized (this) {
+                long version = snapshot != null ? snapshot.version + 1 : 0;
+                loaded = new Snapshot(version, loaded.isls, loaded.switches, loaded.encapsulations);
+                reloadRequired = false;
+                for (UnaryOperator<Snapshot> event : pendingEvents) {
+                    loaded = event.apply(loaded);
+                }
+                pendingEvents = null;
+                loadedAt = clock.instant();
+                snapshot = loaded;
+            }
+
+            log.debug("Network model has been reloaded: {} ISLs, {} switches (version {})",
+                    loaded.isls.size(), loaded.switches.size(), loaded.version);
+            return loaded;
+        }
+    }
+
+    /**
+     * Applies ISL status change to both directions of the ISL. An ISL which is unknown to the model and becomes
+     * active can't be built from the event, so it makes the model to be reloaded.
+     */
+    public void applyIslStatus(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
+                               IslStatus status) {
+        IslReference reference = new IslReference(srcSwitchId, srcPort, dstSwitchId, dstPort);
+        apply(current -> {
+            Map<IslReference, Isl> isls = current.isls;
+            for (IslReference entry : Arrays.asList(reference, reference.reverse())) {
+                Isl known = isls.get(entry);
+                if (known == null) {
+                    if (status == IslStatus.ACTIVE) {
+                        log.debug("ISL {} is unknown to the network model, schedule the reload", entry);
+                        reloadRequired = true;
+                    }
+                } else if (known.getStatus() != status) {
+                    if (isls == current.isls) {
+                        isls = new HashMap<>(current.isls);
+                    }
+                    Isl isl = copyIsl(known);
+                    isl.setStatus(status);
+                    isls.put(entry, isl);
+                }
+            }
+            if (isls == current.isls) {
+                return current;
+            }
+            return new Snapshot(current.version + 1, isls, current.switches, current.encapsulations);
+        });
+    }
+
+    /**
+     * Applies switch status change.
+     */
+    public void applySwitchStatus(SwitchId switchId, SwitchStatus status) {
+        apply(current -> {
+            if (current.switches.get(switchId) == status) {
+                return current;
+            }
+            Map<SwitchId, SwitchStatus> switches = new HashMap<>(current.switches);
+            switches.put(switchId, status);
+            return new Snapshot(current.version + 1, current.isls, switches, current.encapsulations);
+        });
+    }
+
+    private synchronized void apply(UnaryOperator<Snapshot> event) {
+        if (pendingEvents != null) {
+            pendingEvents.add(event);
+        }
+        if (snapshot != null) {
+            snapshot = event.apply(snapshot);
+        }
+    }
+
+    private Snapshot load() {
+        Map<IslReference, Isl> isls = new HashMap<>();
+        // All ISLs with initialized IslConfig (required for the effective cost calculation). The entities are copied
+        // to detach them from the persistence session which may refresh them in place.
+        for (Isl isl : islRepository.findByPartialEndpoints(null, null, null, null)) {
+            isls.put(IslReference.of(isl), copyIsl(isl));
+        }
+
+        Map<SwitchId, SwitchStatus> switches = new HashMap<>();
+        for (Switch sw : switchRepository.findAll()) {
+            switches.put(sw.getSwitchId(), sw.getStatus());
+        }
+
+        Map<SwitchId, Set<FlowEncapsulationType>> encapsulations = new HashMap<>();
+        for (SwitchProperties properties : switchPropertiesRepository.findAll()) {
+            Set<FlowEncapsulationType> supported = properties.getSupportedTransitEncapsulation();
+            encapsulations.put(properties.getSwitchObj().getSwitchId(),
+                    supported != null ? Collections.unmodifiableSet(new HashSet<>(supported))
+                            : Collections.emptySet());
+        }
+
+        return new Snapshot(0, isls, switches, encapsulations);
+    }
+
+    private boolean isReloadNeeded() {
+        Instant now = clock.instant();
+        if (!maxStaleness.isZero() && loadedAt.plus(maxStaleness).isBefore(now)) {
+            return true;
+        }
+        return reloadRequired && isReloadAllowed(now);
+    }
+
+    private boolean isReloadAllowed(Instant now) {
+        Instant lastLoad = loadedAt;
+        return lastLoad == null || !lastLoad.plus(minReloadInterval).isAfter(now);
+    }
+
+    private static Isl copyIsl(Isl isl) {
+        Isl copy = isl.toBuilder().build();
+        copy.setIslConfig(isl.getIslConfig());
+        return copy;
+    }
+
+    /**
+     * Immutable view of the network model. ISL entities returned by the snapshot are shared between readers and must
+     * not be modified.
+     */
+    public static final class Snapshot {
+        private final long version;
+        private final Map<IslReference, Isl> isls;
+        private final Map<SwitchId, SwitchStatus> switches;
+        private final Map<SwitchId, Set<FlowEncapsulationType>> encapsulations;
+
+        private Snapshot(long version, Map<IslReference, Isl> isls, Map<SwitchId, SwitchStatus> switches,
+                         Map<SwitchId, Set<FlowEncapsulationType>> encapsulations) {
+            this.version = version;
+            this.isls = isls;
+            this.switches = switches;
+            this.encapsulations = encapsulations;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * Finds all active ISLs between active switches.
+         */
+        public Collection<Isl> findAllActive() {
+            return filter(this::isActive);
+        }
+
+        /**
+         * Finds all active ISLs, filtering out ISLs that don't have enough available bandwidth or don't support
+         * requested transit encapsulation. Mirrors {@link IslRepository#findActiveWithAvailableBandwidth}.
+         */
+        public Collection<Isl> findActiveWithAvailableBandwidth(long requiredBandwidth,
+                                                                FlowEncapsulationType flowEncapsulationType) {
+            return filter(isl -> isActive(isl)
+                    && isl.getAvailableBandwidth() >= requiredBandwidth
+                    && isEncapsulationSupported(isl, flowEncapsulationType));
+        }
+
+        /**
+         * Finds all active ISLs, ignoring ISLs if they don't have enough bandwidth in any direction. Mirrors
+         * {@link IslRepository#findSymmetricActiveWithAvailableBandwidth}.
+         */
+        public Collection<Isl> findSymmetricActiveWithAvailableBandwidth(long requiredBandwidth,
+                                                                         FlowEncapsulationType flowEncapsulationType) {
+            return filter(isl -> {
+                if (!isActive(isl) || isl.getAvailableBandwidth() < requiredBandwidth
+                        || !isEncapsulationSupported(isl, flowEncapsulationType)) {
+                    return false;
+                }
+                Isl reverse = isls.get(IslReference.of(isl).reverse());
+                return reverse != null && reverse.getAvailableBandwidth() >= requiredBandwidth;
+            });
+        }
+
+        private Collection<Isl> filter(Predicate<Isl> predicate) {
+            List<Isl> result = new ArrayList<>();
+            for (Isl isl : isls.values()) {
+                if (predicate.test(isl)) {
+                    result.add(isl);
+                }
+            }
+            return result;
+        }
+
+        private boolean isActive(Isl isl) {
+            return isl.getStatus() == IslStatus.ACTIVE
+                    && switches.get(isl.getSrcSwitch().getSwitchId()) == SwitchStatus.ACTIVE
+                    && switches.get(isl.getDestSwitch().getSwitchId()) == SwitchStatus.ACTIVE;
+        }
+
+        private boolean isEncapsulationSupported(Isl isl, FlowEncapsulationType encapsulationType) {
+            Set<FlowEncapsulationType> src = encapsulations.get(isl.getSrcSwitch().getSwitchId());
+            Set<FlowEncapsulationType> dst = encapsulations.get(isl.getDestSwitch().getSwitchId());
+            return src != null && src.contains(encapsulationType) && dst != null && dst.contains(encapsulationType);
+        }
+    }
+
+    @Value
+    private static class IslReference {
+        SwitchId srcSwitchId;
+        int srcPort;
+        SwitchId dstSwitchId;
+        int dstPort;
+
+        static IslReference of(Isl isl) {
+            return new IslReference(isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
+                    isl.getDestSwitch().getSwitchId(), isl.getDestPort());
+        }
+
+        IslReference reverse() {
+            return new IslReference(dstSwitchId, dstPort, srcSwitchId, srcPort);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.Isl;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.Path;
+import org.openkilda.pce.PathPair;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * View of the network shared by a batch of path computations. ISLs are loaded only once per batch (and per transit
+ * encapsulation type), the bandwidth allocated by already computed paths is tracked in memory and deducted from
+ * available bandwidth of ISLs for the following computations.
+ * <p/>
+ * Not thread-safe, a snapshot is supposed to be used by a single batch.
+ */
+public class SharedNetworkSnapshot {
+    private final Supplier<Collection<Isl>> allActiveLoader;
+    private final Function<FlowEncapsulationType, Collection<Isl>> activeLoader;
+
+    private Collection<Isl> allActive;
+    private final Map<FlowEncapsulationType, Map<IslReference, Isl>> active = new EnumMap<>(
+            FlowEncapsulationType.class);
+    private final Map<IslReference, Long> allocated = new HashMap<>();
+
+    /**
+     * Constructs the snapshot over the specified sources of ISLs.
+     *
+     * @param allActiveLoader loads all active ISLs.
+     * @param activeLoader loads active ISLs supporting the transit encapsulation.
+     */
+    public SharedNetworkSnapshot(Supplier<Collection<Isl>> allActiveLoader,
+                                 Function<FlowEncapsulationType, Collection<Isl>> activeLoader) {
+        this.allActiveLoader = allActiveLoader;
+        this.activeLoader = activeLoader;
+    }
+
+    /**
+     * Finds all active ISLs. Mirrors {@link org.openkilda.persistence.repositories.IslRepository#findAllActive}.
+     */
+    public Collection<Isl> findAllActive() {
+        if (allActive == null) {
+            allActive = allActiveLoader.get();
+        }
+        return allActive;
+    }
+
+    /**
+     * Finds all active ISLs which have enough bandwidth left after the allocations made within the batch. Mirrors
+     * {@link org.openkilda.persistence.repositories.IslRepository#findActiveWithAvailableBandwidth}.
+     */
+    public Collection<Isl> findActiveWithAvailableBandwidth(long requiredBandwidth,
+                                                            FlowEncapsulationType flowEncapsulationType) {
+        List<Isl> result = new ArrayList<>();
+        for (Isl isl : getActive(flowEncapsulationType).values()) {
+            long availableBandwidth = getAvailableBandwidth(isl);
+            if (availableBandwidth >= requiredBandwidth) {
+                result.add(withAvailableBandwidth(isl, availableBandwidth));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds all active ISLs which have enough bandwidth left in both directions after the allocations made within the
+     * batch. Mirrors
+     * {@link org.openkilda.persistence.repositories.IslRepository#findSymmetricActiveWithAvailableBandwidth}.
+     */
+    public Collection<Isl> findSymmetricActiveWithAvailableBandwidth(long requiredBandwidth,
+                                                                     FlowEncapsulationType flowEncapsulationType) {
+        Map<IslReference, Isl> isls = getActive(flowEncapsulationType);
+        List<Isl> result = new ArrayList<>();
+        for (Isl isl : isls.values()) {
+            long availableBandwidth = getAvailableBandwidth(isl);
+            Isl reverse = isls.get(IslReference.of(isl).reverse());
+            if (availableBandwidth >= requiredBandwidth
+                    && reverse != null && getAvailableBandwidth(reverse) >= requiredBandwidth) {
+                result.add(withAvailableBandwidth(isl, availableBandwidth));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Filters ISLs occupied by the paths which resources are reused. The persistent storage doesn't know about the
+     * allocations made within the batch, so an ISL with such allocations is kept only if it has enough bandwidth
+     * without taking the reused resources into account.
+     */
+    public Collection<Isl> filterOccupiedIsls(Collection<Isl> occupiedIsls, long requiredBandwidth) {
+        List<Isl> result = new ArrayList<>();
+        for (Isl isl : occupiedIsls) {
+            Long allocatedBandwidth = allocated.get(IslReference.of(isl));
+            if (allocatedBandwidth == null) {
+                result.add(isl);
+            } else if (isl.getAvailableBandwidth() - allocatedBandwidth >= requiredBandwidth) {
+                result.add(withAvailableBandwidth(isl, isl.getAvailableBandwidth() - allocatedBandwidth));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Registers the bandwidth allocated by both paths of the pair.
+     */
+    public void allocate(PathPair pathPair, long bandwidth) {
+        allocate(pathPair.getForward(), bandwidth);
+        allocate(pathPair.getReverse(), bandwidth);
+    }
+
+    private void allocate(Path path, long bandwidth) {
+        for (Path.Segment segment : path.getSegments()) {
+            allocated.merge(new IslReference(segment.getSrcSwitchId(), segment.getSrcPort(),
+                    segment.getDestSwitchId(), segment.getDestPort()), bandwidth, Long::sum);
+        }
+    }
+
+    private Map<IslReference, Isl> getActive(FlowEncapsulationType flowEncapsulationType) {
+        return active.computeIfAbsent(flowEncapsulationType, encapsulation -> {
+            Map<IslReference, Isl> isls = new HashMap<>();
+            for (Isl isl : activeLoader.apply(encapsulation)) {
+                isls.put(IslReference.of(isl), isl);
+            }
+            return isls;
+        });
+    }
+
+    private long getAvailableBandwidth(Isl isl) {
+        return isl.getAvailableBandwidth() - allocated.getOrDefault(IslReference.of(isl), 0L);
+    }
+
+    /**
+     * Loaded ISLs are shared between computations of the batch, so they are copied instead of being modified.
+     */
+    private static Isl withAvailableBandwidth(Isl isl, long availableBandwidth) {
+        if (isl.getAvailableBandwidth() == availableBandwidth) {
+            return isl;
+        }
+        Isl copy = isl.toBuilder().availableBandwidth(availableBandwidth).build();
+        copy.setIslConfig(isl.getIslConfig());
+        return copy;
+    }
+
+    @Value
+    private static class IslReference {
+        SwitchId srcSwitchId;
+        int srcPort;
+        SwitchId dstSwitchId;
+        int dstPort;
+
+        static IslReference of(Isl isl) {
+            return new IslReference(isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
+                    isl.getDestSwitch().getSwitchId(), isl.getDestPort());
+        }
+
+        IslReference reverse() {
+            return new IslReference(dstSwitchId, dstPort, srcSwitchId, srcPort);
+        }
+    }
+}
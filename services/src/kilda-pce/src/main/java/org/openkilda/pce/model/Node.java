@@ -41,7 +41,7 @@ import java.util.function.Function;
 @AllArgsConstructor
 @Builder
 @EqualsAndHashCode(of = "switchId")
-@ToString(exclude = {"incomingLinks", "outgoingLinks", "backupIncomingLinks", "backupOutgoingLinks"})
+@ToString(exclude = {"incomingLinks", "outgoingLinks"})
 public class Node {
     @NonNull
     private final SwitchId switchId;
@@ -51,9 +51,6 @@ public class Node {
     @NonNull
     private Set<Edge> outgoingLinks;
 
-    private Set<Edge> backupIncomingLinks;
-    private Set<Edge> backupOutgoingLinks;
-
     @Setter
     private int diversityWeight;
 
@@ -117,26 +114,4 @@ public class Node {
                 .map(Optional::get)
                 .collect(toSet());
     }
-
-    /**
-     * Remove node.
-     */
-    public void remove() {
-        backupIncomingLinks = incomingLinks;
-        backupOutgoingLinks = outgoingLinks;
-
-        incomingLinks = new HashSet<>();
-        outgoingLinks = new HashSet<>();
-    }
-
-    /**
-     * Restore node.
-     */
-    public void restore() {
-        if ((backupIncomingLinks != null || !backupIncomingLinks.isEmpty())
-                && (backupOutgoingLinks != null || !backupOutgoingLinks.isEmpty())) {
-            incomingLinks = backupIncomingLinks;
-            outgoingLinks = backupOutgoingLinks;
-        }
-    }
 }
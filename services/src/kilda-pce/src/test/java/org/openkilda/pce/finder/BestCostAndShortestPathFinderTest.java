@@ -39,6 +39,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -538,6 +539,24 @@ public class BestCostAndShortestPathFinderTest {
         assertEquals(expectedPaths, convertPaths(paths));
     }
 
+    @Test
+    public void shouldFindTheSameNPathsInParallelAndSequentially() throws UnroutableFlowException {
+        AvailableNetwork network = buildTestNetworkForTestYensAlgorithm();
+        BestCostAndShortestPathFinder sequential = new BestCostAndShortestPathFinder(ALLOWED_DEPTH, WEIGHT_FUNCTION);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            BestCostAndShortestPathFinder parallel =
+                    new BestCostAndShortestPathFinder(ALLOWED_DEPTH, WEIGHT_FUNCTION, pool);
+            for (int count = 1; count <= 14; count++) {
+                assertEquals(
+                        convertPaths(sequential.findNPathsBetweenSwitches(network, SWITCH_ID_A, SWITCH_ID_F, count)),
+                        convertPaths(parallel.findNPathsBetweenSwitches(network, SWITCH_ID_A, SWITCH_ID_F, count)));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     private AvailableNetwork buildTestNetworkForTestYensAlgorithm() {
         /*
          *   Topology:
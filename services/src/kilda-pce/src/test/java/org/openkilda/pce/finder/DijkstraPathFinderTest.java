@@ -0,0 +1,277 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslConfig;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.WeightFunction;
+
+import com.google.common.collect.Lists;
+import org.apache.commons.lang3.tuple.Pair;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class DijkstraPathFinderTest {
+    private static final int ALLOWED_DEPTH = 35;
+    private static final WeightFunction WEIGHT_FUNCTION = edge -> (long) edge.getCost();
+
+    private static final SwitchId SWITCH_ID_1 = new SwitchId("00:00:00:00:00:00:00:01");
+    private static final SwitchId SWITCH_ID_2 = new SwitchId("00:00:00:00:00:00:00:02");
+    private static final SwitchId SWITCH_ID_3 = new SwitchId("00:00:00:00:00:00:00:03");
+    private static final SwitchId SWITCH_ID_4 = new SwitchId("00:00:00:00:00:00:00:04");
+    private static final SwitchId SWITCH_ID_5 = new SwitchId("00:00:00:00:00:00:00:05");
+    private static final SwitchId SWITCH_ID_6 = new SwitchId("00:00:00:00:00:00:00:06");
+
+    @Test
+    public void shouldChooseExpensiveOverTooDeep() throws UnroutableFlowException {
+        DijkstraPathFinder finder = new DijkstraPathFinder(2, WEIGHT_FUNCTION);
+        Pair<List<Edge>, List<Edge>> pairPath = finder.findPathInNetwork(
+                buildLongAndExpensivePathsNetwork(), SWITCH_ID_1, SWITCH_ID_4);
+
+        assertEquals(Arrays.asList(SWITCH_ID_1, SWITCH_ID_2, SWITCH_ID_4), getSwitchIds(pairPath.getLeft()));
+        assertEquals(Arrays.asList(SWITCH_ID_4, SWITCH_ID_2, SWITCH_ID_1), getSwitchIds(pairPath.getRight()));
+    }
+
+    @Test
+    public void shouldChooseDeeperOverExpensive() throws UnroutableFlowException {
+        DijkstraPathFinder finder = new DijkstraPathFinder(4, WEIGHT_FUNCTION);
+        Pair<List<Edge>, List<Edge>> pairPath = finder.findPathInNetwork(
+                buildLongAndExpensivePathsNetwork(), SWITCH_ID_1, SWITCH_ID_4);
+
+        assertEquals(Arrays.asList(SWITCH_ID_1, SWITCH_ID_2, SWITCH_ID_3, SWITCH_ID_5, SWITCH_ID_4),
+                getSwitchIds(pairPath.getLeft()));
+        assertEquals(Lists.reverse(getSwitchIds(pairPath.getLeft())), getSwitchIds(pairPath.getRight()));
+    }
+
+    @Test(expected = UnroutableFlowException.class)
+    public void shouldFailIfPathIsTooDeep() throws UnroutableFlowException {
+        DijkstraPathFinder finder = new DijkstraPathFinder(1, WEIGHT_FUNCTION);
+        finder.findPathInNetwork(buildLongAndExpensivePathsNetwork(), SWITCH_ID_1, SWITCH_ID_4);
+    }
+
+    @Test(expected = UnroutableFlowException.class)
+    public void failToFindASwitch() throws UnroutableFlowException {
+        DijkstraPathFinder finder = new DijkstraPathFinder(ALLOWED_DEPTH, WEIGHT_FUNCTION);
+        finder.findPathInNetwork(buildLongAndExpensivePathsNetwork(), SWITCH_ID_6, SWITCH_ID_1);
+    }
+
+    @Test(expected = UnroutableFlowException.class)
+    public void shouldFailIfReverseIslIsMissing() throws UnroutableFlowException {
+        AvailableNetwork network = new AvailableNetwork();
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_2, 1, 2, 100);
+        addLink(network, SWITCH_ID_2, SWITCH_ID_3, 3, 4, 100);
+        network.reduceByWeight(WEIGHT_FUNCTION);
+
+        DijkstraPathFinder finder = new DijkstraPathFinder(ALLOWED_DEPTH, WEIGHT_FUNCTION);
+        finder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_3);
+    }
+
+    @Test
+    public void shouldBuildReversePathFromReverseIsls() throws UnroutableFlowException {
+        AvailableNetwork network = buildLongAndExpensivePathsNetwork();
+
+        DijkstraPathFinder finder = new DijkstraPathFinder(ALLOWED_DEPTH, WEIGHT_FUNCTION);
+        Pair<List<Edge>, List<Edge>> pairPath = finder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_4);
+
+        for (Edge edge : pairPath.getRight()) {
+            assertThat(edge.getSrcSwitch().getOutgoingLinks(), Matchers.hasItem(Matchers.sameInstance(edge)));
+        }
+    }
+
+    @Test
+    public void shouldTakeDiversityWeightsIntoAccount() throws UnroutableFlowException {
+        AvailableNetwork network = buildLongAndExpensivePathsNetwork();
+        network.getSwitch(SWITCH_ID_3).setDiversityWeight(20000);
+
+        DijkstraPathFinder finder = new DijkstraPathFinder(ALLOWED_DEPTH, WEIGHT_FUNCTION);
+        Pair<List<Edge>, List<Edge>> pairPath = finder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_4);
+
+        assertEquals(Arrays.asList(SWITCH_ID_1, SWITCH_ID_2, SWITCH_ID_4), getSwitchIds(pairPath.getLeft()));
+    }
+
+    @Test
+    public void shouldFindNPathWithoutNetworkModification() throws UnroutableFlowException {
+        AvailableNetwork network = buildLongAndExpensivePathsNetwork();
+        final int edgesBefore = countEdges(network);
+
+        DijkstraPathFinder finder = new DijkstraPathFinder(ALLOWED_DEPTH, WEIGHT_FUNCTION);
+        List<List<Edge>> paths = finder.findNPathsBetweenSwitches(network, SWITCH_ID_1, SWITCH_ID_4, 10);
+
+        assertThat(paths, Matchers.hasSize(2));
+        assertEquals(Arrays.asList(SWITCH_ID_1, SWITCH_ID_2, SWITCH_ID_3, SWITCH_ID_5, SWITCH_ID_4),
+                getSwitchIds(paths.get(0)));
+        assertEquals(Arrays.asList(SWITCH_ID_1, SWITCH_ID_2, SWITCH_ID_4), getSwitchIds(paths.get(1)));
+        assertEquals(edgesBefore, countEdges(network));
+    }
+
+    @Test
+    public void shouldFindPathsWithTheSameWeightAsBestCostFinder() throws UnroutableFlowException {
+        Random random = new Random(42);
+        for (int attempt = 0; attempt < 20; attempt++) {
+            AvailableNetwork network = buildRandomMesh(random, 30, 90);
+
+            Pair<List<Edge>, List<Edge>> expected = new BestCostAndShortestPathFinder(ALLOWED_DEPTH, WEIGHT_FUNCTION)
+                    .findPathInNetwork(network, new SwitchId(1), new SwitchId(30));
+            Pair<List<Edge>, List<Edge>> actual = new DijkstraPathFinder(ALLOWED_DEPTH, WEIGHT_FUNCTION)
+                    .findPathInNetwork(network, new SwitchId(1), new SwitchId(30));
+            assertEquals(getWeight(expected.getLeft()), getWeight(actual.getLeft()));
+
+            int depth = getMinHops(network, new SwitchId(1), new SwitchId(30)) + random.nextInt(3);
+            List<Edge> limited = new DijkstraPathFinder(depth, WEIGHT_FUNCTION)
+                    .findPathInNetwork(network, new SwitchId(1), new SwitchId(30)).getLeft();
+            assertThat(limited.size(), Matchers.lessThanOrEqualTo(depth));
+            assertThat(getWeight(limited), Matchers.greaterThanOrEqualTo(getWeight(actual.getLeft())));
+        }
+    }
+
+    @Test
+    public void shouldFindTheSameNPathsInParallelAndSequentially() throws UnroutableFlowException {
+        Random random = new Random(42);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            DijkstraPathFinder sequential = new DijkstraPathFinder(ALLOWED_DEPTH, WEIGHT_FUNCTION);
+            DijkstraPathFinder parallel = new DijkstraPathFinder(ALLOWED_DEPTH, WEIGHT_FUNCTION, pool);
+            for (int attempt = 0; attempt < 5; attempt++) {
+                AvailableNetwork network = buildRandomMesh(random, 30, 90);
+
+                List<List<Edge>> expected = sequential.findNPathsBetweenSwitches(
+                        network, new SwitchId(1), new SwitchId(30), 10);
+                List<List<Edge>> actual = parallel.findNPathsBetweenSwitches(
+                        network, new SwitchId(1), new SwitchId(30), 10);
+                assertEquals(expected, actual);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private AvailableNetwork buildLongAndExpensivePathsNetwork() {
+        /*
+         *   Topology:
+         *
+         *   SW1---SW2~~~SW4
+         *          |     |
+         *         SW3---SW5
+         *
+         *   SW2 - SW4 is expensive by cost.
+         */
+        AvailableNetwork network = new AvailableNetwork();
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_2, 1, 2, 100);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_4, 3, 4, 10000);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_3, 5, 6, 100);
+        addBidirectionalLink(network, SWITCH_ID_3, SWITCH_ID_5, 7, 8, 100);
+        addBidirectionalLink(network, SWITCH_ID_4, SWITCH_ID_5, 9, 10, 100);
+        network.reduceByWeight(WEIGHT_FUNCTION);
+        return network;
+    }
+
+    private AvailableNetwork buildRandomMesh(Random random, int switchCount, int linkCount) {
+        AvailableNetwork network = new AvailableNetwork();
+        for (int i = 1; i < switchCount; i++) {
+            addBidirectionalLink(network, new SwitchId(i), new SwitchId(i + 1), 1, 2, 1 + random.nextInt(1000));
+        }
+        for (int i = 0; i < linkCount; i++) {
+            int src = 1 + random.nextInt(switchCount);
+            int dst = 1 + random.nextInt(switchCount);
+            if (src != dst) {
+                addBidirectionalLink(network, new SwitchId(src), new SwitchId(dst), 10 + i, 10 + i,
+                        1 + random.nextInt(1000));
+            }
+        }
+        network.reduceByWeight(WEIGHT_FUNCTION);
+        return network;
+    }
+
+    private long getWeight(List<Edge> path) {
+        long weight = 0;
+        for (Edge edge : path) {
+            weight += edge.getFullWeight(WEIGHT_FUNCTION) + edge.getDestSwitch().getStaticWeight();
+        }
+        return weight;
+    }
+
+    private int getMinHops(AvailableNetwork network, SwitchId start, SwitchId end) {
+        Map<SwitchId, Integer> hops = new HashMap<>();
+        Deque<SwitchId> queue = new ArrayDeque<>();
+        hops.put(start, 0);
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            SwitchId current = queue.poll();
+            for (Edge edge : network.getSwitch(current).getOutgoingLinks()) {
+                SwitchId next = edge.getDestSwitch().getSwitchId();
+                if (!hops.containsKey(next)) {
+                    hops.put(next, hops.get(current) + 1);
+                    queue.add(next);
+                }
+            }
+        }
+        return hops.get(end);
+    }
+
+    private int countEdges(AvailableNetwork network) {
+        return network.getSwitches().stream().mapToInt(node -> node.getOutgoingLinks().size()).sum();
+    }
+
+    private List<SwitchId> getSwitchIds(List<Edge> path) {
+        List<SwitchId> switchIds = new ArrayList<>();
+        if (!path.isEmpty()) {
+            switchIds.add(path.get(0).getSrcSwitch().getSwitchId());
+            for (Edge edge : path) {
+                switchIds.add(edge.getDestSwitch().getSwitchId());
+            }
+        }
+        return switchIds;
+    }
+
+    private void addBidirectionalLink(AvailableNetwork network, SwitchId firstSwitch, SwitchId secondSwitch,
+                                      int srcPort, int dstPort, int cost) {
+        addLink(network, firstSwitch, secondSwitch, srcPort, dstPort, cost);
+        addLink(network, secondSwitch, firstSwitch, dstPort, srcPort, cost);
+    }
+
+    private void addLink(AvailableNetwork network, SwitchId srcDpid, SwitchId dstDpid, int srcPort, int dstPort,
+                         int cost) {
+        Isl isl = Isl.builder()
+                .srcSwitch(Switch.builder().switchId(srcDpid).build())
+                .destSwitch(Switch.builder().switchId(dstDpid).build())
+                .srcPort(srcPort)
+                .destPort(dstPort)
+                .cost(cost)
+                .availableBandwidth(1000)
+                .build();
+        isl.setIslConfig(IslConfig.builder().unstableIslTimeout(Duration.ofSeconds(120)).build());
+        network.addLink(isl);
+    }
+}
@@ -34,12 +34,14 @@ import org.openkilda.model.SwitchId;
 import org.openkilda.model.SwitchProperties;
 import org.openkilda.model.SwitchStatus;
 import org.openkilda.pce.AvailableNetworkFactory;
+import org.openkilda.pce.BatchPathResult;
 import org.openkilda.pce.Path;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathComputerConfig;
 import org.openkilda.pce.PathComputerFactory;
 import org.openkilda.pce.PathComputerFactory.WeightStrategy;
 import org.openkilda.pce.PathPair;
+import org.openkilda.pce.PathRequest;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.exception.UnroutableFlowException;
 import org.openkilda.pce.finder.BestCostAndShortestPathFinder;
@@ -66,7 +68,9 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.neo4j.ogm.testutil.TestServer;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
@@ -74,6 +78,7 @@ public class InMemoryPathComputerTest {
 
     static TestServer testServer;
     static TransactionManager txManager;
+    static PersistenceManager persistenceManager;
     static SwitchRepository switchRepository;
     static SwitchPropertiesRepository switchPropertiesRepository;
     static IslRepository islRepository;
@@ -92,7 +97,7 @@ public class InMemoryPathComputerTest {
     public static void setUpOnce() {
         testServer = new TestServer(true, true, 5);
 
-        PersistenceManager persistenceManager = PersistenceProvider.getInstance().createPersistenceManager(
+        persistenceManager = PersistenceProvider.getInstance().createPersistenceManager(
                 new ConfigurationProvider() { //NOSONAR
                     @SuppressWarnings("unchecked")
                     @Override
@@ -529,6 +534,130 @@ public class InMemoryPathComputerTest {
         pathComputer.getPath(flow, flow.getFlowPathIds());
     }
 
+    @Test
+    public void shouldComputePathOverNetworkModelEvents() throws UnroutableFlowException, RecoverableException {
+        createDiamond(IslStatus.ACTIVE, IslStatus.ACTIVE, 10, 20);
+
+        NetworkModel networkModel = new NetworkModel(persistenceManager.getRepositoryFactory(), Duration.ZERO,
+                Duration.ZERO);
+        AvailableNetworkFactory factory = new AvailableNetworkFactory(
+                config, persistenceManager.getRepositoryFactory(), networkModel);
+        PathComputer pathComputer = new PathComputerFactory(config, factory).getPathComputer();
+
+        Flow flow = new TestFlowBuilder()
+                .srcSwitch(switchRepository.findById(new SwitchId("00:01")).get())
+                .destSwitch(switchRepository.findById(new SwitchId("00:04")).get())
+                .bandwidth(100)
+                .build();
+
+        PathPair path = pathComputer.getPath(flow);
+        assertEquals(new SwitchId("00:02"), path.getForward().getSegments().get(0).getDestSwitchId());
+
+        // Path B goes down, the model receives the event and doesn't need to be reloaded.
+        networkModel.applyIslStatus(new SwitchId("00:01"), 5, new SwitchId("00:02"), 5, IslStatus.INACTIVE);
+        long version = networkModel.getSnapshot().getVersion();
+        path = pathComputer.getPath(flow);
+        assertEquals(new SwitchId("00:03"), path.getForward().getSegments().get(0).getDestSwitchId());
+        assertEquals(version, networkModel.getSnapshot().getVersion());
+
+        // Switch C goes offline, the flow is unroutable over the model and the actual network as well.
+        networkModel.applySwitchStatus(new SwitchId("00:03"), SwitchStatus.INACTIVE);
+        Switch switchC = switchRepository.findById(new SwitchId("00:03")).get();
+        switchC.setStatus(SwitchStatus.INACTIVE);
+        switchRepository.createOrUpdate(switchC);
+        Isl isl = islRepository.findByEndpoints(new SwitchId("00:01"), 5, new SwitchId("00:02"), 5).get();
+        isl.setStatus(IslStatus.INACTIVE);
+        islRepository.createOrUpdate(isl);
+
+        thrown.expect(UnroutableFlowException.class);
+        pathComputer.getPath(flow);
+    }
+
+    @Test
+    public void shouldReloadNetworkModelIfFlowIsUnroutable() throws UnroutableFlowException, RecoverableException {
+        createDiamond(IslStatus.INACTIVE, IslStatus.INACTIVE, 10, 20);
+
+        NetworkModel networkModel = new NetworkModel(persistenceManager.getRepositoryFactory(), Duration.ZERO,
+                Duration.ZERO);
+        networkModel.getSnapshot();
+        AvailableNetworkFactory factory = new AvailableNetworkFactory(
+                config, persistenceManager.getRepositoryFactory(), networkModel);
+        PathComputer pathComputer = new PathComputerFactory(config, factory).getPathComputer();
+
+        // Path B comes back up behind the model.
+        SwitchId switchB = new SwitchId("00:02");
+        List<Isl> isls = new ArrayList<>(islRepository.findBySrcSwitch(switchB));
+        isls.addAll(islRepository.findByDestSwitch(switchB));
+        for (Isl isl : isls) {
+            isl.setStatus(IslStatus.ACTIVE);
+            islRepository.createOrUpdate(isl);
+        }
+
+        Flow flow = new TestFlowBuilder()
+                .srcSwitch(switchRepository.findById(new SwitchId("00:01")).get())
+                .destSwitch(switchRepository.findById(new SwitchId("00:04")).get())
+                .bandwidth(100)
+                .build();
+
+        PathPair path = pathComputer.getPath(flow);
+        assertEquals(switchB, path.getForward().getSegments().get(0).getDestSwitchId());
+    }
+
+    @Test
+    public void shouldAccountBandwidthBetweenFlowsOfBatch() throws RecoverableException {
+        createDiamond(IslStatus.ACTIVE, IslStatus.ACTIVE, 10, 20);
+
+        Switch srcSwitch = switchRepository.findById(new SwitchId("00:01")).get();
+        Switch destSwitch = switchRepository.findById(new SwitchId("00:04")).get();
+        Flow lowPriorityFlow = new TestFlowBuilder("low").srcSwitch(srcSwitch).destSwitch(destSwitch)
+                .bandwidth(600).build();
+        lowPriorityFlow.setPriority(200);
+        Flow highPriorityFlow = new TestFlowBuilder("high").srcSwitch(srcSwitch).destSwitch(destSwitch)
+                .bandwidth(600).build();
+        highPriorityFlow.setPriority(100);
+        Flow noPriorityFlow = new TestFlowBuilder("none").srcSwitch(srcSwitch).destSwitch(destSwitch)
+                .bandwidth(600).build();
+
+        PathComputer pathComputer = pathComputerFactory.getPathComputer();
+        BatchPathResult result = pathComputer.getPaths(Arrays.asList(
+                PathRequest.builder().flow(noPriorityFlow).build(),
+                PathRequest.builder().flow(lowPriorityFlow).build(),
+                PathRequest.builder().flow(highPriorityFlow).build()));
+
+        assertEquals(Arrays.asList("high", "low"), new ArrayList<>(result.getPaths().keySet()));
+        assertEquals(new SwitchId("00:02"),
+                result.getPaths().get("high").getForward().getSegments().get(0).getDestSwitchId());
+        assertEquals(new SwitchId("00:03"),
+                result.getPaths().get("low").getForward().getSegments().get(0).getDestSwitchId());
+        assertThat(result.getFailures().keySet(), Matchers.contains("none"));
+    }
+
+    @Test
+    public void shouldNotAccountBandwidthOfIgnoreBandwidthFlowInBatch() throws RecoverableException {
+        createDiamond(IslStatus.ACTIVE, IslStatus.ACTIVE, 10, 20);
+
+        Switch srcSwitch = switchRepository.findById(new SwitchId("00:01")).get();
+        Switch destSwitch = switchRepository.findById(new SwitchId("00:04")).get();
+        Flow ignoreBandwidthFlow = new TestFlowBuilder("ignore").srcSwitch(srcSwitch).destSwitch(destSwitch)
+                .bandwidth(600).ignoreBandwidth(true).build();
+        ignoreBandwidthFlow.setPriority(100);
+        Flow regularFlow = new TestFlowBuilder("regular").srcSwitch(srcSwitch).destSwitch(destSwitch)
+                .bandwidth(600).build();
+        regularFlow.setPriority(200);
+
+        PathComputer pathComputer = pathComputerFactory.getPathComputer();
+        BatchPathResult result = pathComputer.getPaths(Arrays.asList(
+                PathRequest.builder().flow(regularFlow).build(),
+                PathRequest.builder().flow(ignoreBandwidthFlow).build()));
+
+        assertEquals(Arrays.asList("ignore", "regular"), new ArrayList<>(result.getPaths().keySet()));
+        assertEquals(new SwitchId("00:02"),
+                result.getPaths().get("ignore").getForward().getSegments().get(0).getDestSwitchId());
+        assertEquals(new SwitchId("00:02"),
+                result.getPaths().get("regular").getForward().getSegments().get(0).getDestSwitchId());
+        assertThat(result.getFailures().keySet(), Matchers.empty());
+    }
+
     @Test
     public void shouldFindDiversePath() throws RecoverableException, UnroutableFlowException {
         createDiamondWithDiversity();
@@ -0,0 +1,249 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslConfig;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchProperties;
+import org.openkilda.model.SwitchStatus;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.SwitchPropertiesRepository;
+import org.openkilda.persistence.repositories.SwitchRepository;
+
+import org.hamcrest.Matchers;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collections;
+
+public class NetworkModelTest {
+    private static final SwitchId SWITCH_A = new SwitchId("00:0A");
+    private static final SwitchId SWITCH_B = new SwitchId("00:0B");
+    private static final SwitchId SWITCH_C = new SwitchId("00:0C");
+
+    private IslRepository islRepository;
+    private SwitchRepository switchRepository;
+    private RepositoryFactory repositoryFactory;
+
+    @Before
+    public void setUp() {
+        Switch switchA = buildSwitch(SWITCH_A);
+        Switch switchB = buildSwitch(SWITCH_B);
+        Switch switchC = buildSwitch(SWITCH_C);
+
+        islRepository = mock(IslRepository.class);
+        when(islRepository.findByPartialEndpoints(any(), any(), any(), any())).thenReturn(asList(
+                buildIsl(switchA, 1, switchB, 1, 1000),
+                buildIsl(switchB, 1, switchA, 1, 1000),
+                buildIsl(switchB, 2, switchC, 2, 1000),
+                buildIsl(switchC, 2, switchB, 2, 10)));
+
+        switchRepository = mock(SwitchRepository.class);
+        when(switchRepository.findAll()).thenReturn(asList(switchA, switchB, switchC));
+
+        SwitchPropertiesRepository switchPropertiesRepository = mock(SwitchPropertiesRepository.class);
+        when(switchPropertiesRepository.findAll()).thenReturn(asList(
+                buildSwitchProperties(switchA), buildSwitchProperties(switchB), buildSwitchProperties(switchC)));
+
+        repositoryFactory = mock(RepositoryFactory.class);
+        when(repositoryFactory.createIslRepository()).thenReturn(islRepository);
+        when(repositoryFactory.createSwitchRepository()).thenReturn(switchRepository);
+        when(repositoryFactory.createSwitchPropertiesRepository()).thenReturn(switchPropertiesRepository);
+    }
+
+    @Test
+    public void shouldFilterIslsByBandwidthAndEncapsulation() {
+        NetworkModel model = new NetworkModel(repositoryFactory, Duration.ZERO, Duration.ZERO);
+        NetworkModel.Snapshot snapshot = model.getSnapshot();
+
+        assertThat(snapshot.findAllActive(), Matchers.hasSize(4));
+        assertThat(snapshot.findActiveWithAvailableBandwidth(100, FlowEncapsulationType.TRANSIT_VLAN),
+                Matchers.hasSize(3));
+        assertThat(snapshot.findSymmetricActiveWithAvailableBandwidth(100, FlowEncapsulationType.TRANSIT_VLAN),
+                Matchers.hasSize(2));
+        assertThat(snapshot.findActiveWithAvailableBandwidth(100, FlowEncapsulationType.VXLAN), Matchers.empty());
+    }
+
+    @Test
+    public void shouldNotAffectTakenSnapshotOnEvent() {
+        NetworkModel model = new NetworkModel(repositoryFactory, Duration.ZERO, Duration.ZERO);
+        NetworkModel.Snapshot before = model.getSnapshot();
+
+        model.applyIslStatus(SWITCH_A, 1, SWITCH_B, 1, IslStatus.INACTIVE);
+        NetworkModel.Snapshot after = model.getSnapshot();
+
+        assertNotEquals(before.getVersion(), after.getVersion());
+        assertThat(before.findAllActive(), Matchers.hasSize(4));
+        assertThat(after.findAllActive(), Matchers.hasSize(2));
+    }
+
+    @Test
+    public void shouldNotChangeModelIfStatusIsUpToDate() {
+        NetworkModel model = new NetworkModel(repositoryFactory, Duration.ZERO, Duration.ZERO);
+        long version = model.getSnapshot().getVersion();
+
+        model.applyIslStatus(SWITCH_A, 1, SWITCH_B, 1, IslStatus.ACTIVE);
+        model.applySwitchStatus(SWITCH_A, SwitchStatus.ACTIVE);
+        assertEquals(version, model.getSnapshot().getVersion());
+    }
+
+    @Test
+    public void shouldApplyIslAndSwitchStatusWithoutDbAccess() {
+        NetworkModel model = new NetworkModel(repositoryFactory, Duration.ZERO, Duration.ZERO);
+        model.getSnapshot();
+
+        model.applySwitchStatus(SWITCH_C, SwitchStatus.INACTIVE);
+        assertThat(model.getSnapshot().findAllActive(), Matchers.hasSize(2));
+
+        model.applyIslStatus(SWITCH_B, 1, SWITCH_A, 1, IslStatus.MOVED);
+        assertThat(model.getSnapshot().findAllActive(), Matchers.empty());
+
+        model.applySwitchStatus(SWITCH_C, SwitchStatus.ACTIVE);
+        model.applyIslStatus(SWITCH_A, 1, SWITCH_B, 1, IslStatus.ACTIVE);
+        assertThat(model.getSnapshot().findAllActive(), Matchers.hasSize(4));
+
+        verify(islRepository, times(1)).findByPartialEndpoints(any(), any(), any(), any());
+    }
+
+    @Test
+    public void shouldReloadIfUnknownIslBecomesActive() {
+        NetworkModel model = new NetworkModel(repositoryFactory, Duration.ZERO, Duration.ZERO);
+        model.getSnapshot();
+
+        model.applyIslStatus(SWITCH_A, 3, SWITCH_C, 3, IslStatus.INACTIVE);
+        model.getSnapshot();
+        verify(islRepository, times(1)).findByPartialEndpoints(any(), any(), any(), any());
+
+        model.applyIslStatus(SWITCH_A, 3, SWITCH_C, 3, IslStatus.ACTIVE);
+        model.getSnapshot();
+        verify(islRepository, times(2)).findByPartialEndpoints(any(), any(), any(), any());
+    }
+
+    @Test
+    public void shouldRateLimitReloadRequests() {
+        MutableClock clock = new MutableClock();
+        NetworkModel model = new NetworkModel(repositoryFactory, Duration.ZERO, Duration.ofSeconds(10), clock);
+        model.getSnapshot();
+
+        clock.instant = clock.instant.plusSeconds(5);
+        assertFalse(model.requestReload());
+        model.applyIslStatus(SWITCH_A, 3, SWITCH_C, 3, IslStatus.ACTIVE);
+        model.getSnapshot();
+        verify(islRepository, times(1)).findByPartialEndpoints(any(), any(), any(), any());
+
+        clock.instant = clock.instant.plusSeconds(6);
+        model.getSnapshot();
+        verify(islRepository, times(2)).findByPartialEndpoints(any(), any(), any(), any());
+
+        clock.instant = clock.instant.plusSeconds(11);
+        assertTrue(model.requestReload());
+        verify(islRepository, times(3)).findByPartialEndpoints(any(), any(), any(), any());
+    }
+
+    @Test
+    public void shouldReplayEventsAppliedDuringReload() {
+        NetworkModel model = new NetworkModel(repositoryFactory, Duration.ZERO, Duration.ZERO);
+        model.getSnapshot();
+
+        when(switchRepository.findAll()).thenAnswer(invocation -> {
+            // the event arrives after ISLs have been read, so the loaded state doesn't reflect it yet
+            model.applyIslStatus(SWITCH_B, 2, SWITCH_C, 2, IslStatus.INACTIVE);
+            return asList(buildSwitch(SWITCH_A), buildSwitch(SWITCH_B), buildSwitch(SWITCH_C));
+        });
+        NetworkModel.Snapshot reloaded = model.reload();
+
+        assertSame(reloaded, model.getSnapshot());
+        assertThat(reloaded.findAllActive(), Matchers.hasSize(2));
+    }
+
+    @Test
+    public void shouldReloadOutdatedModel() {
+        MutableClock clock = new MutableClock();
+        NetworkModel model = new NetworkModel(repositoryFactory, Duration.ofSeconds(60), Duration.ZERO, clock);
+
+        NetworkModel.Snapshot snapshot = model.getSnapshot();
+        clock.instant = clock.instant.plusSeconds(30);
+        assertSame(snapshot, model.getSnapshot());
+
+        clock.instant = clock.instant.plusSeconds(31);
+        assertNotEquals(snapshot.getVersion(), model.getSnapshot().getVersion());
+        verify(islRepository, times(2)).findByPartialEndpoints(any(), any(), any(), any());
+        assertEquals(1, model.getSnapshot().getVersion());
+    }
+
+    private Switch buildSwitch(SwitchId switchId) {
+        return Switch.builder().switchId(switchId).status(SwitchStatus.ACTIVE).build();
+    }
+
+    private SwitchProperties buildSwitchProperties(Switch sw) {
+        return SwitchProperties.builder().switchObj(sw)
+                .supportedTransitEncapsulation(Collections.singleton(FlowEncapsulationType.TRANSIT_VLAN)).build();
+    }
+
+    private Isl buildIsl(Switch srcSwitch, int srcPort, Switch dstSwitch, int dstPort, long availableBandwidth) {
+        Isl isl = Isl.builder()
+                .srcSwitch(srcSwitch).srcPort(srcPort)
+                .destSwitch(dstSwitch).destPort(dstPort)
+                .status(IslStatus.ACTIVE)
+                .actualStatus(IslStatus.ACTIVE)
+                .availableBandwidth(availableBandwidth)
+                .build();
+        isl.setIslConfig(IslConfig.builder().build());
+        return isl;
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant = Instant.now();
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
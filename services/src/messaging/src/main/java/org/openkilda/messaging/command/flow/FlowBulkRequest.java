@@ -0,0 +1,68 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.command.flow;
+
+import org.openkilda.messaging.command.CommandData;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Represents bulk create, update and delete flows northbound request. Each flow of the request is answered with
+ * {@link org.openkilda.messaging.info.flow.FlowBulkStatusResponse} chunk.
+ */
+@Value
+@EqualsAndHashCode(callSuper = false)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FlowBulkRequest extends CommandData {
+    private static final long serialVersionUID = 1L;
+
+    @NonNull
+    @JsonProperty("create")
+    List<FlowCreateRequest> create;
+
+    @NonNull
+    @JsonProperty("update")
+    List<FlowUpdateRequest> update;
+
+    @NonNull
+    @JsonProperty("delete")
+    List<String> delete;
+
+    @JsonCreator
+    public FlowBulkRequest(@JsonProperty("create") @NonNull List<FlowCreateRequest> create,
+                           @JsonProperty("update") @NonNull List<FlowUpdateRequest> update,
+                           @JsonProperty("delete") @NonNull List<String> delete) {
+        this.create = create;
+        this.update = update;
+        this.delete = delete;
+    }
+
+    /**
+     * Returns the number of flows in the request, i.e. the number of response chunks.
+     */
+    @JsonIgnore
+    public int getSize() {
+        return create.size() + update.size() + delete.size();
+    }
+}
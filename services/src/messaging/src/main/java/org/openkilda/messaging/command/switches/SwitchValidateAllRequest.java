@@ -0,0 +1,39 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.messaging.command.switches;
+
+import org.openkilda.messaging.command.CommandData;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+/**
+ * Requests validation of all active switches. Results are streamed back as {@code ChunkedInfoMessage} with one
+ * {@link org.openkilda.messaging.info.switches.SwitchValidationResultEntry} per switch.
+ */
+@Value
+public class SwitchValidateAllRequest extends CommandData {
+
+    @JsonProperty("process_meters")
+    private boolean processMeters;
+
+    @JsonCreator
+    public SwitchValidateAllRequest(@JsonProperty("process_meters") boolean processMeters) {
+        this.processMeters = processMeters;
+    }
+}
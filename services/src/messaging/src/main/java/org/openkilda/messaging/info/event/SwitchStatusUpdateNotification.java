@@ -0,0 +1,48 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.info.event;
+
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchStatus;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = false)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SwitchStatusUpdateNotification extends InfoData {
+    private static final long serialVersionUID = 2209447583413622740L;
+
+    @JsonProperty("switch_id")
+    private SwitchId switchId;
+
+    @JsonProperty("status")
+    private SwitchStatus status;
+
+    @JsonCreator
+    public SwitchStatusUpdateNotification(@JsonProperty("switch_id") SwitchId switchId,
+                                          @JsonProperty("status") SwitchStatus status) {
+        this.switchId = switchId;
+        this.status = status;
+    }
+}
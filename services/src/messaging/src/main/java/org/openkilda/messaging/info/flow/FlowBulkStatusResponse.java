@@ -0,0 +1,82 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.info.flow;
+
+import org.openkilda.messaging.error.ErrorType;
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.payload.flow.FlowBulkOperation;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Result of a single flow of the bulk request. A successful result means the flow is stored and its rules are being
+ * installed (removed), the flow status shows whether the installation has succeeded.
+ */
+@Value
+@EqualsAndHashCode(callSuper = false)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FlowBulkStatusResponse extends InfoData {
+    private static final long serialVersionUID = 1L;
+
+    @NonNull
+    @JsonProperty("flow_id")
+    String flowId;
+
+    @NonNull
+    @JsonProperty("operation")
+    FlowBulkOperation operation;
+
+    @JsonProperty("success")
+    boolean success;
+
+    @JsonProperty("error_type")
+    ErrorType errorType;
+
+    @JsonProperty("error_message")
+    String errorMessage;
+
+    @JsonProperty("error_description")
+    String errorDescription;
+
+    @JsonCreator
+    public FlowBulkStatusResponse(@JsonProperty("flow_id") @NonNull String flowId,
+                                  @JsonProperty("operation") @NonNull FlowBulkOperation operation,
+                                  @JsonProperty("success") boolean success,
+                                  @JsonProperty("error_type") ErrorType errorType,
+                                  @JsonProperty("error_message") String errorMessage,
+                                  @JsonProperty("error_description") String errorDescription) {
+        this.flowId = flowId;
+        this.operation = operation;
+        this.success = success;
+        this.errorType = errorType;
+        this.errorMessage = errorMessage;
+        this.errorDescription = errorDescription;
+    }
+
+    public static FlowBulkStatusResponse succeeded(String flowId, FlowBulkOperation operation) {
+        return new FlowBulkStatusResponse(flowId, operation, true, null, null, null);
+    }
+
+    public static FlowBulkStatusResponse failed(String flowId, FlowBulkOperation operation, ErrorType errorType,
+                                                String errorMessage, String errorDescription) {
+        return new FlowBulkStatusResponse(flowId, operation, false, errorType, errorMessage, errorDescription);
+    }
+}
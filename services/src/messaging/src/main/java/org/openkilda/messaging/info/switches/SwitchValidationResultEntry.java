@@ -0,0 +1,52 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.messaging.info.switches;
+
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.model.SwitchId;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Validation result of a single switch produced by a network-wide validation. Either {@code result} or
+ * {@code error} is set.
+ */
+@Value
+@Builder
+public class SwitchValidationResultEntry extends InfoData {
+
+    @JsonProperty("switch_id")
+    private SwitchId switchId;
+
+    @JsonProperty("result")
+    private SwitchValidationResponse result;
+
+    @JsonProperty("error")
+    private String error;
+
+    @JsonCreator
+    public SwitchValidationResultEntry(@JsonProperty("switch_id") SwitchId switchId,
+                                       @JsonProperty("result") SwitchValidationResponse result,
+                                       @JsonProperty("error") String error) {
+        this.switchId = switchId;
+        this.result = result;
+        this.error = error;
+    }
+}
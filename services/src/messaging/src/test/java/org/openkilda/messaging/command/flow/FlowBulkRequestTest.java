@@ -0,0 +1,49 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.command.flow;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+import org.openkilda.messaging.JsonSerializeAbstractTest;
+import org.openkilda.messaging.model.FlowDto;
+import org.openkilda.model.SwitchId;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class FlowBulkRequestTest extends JsonSerializeAbstractTest {
+    @Test
+    public void serializeLoop() throws Exception {
+        FlowDto created = new FlowDto("created", 1000, false, "", new SwitchId(1), 1, 100, new SwitchId(2), 2, 200,
+                false, null);
+        FlowDto updated = new FlowDto("updated", 2000, false, "", new SwitchId(1), 3, 0, new SwitchId(2), 3, 0,
+                false, null);
+
+        FlowBulkRequest origin = new FlowBulkRequest(
+                singletonList(new FlowCreateRequest(created, "diverse")),
+                singletonList(new FlowUpdateRequest(updated)),
+                Arrays.asList("deleted-1", "deleted-2"));
+
+        commandSerializeLoop(origin);
+    }
+
+    @Test
+    public void serializeEmptyLoop() throws Exception {
+        commandSerializeLoop(new FlowBulkRequest(emptyList(), emptyList(), emptyList()));
+    }
+}
@@ -0,0 +1,35 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.info.flow;
+
+import org.openkilda.messaging.JsonSerializeAbstractTest;
+import org.openkilda.messaging.error.ErrorType;
+import org.openkilda.messaging.payload.flow.FlowBulkOperation;
+
+import org.junit.Test;
+
+public class FlowBulkStatusResponseTest extends JsonSerializeAbstractTest {
+    @Test
+    public void serializeSucceededLoop() throws Exception {
+        infoSerializeLoop(FlowBulkStatusResponse.succeeded("flow", FlowBulkOperation.CREATE));
+    }
+
+    @Test
+    public void serializeFailedLoop() throws Exception {
+        infoSerializeLoop(FlowBulkStatusResponse.failed("flow", FlowBulkOperation.DELETE, ErrorType.NOT_FOUND,
+                "Could not delete flow", "Flow flow not found"));
+    }
+}
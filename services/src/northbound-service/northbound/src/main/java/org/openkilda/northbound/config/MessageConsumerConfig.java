@@ -17,6 +17,8 @@ package org.openkilda.northbound.config;
 
 import org.openkilda.messaging.Message;
 import org.openkilda.northbound.messaging.MessagingChannel;
+import org.openkilda.northbound.messaging.kafka.ConsumptionFlowControl;
+import org.openkilda.northbound.messaging.kafka.FlowControlledConsumerFactory;
 import org.openkilda.northbound.messaging.kafka.KafkaMessageListener;
 import org.openkilda.northbound.messaging.kafka.KafkaMessagingChannel;
 
@@ -31,7 +33,6 @@ import org.springframework.context.annotation.PropertySource;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
-import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.util.Map;
@@ -90,14 +91,26 @@ public class MessageConsumerConfig {
      * Kafka consumer factory bean. The strategy to produce a {@link org.apache.kafka.clients.consumer.Consumer}
      * instance with {@link MessageConsumerConfig#consumerConfigs} on each
      * {@link org.springframework.kafka.core.DefaultKafkaConsumerFactory#createConsumer}
-     * invocation.
+     * invocation. Consumers pause partitions as the {@link ConsumptionFlowControl} requests.
      *
      * @return kafka consumer factory
      */
     @Bean
-    public ConsumerFactory<String, Message> consumerFactory(ObjectMapper objectMapper) {
-        return new DefaultKafkaConsumerFactory<>(consumerConfigs(),
-                new StringDeserializer(), new JsonDeserializer<>(Message.class, objectMapper));
+    public ConsumerFactory<String, Message> consumerFactory(ObjectMapper objectMapper,
+                                                            ConsumptionFlowControl flowControl) {
+        return new FlowControlledConsumerFactory<>(consumerConfigs(),
+                new StringDeserializer(), new JsonDeserializer<>(Message.class, objectMapper), flowControl);
+    }
+
+    /**
+     * Pauses of partitions requested by the {@link KafkaMessagingChannel} while readers of streamed responses don't
+     * keep up with them.
+     *
+     * @return consumption flow control
+     */
+    @Bean
+    public ConsumptionFlowControl consumptionFlowControl() {
+        return new ConsumptionFlowControl();
     }
 
     /**
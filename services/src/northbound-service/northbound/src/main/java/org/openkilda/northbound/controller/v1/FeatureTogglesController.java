@@ -44,7 +44,8 @@ public class FeatureTogglesController extends BaseController {
     private FeatureTogglesService featureTogglesService;
 
     @PatchMapping
-    @ApiOperation(value = "Toggle kilda features")
+    @ApiOperation(value = "Toggle kilda features",
+            notes = "The response shows the stored toggles. Topologies apply the change within 10 seconds.")
     @ResponseStatus(HttpStatus.OK)
     public CompletableFuture<FeatureTogglesDto> toggleFeatures(@RequestBody FeatureTogglesDto request) {
         return featureTogglesService.toggleFeatures(request);
@@ -51,7 +51,8 @@ public class KildaConfigurationController extends BaseController {
     }
 
     @PatchMapping
-    @ApiOperation(value = "Update kilda configuration", response = KildaConfigurationDto.class)
+    @ApiOperation(value = "Update kilda configuration", response = KildaConfigurationDto.class,
+            notes = "The response shows the stored configuration. Topologies apply the change within 10 seconds.")
     @ResponseStatus(HttpStatus.OK)
     public CompletableFuture<KildaConfigurationDto> updateKildaConfiguration(@RequestBody KildaConfigurationDto dto) {
         return kildaConfigurationService.updateKildaConfiguration(dto);
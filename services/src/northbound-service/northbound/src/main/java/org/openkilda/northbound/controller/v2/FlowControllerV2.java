@@ -15,22 +15,30 @@
 
 package org.openkilda.northbound.controller.v2;
 
+import org.openkilda.messaging.payload.flow.FlowResponsePayload;
 import org.openkilda.northbound.controller.BaseController;
+import org.openkilda.northbound.dto.v2.flows.FlowBulkRequestV2;
+import org.openkilda.northbound.dto.v2.flows.FlowBulkStatusV2;
 import org.openkilda.northbound.dto.v2.flows.FlowRequestV2;
 import org.openkilda.northbound.dto.v2.flows.FlowRerouteResponseV2;
 import org.openkilda.northbound.dto.v2.flows.FlowResponseV2;
 import org.openkilda.northbound.dto.v2.flows.SwapFlowEndpointPayload;
 import org.openkilda.northbound.service.FlowService;
+import org.openkilda.northbound.utils.NdjsonResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.annotations.ApiOperation;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.concurrent.CompletableFuture;
 
@@ -41,6 +49,9 @@ public class FlowControllerV2 extends BaseController {
     @Autowired
     private FlowService flowService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @ApiOperation(value = "Creates new flow", response = FlowResponseV2.class)
     @PostMapping
     @ResponseStatus(HttpStatus.OK)
@@ -48,6 +59,17 @@ public class FlowControllerV2 extends BaseController {
         return flowService.createFlow(flow);
     }
 
+    /**
+     * Dumps all flows as newline delimited JSON. Flows are written to the response as soon as they are received, so
+     * the whole dump is never kept in memory.
+     */
+    @ApiOperation(value = "Dumps all flows as a stream of JSON documents, one flow per line",
+            response = FlowResponsePayload.class, responseContainer = "List")
+    @GetMapping(produces = NdjsonResponseBody.MEDIA_TYPE_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamFlows() {
+        return NdjsonResponseBody.of(flowService.streamAllFlows(), objectMapper);
+    }
+
     /**
      * Initiates flow rerouting if any shorter path is available.
      *
@@ -62,6 +84,17 @@ public class FlowControllerV2 extends BaseController {
     }
 
 
+    /**
+     * Creates, updates and deletes a bulk of flows. The status of each flow is written to the response as newline
+     * delimited JSON as soon as the flow is processed.
+     */
+    @ApiOperation(value = "Creates, updates and deletes a bulk of flows, streams the status of each flow",
+            response = FlowBulkStatusV2.class, responseContainer = "List")
+    @PostMapping(path = "/bulk", produces = NdjsonResponseBody.MEDIA_TYPE_VALUE)
+    public ResponseEntity<StreamingResponseBody> processBulkRequest(@RequestBody FlowBulkRequestV2 request) {
+        return NdjsonResponseBody.of(flowService.processBulkRequest(request), objectMapper);
+    }
+
     /**
      * Bulk update for flow.
      */
@@ -0,0 +1,62 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.northbound.controller.v2;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.northbound.controller.BaseController;
+import org.openkilda.northbound.dto.v1.links.LinkDto;
+import org.openkilda.northbound.service.LinkService;
+import org.openkilda.northbound.utils.NdjsonResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.annotations.ApiOperation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * REST Controller for links.
+ */
+@RestController
+@RequestMapping("/v2/links")
+public class LinkControllerV2 extends BaseController {
+
+    @Autowired
+    private LinkService linkService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Get all available links as newline delimited JSON. Links are written to the response as soon as they are
+     * received.
+     */
+    @ApiOperation(value = "Get all links, based on arguments, as a stream of JSON documents, one link per line",
+            response = LinkDto.class, responseContainer = "List")
+    @GetMapping(produces = NdjsonResponseBody.MEDIA_TYPE_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamLinks(
+            @RequestParam(value = "src_switch", required = false) SwitchId srcSwitch,
+            @RequestParam(value = "src_port", required = false) Integer srcPort,
+            @RequestParam(value = "dst_switch", required = false) SwitchId dstSwitch,
+            @RequestParam(value = "dst_port", required = false) Integer dstPort) {
+        return NdjsonResponseBody.of(linkService.streamLinks(srcSwitch, srcPort, dstSwitch, dstPort), objectMapper);
+    }
+}
@@ -17,17 +17,22 @@ package org.openkilda.northbound.controller.v2;
 
 import org.openkilda.model.SwitchId;
 import org.openkilda.northbound.controller.BaseController;
+import org.openkilda.northbound.dto.v1.switches.SwitchDto;
 import org.openkilda.northbound.dto.v2.switches.PortHistoryResponse;
 import org.openkilda.northbound.dto.v2.switches.PortPropertiesDto;
 import org.openkilda.northbound.dto.v2.switches.PortPropertiesResponse;
+import org.openkilda.northbound.dto.v2.switches.SwitchValidationStatusV2;
 import org.openkilda.northbound.service.SwitchService;
+import org.openkilda.northbound.utils.NdjsonResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -36,6 +41,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -51,6 +57,31 @@ public class SwitchControllerV2 extends BaseController {
     @Autowired
     private SwitchService switchService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Get all available switches as newline delimited JSON. Switches are written to the response as soon as they are
+     * received.
+     */
+    @ApiOperation(value = "Get all available switches as a stream of JSON documents, one switch per line",
+            response = SwitchDto.class, responseContainer = "List")
+    @GetMapping(produces = NdjsonResponseBody.MEDIA_TYPE_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSwitches() {
+        return NdjsonResponseBody.of(switchService.streamSwitches(), objectMapper);
+    }
+
+    /**
+     * Validate all active switches. The result of each switch is written to the response as newline delimited JSON
+     * as soon as the switch is validated.
+     */
+    @ApiOperation(value = "Validate the rules and the meters of all active switches, streams the result of each "
+            + "switch", response = SwitchValidationStatusV2.class, responseContainer = "List")
+    @GetMapping(path = "/validate", produces = NdjsonResponseBody.MEDIA_TYPE_VALUE)
+    public ResponseEntity<StreamingResponseBody> validateAllSwitches() {
+        return NdjsonResponseBody.of(switchService.validateAllSwitches(), objectMapper);
+    }
+
     /**
      * Get a history of the specified switch's port.
      *
@@ -19,6 +19,7 @@ import org.openkilda.messaging.command.flow.FlowRequest;
 import org.openkilda.messaging.command.flow.FlowRequest.Type;
 import org.openkilda.messaging.info.event.PathInfoData;
 import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.info.flow.FlowBulkStatusResponse;
 import org.openkilda.messaging.info.flow.FlowPingResponse;
 import org.openkilda.messaging.info.flow.FlowReadResponse;
 import org.openkilda.messaging.info.flow.UniFlowPingResponse;
@@ -26,6 +27,7 @@ import org.openkilda.messaging.model.FlowDto;
 import org.openkilda.messaging.model.Ping;
 import org.openkilda.messaging.model.SwapFlowDto;
 import org.openkilda.messaging.payload.flow.DetectConnectedDevicesPayload;
+import org.openkilda.messaging.payload.flow.FlowBulkOperation;
 import org.openkilda.messaging.payload.flow.FlowEncapsulationType;
 import org.openkilda.messaging.payload.flow.FlowEndpointPayload;
 import org.openkilda.messaging.payload.flow.FlowIdStatusPayload;
@@ -37,6 +39,7 @@ import org.openkilda.model.FlowPathStatus;
 import org.openkilda.northbound.dto.v1.flows.FlowPatchDto;
 import org.openkilda.northbound.dto.v1.flows.PingOutput;
 import org.openkilda.northbound.dto.v1.flows.UniFlowPingOutput;
+import org.openkilda.northbound.dto.v2.flows.FlowBulkStatusV2;
 import org.openkilda.northbound.dto.v2.flows.FlowEndpointV2;
 import org.openkilda.northbound.dto.v2.flows.FlowPathV2;
 import org.openkilda.northbound.dto.v2.flows.FlowRequestV2;
@@ -48,7 +51,8 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring",
-        imports = {FlowEndpointPayload.class, FlowEndpointV2.class, DetectConnectedDevicesPayload.class})
+        imports = {FlowEndpointPayload.class, FlowEndpointV2.class, DetectConnectedDevicesPayload.class,
+                FlowEncapsulationType.class})
 public interface FlowMapper {
     @Mapping(target = "id", source = "flowId")
     @Mapping(target = "source",
@@ -119,6 +123,20 @@ public interface FlowMapper {
         return toFlowRequest(source).toBuilder().type(Type.CREATE).build();
     }
 
+    @Mapping(target = "sourceSwitch", expression = "java(request.getSource().getSwitchId())")
+    @Mapping(target = "destinationSwitch", expression = "java(request.getDestination().getSwitchId())")
+    @Mapping(target = "sourcePort", expression = "java(request.getSource().getPortNumber())")
+    @Mapping(target = "destinationPort", expression = "java(request.getDestination().getPortNumber())")
+    @Mapping(target = "sourceVlan", expression = "java(request.getSource().getVlanId())")
+    @Mapping(target = "destinationVlan", expression = "java(request.getDestination().getVlanId())")
+    @Mapping(target = "bandwidth", source = "maximumBandwidth")
+    @Mapping(target = "encapsulationType",
+            expression = "java(request.getEncapsulationType() == null ? null : "
+                    + "FlowEncapsulationType.valueOf(request.getEncapsulationType().toUpperCase()))")
+    FlowDto toFlowDto(FlowRequestV2 request);
+
+    FlowBulkStatusV2 toFlowBulkStatusV2(FlowBulkStatusResponse response);
+
     PingOutput toPingOutput(FlowPingResponse response);
 
     @Mapping(source = "flowId", target = "id")
@@ -200,6 +218,17 @@ public interface FlowMapper {
         return encapsulationType.toString().toLowerCase();
     }
 
+    /**
+     * Convert {@link FlowBulkOperation} to {@link String}.
+     */
+    default String map(FlowBulkOperation operation) {
+        if (operation == null) {
+            return null;
+        }
+
+        return operation.toString().toLowerCase();
+    }
+
     /**
      * Translate Java's error code(enum) into human readable string.
      */
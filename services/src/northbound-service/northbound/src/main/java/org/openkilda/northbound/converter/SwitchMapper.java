@@ -24,6 +24,7 @@ import org.openkilda.messaging.info.switches.RulesSyncEntry;
 import org.openkilda.messaging.info.switches.RulesValidationEntry;
 import org.openkilda.messaging.info.switches.SwitchSyncResponse;
 import org.openkilda.messaging.info.switches.SwitchValidationResponse;
+import org.openkilda.messaging.info.switches.SwitchValidationResultEntry;
 import org.openkilda.messaging.payload.history.PortHistoryPayload;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
@@ -41,6 +42,7 @@ import org.openkilda.northbound.dto.v1.switches.SwitchPropertiesDto;
 import org.openkilda.northbound.dto.v1.switches.SwitchSyncResult;
 import org.openkilda.northbound.dto.v1.switches.SwitchValidationResult;
 import org.openkilda.northbound.dto.v2.switches.PortHistoryResponse;
+import org.openkilda.northbound.dto.v2.switches.SwitchValidationStatusV2;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -93,6 +95,8 @@ public interface SwitchMapper {
 
     SwitchValidationResult toSwitchValidationResult(SwitchValidationResponse response);
 
+    SwitchValidationStatusV2 toSwitchValidationStatusV2(SwitchValidationResultEntry entry);
+
     @Mapping(source = "rules.excess", target = "excessRules")
     @Mapping(source = "rules.missing", target = "missingRules")
     @Mapping(source = "rules.proper", target = "properRules")
@@ -0,0 +1,121 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.northbound.messaging;
+
+import org.openkilda.messaging.info.InfoData;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Buffer between the receiver of chunked messages and the reader of the response. The receiver never waits for the
+ * reader. Instead, once {@code capacity} not consumed chunks are buffered, the buffer reports that it is full, so the
+ * receiver pauses the consumption of responses. Chunks received meanwhile are still buffered. The drain listener is
+ * called once the reader has consumed half of the chunks, so the consumption can be resumed.
+ */
+public class ChunkedResponseStream implements ResponseStream<InfoData> {
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private final BlockingQueue<InfoData> buffer = new LinkedBlockingQueue<>();
+    private final int capacity;
+    private final long timeoutMs;
+    private final AtomicBoolean full = new AtomicBoolean(false);
+
+    private volatile Runnable drainListener = () -> { };
+    private volatile boolean completed = false;
+    private volatile boolean cancelled = false;
+    private volatile Throwable error;
+
+    public ChunkedResponseStream(int capacity, long timeoutMs) {
+        this.capacity = capacity;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Sets the listener to be called when the full buffer is drained.
+     */
+    public void setDrainListener(Runnable drainListener) {
+        this.drainListener = drainListener;
+    }
+
+    /**
+     * Adds the chunk to the buffer without waiting for the reader.
+     *
+     * @return true if the buffer has become full, the consumption of responses should be paused until the drain
+     *         listener is called.
+     */
+    public boolean push(InfoData chunk) {
+        buffer.add(chunk);
+        return buffer.size() >= capacity && full.compareAndSet(false, true);
+    }
+
+    /**
+     * Marks the response as received completely.
+     */
+    public void complete() {
+        completed = true;
+    }
+
+    /**
+     * Marks the response as failed, the reader gets the error after all already received chunks.
+     */
+    public void fail(Throwable error) {
+        this.error = error;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public InfoData next() throws InterruptedException, TimeoutException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (true) {
+            InfoData chunk = buffer.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            checkDrained();
+            if (chunk != null) {
+                return chunk;
+            }
+            if (error != null) {
+                throw new CompletionException(error);
+            }
+            if (completed && buffer.isEmpty()) {
+                return null;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                throw new TimeoutException(String.format("No response chunk received in %d ms", timeoutMs));
+            }
+        }
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        buffer.clear();
+        checkDrained();
+    }
+
+    private void checkDrained() {
+        if (buffer.size() <= capacity / 2 && full.compareAndSet(true, false)) {
+            drainListener.run();
+        }
+    }
+}
@@ -49,6 +49,16 @@ public interface MessagingChannel {
      */
     CompletableFuture<List<InfoData>> sendAndGetChunked(String topic, Message message);
 
+    /**
+     * Sends the message to the specified topic and passes chunked responses to the reader as soon as they are
+     * received, without collecting the whole response in memory.
+     *
+     * @param topic topic where the message should be sent.
+     * @param message data to be sent.
+     * @return stream of response chunks.
+     */
+    ResponseStream<InfoData> sendAndStreamChunked(String topic, Message message);
+
     /**
      * Sends the message to the specified topic without waiting for a response.
      *
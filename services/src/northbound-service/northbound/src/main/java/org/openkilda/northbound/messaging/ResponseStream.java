@@ -0,0 +1,60 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.northbound.messaging;
+
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Response items that are passed to the reader one by one as soon as they are received.
+ *
+ * @param <T> type of response items.
+ */
+public interface ResponseStream<T> {
+
+    /**
+     * Waits for the next item of the response.
+     *
+     * @return the next item or null if the response is over.
+     * @throws TimeoutException if no item was received in time.
+     */
+    T next() throws InterruptedException, TimeoutException;
+
+    /**
+     * Stops receiving of the response, all not consumed items are dropped.
+     */
+    void cancel();
+
+    /**
+     * Returns a stream that converts each item of this stream with the given function.
+     */
+    default <R> ResponseStream<R> map(Function<? super T, ? extends R> mapper) {
+        ResponseStream<T> origin = this;
+        return new ResponseStream<R>() {
+            @Override
+            public R next() throws InterruptedException, TimeoutException {
+                T item = origin.next();
+                return item != null ? mapper.apply(item) : null;
+            }
+
+            @Override
+            public void cancel() {
+                origin.cancel();
+            }
+        };
+    }
+}
@@ -0,0 +1,65 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.northbound.messaging.kafka;
+
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Partitions whose consumption is paused. A partition stays paused while at least one holder, i.e. a request whose
+ * reader doesn't keep up with the responses, holds it. Consumers apply the pauses on their own thread before each poll,
+ * see {@link FlowControlledConsumerFactory}.
+ */
+public class ConsumptionFlowControl {
+    private final Map<TopicPartition, Set<String>> holders = new HashMap<>();
+
+    private volatile Set<TopicPartition> pausedPartitions = Collections.emptySet();
+
+    /**
+     * Pauses consumption of the partition on behalf of the holder.
+     */
+    public synchronized void pause(TopicPartition partition, String holder) {
+        if (holders.computeIfAbsent(partition, ignore -> new HashSet<>()).add(holder)) {
+            updatePausedPartitions();
+        }
+    }
+
+    /**
+     * Releases the pause of the partition held by the holder. The partition is resumed once no pauses are held.
+     */
+    public synchronized void resume(TopicPartition partition, String holder) {
+        Set<String> partitionHolders = holders.get(partition);
+        if (partitionHolders != null && partitionHolders.remove(holder)) {
+            if (partitionHolders.isEmpty()) {
+                holders.remove(partition);
+            }
+            updatePausedPartitions();
+        }
+    }
+
+    public Set<TopicPartition> getPausedPartitions() {
+        return pausedPartitions;
+    }
+
+    private void updatePausedPartitions() {
+        pausedPartitions = Collections.unmodifiableSet(new HashSet<>(holders.keySet()));
+    }
+}
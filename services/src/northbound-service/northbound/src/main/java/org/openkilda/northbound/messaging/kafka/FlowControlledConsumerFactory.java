@@ -0,0 +1,102 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.northbound.messaging.kafka;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Creates consumers which pause and resume their partitions as the {@link ConsumptionFlowControl} requests. A paused
+ * partition isn't fetched, but the consumer keeps polling, so it stays in the group. Pauses are applied by the
+ * consumer thread before each poll, as the consumer isn't thread safe.
+ */
+public class FlowControlledConsumerFactory<K, V> extends DefaultKafkaConsumerFactory<K, V> {
+    private final Map<String, Object> configs;
+    private final Deserializer<K> keyDeserializer;
+    private final Deserializer<V> valueDeserializer;
+    private final ConsumptionFlowControl flowControl;
+
+    public FlowControlledConsumerFactory(Map<String, Object> configs, Deserializer<K> keyDeserializer,
+                                         Deserializer<V> valueDeserializer, ConsumptionFlowControl flowControl) {
+        super(configs, keyDeserializer, valueDeserializer);
+        this.configs = configs;
+        this.keyDeserializer = keyDeserializer;
+        this.valueDeserializer = valueDeserializer;
+        this.flowControl = flowControl;
+    }
+
+    @Override
+    public Consumer<K, V> createConsumer() {
+        return new FlowControlledConsumer<>(configs, keyDeserializer, valueDeserializer, flowControl);
+    }
+
+    private static class FlowControlledConsumer<K, V> extends KafkaConsumer<K, V> {
+        private static final Logger logger = LoggerFactory.getLogger(FlowControlledConsumer.class);
+
+        private final ConsumptionFlowControl flowControl;
+
+        /**
+         * Partitions paused by the flow control, the container may pause and resume partitions on its own.
+         */
+        private final Set<TopicPartition> pausedByFlowControl = new HashSet<>();
+
+        FlowControlledConsumer(Map<String, Object> configs, Deserializer<K> keyDeserializer,
+                               Deserializer<V> valueDeserializer, ConsumptionFlowControl flowControl) {
+            super(configs, keyDeserializer, valueDeserializer);
+            this.flowControl = flowControl;
+        }
+
+        @Override
+        public ConsumerRecords<K, V> poll(long timeout) {
+            applyFlowControl();
+            return super.poll(timeout);
+        }
+
+        private void applyFlowControl() {
+            Set<TopicPartition> paused = paused();
+            // partitions reassigned by a rebalance are not paused anymore
+            pausedByFlowControl.retainAll(paused);
+
+            Set<TopicPartition> toPause = new HashSet<>(flowControl.getPausedPartitions());
+            toPause.retainAll(assignment());
+
+            Set<TopicPartition> toResume = new HashSet<>(pausedByFlowControl);
+            toResume.removeAll(toPause);
+            toPause.removeAll(paused);
+
+            if (!toPause.isEmpty()) {
+                logger.info("Pause consumption of {}, readers of streamed responses are too slow", toPause);
+                pause(toPause);
+                pausedByFlowControl.addAll(toPause);
+            }
+            if (!toResume.isEmpty()) {
+                logger.info("Resume consumption of {}", toResume);
+                resume(toResume);
+                pausedByFlowControl.removeAll(toResume);
+            }
+        }
+    }
+}
@@ -19,6 +19,7 @@ import static org.openkilda.messaging.Utils.CORRELATION_ID;
 
 import org.openkilda.messaging.Message;
 
+import org.apache.kafka.common.TopicPartition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -26,6 +27,8 @@ import org.slf4j.MDC.MDCCloseable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 
 /**
  * Kafka message receiver.
@@ -42,12 +45,15 @@ public class KafkaMessageListener {
      * Handles all messages from kafka and sends to corresponding component for further processing.
      * <p/>
      * @param message received message.
+     * @param topic the topic the message is received from.
+     * @param partition the partition the message is received from.
      */
     @KafkaHandler
-    public void onMessage(Message message) {
+    public void onMessage(Message message, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+                          @Header(KafkaHeaders.RECEIVED_PARTITION_ID) int partition) {
         try (MDCCloseable closable = MDC.putCloseable(CORRELATION_ID, message.getCorrelationId())) {
             logger.debug("Message received: {} - {}", Thread.currentThread().getId(), message);
-            messagingChannel.onResponse(message);
+            messagingChannel.onResponse(message, new TopicPartition(topic, partition));
         }
     }
 
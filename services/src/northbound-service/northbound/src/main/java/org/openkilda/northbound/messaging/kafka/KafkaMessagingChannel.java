@@ -18,21 +18,27 @@ package org.openkilda.northbound.messaging.kafka;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.error.ClientErrorMessage;
 import org.openkilda.messaging.error.ErrorMessage;
+import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.messaging.error.MessageException;
 import org.openkilda.messaging.info.ChunkedInfoMessage;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.northbound.messaging.ChunkedResponseStream;
 import org.openkilda.northbound.messaging.MessageProducer;
 import org.openkilda.northbound.messaging.MessagingChannel;
+import org.openkilda.northbound.messaging.ResponseStream;
 import org.openkilda.northbound.messaging.exception.MessageNotSentException;
 
 import com.google.common.annotations.VisibleForTesting;
-import org.apache.commons.collections4.map.PassiveExpiringMap;
+import com.google.common.util.concurrent.Striped;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.kafka.common.TopicPartition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 import org.springframework.util.concurrent.ListenableFuture;
@@ -40,23 +46,37 @@ import org.springframework.util.concurrent.ListenableFuture;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 /**
  * Implementation of {@link MessagingChannel} for kafka.
  */
 @Component
+@ManagedResource(objectName = "org.openkilda.northbound:name=PendingRequests",
+        description = "Requests waiting for a response from kafka")
 public class KafkaMessagingChannel implements MessagingChannel {
 
     private static final Logger logger = LoggerFactory.getLogger(KafkaMessagingChannel.class);
 
+    private static final long TIMEOUT_TICK_MILLIS = 1000;
+    private static final int TIMEOUT_WHEEL_SIZE = 512;
+    private static final int LOCK_STRIPES = 256;
+
+    /**
+     * The amount of ids of recently received chunks kept per streamed request to skip duplicates.
+     */
+    private static final int RECEIVED_IDS_WINDOW = 4096;
+
     /**
      * Requests that are in progress of processing.
      */
@@ -66,27 +86,59 @@ public class KafkaMessagingChannel implements MessagingChannel {
     /**
      * Chains of chunked messages, it is filling by messages one by one as soon as the next linked message is received.
      */
-    private Map<String, List<ChunkedInfoMessage>> messagesChains;
+    private final Map<String, List<ChunkedInfoMessage>> messagesChains = new ConcurrentHashMap<>();
 
     /**
      * The storage for received chunked message ids. It is needed to identify whether we have already received specific
      * chunked message or not in order to do not have duplicates, because current version of kafka do not guarantee
      * exactly once delivery.
      */
-    private Map<String, Set<String>> chunkedMessageIdsPerRequest = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> chunkedMessageIdsPerRequest = new ConcurrentHashMap<>();
+
+    /**
+     * Requests which chunked responses are passed to the reader as soon as they are received.
+     */
+    private final Map<String, StreamedRequest> pendingStreamedRequests = new ConcurrentHashMap<>();
+
+    /**
+     * Guards chains of chunked messages, responses of different requests are collected in parallel.
+     */
+    private final Striped<Lock> chainLocks = Striped.lock(LOCK_STRIPES);
+
+    private final PendingRequestsStats stats = new PendingRequestsStats();
+
+    /**
+     * Deadlines of all pending requests, a request without a response is completed with a timeout error.
+     */
+    private RequestTimeoutWheel timeoutWheel;
 
     @Value("${northbound.messages.expiration.minutes}")
     private int expiredTime;
 
+    @Value("${northbound.streaming.buffer.size}")
+    private int streamingBufferSize;
+
+    @Value("${northbound.streaming.timeout.seconds}")
+    private int streamingTimeout;
+
     @Autowired
     private MessageProducer messageProducer;
 
+    @Autowired
+    private ConsumptionFlowControl flowControl;
+
     /**
-     * Creates storage for chains of messages.
+     * Starts tracking of pending requests deadlines.
      */
     @PostConstruct
     public void setUp() {
-        messagesChains = new PassiveExpiringMap<>(expiredTime, TimeUnit.MINUTES, new ConcurrentHashMap<>());
+        timeoutWheel = new RequestTimeoutWheel(TIMEOUT_TICK_MILLIS, TIMEOUT_WHEEL_SIZE,
+                TimeUnit.MINUTES.toMillis(expiredTime), this::expire);
+    }
+
+    @PreDestroy
+    public void tearDown() {
+        timeoutWheel.stop();
     }
 
     /**
@@ -96,6 +148,7 @@ public class KafkaMessagingChannel implements MessagingChannel {
     public CompletableFuture<InfoData> sendAndGet(String topic, Message message) {
         CompletableFuture<InfoData> future = new CompletableFuture<>();
         pendingRequests.put(message.getCorrelationId(), future);
+        track(message.getCorrelationId(), future);
 
         ListenableFuture<SendResult<String, Message>> futureResult = messageProducer.send(topic, message);
         futureResult.addCallback(
@@ -116,6 +169,7 @@ public class KafkaMessagingChannel implements MessagingChannel {
 
         messagesChains.put(message.getCorrelationId(), new ArrayList<>());
         chunkedMessageIdsPerRequest.put(message.getCorrelationId(), new HashSet<>());
+        track(message.getCorrelationId(), future);
 
         ListenableFuture<SendResult<String, Message>> futureResult = messageProducer.send(topic, message);
         futureResult.addCallback(
@@ -131,6 +185,32 @@ public class KafkaMessagingChannel implements MessagingChannel {
         });
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResponseStream<InfoData> sendAndStreamChunked(String topic, Message message) {
+        String requestId = message.getCorrelationId();
+        ChunkedResponseStream stream = new ChunkedResponseStream(streamingBufferSize,
+                TimeUnit.SECONDS.toMillis(streamingTimeout));
+        StreamedRequest request = new StreamedRequest(stream);
+        stream.setDrainListener(() -> resumeConsumption(requestId, request));
+        pendingStreamedRequests.put(requestId, request);
+        track(requestId, request.completion);
+        request.completion.whenComplete((response, error) -> {
+            pendingStreamedRequests.remove(requestId);
+            resumeConsumption(requestId, request);
+        });
+
+        ListenableFuture<SendResult<String, Message>> futureResult = messageProducer.send(topic, message);
+        futureResult.addCallback(
+                sentResult -> { },
+                error -> request.fail(new MessageNotSentException(error.getMessage()))
+        );
+
+        return stream;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -148,6 +228,17 @@ public class KafkaMessagingChannel implements MessagingChannel {
      * @param message received message.
      */
     void onResponse(Message message) {
+        onResponse(message, null);
+    }
+
+    /**
+     * Processes the message received from the partition. Consumption of the partition is paused while the reader of
+     * a streamed response doesn't keep up with the chunks received from it.
+     *
+     * @param message received message.
+     * @param source the partition the message is received from.
+     */
+    void onResponse(Message message, TopicPartition source) {
         if (!isValid(message)) {
             logger.warn("Skipping invalid message: {}", message);
             return;
@@ -167,6 +258,8 @@ public class KafkaMessagingChannel implements MessagingChannel {
         } else if (message instanceof InfoMessage) {
             if (isChunkedPendingResponse(message)) {
                 processChunkedMessage((ChunkedInfoMessage) message);
+            } else if (isStreamedPendingResponse(message)) {
+                processStreamedMessage((ChunkedInfoMessage) message, source);
             } else if (pendingRequests.containsKey(message.getCorrelationId())) {
                 InfoMessage infoMessage = (InfoMessage) message;
                 CompletableFuture<InfoData> request = pendingRequests.remove(message.getCorrelationId());
@@ -182,53 +275,147 @@ public class KafkaMessagingChannel implements MessagingChannel {
     /**
      * Performs searching and collecting all chunked messages into one chain if possible.
      */
-    private synchronized void processChunkedMessage(ChunkedInfoMessage received) {
+    private void processChunkedMessage(ChunkedInfoMessage received) {
         String requestId = received.getCorrelationId();
-        Set<String> associatedMessages = chunkedMessageIdsPerRequest.get(requestId);
-        if (!associatedMessages.add(received.getMessageId())) {
-            logger.debug("Skipping chunked message, it is already received: {}", received);
-            return;
+        List<InfoData> response;
+
+        Lock lock = chainLocks.get(requestId);
+        lock.lock();
+        try {
+            Set<String> associatedMessages = chunkedMessageIdsPerRequest.get(requestId);
+            List<ChunkedInfoMessage> chain = messagesChains.get(requestId);
+            if (associatedMessages == null || chain == null) {
+                logger.debug("Skipping chunked message, the request is already completed: {}", received);
+                return;
+            }
+            if (!associatedMessages.add(received.getMessageId())) {
+                logger.debug("Skipping chunked message, it is already received: {}", received);
+                return;
+            }
+
+            if (received.getTotalMessages() != 0) {
+                chain.add(received);
+            }
+            if (chain.size() != received.getTotalMessages()) {
+                return;
+            }
+            response = chain.stream()
+                    .map(ChunkedInfoMessage::getData)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.unlock();
         }
 
-        List<ChunkedInfoMessage> chain = messagesChains.get(requestId);
-        if (received.getTotalMessages() != 0) {
-            chain.add(received);
+        // dependent stages of the request are executed outside of the lock
+        CompletableFuture<List<InfoData>> request = pendingChunkedRequests.get(requestId);
+        if (request != null) {
+            request.complete(response);
         }
+    }
 
-        if (chain.size() == received.getTotalMessages()) {
-            completeRequest(requestId, chain);
+    /**
+     * Passes received chunk to the reader of the response. Only ids of recently received messages are kept to skip
+     * duplicates, a request may have more chunks than the streaming buffer holds.
+     */
+    private void processStreamedMessage(ChunkedInfoMessage received, TopicPartition source) {
+        String requestId = received.getCorrelationId();
+        StreamedRequest request = pendingStreamedRequests.get(requestId);
+        if (request == null) {
+            return;
+        }
+
+        synchronized (request) {
+            if (request.recentMessageIds.put(received.getMessageId(), Boolean.TRUE) != null) {
+                logger.debug("Skipping chunked message, it is already received: {}", received);
+                return;
+            }
+            request.receivedMessages++;
+
+            // the listener thread is shared by all requests, so a slow reader must not hold it
+            ChunkedResponseStream stream = request.stream;
+            if (received.getTotalMessages() != 0 && stream.push(received.getData()) && source != null) {
+                logger.debug("Reader of streamed response {} is too slow, pausing consumption of {}",
+                        requestId, source);
+                flowControl.pause(source, requestId);
+                request.pausedPartitions.add(source);
+            }
+
+            if (stream.isCancelled()) {
+                logger.debug("Streamed response {} is cancelled by the reader", requestId);
+                request.completion.complete(null);
+            } else if (request.receivedMessages >= received.getTotalMessages()) {
+                stream.complete();
+                request.completion.complete(null);
+            }
         }
     }
 
     /**
-     * Completes pending request with received responses.
+     * Releases all pauses of consumption held by the streamed request.
      */
-    private void completeRequest(String requestId, List<ChunkedInfoMessage> chain) {
-        List<InfoData> response = chain.stream()
-                .map(ChunkedInfoMessage::getData)
-                .collect(Collectors.toList());
-
-        pendingChunkedRequests
-                .get(requestId)
-                .complete(response);
+    private void resumeConsumption(String requestId, StreamedRequest request) {
+        synchronized (request) {
+            for (TopicPartition partition : request.pausedPartitions) {
+                flowControl.resume(partition, requestId);
+            }
+            request.pausedPartitions.clear();
+        }
     }
 
     /**
      * Completes a request with an error response.
      */
-    private synchronized void completeWithError(ErrorMessage error) {
-        String correlationId = error.getCorrelationId();
+    private void completeWithError(ErrorMessage error) {
+        failRequest(error.getCorrelationId(), new MessageException(error));
+    }
 
-        CompletableFuture request = null;
-        if (pendingRequests.containsKey(correlationId)) {
-            request = pendingRequests.remove(correlationId);
-        } else if (pendingChunkedRequests.containsKey(correlationId)) {
-            request = pendingChunkedRequests.remove(correlationId);
+    /**
+     * Completes a request that has not received a response before the deadline.
+     */
+    @VisibleForTesting
+    void expire(String correlationId) {
+        MessageException error = new MessageException(correlationId, System.currentTimeMillis(),
+                ErrorType.OPERATION_TIMED_OUT, "No response received", "Timeout exceeded");
+        if (failRequest(correlationId, error)) {
+            logger.warn("Pending request {} has expired", correlationId);
+            stats.requestTimedOut();
         }
+    }
 
+    /**
+     * Removes the request from pending ones and completes it exceptionally. Only one caller gets the request, so no
+     * lock is needed here.
+     *
+     * @return false if there is no such pending request.
+     */
+    private boolean failRequest(String correlationId, Throwable error) {
+        CompletableFuture<?> request = pendingRequests.remove(correlationId);
+        if (request == null) {
+            request = pendingChunkedRequests.remove(correlationId);
+        }
         if (request != null) {
-            request.completeExceptionally(new MessageException(error));
+            request.completeExceptionally(error);
+            return true;
         }
+
+        StreamedRequest streamedRequest = pendingStreamedRequests.remove(correlationId);
+        if (streamedRequest != null) {
+            streamedRequest.fail(error);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Schedules the deadline of the request and collects its statistics.
+     */
+    private void track(String correlationId, CompletableFuture<?> request) {
+        long startTime = stats.requestStarted();
+        RequestTimeoutWheel.Timeout timeout = timeoutWheel.schedule(correlationId);
+        request.whenComplete((response, error) -> {
+            timeout.cancel();
+            stats.requestFinished(startTime, error == null);
+        });
     }
 
     /**
@@ -252,6 +439,41 @@ public class KafkaMessagingChannel implements MessagingChannel {
         return message instanceof ChunkedInfoMessage && pendingChunkedRequests.containsKey(message.getCorrelationId());
     }
 
+    private boolean isStreamedPendingResponse(Message message) {
+        return message instanceof ChunkedInfoMessage
+                && pendingStreamedRequests.containsKey(message.getCorrelationId());
+    }
+
+    @ManagedAttribute(description = "Amount of requests waiting for a response")
+    public int getInFlightRequests() {
+        return stats.getInFlight();
+    }
+
+    @ManagedAttribute(description = "Amount of requests completed successfully")
+    public long getCompletedRequests() {
+        return stats.getCompleted();
+    }
+
+    @ManagedAttribute(description = "Amount of requests completed with an error, including timed out ones")
+    public long getFailedRequests() {
+        return stats.getFailed();
+    }
+
+    @ManagedAttribute(description = "Amount of requests that have not received a response before the deadline")
+    public long getTimedOutRequests() {
+        return stats.getTimedOut();
+    }
+
+    @ManagedAttribute(description = "Upper bounds of the latency histogram buckets in milliseconds")
+    public long[] getLatencyHistogramBounds() {
+        return PendingRequestsStats.LATENCY_BOUNDS_MILLIS.clone();
+    }
+
+    @ManagedAttribute(description = "Latency histogram of finished requests, the last bucket is unbounded")
+    public long[] getLatencyHistogram() {
+        return stats.getLatencyHistogram();
+    }
+
     @VisibleForTesting
     Map<String, CompletableFuture<InfoData>> getPendingRequests() {
         return new HashMap<>(pendingRequests);
@@ -261,4 +483,31 @@ public class KafkaMessagingChannel implements MessagingChannel {
     Map<String, CompletableFuture<List<InfoData>>> getPendingChunkedRequests() {
         return new HashMap<>(pendingChunkedRequests);
     }
+
+    @VisibleForTesting
+    Map<String, StreamedRequest> getPendingStreamedRequests() {
+        return new HashMap<>(pendingStreamedRequests);
+    }
+
+    private static final class StreamedRequest {
+        private final ChunkedResponseStream stream;
+        private final Map<String, Boolean> recentMessageIds = new LinkedHashMap<String, Boolean>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > RECEIVED_IDS_WINDOW;
+            }
+        };
+        private final Set<TopicPartition> pausedPartitions = new HashSet<>();
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+        private int receivedMessages;
+
+        private StreamedRequest(ChunkedResponseStream stream) {
+            this.stream = stream;
+        }
+
+        private void fail(Throwable error) {
+            stream.fail(error);
+            completion.completeExceptionally(error);
+        }
+    }
 }
@@ -0,0 +1,99 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.northbound.messaging.kafka;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of requests waiting for a response: amount of requests in flight, outcome of finished requests and
+ * the histogram of their latencies.
+ */
+class PendingRequestsStats {
+    /**
+     * Upper bounds of latency histogram buckets, the last bucket collects everything above the last bound.
+     */
+    static final long[] LATENCY_BOUNDS_MILLIS = {
+            5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000
+    };
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final AtomicLongArray latencies = new AtomicLongArray(LATENCY_BOUNDS_MILLIS.length + 1);
+
+    /**
+     * Registers a new request and returns its start time.
+     */
+    long requestStarted() {
+        inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Registers the outcome of the request started at the given time.
+     */
+    void requestFinished(long startTime, boolean success) {
+        inFlight.decrementAndGet();
+        if (success) {
+            completed.increment();
+        } else {
+            failed.increment();
+        }
+        latencies.incrementAndGet(bucketOf(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)));
+    }
+
+    void requestTimedOut() {
+        timedOut.increment();
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    long getCompleted() {
+        return completed.sum();
+    }
+
+    long getFailed() {
+        return failed.sum();
+    }
+
+    long getTimedOut() {
+        return timedOut.sum();
+    }
+
+    long[] getLatencyHistogram() {
+        long[] histogram = new long[latencies.length()];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = latencies.get(i);
+        }
+        return histogram;
+    }
+
+    private static int bucketOf(long latency) {
+        for (int i = 0; i < LATENCY_BOUNDS_MILLIS.length; i++) {
+            if (latency <= LATENCY_BOUNDS_MILLIS[i]) {
+                return i;
+            }
+        }
+        return LATENCY_BOUNDS_MILLIS.length;
+    }
+}
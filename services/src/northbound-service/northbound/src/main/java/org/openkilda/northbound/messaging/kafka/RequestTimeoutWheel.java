@@ -0,0 +1,143 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.northbound.messaging.kafka;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel that tracks deadlines of pending requests. Scheduling and cancelling a timeout take constant
+ * time and do not lock the whole wheel, expired timeouts are reported by a single ticker thread.
+ */
+class RequestTimeoutWheel {
+    private static final Logger logger = LoggerFactory.getLogger(RequestTimeoutWheel.class);
+
+    private final long tickMillis;
+    private final long timeoutMillis;
+    private final Set<Timeout>[] buckets;
+    private final int mask;
+    private final Consumer<String> expireHandler;
+    private final ScheduledExecutorService ticker;
+
+    private volatile long currentTick;
+
+    /**
+     * Creates the wheel and starts its ticker.
+     *
+     * @param tickMillis the precision of the wheel.
+     * @param wheelSize the amount of buckets, rounded up to a power of two.
+     * @param timeoutMillis the deadline of each scheduled key.
+     * @param expireHandler receives keys that have not been cancelled before the deadline.
+     */
+    @SuppressWarnings("unchecked")
+    RequestTimeoutWheel(long tickMillis, int wheelSize, long timeoutMillis, Consumer<String> expireHandler) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick duration and wheel size must be positive");
+        }
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize) {
+            size <<= 1;
+        }
+
+        this.tickMillis = tickMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.buckets = new Set[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.mask = size - 1;
+        this.expireHandler = expireHandler;
+
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pending-requests-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts tracking the deadline of the key.
+     */
+    Timeout schedule(String key) {
+        long ticks = Math.max(1, (timeoutMillis + tickMillis - 1) / tickMillis);
+        Timeout timeout = new Timeout(key, currentTick + ticks);
+        timeout.bucket.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Stops the ticker, not yet expired keys are not reported anymore.
+     */
+    void stop() {
+        ticker.shutdownNow();
+    }
+
+    int size() {
+        int size = 0;
+        for (Set<Timeout> bucket : buckets) {
+            size += bucket.size();
+        }
+        return size;
+    }
+
+    private void tick() {
+        long tick = currentTick + 1;
+        currentTick = tick;
+
+        // the bucket also holds timeouts of the next rounds, they stay until their deadline tick
+        Set<Timeout> bucket = buckets[(int) (tick & mask)];
+        for (Timeout timeout : bucket) {
+            if (timeout.deadlineTick <= tick && bucket.remove(timeout)) {
+                try {
+                    expireHandler.accept(timeout.key);
+                } catch (Exception e) {
+                    logger.error("Failed to expire pending request {}", timeout.key, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Handle of the scheduled key.
+     */
+    final class Timeout {
+        private final String key;
+        private final long deadlineTick;
+        private final Set<Timeout> bucket;
+
+        private Timeout(String key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+            this.bucket = buckets[(int) (deadlineTick & mask)];
+        }
+
+        /**
+         * Stops tracking the deadline, does nothing if the key has already expired.
+         */
+        void cancel() {
+            bucket.remove(this);
+        }
+    }
+}
@@ -30,10 +30,13 @@ import org.openkilda.northbound.dto.v1.flows.FlowPatchDto;
 import org.openkilda.northbound.dto.v1.flows.FlowValidationDto;
 import org.openkilda.northbound.dto.v1.flows.PingInput;
 import org.openkilda.northbound.dto.v1.flows.PingOutput;
+import org.openkilda.northbound.dto.v2.flows.FlowBulkRequestV2;
+import org.openkilda.northbound.dto.v2.flows.FlowBulkStatusV2;
 import org.openkilda.northbound.dto.v2.flows.FlowRequestV2;
 import org.openkilda.northbound.dto.v2.flows.FlowRerouteResponseV2;
 import org.openkilda.northbound.dto.v2.flows.FlowResponseV2;
 import org.openkilda.northbound.dto.v2.flows.SwapFlowEndpointPayload;
+import org.openkilda.northbound.messaging.ResponseStream;
 
 import java.time.Instant;
 import java.util.List;
@@ -99,6 +102,13 @@ public interface FlowService {
      */
     CompletableFuture<List<FlowResponsePayload>> getAllFlows();
 
+    /**
+     * Gets all the flows, each flow is passed to the reader as soon as it is received.
+     *
+     * @return the stream of all flows
+     */
+    ResponseStream<FlowResponsePayload> streamAllFlows();
+
     /**
      * Deletes all flows. Primarily this is a combination of getAllFlows and deleteFlow.
      * This should be called with care ..
@@ -208,6 +218,15 @@ public interface FlowService {
      */
     CompletableFuture<SwapFlowEndpointPayload> swapFlowEndpoint(SwapFlowEndpointPayload input);
 
+    /**
+     * Creates, updates and deletes a bulk of flows. The status of each flow is passed to the reader as soon as it is
+     * received.
+     *
+     * @param input the flows to be created, updated and deleted.
+     * @return the stream of flow statuses.
+     */
+    ResponseStream<FlowBulkStatusV2> processBulkRequest(FlowBulkRequestV2 input);
+
     /**
      * Get Flow connected devices.
      *
@@ -25,6 +25,7 @@ import org.openkilda.northbound.dto.v1.links.LinkMaxBandwidthRequest;
 import org.openkilda.northbound.dto.v1.links.LinkParametersDto;
 import org.openkilda.northbound.dto.v1.links.LinkPropsDto;
 import org.openkilda.northbound.dto.v1.links.LinkUnderMaintenanceDto;
+import org.openkilda.northbound.messaging.ResponseStream;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -37,6 +38,11 @@ public interface LinkService {
     CompletableFuture<List<LinkDto>> getLinks(SwitchId srcSwitch, Integer srcPort,
                                               SwitchId dstSwitch, Integer dstPort);
 
+    /**
+     * Returns all links at the controller, each link is passed to the reader as soon as it is received.
+     */
+    ResponseStream<LinkDto> streamLinks(SwitchId srcSwitch, Integer srcPort, SwitchId dstSwitch, Integer dstPort);
+
     /**
      * These results are not related to the ISL links per se .. they are based on any link
      * properties that have been uploaded through setLinkProps.
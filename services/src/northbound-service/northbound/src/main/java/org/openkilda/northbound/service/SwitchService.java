@@ -39,6 +39,8 @@ import org.openkilda.northbound.dto.v1.switches.UnderMaintenanceDto;
 import org.openkilda.northbound.dto.v2.switches.PortHistoryResponse;
 import org.openkilda.northbound.dto.v2.switches.PortPropertiesDto;
 import org.openkilda.northbound.dto.v2.switches.PortPropertiesResponse;
+import org.openkilda.northbound.dto.v2.switches.SwitchValidationStatusV2;
+import org.openkilda.northbound.messaging.ResponseStream;
 
 import java.time.Instant;
 import java.util.List;
@@ -52,6 +54,12 @@ public interface SwitchService {
      */
     CompletableFuture<List<SwitchDto>> getSwitches();
 
+    /**
+     * Get all available switches, each switch is passed to the reader as soon as it is received.
+     * @return stream of switches.
+     */
+    ResponseStream<SwitchDto> streamSwitches();
+
     /**
      * Get available switch.
      * @return switch.
@@ -130,6 +138,14 @@ public interface SwitchService {
      */
     CompletableFuture<SwitchValidationResult> validateSwitch(SwitchId switchId);
 
+    /**
+     * Validate the rules and the meters of all active switches. The result of each switch is streamed as soon as
+     * the switch is validated.
+     *
+     * @return the stream of validation results.
+     */
+    ResponseStream<SwitchValidationStatusV2> validateAllSwitches();
+
     /**
      * Synchronize (install) missing rules that should be on the switch but exist only in Neo4J.
      *
@@ -22,6 +22,7 @@ import static org.openkilda.northbound.utils.async.AsyncUtils.collectResponses;
 import org.openkilda.config.provider.ConfigurationProvider;
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.flow.FlowBulkRequest;
 import org.openkilda.messaging.command.flow.FlowCreateRequest;
 import org.openkilda.messaging.command.flow.FlowDeleteRequest;
 import org.openkilda.messaging.command.flow.FlowPathSwapRequest;
@@ -35,6 +36,7 @@ import org.openkilda.messaging.command.flow.SwapFlowEndpointRequest;
 import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.messaging.error.MessageException;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.flow.FlowBulkStatusResponse;
 import org.openkilda.messaging.info.flow.FlowHistoryData;
 import org.openkilda.messaging.info.flow.FlowInfoData;
 import org.openkilda.messaging.info.flow.FlowOperation;
@@ -89,11 +91,14 @@ import org.openkilda.northbound.dto.v1.flows.FlowValidationDto;
 import org.openkilda.northbound.dto.v1.flows.PathDiscrepancyDto;
 import org.openkilda.northbound.dto.v1.flows.PingInput;
 import org.openkilda.northbound.dto.v1.flows.PingOutput;
+import org.openkilda.northbound.dto.v2.flows.FlowBulkRequestV2;
+import org.openkilda.northbound.dto.v2.flows.FlowBulkStatusV2;
 import org.openkilda.northbound.dto.v2.flows.FlowRequestV2;
 import org.openkilda.northbound.dto.v2.flows.FlowRerouteResponseV2;
 import org.openkilda.northbound.dto.v2.flows.FlowResponseV2;
 import org.openkilda.northbound.dto.v2.flows.SwapFlowEndpointPayload;
 import org.openkilda.northbound.messaging.MessagingChannel;
+import org.openkilda.northbound.messaging.ResponseStream;
 import org.openkilda.northbound.service.FlowService;
 import org.openkilda.northbound.service.SwitchService;
 import org.openkilda.northbound.utils.CorrelationIdFactory;
@@ -117,6 +122,7 @@ import org.springframework.stereotype.Service;
 import java.nio.file.InvalidPathException;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -177,6 +183,12 @@ public class FlowServiceImpl implements FlowService {
     @Value("#{kafkaTopicsConfig.getPingTopic()}")
     private String pingTopic;
 
+    /**
+     * The max number of flows in a bulk request, the whole request is sent in a single kafka message.
+     */
+    @Value("${northbound.flow.bulk.max.size}")
+    private int bulkMaxSize;
+
     @Value("${neo4j.uri}")
     private String neoUri;
 
@@ -377,6 +389,22 @@ public class FlowServiceImpl implements FlowService {
                         .collect(Collectors.toList()));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResponseStream<FlowResponsePayload> streamAllFlows() {
+        final String correlationId = RequestCorrelationId.getId();
+        logger.debug("Stream flows request processing");
+        FlowsDumpRequest data = new FlowsDumpRequest();
+        CommandMessage request = new CommandMessage(data, System.currentTimeMillis(), correlationId, Destination.WFM);
+
+        return messagingChannel.sendAndStreamChunked(topic, request)
+                .map(FlowReadResponse.class::cast)
+                .map(FlowReadResponse::getPayload)
+                .map(flowMapper::toFlowResponseOutput);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1151,6 +1179,62 @@ public class FlowServiceImpl implements FlowService {
                         flowMapper.toSwapOutput(response.getSecondFlow().getPayload())));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResponseStream<FlowBulkStatusV2> processBulkRequest(FlowBulkRequestV2 input) {
+        final String correlationId = RequestCorrelationId.getId();
+        List<FlowRequestV2> create = Optional.ofNullable(input.getCreate()).orElse(Collections.emptyList());
+        List<FlowRequestV2> update = Optional.ofNullable(input.getUpdate()).orElse(Collections.emptyList());
+        List<String> delete = Optional.ofNullable(input.getDelete()).orElse(Collections.emptyList());
+        logger.info("Bulk request: create {} flows, update {} flows, delete {} flows",
+                create.size(), update.size(), delete.size());
+
+        int size = create.size() + update.size() + delete.size();
+        if (size == 0 || size > bulkMaxSize) {
+            throw new MessageException(correlationId, System.currentTimeMillis(), ErrorType.DATA_INVALID,
+                    format("Bulk request must contain from 1 to %d flows, but contains %d", bulkMaxSize, size),
+                    "Invalid bulk flow request");
+        }
+
+        Set<String> flowIds = new HashSet<>(size);
+        List<String> requestedFlowIds = new ArrayList<>(size);
+        create.forEach(flow -> requestedFlowIds.add(flow.getFlowId()));
+        update.forEach(flow -> requestedFlowIds.add(flow.getFlowId()));
+        requestedFlowIds.addAll(delete);
+        for (String flowId : requestedFlowIds) {
+            if (!flowIds.add(flowId)) {
+                throw new MessageException(correlationId, System.currentTimeMillis(), ErrorType.DATA_INVALID,
+                        format("Flow %s is referenced more than once in the request", flowId),
+                        "Invalid bulk flow request");
+            }
+        }
+
+        FlowBulkRequest payload;
+        try {
+            payload = new FlowBulkRequest(
+                    create.stream()
+                            .map(flow -> new FlowCreateRequest(flowMapper.toFlowDto(flow), flow.getDiverseFlowId()))
+                            .collect(Collectors.toList()),
+                    update.stream()
+                            .map(flow -> new FlowUpdateRequest(flowMapper.toFlowDto(flow), flow.getDiverseFlowId()))
+                            .collect(Collectors.toList()),
+                    delete);
+        } catch (IllegalArgumentException e) {
+            logger.error("Can not parse arguments: {}", e.getMessage());
+            throw new MessageException(correlationId, System.currentTimeMillis(), ErrorType.DATA_INVALID,
+                    e.getMessage(), "Can not parse arguments when bulk flow request");
+        }
+
+        CommandMessage request = new CommandMessage(
+                payload, System.currentTimeMillis(), correlationId, Destination.WFM);
+
+        return messagingChannel.sendAndStreamChunked(topic, request)
+                .map(FlowBulkStatusResponse.class::cast)
+                .map(flowMapper::toFlowBulkStatusV2);
+    }
+
     @Override
     public CompletableFuture<FlowConnectedDevicesResponse> getFlowConnectedDevices(String flowId, Instant since) {
         logger.info("Get connected devices for flow {} since {}", flowId, since);
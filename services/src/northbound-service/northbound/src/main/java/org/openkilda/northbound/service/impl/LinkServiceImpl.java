@@ -54,6 +54,7 @@ import org.openkilda.northbound.dto.v1.links.LinkParametersDto;
 import org.openkilda.northbound.dto.v1.links.LinkPropsDto;
 import org.openkilda.northbound.dto.v1.links.LinkUnderMaintenanceDto;
 import org.openkilda.northbound.messaging.MessagingChannel;
+import org.openkilda.northbound.messaging.ResponseStream;
 import org.openkilda.northbound.service.LinkService;
 import org.openkilda.northbound.utils.CorrelationIdFactory;
 import org.openkilda.northbound.utils.RequestCorrelationId;
@@ -100,8 +101,30 @@ public class LinkServiceImpl implements LinkService {
     @Override
     public CompletableFuture<List<LinkDto>> getLinks(SwitchId srcSwitch, Integer srcPort,
                                                      SwitchId dstSwitch, Integer dstPort) {
-        final String correlationId = RequestCorrelationId.getId();
         logger.debug("Get links request received");
+        CommandMessage message = buildGetLinksMessage(srcSwitch, srcPort, dstSwitch, dstPort);
+
+        return messagingChannel.sendAndGetChunked(nbworkerTopic, message)
+                .thenApply(response -> response.stream()
+                        .map(IslInfoData.class::cast)
+                        .map(linkMapper::toLinkDto)
+                        .collect(Collectors.toList()));
+    }
+
+    @Override
+    public ResponseStream<LinkDto> streamLinks(SwitchId srcSwitch, Integer srcPort,
+                                               SwitchId dstSwitch, Integer dstPort) {
+        logger.debug("Stream links request received");
+        CommandMessage message = buildGetLinksMessage(srcSwitch, srcPort, dstSwitch, dstPort);
+
+        return messagingChannel.sendAndStreamChunked(nbworkerTopic, message)
+                .map(IslInfoData.class::cast)
+                .map(linkMapper::toLinkDto);
+    }
+
+    private CommandMessage buildGetLinksMessage(SwitchId srcSwitch, Integer srcPort,
+                                                SwitchId dstSwitch, Integer dstPort) {
+        final String correlationId = RequestCorrelationId.getId();
         GetLinksRequest request = null;
         try {
             request = new GetLinksRequest(new NetworkEndpointMask(srcSwitch, srcPort),
@@ -111,13 +134,7 @@ public class LinkServiceImpl implements LinkService {
             throw new MessageException(correlationId, System.currentTimeMillis(), ErrorType.DATA_INVALID,
                     e.getMessage(), "Can not parse arguments when create 'get links' request");
         }
-        CommandMessage message = new CommandMessage(request, System.currentTimeMillis(), correlationId);
-
-        return messagingChannel.sendAndGetChunked(nbworkerTopic, message)
-                .thenApply(response -> response.stream()
-                        .map(IslInfoData.class::cast)
-                        .map(linkMapper::toLinkDto)
-                        .collect(Collectors.toList()));
+        return new CommandMessage(request, System.currentTimeMillis(), correlationId);
     }
 
     @Override
@@ -30,6 +30,7 @@ import org.openkilda.messaging.command.switches.InstallRulesAction;
 import org.openkilda.messaging.command.switches.PortConfigurationRequest;
 import org.openkilda.messaging.command.switches.SwitchRulesDeleteRequest;
 import org.openkilda.messaging.command.switches.SwitchRulesInstallRequest;
+import org.openkilda.messaging.command.switches.SwitchValidateAllRequest;
 import org.openkilda.messaging.command.switches.SwitchValidateRequest;
 import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.messaging.error.MessageException;
@@ -47,6 +48,7 @@ import org.openkilda.messaging.info.switches.SwitchPortsDescription;
 import org.openkilda.messaging.info.switches.SwitchRulesResponse;
 import org.openkilda.messaging.info.switches.SwitchSyncResponse;
 import org.openkilda.messaging.info.switches.SwitchValidationResponse;
+import org.openkilda.messaging.info.switches.SwitchValidationResultEntry;
 import org.openkilda.messaging.nbtopology.request.DeleteSwitchRequest;
 import org.openkilda.messaging.nbtopology.request.GetFlowsForSwitchRequest;
 import org.openkilda.messaging.nbtopology.request.GetPortPropertiesRequest;
@@ -82,7 +84,9 @@ import org.openkilda.northbound.dto.v1.switches.UnderMaintenanceDto;
 import org.openkilda.northbound.dto.v2.switches.PortHistoryResponse;
 import org.openkilda.northbound.dto.v2.switches.PortPropertiesDto;
 import org.openkilda.northbound.dto.v2.switches.PortPropertiesResponse;
+import org.openkilda.northbound.dto.v2.switches.SwitchValidationStatusV2;
 import org.openkilda.northbound.messaging.MessagingChannel;
+import org.openkilda.northbound.messaging.ResponseStream;
 import org.openkilda.northbound.service.SwitchService;
 import org.openkilda.northbound.utils.RequestCorrelationId;
 
@@ -148,6 +152,22 @@ public class SwitchServiceImpl implements SwitchService {
                         .collect(Collectors.toList()));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResponseStream<SwitchDto> streamSwitches() {
+        final String correlationId = RequestCorrelationId.getId();
+        logger.debug("Stream switches request received");
+        CommandMessage request = new CommandMessage(new GetSwitchesRequest(), System.currentTimeMillis(),
+                correlationId);
+
+        return messagingChannel.sendAndStreamChunked(nbworkerTopic, request)
+                .map(GetSwitchResponse.class::cast)
+                .map(GetSwitchResponse::getPayload)
+                .map(switchMapper::toSwitchDto);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -260,6 +280,17 @@ public class SwitchServiceImpl implements SwitchService {
                 .thenApply(switchMapper::toSwitchValidationResult);
     }
 
+    @Override
+    public ResponseStream<SwitchValidationStatusV2> validateAllSwitches() {
+        logger.info("Validate request for all switches");
+        CommandMessage request = new CommandMessage(new SwitchValidateAllRequest(true), System.currentTimeMillis(),
+                RequestCorrelationId.getId());
+
+        return messagingChannel.sendAndStreamChunked(switchManagerTopic, request)
+                .map(SwitchValidationResultEntry.class::cast)
+                .map(switchMapper::toSwitchValidationStatusV2);
+    }
+
     private CompletableFuture<SwitchValidationResponse> performValidate(SwitchValidateRequest request) {
         CommandMessage validateCommandMessage = new CommandMessage(
                 request,
@@ -0,0 +1,83 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.northbound.utils;
+
+import org.openkilda.northbound.messaging.ResponseStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Writes items of {@link ResponseStream} as newline delimited JSON. Each item is flushed to the client as soon as it
+ * is received, so the whole response is never kept in memory.
+ *
+ * <p>The status line is already sent when the first item is written, so a failure in the middle of the response
+ * aborts the connection and the client gets incomplete chunked body.
+ */
+public class NdjsonResponseBody implements StreamingResponseBody {
+    public static final String MEDIA_TYPE_VALUE = "application/x-ndjson";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private static final byte[] DELIMITER = {'\n'};
+
+    private final ResponseStream<?> stream;
+    private final ObjectMapper objectMapper;
+
+    public NdjsonResponseBody(ResponseStream<?> stream, ObjectMapper objectMapper) {
+        this.stream = stream;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Wraps the stream into response entity with NDJSON content type.
+     */
+    public static ResponseEntity<StreamingResponseBody> of(ResponseStream<?> stream, ObjectMapper objectMapper) {
+        return ResponseEntity.ok()
+                .contentType(MEDIA_TYPE)
+                .body(new NdjsonResponseBody(stream, objectMapper));
+    }
+
+    @Override
+    public void writeTo(OutputStream output) throws IOException {
+        try {
+            Object item;
+            while ((item = stream.next()) != null) {
+                output.write(objectMapper.writeValueAsBytes(item));
+                output.write(DELIMITER);
+                output.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stream.cancel();
+            throw new InterruptedIOException("Streaming of the response is interrupted");
+        } catch (TimeoutException | CompletionException e) {
+            stream.cancel();
+            throw new IOException("Unable to receive the response", e);
+        } catch (IOException | RuntimeException e) {
+            stream.cancel();
+            throw e;
+        }
+    }
+}
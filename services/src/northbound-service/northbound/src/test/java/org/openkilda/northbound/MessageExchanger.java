@@ -18,7 +18,9 @@ package org.openkilda.northbound;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.northbound.messaging.ChunkedResponseStream;
 import org.openkilda.northbound.messaging.MessagingChannel;
+import org.openkilda.northbound.messaging.ResponseStream;
 
 import java.util.HashMap;
 import java.util.List;
@@ -63,6 +65,14 @@ public class MessageExchanger implements MessagingChannel {
         return CompletableFuture.completedFuture(pendingChunkedResponses.remove(message.getCorrelationId()));
     }
 
+    @Override
+    public ResponseStream<InfoData> sendAndStreamChunked(String topic, Message message) {
+        send(topic, message);
+
+        List<InfoData> chunks = pendingChunkedResponses.remove(message.getCorrelationId());
+        return completedStream(chunks);
+    }
+
     public void mockResponse(String requestId, InfoData data) {
         pendingResponses.put(requestId, data);
     }
@@ -75,4 +85,13 @@ public class MessageExchanger implements MessagingChannel {
         pendingResponses.clear();
         pendingChunkedResponses.clear();
     }
+
+    private static ResponseStream<InfoData> completedStream(List<InfoData> chunks) {
+        ChunkedResponseStream stream = new ChunkedResponseStream(Math.max(chunks.size(), 1), 0);
+        for (InfoData chunk : chunks) {
+            stream.push(chunk);
+        }
+        stream.complete();
+        return stream;
+    }
 }
@@ -55,7 +55,9 @@ import org.openkilda.model.SwitchId;
 import org.openkilda.northbound.dto.v2.flows.FlowEndpointV2;
 import org.openkilda.northbound.dto.v2.flows.SwapFlowEndpointPayload;
 import org.openkilda.northbound.dto.v2.flows.SwapFlowPayload;
+import org.openkilda.northbound.messaging.ChunkedResponseStream;
 import org.openkilda.northbound.messaging.MessagingChannel;
+import org.openkilda.northbound.messaging.ResponseStream;
 
 import org.springframework.stereotype.Component;
 
@@ -190,6 +192,15 @@ public class TestMessageMock implements MessagingChannel {
         }
     }
 
+    @Override
+    public ResponseStream<InfoData> sendAndStreamChunked(String topic, Message message) {
+        CompletableFuture<List<InfoData>> chunks = sendAndGetChunked(topic, message);
+        if (chunks == null) {
+            return null;
+        }
+        return completedStream(chunks.join());
+    }
+
     @Override
     public void send(String topic, Message message) {
         if (message instanceof CommandMessage) {
@@ -207,4 +218,13 @@ public class TestMessageMock implements MessagingChannel {
             return completedFuture(FLOW_RESPONSE);
         }
     }
+
+    private static ResponseStream<InfoData> completedStream(List<InfoData> chunks) {
+        ChunkedResponseStream stream = new ChunkedResponseStream(Math.max(chunks.size(), 1), 0);
+        for (InfoData chunk : chunks) {
+            stream.push(chunk);
+        }
+        stream.complete();
+        return stream;
+    }
 }
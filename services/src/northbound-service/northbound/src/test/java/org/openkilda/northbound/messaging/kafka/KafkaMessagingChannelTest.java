@@ -15,14 +15,17 @@
 
 package org.openkilda.northbound.messaging.kafka;
 
+import static java.util.Collections.singleton;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.error.ErrorData;
 import org.openkilda.messaging.error.ErrorMessage;
 import org.openkilda.messaging.error.ErrorType;
+import org.openkilda.messaging.error.MessageException;
 import org.openkilda.messaging.info.ChunkedInfoMessage;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
@@ -32,8 +35,10 @@ import org.openkilda.model.SwitchId;
 import org.openkilda.northbound.config.KafkaConfig;
 import org.openkilda.northbound.messaging.MessageProducer;
 import org.openkilda.northbound.messaging.MessagingChannel;
+import org.openkilda.northbound.messaging.ResponseStream;
 
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -51,16 +56,19 @@ import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.util.concurrent.ListenableFuture;
 import org.springframework.util.concurrent.SettableListenableFuture;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.stream.LongStream;
 
 @RunWith(SpringRunner.class)
 public class KafkaMessagingChannelTest {
@@ -74,6 +82,9 @@ public class KafkaMessagingChannelTest {
     @Autowired
     private KafkaMessagingChannel messagingChannel;
 
+    @Autowired
+    private ConsumptionFlowControl flowControl;
+
     @Rule
     public ExpectedException thrown = ExpectedException.none();
 
@@ -168,6 +179,177 @@ public class KafkaMessagingChannelTest {
         assertTrue(messagingChannel.getPendingChunkedRequests().isEmpty());
     }
 
+    @Test
+    public void shouldStreamChunked() throws Exception {
+        String requestId = UUID.randomUUID().toString();
+        long timestamp = System.currentTimeMillis();
+        // fits into the streaming buffer, so the result doesn't depend on the speed of the reader
+        int messagesAmount = 1000;
+
+        prepareChunkedResponses(requestId, timestamp, messagesAmount);
+        Message request = new Message(timestamp, requestId);
+
+        ResponseStream<InfoData> stream = messagingChannel.sendAndStreamChunked(CHUNKED_TOPIC, request);
+        prepareResponses(CHUNKED_TOPIC);
+
+        Set<InfoData> result = new HashSet<>();
+        InfoData chunk;
+        while ((chunk = stream.next()) != null) {
+            result.add(chunk);
+        }
+        assertEquals(messagesAmount, result.size());
+        assertTrue(messagingChannel.getPendingStreamedRequests().isEmpty());
+    }
+
+    @Test
+    public void shouldStreamEmptyResponse() throws Exception {
+        String requestId = UUID.randomUUID().toString();
+        long timestamp = System.currentTimeMillis();
+
+        ChunkedInfoMessage emptyResponse = new ChunkedInfoMessage(null, timestamp, requestId, requestId, 0);
+        CHUNKED_RESPONSES.add(emptyResponse);
+        Message request = new Message(timestamp, requestId);
+
+        ResponseStream<InfoData> stream = messagingChannel.sendAndStreamChunked(CHUNKED_TOPIC, request);
+        prepareResponses(CHUNKED_TOPIC);
+
+        assertNull(stream.next());
+        assertTrue(messagingChannel.getPendingStreamedRequests().isEmpty());
+    }
+
+    @Test
+    public void shouldPauseConsumptionWhileReaderIsTooSlow() throws Exception {
+        String requestId = UUID.randomUUID().toString();
+        long timestamp = System.currentTimeMillis();
+        TopicPartition partition = new TopicPartition(CHUNKED_TOPIC, 0);
+
+        // one chunk more than the streaming buffer holds
+        prepareChunkedResponses(requestId, timestamp, 1001);
+        Message request = new Message(timestamp, requestId);
+
+        ResponseStream<InfoData> stream = messagingChannel.sendAndStreamChunked(CHUNKED_TOPIC, request);
+        List<Message> responses = new ArrayList<>(CHUNKED_RESPONSES);
+        responses.subList(0, 1000).forEach(response -> messagingChannel.onResponse(response, partition));
+
+        // the response is not failed, consumption is paused until the reader drains half of the buffer
+        assertEquals(singleton(partition), flowControl.getPausedPartitions());
+        Set<InfoData> result = new HashSet<>();
+        for (int i = 0; i < 499; i++) {
+            result.add(stream.next());
+        }
+        assertEquals(singleton(partition), flowControl.getPausedPartitions());
+        result.add(stream.next());
+        assertTrue(flowControl.getPausedPartitions().isEmpty());
+
+        messagingChannel.onResponse(responses.get(1000), partition);
+        InfoData chunk;
+        while ((chunk = stream.next()) != null) {
+            result.add(chunk);
+        }
+        assertEquals(1001, result.size());
+        assertTrue(messagingChannel.getPendingStreamedRequests().isEmpty());
+    }
+
+    @Test
+    public void shouldResumeConsumptionIfStreamIsCancelled() throws Exception {
+        String requestId = UUID.randomUUID().toString();
+        long timestamp = System.currentTimeMillis();
+        TopicPartition partition = new TopicPartition(CHUNKED_TOPIC, 0);
+
+        prepareChunkedResponses(requestId, timestamp, 1001);
+        Message request = new Message(timestamp, requestId);
+
+        ResponseStream<InfoData> stream = messagingChannel.sendAndStreamChunked(CHUNKED_TOPIC, request);
+        CHUNKED_RESPONSES.stream()
+                .limit(1000)
+                .forEach(response -> messagingChannel.onResponse(response, partition));
+        assertEquals(singleton(partition), flowControl.getPausedPartitions());
+
+        stream.cancel();
+        assertTrue(flowControl.getPausedPartitions().isEmpty());
+    }
+
+    @Test
+    public void shouldFailStreamIfResponseIsError() throws Exception {
+        thrown.expect(CompletionException.class);
+
+        String requestId = UUID.randomUUID().toString();
+        long timestamp = System.currentTimeMillis();
+
+        ErrorData error = new ErrorData(ErrorType.INTERNAL_ERROR, "message", "description");
+        ErrorMessage errorResponse = new ErrorMessage(error, timestamp, requestId, null);
+        CHUNKED_RESPONSES.add(errorResponse);
+        Message request = new Message(timestamp, requestId);
+
+        ResponseStream<InfoData> stream = messagingChannel.sendAndStreamChunked(CHUNKED_TOPIC, request);
+        prepareResponses(CHUNKED_TOPIC);
+
+        try {
+            stream.next();
+        } finally {
+            assertTrue(messagingChannel.getPendingStreamedRequests().isEmpty());
+        }
+    }
+
+    @Test
+    public void shouldCompleteExpiredRequestWithTimeoutError() throws Exception {
+        String requestId = UUID.randomUUID().toString();
+        long timestamp = System.currentTimeMillis();
+        final long timedOut = messagingChannel.getTimedOutRequests();
+
+        CompletableFuture<InfoData> response = messagingChannel.sendAndGet(MAIN_TOPIC,
+                new Message(timestamp, requestId));
+        assertEquals(1, messagingChannel.getPendingRequests().size());
+
+        messagingChannel.expire(requestId);
+
+        try {
+            response.get(1, TimeUnit.SECONDS);
+            fail("Expired request must be completed exceptionally");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof MessageException);
+            assertEquals(ErrorType.OPERATION_TIMED_OUT, ((MessageException) e.getCause()).getErrorType());
+        }
+        assertTrue(messagingChannel.getPendingRequests().isEmpty());
+        assertEquals(timedOut + 1, messagingChannel.getTimedOutRequests());
+    }
+
+    @Test
+    public void shouldCompleteExpiredChunkedRequestWithTimeoutError() throws Exception {
+        thrown.expect(ExecutionException.class);
+
+        String requestId = UUID.randomUUID().toString();
+        long timestamp = System.currentTimeMillis();
+
+        CompletableFuture<List<InfoData>> response = messagingChannel.sendAndGetChunked(CHUNKED_TOPIC,
+                new Message(timestamp, requestId));
+        messagingChannel.expire(requestId);
+
+        try {
+            response.get(1, TimeUnit.SECONDS);
+        } finally {
+            assertTrue(messagingChannel.getPendingChunkedRequests().isEmpty());
+        }
+    }
+
+    @Test
+    public void shouldCountFinishedRequests() throws Exception {
+        final long completed = messagingChannel.getCompletedRequests();
+        String requestId = UUID.randomUUID().toString();
+        long time = System.currentTimeMillis();
+        RESPONSES.add(new InfoMessage(null, time, requestId));
+
+        CompletableFuture<InfoData> response = messagingChannel.sendAndGet(MAIN_TOPIC, new Message(time, requestId));
+        prepareResponses(MAIN_TOPIC);
+        response.get(1, TimeUnit.SECONDS);
+
+        assertEquals(completed + 1, messagingChannel.getCompletedRequests());
+        assertEquals(0, messagingChannel.getInFlightRequests());
+        assertEquals(messagingChannel.getLatencyHistogramBounds().length + 1,
+                messagingChannel.getLatencyHistogram().length);
+        assertTrue(LongStream.of(messagingChannel.getLatencyHistogram()).sum() > 0);
+    }
+
     @Test
     public void shouldCompleteResponseExceptionallyIfResponseIsError() throws Exception {
         thrown.expect(ExecutionException.class);
@@ -262,6 +444,11 @@ public class KafkaMessagingChannelTest {
             return new KafkaMessagingChannel();
         }
 
+        @Bean
+        public ConsumptionFlowControl consumptionFlowControl() {
+            return new ConsumptionFlowControl();
+        }
+
         @Bean
         public MessageProducer messageProducer(KafkaMessagingChannel messagingChannel) {
             return new CustomMessageProducer(messagingChannel);
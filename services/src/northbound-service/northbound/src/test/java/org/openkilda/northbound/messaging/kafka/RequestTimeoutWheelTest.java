@@ -0,0 +1,77 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.northbound.messaging.kafka;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class RequestTimeoutWheelTest {
+    private static final long TICK_MILLIS = 10;
+
+    private final List<String> expired = new CopyOnWriteArrayList<>();
+    private final CountDownLatch expiredLatch = new CountDownLatch(2);
+    private RequestTimeoutWheel wheel;
+
+    @After
+    public void tearDown() {
+        wheel.stop();
+    }
+
+    @Test
+    public void shouldExpireNotCancelledKeys() throws InterruptedException {
+        wheel = createWheel(8, 50);
+
+        wheel.schedule("first");
+        wheel.schedule("second").cancel();
+        wheel.schedule("third");
+
+        assertTrue(expiredLatch.await(1, TimeUnit.SECONDS));
+        assertEquals(2, expired.size());
+        assertTrue(expired.contains("first"));
+        assertTrue(expired.contains("third"));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void shouldExpireKeysAfterSeveralRounds() throws InterruptedException {
+        // the deadline is 4 rounds of the wheel away
+        wheel = createWheel(4, 160);
+
+        final long startTime = System.nanoTime();
+        wheel.schedule("first");
+        wheel.schedule("second");
+
+        assertTrue(expiredLatch.await(1, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) >= 150);
+        assertEquals(2, expired.size());
+    }
+
+    private RequestTimeoutWheel createWheel(int size, long timeoutMillis) {
+        return new RequestTimeoutWheel(TICK_MILLIS, size, timeoutMillis, key -> {
+            expired.add(key);
+            expiredLatch.countDown();
+        });
+    }
+}
@@ -0,0 +1,158 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.benchmark;
+
+import static java.util.Collections.emptyList;
+
+import org.openkilda.messaging.command.CommandData;
+import org.openkilda.messaging.command.CommandGroup;
+import org.openkilda.messaging.command.CommandGroup.FailureReaction;
+import org.openkilda.messaging.command.flow.BaseFlow;
+import org.openkilda.messaging.command.flow.BaseInstallFlow;
+import org.openkilda.model.SwitchId;
+import org.openkilda.wfm.topology.flow.transactions.FlowCommandRegistry;
+import org.openkilda.wfm.topology.flow.transactions.UnknownBatchException;
+import org.openkilda.wfm.topology.flow.transactions.UnknownTransactionException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link FlowCommandRegistry} operations used by the transaction bolt while the registry holds a bulk flow
+ * push worth of in-flight transactions. Each flow has one batch of two groups, so a half of the transactions is in
+ * the current groups.
+ *
+ * <p>See README.md for how to run it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FlowCommandRegistryBenchmark {
+    private static final long SEED = 42;
+    private static final SwitchId SWITCH_ID = new SwitchId(1);
+    private static final String LIFECYCLE_FLOW = "lifecycle-flow";
+
+    @Param({"10000", "100000"})
+    private int inFlightTransactions;
+
+    @Param({"5"})
+    private int commandsPerGroup;
+
+    private final Random random = new Random(SEED);
+
+    private FlowCommandRegistry registry;
+    private List<String> flowIds;
+    private List<UUID> transactionIds;
+    private List<CommandGroup> lifecycleGroups;
+
+    /**
+     * Fills the registry with in-flight transactions once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        registry = new FlowCommandRegistry();
+        flowIds = new ArrayList<>();
+        transactionIds = new ArrayList<>(inFlightTransactions);
+
+        int flowCount = Math.max(1, inFlightTransactions / (2 * commandsPerGroup));
+        for (int i = 0; i < flowCount; i++) {
+            String flowId = "flow-" + i;
+            List<CommandGroup> groups = makeGroups(flowId);
+            registry.registerBatch(flowId, groups, emptyList(), emptyList());
+            registry.pollNextGroup(flowId);
+
+            flowIds.add(flowId);
+            for (CommandGroup group : groups) {
+                for (CommandData command : group.getCommands()) {
+                    transactionIds.add(((BaseFlow) command).getTransactionId());
+                }
+            }
+        }
+
+        lifecycleGroups = makeGroups(LIFECYCLE_FLOW);
+    }
+
+    @Benchmark
+    public Optional<FailureReaction> getFailureReaction() {
+        int index = random.nextInt(transactionIds.size());
+        return registry.getFailureReaction(flowIds.get(index / (2 * commandsPerGroup)), transactionIds.get(index));
+    }
+
+    @Benchmark
+    public Set<UUID> getExpiredBatches() {
+        return registry.getExpiredBatches(Duration.ofHours(1));
+    }
+
+    /**
+     * Full lifecycle of one more batch: register, poll and complete all groups, remove the batch. The same commands
+     * are used on each invocation, they are not in the registry once the batch is removed.
+     */
+    @Benchmark
+    public UUID batchLifecycle() throws UnknownBatchException, UnknownTransactionException {
+        UUID batchId = registry.registerBatch(LIFECYCLE_FLOW, lifecycleGroups, emptyList(), emptyList());
+        List<CommandData> commands;
+        while (!(commands = registry.pollNextGroup(LIFECYCLE_FLOW)).isEmpty()) {
+            for (CommandData command : commands) {
+                registry.removeCommand(LIFECYCLE_FLOW, ((BaseFlow) command).getTransactionId());
+            }
+        }
+        registry.removeBatch(batchId);
+        return batchId;
+    }
+
+    private List<CommandGroup> makeGroups(String flowId) {
+        List<CommandGroup> groups = new ArrayList<>(2);
+        for (int i = 0; i < 2; i++) {
+            List<CommandData> commands = new ArrayList<>(commandsPerGroup);
+            for (int j = 0; j < commandsPerGroup; j++) {
+                commands.add(new BaseInstallFlow(UUID.randomUUID(), flowId, 0L, SWITCH_ID, 1, 2, false));
+            }
+            groups.add(new CommandGroup(commands, i == 0 ? FailureReaction.IGNORE : FailureReaction.ABORT_BATCH));
+        }
+        return groups;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FlowCommandRegistryBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,49 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.kafka;
+
+import static java.lang.String.format;
+
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.wfm.share.metrics.DatapointBatch;
+import org.openkilda.wfm.share.metrics.DatapointBinaryCodec;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.io.IOException;
+
+/**
+ * Decodes both binary datapoint batches and JSON encoded {@link InfoData}, so producers which still emit JSON can share
+ * the topic with the binary ones.
+ */
+@Slf4j
+public class DatapointDeserializer extends InfoDataDeserializer {
+
+    @Override
+    public InfoData deserialize(String topic, byte[] data) {
+        if (!DatapointBinaryCodec.isBinary(data)) {
+            return super.deserialize(topic, data);
+        }
+
+        try {
+            return new DatapointBatch(DatapointBinaryCodec.decode(data));
+        } catch (IOException e) {
+            log.error(format("Failed to decode datapoint batch of %d bytes from topic %s", data.length, topic), e);
+            throw new SerializationException(e.getMessage());
+        }
+    }
+}
@@ -15,6 +15,8 @@
 
 package org.openkilda.wfm.share.flow.resources;
 
+import static java.util.stream.Collectors.toList;
+
 import org.openkilda.model.FlowCookie;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.TransactionManager;
@@ -23,8 +25,18 @@ import org.openkilda.persistence.repositories.RepositoryFactory;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * The resource pool is responsible for cookie de-/allocation.
+ * <p/>
+ * Free cookies are tracked in memory. A cookie taken from the free-list is checked against the persistent storage
+ * within the allocating transaction, and the free-list is reloaded when it is found to be stale or runs out of cookies.
+ * So allocations made by other processes and rolled back deallocations never lead to a collision. Pools of different
+ * processes may start the allocation from different cookies to rarely pick the same one.
  */
 @Slf4j
 public class CookiePool {
@@ -33,14 +45,22 @@ public class CookiePool {
 
     private final long minCookie;
     private final long maxCookie;
+    private final long startCookie;
+
+    private FreeIdBitmap freeCookies;
 
     public CookiePool(PersistenceManager persistenceManager, long minCookie, long maxCookie) {
+        this(persistenceManager, minCookie, maxCookie, minCookie);
+    }
+
+    public CookiePool(PersistenceManager persistenceManager, long minCookie, long maxCookie, long startCookie) {
         transactionManager = persistenceManager.getTransactionManager();
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
         flowCookieRepository = repositoryFactory.createFlowCookieRepository();
 
         this.minCookie = minCookie;
         this.maxCookie = maxCookie;
+        this.startCookie = startCookie;
     }
 
     /**
@@ -49,20 +69,35 @@ public class CookiePool {
      * @return unmasked allocated cookie.
      */
     public long allocate(String flowId) {
+        return allocate(flowId, 1).get(0);
+    }
+
+    /**
+     * Allocates cookies for the flow. The cookies are persisted with a single write.
+     *
+     * @return unmasked allocated cookies.
+     */
+    public List<Long> allocate(String flowId, int count) {
         return transactionManager.doInTransaction(() -> {
-            long availableCookie = flowCookieRepository.findUnassignedCookie(minCookie)
-                    .orElseThrow(() -> new ResourceNotAvailableException("No cookie available"));
-            if (availableCookie > maxCookie) {
-                throw new ResourceNotAvailableException("No cookie available");
-            }
+            List<Long> cookies = new ArrayList<>(count);
+            try {
+                for (int i = 0; i < count; i++) {
+                    cookies.add(findUnassignedCookie(cookies)
+                            .orElseThrow(() -> new ResourceNotAvailableException("No cookie available")));
+                }
 
-            FlowCookie flowCookie = FlowCookie.builder()
-                    .unmaskedCookie(availableCookie)
-                    .flowId(flowId)
-                    .build();
-            flowCookieRepository.createOrUpdate(flowCookie);
+                flowCookieRepository.createOrUpdateAll(cookies.stream()
+                        .map(cookie -> FlowCookie.builder()
+                                .unmaskedCookie(cookie)
+                                .flowId(flowId)
+                                .build())
+                        .collect(toList()));
+            } catch (RuntimeException e) {
+                cookies.forEach(this::releaseCookie);
+                throw e;
+            }
 
-            return availableCookie;
+            return cookies;
         });
     }
 
@@ -72,7 +107,57 @@ public class CookiePool {
     public void deallocate(long unmaskedCookie) {
         transactionManager.doInTransaction(() ->
                 flowCookieRepository.findByCookie(unmaskedCookie)
-                        .ifPresent(flowCookieRepository::delete)
+                        .ifPresent(flowCookie -> {
+                            flowCookieRepository.delete(flowCookie);
+                            releaseCookie(unmaskedCookie);
+                        })
         );
     }
+
+    /**
+     * Takes a free cookie from the free-list and checks it against the persistent storage, as the free-list isn't
+     * aware of cookies allocated by other processes or of rolled back deallocations. The free-list is reloaded if it is
+     * found to be stale. Cookies taken but not persisted yet are kept allocated on reload.
+     */
+    private Optional<Long> findUnassignedCookie(Collection<Long> taken) {
+        boolean reload = false;
+        while (true) {
+            Optional<Long> cookie = takeFreeCookie(reload, taken);
+            if (!cookie.isPresent() || !flowCookieRepository.exists(cookie.get())) {
+                return cookie;
+            }
+            log.info("The cookie {} is allocated outside of the pool, reloading allocated cookies", cookie.get());
+            reload = true;
+        }
+    }
+
+    private synchronized Optional<Long> takeFreeCookie(boolean reload, Collection<Long> taken) {
+        if (freeCookies == null) {
+            freeCookies = new FreeIdBitmap(minCookie, maxCookie, startCookie);
+            reload = true;
+        }
+        if (reload) {
+            reloadFreeCookies(taken);
+        }
+
+        Optional<Long> cookie = freeCookies.allocate();
+        if (!cookie.isPresent() && !reload) {
+            log.info("No free cookie left in memory, reloading allocated cookies");
+            reloadFreeCookies(taken);
+            cookie = freeCookies.allocate();
+        }
+        return cookie;
+    }
+
+    private synchronized void releaseCookie(long cookie) {
+        if (freeCookies != null) {
+            freeCookies.release(cookie);
+        }
+    }
+
+    private void reloadFreeCookies(Collection<Long> taken) {
+        freeCookies.clear();
+        flowCookieRepository.findAll().forEach(flowCookie -> freeCookies.markAllocated(flowCookie.getUnmaskedCookie()));
+        taken.forEach(freeCookies::markAllocated);
+    }
 }
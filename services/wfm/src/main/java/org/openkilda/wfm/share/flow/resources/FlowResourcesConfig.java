@@ -78,4 +78,12 @@ public interface FlowResourcesConfig extends Serializable {
     @Key("flow.cookie.max")
     @Default("131072")
     long getMaxFlowCookie();
+
+    /**
+     * Whether each resources manager starts the allocation of resources from a random id of the range, so managers
+     * of different workers rarely pick the same ids. Otherwise the lowest free ids are allocated first.
+     */
+    @Key("flow.resources.random-start")
+    @Default("false")
+    boolean isRandomStart();
 }
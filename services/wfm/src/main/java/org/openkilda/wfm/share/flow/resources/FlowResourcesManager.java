@@ -21,11 +21,13 @@ import org.openkilda.model.Flow;
 import org.openkilda.model.FlowEncapsulationType;
 import org.openkilda.model.MeterId;
 import org.openkilda.model.PathId;
+import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.ConstraintViolationException;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.SwitchRepository;
 import org.openkilda.wfm.share.flow.resources.FlowResources.PathResources;
+import org.openkilda.wfm.share.flow.resources.MeterPool.MeterRequest;
 import org.openkilda.wfm.share.flow.resources.transitvlan.TransitVlanPool;
 import org.openkilda.wfm.share.flow.resources.vxlan.VxlanPool;
 
@@ -35,9 +37,13 @@ import lombok.extern.slf4j.Slf4j;
 import net.jodah.failsafe.Failsafe;
 import net.jodah.failsafe.RetryPolicy;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Stream;
 
 @Slf4j
@@ -55,15 +61,26 @@ public class FlowResourcesManager {
         transactionManager = persistenceManager.getTransactionManager();
         switchRepository = persistenceManager.getRepositoryFactory().createSwitchRepository();
 
-        this.cookiePool = new CookiePool(persistenceManager, config.getMinFlowCookie(), config.getMaxFlowCookie());
-        this.meterPool = new MeterPool(persistenceManager,
-                new MeterId(config.getMinFlowMeterId()), new MeterId(config.getMaxFlowMeterId()));
-
+        boolean randomStart = config.isRandomStart();
+        long minCookie = config.getMinFlowCookie();
+        long maxCookie = config.getMaxFlowCookie();
+        this.cookiePool = new CookiePool(persistenceManager, minCookie, maxCookie,
+                randomStart ? randomId(minCookie, maxCookie) : minCookie);
+        int minMeterId = config.getMinFlowMeterId();
+        int maxMeterId = config.getMaxFlowMeterId();
+        this.meterPool = new MeterPool(persistenceManager, new MeterId(minMeterId), new MeterId(maxMeterId),
+                new MeterId(randomStart ? randomId(minMeterId, maxMeterId) : minMeterId));
+
+        int minTransitVlan = config.getMinFlowTransitVlan();
+        int maxTransitVlan = config.getMaxFlowTransitVlan();
+        int minVxlan = config.getMinFlowVxlan();
+        int maxVxlan = config.getMaxFlowVxlan();
         encapsulationResourcesProviders = ImmutableMap.<FlowEncapsulationType, EncapsulationResourcesProvider>builder()
                 .put(FlowEncapsulationType.TRANSIT_VLAN, new TransitVlanPool(persistenceManager,
-                        config.getMinFlowTransitVlan(), config.getMaxFlowTransitVlan()))
+                        minTransitVlan, maxTransitVlan,
+                        randomStart ? (int) randomId(minTransitVlan, maxTransitVlan) : minTransitVlan))
                 .put(FlowEncapsulationType.VXLAN, new VxlanPool(persistenceManager,
-                        config.getMinFlowVxlan(), config.getMaxFlowVxlan()))
+                        minVxlan, maxVxlan, randomStart ? (int) randomId(minVxlan, maxVxlan) : minVxlan))
                 .build();
     }
 
@@ -118,20 +135,34 @@ public class FlowResourcesManager {
         PathResources.PathResourcesBuilder reverse = PathResources.builder()
                 .pathId(reversePathId);
 
+        SwitchId srcSwitchId = flow.getSrcSwitch().getSwitchId();
+        SwitchId dstSwitchId = flow.getDestSwitch().getSwitchId();
+        boolean srcLldp = flow.getDetectConnectedDevices().isSrcLldp();
+        boolean dstLldp = flow.getDetectConnectedDevices().isDstLldp();
+
+        // All meters of the flow are allocated with a single write, the flow meters go first.
+        List<MeterRequest> meterRequests = new ArrayList<>();
         if (flow.getBandwidth() > 0L) {
-            forward.meterId(meterPool.allocate(flow.getSrcSwitch(), flow.getFlowId(), forwardPathId));
-            reverse.meterId(meterPool.allocate(flow.getDestSwitch(), flow.getFlowId(), reversePathId));
+            meterRequests.add(new MeterRequest(srcSwitchId, forwardPathId));
+            meterRequests.add(new MeterRequest(dstSwitchId, reversePathId));
         }
-
-        Long lldpCookie = null;
-        if (flow.getDetectConnectedDevices().isSrcLldp() || flow.getDetectConnectedDevices().isDstLldp()) {
-            lldpCookie = cookiePool.allocate(flow.getFlowId());
-
-            if (flow.getDetectConnectedDevices().isSrcLldp()) {
-                forward.lldpMeterId(meterPool.allocate(flow.getSrcSwitch(), flow.getFlowId(), forwardPathId));
+        if (srcLldp) {
+            meterRequests.add(new MeterRequest(srcSwitchId, forwardPathId));
+        }
+        if (dstLldp) {
+            meterRequests.add(new MeterRequest(dstSwitchId, reversePathId));
+        }
+        if (!meterRequests.isEmpty()) {
+            Iterator<MeterId> meterIds = meterPool.allocate(flow.getFlowId(), meterRequests).iterator();
+            if (flow.getBandwidth() > 0L) {
+                forward.meterId(meterIds.next());
+                reverse.meterId(meterIds.next());
             }
-            if (flow.getDetectConnectedDevices().isDstLldp()) {
-                reverse.lldpMeterId(meterPool.allocate(flow.getDestSwitch(), flow.getFlowId(), reversePathId));
+            if (srcLldp) {
+                forward.lldpMeterId(meterIds.next());
+            }
+            if (dstLldp) {
+                reverse.lldpMeterId(meterIds.next());
             }
         }
 
@@ -145,8 +176,19 @@ public class FlowResourcesManager {
                     encapsulationResourcesProvider.allocate(flow, reversePathId, forwardPathId));
         }
 
+        // The LLDP cookie goes first, as it did when cookies were allocated one by one.
+        Long lldpCookie = null;
+        long cookie;
+        if (srcLldp || dstLldp) {
+            List<Long> cookies = cookiePool.allocate(flow.getFlowId(), 2);
+            lldpCookie = cookies.get(0);
+            cookie = cookies.get(1);
+        } else {
+            cookie = cookiePool.allocate(flow.getFlowId());
+        }
+
         return FlowResources.builder()
-                .unmaskedCookie(cookiePool.allocate(flow.getFlowId()))
+                .unmaskedCookie(cookie)
                 .unmaskedLldpCookie(lldpCookie)
                 .forward(forward.build())
                 .reverse(reverse.build())
@@ -162,6 +204,10 @@ public class FlowResourcesManager {
         return provider;
     }
 
+    private static long randomId(long minId, long maxId) {
+        return ThreadLocalRandom.current().nextLong(minId, maxId + 1);
+    }
+
     private PathId generatePathId(String flowId) {
         return new PathId(format("%s_%s", flowId, UUID.randomUUID()));
     }
@@ -0,0 +1,121 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.flow.resources;
+
+import static java.lang.String.format;
+
+import java.util.BitSet;
+import java.util.Optional;
+
+/**
+ * In-memory free-list of resource ids within the [min, max] range. Ids are allocated in ascending order starting from
+ * the start id and wrapping around to the min id, so the lowest free id at or after the start id is allocated first.
+ * With the start id equal to the min id the allocation order is the same as the one of the gap-finding queries of
+ * repositories.
+ * <p/>
+ * The lowest free ids at or after and before the start id are tracked as hints, so allocation of sequential ids
+ * doesn't rescan the allocated ones.
+ * <p/>
+ * The free-list isn't shared between processes, so it is only a hint: pools check each allocated id against the
+ * persistent storage and reload the free-list if it is stale. Pools of different processes use different start ids
+ * to reduce the chance of picking the same id.
+ */
+public class FreeIdBitmap {
+    private final long minId;
+    private final long maxId;
+    private final int startIndex;
+    private final BitSet allocated = new BitSet();
+
+    private int lowestFreeHint;
+    private int lowestWrappedFreeHint;
+
+    public FreeIdBitmap(long minId, long maxId) {
+        this(minId, maxId, minId);
+    }
+
+    public FreeIdBitmap(long minId, long maxId, long startId) {
+        if (maxId < minId || maxId - minId >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(format("Invalid range of ids [%d, %d]", minId, maxId));
+        }
+        if (startId < minId || startId > maxId) {
+            throw new IllegalArgumentException(
+                    format("The start id %d is out of the range of ids [%d, %d]", startId, minId, maxId));
+        }
+        this.minId = minId;
+        this.maxId = maxId;
+        this.startIndex = (int) (startId - minId);
+        lowestFreeHint = startIndex;
+    }
+
+    /**
+     * Allocates the lowest free id at or after the start id, or the lowest free id if there is no such one.
+     *
+     * @return the allocated id or {@link Optional#empty()} if all ids of the range are allocated.
+     */
+    public synchronized Optional<Long> allocate() {
+        int index = allocated.nextClearBit(lowestFreeHint);
+        if (index <= maxId - minId) {
+            lowestFreeHint = index + 1;
+        } else {
+            lowestFreeHint = index;
+            index = allocated.nextClearBit(lowestWrappedFreeHint);
+            if (index >= startIndex) {
+                lowestWrappedFreeHint = startIndex;
+                return Optional.empty();
+            }
+            lowestWrappedFreeHint = index + 1;
+        }
+        allocated.set(index);
+        return Optional.of(minId + index);
+    }
+
+    /**
+     * Marks the id as allocated. Ids out of the range are ignored.
+     */
+    public synchronized void markAllocated(long id) {
+        if (isInRange(id)) {
+            allocated.set((int) (id - minId));
+        }
+    }
+
+    /**
+     * Returns the id to the free-list. Ids out of the range are ignored.
+     */
+    public synchronized void release(long id) {
+        if (isInRange(id)) {
+            int index = (int) (id - minId);
+            allocated.clear(index);
+            if (index >= startIndex) {
+                lowestFreeHint = Math.min(lowestFreeHint, index);
+            } else {
+                lowestWrappedFreeHint = Math.min(lowestWrappedFreeHint, index);
+            }
+        }
+    }
+
+    /**
+     * Releases all ids.
+     */
+    public synchronized void clear() {
+        allocated.clear();
+        lowestFreeHint = startIndex;
+        lowestWrappedFreeHint = 0;
+    }
+
+    private boolean isInRange(long id) {
+        return id >= minId && id <= maxId;
+    }
+}
@@ -16,6 +16,7 @@
 package org.openkilda.wfm.share.flow.resources;
 
 import static java.lang.String.format;
+import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 
 import org.openkilda.model.FlowMeter;
@@ -29,14 +30,24 @@ import org.openkilda.persistence.repositories.FlowMeterRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.repositories.SwitchRepository;
 
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * The resource pool is responsible for meter de-/allocation.
+ * <p/>
+ * Free meters are tracked in memory per switch. A meter taken from the free-list is checked against the persistent
+ * storage within the allocating transaction, and the free-list of the switch is reloaded when it is found to be stale
+ * or runs out of meters. So allocations made by other processes and rolled back deallocations never lead to a
+ * collision. Pools of different processes may start the allocation from different meters to rarely pick the same one.
  */
 @Slf4j
 public class MeterPool {
@@ -46,8 +57,16 @@ public class MeterPool {
 
     private final MeterId minMeterId;
     private final MeterId maxMeterId;
+    private final MeterId startMeterId;
+
+    private final Map<SwitchId, FreeIdBitmap> freeMeters = new HashMap<>();
 
     public MeterPool(PersistenceManager persistenceManager, MeterId minMeterId, MeterId maxMeterId) {
+        this(persistenceManager, minMeterId, maxMeterId, minMeterId);
+    }
+
+    public MeterPool(PersistenceManager persistenceManager, MeterId minMeterId, MeterId maxMeterId,
+                     MeterId startMeterId) {
         transactionManager = persistenceManager.getTransactionManager();
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
         flowMeterRepository = repositoryFactory.createFlowMeterRepository();
@@ -55,6 +74,7 @@ public class MeterPool {
 
         this.minMeterId = minMeterId;
         this.maxMeterId = maxMeterId;
+        this.startMeterId = startMeterId;
     }
 
     /**
@@ -73,24 +93,40 @@ public class MeterPool {
      * Allocates a meter for the flow path.
      */
     public MeterId allocate(Switch theSwitch, String flowId, PathId pathId) {
-        return transactionManager.doInTransaction(() -> {
-            String noMetersErrorMessage = format("No meter available for switch %s", theSwitch);
+        return allocate(flowId, singletonList(new MeterRequest(theSwitch.getSwitchId(), pathId))).get(0);
+    }
 
-            MeterId availableMeterId = flowMeterRepository.findUnassignedMeterId(theSwitch.getSwitchId(), minMeterId)
-                    .orElseThrow(() -> new ResourceNotAvailableException(noMetersErrorMessage));
-            if (availableMeterId.compareTo(maxMeterId) > 0) {
-                throw new ResourceNotAvailableException(noMetersErrorMessage);
+    /**
+     * Allocates meters for the flow paths, one per request in the order of requests. The meters are persisted with
+     * a single write.
+     */
+    public List<MeterId> allocate(String flowId, List<MeterRequest> requests) {
+        return transactionManager.doInTransaction(() -> {
+            List<FlowMeter> flowMeters = new ArrayList<>(requests.size());
+            try {
+                for (MeterRequest request : requests) {
+                    SwitchId switchId = request.getSwitchId();
+                    MeterId availableMeterId = findUnassignedMeterId(switchId, flowMeters)
+                            .orElseThrow(() -> new ResourceNotAvailableException(
+                                    format("No meter available for switch %s", switchId)));
+
+                    flowMeters.add(FlowMeter.builder()
+                            .meterId(availableMeterId)
+                            .switchId(switchId)
+                            .flowId(flowId)
+                            .pathId(request.getPathId())
+                            .build());
+                }
+
+                flowMeterRepository.createOrUpdateAll(flowMeters);
+            } catch (RuntimeException e) {
+                flowMeters.forEach(this::releaseMeterId);
+                throw e;
             }
 
-            FlowMeter flowMeter = FlowMeter.builder()
-                    .meterId(availableMeterId)
-                    .switchId(theSwitch.getSwitchId())
-                    .flowId(flowId)
-                    .pathId(pathId)
-                    .build();
-            flowMeterRepository.createOrUpdate(flowMeter);
-
-            return flowMeter.getMeterId();
+            return flowMeters.stream()
+                    .map(FlowMeter::getMeterId)
+                    .collect(toList());
         });
     }
 
@@ -104,7 +140,74 @@ public class MeterPool {
                     .flatMap(Collection::stream)
                     .collect(toList());
 
-            meters.forEach(flowMeterRepository::delete);
+            meters.forEach(meter -> {
+                flowMeterRepository.delete(meter);
+                releaseMeterId(meter);
+            });
         });
     }
+
+    /**
+     * Takes a free meter from the free-list of the switch and checks it against the persistent storage, as the
+     * free-list isn't aware of meters allocated by other processes or of rolled back deallocations. The free-list is
+     * reloaded if it is found to be stale. Meters taken but not persisted yet are kept allocated on reload.
+     */
+    private Optional<MeterId> findUnassignedMeterId(SwitchId switchId, Collection<FlowMeter> taken) {
+        boolean reload = false;
+        while (true) {
+            Optional<MeterId> meterId = takeFreeMeterId(switchId, reload, taken);
+            if (!meterId.isPresent() || !flowMeterRepository.exists(switchId, meterId.get())) {
+                return meterId;
+            }
+            log.info("The meter {} on switch {} is allocated outside of the pool, reloading allocated meters",
+                    meterId.get(), switchId);
+            reload = true;
+        }
+    }
+
+    private synchronized Optional<MeterId> takeFreeMeterId(SwitchId switchId, boolean reload,
+                                                           Collection<FlowMeter> taken) {
+        FreeIdBitmap switchMeters = freeMeters.get(switchId);
+        if (switchMeters == null) {
+            switchMeters = new FreeIdBitmap(minMeterId.getValue(), maxMeterId.getValue(), startMeterId.getValue());
+            freeMeters.put(switchId, switchMeters);
+            reload = true;
+        }
+        if (reload) {
+            reloadFreeMeters(switchId, switchMeters, taken);
+        }
+
+        Optional<Long> meterId = switchMeters.allocate();
+        if (!meterId.isPresent() && !reload) {
+            log.info("No free meter left in memory for switch {}, reloading allocated meters", switchId);
+            reloadFreeMeters(switchId, switchMeters, taken);
+            meterId = switchMeters.allocate();
+        }
+        return meterId.map(MeterId::new);
+    }
+
+    private void reloadFreeMeters(SwitchId switchId, FreeIdBitmap switchMeters, Collection<FlowMeter> taken) {
+        switchMeters.clear();
+        flowMeterRepository.findBySwitchId(switchId)
+                .forEach(meter -> switchMeters.markAllocated(meter.getMeterId().getValue()));
+        taken.stream()
+                .filter(meter -> switchId.equals(meter.getSwitchId()))
+                .forEach(meter -> switchMeters.markAllocated(meter.getMeterId().getValue()));
+    }
+
+    private synchronized void releaseMeterId(FlowMeter meter) {
+        FreeIdBitmap switchMeters = freeMeters.get(meter.getSwitchId());
+        if (switchMeters != null) {
+            switchMeters.release(meter.getMeterId().getValue());
+        }
+    }
+
+    /**
+     * A meter to be allocated on the switch for the flow path.
+     */
+    @Value
+    public static class MeterRequest {
+        SwitchId switchId;
+        PathId pathId;
+    }
 }
@@ -23,6 +23,7 @@ import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.repositories.TransitVlanRepository;
 import org.openkilda.wfm.share.flow.resources.EncapsulationResourcesProvider;
+import org.openkilda.wfm.share.flow.resources.FreeIdBitmap;
 import org.openkilda.wfm.share.flow.resources.ResourceNotAvailableException;
 
 import lombok.extern.slf4j.Slf4j;
@@ -32,6 +33,11 @@ import java.util.Optional;
 
 /**
  * The resource pool is responsible for transit vlan de-/allocation.
+ * <p/>
+ * Free vlans are tracked in memory. A vlan taken from the free-list is checked against the persistent storage
+ * within the allocating transaction, and the free-list is reloaded when it is found to be stale or runs out of vlans.
+ * So allocations made by other processes and rolled back deallocations never lead to a collision. The allocation
+ * may start from a random vlan to make pools of different processes rarely pick the same one.
  */
 @Slf4j
 public class TransitVlanPool implements EncapsulationResourcesProvider<TransitVlanEncapsulation> {
@@ -40,14 +46,23 @@ public class TransitVlanPool implements EncapsulationResourcesProvider<TransitVl
 
     private final int minTransitVlan;
     private final int maxTransitVlan;
+    private final int startTransitVlan;
+
+    private FreeIdBitmap freeVlans;
 
     public TransitVlanPool(PersistenceManager persistenceManager, int minTransitVlan, int maxTransitVlan) {
+        this(persistenceManager, minTransitVlan, maxTransitVlan, minTransitVlan);
+    }
+
+    public TransitVlanPool(PersistenceManager persistenceManager, int minTransitVlan, int maxTransitVlan,
+                           int startTransitVlan) {
         transactionManager = persistenceManager.getTransactionManager();
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
         transitVlanRepository = repositoryFactory.createTransitVlanRepository();
 
         this.minTransitVlan = minTransitVlan;
         this.maxTransitVlan = maxTransitVlan;
+        this.startTransitVlan = startTransitVlan;
     }
 
     /**
@@ -61,18 +76,20 @@ public class TransitVlanPool implements EncapsulationResourcesProvider<TransitVl
 
     private TransitVlanEncapsulation allocate(Flow flow, PathId pathId) {
         return transactionManager.doInTransaction(() -> {
-            int availableVlan = transitVlanRepository.findUnassignedTransitVlan(minTransitVlan)
+            int availableVlan = findUnassignedTransitVlan()
                     .orElseThrow(() -> new ResourceNotAvailableException("No vlan available"));
-            if (availableVlan > maxTransitVlan) {
-                throw new ResourceNotAvailableException("No vlan available");
-            }
 
             TransitVlan transitVlan = TransitVlan.builder()
                     .vlan(availableVlan)
                     .flowId(flow.getFlowId())
                     .pathId(pathId)
                     .build();
-            transitVlanRepository.createOrUpdate(transitVlan);
+            try {
+                transitVlanRepository.createOrUpdate(transitVlan);
+            } catch (RuntimeException e) {
+                releaseTransitVlan(availableVlan);
+                throw e;
+            }
 
             return TransitVlanEncapsulation.builder()
                     .transitVlan(transitVlan)
@@ -87,7 +104,57 @@ public class TransitVlanPool implements EncapsulationResourcesProvider<TransitVl
     public void deallocate(PathId pathId) {
         transactionManager.doInTransaction(() ->
                 transitVlanRepository.findByPathId(pathId, null)
-                        .forEach(transitVlanRepository::delete));
+                        .forEach(transitVlan -> {
+                            transitVlanRepository.delete(transitVlan);
+                            releaseTransitVlan(transitVlan.getVlan());
+                        }));
+    }
+
+    /**
+     * Takes a free vlan from the free-list and checks it against the persistent storage, as the free-list isn't
+     * aware of vlans allocated by other processes or of rolled back deallocations. The free-list is reloaded if it is
+     * found to be stale.
+     */
+    private Optional<Integer> findUnassignedTransitVlan() {
+        boolean reload = false;
+        while (true) {
+            Optional<Integer> vlan = takeFreeTransitVlan(reload);
+            if (!vlan.isPresent() || !transitVlanRepository.exists(vlan.get())) {
+                return vlan;
+            }
+            log.info("The vlan {} is allocated outside of the pool, reloading allocated vlans", vlan.get());
+            reload = true;
+        }
+    }
+
+    private synchronized Optional<Integer> takeFreeTransitVlan(boolean reload) {
+        if (freeVlans == null) {
+            freeVlans = new FreeIdBitmap(minTransitVlan, maxTransitVlan, startTransitVlan);
+            reload = true;
+        }
+        if (reload) {
+            freeVlans.clear();
+            loadAllocatedTransitVlans();
+        }
+
+        Optional<Long> vlan = freeVlans.allocate();
+        if (!vlan.isPresent() && !reload) {
+            log.info("No free vlan left in memory, reloading allocated vlans");
+            freeVlans.clear();
+            loadAllocatedTransitVlans();
+            vlan = freeVlans.allocate();
+        }
+        return vlan.map(Long::intValue);
+    }
+
+    private synchronized void releaseTransitVlan(long vlan) {
+        if (freeVlans != null) {
+            freeVlans.release(vlan);
+        }
+    }
+
+    private void loadAllocatedTransitVlans() {
+        transitVlanRepository.findAll().forEach(transitVlan -> freeVlans.markAllocated(transitVlan.getVlan()));
     }
 
     /**
@@ -23,6 +23,7 @@ import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.repositories.VxlanRepository;
 import org.openkilda.wfm.share.flow.resources.EncapsulationResourcesProvider;
+import org.openkilda.wfm.share.flow.resources.FreeIdBitmap;
 import org.openkilda.wfm.share.flow.resources.ResourceNotAvailableException;
 
 import lombok.extern.slf4j.Slf4j;
@@ -32,6 +33,11 @@ import java.util.Optional;
 
 /**
  * The resource pool is responsible for vxlan de-/allocation.
+ * <p/>
+ * Free vxlans are tracked in memory. A vxlan taken from the free-list is checked against the persistent storage
+ * within the allocating transaction, and the free-list is reloaded when it is found to be stale or runs out of vxlans.
+ * So allocations made by other processes and rolled back deallocations never lead to a collision. The allocation
+ * may start from a random vxlan to make pools of different processes rarely pick the same one.
  */
 @Slf4j
 public class VxlanPool implements EncapsulationResourcesProvider<VxlanEncapsulation> {
@@ -40,14 +46,22 @@ public class VxlanPool implements EncapsulationResourcesProvider<VxlanEncapsulat
 
     private final int minVxlan;
     private final int maxVxlan;
+    private final int startVxlan;
+
+    private FreeIdBitmap freeVxlans;
 
     public VxlanPool(PersistenceManager persistenceManager, int minVxlan, int maxVxlan) {
+        this(persistenceManager, minVxlan, maxVxlan, minVxlan);
+    }
+
+    public VxlanPool(PersistenceManager persistenceManager, int minVxlan, int maxVxlan, int startVxlan) {
         transactionManager = persistenceManager.getTransactionManager();
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
         vxlanRepository = repositoryFactory.createVxlanRepository();
 
         this.minVxlan = minVxlan;
         this.maxVxlan = maxVxlan;
+        this.startVxlan = startVxlan;
     }
 
     /**
@@ -61,18 +75,20 @@ public class VxlanPool implements EncapsulationResourcesProvider<VxlanEncapsulat
 
     private VxlanEncapsulation allocate(Flow flow, PathId pathId) {
         return transactionManager.doInTransaction(() -> {
-            int availableVxlan = vxlanRepository.findUnassignedVxlan(minVxlan)
+            int availableVxlan = findUnassignedVxlan()
                     .orElseThrow(() -> new ResourceNotAvailableException("No vxlan available"));
-            if (availableVxlan > maxVxlan) {
-                throw new ResourceNotAvailableException("No vxlan available");
-            }
 
             Vxlan vxlan = Vxlan.builder()
                     .vni(availableVxlan)
                     .flowId(flow.getFlowId())
                     .pathId(pathId)
                     .build();
-            vxlanRepository.createOrUpdate(vxlan);
+            try {
+                vxlanRepository.createOrUpdate(vxlan);
+            } catch (RuntimeException e) {
+                releaseVxlan(availableVxlan);
+                throw e;
+            }
 
             return VxlanEncapsulation.builder()
                     .vxlan(vxlan)
@@ -87,7 +103,57 @@ public class VxlanPool implements EncapsulationResourcesProvider<VxlanEncapsulat
     public void deallocate(PathId pathId) {
         transactionManager.doInTransaction(() ->
                 vxlanRepository.findByPathId(pathId, null)
-                        .forEach(vxlanRepository::delete));
+                        .forEach(vxlan -> {
+                            vxlanRepository.delete(vxlan);
+                            releaseVxlan(vxlan.getVni());
+                        }));
+    }
+
+    /**
+     * Takes a free vxlan from the free-list and checks it against the persistent storage, as the free-list isn't
+     * aware of vxlans allocated by other processes or of rolled back deallocations. The free-list is reloaded if it is
+     * found to be stale.
+     */
+    private Optional<Integer> findUnassignedVxlan() {
+        boolean reload = false;
+        while (true) {
+            Optional<Integer> vxlan = takeFreeVxlan(reload);
+            if (!vxlan.isPresent() || !vxlanRepository.exists(vxlan.get())) {
+                return vxlan;
+            }
+            log.info("The vxlan {} is allocated outside of the pool, reloading allocated vxlans", vxlan.get());
+            reload = true;
+        }
+    }
+
+    private synchronized Optional<Integer> takeFreeVxlan(boolean reload) {
+        if (freeVxlans == null) {
+            freeVxlans = new FreeIdBitmap(minVxlan, maxVxlan, startVxlan);
+            reload = true;
+        }
+        if (reload) {
+            freeVxlans.clear();
+            loadAllocatedVxlans();
+        }
+
+        Optional<Long> vxlan = freeVxlans.allocate();
+        if (!vxlan.isPresent() && !reload) {
+            log.info("No free vxlan left in memory, reloading allocated vxlans");
+            freeVxlans.clear();
+            loadAllocatedVxlans();
+            vxlan = freeVxlans.allocate();
+        }
+        return vxlan.map(Long::intValue);
+    }
+
+    private synchronized void releaseVxlan(long vxlan) {
+        if (freeVxlans != null) {
+            freeVxlans.release(vxlan);
+        }
+    }
+
+    private void loadAllocatedVxlans() {
+        vxlanRepository.findAll().forEach(vxlan -> freeVxlans.markAllocated(vxlan.getVni()));
     }
 
     /**
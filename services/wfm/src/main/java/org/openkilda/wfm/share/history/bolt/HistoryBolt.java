@@ -19,35 +19,115 @@ import static org.openkilda.wfm.topology.utils.KafkaRecordTranslator.FIELD_ID_PA
 
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.share.history.model.FlowHistoryHolder;
 import org.openkilda.wfm.share.history.service.HistoryService;
+import org.openkilda.wfm.share.history.store.HistoryStoreConfig;
 
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.utils.TupleUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 public class HistoryBolt extends AbstractBolt {
     private final PersistenceManager persistenceManager;
+    private final HistoryStoreConfig historyStoreConfig;
     private transient HistoryService historyService;
+    private transient List<Tuple> pending;
 
-    public HistoryBolt(PersistenceManager persistenceManager) {
+    public HistoryBolt(PersistenceManager persistenceManager, HistoryStoreConfig historyStoreConfig) {
         this.persistenceManager = persistenceManager;
+        this.historyStoreConfig = historyStoreConfig;
     }
 
     @Override
     protected void init() {
-        historyService = new HistoryService(persistenceManager);
+        historyService = new HistoryService(persistenceManager.getTransactionManager(),
+                persistenceManager.getRepositoryFactory(), historyStoreConfig);
+        pending = new ArrayList<>();
     }
 
     @Override
     protected void handleInput(Tuple input) throws Exception {
-        Object payload = input.getValueByField(FIELD_ID_PAYLOAD);
-        if (payload instanceof FlowHistoryHolder) {
-            historyService.store((FlowHistoryHolder) payload);
+        if (TupleUtils.isTick(input)) {
+            flush();
+            historyService.maintain();
+            return;
+        }
+
+        if (isHistoryRecord(input)) {
+            pending.add(input);
+            if (pending.size() >= historyStoreConfig.getBatchSize()) {
+                flush();
+            }
         } else {
-            log.error("Skip undefined payload: {}", payload);
+            log.error("Skip undefined payload: {}", input.getValueByField(FIELD_ID_PAYLOAD));
+        }
+    }
+
+    /**
+     * Store collected records and ack their tuples. The batch is stored atomically, so if it fails, the records are
+     * stored one by one and the tuples of failed ones are failed to be replayed by the spout.
+     */
+    private void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<FlowHistoryHolder> historyHolders = new ArrayList<>(pending.size());
+        for (Tuple tuple : pending) {
+            historyHolders.add((FlowHistoryHolder) tuple.getValueByField(FIELD_ID_PAYLOAD));
+        }
+
+        try {
+            historyService.store(historyHolders);
+            pending.forEach(getOutput()::ack);
+        } catch (Exception e) {
+            log.warn("Unable to store batch of {} history records, store them one by one: {}",
+                    pending.size(), e.getMessage());
+            for (int i = 0; i < pending.size(); i++) {
+                try {
+                    historyService.store(historyHolders.get(i));
+                    getOutput().ack(pending.get(i));
+                } catch (Exception ex) {
+                    log.error("Unable to store history record {}", historyHolders.get(i), ex);
+                    getOutput().fail(pending.get(i));
+                }
+            }
+        } finally {
+            pending.clear();
+        }
+    }
+
+    /**
+     * History records are acked by {@link #flush()} once they are stored.
+     */
+    @Override
+    protected void ack(Tuple input) {
+        if (TupleUtils.isTick(input) || !isHistoryRecord(input)) {
+            super.ack(input);
         }
     }
 
+    private static boolean isHistoryRecord(Tuple input) {
+        return input.getValueByField(FIELD_ID_PAYLOAD) instanceof FlowHistoryHolder;
+    }
+
+    @Override
+    protected CommandContext setupCommandContext() {
+        if (TupleUtils.isTick(getCurrentTuple())) {
+            return new CommandContext();
+        }
+        return super.setupCommandContext();
+    }
+
+    @Override
+    public Map<String, Object> getComponentConfiguration() {
+        return TupleUtils.putTickFrequencyIntoComponentConfig(null, historyStoreConfig.getFlushInterval());
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
 
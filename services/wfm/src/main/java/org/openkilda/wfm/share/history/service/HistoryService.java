@@ -33,13 +33,22 @@ import org.openkilda.persistence.repositories.history.PortHistoryRepository;
 import org.openkilda.persistence.repositories.history.StateLogRepository;
 import org.openkilda.wfm.share.history.model.FlowHistoryHolder;
 import org.openkilda.wfm.share.history.model.PortHistoryData;
+import org.openkilda.wfm.share.history.store.FlowHistoryLog;
+import org.openkilda.wfm.share.history.store.HistoryStoreConfig;
+import org.openkilda.wfm.share.history.store.LogFlowEventRepository;
+import org.openkilda.wfm.share.history.store.LogFlowHistoryRepository;
+import org.openkilda.wfm.share.history.store.LogFlowStateRepository;
 import org.openkilda.wfm.share.mappers.HistoryMapper;
 
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Slf4j
@@ -51,16 +60,39 @@ public class HistoryService {
     private final HistoryLogRepository historyLogRepository;
     private final StateLogRepository stateLogRepository;
     private final PortHistoryRepository portHistoryRepository;
+    private final FlowHistoryLog historyLog;
 
     public HistoryService(PersistenceManager persistenceManager) {
         this(persistenceManager.getTransactionManager(), persistenceManager.getRepositoryFactory());
     }
 
     public HistoryService(TransactionManager transactionManager, RepositoryFactory repositoryFactory) {
+        this(transactionManager, repositoryFactory, (FlowHistoryLog) null);
+    }
+
+    public HistoryService(TransactionManager transactionManager, RepositoryFactory repositoryFactory,
+                          HistoryStoreConfig historyStoreConfig) {
+        this(transactionManager, repositoryFactory,
+                historyStoreConfig.isLogBackend() ? FlowHistoryLog.open(historyStoreConfig) : null);
+    }
+
+    /**
+     * Create history service. Flow events, flow history and flow dumps are kept in the history log if it is
+     * provided, otherwise all history data is kept in DB.
+     */
+    public HistoryService(TransactionManager transactionManager, RepositoryFactory repositoryFactory,
+                          FlowHistoryLog historyLog) {
         this.transactionManager = transactionManager;
-        flowEventRepository = repositoryFactory.createFlowEventRepository();
-        flowHistoryRepository = repositoryFactory.createFlowHistoryRepository();
-        flowStateRepository = repositoryFactory.createFlowStateRepository();
+        this.historyLog = historyLog;
+        if (historyLog != null) {
+            flowEventRepository = new LogFlowEventRepository(historyLog);
+            flowHistoryRepository = new LogFlowHistoryRepository(historyLog);
+            flowStateRepository = new LogFlowStateRepository(historyLog);
+        } else {
+            flowEventRepository = repositoryFactory.createFlowEventRepository();
+            flowHistoryRepository = repositoryFactory.createFlowHistoryRepository();
+            flowStateRepository = repositoryFactory.createFlowStateRepository();
+        }
         historyLogRepository = repositoryFactory.createHistoryLogRepository();
         stateLogRepository = repositoryFactory.createStateLogRepository();
         portHistoryRepository = repositoryFactory.createPortHistoryRepository();
@@ -72,20 +104,39 @@ public class HistoryService {
      * @param historyHolder holder of history information.
      */
     public void store(FlowHistoryHolder historyHolder) {
-        transactionManager.doInTransaction(() -> {
-            if (historyHolder.getFlowEventData() != null) {
-                FlowEvent event = HistoryMapper.INSTANCE.map(historyHolder.getFlowEventData());
-                store(historyHolder.getTaskId(), event);
-            }
+        store(Collections.singletonList(historyHolder));
+    }
 
-            if (historyHolder.getFlowHistoryData() != null) {
-                FlowHistory history = HistoryMapper.INSTANCE.map(historyHolder.getFlowHistoryData());
-                store(historyHolder.getTaskId(), history);
-            }
+    /**
+     * Save a batch of history data into data storage using one transaction (or one append into the history log).
+     *
+     * @param historyHolders holders of history information.
+     */
+    public void store(Collection<FlowHistoryHolder> historyHolders) {
+        if (historyLog != null) {
+            appendToLog(historyHolders);
+            return;
+        }
 
-            if (historyHolder.getFlowDumpData() != null) {
-                FlowDump dump = HistoryMapper.INSTANCE.map(historyHolder.getFlowDumpData());
-                store(historyHolder.getTaskId(), dump);
+        transactionManager.doInTransaction(() -> {
+            // FlowEvents stored by this batch, saves lookups in DB while linking history records
+            Map<String, FlowEvent> storedEvents = new HashMap<>();
+            for (FlowHistoryHolder historyHolder : historyHolders) {
+                if (historyHolder.getFlowEventData() != null) {
+                    FlowEvent event = HistoryMapper.INSTANCE.map(historyHolder.getFlowEventData());
+                    store(historyHolder.getTaskId(), event);
+                    storedEvents.put(historyHolder.getTaskId(), event);
+                }
+
+                if (historyHolder.getFlowHistoryData() != null) {
+                    FlowHistory history = HistoryMapper.INSTANCE.map(historyHolder.getFlowHistoryData());
+                    store(historyHolder.getTaskId(), history, storedEvents);
+                }
+
+                if (historyHolder.getFlowDumpData() != null) {
+                    FlowDump dump = HistoryMapper.INSTANCE.map(historyHolder.getFlowDumpData());
+                    store(historyHolder.getTaskId(), dump, storedEvents);
+                }
             }
         });
     }
@@ -100,39 +151,86 @@ public class HistoryService {
         flowEventRepository.createOrUpdate(flowEvent);
     }
 
-    private void store(String taskId, FlowHistory flowHistory) {
+    private void store(String taskId, FlowHistory flowHistory, Map<String, FlowEvent> storedEvents) {
         flowHistory.setTaskId(taskId);
 
-        transactionManager.doInTransaction(() -> {
-            flowHistoryRepository.createOrUpdate(flowHistory);
-            Optional<FlowEvent> flowEvents = flowEventRepository.findByTaskId(taskId);
-            if (flowEvents.isPresent()) {
-                historyLogRepository.createOrUpdate(HistoryLog.builder()
-                        .flowEvent(flowEvents.get())
-                        .flowHistory(flowHistory)
-                        .build());
-            } else {
-                log.warn("Unable to find related FlowEvent by taskId: {}", flowHistory.getTaskId());
-            }
-        });
+        flowHistoryRepository.createOrUpdate(flowHistory);
+        Optional<FlowEvent> flowEvents = findFlowEvent(taskId, storedEvents);
+        if (flowEvents.isPresent()) {
+            historyLogRepository.createOrUpdate(HistoryLog.builder()
+                    .flowEvent(flowEvents.get())
+                    .flowHistory(flowHistory)
+                    .build());
+        } else {
+            log.warn("Unable to find related FlowEvent by taskId: {}", flowHistory.getTaskId());
+        }
     }
 
-    private void store(String taskId, FlowDump flowDump) {
+    private void store(String taskId, FlowDump flowDump, Map<String, FlowEvent> storedEvents) {
         flowDump.setTaskId(taskId);
 
-        transactionManager.doInTransaction(() -> {
-            flowStateRepository.createOrUpdate(flowDump);
-            Optional<FlowEvent> flowEvents = flowEventRepository.findByTaskId(taskId);
-            if (flowEvents.isPresent()) {
-                stateLogRepository.createOrUpdate(StateLog.builder()
-                        .flowEvent(flowEvents.get())
-                        .flowDump(flowDump)
-                        .type(flowDump.getType())
-                        .build());
-            } else {
-                log.warn("Unable to find related FlowEvent by taskId: {}", flowDump.getTaskId());
+        flowStateRepository.createOrUpdate(flowDump);
+        Optional<FlowEvent> flowEvents = findFlowEvent(taskId, storedEvents);
+        if (flowEvents.isPresent()) {
+            stateLogRepository.createOrUpdate(StateLog.builder()
+                    .flowEvent(flowEvents.get())
+                    .flowDump(flowDump)
+                    .type(flowDump.getType())
+                    .build());
+        } else {
+            log.warn("Unable to find related FlowEvent by taskId: {}", flowDump.getTaskId());
+        }
+    }
+
+    /**
+     * Perform periodic maintenance of the history storage.
+     */
+    public void maintain() {
+        if (historyLog != null) {
+            historyLog.maintain();
+        }
+    }
+
+    private void appendToLog(Collection<FlowHistoryHolder> historyHolders) {
+        // records of the history log are linked by task id only
+        List<Object> records = new ArrayList<>();
+        for (FlowHistoryHolder historyHolder : historyHolders) {
+            if (historyHolder.getFlowEventData() != null) {
+                FlowEvent event = HistoryMapper.INSTANCE.map(historyHolder.getFlowEventData());
+                event.setTaskId(historyHolder.getTaskId());
+                records.add(event);
             }
-        });
+
+            if (historyHolder.getFlowHistoryData() != null) {
+                FlowHistory history = HistoryMapper.INSTANCE.map(historyHolder.getFlowHistoryData());
+                history.setTaskId(historyHolder.getTaskId());
+                records.add(history);
+            }
+
+            if (historyHolder.getFlowDumpData() != null) {
+                FlowDump dump = HistoryMapper.INSTANCE.map(historyHolder.getFlowDumpData());
+                dump.setTaskId(historyHolder.getTaskId());
+                records.add(dump);
+            }
+        }
+        historyLog.append(records);
+    }
+
+    private Optional<FlowEvent> findFlowEvent(String taskId, Map<String, FlowEvent> storedEvents) {
+        FlowEvent event = storedEvents.get(taskId);
+        if (event != null) {
+            return Optional.of(event);
+        }
+        Optional<FlowEvent> result = flowEventRepository.findByTaskId(taskId);
+        result.ifPresent(entry -> storedEvents.put(taskId, entry));
+        return result;
+    }
+
+    /**
+     * Check whether the history storage has flow events of the task.
+     */
+    public boolean hasFlowEvents(String taskId) {
+        return flowEventRepository.existsByTaskId(taskId);
     }
 
     public List<FlowEvent> listFlowEvents(String flowId, Instant timeFrom, Instant timeTo) {
@@ -0,0 +1,823 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.history.store;
+
+import org.openkilda.model.history.FlowDump;
+import org.openkilda.model.history.FlowEvent;
+import org.openkilda.model.history.FlowHistory;
+import org.openkilda.persistence.PersistenceException;
+
+import com.google.common.annotations.VisibleForTesting;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only segmented log of flow history records (flow events, flow history and flow dumps).
+ *
+ * <p>Each process writing into the log owns one writer directory under the log root (guarded by a file lock). A
+ * writer directory consists of fixed size memory-mapped segments. Records are framed as
+ * {@code [length][crc32][kind][appended at][entity]}, the length is written last so partially written records are
+ * never visible to readers. All writer directories are indexed in memory (by task id and by flow id and event
+ * time) and new records of other writers are picked up on each read.
+ *
+ * <p>Writers drop segments older than retention period, in their own directory and in directories left by stopped
+ * writers, and compact neighbour segments of their own directory partially filled with expired records. A compacted
+ * segment is named by the range of sequence numbers it replaces, so leftovers of interrupted compaction are detected
+ * and ignored.
+ *
+ * <p>The log root must be a volume mounted on every worker host, see {@link HistoryStoreConfig#getLogPath()}.
+ */
+@Slf4j
+public class FlowHistoryLog {
+    private static final String WRITER_DIRECTORY_PREFIX = "writer-";
+    private static final String LOCK_FILE_NAME = "writer.lock";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final Pattern SEGMENT_NAME = Pattern.compile("(\\d{19})-(\\d{19})\\.log");
+
+    // length + crc
+    private static final int FRAME_HEADER_SIZE = 8;
+    // kind + appended at
+    private static final int BODY_HEADER_SIZE = 9;
+    private static final Duration MAINTENANCE_INTERVAL = Duration.ofHours(1);
+
+    private static final Map<Path, FlowHistoryLog> sharedLogs = new HashMap<>();
+
+    private final Path root;
+    private final int segmentSize;
+    private final Duration retention;
+    private final Clock clock;
+
+    private final Map<Path, SegmentDirectory> directories = new HashMap<>();
+    private final Map<String, List<RecordRef>> eventsByTaskId = new HashMap<>();
+    private final Map<String, NavigableMap<Instant, List<RecordRef>>> eventsByFlowId = new HashMap<>();
+    private final Map<String, List<RecordRef>> historyByTaskId = new HashMap<>();
+    private final Map<String, List<RecordRef>> dumpsByTaskId = new HashMap<>();
+
+    private final ByteArrayOutputStream encodeBuffer = new ByteArrayOutputStream();
+    private Writer writer;
+    private Instant nextMaintenance = Instant.MIN;
+
+    /**
+     * Get log instance shared by all users of the same log root in this process.
+     */
+    public static FlowHistoryLog open(HistoryStoreConfig config) {
+        if (!config.isLogShared()) {
+            throw new IllegalStateException(String.format(
+                    "Flow history log %s must be on a volume shared by all worker hosts, confirm it with "
+                            + "history.store.log.shared or use the %s history backend",
+                    config.getLogPath(), HistoryStoreConfig.BACKEND_NEO4J));
+        }
+        Path root = Paths.get(config.getLogPath()).toAbsolutePath().normalize();
+        if (!Files.isDirectory(root) || !Files.isWritable(root)) {
+            throw new IllegalStateException(String.format(
+                    "Flow history log %s is not a writable directory, the shared volume must be mounted", root));
+        }
+        synchronized (sharedLogs) {
+            return sharedLogs.computeIfAbsent(root, path -> new FlowHistoryLog(
+                    path, config.getLogSegmentSizeMb() * 1024 * 1024,
+                    Duration.ofDays(config.getLogRetentionDays()), Clock.systemUTC()));
+        }
+    }
+
+    @VisibleForTesting
+    FlowHistoryLog(Path root, int segmentSize, Duration retention, Clock clock) {
+        this.root = root;
+        this.segmentSize = segmentSize;
+        this.retention = retention;
+        this.clock = clock;
+    }
+
+    /**
+     * Append history entities ({@link FlowEvent}, {@link FlowHistory} or {@link FlowDump}) and flush them to disk.
+     * The entities are appended atomically: if the append fails, none of them remains in the log.
+     */
+    public synchronized void append(Collection<?> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        long appendedAt = clock.millis();
+        List<RecordRef> written = new ArrayList<>(entities.size());
+        List<Object> writtenEntities = new ArrayList<>(entities.size());
+        try {
+            if (writer == null) {
+                writer = acquireWriter();
+            }
+            for (Object entity : entities) {
+                byte[] body = encode(entity, appendedAt);
+                if (FRAME_HEADER_SIZE + body.length > segmentSize) {
+                    log.error("Skip history record {} - its size {} exceeds log segment size {}",
+                            entity, body.length, segmentSize);
+                    continue;
+                }
+                Segment segment = writer.active;
+                if (segment == null || segment.end + FRAME_HEADER_SIZE + body.length > segment.buffer.capacity()) {
+                    segment = roll();
+                }
+                written.add(new RecordRef(segment, write(segment, body)));
+                writtenEntities.add(entity);
+            }
+            writer.active.buffer.force();
+        } catch (IOException e) {
+            discard(written);
+            throw new PersistenceException("Unable to append records into flow history log", e);
+        } catch (RuntimeException e) {
+            discard(written);
+            throw e;
+        }
+
+        for (int i = 0; i < written.size(); i++) {
+            RecordRef ref = written.get(i);
+            Object entity = writtenEntities.get(i);
+            ref.getSegment().newestRecord = Math.max(ref.getSegment().newestRecord, appendedAt);
+            index(ref, HistoryRecordCodec.kindOf(entity), entity);
+        }
+    }
+
+    /**
+     * Find flow events by task id.
+     */
+    public synchronized List<FlowEvent> findFlowEventsByTaskId(String taskId) {
+        refresh();
+        return read(eventsByTaskId.getOrDefault(taskId, Collections.emptyList()), FlowEvent.class);
+    }
+
+    /**
+     * Find flow events of the flow within the time frame (inclusive), ordered by event time.
+     */
+    public synchronized List<FlowEvent> findFlowEvents(String flowId, Instant timeFrom, Instant timeTo) {
+        refresh();
+        NavigableMap<Instant, List<RecordRef>> flowEvents = eventsByFlowId.get(flowId);
+        if (flowEvents == null || timeFrom.isAfter(timeTo)) {
+            return Collections.emptyList();
+        }
+        List<FlowEvent> result = new ArrayList<>();
+        for (List<RecordRef> refs : flowEvents.subMap(timeFrom, true, timeTo, true).values()) {
+            result.addAll(read(refs, FlowEvent.class));
+        }
+        return result;
+    }
+
+    public synchronized List<FlowHistory> findFlowHistory(String taskId) {
+        refresh();
+        return read(historyByTaskId.getOrDefault(taskId, Collections.emptyList()), FlowHistory.class);
+    }
+
+    public synchronized List<FlowDump> findFlowDumps(String taskId) {
+        refresh();
+        return read(dumpsByTaskId.getOrDefault(taskId, Collections.emptyList()), FlowDump.class);
+    }
+
+    /**
+     * Find all records of specified type.
+     */
+    public synchronized <T> List<T> findAll(Class<T> type) {
+        refresh();
+        Map<String, List<RecordRef>> index;
+        if (type == FlowEvent.class) {
+            index = eventsByTaskId;
+        } else if (type == FlowHistory.class) {
+            index = historyByTaskId;
+        } else if (type == FlowDump.class) {
+            index = dumpsByTaskId;
+        } else {
+            throw new IllegalArgumentException(String.format("Unsupported history entity type %s", type));
+        }
+        List<T> result = new ArrayList<>();
+        for (List<RecordRef> refs : index.values()) {
+            result.addAll(read(refs, type));
+        }
+        return result;
+    }
+
+    /**
+     * Drop expired segments and compact partially expired ones. Does nothing if it was done less than an hour ago
+     * or this process never wrote into the log.
+     */
+    public synchronized void maintain() {
+        Instant now = clock.instant();
+        if (writer == null || now.isBefore(nextMaintenance)) {
+            return;
+        }
+        nextMaintenance = now.plus(MAINTENANCE_INTERVAL);
+        try {
+            int removed = applyRetention();
+            int compacted = compact();
+            if (removed > 0 || compacted > 0) {
+                log.info("Flow history log maintenance: {} segments expired, {} segments compacted",
+                        removed, compacted);
+            }
+        } catch (IOException e) {
+            log.error("Flow history log maintenance has failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Release writer directory of this process.
+     */
+    public synchronized void close() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            if (writer.active != null) {
+                writer.active.buffer.force();
+            }
+            writer.lock.release();
+            writer.lockChannel.close();
+        } catch (IOException e) {
+            log.error("Unable to release flow history log writer {}: {}", writer.directory.path, e.getMessage());
+        }
+        writer = null;
+    }
+
+    @VisibleForTesting
+    synchronized int applyRetention() throws IOException {
+        long cutoff = clock.millis() - retention.toMillis();
+        refresh();
+        int removed = 0;
+        try {
+            for (SegmentDirectory directory : new ArrayList<>(directories.values())) {
+                if (directory == writer.directory) {
+                    removed += expire(directory, writer.active, cutoff);
+                } else {
+                    removed += expireAbandoned(directory, cutoff);
+                }
+            }
+        } finally {
+            if (removed > 0) {
+                rebuildIndex();
+            }
+        }
+        return removed;
+    }
+
+    @VisibleForTesting
+    synchronized int compact() throws IOException {
+        long cutoff = clock.millis() - retention.toMillis();
+        List<List<Segment>> groups = new ArrayList<>();
+        List<Segment> group = new ArrayList<>();
+        long groupSize = 0;
+        for (Segment segment : writer.directory.segments.values()) {
+            if (segment == writer.active) {
+                break;
+            }
+            long size = liveSize(segment, cutoff);
+            if (!group.isEmpty() && groupSize + size > segmentSize) {
+                groups.add(group);
+                group = new ArrayList<>();
+                groupSize = 0;
+            }
+            group.add(segment);
+            groupSize += size;
+        }
+        groups.add(group);
+
+        int compacted = 0;
+        try {
+            for (List<Segment> entry : groups) {
+                if (entry.size() > 1) {
+                    merge(entry, cutoff);
+                    compacted += entry.size();
+                }
+            }
+        } finally {
+            if (compacted > 0) {
+                rebuildIndex();
+            }
+        }
+        return compacted;
+    }
+
+    private int expire(SegmentDirectory directory, Segment active, long cutoff) throws IOException {
+        List<Segment> expired = new ArrayList<>();
+        for (Segment segment : directory.segments.values()) {
+            if (segment != active && segment.newestRecord < cutoff) {
+                expired.add(segment);
+            }
+        }
+        for (Segment segment : expired) {
+            drop(directory, segment);
+        }
+        return expired.size();
+    }
+
+    /**
+     * Expire segments of a writer directory which has no running writer. Directories of running writers are
+     * expired by their owners.
+     */
+    private int expireAbandoned(SegmentDirectory directory, long cutoff) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory.path.resolve(LOCK_FILE_NAME),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileLock lock;
+            try {
+                lock = channel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                // locked by other log instance of this process
+                return 0;
+            }
+            if (lock == null) {
+                return 0;
+            }
+            // the last writer could append or compact between the refresh and the lock
+            if (!refresh(directory)) {
+                rebuildIndex();
+            }
+            // closing the channel releases the lock
+            return expire(directory, null, cutoff);
+        }
+    }
+
+    private Writer acquireWriter() throws IOException {
+        Files.createDirectories(root);
+        refresh();
+        for (int i = 0; ; i++) {
+            Path path = root.resolve(String.format("%s%03d", WRITER_DIRECTORY_PREFIX, i));
+            Files.createDirectories(path);
+            FileChannel channel = FileChannel.open(path.resolve(LOCK_FILE_NAME),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock lock = null;
+            try {
+                lock = channel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                // locked by other log instance of this process
+            }
+            if (lock == null) {
+                channel.close();
+                continue;
+            }
+
+            removeCompactionLeftovers(path);
+            SegmentDirectory directory = directories.computeIfAbsent(path, SegmentDirectory::new);
+            refresh(directory);
+            Segment active = null;
+            if (!directory.segments.isEmpty()) {
+                active = directory.segments.lastEntry().getValue();
+                active.buffer = map(active.file, Files.size(active.file), MapMode.READ_WRITE);
+            }
+            log.info("Acquired flow history log writer directory {}", path);
+            return new Writer(directory, channel, lock, active);
+        }
+    }
+
+    private Segment roll() throws IOException {
+        Segment previous = writer.active;
+        long sequence = 0;
+        if (previous != null) {
+            previous.buffer.force();
+            sequence = previous.lastSequence + 1;
+        }
+        Path file = writer.directory.path.resolve(segmentName(sequence, sequence));
+        Segment segment = new Segment(file, sequence, sequence, map(file, segmentSize, MapMode.READ_WRITE));
+        writer.directory.segments.put(sequence, segment);
+        writer.active = segment;
+        return segment;
+    }
+
+    private byte[] encode(Object entity, long appendedAt) throws IOException {
+        encodeBuffer.reset();
+        DataOutputStream output = new DataOutputStream(encodeBuffer);
+        output.writeByte(HistoryRecordCodec.kindOf(entity));
+        output.writeLong(appendedAt);
+        HistoryRecordCodec.encode(entity, output);
+        output.flush();
+        return encodeBuffer.toByteArray();
+    }
+
+    private int write(Segment segment, byte[] body) {
+        int position = segment.end;
+        ByteBuffer target = segment.buffer.duplicate();
+        target.position(position + FRAME_HEADER_SIZE);
+        target.put(body);
+
+        CRC32 crc = new CRC32();
+        crc.update(body, 0, body.length);
+        segment.buffer.putInt(position + 4, (int) crc.getValue());
+        // length is written last, it makes the record visible for readers
+        segment.buffer.putInt(position, body.length);
+        segment.end = position + FRAME_HEADER_SIZE + body.length;
+        return position;
+    }
+
+    /**
+     * Make records written by a failed append invisible for readers and reuse their space.
+     */
+    private void discard(List<RecordRef> written) {
+        for (int i = written.size() - 1; i >= 0; i--) {
+            RecordRef ref = written.get(i);
+            MappedByteBuffer buffer = ref.getSegment().buffer;
+            int position = ref.getPosition();
+            int end = position + FRAME_HEADER_SIZE + buffer.getInt(position);
+            // the length goes first, it hides the record from readers
+            for (int offset = position; offset < end; offset++) {
+                buffer.put(offset, (byte) 0);
+            }
+            ref.getSegment().end = position;
+        }
+        if (!written.isEmpty()) {
+            log.warn("Discarded {} flow history log records of failed append", written.size());
+        }
+    }
+
+    private void refresh() {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(root, WRITER_DIRECTORY_PREFIX + "*")) {
+                for (Path path : stream) {
+                    if (Files.isDirectory(path)
+                            && !refresh(directories.computeIfAbsent(path, SegmentDirectory::new))) {
+                        rebuildIndex();
+                        return;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new PersistenceException("Unable to read flow history log", e);
+        }
+    }
+
+    /**
+     * Index new segments and records of the writer directory.
+     *
+     * @return false if some indexed segments were removed, so the index must be rebuilt
+     */
+    private boolean refresh(SegmentDirectory directory) throws IOException {
+        NavigableMap<Long, SegmentName> actual = listSegments(directory.path);
+        for (Segment segment : directory.segments.values()) {
+            if (!isListed(actual, segment)) {
+                return false;
+            }
+        }
+        for (SegmentName name : actual.values()) {
+            Segment segment = directory.segments.get(name.getFirstSequence());
+            if (segment == null) {
+                Path file = directory.path.resolve(segmentName(name.getFirstSequence(), name.getLastSequence()));
+                long size = Files.size(file);
+                if (size < FRAME_HEADER_SIZE) {
+                    // segment is being created right now
+                    continue;
+                }
+                segment = new Segment(file, name.getFirstSequence(), name.getLastSequence(),
+                        map(file, size, MapMode.READ_ONLY));
+                directory.segments.put(name.getFirstSequence(), segment);
+            }
+            scan(segment);
+        }
+        return true;
+    }
+
+    private void rebuildIndex() throws IOException {
+        eventsByTaskId.clear();
+        eventsByFlowId.clear();
+        historyByTaskId.clear();
+        dumpsByTaskId.clear();
+
+        for (SegmentDirectory directory : directories.values()) {
+            NavigableMap<Long, SegmentName> actual = listSegments(directory.path);
+            directory.segments.values().removeIf(segment -> {
+                if (isListed(actual, segment)) {
+                    return false;
+                }
+                // removed by the owner of the directory
+                unmap(segment);
+                return true;
+            });
+            for (Segment segment : directory.segments.values()) {
+                segment.end = 0;
+                segment.newestRecord = Long.MIN_VALUE;
+            }
+            refresh(directory);
+        }
+    }
+
+    private void scan(Segment segment) {
+        ByteBuffer buffer = segment.buffer;
+        int position = segment.end;
+        while (true) {
+            int length = readFrameLength(buffer, position);
+            if (length <= 0) {
+                break;
+            }
+            ByteBuffer body = slice(buffer, position, length);
+            long appendedAt = body.getLong(body.position() + 1);
+            byte kind = body.get();
+            body.getLong();
+            index(new RecordRef(segment, position), kind, HistoryRecordCodec.decode(kind, body));
+            segment.newestRecord = Math.max(segment.newestRecord, appendedAt);
+            position += FRAME_HEADER_SIZE + length;
+        }
+        segment.end = position;
+    }
+
+    /**
+     * Length of valid record at position or 0 if there is no complete record.
+     */
+    private static int readFrameLength(ByteBuffer buffer, int position) {
+        if (position + FRAME_HEADER_SIZE > buffer.capacity()) {
+            return 0;
+        }
+        int length = buffer.getInt(position);
+        if (length < BODY_HEADER_SIZE || position + FRAME_HEADER_SIZE + length > buffer.capacity()) {
+            return 0;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(slice(buffer, position, length));
+        if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+            return 0;
+        }
+        return length;
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int position, int length) {
+        ByteBuffer body = buffer.duplicate();
+        body.limit(position + FRAME_HEADER_SIZE + length);
+        body.position(position + FRAME_HEADER_SIZE);
+        return body;
+    }
+
+    private void index(RecordRef ref, byte kind, Object entity) {
+        switch (kind) {
+            case HistoryRecordCodec.KIND_FLOW_EVENT:
+                FlowEvent event = (FlowEvent) entity;
+                eventsByTaskId.computeIfAbsent(event.getTaskId(), key -> new ArrayList<>()).add(ref);
+                if (event.getFlowId() != null && event.getTimestamp() != null) {
+                    eventsByFlowId.computeIfAbsent(event.getFlowId(), key -> new TreeMap<>())
+                            .computeIfAbsent(event.getTimestamp(), key -> new ArrayList<>(1))
+                            .add(ref);
+                }
+                break;
+            case HistoryRecordCodec.KIND_FLOW_HISTORY:
+                historyByTaskId.computeIfAbsent(((FlowHistory) entity).getTaskId(), key -> new ArrayList<>())
+                        .add(ref);
+                break;
+            case HistoryRecordCodec.KIND_FLOW_DUMP:
+                dumpsByTaskId.computeIfAbsent(((FlowDump) entity).getTaskId(), key -> new ArrayList<>())
+                        .add(ref);
+                break;
+            default:
+                log.warn("Skip flow history log record with unknown kind {} in {}", kind, ref.getSegment().file);
+        }
+    }
+
+    private <T> List<T> read(List<RecordRef> refs, Class<T> type) {
+        List<T> result = new ArrayList<>(refs.size());
+        for (RecordRef ref : refs) {
+            ByteBuffer buffer = ref.getSegment().buffer;
+            ByteBuffer body = slice(buffer, ref.getPosition(), buffer.getInt(ref.getPosition()));
+            byte kind = body.get();
+            body.getLong();
+            result.add(type.cast(HistoryRecordCodec.decode(kind, body)));
+        }
+        return result;
+    }
+
+    private long liveSize(Segment segment, long cutoff) {
+        long size = 0;
+        int position = 0;
+        while (position < segment.end) {
+            int frameSize = FRAME_HEADER_SIZE + segment.buffer.getInt(position);
+            if (segment.buffer.getLong(position + FRAME_HEADER_SIZE + 1) >= cutoff) {
+                size += frameSize;
+            }
+            position += frameSize;
+        }
+        return size;
+    }
+
+    private void merge(List<Segment> group, long cutoff) throws IOException {
+        Segment first = group.get(0);
+        Segment last = group.get(group.size() - 1);
+        Path target = writer.directory.path.resolve(segmentName(first.firstSequence, last.lastSequence));
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+
+        MappedByteBuffer output = map(temp, segmentSize, MapMode.READ_WRITE);
+        for (Segment segment : group) {
+            int position = 0;
+            while (position < segment.end) {
+                int frameSize = FRAME_HEADER_SIZE + segment.buffer.getInt(position);
+                if (segment.buffer.getLong(position + FRAME_HEADER_SIZE + 1) >= cutoff) {
+                    ByteBuffer frame = segment.buffer.duplicate();
+                    frame.limit(position + frameSize);
+                    frame.position(position);
+                    output.put(frame);
+                }
+                position += frameSize;
+            }
+        }
+        output.force();
+        unmap(output);
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+
+        for (Segment segment : group) {
+            drop(writer.directory, segment);
+        }
+    }
+
+    /**
+     * Unmap and delete the segment of the writer directory. The index must be rebuilt afterwards.
+     */
+    private void drop(SegmentDirectory directory, Segment segment) throws IOException {
+        directory.segments.remove(segment.firstSequence);
+        unmap(segment);
+        Files.deleteIfExists(segment.file);
+    }
+
+    private void removeCompactionLeftovers(Path path) throws IOException {
+        NavigableMap<Long, SegmentName> actual = listSegments(path);
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(path)) {
+            for (Path file : stream) {
+                String fileName = file.getFileName().toString();
+                Matcher matcher = SEGMENT_NAME.matcher(fileName);
+                boolean stale = fileName.endsWith(TEMP_SUFFIX);
+                if (matcher.matches()) {
+                    SegmentName name = new SegmentName(
+                            Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(2)));
+                    stale = !name.equals(actual.get(name.getFirstSequence()));
+                }
+                if (stale) {
+                    log.info("Remove flow history log leftover {}", file);
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * List segments of writer directory ordered by sequence number. Segments covered by a compacted segment are
+     * leftovers of interrupted compaction and are not listed.
+     */
+    private static NavigableMap<Long, SegmentName> listSegments(Path path) throws IOException {
+        List<SegmentName> names = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(path)) {
+            for (Path file : stream) {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    names.add(new SegmentName(Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(2))));
+                }
+            }
+        }
+        names.sort((left, right) -> left.getFirstSequence() != right.getFirstSequence()
+                ? Long.compare(left.getFirstSequence(), right.getFirstSequence())
+                : Long.compare(right.getLastSequence(), left.getLastSequence()));
+
+        NavigableMap<Long, SegmentName> result = new TreeMap<>();
+        long covered = -1;
+        for (SegmentName name : names) {
+            if (name.getLastSequence() > covered) {
+                result.put(name.getFirstSequence(), name);
+                covered = name.getLastSequence();
+            }
+        }
+        return result;
+    }
+
+    private static boolean isListed(Map<Long, SegmentName> actual, Segment segment) {
+        SegmentName name = actual.get(segment.firstSequence);
+        return name != null && name.getLastSequence() == segment.lastSequence;
+    }
+
+    private static String segmentName(long firstSequence, long lastSequence) {
+        return String.format("%019d-%019d.log", firstSequence, lastSequence);
+    }
+
+    private static MappedByteBuffer map(Path file, long size, MapMode mode) throws IOException {
+        StandardOpenOption[] options = mode == MapMode.READ_ONLY
+                ? new StandardOpenOption[]{StandardOpenOption.READ}
+                : new StandardOpenOption[]{
+                        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE};
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            return channel.map(mode, 0, size);
+        }
+    }
+
+    /**
+     * Release the mapping right away instead of waiting for GC, so the disk space of deleted segments is freed. The
+     * segment must not be read afterwards.
+     */
+    private static void unmap(Segment segment) {
+        if (segment.buffer != null) {
+            unmap(segment.buffer);
+            segment.buffer = null;
+        }
+    }
+
+    private static void unmap(MappedByteBuffer buffer) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            try {
+                // java 9+
+                Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                invokeCleaner.invoke(theUnsafe.get(null), buffer);
+            } catch (NoSuchMethodException e) {
+                // java 8
+                Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                cleanerMethod.setAccessible(true);
+                Object cleaner = cleanerMethod.invoke(buffer);
+                if (cleaner != null) {
+                    cleaner.getClass().getMethod("clean").invoke(cleaner);
+                }
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.debug("Unable to unmap flow history log segment, it is released by GC: {}", e.getMessage());
+        }
+    }
+
+    private static final class Writer {
+        private final SegmentDirectory directory;
+        private final FileChannel lockChannel;
+        private final FileLock lock;
+        private Segment active;
+
+        private Writer(SegmentDirectory directory, FileChannel lockChannel, FileLock lock, Segment active) {
+            this.directory = directory;
+            this.lockChannel = lockChannel;
+            this.lock = lock;
+            this.active = active;
+        }
+    }
+
+    private static final class SegmentDirectory {
+        private final Path path;
+        private final NavigableMap<Long, Segment> segments = new TreeMap<>();
+
+        private SegmentDirectory(Path path) {
+            this.path = path;
+        }
+    }
+
+    private static final class Segment {
+        private final Path file;
+        private final long firstSequence;
+        private final long lastSequence;
+        private MappedByteBuffer buffer;
+        private int end;
+        private long newestRecord = Long.MIN_VALUE;
+
+        private Segment(Path file, long firstSequence, long lastSequence, MappedByteBuffer buffer) {
+            this.file = file;
+            this.firstSequence = firstSequence;
+            this.lastSequence = lastSequence;
+            this.buffer = buffer;
+        }
+    }
+
+    @Value
+    private static class SegmentName {
+        long firstSequence;
+        long lastSequence;
+    }
+
+    @Value
+    private static class RecordRef {
+        Segment segment;
+        int position;
+    }
+}
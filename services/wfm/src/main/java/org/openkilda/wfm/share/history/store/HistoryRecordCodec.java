@@ -0,0 +1,218 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.history.store;
+
+import org.openkilda.model.Cookie;
+import org.openkilda.model.FlowPathStatus;
+import org.openkilda.model.MeterId;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.history.FlowDump;
+import org.openkilda.model.history.FlowEvent;
+import org.openkilda.model.history.FlowHistory;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Binary encoding of history entities stored in {@link FlowHistoryLog}.
+ */
+final class HistoryRecordCodec {
+    static final byte KIND_FLOW_EVENT = 1;
+    static final byte KIND_FLOW_HISTORY = 2;
+    static final byte KIND_FLOW_DUMP = 3;
+
+    private HistoryRecordCodec() {
+    }
+
+    static byte kindOf(Object entity) {
+        if (entity instanceof FlowEvent) {
+            return KIND_FLOW_EVENT;
+        } else if (entity instanceof FlowHistory) {
+            return KIND_FLOW_HISTORY;
+        } else if (entity instanceof FlowDump) {
+            return KIND_FLOW_DUMP;
+        }
+        throw new IllegalArgumentException(String.format("Unsupported history entity %s", entity));
+    }
+
+    static void encode(Object entity, DataOutput output) throws IOException {
+        switch (kindOf(entity)) {
+            case KIND_FLOW_EVENT:
+                encodeFlowEvent((FlowEvent) entity, output);
+                break;
+            case KIND_FLOW_HISTORY:
+                encodeFlowHistory((FlowHistory) entity, output);
+                break;
+            default:
+                encodeFlowDump((FlowDump) entity, output);
+        }
+    }
+
+    static Object decode(byte kind, ByteBuffer input) {
+        switch (kind) {
+            case KIND_FLOW_EVENT:
+                return decodeFlowEvent(input);
+            case KIND_FLOW_HISTORY:
+                return decodeFlowHistory(input);
+            case KIND_FLOW_DUMP:
+                return decodeFlowDump(input);
+            default:
+                throw new IllegalArgumentException(String.format("Unsupported history record kind %d", kind));
+        }
+    }
+
+    private static void encodeFlowEvent(FlowEvent event, DataOutput output) throws IOException {
+        writeString(output, event.getFlowId());
+        writeInstant(output, event.getTimestamp());
+        writeString(output, event.getActor());
+        writeString(output, event.getAction());
+        writeString(output, event.getTaskId());
+        writeString(output, event.getDetails());
+    }
+
+    private static FlowEvent decodeFlowEvent(ByteBuffer input) {
+        return FlowEvent.builder()
+                .flowId(readString(input))
+                .timestamp(readInstant(input))
+                .actor(readString(input))
+                .action(readString(input))
+                .taskId(readString(input))
+                .details(readString(input))
+                .build();
+    }
+
+    private static void encodeFlowHistory(FlowHistory history, DataOutput output) throws IOException {
+        writeInstant(output, history.getTimestamp());
+        writeString(output, history.getAction());
+        writeString(output, history.getTaskId());
+        writeString(output, history.getDetails());
+    }
+
+    private static FlowHistory decodeFlowHistory(ByteBuffer input) {
+        return FlowHistory.builder()
+                .timestamp(readInstant(input))
+                .action(readString(input))
+                .taskId(readString(input))
+                .details(readString(input))
+                .build();
+    }
+
+    private static void encodeFlowDump(FlowDump dump, DataOutput output) throws IOException {
+        writeString(output, dump.getTaskId());
+        writeString(output, dump.getFlowId());
+        writeString(output, dump.getType());
+        output.writeLong(dump.getBandwidth());
+        output.writeBoolean(dump.isIgnoreBandwidth());
+        writeNullableLong(output, dump.getForwardCookie() != null ? dump.getForwardCookie().getValue() : null);
+        writeNullableLong(output, dump.getReverseCookie() != null ? dump.getReverseCookie().getValue() : null);
+        writeNullableLong(output, dump.getSourceSwitch() != null ? dump.getSourceSwitch().toLong() : null);
+        writeNullableLong(output, dump.getDestinationSwitch() != null ? dump.getDestinationSwitch().toLong() : null);
+        output.writeInt(dump.getSourcePort());
+        output.writeInt(dump.getDestinationPort());
+        output.writeInt(dump.getSourceVlan());
+        output.writeInt(dump.getDestinationVlan());
+        writeNullableLong(output, dump.getForwardMeterId() != null ? dump.getForwardMeterId().getValue() : null);
+        writeNullableLong(output, dump.getReverseMeterId() != null ? dump.getReverseMeterId().getValue() : null);
+        writeString(output, dump.getForwardPath());
+        writeString(output, dump.getReversePath());
+        writeString(output, dump.getForwardStatus() != null ? dump.getForwardStatus().name() : null);
+        writeString(output, dump.getReverseStatus() != null ? dump.getReverseStatus().name() : null);
+    }
+
+    private static FlowDump decodeFlowDump(ByteBuffer input) {
+        FlowDump dump = new FlowDump();
+        dump.setTaskId(readString(input));
+        dump.setFlowId(readString(input));
+        dump.setType(readString(input));
+        dump.setBandwidth(input.getLong());
+        dump.setIgnoreBandwidth(input.get() != 0);
+        Long value = readNullableLong(input);
+        dump.setForwardCookie(value != null ? new Cookie(value) : null);
+        value = readNullableLong(input);
+        dump.setReverseCookie(value != null ? new Cookie(value) : null);
+        value = readNullableLong(input);
+        dump.setSourceSwitch(value != null ? new SwitchId(value) : null);
+        value = readNullableLong(input);
+        dump.setDestinationSwitch(value != null ? new SwitchId(value) : null);
+        dump.setSourcePort(input.getInt());
+        dump.setDestinationPort(input.getInt());
+        dump.setSourceVlan(input.getInt());
+        dump.setDestinationVlan(input.getInt());
+        value = readNullableLong(input);
+        dump.setForwardMeterId(value != null ? new MeterId(value) : null);
+        value = readNullableLong(input);
+        dump.setReverseMeterId(value != null ? new MeterId(value) : null);
+        dump.setForwardPath(readString(input));
+        dump.setReversePath(readString(input));
+        String status = readString(input);
+        dump.setForwardStatus(status != null ? FlowPathStatus.valueOf(status) : null);
+        status = readString(input);
+        dump.setReverseStatus(status != null ? FlowPathStatus.valueOf(status) : null);
+        return dump;
+    }
+
+    private static void writeString(DataOutput output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(ByteBuffer input) {
+        int length = input.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        input.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeInstant(DataOutput output, Instant value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeLong(value.getEpochSecond());
+            output.writeInt(value.getNano());
+        }
+    }
+
+    private static Instant readInstant(ByteBuffer input) {
+        if (input.get() == 0) {
+            return null;
+        }
+        return Instant.ofEpochSecond(input.getLong(), input.getInt());
+    }
+
+    private static void writeNullableLong(DataOutput output, Long value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeLong(value);
+        }
+    }
+
+    private static Long readNullableLong(ByteBuffer input) {
+        if (input.get() == 0) {
+            return null;
+        }
+        return input.getLong();
+    }
+}
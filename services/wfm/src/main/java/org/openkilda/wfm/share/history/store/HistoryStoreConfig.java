@@ -0,0 +1,84 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.history.store;
+
+import com.sabre.oss.conf4j.annotation.Configuration;
+import com.sabre.oss.conf4j.annotation.Default;
+import com.sabre.oss.conf4j.annotation.Key;
+
+import java.io.Serializable;
+import javax.validation.constraints.Min;
+
+@Configuration
+@Key("history.store")
+public interface HistoryStoreConfig extends Serializable {
+    String BACKEND_NEO4J = "neo4j";
+    String BACKEND_LOG = "log";
+
+    /**
+     * Storage for flow events, flow history and flow dumps: "neo4j" or "log" (local append-only segmented log).
+     */
+    @Key("backend")
+    @Default(BACKEND_NEO4J)
+    String getBackend();
+
+    /**
+     * Root directory of the history log. Must be a volume mounted on every worker host (with working file locks,
+     * e.g. NFSv4), because each worker reads the records appended by all the others.
+     */
+    @Key("log.path")
+    @Default("/var/lib/kilda/history")
+    String getLogPath();
+
+    /**
+     * Confirms that the log path is a shared volume. The log backend refuses to start without it, a host local
+     * directory silently splits flow history between hosts. Use the neo4j backend if there is no shared volume.
+     */
+    @Key("log.shared")
+    @Default("false")
+    boolean isLogShared();
+
+    @Key("log.segment.size.mb")
+    @Default("64")
+    @Min(1)
+    int getLogSegmentSizeMb();
+
+    @Key("log.retention.days")
+    @Default("90")
+    @Min(1)
+    int getLogRetentionDays();
+
+    /**
+     * Max amount of history records collected by history bolt before write.
+     */
+    @Key("batch.size")
+    @Default("100")
+    @Min(1)
+    int getBatchSize();
+
+    /**
+     * How often history bolt writes collected history records in seconds. Collected records are acked only once they
+     * are written, so the interval must be well below the topology message timeout.
+     */
+    @Key("flush.interval")
+    @Default("1")
+    @Min(1)
+    int getFlushInterval();
+
+    default boolean isLogBackend() {
+        return BACKEND_LOG.equalsIgnoreCase(getBackend());
+    }
+}
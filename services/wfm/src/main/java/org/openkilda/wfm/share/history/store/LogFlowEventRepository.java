@@ -0,0 +1,74 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.history.store;
+
+import static java.lang.String.format;
+
+import org.openkilda.model.history.FlowEvent;
+import org.openkilda.persistence.PersistenceException;
+import org.openkilda.persistence.repositories.history.FlowEventRepository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link FlowEventRepository} backed by {@link FlowHistoryLog}. The log is append-only, so entities can't be
+ * updated or deleted.
+ */
+public class LogFlowEventRepository implements FlowEventRepository {
+    private final FlowHistoryLog historyLog;
+
+    public LogFlowEventRepository(FlowHistoryLog historyLog) {
+        this.historyLog = historyLog;
+    }
+
+    @Override
+    public Collection<FlowEvent> findAll() {
+        return historyLog.findAll(FlowEvent.class);
+    }
+
+    @Override
+    public void createOrUpdate(FlowEvent entity) {
+        historyLog.append(Collections.singletonList(entity));
+    }
+
+    @Override
+    public void delete(FlowEvent entity) {
+        throw new UnsupportedOperationException("Flow history log is append-only");
+    }
+
+    @Override
+    public boolean existsByTaskId(String taskId) {
+        return !historyLog.findFlowEventsByTaskId(taskId).isEmpty();
+    }
+
+    @Override
+    public Optional<FlowEvent> findByTaskId(String taskId) {
+        List<FlowEvent> flowEvents = historyLog.findFlowEventsByTaskId(taskId);
+        if (flowEvents.size() > 1) {
+            throw new PersistenceException(format("Found more than 1 FlowEvent entity by %s as taskId", taskId));
+        }
+        return flowEvents.isEmpty() ? Optional.empty() : Optional.of(flowEvents.get(0));
+    }
+
+    @Override
+    public Collection<FlowEvent> findByFlowIdAndTimeFrame(String flowId, Instant timeFrom, Instant timeTo) {
+        return historyLog.findFlowEvents(flowId, timeFrom, timeTo);
+    }
+}
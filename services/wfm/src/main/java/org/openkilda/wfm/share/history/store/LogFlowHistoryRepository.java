@@ -0,0 +1,54 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.history.store;
+
+import org.openkilda.model.history.FlowHistory;
+import org.openkilda.persistence.repositories.history.FlowHistoryRepository;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * {@link FlowHistoryRepository} backed by {@link FlowHistoryLog}. The log is append-only, so entities can't be
+ * updated or deleted.
+ */
+public class LogFlowHistoryRepository implements FlowHistoryRepository {
+    private final FlowHistoryLog historyLog;
+
+    public LogFlowHistoryRepository(FlowHistoryLog historyLog) {
+        this.historyLog = historyLog;
+    }
+
+    @Override
+    public Collection<FlowHistory> findAll() {
+        return historyLog.findAll(FlowHistory.class);
+    }
+
+    @Override
+    public void createOrUpdate(FlowHistory entity) {
+        historyLog.append(Collections.singletonList(entity));
+    }
+
+    @Override
+    public void delete(FlowHistory entity) {
+        throw new UnsupportedOperationException("Flow history log is append-only");
+    }
+
+    @Override
+    public Collection<FlowHistory> findByTaskId(String taskId) {
+        return historyLog.findFlowHistory(taskId);
+    }
+}
@@ -20,6 +20,7 @@ import static org.openkilda.wfm.share.hubandspoke.CoordinatedBolt.COMMAND_FIELD;
 import static org.openkilda.wfm.share.hubandspoke.CoordinatedBolt.TIMEOUT_FIELD;
 
 import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.share.utils.TimingWheel;
 import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -30,14 +31,6 @@ import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
-
 /**
  * Storm bolt that keeps track of duration of operation's execution and then sends callback to the requester.
  */
@@ -46,8 +39,16 @@ public final class CoordinatorBolt extends AbstractBolt {
     public static final String ID = "coordinator.bolt";
     public static final String INCOME_STREAM = "coordinator.command";
 
-    private Map<String, Callback> callbacks = new HashMap<>();
-    private SortedMap<Long, Set<String>> timeouts = new TreeMap<>();
+    private static final long TIMEOUTS_TICK_MS = 1;
+    private static final int TIMEOUTS_WHEEL_SIZE = 4096;
+
+    private transient TimingWheel<String, Callback> timeouts;
+
+    @Override
+    protected void init() {
+        super.init();
+        timeouts = new TimingWheel<>(TIMEOUTS_TICK_MS, TIMEOUTS_WHEEL_SIZE);
+    }
 
     @Override
     protected void handleInput(Tuple input) {
@@ -82,16 +83,13 @@ public final class CoordinatorBolt extends AbstractBolt {
     void registerCallback(String key, Object context, int timeout, int taskId) {
         log.trace("Adding callback for {} with timeout {}", key, timeout);
         long triggerTime = System.currentTimeMillis() + timeout;
-        timeouts.computeIfAbsent(triggerTime, mappingFunction -> new HashSet<>())
-                .add(key);
-
         Values value = new Values(key, context);
-        callbacks.put(key, Callback.of(taskId, value));
+        timeouts.register(key, Callback.of(taskId, value), triggerTime);
     }
 
     @VisibleForTesting
     void cancelCallback(String key) {
-        if (callbacks.remove(key) == null) {
+        if (!timeouts.cancel(key).isPresent()) {
             log.warn("{} is already cancelled", key);
         } else {
             log.debug("Request processing of {} is finished", key);
@@ -103,15 +101,7 @@ public final class CoordinatorBolt extends AbstractBolt {
      */
     @VisibleForTesting
     void tick(Long currentTime) {
-        SortedMap<Long, Set<String>> outdatedCallbacks = timeouts.headMap(currentTime);
-        for (Set<String> callbacks : outdatedCallbacks.values()) {
-            callbacks.stream()
-                    .map(this.callbacks::remove)
-                    .filter(Objects::nonNull)
-                    .forEach(callback -> getOutput().emitDirect(callback.taskId, callback.context));
-        }
-
-        outdatedCallbacks.clear();
+        timeouts.tick(currentTime, (key, callback) -> getOutput().emitDirect(callback.taskId, callback.context));
     }
 
     @Override
@@ -121,12 +111,7 @@ public final class CoordinatorBolt extends AbstractBolt {
     }
 
     @VisibleForTesting
-    Map<String, Callback> getCallbacks() {
-        return callbacks;
-    }
-
-    @VisibleForTesting
-    SortedMap<Long, Set<String>> getTimeouts() {
+    TimingWheel<String, ?> getTimeouts() {
         return timeouts;
     }
 
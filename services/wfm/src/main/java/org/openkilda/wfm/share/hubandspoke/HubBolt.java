@@ -64,6 +64,8 @@ public abstract class HubBolt extends CoordinatedBolt {
             onRequest(input);
         } else if (hubConfig.getWorkerComponent().equals(input.getSourceComponent())) {
             onWorkerResponse(input);
+        } else {
+            onOtherInput(input);
         }
     }
 
@@ -80,6 +82,14 @@ public abstract class HubBolt extends CoordinatedBolt {
      */
     protected abstract void onWorkerResponse(Tuple input) throws Exception;
 
+    /**
+     * Handler for inputs that are neither requests nor worker responses, e.g. notifications delivered to all hubs.
+     * @param input income message.
+     */
+    protected void onOtherInput(Tuple input) throws Exception {
+        unhandledInput(input);
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         super.declareOutputFields(declarer);
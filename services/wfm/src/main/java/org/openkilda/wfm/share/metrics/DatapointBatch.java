@@ -0,0 +1,36 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.metrics;
+
+import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.InfoData;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Datapoints decoded from a single binary record, see {@link DatapointBinaryCodec}. Used inside topologies only and
+ * never encoded into JSON.
+ */
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class DatapointBatch extends InfoData {
+    private static final long serialVersionUID = 1L;
+
+    List<Datapoint> datapoints;
+}
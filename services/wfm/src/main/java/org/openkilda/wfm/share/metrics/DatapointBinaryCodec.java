@@ -0,0 +1,199 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.metrics;
+
+import static java.lang.String.format;
+
+import org.openkilda.messaging.info.Datapoint;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of a batch of {@link Datapoint}s.
+ * <p/>
+ * Layout: magic byte, version byte, string dictionary (count, then UTF strings), datapoint count, then datapoints.
+ * Each datapoint refers to its metric name, tag keys and tag values by index in the dictionary, so the strings repeated
+ * over the batch (metric names, tag keys, switch and flow ids) are written once.
+ * <p/>
+ * The magic byte is not a valid first byte of a JSON document, so binary and JSON records can share a topic.
+ */
+public final class DatapointBinaryCodec {
+    static final byte MAGIC = (byte) 0xD7;
+    static final byte VERSION = 1;
+
+    private static final byte LONG_VALUE = 0;
+    private static final byte DOUBLE_VALUE = 1;
+    private static final byte NO_VALUE = 2;
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    private DatapointBinaryCodec() {
+    }
+
+    /**
+     * Checks whether the data is encoded by this codec.
+     */
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length > 1 && data[0] == MAGIC;
+    }
+
+    /**
+     * Encodes the batch of datapoints.
+     */
+    public static byte[] encode(List<Datapoint> datapoints) {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (Datapoint datapoint : datapoints) {
+            dictionary.putIfAbsent(datapoint.getMetric(), dictionary.size());
+            if (datapoint.getTags() != null) {
+                for (Map.Entry<String, String> tag : datapoint.getTags().entrySet()) {
+                    dictionary.putIfAbsent(tag.getKey(), dictionary.size());
+                    dictionary.putIfAbsent(tag.getValue(), dictionary.size());
+                }
+            }
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 + datapoints.size() * 24);
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeByte(MAGIC);
+            out.writeByte(VERSION);
+
+            writeVarInt(out, dictionary.size());
+            for (String entry : dictionary.keySet()) {
+                out.writeUTF(entry);
+            }
+
+            writeVarInt(out, datapoints.size());
+            for (Datapoint datapoint : datapoints) {
+                writeVarInt(out, dictionary.get(datapoint.getMetric()));
+                out.writeLong(datapoint.getTime() != null ? datapoint.getTime() : NO_TIME);
+                writeValue(out, datapoint.getValue());
+
+                Map<String, String> tags = datapoint.getTags();
+                writeVarInt(out, tags != null ? tags.size() : 0);
+                if (tags != null) {
+                    for (Map.Entry<String, String> tag : tags.entrySet()) {
+                        writeVarInt(out, dictionary.get(tag.getKey()));
+                        writeVarInt(out, dictionary.get(tag.getValue()));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // Writing into a byte array doesn't fail.
+            throw new IllegalStateException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Decodes the batch of datapoints.
+     *
+     * @throws IOException if the data is not a valid batch.
+     */
+    public static List<Datapoint> decode(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readByte() != MAGIC) {
+                throw new IOException("Not a binary datapoint batch");
+            }
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IOException(format("Unsupported datapoint batch version %d", version));
+            }
+
+            String[] dictionary = new String[readVarInt(in)];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = in.readUTF();
+            }
+
+            int count = readVarInt(in);
+            List<Datapoint> datapoints = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String metric = readEntry(in, dictionary);
+                long time = in.readLong();
+                Number value = readValue(in);
+
+                int tagCount = readVarInt(in);
+                Map<String, String> tags = new HashMap<>(tagCount * 2);
+                for (int j = 0; j < tagCount; j++) {
+                    tags.put(readEntry(in, dictionary), readEntry(in, dictionary));
+                }
+                datapoints.add(new Datapoint(metric, time != NO_TIME ? time : null, tags, value));
+            }
+            return datapoints;
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, Number value) throws IOException {
+        if (value == null) {
+            out.writeByte(NO_VALUE);
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(DOUBLE_VALUE);
+            out.writeDouble(value.doubleValue());
+        } else {
+            out.writeByte(LONG_VALUE);
+            out.writeLong(value.longValue());
+        }
+    }
+
+    private static Number readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case LONG_VALUE:
+                return in.readLong();
+            case DOUBLE_VALUE:
+                return in.readDouble();
+            case NO_VALUE:
+                return null;
+            default:
+                throw new IOException(format("Unknown datapoint value type %d", type));
+        }
+    }
+
+    private static String readEntry(DataInputStream in, String[] dictionary) throws IOException {
+        int index = readVarInt(in);
+        if (index >= dictionary.length) {
+            throw new IOException(format("Dictionary index %d is out of %d entries", index, dictionary.length));
+        }
+        return dictionary[index];
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte next = in.readByte();
+            value |= (next & 0x7F) << shift;
+            if ((next & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable length integer");
+    }
+}
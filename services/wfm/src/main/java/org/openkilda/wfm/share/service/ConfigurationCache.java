@@ -0,0 +1,165 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.service;
+
+import org.openkilda.model.FeatureToggles;
+import org.openkilda.model.KildaConfiguration;
+import org.openkilda.persistence.repositories.FeatureTogglesRepository;
+import org.openkilda.persistence.repositories.KildaConfigurationRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * In-memory copy of {@link FeatureToggles} and {@link KildaConfiguration} for hot request paths.
+ *
+ * <p>Reads do not touch DB while the copy is younger than the max staleness period ({@link #DEFAULT_MAX_STALENESS},
+ * 10 seconds). Changes are not broadcast to the owners of the cache: only the network topology receives feature
+ * toggles updates (via the speaker broadcast stream) and passes them to {@link #update(FeatureToggles)}. Everywhere
+ * else a change made through northbound is picked up by reloading the stale copy, i.e. it is applied within the max
+ * staleness period after nbworker has stored it. Callers must not rely on a change being visible earlier. The version
+ * is incremented on each change of the cached values.
+ */
+@Slf4j
+public class ConfigurationCache {
+    /**
+     * Upper bound of the delay between storing a change and applying it on the paths which read through the cache.
+     */
+    public static final Duration DEFAULT_MAX_STALENESS = Duration.ofSeconds(10);
+
+    private final FeatureTogglesRepository featureTogglesRepository;
+    private final KildaConfigurationRepository kildaConfigurationRepository;
+    private final Duration maxStaleness;
+    private final Clock clock;
+
+    private volatile Snapshot<FeatureToggles> featureToggles;
+    private volatile Snapshot<KildaConfiguration> kildaConfiguration;
+    private volatile long version = 0;
+
+    public ConfigurationCache(RepositoryFactory repositoryFactory) {
+        this(repositoryFactory, DEFAULT_MAX_STALENESS, Clock.systemUTC());
+    }
+
+    public ConfigurationCache(RepositoryFactory repositoryFactory, Duration maxStaleness, Clock clock) {
+        featureTogglesRepository = repositoryFactory.createFeatureTogglesRepository();
+        kildaConfigurationRepository = repositoryFactory.createKildaConfigurationRepository();
+        this.maxStaleness = maxStaleness;
+        this.clock = clock;
+    }
+
+    /**
+     * Get a copy of feature toggles, empty if they are not stored in DB.
+     */
+    public Optional<FeatureToggles> getFeatureToggles() {
+        return Optional.ofNullable(getFeatureTogglesSnapshot().value)
+                .map(ConfigurationCache::copy);
+    }
+
+    /**
+     * Get the value of a feature toggle, falls back to {@link FeatureToggles#DEFAULTS} if toggles or the value are
+     * not stored in DB.
+     */
+    public <T> T getFeatureToggle(Function<FeatureToggles, T> toggle) {
+        FeatureToggles toggles = getFeatureTogglesSnapshot().value;
+        T value = toggles == null ? null : toggle.apply(toggles);
+        return value != null ? value : toggle.apply(FeatureToggles.DEFAULTS);
+    }
+
+    /**
+     * Get a copy of kilda configuration.
+     */
+    public KildaConfiguration getKildaConfiguration() {
+        Snapshot<KildaConfiguration> current = kildaConfiguration;
+        if (isStale(current)) {
+            current = kildaConfiguration = refresh(current, copy(kildaConfigurationRepository.get()));
+        }
+        return copy(current.value);
+    }
+
+    /**
+     * Replace cached feature toggles with the notified ones.
+     */
+    public void update(FeatureToggles toggles) {
+        featureToggles = refresh(featureToggles, copy(toggles));
+    }
+
+    /**
+     * Replace cached kilda configuration with the notified one.
+     */
+    public void update(KildaConfiguration configuration) {
+        kildaConfiguration = refresh(kildaConfiguration, copy(configuration));
+    }
+
+    /**
+     * Force reload of both values on the next read.
+     */
+    public void invalidate() {
+        featureToggles = null;
+        kildaConfiguration = null;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    private Snapshot<FeatureToggles> getFeatureTogglesSnapshot() {
+        Snapshot<FeatureToggles> current = featureToggles;
+        if (isStale(current)) {
+            current = featureToggles = refresh(current, featureTogglesRepository.find()
+                    .map(ConfigurationCache::copy)
+                    .orElse(null));
+        }
+        return current;
+    }
+
+    private boolean isStale(Snapshot<?> snapshot) {
+        return snapshot == null || !clock.instant().isBefore(snapshot.loadTime.plus(maxStaleness));
+    }
+
+    private <T> Snapshot<T> refresh(Snapshot<T> current, T value) {
+        if (current == null || !Objects.equals(current.value, value)) {
+            version += 1;
+            log.debug("Configuration cache has been changed (version {}) - {}", version, value);
+        }
+        return new Snapshot<>(value, clock.instant());
+    }
+
+    // cached values must not be shared with DB session and callers
+    private static FeatureToggles copy(FeatureToggles toggles) {
+        return toggles == null ? null : toggles.toBuilder().build();
+    }
+
+    private static KildaConfiguration copy(KildaConfiguration configuration) {
+        return configuration == null ? null : configuration.toBuilder().build();
+    }
+
+    private static class Snapshot<T> {
+        private final T value;
+        private final Instant loadTime;
+
+        Snapshot(T value, Instant loadTime) {
+            this.value = value;
+            this.loadTime = loadTime;
+        }
+    }
+}
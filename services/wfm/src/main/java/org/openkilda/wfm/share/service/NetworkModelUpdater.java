@@ -0,0 +1,63 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.service;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.IslStatusUpdateNotification;
+import org.openkilda.messaging.info.event.SwitchStatusUpdateNotification;
+import org.openkilda.pce.impl.NetworkModel;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies ISL and switch status notifications of the network topology to a {@link NetworkModel}.
+ */
+@Slf4j
+public class NetworkModelUpdater {
+    private final NetworkModel networkModel;
+
+    public NetworkModelUpdater(NetworkModel networkModel) {
+        this.networkModel = networkModel;
+    }
+
+    /**
+     * Applies the message to the model.
+     *
+     * @return false if the message is not a network status notification.
+     */
+    public boolean handle(Message message) {
+        if (!(message instanceof InfoMessage)) {
+            return false;
+        }
+
+        InfoData data = ((InfoMessage) message).getData();
+        if (data instanceof IslStatusUpdateNotification) {
+            IslStatusUpdateNotification notification = (IslStatusUpdateNotification) data;
+            log.debug("Apply ISL status update to the network model: {}", notification);
+            networkModel.applyIslStatus(notification.getSrcSwitchId(), notification.getSrcPortNo(),
+                    notification.getDstSwitchId(), notification.getDstPortNo(), notification.getStatus());
+        } else if (data instanceof SwitchStatusUpdateNotification) {
+            SwitchStatusUpdateNotification notification = (SwitchStatusUpdateNotification) data;
+            log.debug("Apply switch status update to the network model: {}", notification);
+            networkModel.applySwitchStatus(notification.getSwitchId(), notification.getStatus());
+        } else {
+            return false;
+        }
+        return true;
+    }
+}
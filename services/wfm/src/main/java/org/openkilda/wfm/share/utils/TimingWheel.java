@@ -0,0 +1,271 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Hashed timing wheel that tracks deadlines of pending operations of a bolt or a service. It is not thread safe and
+ * does not have own ticker - the owner drives it with time values of the coordinator ticks.
+ *
+ * <p>Registering, looking up and cancelling a timeout take constant time. Timeouts may be grouped by a function of
+ * their keys (e.g. discovery packets by the endpoint), all timeouts of a group are cancelled with one call. Time
+ * units are chosen by the owner, deadlines, tick times and tick duration must use the same units. The tick duration
+ * defines how many buckets are checked during one tick, not the precision: a timeout expires on the first tick at or
+ * after its deadline.
+ */
+public class TimingWheel<K, V> {
+    private final long tickDuration;
+    private final long mask;
+    private final List<Bucket> buckets;
+    private final Function<K, ?> groupFunction;
+
+    private final Map<K, Entry> index = new HashMap<>();
+    private final Map<Object, Set<K>> groups = new HashMap<>();
+
+    private boolean started = false;
+    private long currentTick;
+
+    public TimingWheel(long tickDuration, int wheelSize) {
+        this(tickDuration, wheelSize, null);
+    }
+
+    /**
+     * Create the wheel.
+     *
+     * @param tickDuration the time covered by one bucket.
+     * @param wheelSize the amount of buckets, rounded up to a power of two.
+     * @param groupFunction extracts the group from the key, can be null if groups are not used.
+     */
+    public TimingWheel(long tickDuration, int wheelSize, Function<K, ?> groupFunction) {
+        if (tickDuration <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick duration and wheel size must be positive");
+        }
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize) {
+            size <<= 1;
+        }
+
+        this.tickDuration = tickDuration;
+        this.mask = size - 1;
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new Bucket());
+        }
+        this.groupFunction = groupFunction;
+    }
+
+    /**
+     * Start tracking the deadline of the key. Already registered timeout of the same key is replaced.
+     */
+    public void register(K key, V value, long deadline) {
+        cancel(key);
+
+        long tick = Math.floorDiv(deadline, tickDuration);
+        if (!started) {
+            currentTick = tick;
+            started = true;
+        }
+
+        // overdue timeouts go into the current bucket, it is checked on each tick
+        Entry entry = new Entry(key, value, deadline);
+        buckets.get(bucketIndex(Math.max(tick, currentTick))).append(entry);
+        index.put(key, entry);
+        if (groupFunction != null) {
+            groups.computeIfAbsent(groupFunction.apply(key), group -> new HashSet<>())
+                    .add(key);
+        }
+    }
+
+    public Optional<V> get(K key) {
+        Entry entry = index.get(key);
+        return entry == null ? Optional.empty() : Optional.of(entry.value);
+    }
+
+    /**
+     * Replace the value of the pending timeout, the deadline stays the same.
+     *
+     * @return false if there is no pending timeout for the key.
+     */
+    public boolean replace(K key, V value) {
+        Entry entry = index.get(key);
+        if (entry == null) {
+            return false;
+        }
+        entry.value = value;
+        return true;
+    }
+
+    public boolean contains(K key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * Stop tracking the deadline of the key.
+     *
+     * @return the value of the cancelled timeout or empty if there was no pending timeout for the key.
+     */
+    public Optional<V> cancel(K key) {
+        Entry entry = index.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        remove(entry);
+        return Optional.of(entry.value);
+    }
+
+    /**
+     * Stop tracking deadlines of all keys of the group.
+     *
+     * @return the values of cancelled timeouts.
+     */
+    public Map<K, V> cancelGroup(Object group) {
+        Set<K> keys = groups.get(group);
+        if (keys == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<K, V> cancelled = new LinkedHashMap<>();
+        for (K key : new ArrayList<>(keys)) {
+            cancel(key).ifPresent(value -> cancelled.put(key, value));
+        }
+        return cancelled;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public boolean isEmpty() {
+        return index.isEmpty();
+    }
+
+    /**
+     * Copy pending timeouts, takes linear time.
+     */
+    public Map<K, V> snapshot() {
+        Map<K, V> result = new LinkedHashMap<>();
+        index.forEach((key, entry) -> result.put(key, entry.value));
+        return result;
+    }
+
+    /**
+     * Remove all timeouts with deadline at or before the time and pass them to the handler. The handler is called
+     * after the wheel have been updated, so it can register new timeouts.
+     */
+    public void tick(long timeNow, BiConsumer<K, V> expireHandler) {
+        if (!started) {
+            return;
+        }
+
+        long targetTick = Math.max(currentTick, Math.floorDiv(timeNow, tickDuration));
+        long span = Math.min(targetTick - currentTick, mask);
+
+        List<Entry> expired = new ArrayList<>();
+        for (long tick = currentTick; tick <= currentTick + span; tick++) {
+            buckets.get(bucketIndex(tick)).collectExpired(timeNow, expired);
+        }
+        currentTick = targetTick;
+
+        for (Entry entry : expired) {
+            remove(entry);
+        }
+        for (Entry entry : expired) {
+            expireHandler.accept(entry.key, entry.value);
+        }
+    }
+
+    private void remove(Entry entry) {
+        entry.unlink();
+        index.remove(entry.key);
+        if (groupFunction != null) {
+            Object group = groupFunction.apply(entry.key);
+            Set<K> keys = groups.get(group);
+            if (keys != null) {
+                keys.remove(entry.key);
+                if (keys.isEmpty()) {
+                    groups.remove(group);
+                }
+            }
+        }
+    }
+
+    private int bucketIndex(long tick) {
+        return (int) (tick & mask);
+    }
+
+    /**
+     * Doubly linked list of timeouts, the entry removes itself from the list in constant time.
+     */
+    private class Bucket {
+        private final Entry head = new Entry(null, null, 0);
+
+        Bucket() {
+            head.next = head;
+            head.prev = head;
+        }
+
+        void append(Entry entry) {
+            entry.prev = head.prev;
+            entry.next = head;
+            head.prev.next = entry;
+            head.prev = entry;
+        }
+
+        void collectExpired(long timeNow, List<Entry> expired) {
+            // the bucket also holds timeouts of the next rounds, they stay until their deadline
+            for (Entry entry = head.next; entry != head; entry = entry.next) {
+                if (entry.deadline <= timeNow) {
+                    expired.add(entry);
+                }
+            }
+        }
+    }
+
+    private class Entry {
+        private final K key;
+        private V value;
+        private final long deadline;
+
+        private Entry prev;
+        private Entry next;
+
+        Entry(K key, V value, long deadline) {
+            this.key = key;
+            this.value = value;
+            this.deadline = deadline;
+        }
+
+        void unlink() {
+            if (prev != null) {
+                prev.next = next;
+                next.prev = prev;
+                prev = null;
+                next = null;
+            }
+        }
+    }
+}
@@ -24,6 +24,8 @@ import org.openkilda.wfm.topology.connecteddevices.bolts.PacketBolt;
 import org.apache.storm.generated.StormTopology;
 import org.apache.storm.topology.TopologyBuilder;
 
+import java.time.Duration;
+
 public class ConnectedDevicesTopology extends AbstractTopology<ConnectedDevicesTopologyConfig> {
     public static final String CONNECTED_DEVICES_SPOUT_ID = "connected-devices-spout";
     public static final String PACKET_BOLT_ID = "packet-bolt";
@@ -48,7 +50,9 @@ public class ConnectedDevicesTopology extends AbstractTopology<ConnectedDevicesT
     }
 
     private void createPacketBolt(TopologyBuilder builder, PersistenceManager persistenceManager) {
-        PacketBolt routerBolt = new PacketBolt(persistenceManager);
+        PacketBolt routerBolt = new PacketBolt(persistenceManager,
+                Duration.ofSeconds(topologyConfig.getCacheTtlSeconds()),
+                topologyConfig.getLastSeenFlushIntervalSeconds());
         builder.setBolt(PACKET_BOLT_ID, routerBolt, topologyConfig.getNewParallelism())
                 .shuffleGrouping(CONNECTED_DEVICES_SPOUT_ID);
     }
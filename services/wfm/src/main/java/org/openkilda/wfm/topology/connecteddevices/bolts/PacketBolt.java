@@ -23,6 +23,7 @@ import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.event.LldpInfoData;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.connecteddevices.service.PacketService;
@@ -30,23 +31,37 @@ import org.openkilda.wfm.topology.connecteddevices.service.PacketService;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.utils.TupleUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
 
 @Slf4j
 public class PacketBolt extends AbstractBolt {
     private final PersistenceManager persistenceManager;
+    private final Duration cacheTtl;
+    private final int lastSeenFlushInterval;
     private transient PacketService packetService;
 
-    public PacketBolt(PersistenceManager persistenceManager) {
+    public PacketBolt(PersistenceManager persistenceManager, Duration cacheTtl, int lastSeenFlushInterval) {
         this.persistenceManager = persistenceManager;
+        this.cacheTtl = cacheTtl;
+        this.lastSeenFlushInterval = lastSeenFlushInterval;
     }
 
     @Override
     protected void init() {
-        packetService = new PacketService(persistenceManager);
+        packetService = new PacketService(persistenceManager, cacheTtl, Clock.systemUTC());
     }
 
     @Override
     protected void handleInput(Tuple input) throws PipelineException {
+        if (TupleUtils.isTick(input)) {
+            packetService.flushLastSeen();
+            return;
+        }
+
         Message message = pullValue(input, FIELD_ID_PAYLOAD, Message.class);
 
         if (message instanceof InfoMessage) {
@@ -62,6 +77,19 @@ public class PacketBolt extends AbstractBolt {
         }
     }
 
+    @Override
+    protected CommandContext setupCommandContext() {
+        if (TupleUtils.isTick(getCurrentTuple())) {
+            return new CommandContext();
+        }
+        return super.setupCommandContext();
+    }
+
+    @Override
+    public Map<String, Object> getComponentConfiguration() {
+        return TupleUtils.putTickFrequencyIntoComponentConfig(null, lastSeenFlushInterval);
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         declarer.declare(AbstractTopology.fieldMessage);
@@ -26,62 +26,213 @@ import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.ConnectedDeviceRepository;
 import org.openkilda.persistence.repositories.FlowCookieRepository;
 
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
+/**
+ * Keep flow connected devices discovered by LLDP in DB.
+ *
+ * <p>Devices send LLDP packets every few seconds and almost all of them carry nothing new. To not read and write DB
+ * on each packet the service keeps an index of flow cookies and the state of known devices. Both are taken from DB
+ * and are trusted for the cache TTL, after that they are reloaded to notice removed flows and devices. A device is
+ * written at once only if it is new or some of its LLDP fields have changed, time last seen of other devices is
+ * collected and written in one query by {@link #flushLastSeen()}.
+ */
 @Slf4j
 public class PacketService {
-    private TransactionManager transactionManager;
-    private FlowCookieRepository flowCookieRepository;
-    private ConnectedDeviceRepository connectedDeviceRepository;
+    public static final Duration DEFAULT_CACHE_TTL = Duration.ofSeconds(60);
+
+    private final TransactionManager transactionManager;
+    private final FlowCookieRepository flowCookieRepository;
+    private final ConnectedDeviceRepository connectedDeviceRepository;
+
+    private final Duration cacheTtl;
+    private final Clock clock;
+
+    private final Map<Long, CachedFlowCookie> flowCookieIndex = new HashMap<>();
+    private final Map<DeviceKey, CachedDevice> devices = new HashMap<>();
+    private final Map<String, Instant> pendingLastSeen = new LinkedHashMap<>();
 
     public PacketService(PersistenceManager persistenceManager) {
+        this(persistenceManager, DEFAULT_CACHE_TTL, Clock.systemUTC());
+    }
+
+    public PacketService(PersistenceManager persistenceManager, Duration cacheTtl, Clock clock) {
         transactionManager = persistenceManager.getTransactionManager();
         flowCookieRepository = persistenceManager.getRepositoryFactory().createFlowCookieRepository();
         connectedDeviceRepository = persistenceManager.getRepositoryFactory().createConnectedDeviceRepository();
+        this.cacheTtl = cacheTtl;
+        this.clock = clock;
     }
 
     /**
      * Handle LLDP info data.
      */
     public void handleLldpData(LldpInfoData data) {
-        transactionManager.doInTransaction(() -> {
-            Cookie cookie = new Cookie(data.getCookie());
-            Optional<FlowCookie> flowCookie = flowCookieRepository.findByCookie(cookie.getUnmaskedValue());
-            if (!flowCookie.isPresent()) {
-                log.warn("Couldn't find flow by cookie {}", cookie);
-                return;
+        Instant now = clock.instant();
+        Cookie cookie = new Cookie(data.getCookie());
+        Optional<String> flowId = lookupFlowId(cookie.getUnmaskedValue(), now);
+        if (!flowId.isPresent()) {
+            log.warn("Couldn't find flow by cookie {}", cookie);
+            return;
+        }
+
+        DeviceKey key = new DeviceKey(
+                flowId.get(), cookie.isMaskedAsForward(), data.getMacAddress(), data.getChassisId(), data.getPortId());
+        LldpState state = LldpState.of(data);
+
+        CachedDevice device = devices.get(key);
+        if (device != null && !device.isExpired(now) && device.state.equals(state)) {
+            pendingLastSeen.put(device.uniqueIndex, now);
+            return;
+        }
+
+        devices.put(key, loadDevice(key, state, now));
+    }
+
+    /**
+     * Write time last seen collected since the last flush and forget cached entries that are older than cache TTL.
+     * Collected entries are dropped only after they have been written.
+     */
+    public void flushLastSeen() {
+        Instant now = clock.instant();
+        flowCookieIndex.values().removeIf(entry -> entry.isExpired(now));
+        devices.values().removeIf(entry -> entry.isExpired(now));
+
+        if (pendingLastSeen.isEmpty()) {
+            return;
+        }
+
+        Map<String, Instant> batch = new HashMap<>(pendingLastSeen);
+        transactionManager.doInTransaction(() -> connectedDeviceRepository.updateTimeLastSeen(batch));
+        // keep entries of a failed write, they are retried on the next flush
+        pendingLastSeen.clear();
+        log.debug("Time last seen of {} connected devices has been updated", batch.size());
+    }
+
+    private Optional<String> lookupFlowId(long unmaskedCookie, Instant now) {
+        CachedFlowCookie entry = flowCookieIndex.get(unmaskedCookie);
+        if (entry == null || entry.isExpired(now)) {
+            // missing cookies are not cached, the flow can be created at any moment
+            Optional<String> flowId = flowCookieRepository.findByCookie(unmaskedCookie)
+                    .map(FlowCookie::getFlowId);
+            if (flowId.isPresent()) {
+                flowCookieIndex.put(unmaskedCookie, new CachedFlowCookie(flowId.get(), now));
+            } else {
+                flowCookieIndex.remove(unmaskedCookie);
+            }
+            return flowId;
+        }
+        return Optional.of(entry.flowId);
+    }
+
+    private CachedDevice loadDevice(DeviceKey key, LldpState state, Instant now) {
+        ConnectedDevice device = transactionManager.doInTransaction(() -> {
+            Optional<ConnectedDevice> stored = connectedDeviceRepository.findByUniqueFieldCombination(
+                    key.flowId, key.source, key.macAddress, LLDP, key.chassisId, key.portId);
+            if (stored.isPresent() && LldpState.of(stored.get()).equals(state)) {
+                return stored.get();
             }
 
-            String flowId = flowCookie.get().getFlowId();
-            boolean isForward = cookie.isMaskedAsForward();
-
-            Instant now = Instant.now();
-            ConnectedDevice device = connectedDeviceRepository
-                    .findByUniqueFieldCombination(
-                            flowId, isForward, data.getMacAddress(), LLDP, data.getChassisId(), data.getPortId())
-                    .orElse(ConnectedDevice.builder()
-                            .flowId(flowId)
-                            .source(isForward)
-                            .macAddress(data.getMacAddress())
-                            .timeFirstSeen(now)
-                            .type(LLDP)
-                            .chassisId(data.getChassisId())
-                            .portId(data.getPortId())
-                            .build());
-
-            device.setTtl(data.getTtl());
-            device.setPortDescription(data.getPortDescription());
-            device.setSystemName(data.getSystemName());
-            device.setSystemDescription(data.getSystemDescription());
-            device.setSystemCapabilities(data.getSystemCapabilities());
-            device.setManagementAddress(data.getManagementAddress());
-            device.setTimeLastSeen(now);
-            device.setType(LLDP);
-
-            connectedDeviceRepository.createOrUpdate(device);
+            ConnectedDevice entity = stored.orElse(ConnectedDevice.builder()
+                    .flowId(key.flowId)
+                    .source(key.source)
+                    .macAddress(key.macAddress)
+                    .timeFirstSeen(now)
+                    .type(LLDP)
+                    .chassisId(key.chassisId)
+                    .portId(key.portId)
+                    .build());
+
+            entity.setTtl(state.ttl);
+            entity.setPortDescription(state.portDescription);
+            entity.setSystemName(state.systemName);
+            entity.setSystemDescription(state.systemDescription);
+            entity.setSystemCapabilities(state.systemCapabilities);
+            entity.setManagementAddress(state.managementAddress);
+            entity.setTimeLastSeen(now);
+            entity.setType(LLDP);
+
+            connectedDeviceRepository.createOrUpdate(entity);
+            return entity;
         });
+
+        if (now.equals(device.getTimeLastSeen())) {
+            // DB already holds the actual time last seen
+            pendingLastSeen.remove(device.getUniqueIndex());
+        } else {
+            pendingLastSeen.put(device.getUniqueIndex(), now);
+        }
+        return new CachedDevice(device.getUniqueIndex(), state, now);
+    }
+
+    @Value
+    private static class DeviceKey {
+        private final String flowId;
+        private final boolean source;
+        private final String macAddress;
+        private final String chassisId;
+        private final String portId;
+    }
+
+    /**
+     * LLDP fields of a device that are written into DB.
+     */
+    @Value(staticConstructor = "of")
+    private static class LldpState {
+        private final Integer ttl;
+        private final String portDescription;
+        private final String systemName;
+        private final String systemDescription;
+        private final String systemCapabilities;
+        private final String managementAddress;
+
+        static LldpState of(LldpInfoData data) {
+            return of(data.getTtl(), data.getPortDescription(), data.getSystemName(), data.getSystemDescription(),
+                      data.getSystemCapabilities(), data.getManagementAddress());
+        }
+
+        static LldpState of(ConnectedDevice device) {
+            return of(device.getTtl(), device.getPortDescription(), device.getSystemName(),
+                      device.getSystemDescription(), device.getSystemCapabilities(), device.getManagementAddress());
+        }
+    }
+
+    private class CachedFlowCookie {
+        private final String flowId;
+        private final Instant loadTime;
+
+        CachedFlowCookie(String flowId, Instant loadTime) {
+            this.flowId = flowId;
+            this.loadTime = loadTime;
+        }
+
+        boolean isExpired(Instant now) {
+            return !now.isBefore(loadTime.plus(cacheTtl));
+        }
+    }
+
+    private class CachedDevice {
+        private final String uniqueIndex;
+        private final LldpState state;
+        private final Instant loadTime;
+
+        CachedDevice(String uniqueIndex, LldpState state, Instant loadTime) {
+            this.uniqueIndex = uniqueIndex;
+            this.state = state;
+            this.loadTime = loadTime;
+        }
+
+        boolean isExpired(Instant now) {
+            return !now.isBefore(loadTime.plus(cacheTtl));
+        }
     }
 }
@@ -24,9 +24,9 @@ import org.openkilda.messaging.info.switches.UnmanagedSwitchNotification;
 import org.openkilda.model.FeatureToggles;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.PersistenceManager;
-import org.openkilda.persistence.repositories.FeatureTogglesRepository;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.CommandContext;
+import org.openkilda.wfm.share.service.ConfigurationCache;
 import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.floodlightrouter.ComponentType;
 import org.openkilda.wfm.topology.floodlightrouter.Stream;
@@ -61,7 +61,7 @@ public class DiscoveryBolt extends AbstractTickRichBolt implements MessageSender
     private final long floodlightDumpInterval;
     private long lastNetworkDumpTimestamp;
 
-    private transient FeatureTogglesRepository featureTogglesRepository;
+    private transient ConfigurationCache configurationCache;
     private transient RouterService routerService;
     private transient CommandContext commandContext;
 
@@ -114,7 +114,7 @@ public class DiscoveryBolt extends AbstractTickRichBolt implements MessageSender
 
     @Override
     public void prepare(Map map, TopologyContext topologyContext, OutputCollector outputCollector) {
-        featureTogglesRepository = persistenceManager.getRepositoryFactory().createFeatureTogglesRepository();
+        configurationCache = new ConfigurationCache(persistenceManager.getRepositoryFactory());
         FloodlightTracker floodlightTracker = new FloodlightTracker(floodlights, floodlightAliveTimeout,
                 floodlightAliveInterval);
         routerService = new RouterService(floodlightTracker);
@@ -245,8 +245,6 @@ public class DiscoveryBolt extends AbstractTickRichBolt implements MessageSender
     }
 
     private boolean queryPeriodicSyncFeatureToggle() {
-        return featureTogglesRepository.find()
-                .map(FeatureToggles::getFloodlightRoutePeriodicSync)
-                .orElse(FeatureToggles.DEFAULTS.getFloodlightRoutePeriodicSync());
+        return configurationCache.getFeatureToggle(FeatureToggles::getFloodlightRoutePeriodicSync);
     }
 }
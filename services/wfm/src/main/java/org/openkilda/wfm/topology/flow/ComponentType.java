@@ -29,6 +29,11 @@ public enum ComponentType {
      */
     FLOW_KAFKA_SPOUT,
 
+    /**
+     * Network status kafka spout. Receives ISL and switch status updates for the network model.
+     */
+    NETWORK_STATUS_KAFKA_SPOUT,
+
     /**
      * Topology Engine kafka spout. Receives Topology Engine responses.
      */
@@ -25,6 +25,7 @@ import org.openkilda.wfm.LaunchEnvironment;
 import org.openkilda.wfm.error.NameCollisionException;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesConfig;
 import org.openkilda.wfm.share.history.bolt.HistoryBolt;
+import org.openkilda.wfm.share.history.store.HistoryStoreConfig;
 import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.flow.bolts.CrudBolt;
 import org.openkilda.wfm.topology.flow.bolts.ErrorBolt;
@@ -37,6 +38,7 @@ import org.openkilda.wfm.topology.flow.bolts.TransactionBolt;
 import org.apache.storm.generated.StormTopology;
 import org.apache.storm.kafka.bolt.KafkaBolt;
 import org.apache.storm.kafka.spout.KafkaSpout;
+import org.apache.storm.topology.BoltDeclarer;
 import org.apache.storm.topology.TopologyBuilder;
 import org.apache.storm.tuple.Fields;
 
@@ -86,8 +88,9 @@ public class FlowTopology extends AbstractTopology<FlowTopologyConfig> {
                 PersistenceProvider.getInstance().createPersistenceManager(configurationProvider);
         PathComputerConfig pathComputerConfig = configurationProvider.getConfiguration(PathComputerConfig.class);
         FlowResourcesConfig flowResourcesConfig = configurationProvider.getConfiguration(FlowResourcesConfig.class);
-        CrudBolt crudBolt = new CrudBolt(persistenceManager, pathComputerConfig, flowResourcesConfig);
-        builder.setBolt(ComponentType.CRUD_BOLT.toString(), crudBolt, parallelism)
+        CrudBolt crudBolt = new CrudBolt(persistenceManager, pathComputerConfig, flowResourcesConfig,
+                topologyConfig.getBulkTransactionSize(), topologyConfig.getBulkFlushInterval());
+        BoltDeclarer crudBoltDeclarer = builder.setBolt(ComponentType.CRUD_BOLT.toString(), crudBolt, parallelism)
                 .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.CREATE.toString(), fieldFlowId)
                 .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.READ.toString(), fieldFlowId)
                 .shuffleGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.DUMP.toString())
@@ -102,7 +105,18 @@ public class FlowTopology extends AbstractTopology<FlowTopologyConfig> {
                 // tackle during multi instance testing
                 .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.DEALLOCATE_RESOURCES.toString(),
                         fieldFlowId)
-                .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.STATUS.toString(), fieldFlowId);
+                .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.STATUS.toString(), fieldFlowId)
+                .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.BULK.toString(), fieldFlowId);
+
+        if (pathComputerConfig.isNetworkModelEnabled()) {
+            /*
+             * Spout receives network events, each CrudBolt applies them to its own network model.
+             */
+            KafkaSpout networkStatusSpout = buildKafkaSpout(topologyConfig.getKafkaNetworkIslStatusTopic(),
+                    ComponentType.NETWORK_STATUS_KAFKA_SPOUT.toString());
+            builder.setSpout(ComponentType.NETWORK_STATUS_KAFKA_SPOUT.toString(), networkStatusSpout, parallelism);
+            crudBoltDeclarer.allGrouping(ComponentType.NETWORK_STATUS_KAFKA_SPOUT.toString());
+        }
 
         FlowOperationsBolt flowOperationsBolt = new FlowOperationsBolt(persistenceManager, pathComputerConfig,
                 flowResourcesConfig);
@@ -171,7 +185,8 @@ public class FlowTopology extends AbstractTopology<FlowTopologyConfig> {
         /*
          * Bolt saves History data
          */
-        HistoryBolt historyBolt = new HistoryBolt(persistenceManager);
+        HistoryStoreConfig historyStoreConfig = configurationProvider.getConfiguration(HistoryStoreConfig.class);
+        HistoryBolt historyBolt = new HistoryBolt(persistenceManager, historyStoreConfig);
         builder.setBolt(ComponentType.HISTORY_BOLT.toString(), historyBolt, parallelism)
                 .shuffleGrouping(ComponentType.CRUD_BOLT.toString(), StreamType.HISTORY.toString());
 
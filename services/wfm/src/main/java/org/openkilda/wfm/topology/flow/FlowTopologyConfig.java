@@ -32,6 +32,14 @@ public interface FlowTopologyConfig extends AbstractTopologyConfig {
     @Converter(DurationConverter.class)
     Duration getCommandTransactionExpirationTime();
 
+    @Key("flow.bulk.transaction.size")
+    @Default("10")
+    int getBulkTransactionSize();
+
+    @Key("flow.bulk.flush.interval")
+    @Default("1")
+    int getBulkFlushInterval();
+
     default String getKafkaFlowTopic() {
         return getKafkaTopics().getFlowTopic();
     }
@@ -43,4 +51,8 @@ public interface FlowTopologyConfig extends AbstractTopologyConfig {
     default String getKafkaNorthboundTopic() {
         return getKafkaTopics().getNorthboundTopic();
     }
+
+    default String getKafkaNetworkIslStatusTopic() {
+        return getKafkaTopics().getNetworkIslStatusTopic();
+    }
 }
@@ -97,5 +97,10 @@ public enum StreamType {
     /**
      * Swap endpoint messages.
      */
-    SWAP_ENDPOINT;
+    SWAP_ENDPOINT,
+
+    /**
+     * Bulk create, update and delete flows stream.
+     */
+    BULK;
 }
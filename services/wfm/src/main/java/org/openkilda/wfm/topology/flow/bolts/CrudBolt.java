@@ -26,6 +26,7 @@ import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandGroup;
 import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.flow.DeallocateFlowResourcesRequest;
+import org.openkilda.messaging.command.flow.FlowBulkRequest;
 import org.openkilda.messaging.command.flow.FlowCreateRequest;
 import org.openkilda.messaging.command.flow.FlowPathSwapRequest;
 import org.openkilda.messaging.command.flow.FlowRerouteRequest;
@@ -43,6 +44,7 @@ import org.openkilda.messaging.error.MessageException;
 import org.openkilda.messaging.info.ChunkedInfoMessage;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.event.PathInfoData;
+import org.openkilda.messaging.info.flow.FlowBulkStatusResponse;
 import org.openkilda.messaging.info.flow.FlowInfoData;
 import org.openkilda.messaging.info.flow.FlowOperation;
 import org.openkilda.messaging.info.flow.FlowReadResponse;
@@ -50,6 +52,7 @@ import org.openkilda.messaging.info.flow.FlowRerouteResponse;
 import org.openkilda.messaging.info.flow.FlowResponse;
 import org.openkilda.messaging.info.flow.FlowStatusResponse;
 import org.openkilda.messaging.model.FlowDto;
+import org.openkilda.messaging.payload.flow.FlowBulkOperation;
 import org.openkilda.messaging.payload.flow.FlowIdStatusPayload;
 import org.openkilda.messaging.payload.flow.FlowState;
 import org.openkilda.model.Cookie;
@@ -61,6 +64,7 @@ import org.openkilda.model.UnidirectionalFlow;
 import org.openkilda.pce.AvailableNetworkFactory;
 import org.openkilda.pce.PathComputerConfig;
 import org.openkilda.pce.PathComputerFactory;
+import org.openkilda.pce.impl.NetworkModel;
 import org.openkilda.pce.exception.UnroutableFlowException;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.RepositoryFactory;
@@ -83,19 +87,24 @@ import org.openkilda.wfm.share.history.model.FlowHistoryData;
 import org.openkilda.wfm.share.history.model.FlowHistoryHolder;
 import org.openkilda.wfm.share.mappers.FlowMapper;
 import org.openkilda.wfm.share.mappers.FlowPathMapper;
+import org.openkilda.wfm.share.service.NetworkModelUpdater;
 import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.flow.ComponentType;
 import org.openkilda.wfm.topology.flow.FlowTopology;
 import org.openkilda.wfm.topology.flow.StreamType;
+import org.openkilda.wfm.topology.flow.model.FlowBulkItem;
 import org.openkilda.wfm.topology.flow.model.FlowData;
 import org.openkilda.wfm.topology.flow.model.ReroutedFlowPaths;
 import org.openkilda.wfm.topology.flow.service.FeatureToggle;
 import org.openkilda.wfm.topology.flow.service.FeatureTogglesService;
+import org.openkilda.wfm.topology.flow.service.FlowBulkCarrier;
+import org.openkilda.wfm.topology.flow.service.FlowBulkJob;
 import org.openkilda.wfm.topology.flow.service.FlowCommandSender;
 import org.openkilda.wfm.topology.flow.service.FlowService;
 import org.openkilda.wfm.topology.flow.validation.FlowValidationException;
 import org.openkilda.wfm.topology.flow.validation.FlowValidator;
 import org.openkilda.wfm.topology.flow.validation.SwitchValidationException;
+import org.openkilda.wfm.topology.utils.KafkaRecordTranslator;
 import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -108,18 +117,28 @@ import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.topology.base.BaseRichBolt;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
+import org.apache.storm.utils.TupleUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
 
     private static final String STREAM_ID_CTRL = "ctrl";
 
+    private static final int COMPLETED_BULKS_WINDOW = 1024;
+
     private static final Logger logger = LoggerFactory.getLogger(CrudBolt.class);
 
     private final PersistenceManager persistenceManager;
@@ -128,6 +147,10 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
 
     private final FlowResourcesConfig flowResourcesConfig;
 
+    private final int bulkTransactionSize;
+
+    private final int bulkFlushInterval;
+
     private transient RepositoryFactory repositoryFactory;
 
     private transient FlowService flowService;
@@ -138,18 +161,34 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
 
     private transient PathComputerFactory pathComputerFactory;
 
+    private transient NetworkModelUpdater networkModelUpdater;
+
     private transient FlowResourcesManager flowResourcesManager;
 
     private transient FlowValidator flowValidator;
 
+    private transient Map<String, BulkResponseCarrier> pendingBulks;
+
+    private transient Map<String, Boolean> completedBulks;
+
     private transient TopologyContext context;
     private transient OutputCollector outputCollector;
 
     public CrudBolt(PersistenceManager persistenceManager, PathComputerConfig pathComputerConfig,
-                    FlowResourcesConfig flowResourcesConfig) {
+                    FlowResourcesConfig flowResourcesConfig, int bulkTransactionSize, int bulkFlushInterval) {
         this.persistenceManager = persistenceManager;
         this.pathComputerConfig = pathComputerConfig;
         this.flowResourcesConfig = flowResourcesConfig;
+        this.bulkTransactionSize = bulkTransactionSize;
+        this.bulkFlushInterval = bulkFlushInterval;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Object> getComponentConfiguration() {
+        return TupleUtils.putTickFrequencyIntoComponentConfig(null, bulkFlushInterval);
     }
 
     /**
@@ -178,8 +217,11 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
 
         repositoryFactory = persistenceManager.getRepositoryFactory();
         flowValidator = new FlowValidator(repositoryFactory);
+        Optional<NetworkModel> networkModel =
+                AvailableNetworkFactory.createNetworkModel(pathComputerConfig, repositoryFactory);
+        networkModelUpdater = networkModel.map(NetworkModelUpdater::new).orElse(null);
         AvailableNetworkFactory availableNetworkFactory =
-                new AvailableNetworkFactory(pathComputerConfig, repositoryFactory);
+                new AvailableNetworkFactory(pathComputerConfig, repositoryFactory, networkModel.orElse(null));
         pathComputerFactory = new PathComputerFactory(pathComputerConfig, availableNetworkFactory);
         commandFactory = new FlowCommandFactory();
 
@@ -187,6 +229,13 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
         flowService = new FlowService(persistenceManager, pathComputerFactory, flowResourcesManager,
                 flowValidator, commandFactory);
         featureTogglesService = new FeatureTogglesService(persistenceManager.getRepositoryFactory());
+        pendingBulks = new LinkedHashMap<>();
+        completedBulks = new LinkedHashMap<String, Boolean>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > COMPLETED_BULKS_WINDOW;
+            }
+        };
     }
 
     /**
@@ -194,10 +243,22 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
      */
     @Override
     public void execute(Tuple tuple) {
+        if (TupleUtils.isTick(tuple)) {
+            flushBulks();
+            outputCollector.ack(tuple);
+            return;
+        }
+
         if (CtrlAction.boltHandlerEntrance(this, tuple)) {
             return;
         }
 
+        if (ComponentType.NETWORK_STATUS_KAFKA_SPOUT.toString().equals(tuple.getSourceComponent())) {
+            handleNetworkStatus(tuple);
+            outputCollector.ack(tuple);
+            return;
+        }
+
         logger.debug("Request tuple={}", tuple);
 
         ComponentType componentId = ComponentType.valueOf(tuple.getSourceComponent());
@@ -207,6 +268,7 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
         String flowId = tuple.getStringByField(Utils.FLOW_ID);
 
         boolean isRecoverable = false;
+        boolean isPending = false;
         try {
             switch (componentId) {
                 case SPLITTER_BOLT:
@@ -256,6 +318,9 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
                         case STATUS:
                             handleUpdateFlowPathStatusRequest(cmsg, tuple);
                             break;
+                        case BULK:
+                            isPending = handleBulkRequest(cmsg, tuple);
+                            break;
                         default:
                             logger.error("Unexpected stream: {} in {}", streamId, tuple);
                             break;
@@ -283,7 +348,7 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
 
             if (isRecoverable) {
                 outputCollector.fail(tuple);
-            } else {
+            } else if (!isPending) {
                 outputCollector.ack(tuple);
             }
         }
@@ -416,6 +481,13 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
         }
     }
 
+    private void handleNetworkStatus(Tuple tuple) {
+        Message message = (Message) tuple.getValueByField(KafkaRecordTranslator.FIELD_ID_PAYLOAD);
+        if (networkModelUpdater == null || !networkModelUpdater.handle(message)) {
+            logger.warn("Unexpected network status message {}", message);
+        }
+    }
+
     private void handleCreateRequest(CommandMessage message, Tuple tuple) {
         final String errorType = "Could not create flow";
 
@@ -653,6 +725,117 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
         }
     }
 
+    /**
+     * Validates the whole bulk request and starts its processing. The flows are stored group by group, the rest of
+     * the bulk is processed by ticks, so a single tuple never blocks the bolt for long. The bulk tuple is acked once
+     * all its flows are processed, a replay of the bulk which is in progress or recently completed is skipped.
+     *
+     * @return true if the tuple is pending and will be acked once the bulk is processed.
+     */
+    private boolean handleBulkRequest(CommandMessage message, Tuple tuple) {
+        String requestId = message.getCorrelationId();
+        if (pendingBulks.containsKey(requestId) || completedBulks.containsKey(requestId)) {
+            logger.warn("Skip the replayed bulk request {}", requestId);
+            return false;
+        }
+
+        FlowBulkRequest request = (FlowBulkRequest) message.getData();
+        if (request.getSize() == 0) {
+            Message response = new ChunkedInfoMessage(null, System.currentTimeMillis(), requestId, requestId, 0);
+            outputCollector.emit(StreamType.RESPONSE.toString(), tuple, new Values(response));
+            return false;
+        }
+
+        BulkResponseCarrier bulk = new BulkResponseCarrier(requestId, tuple, request.getSize());
+        for (String flowId : request.getDelete()) {
+            bulk.add(FlowBulkItem.delete(flowId));
+        }
+        for (FlowCreateRequest create : request.getCreate()) {
+            UnidirectionalFlow flow = FlowMapper.INSTANCE.map(create.getPayload());
+            bulk.add(FlowBulkItem.create(flow.getFlow(), create.getDiverseFlowId()));
+        }
+        for (FlowUpdateRequest update : request.getUpdate()) {
+            UnidirectionalFlow flow = FlowMapper.INSTANCE.map(update.getPayload());
+            bulk.add(FlowBulkItem.update(flow.getFlow(), update.getDiverseFlowId()));
+        }
+
+        Map<FlowBulkOperation, FeatureTogglesNotEnabledException> disabled = new EnumMap<>(FlowBulkOperation.class);
+        for (FlowBulkOperation operation : FlowBulkOperation.values()) {
+            try {
+                featureTogglesService.checkFeatureToggleEnabled(getBulkFeatureToggle(operation));
+            } catch (FeatureTogglesNotEnabledException e) {
+                disabled.put(operation, e);
+            }
+        }
+
+        List<FlowBulkItem> accepted = new ArrayList<>(bulk.getItems().size());
+        for (FlowBulkItem item : bulk.getItems()) {
+            if (disabled.containsKey(item.getOperation())) {
+                bulk.onFlowFailed(item, disabled.get(item.getOperation()));
+            } else if (item.getFlow() != null
+                    && item.getFlow().isPinned() && item.getFlow().isAllocateProtectedPath()) {
+                bulk.onFlowFailed(item, new FlowValidationException(
+                        "Flow flags are not valid, unable to process pinned protected flow", ErrorType.DATA_INVALID));
+            } else {
+                accepted.add(item);
+            }
+        }
+
+        pendingBulks.put(requestId, bulk);
+        try {
+            bulk.setJob(flowService.startBulk(accepted, bulk));
+        } catch (Exception e) {
+            logger.error("Failed to validate the bulk request {}", requestId, e);
+            completeBulk(bulk);
+            return true;
+        }
+        processBulk(bulk);
+        return true;
+    }
+
+    /**
+     * Processes groups of the pending bulks in turn for no longer than a half of the tick interval.
+     */
+    private void flushBulks() {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(bulkFlushInterval) / 2;
+        while (!pendingBulks.isEmpty() && System.currentTimeMillis() < deadline) {
+            new ArrayList<>(pendingBulks.values()).forEach(this::processBulk);
+        }
+    }
+
+    private void processBulk(BulkResponseCarrier bulk) {
+        boolean hasMore;
+        try {
+            hasMore = bulk.getJob().processNext(bulkTransactionSize);
+        } catch (Exception e) {
+            logger.error("Unhandled exception of the bulk request {}", bulk.getCorrelationId(), e);
+            hasMore = false;
+        }
+        if (!hasMore) {
+            completeBulk(bulk);
+        }
+    }
+
+    private void completeBulk(BulkResponseCarrier bulk) {
+        pendingBulks.remove(bulk.getCorrelationId());
+        completedBulks.put(bulk.getCorrelationId(), Boolean.TRUE);
+        bulk.reportMissing();
+        outputCollector.ack(bulk.getTuple());
+    }
+
+    private FeatureToggle getBulkFeatureToggle(FlowBulkOperation operation) {
+        switch (operation) {
+            case CREATE:
+                return FeatureToggle.CREATE_FLOW;
+            case UPDATE:
+                return FeatureToggle.UPDATE_FLOW;
+            case DELETE:
+                return FeatureToggle.DELETE_FLOW;
+            default:
+                throw new IllegalArgumentException(format("Unsupported bulk operation %s", operation));
+        }
+    }
+
     private void handleDumpRequest(CommandMessage message, Tuple tuple) {
         List<FlowData> flows = flowService.getAllFlows();
         logger.debug("Dump flows: found {} items", flows.size());
@@ -824,4 +1007,137 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
             outputCollector.emit(stream.toString(), tuple, new Values(message, flowId));
         }
     }
+
+    /**
+     * Streams the result of each flow of a bulk request to northbound as soon as it is known. The result is sent
+     * under the index of the flow in the request, so a status which is sent twice is skipped by northbound.
+     */
+    private class BulkResponseCarrier implements FlowBulkCarrier {
+        private final String correlationId;
+        private final Tuple tuple;
+        private final int total;
+        private final List<FlowBulkItem> items = new ArrayList<>();
+        // Items are looked up by identity, equal items may come in the same request.
+        private final Map<FlowBulkItem, Integer> indexes = new IdentityHashMap<>();
+        private final Set<FlowBulkItem> reported = Collections.newSetFromMap(new IdentityHashMap<>());
+        private FlowBulkJob job;
+
+        BulkResponseCarrier(String correlationId, Tuple tuple, int total) {
+            this.correlationId = correlationId;
+            this.tuple = tuple;
+            this.total = total;
+        }
+
+        void add(FlowBulkItem item) {
+            indexes.put(item, items.size());
+            items.add(item);
+        }
+
+        String getCorrelationId() {
+            return correlationId;
+        }
+
+        Tuple getTuple() {
+            return tuple;
+        }
+
+        List<FlowBulkItem> getItems() {
+            return items;
+        }
+
+        FlowBulkJob getJob() {
+            return job;
+        }
+
+        void setJob(FlowBulkJob job) {
+            this.job = job;
+        }
+
+        /**
+         * Reports the flows which got no result as failed, so northbound receives a status for each flow.
+         */
+        void reportMissing() {
+            for (FlowBulkItem item : items) {
+                if (!reported.contains(item)) {
+                    onFlowFailed(item, new IllegalStateException(
+                            format("Flow %s of the bulk request was not processed", item.getFlowId())));
+                }
+            }
+        }
+
+        @Override
+        public FlowCommandSender getCommandSender(FlowBulkItem item) {
+            switch (item.getOperation()) {
+                case CREATE:
+                    return new FlowCommandSenderImpl(correlationId, tuple, StreamType.CREATE);
+                case UPDATE:
+                    return new FlowCommandSenderImpl(correlationId, tuple, StreamType.UPDATE);
+                case DELETE:
+                    return new FlowCommandSenderImpl(correlationId, tuple, StreamType.DELETE);
+                default:
+                    throw new IllegalArgumentException(format("Unsupported bulk operation %s", item.getOperation()));
+            }
+        }
+
+        @Override
+        public void onFlowProcessed(FlowBulkItem item, FlowPair flow) {
+            logger.info("Bulk {} of the flow {} is done", item.getOperation(), item.getFlowId());
+            if (item.getOperation() == FlowBulkOperation.CREATE) {
+                saveEvent(Event.CREATE, item.getFlowId(), "Bulk request", correlationId, tuple);
+            } else if (item.getOperation() == FlowBulkOperation.UPDATE) {
+                saveEvent(Event.UPDATE, item.getFlowId(), "Bulk request", correlationId, tuple);
+            }
+            emit(item, FlowBulkStatusResponse.succeeded(item.getFlowId(), item.getOperation()));
+        }
+
+        @Override
+        public void onFlowFailed(FlowBulkItem item, Throwable cause) {
+            String errorMessage;
+            ErrorType errorType;
+            switch (item.getOperation()) {
+                case CREATE:
+                    errorMessage = "Could not create flow";
+                    errorType = ErrorType.CREATION_FAILURE;
+                    break;
+                case UPDATE:
+                    errorMessage = "Could not update flow";
+                    errorType = ErrorType.UPDATE_FAILURE;
+                    break;
+                default:
+                    errorMessage = "Can not delete flow";
+                    errorType = ErrorType.DELETION_FAILURE;
+                    break;
+            }
+
+            String description = cause.getMessage();
+            if (cause instanceof FlowValidationException) {
+                errorType = ((FlowValidationException) cause).getType();
+            } else if (cause instanceof SwitchValidationException) {
+                errorType = ErrorType.DATA_INVALID;
+            } else if (cause instanceof FlowAlreadyExistException) {
+                errorType = ErrorType.ALREADY_EXISTS;
+            } else if (cause instanceof FlowNotFoundException) {
+                errorType = ErrorType.NOT_FOUND;
+            } else if (cause instanceof UnroutableFlowException) {
+                errorType = ErrorType.NOT_FOUND;
+                description = "Not enough bandwidth found or path not found. " + cause.getMessage();
+            } else if (cause instanceof FeatureTogglesNotEnabledException) {
+                errorType = ErrorType.NOT_PERMITTED;
+            } else {
+                logger.error("Unexpected error of the bulk {} of the flow {}", item.getOperation(), item.getFlowId(),
+                        cause);
+            }
+
+            logger.warn("Bulk {} of the flow {} failed: {}", item.getOperation(), item.getFlowId(), description);
+            emit(item, FlowBulkStatusResponse.failed(item.getFlowId(), item.getOperation(), errorType, errorMessage,
+                    description));
+        }
+
+        private void emit(FlowBulkItem item, FlowBulkStatusResponse status) {
+            reported.add(item);
+            Message response = new ChunkedInfoMessage(status, System.currentTimeMillis(), correlationId,
+                    indexes.get(item), total);
+            outputCollector.emit(StreamType.RESPONSE.toString(), tuple, new Values(response));
+        }
+    }
 }
@@ -20,6 +20,7 @@ import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.flow.DeallocateFlowResourcesRequest;
+import org.openkilda.messaging.command.flow.FlowBulkRequest;
 import org.openkilda.messaging.command.flow.FlowCreateRequest;
 import org.openkilda.messaging.command.flow.FlowDeleteRequest;
 import org.openkilda.messaging.command.flow.FlowPathSwapRequest;
@@ -211,6 +212,12 @@ public class SplitterBolt extends BaseRichBolt {
                         ((SwapFlowEndpointRequest) data).getSecondFlow().getFlowId());
                 Values values = new Values(message, null);
                 outputCollector.emit(StreamType.SWAP_ENDPOINT.toString(), tuple, values);
+            } else if (data instanceof FlowBulkRequest) {
+                logger.info("Bulk request for {} flows", ((FlowBulkRequest) data).getSize());
+
+                // The whole bulk is handled by one task, the request is grouped by its correlation id.
+                Values values = new Values(message, message.getCorrelationId());
+                outputCollector.emit(StreamType.BULK.toString(), tuple, values);
             } else {
                 logger.debug("Skip undefined CommandMessage: {}={}", Utils.CORRELATION_ID, message.getCorrelationId());
             }
@@ -245,6 +252,7 @@ public class SplitterBolt extends BaseRichBolt {
                 FlowTopology.fieldsMessageFlowId);
         outputFieldsDeclarer.declareStream(StreamType.STATUS.toString(), FlowTopology.fieldsMessageFlowId);
         outputFieldsDeclarer.declareStream(StreamType.SWAP_ENDPOINT.toString(), FlowTopology.fieldsMessageFlowId);
+        outputFieldsDeclarer.declareStream(StreamType.BULK.toString(), FlowTopology.fieldsMessageFlowId);
     }
 
     /**
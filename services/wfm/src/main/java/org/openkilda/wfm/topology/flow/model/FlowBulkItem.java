@@ -0,0 +1,53 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.flow.model;
+
+import org.openkilda.messaging.payload.flow.FlowBulkOperation;
+import org.openkilda.model.Flow;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * A single flow of the bulk request.
+ */
+@Value
+public class FlowBulkItem {
+    @NonNull
+    private FlowBulkOperation operation;
+
+    @NonNull
+    private String flowId;
+
+    /**
+     * The requested flow, null for delete.
+     */
+    private Flow flow;
+
+    private String diverseFlowId;
+
+    public static FlowBulkItem create(Flow flow, String diverseFlowId) {
+        return new FlowBulkItem(FlowBulkOperation.CREATE, flow.getFlowId(), flow, diverseFlowId);
+    }
+
+    public static FlowBulkItem update(Flow flow, String diverseFlowId) {
+        return new FlowBulkItem(FlowBulkOperation.UPDATE, flow.getFlowId(), flow, diverseFlowId);
+    }
+
+    public static FlowBulkItem delete(String flowId) {
+        return new FlowBulkItem(FlowBulkOperation.DELETE, flowId, null, null);
+    }
+}
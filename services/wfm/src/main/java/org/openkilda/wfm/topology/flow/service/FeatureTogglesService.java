@@ -16,9 +16,9 @@
 package org.openkilda.wfm.topology.flow.service;
 
 import org.openkilda.model.FeatureToggles;
-import org.openkilda.persistence.repositories.FeatureTogglesRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.wfm.error.FeatureTogglesNotEnabledException;
+import org.openkilda.wfm.share.service.ConfigurationCache;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -26,17 +26,17 @@ import java.util.Optional;
 
 @Slf4j
 public class FeatureTogglesService {
-    private FeatureTogglesRepository featureTogglesRepository;
+    private final ConfigurationCache configurationCache;
 
     public FeatureTogglesService(RepositoryFactory repositoryFactory) {
-        this.featureTogglesRepository = repositoryFactory.createFeatureTogglesRepository();
+        this.configurationCache = new ConfigurationCache(repositoryFactory);
     }
 
     /**
      * If feature toggle is not enabled throws FeatureTogglesNotEnabledException.
      */
     public void checkFeatureToggleEnabled(FeatureToggle featureToggle) throws FeatureTogglesNotEnabledException {
-        Optional<FeatureToggles> foundFeatureToggles = featureTogglesRepository.find();
+        Optional<FeatureToggles> foundFeatureToggles = configurationCache.getFeatureToggles();
 
         if (foundFeatureToggles.isPresent()) {
             FeatureToggles featureToggles = foundFeatureToggles.get();
@@ -0,0 +1,42 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.flow.service;
+
+import org.openkilda.model.FlowPair;
+import org.openkilda.wfm.topology.flow.model.FlowBulkItem;
+
+public interface FlowBulkCarrier {
+    /**
+     * Returns the command sender for the given flow of the bulk request.
+     */
+    FlowCommandSender getCommandSender(FlowBulkItem item);
+
+    /**
+     * Called when the flow is stored (removed) and its commands are sent.
+     *
+     * @param item the processed flow of the bulk request.
+     * @param flow the stored flow, or the removed one for delete.
+     */
+    void onFlowProcessed(FlowBulkItem item, FlowPair flow);
+
+    /**
+     * Called when the flow is rejected or failed, no changes of the flow are stored.
+     *
+     * @param item  the failed flow of the bulk request.
+     * @param cause the failure reason.
+     */
+    void onFlowFailed(FlowBulkItem item, Throwable cause);
+}
@@ -0,0 +1,29 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.flow.service;
+
+/**
+ * A validated bulk request which is processed step by step, so the caller can interleave it with other requests.
+ */
+public interface FlowBulkJob {
+    /**
+     * Processes the next group of flows of the bulk, the result of each flow is passed to the carrier.
+     *
+     * @param transactionSize the max number of flows stored in a single transaction.
+     * @return true if there are flows left to be processed.
+     */
+    boolean processNext(int transactionSize);
+}
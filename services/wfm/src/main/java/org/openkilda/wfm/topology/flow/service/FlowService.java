@@ -29,8 +29,10 @@ import org.openkilda.messaging.command.flow.RemoveFlow;
 import org.openkilda.messaging.command.flow.UpdateFlowPathStatusRequest;
 import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.messaging.model.FlowDto;
+import org.openkilda.messaging.payload.flow.FlowBulkOperation;
 import org.openkilda.model.Cookie;
 import org.openkilda.model.EncapsulationId;
+import org.openkilda.model.FeatureToggles;
 import org.openkilda.model.Flow;
 import org.openkilda.model.FlowEncapsulationType;
 import org.openkilda.model.FlowPair;
@@ -43,19 +45,19 @@ import org.openkilda.model.PathSegment;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.model.UnidirectionalFlow;
+import org.openkilda.pce.BatchPathResult;
 import org.openkilda.pce.Path;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathComputerFactory;
 import org.openkilda.pce.PathPair;
+import org.openkilda.pce.PathRequest;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.exception.UnroutableFlowException;
 import org.openkilda.persistence.FetchStrategy;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.ConnectedDeviceRepository;
-import org.openkilda.persistence.repositories.FeatureTogglesRepository;
 import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.persistence.repositories.IslRepository;
-import org.openkilda.persistence.repositories.KildaConfigurationRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.repositories.SwitchRepository;
 import org.openkilda.wfm.error.FlowAlreadyExistException;
@@ -67,7 +69,9 @@ import org.openkilda.wfm.share.flow.resources.ResourceAllocationException;
 import org.openkilda.wfm.share.flow.resources.ResourceNotAvailableException;
 import org.openkilda.wfm.share.flow.service.FlowCommandFactory;
 import org.openkilda.wfm.share.mappers.FlowMapper;
+import org.openkilda.wfm.share.service.ConfigurationCache;
 import org.openkilda.wfm.share.service.IntersectionComputer;
+import org.openkilda.wfm.topology.flow.model.FlowBulkItem;
 import org.openkilda.wfm.topology.flow.model.FlowData;
 import org.openkilda.wfm.topology.flow.model.FlowPathPair;
 import org.openkilda.wfm.topology.flow.model.FlowPathWithEncapsulation;
@@ -81,6 +85,7 @@ import org.openkilda.wfm.topology.flow.validation.SwitchValidationException;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import lombok.Data;
 import lombok.NonNull;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
@@ -92,10 +97,14 @@ import org.neo4j.driver.v1.exceptions.ClientException;
 import org.neo4j.driver.v1.exceptions.TransientException;
 
 import java.time.Instant;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -112,8 +121,7 @@ public class FlowService extends BaseFlowService {
     private final SwitchRepository switchRepository;
     private final FlowPathRepository flowPathRepository;
     private final IslRepository islRepository;
-    private final KildaConfigurationRepository kildaConfigurationRepository;
-    private final FeatureTogglesRepository featureTogglesRepository;
+    private final ConfigurationCache configurationCache;
     private final ConnectedDeviceRepository connectedDeviceRepository;
     private final PathComputerFactory pathComputerFactory;
     private final FlowValidator flowValidator;
@@ -127,8 +135,7 @@ public class FlowService extends BaseFlowService {
         switchRepository = repositoryFactory.createSwitchRepository();
         flowPathRepository = repositoryFactory.createFlowPathRepository();
         islRepository = repositoryFactory.createIslRepository();
-        kildaConfigurationRepository = repositoryFactory.createKildaConfigurationRepository();
-        featureTogglesRepository = repositoryFactory.createFeatureTogglesRepository();
+        configurationCache = new ConfigurationCache(repositoryFactory);
         connectedDeviceRepository = repositoryFactory.createConnectedDeviceRepository();
         this.pathComputerFactory = pathComputerFactory;
         this.flowValidator = flowValidator;
@@ -171,44 +178,50 @@ public class FlowService extends BaseFlowService {
                         PathComputer pathComputer = pathComputerFactory.getPathComputer();
                         PathPair pathPair = pathComputer.getPath(flow);
 
-                        FlowResources flowResources = flowResourcesManager.allocateFlowResources(flow);
+                        return storeNewFlow(flow, pathPair);
+                    }));
+        } catch (FailsafeException e) {
+            unwrapCrudFaisafeException(e);
+        }
 
-                        Instant timestamp = Instant.now();
-                        // Build and store the flow with a path pair, use allocated resources for paths.
-                        FlowPathPair flowPathPair =
-                                buildFlowPathPair(flow, pathPair, flowResources, FlowPathStatus.IN_PROGRESS, timestamp);
+        // To avoid race condition in DB updates, we should send commands only after DB transaction commit.
+        sendCreateFlowCommands(flow.getFlowId(), result, sender);
 
-                        Flow flowWithPaths = buildFlowWithPaths(flow, flowPathPair, FlowStatus.IN_PROGRESS, timestamp);
-                        flowWithPaths.setTimeCreate(timestamp);
+        return buildFlowPair(result);
+    }
 
-                        log.info("Creating the flow: {}", flowWithPaths);
+    /**
+     * Allocates resources for the flow and stores it with the given path. Must be called within a transaction.
+     */
+    private FlowPathsWithEncapsulation storeNewFlow(Flow flow, PathPair pathPair)
+            throws RecoverableException, UnroutableFlowException, FlowNotFoundException, ResourceAllocationException,
+            FlowValidationException {
+        FlowResources flowResources = flowResourcesManager.allocateFlowResources(flow);
 
-                        flowPathRepository.lockInvolvedSwitches(flowPathPair.getForward(), flowPathPair.getReverse());
+        Instant timestamp = Instant.now();
+        // Build and store the flow with a path pair, use allocated resources for paths.
+        FlowPathPair flowPathPair =
+                buildFlowPathPair(flow, pathPair, flowResources, FlowPathStatus.IN_PROGRESS, timestamp);
 
-                        // Store the flow and both paths
-                        flowRepository.createOrUpdate(flowWithPaths);
+        Flow flowWithPaths = buildFlowWithPaths(flow, flowPathPair, FlowStatus.IN_PROGRESS, timestamp);
+        flowWithPaths.setTimeCreate(timestamp);
 
-                        updateIslsForFlowPath(flowPathPair.getForward());
-                        updateIslsForFlowPath(flowPathPair.getReverse());
+        log.info("Creating the flow: {}", flowWithPaths);
 
-                        FlowResources protectedFlowResources = null;
-                        if (flowWithPaths.isAllocateProtectedPath()) {
-                            protectedFlowResources = createProtectedPath(flowWithPaths, timestamp);
-                        }
+        flowPathRepository.lockInvolvedSwitches(flowPathPair.getForward(), flowPathPair.getReverse());
 
-                        return buildFlowPathsWithEncapsulation(flowWithPaths, flowResources, protectedFlowResources);
-                    }));
-        } catch (FailsafeException e) {
-            unwrapCrudFaisafeException(e);
-        }
+        // Store the flow and both paths
+        flowRepository.createOrUpdate(flowWithPaths);
 
-        // To avoid race condition in DB updates, we should send commands only after DB transaction commit.
-        sender.sendFlowCommands(flow.getFlowId(),
-                createInstallRulesGroups(result),
-                createFlowPathStatusRequests(result, FlowPathStatus.ACTIVE),
-                createFlowPathStatusRequests(result, FlowPathStatus.INACTIVE));
+        updateIslsForFlowPath(flowPathPair.getForward());
+        updateIslsForFlowPath(flowPathPair.getReverse());
 
-        return buildFlowPair(result);
+        FlowResources protectedFlowResources = null;
+        if (flowWithPaths.isAllocateProtectedPath()) {
+            protectedFlowResources = createProtectedPath(flowWithPaths, timestamp);
+        }
+
+        return buildFlowPathsWithEncapsulation(flowWithPaths, flowResources, protectedFlowResources);
     }
 
     @VisibleForTesting
@@ -290,10 +303,7 @@ public class FlowService extends BaseFlowService {
         });
 
         // To avoid race condition in DB updates, we should send commands only after DB transaction commit.
-        sender.sendFlowCommands(flowId,
-                createInstallRulesGroups(result),
-                createFlowPathStatusRequests(result, FlowPathStatus.ACTIVE),
-                createFlowPathStatusRequests(result, FlowPathStatus.INACTIVE));
+        sendCreateFlowCommands(flowId, result, sender);
     }
 
     /**
@@ -316,25 +326,7 @@ public class FlowService extends BaseFlowService {
 
         FlowPathsWithEncapsulation result;
         try {
-            result = transactionManager.doInTransaction(retryPolicy, () -> {
-                FlowPathsWithEncapsulation flowPathsWithEncapsulation = getFlowPathPairWithEncapsulation(flowId)
-                        .orElseThrow(() -> new FlowNotFoundException(flowId));
-
-                Flow flow = flowPathsWithEncapsulation.getFlow();
-
-                log.info("Deleting the flow: {}", flow);
-
-                flowPathRepository.lockInvolvedSwitches(flow.getPaths().toArray(new FlowPath[0]));
-
-                connectedDeviceRepository.findByFlowId(flowId).forEach(connectedDeviceRepository::delete);
-
-                // Remove flow and all associated paths
-                flowRepository.delete(flow);
-
-                flow.getPaths().forEach(this::updateIslsForFlowPath);
-
-                return flowPathsWithEncapsulation;
-            });
+            result = transactionManager.doInTransaction(retryPolicy, () -> removeFlow(flowId));
         } catch (FailsafeException e) {
             if (e.getCause() instanceof FlowNotFoundException) {
                 throw (FlowNotFoundException) e.getCause();
@@ -343,21 +335,35 @@ public class FlowService extends BaseFlowService {
             }
         }
 
-        // Assemble a command batch with RemoveRule commands and resource deallocation requests.
-
-        List<CommandGroup> commandGroups = new ArrayList<>();
-        // We can assemble all paths into a single command batch as regardless of each execution result,
-        // the TransactionBolt will try to perform all of them.
-        // This is because FailureReaction.IGNORE used in createRemoveXXX methods.
-        commandGroups.addAll(createRemoveRulesGroups(result));
-        commandGroups.addAll(createDeallocateResourcesGroups(result));
-
         // To avoid race condition in DB updates, we should send commands only after DB transaction commit.
-        sender.sendFlowCommands(flowId, commandGroups, emptyList(), emptyList());
+        sendDeleteFlowCommands(flowId, result, sender);
 
         return FlowMapper.INSTANCE.map(result.getFlow());
     }
 
+    /**
+     * Removes the flow and its paths. Must be called within a transaction.
+     */
+    private FlowPathsWithEncapsulation removeFlow(String flowId) throws FlowNotFoundException {
+        FlowPathsWithEncapsulation flowPathsWithEncapsulation = getFlowPathPairWithEncapsulation(flowId)
+                .orElseThrow(() -> new FlowNotFoundException(flowId));
+
+        Flow flow = flowPathsWithEncapsulation.getFlow();
+
+        log.info("Deleting the flow: {}", flow);
+
+        flowPathRepository.lockInvolvedSwitches(flow.getPaths().toArray(new FlowPath[0]));
+
+        connectedDeviceRepository.findByFlowId(flowId).forEach(connectedDeviceRepository::delete);
+
+        // Remove flow and all associated paths
+        flowRepository.delete(flow);
+
+        flow.getPaths().forEach(this::updateIslsForFlowPath);
+
+        return flowPathsWithEncapsulation;
+    }
+
     /**
      * Replaces a flow with the new one. Allocates a path and resources.
      * Stores the flow entities into DB, and invokes flow rules installation and deletion via the command sender.
@@ -402,75 +408,67 @@ public class FlowService extends BaseFlowService {
             result = (UpdatedFlowPathsWithEncapsulation) getFailsafe().get(
                     () -> transactionManager.doInTransaction(() -> {
                         ensureEncapsulationType(updatingFlow);
-                        PathComputer pathComputer = pathComputerFactory.getPathComputer();
-                        PathPair newPathPair = pathComputer.getPath(updatingFlow,
-                                currentFlow.getFlow().getFlowPathIds());
-
-                        log.info("Updating the flow with {} and path: {}", updatingFlow, newPathPair);
-
-                        FlowResources flowResources = flowResourcesManager.allocateFlowResources(updatingFlow);
-
-                        // Recreate the flow, use allocated resources for new paths.
-                        Instant timestamp = Instant.now();
-                        FlowPathPair newFlowPathPair =
-                                buildFlowPathPair(updatingFlow, newPathPair, flowResources, FlowPathStatus.IN_PROGRESS,
-                                        timestamp);
-
-                        Flow newFlowWithPaths =
-                                buildFlowWithPaths(updatingFlow, newFlowPathPair, FlowStatus.IN_PROGRESS, timestamp);
-
-                        FlowPath currentForwardPath = currentFlow.getForwardPath();
-                        FlowPath currentReversePath = currentFlow.getReversePath();
-                        FlowPath newForwardPath = newFlowWithPaths.getForwardPath();
-                        FlowPath newReversePath = newFlowWithPaths.getReversePath();
-
-                        flowPathRepository.lockInvolvedSwitches(currentForwardPath, currentReversePath,
-                                newForwardPath, newReversePath);
-
-                        flowRepository.delete(currentFlow.getFlow());
-
-                        updateIslsForFlowPath(currentForwardPath);
-                        updateIslsForFlowPath(currentReversePath);
-                        if (currentFlow.getProtectedForwardPath() != null) {
-                            updateIslsForFlowPath(currentFlow.getProtectedForwardPath());
-                        }
-                        if (currentFlow.getProtectedReversePath() != null) {
-                            updateIslsForFlowPath(currentFlow.getProtectedReversePath());
-                        }
-
-                        flowRepository.createOrUpdate(newFlowWithPaths);
-
-                        updateIslsForFlowPath(newForwardPath);
-                        updateIslsForFlowPath(newReversePath);
-
-                        FlowResources protectedResources = null;
-                        if (newFlowWithPaths.isAllocateProtectedPath()) {
-                            protectedResources = createProtectedPath(newFlowWithPaths, timestamp);
-                        }
-
-                        return new UpdatedFlowPathsWithEncapsulation(currentFlow,
-                                buildFlowPathsWithEncapsulation(newFlowWithPaths, flowResources, protectedResources));
+                        return processUpdateFlow(currentFlow, updatingFlow, currentFlow.getFlow().getFlowPathIds());
                     }));
         } catch (FailsafeException e) {
             unwrapCrudFaisafeException(e);
         }
 
-        // Assemble a command batch with InstallXXXRule, RemoveRule commands and a resource deallocation request.
-
-        List<CommandGroup> commandGroups = new ArrayList<>();
-        commandGroups.addAll(createInstallRulesGroups(result));
-        commandGroups.addAll(createRemoveRulesGroups(result.getOldFlowPair()));
-        commandGroups.addAll(createDeallocateResourcesGroups(result.getOldFlowPair()));
-
         // To avoid race condition in DB updates, we should send commands only after DB transaction commit.
-        sender.sendFlowCommands(currentFlow.getFlow().getFlowId(),
-                commandGroups,
-                createFlowPathStatusRequests(result, FlowPathStatus.ACTIVE),
-                createFlowPathStatusRequests(result, FlowPathStatus.INACTIVE));
+        sendUpdateFlowCommands(currentFlow.getFlow().getFlowId(), result, sender);
 
         return result;
     }
 
+    /**
+     * Processes a bulk of flow create, update and delete requests at once.
+     *
+     * @param items           the flows to be processed, a flow can't be referenced more than once.
+     * @param transactionSize the max number of flows stored in a single transaction.
+     * @param carrier         the carrier which provides command senders and receives the result of each flow.
+     * @see #startBulk(List, FlowBulkCarrier)
+     */
+    public void processBulk(List<FlowBulkItem> items, int transactionSize, FlowBulkCarrier carrier) {
+        Preconditions.checkArgument(transactionSize > 0, "Transaction size must be positive: %s", transactionSize);
+
+        FlowBulkJob job = startBulk(items, carrier);
+        boolean hasMore = true;
+        while (hasMore) {
+            hasMore = job.processNext(transactionSize);
+        }
+    }
+
+    /**
+     * Validates a bulk of flow create, update and delete requests and orders its flows. All flows are validated before
+     * any change is made, the rejected ones are reported to the carrier right away.
+     * <p/>
+     * The returned job stores the flows in groups, a transaction per group. Deletions are done first to release
+     * bandwidth, then paths of the rest of the flows are computed in one batch over a single view of the network.
+     * Flows of a diverse group or with a protected path are computed and stored one by one after the others. Commands
+     * of the flows are sent right after their group is committed.
+     * <p/>
+     * The current state of a flow is read again within the transaction which stores it, as the flow may be changed
+     * by another request while the bulk is processed.
+     *
+     * @param items   the flows to be processed, a flow can't be referenced more than once.
+     * @param carrier the carrier which provides command senders and receives the result of each flow.
+     * @return the job to process the accepted flows.
+     */
+    public FlowBulkJob startBulk(List<FlowBulkItem> items, FlowBulkCarrier carrier) {
+        BulkJob job = new BulkJob(carrier);
+        for (BulkTask task : validateBulk(items, carrier)) {
+            FlowBulkItem item = task.getItem();
+            if (item.getOperation() == FlowBulkOperation.DELETE) {
+                job.deletions.add(task);
+            } else if (item.getDiverseFlowId() != null || item.getFlow().isAllocateProtectedPath()) {
+                job.individual.add(task);
+            } else {
+                job.batched.add(task);
+            }
+        }
+        return job;
+    }
+
     /**
      * Reroutes a flow via a new path. Allocates new path and resources.
      * Stores the flow entities into DB, and invokes flow rules installation and deletion via the command sender.
@@ -541,12 +539,9 @@ public class FlowService extends BaseFlowService {
         Flow flow = currentFlow.getFlow();
         Flow initialFlow = flow.toBuilder().build();
 
-        featureTogglesRepository.find().ifPresent(featureToggles ->
-                Optional.ofNullable(featureToggles.getFlowsRerouteUsingDefaultEncapType()).ifPresent(toggle -> {
-                    if (toggle) {
-                        flow.setEncapsulationType(kildaConfigurationRepository.get().getFlowEncapsulationType());
-                    }
-                }));
+        if (configurationCache.getFeatureToggle(FeatureToggles::getFlowsRerouteUsingDefaultEncapType)) {
+            flow.setEncapsulationType(configurationCache.getKildaConfiguration().getFlowEncapsulationType());
+        }
 
         FlowPathsWithEncapsulationBuilder toCreateBuilder = FlowPathsWithEncapsulation.builder();
         FlowPathsWithEncapsulationBuilder toRemoveBuilder = currentFlow.toBuilder().flow(initialFlow);
@@ -961,7 +956,7 @@ public class FlowService extends BaseFlowService {
 
     private void ensureEncapsulationType(Flow flow) {
         if (flow.getEncapsulationType() == null) {
-            flow.setEncapsulationType(kildaConfigurationRepository.get().getFlowEncapsulationType());
+            flow.setEncapsulationType(configurationCache.getKildaConfiguration().getFlowEncapsulationType());
         }
     }
 
@@ -1316,6 +1311,41 @@ public class FlowService extends BaseFlowService {
         return commands;
     }
 
+    private void sendCreateFlowCommands(String flowId, FlowPathsWithEncapsulation result, FlowCommandSender sender) {
+        sender.sendFlowCommands(flowId,
+                createInstallRulesGroups(result),
+                createFlowPathStatusRequests(result, FlowPathStatus.ACTIVE),
+                createFlowPathStatusRequests(result, FlowPathStatus.INACTIVE));
+    }
+
+    private void sendDeleteFlowCommands(String flowId, FlowPathsWithEncapsulation result, FlowCommandSender sender) {
+        // Assemble a command batch with RemoveRule commands and resource deallocation requests.
+
+        List<CommandGroup> commandGroups = new ArrayList<>();
+        // We can assemble all paths into a single command batch as regardless of each execution result,
+        // the TransactionBolt will try to perform all of them.
+        // This is because FailureReaction.IGNORE used in createRemoveXXX methods.
+        commandGroups.addAll(createRemoveRulesGroups(result));
+        commandGroups.addAll(createDeallocateResourcesGroups(result));
+
+        sender.sendFlowCommands(flowId, commandGroups, emptyList(), emptyList());
+    }
+
+    private void sendUpdateFlowCommands(String flowId, UpdatedFlowPathsWithEncapsulation result,
+                                        FlowCommandSender sender) {
+        // Assemble a command batch with InstallXXXRule, RemoveRule commands and a resource deallocation request.
+
+        List<CommandGroup> commandGroups = new ArrayList<>();
+        commandGroups.addAll(createInstallRulesGroups(result));
+        commandGroups.addAll(createRemoveRulesGroups(result.getOldFlowPair()));
+        commandGroups.addAll(createDeallocateResourcesGroups(result.getOldFlowPair()));
+
+        sender.sendFlowCommands(flowId,
+                commandGroups,
+                createFlowPathStatusRequests(result, FlowPathStatus.ACTIVE),
+                createFlowPathStatusRequests(result, FlowPathStatus.INACTIVE));
+    }
+
     private SyncFailsafe getReadOperationFailsafe() {
         return Failsafe.with(new RetryPolicy()
                 .retryOn(ClientException.class)
@@ -1424,7 +1454,17 @@ public class FlowService extends BaseFlowService {
             FlowNotFoundException {
         PathComputer pathComputer = pathComputerFactory.getPathComputer();
         PathPair newPathPair = pathComputer.getPath(updatingFlow, pathIds);
+        return storeUpdatedFlow(currentFlow, updatingFlow, newPathPair);
+    }
 
+    /**
+     * Replaces the flow with the updated one, allocates resources for the given path. Must be called within a
+     * transaction.
+     */
+    private UpdatedFlowPathsWithEncapsulation storeUpdatedFlow(FlowPathsWithEncapsulation currentFlow,
+                                                               Flow updatingFlow, PathPair newPathPair)
+            throws ResourceAllocationException, RecoverableException, FlowValidationException, UnroutableFlowException,
+            FlowNotFoundException {
         log.info("Updating the flow with {} and path: {}", updatingFlow, newPathPair);
 
         FlowResources flowResources = flowResourcesManager.allocateFlowResources(updatingFlow);
@@ -1514,6 +1554,213 @@ public class FlowService extends BaseFlowService {
         return flows.stream().map(this::buildFlowPair).collect(Collectors.toList());
     }
 
+    private List<BulkTask> validateBulk(List<FlowBulkItem> items, FlowBulkCarrier carrier) {
+        Map<String, Long> references = items.stream()
+                .collect(Collectors.groupingBy(FlowBulkItem::getFlowId, Collectors.counting()));
+        Map<BulkEndpoint, String> reservedEndpoints = new HashMap<>();
+
+        List<BulkTask> tasks = new ArrayList<>(items.size());
+        for (FlowBulkItem item : items) {
+            try {
+                if (references.get(item.getFlowId()) > 1) {
+                    throw new FlowValidationException(
+                            format("Flow %s is referenced more than once in the request", item.getFlowId()),
+                            ErrorType.DATA_INVALID);
+                }
+                tasks.add(validateBulkItem(item, reservedEndpoints));
+            } catch (FlowValidationException | SwitchValidationException | FlowAlreadyExistException
+                    | FlowNotFoundException e) {
+                log.warn("Flow {} of the bulk request is rejected: {}", item.getFlowId(), e.getMessage());
+                carrier.onFlowFailed(item, e);
+            }
+        }
+        return tasks;
+    }
+
+    private BulkTask validateBulkItem(FlowBulkItem item, Map<BulkEndpoint, String> reservedEndpoints)
+            throws FlowValidationException, SwitchValidationException, FlowAlreadyExistException,
+            FlowNotFoundException {
+        String flowId = item.getFlowId();
+        Flow flow = item.getFlow();
+        FlowPathsWithEncapsulation currentFlow = null;
+
+        switch (item.getOperation()) {
+            case CREATE:
+                dashboardLogger.onFlowCreate(flow);
+                flowValidator.validate(flow);
+                if (doesFlowExist(flowId)) {
+                    throw new FlowAlreadyExistException(flowId);
+                }
+                break;
+            case UPDATE:
+                dashboardLogger.onFlowUpdate(flow);
+                flowValidator.validate(flow);
+                currentFlow = getFlowPathPairWithEncapsulation(flowId)
+                        .orElseThrow(() -> new FlowNotFoundException(flowId));
+                break;
+            case DELETE:
+                dashboardLogger.onFlowDelete(flowId);
+                if (!doesFlowExist(flowId)) {
+                    throw new FlowNotFoundException(flowId);
+                }
+                return new BulkTask(item, null);
+            default:
+                throw new IllegalArgumentException(format("Unsupported bulk operation %s", item.getOperation()));
+        }
+
+        if (item.getDiverseFlowId() != null) {
+            checkDiverseFlow(flow, item.getDiverseFlowId());
+        }
+
+        // The validator checks endpoints against stored flows only, the flows of the request are checked here.
+        List<BulkEndpoint> endpoints = Arrays.asList(
+                new BulkEndpoint(flow.getSrcSwitch().getSwitchId(), flow.getSrcPort(), flow.getSrcVlan()),
+                new BulkEndpoint(flow.getDestSwitch().getSwitchId(), flow.getDestPort(), flow.getDestVlan()));
+        for (BulkEndpoint endpoint : endpoints) {
+            String conflictFlowId = reservedEndpoints.get(endpoint);
+            if (conflictFlowId != null) {
+                throw new FlowValidationException(format("Requested flow '%s' conflicts with flow '%s' of the same "
+                                + "request. Details: switch=%s port=%d vlan=%d", flowId, conflictFlowId,
+                        endpoint.getSwitchId(), endpoint.getPort(), endpoint.getVlan()), ErrorType.ALREADY_EXISTS);
+            }
+        }
+        endpoints.forEach(endpoint -> reservedEndpoints.put(endpoint, flowId));
+
+        return new BulkTask(item, currentFlow);
+    }
+
+    private List<BulkTask> computeBulkPaths(List<BulkTask> tasks, FlowBulkCarrier carrier) {
+        if (tasks.isEmpty()) {
+            return tasks;
+        }
+
+        List<PathRequest> requests = new ArrayList<>(tasks.size());
+        for (BulkTask task : tasks) {
+            Flow flow = task.getItem().getFlow();
+            ensureEncapsulationType(flow);
+
+            PathRequest.PathRequestBuilder request = PathRequest.builder().flow(flow);
+            if (task.getCurrentFlow() != null) {
+                flow.setGroupId(null);
+                request.reusePathsResources(task.getCurrentFlow().getFlow().getFlowPathIds());
+            }
+            requests.add(request.build());
+        }
+
+        BatchPathResult result;
+        try {
+            result = (BatchPathResult) getFailsafe().get(
+                    () -> pathComputerFactory.getPathComputer().getPaths(requests));
+        } catch (RuntimeException e) {
+            log.error("Failed to compute paths for {} flows of the bulk request", tasks.size(), e);
+            Throwable cause = unwrapBulkException(e);
+            tasks.forEach(task -> carrier.onFlowFailed(task.getItem(), cause));
+            return emptyList();
+        }
+
+        List<BulkTask> routed = new ArrayList<>(tasks.size());
+        for (BulkTask task : tasks) {
+            String flowId = task.getItem().getFlowId();
+            PathPair pathPair = result.getPaths().get(flowId);
+            if (pathPair == null) {
+                String reason = Optional.ofNullable(result.getFailures().get(flowId)).orElse("Path not found");
+                carrier.onFlowFailed(task.getItem(), new UnroutableFlowException(reason, flowId));
+            } else {
+                task.setPathPair(pathPair);
+                routed.add(task);
+            }
+        }
+        return routed;
+    }
+
+    private void storeBulkGroup(List<BulkTask> group, FlowBulkCarrier carrier) {
+        List<FlowPathsWithEncapsulation> results;
+        try {
+            results = (List<FlowPathsWithEncapsulation>) getFailsafe().get(
+                    () -> transactionManager.doInTransaction(() -> {
+                        List<FlowPathsWithEncapsulation> stored = new ArrayList<>(group.size());
+                        for (BulkTask task : group) {
+                            stored.add(storeBulkTask(task));
+                        }
+                        return stored;
+                    }));
+        } catch (RuntimeException e) {
+            if (group.size() > 1) {
+                // Find the failed flows, the paths are recomputed as the network could change since the batch.
+                log.warn("Failed to store a group of {} flows, retrying them one by one", group.size(), e);
+                for (BulkTask task : group) {
+                    task.setPathPair(null);
+                    storeBulkGroup(singletonList(task), carrier);
+                }
+            } else {
+                log.error("Failed to store flow {} of the bulk request", group.get(0).getItem().getFlowId(), e);
+                carrier.onFlowFailed(group.get(0).getItem(), unwrapBulkException(e));
+            }
+            return;
+        }
+
+        // To avoid race condition in DB updates, we should send commands only after DB transaction commit.
+        for (int i = 0; i < group.size(); i++) {
+            FlowBulkItem item = group.get(i).getItem();
+            FlowPathsWithEncapsulation result = results.get(i);
+            FlowCommandSender sender = carrier.getCommandSender(item);
+            switch (item.getOperation()) {
+                case CREATE:
+                    sendCreateFlowCommands(item.getFlowId(), result, sender);
+                    break;
+                case UPDATE:
+                    sendUpdateFlowCommands(item.getFlowId(), (UpdatedFlowPathsWithEncapsulation) result, sender);
+                    break;
+                case DELETE:
+                    sendDeleteFlowCommands(item.getFlowId(), result, sender);
+                    break;
+                default:
+                    throw new IllegalArgumentException(format("Unsupported bulk operation %s", item.getOperation()));
+            }
+            carrier.onFlowProcessed(item, buildFlowPair(result));
+        }
+    }
+
+    private FlowPathsWithEncapsulation storeBulkTask(BulkTask task)
+            throws RecoverableException, UnroutableFlowException, FlowNotFoundException, ResourceAllocationException,
+            FlowValidationException, FlowAlreadyExistException {
+        FlowBulkItem item = task.getItem();
+        Flow flow = item.getFlow();
+        switch (item.getOperation()) {
+            case CREATE:
+                if (doesFlowExist(item.getFlowId())) {
+                    throw new FlowAlreadyExistException(item.getFlowId());
+                }
+                ensureEncapsulationType(flow);
+                PathPair pathPair = task.getPathPair();
+                if (pathPair == null) {
+                    pathPair = pathComputerFactory.getPathComputer().getPath(flow);
+                }
+                return storeNewFlow(flow, pathPair);
+            case UPDATE:
+                ensureEncapsulationType(flow);
+                FlowPathsWithEncapsulation currentFlow = getFlowPathPairWithEncapsulation(item.getFlowId())
+                        .orElseThrow(() -> new FlowNotFoundException(item.getFlowId()));
+                // The batch path reuses resources of the paths the flow had when the bulk was validated.
+                List<PathId> validatedPathIds = task.getCurrentFlow().getFlow().getFlowPathIds();
+                if (task.getPathPair() == null || !validatedPathIds.equals(currentFlow.getFlow().getFlowPathIds())) {
+                    return processUpdateFlow(currentFlow, flow, currentFlow.getFlow().getFlowPathIds());
+                }
+                return storeUpdatedFlow(currentFlow, flow, task.getPathPair());
+            case DELETE:
+                return removeFlow(item.getFlowId());
+            default:
+                throw new IllegalArgumentException(format("Unsupported bulk operation %s", item.getOperation()));
+        }
+    }
+
+    private static Throwable unwrapBulkException(RuntimeException e) {
+        if (e instanceof FailsafeException && e.getCause() != null) {
+            return e.getCause();
+        }
+        return e;
+    }
+
     private void createPaths(FlowPath forward, FlowPath reverse) {
         flowPathRepository.lockInvolvedSwitches(forward, reverse);
         flowPathRepository.createOrUpdate(forward);
@@ -1537,4 +1784,82 @@ public class FlowService extends BaseFlowService {
         FlowPathsWithEncapsulation toCreateFlow;
         FlowPathsWithEncapsulation toRemoveFlow;
     }
+
+    /**
+     * Processes the validated flows of a bulk request: deletions, then flows with the batch computed paths, then
+     * the flows which are computed one by one.
+     */
+    private class BulkJob implements FlowBulkJob {
+        private final FlowBulkCarrier carrier;
+        private final Deque<BulkTask> deletions = new ArrayDeque<>();
+        private final List<BulkTask> batched = new ArrayList<>();
+        private final Deque<BulkTask> routed = new ArrayDeque<>();
+        private final Deque<BulkTask> individual = new ArrayDeque<>();
+
+        BulkJob(FlowBulkCarrier carrier) {
+            this.carrier = carrier;
+        }
+
+        @Override
+        public boolean processNext(int transactionSize) {
+            Preconditions.checkArgument(transactionSize > 0, "Transaction size must be positive: %s",
+                    transactionSize);
+
+            if (!deletions.isEmpty()) {
+                storeBulkGroup(pollGroup(deletions, transactionSize), carrier);
+            } else if (!batched.isEmpty()) {
+                routed.addAll(computeBulkPaths(batched, carrier));
+                batched.clear();
+                if (!routed.isEmpty()) {
+                    storeBulkGroup(pollGroup(routed, transactionSize), carrier);
+                }
+            } else if (!routed.isEmpty()) {
+                storeBulkGroup(pollGroup(routed, transactionSize), carrier);
+            } else if (!individual.isEmpty()) {
+                storeIndividual(individual.poll());
+            }
+            return !(deletions.isEmpty() && batched.isEmpty() && routed.isEmpty() && individual.isEmpty());
+        }
+
+        private void storeIndividual(BulkTask task) {
+            FlowBulkItem item = task.getItem();
+            try {
+                if (item.getDiverseFlowId() != null) {
+                    item.getFlow().setGroupId(getOrCreateFlowGroupId(item.getDiverseFlowId()));
+                } else if (item.getOperation() == FlowBulkOperation.UPDATE) {
+                    item.getFlow().setGroupId(null);
+                }
+            } catch (FlowNotFoundException e) {
+                carrier.onFlowFailed(item, e);
+                return;
+            }
+            storeBulkGroup(singletonList(task), carrier);
+        }
+
+        private List<BulkTask> pollGroup(Deque<BulkTask> tasks, int transactionSize) {
+            List<BulkTask> group = new ArrayList<>(Math.min(tasks.size(), transactionSize));
+            while (!tasks.isEmpty() && group.size() < transactionSize) {
+                group.add(tasks.poll());
+            }
+            return group;
+        }
+    }
+
+    @Data
+    private static class BulkTask {
+        private final FlowBulkItem item;
+        private final FlowPathsWithEncapsulation currentFlow;
+
+        /**
+         * The path computed for the flow in the batch, null to compute it while the flow is stored.
+         */
+        private PathPair pathPair;
+    }
+
+    @Value
+    private static class BulkEndpoint {
+        SwitchId switchId;
+        int port;
+        int vlan;
+    }
 }
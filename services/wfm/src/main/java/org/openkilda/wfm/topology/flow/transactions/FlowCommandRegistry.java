@@ -17,7 +17,6 @@ package org.openkilda.wfm.topology.flow.transactions;
 
 import static java.lang.String.format;
 import static java.util.Collections.emptyList;
-import static java.util.stream.Collectors.toMap;
 
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandGroup;
@@ -29,24 +28,28 @@ import com.fasterxml.uuid.NoArgGenerator;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
-import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * A registry for batches of grouped {@link BaseFlow} commands.
  * <p/>
+ * Each flow has a queue of command groups, groups of a batch are registered together and so they are adjacent in
+ * the queue. Each transaction refers directly to its group, so locating, removing and getting the failure reaction
+ * of a transaction take constant time. Batches are kept in a list ordered by the registration time, which is also
+ * the order of their deadlines, so the expiration check stops on the first batch that is not expired yet.
+ * <p/>
  * NOTE: the implementation is NOT thread-safe.
  */
 @Slf4j
@@ -54,9 +57,23 @@ public class FlowCommandRegistry {
     // The default timeBasedGenerator() utilizes SecureRandom for the location part and time+sequence for the time part.
     private final NoArgGenerator batchIdGenerator = Generators.timeBasedGenerator();
 
-    private final Map<String, Queue<Group>> groups = new HashMap<>();
+    private final Clock clock;
+
+    private final Map<String, FlowQueue> flowQueues = new HashMap<>();
     private final Map<UUID, Batch> batches = new HashMap<>();
-    private final Map<UUID, UUID> transactionToBatch = new HashMap<>();
+    private final Map<UUID, Group> transactions = new HashMap<>();
+
+    // Batches in the order of registration, the oldest is the first.
+    private Batch oldestBatch;
+    private Batch newestBatch;
+
+    public FlowCommandRegistry() {
+        this(Clock.systemUTC());
+    }
+
+    public FlowCommandRegistry(Clock clock) {
+        this.clock = clock;
+    }
 
     /**
      * Registers the grouped commands as a batch for the flow.
@@ -76,11 +93,10 @@ public class FlowCommandRegistry {
             throw new IllegalStateException(format("Batch %s is already registered", batchId));
         }
 
-        Set<UUID> batchTransactions = new HashSet<>();
-
         log.debug("Registering commands as batch {}: {}", batchId, batchCommands);
 
-        Queue<Group> flowGroups = groups.computeIfAbsent(flowId, k -> new LinkedList<>());
+        // Validate all commands before any change of the registry.
+        Set<UUID> batchTransactions = new HashSet<>();
         for (CommandGroup group : batchCommands) {
             for (CommandData command : group.getCommands()) {
                 if (command instanceof BaseFlow) {
@@ -91,19 +107,39 @@ public class FlowCommandRegistry {
                     }
 
                     UUID transactionId = flowCommand.getTransactionId();
-                    if (!batchTransactions.add(transactionId)) {
+                    if (!batchTransactions.add(transactionId) || transactions.containsKey(transactionId)) {
                         throw new IllegalArgumentException(
                                 format("Command '%s' has transactionId which already registered", command));
                     }
-                    transactionToBatch.put(transactionId, batchId);
                 }
             }
+        }
 
-            flowGroups.add(new Group(batchId, new ArrayList<>(group.getCommands()), group.getReactionOnError()));
+        Batch batch = new Batch(batchId, clock.instant(),
+                new ArrayList<>(onSuccessCommands), new ArrayList<>(onFailureCommands));
+        FlowQueue flowQueue = flowQueues.computeIfAbsent(flowId, FlowQueue::new);
+        for (CommandGroup commandGroup : batchCommands) {
+            Group group = new Group(flowQueue, batch, new ArrayList<>(commandGroup.getCommands()),
+                    commandGroup.getReactionOnError());
+            for (CommandData command : group.commands) {
+                if (command instanceof BaseFlow) {
+                    transactions.put(((BaseFlow) command).getTransactionId(), group);
+                    group.pending += 1;
+                }
+            }
+            if (!group.isEmpty()) {
+                batch.nonEmptyGroups += 1;
+            }
+
+            flowQueue.append(group);
+            if (batch.firstGroup == null) {
+                batch.firstGroup = group;
+            }
+            batch.lastGroup = group;
         }
 
-        batches.put(batchId, new Batch(flowId, batchTransactions,
-                new ArrayList<>(onSuccessCommands), new ArrayList<>(onFailureCommands)));
+        batches.put(batchId, batch);
+        appendBatch(batch);
 
         return batchId;
     }
@@ -112,27 +148,16 @@ public class FlowCommandRegistry {
      * Checks whether there's non-empty group in the batch.
      */
     public boolean isBatchEmpty(UUID batchId) throws UnknownBatchException {
-        Batch batch = Optional.ofNullable(batches.get(batchId))
-                .orElseThrow(() -> new UnknownBatchException(batchId));
-
-        Queue<Group> flowGroups = groups.get(batch.flowId);
-        if (flowGroups != null) {
-            // Clean up groups associated with the batch.
-            return flowGroups.stream()
-                    .filter(group -> group.batchId.equals(batchId))
-                    .allMatch(Group::isEmpty);
-        }
-
-        return true;
+        return getBatch(batchId).nonEmptyGroups == 0;
     }
 
     /**
      * Returns batchId of the current group (if set).
      */
     public Optional<UUID> getCurrentBatch(String flowId) {
-        return Optional.ofNullable(groups.get(flowId))
-                .map(Queue::peek)
-                .map(group -> group.batchId);
+        return Optional.ofNullable(flowQueues.get(flowId))
+                .map(flowQueue -> flowQueue.head)
+                .map(group -> group.batch.id);
     }
 
     /**
@@ -140,30 +165,30 @@ public class FlowCommandRegistry {
      * The method returns a group only once and moves to the next only when the current group becomes empty.
      */
     public List<CommandData> pollNextGroup(String flowId) {
-        Queue<Group> flowGroups = groups.get(flowId);
-        if (flowGroups != null) {
-            Group currentGroup;
-            while ((currentGroup = flowGroups.peek()) != null) {
-                if (currentGroup.isEmpty()) {
-                    log.info("Removing the current group for flowId={}, {} groups left", flowId, flowGroups.size());
-                    // The current group has been processed, so remove it from the queue and look for another.
-                    flowGroups.poll();
-                } else {
-                    if (currentGroup.polled) {
-                        // The current group has already been polled, but not processed completely.
-                        break;
-                    }
-
-                    // The current group is a new one, so take it.
-                    currentGroup.polled = true;
-
-                    List<CommandData> result = new ArrayList<>(currentGroup.commands);
+        FlowQueue flowQueue = flowQueues.get(flowId);
+        if (flowQueue == null) {
+            return emptyList();
+        }
 
-                    // No need to track commands without transactionId.
-                    currentGroup.commands.removeIf(command -> !(command instanceof BaseFlow));
+        Group currentGroup;
+        while ((currentGroup = flowQueue.head) != null) {
+            if (currentGroup.isEmpty()) {
+                log.info("Removing the current group for flowId={}, {} groups left", flowId, flowQueue.size - 1);
+                // The current group has been processed, so remove it from the queue and look for another.
+                removeGroup(currentGroup);
+            } else {
+                if (currentGroup.polled) {
+                    // The current group has already been polled, but not processed completely.
+                    return emptyList();
+                }
 
-                    return result;
+                // The current group is a new one, so take it. Commands without transactionId are not tracked,
+                // so they are done once polled.
+                currentGroup.polled = true;
+                if (currentGroup.pending == 0) {
+                    currentGroup.batch.nonEmptyGroups -= 1;
                 }
+                return Collections.unmodifiableList(currentGroup.commands);
             }
         }
 
@@ -181,26 +206,29 @@ public class FlowCommandRegistry {
     public UUID removeCommand(String flowId, UUID transactionId) throws UnknownTransactionException {
         log.info("Removing the command by flowId {} and transactionId {}", flowId, transactionId);
 
-        Queue<Group> flowGroups = groups.get(flowId);
-        if (flowGroups == null || flowGroups.isEmpty()) {
+        FlowQueue flowQueue = flowQueues.get(flowId);
+        if (flowQueue == null || flowQueue.head == null) {
             throw new UnknownTransactionException(format("Trying to remove transaction %s for unknown flow %s",
                     transactionId, flowId));
         }
 
-        Group currentGroup = flowGroups.peek();
-        if (currentGroup == null || !currentGroup.remove(transactionId)) {
+        Group group = transactions.get(transactionId);
+        if (group == null || group != flowQueue.head) {
             throw new UnknownTransactionException(format("Transaction %s is not in the current group", transactionId));
         }
 
-        UUID batchId = transactionToBatch.remove(transactionId);
-        Batch batch = Optional.ofNullable(batchId).map(batches::get)
-                .orElseThrow(() -> new IllegalStateException(
-                        format("Transaction %s has no batch associated", transactionId)));
-        if (!batch.remove(transactionId)) {
-            throw new IllegalStateException(format("Transaction %s is not in the batch", transactionId));
+        transactions.remove(transactionId);
+        if (!group.polled) {
+            // Only a polled group has its commands sent, so this is an answer on a command that was never sent.
+            group.commands.removeIf(command -> command instanceof BaseFlow
+                    && ((BaseFlow) command).getTransactionId().equals(transactionId));
+        }
+        group.pending -= 1;
+        if (group.isEmpty()) {
+            group.batch.nonEmptyGroups -= 1;
         }
 
-        return batchId;
+        return group.batch.id;
     }
 
     /**
@@ -212,124 +240,214 @@ public class FlowCommandRegistry {
     public void removeBatch(UUID batchId) throws UnknownBatchException {
         log.info("Removing the batch by batchId {}", batchId);
 
-        // Remove the batch and relations.
         Batch batch = Optional.ofNullable(batchId).map(batches::remove)
                 .orElseThrow(() -> new UnknownBatchException(batchId));
-        batch.transactions.forEach(transactionToBatch::remove);
+        unlinkBatch(batch);
 
-        Queue<Group> flowGroups = groups.get(batch.flowId);
-        if (flowGroups != null) {
-            // Clean up groups associated with the batch.
-            flowGroups.removeIf(group -> group.batchId.equals(batchId));
+        // Groups of the batch are adjacent in the flow queue.
+        Group group = batch.firstGroup;
+        while (group != null) {
+            Group next = group == batch.lastGroup ? null : group.next;
+            for (CommandData command : group.commands) {
+                if (command instanceof BaseFlow) {
+                    transactions.remove(((BaseFlow) command).getTransactionId(), group);
+                }
+            }
+            removeGroup(group);
+            group = next;
         }
     }
 
     /**
-     * Finds and removes expired batches and all commands belong to them.
+     * Finds expired batches, the caller is responsible for their removal.
      */
     public Set<UUID> getExpiredBatches(Duration expirationTime) {
-        return batches.entrySet().stream()
-                .filter(e -> Duration.between(e.getValue().createdAt, Instant.now()).compareTo(expirationTime) > 0)
-                .map(Entry::getKey)
-                .collect(Collectors.toSet());
+        Instant now = clock.instant();
+        Set<UUID> expired = new LinkedHashSet<>();
+        for (Batch batch = oldestBatch; batch != null; batch = batch.newer) {
+            if (Duration.between(batch.createdAt, now).compareTo(expirationTime) <= 0) {
+                break;
+            }
+            expired.add(batch.id);
+        }
+        return expired;
     }
 
     /**
      * Gathers and groups all active transactions by a flow.
      */
     public Map<String, Set<UUID>> getTransactions() {
-        return groups.entrySet().stream()
-                .collect(toMap(Entry::getKey, e -> e.getValue().stream()
-                        .flatMap(group -> group.commands.stream())
-                        .filter(command -> command instanceof BaseFlow)
-                        .map(command -> ((BaseFlow) command).getTransactionId())
-                        .collect(Collectors.toSet())));
+        Map<String, Set<UUID>> result = new HashMap<>();
+        for (Map.Entry<UUID, Group> entry : transactions.entrySet()) {
+            result.computeIfAbsent(entry.getValue().flowQueue.flowId, flowId -> new HashSet<>())
+                    .add(entry.getKey());
+        }
+        return result;
     }
 
     /**
      * Return registered reaction on a command failure in the group (identified by the flow and transaction).
      */
     public Optional<FailureReaction> getFailureReaction(String flowId, UUID transactionId) {
-        return Optional.ofNullable(groups.get(flowId))
-                .flatMap(flowGroups -> flowGroups.stream()
-                        .filter(group -> group.contains(transactionId))
-                        .map(Group::getReactionOnFailure)
-                        .findAny());
+        Group group = transactions.get(transactionId);
+        if (group == null || !group.flowQueue.flowId.equals(flowId)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(group.reactionOnFailure);
     }
 
     /**
      * Return registered on-failure commands of the batch.
      */
     public List<CommandData> getOnFailureCommands(UUID batchId) throws UnknownBatchException {
-        Batch batch = Optional.ofNullable(batchId).map(batches::get)
-                .orElseThrow(() -> new UnknownBatchException(batchId));
-
-        return batch.onFailureCommands;
+        return getBatch(batchId).onFailureCommands;
     }
 
     /**
      * Return registered on-success commands of the batch.
      */
     public List<CommandData> getOnSuccessCommands(UUID batchId) throws UnknownBatchException {
-        Batch batch = Optional.ofNullable(batchId).map(batches::get)
+        return getBatch(batchId).onSuccessCommands;
+    }
+
+    /**
+     * Returns the amount of active transactions.
+     */
+    public int getTransactionsCount() {
+        return transactions.size();
+    }
+
+    private Batch getBatch(UUID batchId) throws UnknownBatchException {
+        return Optional.ofNullable(batchId).map(batches::get)
                 .orElseThrow(() -> new UnknownBatchException(batchId));
+    }
+
+    private void removeGroup(Group group) {
+        Batch batch = group.batch;
+        if (batch.firstGroup == group) {
+            batch.firstGroup = group == batch.lastGroup ? null : group.next;
+        }
+        if (batch.lastGroup == group) {
+            batch.lastGroup = batch.firstGroup == null ? null : group.prev;
+        }
 
-        return batch.onSuccessCommands;
+        FlowQueue flowQueue = group.flowQueue;
+        flowQueue.unlink(group);
+        if (flowQueue.head == null) {
+            flowQueues.remove(flowQueue.flowId, flowQueue);
+        }
     }
 
-    class Batch {
-        final String flowId;
-        final Set<UUID> transactions;
+    private void appendBatch(Batch batch) {
+        batch.older = newestBatch;
+        if (newestBatch == null) {
+            oldestBatch = batch;
+        } else {
+            newestBatch.newer = batch;
+        }
+        newestBatch = batch;
+    }
+
+    private void unlinkBatch(Batch batch) {
+        if (batch.older == null) {
+            oldestBatch = batch.newer;
+        } else {
+            batch.older.newer = batch.newer;
+        }
+        if (batch.newer == null) {
+            newestBatch = batch.older;
+        } else {
+            batch.newer.older = batch.older;
+        }
+        batch.older = null;
+        batch.newer = null;
+    }
+
+    static class Batch {
+        final UUID id;
+        final Instant createdAt;
         final List<CommandData> onSuccessCommands;
         final List<CommandData> onFailureCommands;
-        final Instant createdAt = Instant.now();
 
-        Batch(String flowId, Set<UUID> transactions,
-                List<CommandData> onSuccessCommands, List<CommandData> onFailureCommands) {
-            this.flowId = flowId;
-            this.transactions = transactions;
-            this.onSuccessCommands = onSuccessCommands;
-            this.onFailureCommands = onFailureCommands;
-        }
+        // Groups of the batch which are still in the flow queue.
+        Group firstGroup;
+        Group lastGroup;
+        int nonEmptyGroups;
 
-        boolean isEmpty() {
-            return transactions.isEmpty();
-        }
+        Batch older;
+        Batch newer;
 
-        boolean remove(UUID transactionId) {
-            return transactions.remove(transactionId);
+        Batch(UUID id, Instant createdAt,
+              List<CommandData> onSuccessCommands, List<CommandData> onFailureCommands) {
+            this.id = id;
+            this.createdAt = createdAt;
+            this.onSuccessCommands = onSuccessCommands;
+            this.onFailureCommands = onFailureCommands;
         }
     }
 
-    class Group {
-        final UUID batchId;
+    static class Group {
+        final FlowQueue flowQueue;
+        final Batch batch;
         final List<CommandData> commands;
         final FailureReaction reactionOnFailure;
+        // The amount of commands with transactionId which are not removed yet.
+        int pending;
         boolean polled = false;
 
-        Group(UUID batchId, List<CommandData> commands, FailureReaction reactionOnFailure) {
-            this.batchId = batchId;
+        Group prev;
+        Group next;
+
+        Group(FlowQueue flowQueue, Batch batch, List<CommandData> commands, FailureReaction reactionOnFailure) {
+            this.flowQueue = flowQueue;
+            this.batch = batch;
             this.commands = commands;
             this.reactionOnFailure = reactionOnFailure;
         }
 
         boolean isEmpty() {
-            return commands.isEmpty();
+            return polled ? pending == 0 : commands.isEmpty();
         }
+    }
 
-        boolean contains(UUID transactionId) {
-            return commands.stream()
-                    .filter(command -> command instanceof BaseFlow)
-                    .anyMatch(flow -> ((BaseFlow) flow).getTransactionId().equals(transactionId));
+    /**
+     * Doubly linked queue of the flow groups, a group unlinks itself in constant time.
+     */
+    static class FlowQueue {
+        final String flowId;
+        Group head;
+        Group tail;
+        int size;
+
+        FlowQueue(String flowId) {
+            this.flowId = flowId;
         }
 
-        boolean remove(UUID transactionId) {
-            return commands.removeIf(command -> command instanceof BaseFlow
-                    && ((BaseFlow) command).getTransactionId().equals(transactionId));
+        void append(Group group) {
+            group.prev = tail;
+            if (tail == null) {
+                head = group;
+            } else {
+                tail.next = group;
+            }
+            tail = group;
+            size += 1;
         }
 
-        FailureReaction getReactionOnFailure() {
-            return reactionOnFailure;
+        void unlink(Group group) {
+            if (group.prev == null) {
+                head = group.next;
+            } else {
+                group.prev.next = group.next;
+            }
+            if (group.next == null) {
+                tail = group.prev;
+            } else {
+                group.next.prev = group.prev;
+            }
+            group.prev = null;
+            group.next = null;
+            size -= 1;
         }
     }
 }
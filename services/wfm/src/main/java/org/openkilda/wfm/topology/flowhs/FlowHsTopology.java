@@ -29,6 +29,7 @@ import org.openkilda.persistence.spi.PersistenceProvider;
 import org.openkilda.wfm.LaunchEnvironment;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesConfig;
 import org.openkilda.wfm.share.history.bolt.HistoryBolt;
+import org.openkilda.wfm.share.history.store.HistoryStoreConfig;
 import org.openkilda.wfm.share.hubandspoke.CoordinatorBolt;
 import org.openkilda.wfm.share.hubandspoke.CoordinatorSpout;
 import org.openkilda.wfm.share.hubandspoke.WorkerBolt.Config;
@@ -42,6 +43,7 @@ import org.openkilda.wfm.topology.flowhs.bolts.SpeakerWorkerBolt;
 import org.apache.storm.generated.StormTopology;
 import org.apache.storm.kafka.bolt.KafkaBolt;
 import org.apache.storm.kafka.spout.KafkaSpout;
+import org.apache.storm.topology.BoltDeclarer;
 import org.apache.storm.topology.TopologyBuilder;
 import org.apache.storm.tuple.Fields;
 
@@ -64,6 +66,7 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
 
         inputSpout(tb);
         inputRouter(tb);
+        networkStatusSpout(tb);
 
         PersistenceManager persistenceManager =
                 PersistenceProvider.getInstance().createPersistenceManager(configurationProvider);
@@ -91,6 +94,15 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
         topologyBuilder.setSpout(ComponentId.FLOW_SPOUT.name(), mainSpout, parallelism);
     }
 
+    private void networkStatusSpout(TopologyBuilder topologyBuilder) {
+        if (!configurationProvider.getConfiguration(PathComputerConfig.class).isNetworkModelEnabled()) {
+            return;
+        }
+        KafkaSpout<String, Message> spout = buildKafkaSpout(getConfig().getKafkaNetworkIslStatusTopic(),
+                ComponentId.NETWORK_STATUS_SPOUT.name());
+        topologyBuilder.setSpout(ComponentId.NETWORK_STATUS_SPOUT.name(), spout, parallelism);
+    }
+
     private void inputRouter(TopologyBuilder topologyBuilder) {
         topologyBuilder.setBolt(ComponentId.FLOW_ROUTER_BOLT.name(), new RouterBolt(), parallelism)
                 .shuffleGrouping(ComponentId.FLOW_SPOUT.name());
@@ -112,25 +124,33 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
         FlowResourcesConfig flowResourcesConfig = configurationProvider.getConfiguration(FlowResourcesConfig.class);
         FlowCreateHubBolt hubBolt =
                 new FlowCreateHubBolt(config, persistenceManager, pathComputerConfig, flowResourcesConfig);
-        topologyBuilder.setBolt(ComponentId.FLOW_CREATE_HUB.name(), hubBolt, parallelism)
+        BoltDeclarer declarer = topologyBuilder.setBolt(ComponentId.FLOW_CREATE_HUB.name(), hubBolt, parallelism)
                 .fieldsGrouping(ComponentId.FLOW_ROUTER_BOLT.name(), ROUTER_TO_FLOW_CREATE_HUB.name(), FLOW_FIELD)
                 .directGrouping(ComponentId.FLOW_CREATE_SPEAKER_WORKER.name(),
                         Stream.SPEAKER_WORKER_TO_HUB_CREATE.name())
                 .directGrouping(CoordinatorBolt.ID);
+        if (pathComputerConfig.isNetworkModelEnabled()) {
+            // each hub keeps its own network model, so all of them have to receive network events
+            declarer.allGrouping(ComponentId.NETWORK_STATUS_SPOUT.name());
+        }
     }
 
     private void flowRerouteHub(TopologyBuilder topologyBuilder, PersistenceManager persistenceManager) {
         int hubTimeout = (int) TimeUnit.SECONDS.toMillis(topologyConfig.getRerouteHubTimeoutSeconds());
         PathComputerConfig pathComputerConfig = configurationProvider.getConfiguration(PathComputerConfig.class);
         FlowResourcesConfig flowResourcesConfig = configurationProvider.getConfiguration(FlowResourcesConfig.class);
+        HistoryStoreConfig historyStoreConfig = configurationProvider.getConfiguration(HistoryStoreConfig.class);
         FlowRerouteHubBolt hubBolt = new FlowRerouteHubBolt(ComponentId.FLOW_ROUTER_BOLT.name(),
                 ComponentId.FLOW_REROUTE_SPEAKER_WORKER.name(), hubTimeout, true,
-                persistenceManager, pathComputerConfig, flowResourcesConfig);
-        topologyBuilder.setBolt(ComponentId.FLOW_REROUTE_HUB.name(), hubBolt, parallelism)
+                persistenceManager, pathComputerConfig, flowResourcesConfig, historyStoreConfig);
+        BoltDeclarer declarer = topologyBuilder.setBolt(ComponentId.FLOW_REROUTE_HUB.name(), hubBolt, parallelism)
                 .fieldsGrouping(ComponentId.FLOW_ROUTER_BOLT.name(), ROUTER_TO_FLOW_REROUTE_HUB.name(), FLOW_FIELD)
                 .directGrouping(ComponentId.FLOW_REROUTE_SPEAKER_WORKER.name(),
                         Stream.SPEAKER_WORKER_TO_HUB_REROUTE.name())
                 .directGrouping(CoordinatorBolt.ID);
+        if (pathComputerConfig.isNetworkModelEnabled()) {
+            declarer.allGrouping(ComponentId.NETWORK_STATUS_SPOUT.name());
+        }
     }
 
     private void speakerSpout(TopologyBuilder topologyBuilder) {
@@ -201,7 +221,8 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
     }
 
     private void history(TopologyBuilder topologyBuilder, PersistenceManager persistenceManager) {
-        HistoryBolt historyBolt = new HistoryBolt(persistenceManager);
+        HistoryStoreConfig historyStoreConfig = configurationProvider.getConfiguration(HistoryStoreConfig.class);
+        HistoryBolt historyBolt = new HistoryBolt(persistenceManager, historyStoreConfig);
         topologyBuilder.setBolt(ComponentId.HISTORY_BOLT.name(), historyBolt, parallelism)
                 .shuffleGrouping(ComponentId.FLOW_CREATE_HUB.name(), Stream.HUB_TO_HISTORY_BOLT.name())
                 .shuffleGrouping(ComponentId.FLOW_REROUTE_HUB.name(), Stream.HUB_TO_HISTORY_BOLT.name());
@@ -209,6 +230,7 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
 
     public enum ComponentId {
         FLOW_SPOUT("flow.spout"),
+        NETWORK_STATUS_SPOUT("network.status.spout"),
         SPEAKER_WORKER_SPOUT("fl.worker.spout"),
 
         FLOW_ROUTER_BOLT("flow.router.bolt"),
@@ -37,6 +37,10 @@ public interface FlowHsTopologyConfig extends AbstractTopologyConfig {
         return getKafkaTopics().getFlowHsSpeakerTopic();
     }
 
+    default String getKafkaNetworkIslStatusTopic() {
+        return getKafkaTopics().getNetworkIslStatusTopic();
+    }
+
     @Key("flow.create.hub.timeout.seconds")
     @Default("30")
     int getCreateHubTimeoutSeconds();
@@ -28,12 +28,14 @@ import org.openkilda.pce.AvailableNetworkFactory;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathComputerConfig;
 import org.openkilda.pce.PathComputerFactory;
+import org.openkilda.pce.impl.NetworkModel;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesConfig;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesManager;
 import org.openkilda.wfm.share.history.model.FlowHistoryHolder;
 import org.openkilda.wfm.share.hubandspoke.HubBolt;
+import org.openkilda.wfm.share.service.NetworkModelUpdater;
 import org.openkilda.wfm.share.utils.KeyProvider;
 import org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream;
 import org.openkilda.wfm.topology.flowhs.service.FlowCreateHubCarrier;
@@ -46,6 +48,8 @@ import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.Optional;
+
 public class FlowCreateHubBolt extends HubBolt implements FlowCreateHubCarrier {
 
     private final FlowCreateConfig config;
@@ -53,6 +57,7 @@ public class FlowCreateHubBolt extends HubBolt implements FlowCreateHubCarrier {
     private final PathComputerConfig pathComputerConfig;
     private final FlowResourcesConfig flowResourcesConfig;
 
+    private transient NetworkModelUpdater networkModelUpdater;
     private transient FlowCreateService service;
     private String currentKey;
 
@@ -69,8 +74,11 @@ public class FlowCreateHubBolt extends HubBolt implements FlowCreateHubCarrier {
     @Override
     protected void init() {
         FlowResourcesManager resourcesManager = new FlowResourcesManager(persistenceManager, flowResourcesConfig);
-        AvailableNetworkFactory availableNetworkFactory =
-                new AvailableNetworkFactory(pathComputerConfig, persistenceManager.getRepositoryFactory());
+        Optional<NetworkModel> networkModel = AvailableNetworkFactory.createNetworkModel(
+                pathComputerConfig, persistenceManager.getRepositoryFactory());
+        networkModelUpdater = networkModel.map(NetworkModelUpdater::new).orElse(null);
+        AvailableNetworkFactory availableNetworkFactory = new AvailableNetworkFactory(
+                pathComputerConfig, persistenceManager.getRepositoryFactory(), networkModel.orElse(null));
         PathComputer pathComputer =
                 new PathComputerFactory(pathComputerConfig, availableNetworkFactory).getPathComputer();
 
@@ -93,6 +101,14 @@ public class FlowCreateHubBolt extends HubBolt implements FlowCreateHubCarrier {
         service.handleAsyncResponse(currentKey, flowResponse);
     }
 
+    @Override
+    protected void onOtherInput(Tuple input) throws PipelineException {
+        if (networkModelUpdater == null
+                || !networkModelUpdater.handle(pullValue(input, FIELD_ID_PAYLOAD, Message.class))) {
+            unhandledInput(input);
+        }
+    }
+
     @Override
     public void onTimeout(String key, Tuple tuple) {
         service.handleTimeout(key);
@@ -28,12 +28,16 @@ import org.openkilda.pce.AvailableNetworkFactory;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathComputerConfig;
 import org.openkilda.pce.PathComputerFactory;
+import org.openkilda.pce.impl.NetworkModel;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesConfig;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesManager;
 import org.openkilda.wfm.share.history.model.FlowHistoryHolder;
+import org.openkilda.wfm.share.history.service.HistoryService;
+import org.openkilda.wfm.share.history.store.HistoryStoreConfig;
 import org.openkilda.wfm.share.hubandspoke.HubBolt;
+import org.openkilda.wfm.share.service.NetworkModelUpdater;
 import org.openkilda.wfm.share.utils.KeyProvider;
 import org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream;
 import org.openkilda.wfm.topology.flowhs.service.FlowRerouteHubCarrier;
@@ -44,17 +48,21 @@ import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.Optional;
+
 public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier {
     private final PersistenceManager persistenceManager;
     private final PathComputerConfig pathComputerConfig;
     private final FlowResourcesConfig flowResourcesConfig;
+    private final HistoryStoreConfig historyStoreConfig;
 
+    private transient NetworkModelUpdater networkModelUpdater;
     private transient FlowRerouteService service;
     private String currentKey;
 
     public FlowRerouteHubBolt(String routerBoltId, String workerBoltId, int timeoutMs, boolean autoAck,
                               PersistenceManager persistenceManager, PathComputerConfig pathComputerConfig,
-                              FlowResourcesConfig flowResourcesConfig) {
+                              FlowResourcesConfig flowResourcesConfig, HistoryStoreConfig historyStoreConfig) {
         super(HubBolt.Config.builder()
                 .requestSenderComponent(routerBoltId)
                 .workerComponent(workerBoltId)
@@ -65,17 +73,23 @@ public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier
         this.persistenceManager = persistenceManager;
         this.pathComputerConfig = pathComputerConfig;
         this.flowResourcesConfig = flowResourcesConfig;
+        this.historyStoreConfig = historyStoreConfig;
     }
 
     @Override
     protected void init() {
-        AvailableNetworkFactory availableNetworkFactory =
-                new AvailableNetworkFactory(pathComputerConfig, persistenceManager.getRepositoryFactory());
+        Optional<NetworkModel> networkModel = AvailableNetworkFactory.createNetworkModel(
+                pathComputerConfig, persistenceManager.getRepositoryFactory());
+        networkModelUpdater = networkModel.map(NetworkModelUpdater::new).orElse(null);
+        AvailableNetworkFactory availableNetworkFactory = new AvailableNetworkFactory(
+                pathComputerConfig, persistenceManager.getRepositoryFactory(), networkModel.orElse(null));
         PathComputer pathComputer =
                 new PathComputerFactory(pathComputerConfig, availableNetworkFactory).getPathComputer();
 
         FlowResourcesManager resourcesManager = new FlowResourcesManager(persistenceManager, flowResourcesConfig);
-        service = new FlowRerouteService(this, persistenceManager, pathComputer, resourcesManager);
+        HistoryService historyService = new HistoryService(persistenceManager.getTransactionManager(),
+                persistenceManager.getRepositoryFactory(), historyStoreConfig);
+        service = new FlowRerouteService(this, persistenceManager, historyService, pathComputer, resourcesManager);
     }
 
     @Override
@@ -93,6 +107,14 @@ public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier
         service.handleAsyncResponse(currentKey, flowResponse);
     }
 
+    @Override
+    protected void onOtherInput(Tuple input) throws PipelineException {
+        if (networkModelUpdater == null
+                || !networkModelUpdater.handle(pullValue(input, FIELD_ID_PAYLOAD, Message.class))) {
+            unhandledInput(input);
+        }
+    }
+
     @Override
     public void onTimeout(String key, Tuple tuple) {
         currentKey = key;
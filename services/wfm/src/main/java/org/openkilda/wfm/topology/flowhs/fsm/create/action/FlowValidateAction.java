@@ -21,11 +21,11 @@ import org.openkilda.messaging.Message;
 import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.model.FeatureToggles;
 import org.openkilda.persistence.PersistenceManager;
-import org.openkilda.persistence.repositories.FeatureTogglesRepository;
 import org.openkilda.persistence.repositories.FlowRepository;
 import org.openkilda.persistence.repositories.IslRepository;
 import org.openkilda.persistence.repositories.SwitchRepository;
 import org.openkilda.wfm.share.logger.FlowOperationsDashboardLogger;
+import org.openkilda.wfm.share.service.ConfigurationCache;
 import org.openkilda.wfm.topology.flowhs.exception.FlowProcessingException;
 import org.openkilda.wfm.topology.flowhs.fsm.common.action.NbTrackableAction;
 import org.openkilda.wfm.topology.flowhs.fsm.create.FlowCreateContext;
@@ -47,7 +47,7 @@ public class FlowValidateAction extends NbTrackableAction<FlowCreateFsm, State,
 
     private final FlowValidator flowValidator;
     private final FlowRepository flowRepository;
-    private final FeatureTogglesRepository featureTogglesRepository;
+    private final ConfigurationCache configurationCache;
     private final FlowOperationsDashboardLogger dashboardLogger;
 
     public FlowValidateAction(PersistenceManager persistenceManager, FlowOperationsDashboardLogger dashboardLogger) {
@@ -57,16 +57,14 @@ public class FlowValidateAction extends NbTrackableAction<FlowCreateFsm, State,
 
         this.flowValidator = new FlowValidator(flowRepository, switchRepository, islRepository);
         this.flowRepository = flowRepository;
-        this.featureTogglesRepository = persistenceManager.getRepositoryFactory().createFeatureTogglesRepository();
+        this.configurationCache = new ConfigurationCache(persistenceManager.getRepositoryFactory());
         this.dashboardLogger = dashboardLogger;
     }
 
     @Override
     protected Optional<Message> perform(State from, State to, Event event, FlowCreateContext context,
                                         FlowCreateFsm stateMachine) throws FlowProcessingException {
-        boolean isOperationAllowed = featureTogglesRepository.find()
-                .map(FeatureToggles::getCreateFlowEnabled)
-                .orElse(Boolean.FALSE);
+        boolean isOperationAllowed = configurationCache.getFeatureToggle(FeatureToggles::getCreateFlowEnabled);
 
         if (!isOperationAllowed) {
             log.warn("Flow create feature is disabled");
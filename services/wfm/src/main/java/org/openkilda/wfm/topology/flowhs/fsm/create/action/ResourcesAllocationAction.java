@@ -27,8 +27,6 @@ import org.openkilda.model.Flow;
 import org.openkilda.model.FlowPath;
 import org.openkilda.model.FlowPathStatus;
 import org.openkilda.model.FlowStatus;
-import org.openkilda.model.Isl;
-import org.openkilda.model.SwitchId;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathPair;
 import org.openkilda.pce.exception.RecoverableException;
@@ -279,22 +277,15 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
     }
 
     private void updateIslsForFlowPath(FlowPath path) {
-        path.getSegments().forEach(pathSegment -> {
-            log.debug("Updating ISL for the path segment: {}", pathSegment);
-
-            updateAvailableBandwidth(pathSegment.getSrcSwitch().getSwitchId(), pathSegment.getSrcPort(),
-                    pathSegment.getDestSwitch().getSwitchId(), pathSegment.getDestPort());
-        });
-    }
+        if (path.isIgnoreBandwidth() || path.getBandwidth() == 0) {
+            return;
+        }
 
-    private void updateAvailableBandwidth(SwitchId srcSwitch, int srcPort, SwitchId dstSwitch, int dstPort) {
-        long usedBandwidth = flowPathRepository.getUsedBandwidthBetweenEndpoints(srcSwitch, srcPort,
-                dstSwitch, dstPort);
+        path.getSegments().forEach(pathSegment -> {
+            log.debug("Allocating bandwidth {} on ISL for the path segment: {}", path.getBandwidth(), pathSegment);
 
-        Optional<Isl> matchedIsl = islRepository.findByEndpoints(srcSwitch, srcPort, dstSwitch, dstPort);
-        matchedIsl.ifPresent(isl -> {
-            isl.setAvailableBandwidth(isl.getMaxBandwidth() - usedBandwidth);
-            islRepository.createOrUpdate(isl);
+            islRepository.adjustAvailableBandwidth(pathSegment.getSrcSwitch().getSwitchId(), pathSegment.getSrcPort(),
+                    pathSegment.getDestSwitch().getSwitchId(), pathSegment.getDestPort(), -path.getBandwidth());
         });
     }
 
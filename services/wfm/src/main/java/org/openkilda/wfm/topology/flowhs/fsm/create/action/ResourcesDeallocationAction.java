@@ -34,7 +34,6 @@ import org.openkilda.wfm.topology.flowhs.fsm.create.FlowCreateFsm.State;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Collection;
-import java.util.List;
 import java.util.stream.Stream;
 
 @Slf4j
@@ -69,9 +68,7 @@ public class ResourcesDeallocationAction extends FlowProcessingAction<FlowCreate
                 FlowPath reverse = getFlowPath(resources.getReverse().getPathId());
                 Stream.of(forward, reverse)
                         .peek(flowPathRepository::delete)
-                        .map(FlowPath::getSegments)
-                        .flatMap(List::stream)
-                        .forEach(segment -> updateIslAvailableBandwidth(stateMachine.getFlowId(), segment));
+                        .forEach(path -> releaseIslBandwidth(stateMachine.getFlowId(), path));
 
                 flow.resetPaths();
                 flowRepository.createOrUpdate(flow);
@@ -83,18 +80,18 @@ public class ResourcesDeallocationAction extends FlowProcessingAction<FlowCreate
         log.debug("Flow resources have been deallocated for flow {}", flow.getFlowId());
     }
 
-    private void updateIslAvailableBandwidth(String flowId, PathSegment pathSegment) {
-        SwitchId srcSwitch = pathSegment.getSrcSwitch().getSwitchId();
-        SwitchId destSwitch = pathSegment.getDestSwitch().getSwitchId();
-        long usedBandwidth = flowPathRepository.getUsedBandwidthBetweenEndpoints(
-                srcSwitch, pathSegment.getSrcPort(), destSwitch, pathSegment.getDestPort());
-
-        islRepository.findByEndpoints(srcSwitch, pathSegment.getSrcPort(), destSwitch, pathSegment.getDestPort())
-                .ifPresent(isl -> {
-                    isl.setAvailableBandwidth(isl.getMaxBandwidth() - usedBandwidth);
+    private void releaseIslBandwidth(String flowId, FlowPath path) {
+        if (path.isIgnoreBandwidth() || path.getBandwidth() == 0) {
+            return;
+        }
 
-                    islRepository.createOrUpdate(isl);
-                    log.debug("Released used bandwidth from flow {} on the link {}", flowId, isl);
-                });
+        for (PathSegment pathSegment : path.getSegments()) {
+            SwitchId srcSwitch = pathSegment.getSrcSwitch().getSwitchId();
+            SwitchId destSwitch = pathSegment.getDestSwitch().getSwitchId();
+            islRepository.adjustAvailableBandwidth(srcSwitch, pathSegment.getSrcPort(),
+                    destSwitch, pathSegment.getDestPort(), path.getBandwidth());
+            log.debug("Released used bandwidth {} from flow {} on the link {}_{} - {}_{}", path.getBandwidth(),
+                    flowId, srcSwitch, pathSegment.getSrcPort(), destSwitch, pathSegment.getDestPort());
+        }
     }
 }
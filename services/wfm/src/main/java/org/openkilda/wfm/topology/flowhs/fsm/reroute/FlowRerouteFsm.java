@@ -33,6 +33,7 @@ import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.share.flow.resources.FlowResources;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesManager;
+import org.openkilda.wfm.share.history.service.HistoryService;
 import org.openkilda.wfm.share.logger.FlowOperationsDashboardLogger;
 import org.openkilda.wfm.topology.flowhs.fsm.common.NbTrackableStateMachine;
 import org.openkilda.wfm.topology.flowhs.fsm.reroute.FlowRerouteFsm.Event;
@@ -133,7 +134,8 @@ public final class FlowRerouteFsm
     }
 
     private static StateMachineBuilder<FlowRerouteFsm, State, Event, FlowRerouteContext> builder(
-            PersistenceManager persistenceManager, PathComputer pathComputer, FlowResourcesManager resourcesManager) {
+            PersistenceManager persistenceManager, HistoryService historyService, PathComputer pathComputer,
+            FlowResourcesManager resourcesManager) {
         StateMachineBuilder<FlowRerouteFsm, State, Event, FlowRerouteContext> builder =
                 StateMachineBuilderFactory.create(FlowRerouteFsm.class, State.class, Event.class,
                         FlowRerouteContext.class, CommandContext.class, FlowRerouteHubCarrier.class);
@@ -141,7 +143,7 @@ public final class FlowRerouteFsm
         FlowOperationsDashboardLogger dashboardLogger = new FlowOperationsDashboardLogger(log);
 
         builder.transition().from(State.INITIALIZED).to(State.FLOW_VALIDATED).on(Event.NEXT)
-                .perform(new ValidateFlowAction(persistenceManager, dashboardLogger));
+                .perform(new ValidateFlowAction(persistenceManager, historyService, dashboardLogger));
         builder.transition().from(State.INITIALIZED).to(State.FINISHED_WITH_ERROR).on(Event.TIMEOUT);
 
         builder.transition().from(State.FLOW_VALIDATED).to(State.PRIMARY_RESOURCES_ALLOCATED).on(Event.NEXT)
@@ -359,17 +361,17 @@ public final class FlowRerouteFsm
     }
 
     public static FlowRerouteFsm newInstance(CommandContext commandContext, FlowRerouteHubCarrier carrier,
-                                             PersistenceManager persistenceManager,
+                                             PersistenceManager persistenceManager, HistoryService historyService,
                                              PathComputer pathComputer, FlowResourcesManager resourcesManager) {
         return newInstance(State.INITIALIZED, commandContext, carrier,
-                persistenceManager, pathComputer, resourcesManager);
+                persistenceManager, historyService, pathComputer, resourcesManager);
     }
 
     public static FlowRerouteFsm newInstance(State state, CommandContext commandContext,
                                              FlowRerouteHubCarrier carrier,
-                                             PersistenceManager persistenceManager,
+                                             PersistenceManager persistenceManager, HistoryService historyService,
                                              PathComputer pathComputer, FlowResourcesManager resourcesManager) {
-        return builder(persistenceManager, pathComputer, resourcesManager)
+        return builder(persistenceManager, historyService, pathComputer, resourcesManager)
                 .newStateMachine(state, commandContext, carrier);
     }
 
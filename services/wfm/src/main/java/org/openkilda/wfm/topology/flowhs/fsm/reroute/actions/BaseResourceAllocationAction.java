@@ -212,22 +212,23 @@ abstract class BaseResourceAllocationAction extends
 
     private void updateIslsForFlowPath(FlowPath... paths) {
         for (FlowPath path : paths) {
+            if (path.isIgnoreBandwidth() || path.getBandwidth() == 0) {
+                continue;
+            }
+
             path.getSegments().forEach(pathSegment -> {
                 log.debug("Updating ISL for the path segment: {}", pathSegment);
 
-                updateAvailableBandwidth(pathSegment.getSrcSwitch().getSwitchId(), pathSegment.getSrcPort(),
-                        pathSegment.getDestSwitch().getSwitchId(), pathSegment.getDestPort());
+                allocateBandwidth(pathSegment.getSrcSwitch().getSwitchId(), pathSegment.getSrcPort(),
+                        pathSegment.getDestSwitch().getSwitchId(), pathSegment.getDestPort(), path.getBandwidth());
             });
         }
     }
 
-    private void updateAvailableBandwidth(SwitchId srcSwitch, int srcPort, SwitchId dstSwitch, int dstPort) {
-        long usedBandwidth = flowPathRepository.getUsedBandwidthBetweenEndpoints(srcSwitch, srcPort,
-                dstSwitch, dstPort);
-        log.debug("Updating ISL {}_{}-{}_{} with used bandwidth {}", srcSwitch, srcPort, dstSwitch, dstPort,
-                usedBandwidth);
+    private void allocateBandwidth(SwitchId srcSwitch, int srcPort, SwitchId dstSwitch, int dstPort, long bandwidth) {
+        log.debug("Allocating bandwidth {} on ISL {}_{}-{}_{}", bandwidth, srcSwitch, srcPort, dstSwitch, dstPort);
         long islAvailableBandwidth =
-                islRepository.updateAvailableBandwidth(srcSwitch, srcPort, dstSwitch, dstPort, usedBandwidth);
+                islRepository.adjustAvailableBandwidth(srcSwitch, srcPort, dstSwitch, dstPort, -bandwidth);
         if (islAvailableBandwidth < 0) {
             throw new RecoverablePersistenceException(format("ISL %s_%d-%s_%d was overprovisioned",
                     srcSwitch, srcPort, dstSwitch, dstPort));
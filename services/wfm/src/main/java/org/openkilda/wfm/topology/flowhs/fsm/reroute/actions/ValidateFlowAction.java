@@ -20,21 +20,21 @@ import static java.util.Collections.emptySet;
 
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.error.ErrorType;
+import org.openkilda.model.FeatureToggles;
 import org.openkilda.model.Flow;
 import org.openkilda.model.FlowStatus;
 import org.openkilda.model.PathId;
 import org.openkilda.persistence.FetchStrategy;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.TransactionManager;
-import org.openkilda.persistence.repositories.FeatureTogglesRepository;
 import org.openkilda.persistence.repositories.FlowRepository;
-import org.openkilda.persistence.repositories.KildaConfigurationRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
-import org.openkilda.persistence.repositories.history.FlowEventRepository;
 import org.openkilda.wfm.share.history.model.FlowEventData;
 import org.openkilda.wfm.share.history.model.FlowHistoryData;
 import org.openkilda.wfm.share.history.model.FlowHistoryHolder;
+import org.openkilda.wfm.share.history.service.HistoryService;
 import org.openkilda.wfm.share.logger.FlowOperationsDashboardLogger;
+import org.openkilda.wfm.share.service.ConfigurationCache;
 import org.openkilda.wfm.topology.flowhs.exception.FlowProcessingException;
 import org.openkilda.wfm.topology.flowhs.fsm.common.action.NbTrackableAction;
 import org.openkilda.wfm.topology.flowhs.fsm.reroute.FlowRerouteContext;
@@ -57,18 +57,17 @@ public class ValidateFlowAction extends
 
     private final TransactionManager transactionManager;
     private final FlowRepository flowRepository;
-    private final FlowEventRepository flowEventRepository;
-    private final KildaConfigurationRepository kildaConfigurationRepository;
-    private final FeatureTogglesRepository featureTogglesRepository;
+    private final HistoryService historyService;
+    private final ConfigurationCache configurationCache;
     private final FlowOperationsDashboardLogger dashboardLogger;
 
-    public ValidateFlowAction(PersistenceManager persistenceManager, FlowOperationsDashboardLogger dashboardLogger) {
+    public ValidateFlowAction(PersistenceManager persistenceManager, HistoryService historyService,
+                              FlowOperationsDashboardLogger dashboardLogger) {
         transactionManager = persistenceManager.getTransactionManager();
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
         flowRepository = repositoryFactory.createFlowRepository();
-        flowEventRepository = repositoryFactory.createFlowEventRepository();
-        kildaConfigurationRepository = repositoryFactory.createKildaConfigurationRepository();
-        featureTogglesRepository = repositoryFactory.createFeatureTogglesRepository();
+        this.historyService = historyService;
+        configurationCache = new ConfigurationCache(repositoryFactory);
         this.dashboardLogger = dashboardLogger;
     }
 
@@ -80,7 +79,7 @@ public class ValidateFlowAction extends
         stateMachine.setFlowId(flowId);
 
         String eventKey = stateMachine.getCommandContext().getCorrelationId();
-        if (flowEventRepository.existsByTaskId(eventKey)) {
+        if (historyService.hasFlowEvents(eventKey)) {
             String errorMessage = format("Attempt to reuse key %s, but there's a history record(s) for it.", eventKey);
             log.debug(errorMessage);
 
@@ -112,13 +111,10 @@ public class ValidateFlowAction extends
                 return foundFlow;
             });
 
-            featureTogglesRepository.find().ifPresent(featureToggles ->
-                    Optional.ofNullable(featureToggles.getFlowsRerouteUsingDefaultEncapType()).ifPresent(toggle -> {
-                        if (toggle) {
-                            stateMachine.setNewEncapsulationType(
-                                    kildaConfigurationRepository.get().getFlowEncapsulationType());
-                        }
-                    }));
+            if (configurationCache.getFeatureToggle(FeatureToggles::getFlowsRerouteUsingDefaultEncapType)) {
+                stateMachine.setNewEncapsulationType(
+                        configurationCache.getKildaConfiguration().getFlowEncapsulationType());
+            }
 
             // check whether the primary paths should be rerouted
             // | operator is used intentionally, see validation below.
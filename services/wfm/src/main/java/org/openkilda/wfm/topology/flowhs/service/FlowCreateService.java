@@ -19,9 +19,9 @@ import org.openkilda.floodlight.flow.response.FlowResponse;
 import org.openkilda.messaging.command.flow.FlowRequest;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.persistence.PersistenceManager;
-import org.openkilda.persistence.repositories.KildaConfigurationRepository;
 import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesManager;
+import org.openkilda.wfm.share.service.ConfigurationCache;
 import org.openkilda.wfm.topology.flowhs.fsm.create.FlowCreateContext;
 import org.openkilda.wfm.topology.flowhs.fsm.create.FlowCreateFsm;
 import org.openkilda.wfm.topology.flowhs.fsm.create.FlowCreateFsm.Config;
@@ -41,14 +41,13 @@ public class FlowCreateService {
 
     private final FlowCreateFsm.Factory fsmFactory;
     private final FlowCreateHubCarrier carrier;
-    private final KildaConfigurationRepository kildaConfigurationRepository;
+    private final ConfigurationCache configurationCache;
 
     public FlowCreateService(FlowCreateHubCarrier carrier, PersistenceManager persistenceManager,
                              PathComputer pathComputer, FlowResourcesManager flowResourcesManager,
                              int genericRetriesLimit, int speakerCommandRetriesLimit) {
         this.carrier = carrier;
-        this.kildaConfigurationRepository = persistenceManager.getRepositoryFactory()
-                .createKildaConfigurationRepository();
+        this.configurationCache = new ConfigurationCache(persistenceManager.getRepositoryFactory());
 
         Config fsmConfig = Config.builder()
                 .flowCreationRetriesLimit(genericRetriesLimit)
@@ -71,7 +70,8 @@ public class FlowCreateService {
 
         RequestedFlow requestedFlow = RequestedFlowMapper.INSTANCE.toRequestedFlow(request);
         if (requestedFlow.getFlowEncapsulationType() == null) {
-            requestedFlow.setFlowEncapsulationType(kildaConfigurationRepository.get().getFlowEncapsulationType());
+            requestedFlow.setFlowEncapsulationType(
+                    configurationCache.getKildaConfiguration().getFlowEncapsulationType());
         }
         FlowCreateContext context = FlowCreateContext.builder()
                 .targetFlow(requestedFlow)
@@ -21,6 +21,7 @@ import org.openkilda.pce.PathComputer;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesManager;
+import org.openkilda.wfm.share.history.service.HistoryService;
 import org.openkilda.wfm.share.utils.FsmExecutor;
 import org.openkilda.wfm.topology.flowhs.fsm.reroute.FlowRerouteContext;
 import org.openkilda.wfm.topology.flowhs.fsm.reroute.FlowRerouteFsm;
@@ -44,13 +45,16 @@ public class FlowRerouteService {
 
     private final FlowRerouteHubCarrier carrier;
     private final PersistenceManager persistenceManager;
+    private final HistoryService historyService;
     private final PathComputer pathComputer;
     private final FlowResourcesManager flowResourcesManager;
 
     public FlowRerouteService(FlowRerouteHubCarrier carrier, PersistenceManager persistenceManager,
-                              PathComputer pathComputer, FlowResourcesManager flowResourcesManager) {
+                              HistoryService historyService, PathComputer pathComputer,
+                              FlowResourcesManager flowResourcesManager) {
         this.carrier = carrier;
         this.persistenceManager = persistenceManager;
+        this.historyService = historyService;
         this.pathComputer = pathComputer;
         this.flowResourcesManager = flowResourcesManager;
     }
@@ -71,7 +75,7 @@ public class FlowRerouteService {
         }
 
         FlowRerouteFsm fsm = FlowRerouteFsm.newInstance(commandContext, carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                historyService, pathComputer, flowResourcesManager);
         fsms.put(key, fsm);
 
         controllerExecutor.fire(fsm, FlowRerouteFsm.Event.NEXT, FlowRerouteContext.builder()
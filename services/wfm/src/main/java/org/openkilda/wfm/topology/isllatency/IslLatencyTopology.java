@@ -51,6 +51,8 @@ public class IslLatencyTopology extends AbstractTopology<IslLatencyTopologyConfi
     public static final String CACHE_DATA_FIELD = "cache_data";
     public static final Fields ISL_GROUPING_FIELDS = new Fields(ISL_GROUPING_FIELD);
 
+    private static final int MIN_LATENCY_BUFFER_CAPACITY = 16;
+
     public IslLatencyTopology(LaunchEnvironment env) {
         super(env, IslLatencyTopologyConfig.class);
     }
@@ -93,12 +95,21 @@ public class IslLatencyTopology extends AbstractTopology<IslLatencyTopologyConfi
         IslLatencyBolt islLatencyBolt = new IslLatencyBolt(
                 persistenceManager,
                 topologyConfig.getLatencyUpdateInterval(),
-                topologyConfig.getLatencyUpdateTimeRange());
+                topologyConfig.getLatencyUpdateTimeRange(),
+                getLatencyBufferCapacity(),
+                topologyConfig.getLatencyFlushInterval());
         builder.setBolt(ISL_LATENCY_BOLT_ID, islLatencyBolt, topologyConfig.getNewParallelism())
                 .fieldsGrouping(ONE_WAY_MANIPULATION_BOLT_ID, StreamType.LATENCY.toString(), ISL_GROUPING_FIELDS)
                 .fieldsGrouping(CACHE_BOLT_ID, StreamType.LATENCY.toString(), ISL_GROUPING_FIELDS);
     }
 
+    private int getLatencyBufferCapacity() {
+        // one latency packet per discovery interval is expected, reserve space for retries and jitter
+        int discoveryInterval = Math.max(1, topologyConfig.getDiscoveryInterval());
+        int expected = (topologyConfig.getLatencyUpdateTimeRange() + discoveryInterval - 1) / discoveryInterval;
+        return Math.max(MIN_LATENCY_BUFFER_CAPACITY, expected * 2);
+    }
+
     private void createStatsBolt(TopologyBuilder builder) {
         long latencyTimeout = (long) (topologyConfig.getDiscoveryIntervalMultiplier()
                 * topologyConfig.getDiscoveryInterval());
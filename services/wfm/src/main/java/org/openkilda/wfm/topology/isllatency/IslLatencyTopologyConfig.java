@@ -52,6 +52,11 @@ public interface IslLatencyTopologyConfig extends AbstractTopologyConfig {
     @Min(1)
     int getLatencyUpdateTimeRange();
 
+    @Key("latency.flush.interval") // how often collected latencies are written into neo4j in seconds
+    @Default("10")
+    @Min(1)
+    int getLatencyFlushInterval();
+
     @Key("latency.discovery.interval.multiplier")
     @Default("3")
     @Min(1)
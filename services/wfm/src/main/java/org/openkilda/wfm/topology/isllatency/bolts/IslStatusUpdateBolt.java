@@ -23,6 +23,7 @@ import org.openkilda.messaging.Message;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.event.IslStatusUpdateNotification;
+import org.openkilda.messaging.info.event.SwitchStatusUpdateNotification;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.model.Endpoint;
@@ -46,6 +47,9 @@ public class IslStatusUpdateBolt extends AbstractBolt {
 
             if (data instanceof IslStatusUpdateNotification) {
                 handleIslStatusUpdateNotification(tuple, (IslStatusUpdateNotification) data);
+            } else if (data instanceof SwitchStatusUpdateNotification) {
+                // switch status updates share the topic, but they are not relevant for ISL latency
+                log.trace("Ignore switch status update {}", data);
             } else {
                 unhandledInput(tuple);
             }
@@ -0,0 +1,138 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.isllatency.model;
+
+/**
+ * Fixed capacity FIFO of latency samples with running sum and a coarse log-linear histogram.
+ *
+ * <p>All mutating operations are O(1) (amortized for {@link #expire(long)}), so average latency is available without
+ * iterating stored samples. When the buffer is full the oldest sample is overwritten.
+ */
+public class LatencyRingBuffer {
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HISTOGRAM_SIZE = SUB_BUCKETS * (Long.SIZE - SUB_BUCKET_BITS + 1);
+
+    private final long[] latencies;
+    private final long[] timestamps;
+    private final int[] histogram = new int[HISTOGRAM_SIZE];
+
+    private int head;
+    private int size;
+    private long sum;
+
+    public LatencyRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(String.format("Invalid capacity %d, must be positive", capacity));
+        }
+        latencies = new long[capacity];
+        timestamps = new long[capacity];
+    }
+
+    /**
+     * Add latency sample. Evicts the oldest sample if buffer is full.
+     */
+    public void add(long latency, long timestamp) {
+        if (size == latencies.length) {
+            removeHead();
+        }
+        int tail = (head + size) % latencies.length;
+        latencies[tail] = latency;
+        timestamps[tail] = timestamp;
+        size++;
+        sum += latency;
+        histogram[bucketIndex(latency)]++;
+    }
+
+    /**
+     * Remove all samples with timestamp older than {@code oldestTimestamp}.
+     */
+    public void expire(long oldestTimestamp) {
+        while (size > 0 && timestamps[head] < oldestTimestamp) {
+            removeHead();
+        }
+    }
+
+    /**
+     * Average latency of stored samples or -1 if the buffer is empty.
+     */
+    public long getAverage() {
+        if (size == 0) {
+            return -1;
+        }
+        return sum / size;
+    }
+
+    /**
+     * Approximate latency percentile (upper bound of matching histogram bucket) or -1 if the buffer is empty.
+     *
+     * @param percentile percentile in range (0, 1]
+     */
+    public long getPercentile(double percentile) {
+        if (size == 0) {
+            return -1;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile * size));
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= rank) {
+                return bucketUpperBound(i);
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return latencies.length;
+    }
+
+    private void removeHead() {
+        long latency = latencies[head];
+        sum -= latency;
+        histogram[bucketIndex(latency)]--;
+        head = (head + 1) % latencies.length;
+        size--;
+    }
+
+    static int bucketIndex(long latency) {
+        if (latency < SUB_BUCKETS) {
+            return (int) Math.max(latency, 0);
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(latency);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (latency >>> shift) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        long subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        long upper = ((SUB_BUCKETS + subBucket + 1) << shift) - 1;
+        return upper < 0 ? Long.MAX_VALUE : upper;
+    }
+}
@@ -20,6 +20,7 @@ import org.openkilda.messaging.info.event.IslRoundTripLatency;
 import org.openkilda.model.Isl;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.PersistenceException;
 import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.IslRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
@@ -28,18 +29,24 @@ import org.openkilda.wfm.error.IslNotFoundException;
 import org.openkilda.wfm.error.SwitchNotFoundException;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.topology.isllatency.model.IslKey;
-import org.openkilda.wfm.topology.isllatency.model.LatencyRecord;
+import org.openkilda.wfm.topology.isllatency.model.LatencyRingBuffer;
 
 import com.google.common.annotations.VisibleForTesting;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Queue;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 public class IslLatencyService {
@@ -50,24 +57,28 @@ public class IslLatencyService {
     private SwitchRepository switchRepository;
     private final long latencyUpdateInterval; // emit data in DB interval
     private final long latencyUpdateTimeRange; // average latency will be calculated in this time range
+    private final int latencyBufferCapacity;
 
-    private Map<IslKey, Queue<LatencyRecord>> roundTripLatencyStorage;
-    private Map<IslKey, Queue<LatencyRecord>> oneWayLatencyStorage;
+    private Map<IslKey, LatencyRingBuffer> roundTripLatencyStorage;
+    private Map<IslKey, LatencyRingBuffer> oneWayLatencyStorage;
     private Map<IslKey, Instant> nextUpdateTimeMap;
     private Set<IslKey> roundTripLatencyIsSet; // Contains ISLs for which round trip latency were stored in DB
+    private Map<IslKey, PendingLatencyUpdate> pendingUpdates; // latencies waiting for the next flush into DB
 
     public IslLatencyService(TransactionManager transactionManager,
                              RepositoryFactory repositoryFactory, long latencyUpdateInterval,
-                             long latencyUpdateTimeRange) {
+                             long latencyUpdateTimeRange, int latencyBufferCapacity) {
         this.transactionManager = transactionManager;
         this.latencyUpdateInterval = latencyUpdateInterval;
         this.latencyUpdateTimeRange = latencyUpdateTimeRange;
+        this.latencyBufferCapacity = latencyBufferCapacity;
         islRepository = repositoryFactory.createIslRepository();
         switchRepository = repositoryFactory.createSwitchRepository();
         oneWayLatencyStorage = new HashMap<>();
         roundTripLatencyStorage = new HashMap<>();
         roundTripLatencyIsSet = new HashSet<>();
         nextUpdateTimeMap = new HashMap<>();
+        pendingUpdates = new LinkedHashMap<>();
     }
 
     /**
@@ -91,11 +102,11 @@ public class IslLatencyService {
 
         IslKey islKey = new IslKey(data, destination);
 
-        roundTripLatencyStorage.putIfAbsent(islKey, new LinkedList<>());
-        roundTripLatencyStorage.get(islKey).add(new LatencyRecord(data.getLatency(), timestamp));
+        roundTripLatencyStorage.computeIfAbsent(islKey, key -> new LatencyRingBuffer(latencyBufferCapacity))
+                .add(data.getLatency(), timestamp);
 
         if (isUpdateRequired(islKey) || !roundTripLatencyIsSet.contains(islKey)) {
-            updateRoundTripLatency(data, destination, islKey);
+            updateRoundTripLatency(data, islKey);
         }
     }
 
@@ -112,30 +123,60 @@ public class IslLatencyService {
 
         IslKey islKey = new IslKey(data);
 
-        oneWayLatencyStorage.putIfAbsent(islKey, new LinkedList<>());
-        oneWayLatencyStorage.get(islKey).add(new LatencyRecord(data.getLatency(), timestamp));
+        oneWayLatencyStorage.computeIfAbsent(islKey, key -> new LatencyRingBuffer(latencyBufferCapacity))
+                .add(data.getLatency(), timestamp);
 
         if (isUpdateRequired(islKey)) {
             updateOneWayLatencyIfNeeded(data, islKey);
         }
     }
 
-    private void updateRoundTripLatency(IslRoundTripLatency data, Endpoint destination, IslKey islKey) {
-        Queue<LatencyRecord> roundTripRecords = roundTripLatencyStorage.get(islKey);
+    /**
+     * Write all latencies collected since the previous flush into DB using one transaction.
+     */
+    public void flush() {
+        if (pendingUpdates.isEmpty()) {
+            return;
+        }
+        List<PendingLatencyUpdate> batch = new ArrayList<>(pendingUpdates.values());
+        pendingUpdates.clear();
+
+        Set<IslKey> failed;
+        try {
+            failed = updateIslLatencies(batch);
+        } catch (PersistenceException e) {
+            log.error("Couldn't update latency of {} ISLs: {}", batch.size(), e.getMessage(), e);
+            failed = batch.stream().map(PendingLatencyUpdate::getIslKey).collect(Collectors.toSet());
+        }
+
+        for (PendingLatencyUpdate entry : batch) {
+            IslKey islKey = entry.getIslKey();
+            if (failed.contains(islKey)) {
+                // allow the next latency packet to retry the update
+                nextUpdateTimeMap.remove(islKey);
+                roundTripLatencyIsSet.remove(islKey);
+            } else {
+                log.debug("Updated {} latency for ISL {}_{} ===( {} ns )===> {}_{}. Packet id:{}",
+                        entry.getLatencyType(), islKey.getSrcSwitchId(), islKey.getSrcPort(), entry.getLatency(),
+                        islKey.getDstSwitchId(), islKey.getDstPort(), entry.getPacketId());
+            }
+        }
+    }
+
+    private void updateRoundTripLatency(IslRoundTripLatency data, IslKey islKey) {
+        LatencyRingBuffer roundTripRecords = roundTripLatencyStorage.get(islKey);
 
-        pollExpiredRecords(roundTripRecords);
-        pollExpiredRecords(oneWayLatencyStorage.get(islKey));
+        expireRecords(roundTripRecords);
+        expireRecords(oneWayLatencyStorage.get(islKey));
 
         if (roundTripRecords.isEmpty()) {
             log.warn("Couldn't update round trip latency {} for ISL {}_{} === {}_{}. "
                     + "There is no valid latency records. Packet Id: {}",
                     data.getLatency(), data.getSrcSwitchId(), data.getSrcPortNo(),
-                    destination.getDatapath(), destination.getPortNumber(), data.getPacketId());
+                    islKey.getDstSwitchId(), islKey.getDstPort(), data.getPacketId());
         }
 
-        long averageLatency = calculateAverageLatency(roundTripRecords);
-
-        boolean updated = updateLatencyInDataBase(data, destination, averageLatency);
+        boolean updated = scheduleLatencyUpdate(islKey, roundTripRecords, data.getPacketId(), ROUND_TRIP_LATENCY);
 
         if (updated) {
             nextUpdateTimeMap.put(islKey, getNextUpdateTime());
@@ -144,25 +185,24 @@ public class IslLatencyService {
     }
 
     private void updateOneWayLatencyIfNeeded(IslOneWayLatency data, IslKey islKey) {
-        Queue<LatencyRecord> oneWayRecords = oneWayLatencyStorage.get(islKey);
-        pollExpiredRecords(oneWayRecords);
+        LatencyRingBuffer oneWayRecords = oneWayLatencyStorage.get(islKey);
+        expireRecords(oneWayRecords);
 
-        Queue<LatencyRecord> roundTripRecords = roundTripLatencyStorage.get(islKey);
-        pollExpiredRecords(roundTripRecords);
+        LatencyRingBuffer roundTripRecords = roundTripLatencyStorage.get(islKey);
+        expireRecords(roundTripRecords);
         if (roundTripRecords != null && !roundTripRecords.isEmpty()) {
             // next round trip latency packet will update ISL latency
             return;
         }
 
         IslKey reverseIslKey = islKey.getReverse();
-        Queue<LatencyRecord> reverseRoundTripRecords = roundTripLatencyStorage.get(reverseIslKey);
-        pollExpiredRecords(reverseRoundTripRecords);
+        LatencyRingBuffer reverseRoundTripRecords = roundTripLatencyStorage.get(reverseIslKey);
+        expireRecords(reverseRoundTripRecords);
 
         boolean updated;
         if (reverseRoundTripRecords != null && !reverseRoundTripRecords.isEmpty()) {
             // reverse ISL has round trip latency records. We can use them for forward ISL
-            long averageReverseLatency = calculateAverageLatency(reverseRoundTripRecords);
-            updated = updateLatencyInDataBase(data, averageReverseLatency);
+            updated = scheduleLatencyUpdate(islKey, reverseRoundTripRecords, data.getPacketId(), ONE_WAY_LATENCY);
         } else {
             // There are no round trip latency records for both ISL direction. We have to use one way latency records
             if (oneWayRecords.isEmpty()) {
@@ -173,8 +213,7 @@ public class IslLatencyService {
                 return;
             }
 
-            long averageOneWayLatency = calculateAverageLatency(oneWayRecords);
-            updated = updateLatencyInDataBase(data, averageOneWayLatency);
+            updated = scheduleLatencyUpdate(islKey, oneWayRecords, data.getPacketId(), ONE_WAY_LATENCY);
         }
 
         if (updated) {
@@ -183,61 +222,29 @@ public class IslLatencyService {
         }
     }
 
-    private boolean updateLatencyInDataBase(IslOneWayLatency data, long latency) {
-        return updateLatencyInDataBase(data.getSrcSwitchId(), data.getSrcPortNo(),
-                data.getDstSwitchId(), data.getDstPortNo(), latency, data.getPacketId(), ONE_WAY_LATENCY);
-    }
-
-    private boolean updateLatencyInDataBase(IslRoundTripLatency data, Endpoint destination, long latency) {
-        return updateLatencyInDataBase(data.getSrcSwitchId(), data.getSrcPortNo(),
-                destination.getDatapath(), destination.getPortNumber(), latency, data.getPacketId(),
-                ROUND_TRIP_LATENCY);
-    }
-
-    private boolean updateLatencyInDataBase(SwitchId srcSwitch, int srcPort, SwitchId dstSwitch, int dstPort,
-                                         long latency, long packetId, String latencyType) {
+    private boolean scheduleLatencyUpdate(IslKey islKey, LatencyRingBuffer records, long packetId,
+                                          String latencyType) {
+        long latency = records.getAverage();
         if (latency < 0) {
             log.warn("Couldn't update {} latency for ISL {}_{} ===> {}_{}. Packet id:{}. Latency must be positive.",
-                    latencyType, srcSwitch, srcPort, dstSwitch, dstPort, packetId);
+                    latencyType, islKey.getSrcSwitchId(), islKey.getSrcPort(), islKey.getDstSwitchId(),
+                    islKey.getDstPort(), packetId);
             return false;
         }
 
-        try {
-            updateIslLatency(srcSwitch, srcPort, dstSwitch, dstPort, latency);
-            log.debug("Updated {} latency for ISL {}_{} ===( {} ns )===> {}_{}. Packet id:{}",
-                    latencyType, srcSwitch, srcPort, latency, dstSwitch, dstPort, packetId);
-        } catch (SwitchNotFoundException | IslNotFoundException e) {
-            log.warn("Couldn't update {} latency for ISL {}_{} ===> {}_{}. Packet id:{}. {}",
-                    latencyType, srcSwitch, srcPort, dstSwitch, dstPort, packetId, e.getMessage());
-            return false;
-        }
+        log.debug("Schedule {} latency update for ISL {}_{} ===( avg {} ns, p50 {} ns, p99 {} ns )===> {}_{}",
+                latencyType, islKey.getSrcSwitchId(), islKey.getSrcPort(), latency, records.getPercentile(0.5),
+                records.getPercentile(0.99), islKey.getDstSwitchId(), islKey.getDstPort());
+        pendingUpdates.put(islKey, new PendingLatencyUpdate(islKey, latency, packetId, latencyType));
         return true;
     }
 
     @VisibleForTesting
-    void pollExpiredRecords(Queue<LatencyRecord> recordsQueue) {
-        if (recordsQueue == null) {
+    void expireRecords(LatencyRingBuffer records) {
+        if (records == null) {
             return;
         }
-        Instant oldestTimeInRange = Instant.now().minusSeconds(latencyUpdateTimeRange);
-        while (!recordsQueue.isEmpty()
-                && Instant.ofEpochMilli(recordsQueue.peek().getTimestamp()).isBefore(oldestTimeInRange)) {
-            recordsQueue.poll();
-        }
-    }
-
-    @VisibleForTesting
-    long calculateAverageLatency(Queue<LatencyRecord> recordsQueue) {
-        if (recordsQueue.isEmpty()) {
-            log.error("Couldn't calculate average latency. Records queue is empty");
-            return -1;
-        }
-
-        long sum = 0;
-        for (LatencyRecord record : recordsQueue) {
-            sum += record.getLatency();
-        }
-        return sum / recordsQueue.size();
+        records.expire(Instant.now().minusSeconds(latencyUpdateTimeRange).toEpochMilli());
     }
 
     @VisibleForTesting
@@ -250,6 +257,49 @@ public class IslLatencyService {
         return Instant.now().plusSeconds(latencyUpdateInterval);
     }
 
+    /**
+     * Update latencies of several ISLs in one transaction. ISLs which are missing in DB are skipped.
+     *
+     * @return keys of ISLs which were not updated
+     */
+    @VisibleForTesting
+    Set<IslKey> updateIslLatencies(Collection<PendingLatencyUpdate> updates) {
+        return transactionManager.doInTransaction(() -> {
+            Set<IslKey> failed = new HashSet<>();
+            Map<SwitchId, Switch> switches = new HashMap<>();
+            for (PendingLatencyUpdate entry : updates) {
+                IslKey islKey = entry.getIslKey();
+                for (SwitchId switchId : new SwitchId[]{islKey.getSrcSwitchId(), islKey.getDstSwitchId()}) {
+                    if (!switches.containsKey(switchId)) {
+                        switches.put(switchId, switchRepository.findById(switchId).orElse(null));
+                    }
+                }
+            }
+            switchRepository.lockSwitches(switches.values().stream()
+                    .filter(Objects::nonNull)
+                    .toArray(Switch[]::new));
+
+            for (PendingLatencyUpdate entry : updates) {
+                IslKey islKey = entry.getIslKey();
+                Optional<Isl> isl = Optional.empty();
+                if (switches.get(islKey.getSrcSwitchId()) != null && switches.get(islKey.getDstSwitchId()) != null) {
+                    isl = islRepository.findByEndpoints(islKey.getSrcSwitchId(), islKey.getSrcPort(),
+                            islKey.getDstSwitchId(), islKey.getDstPort());
+                }
+                if (isl.isPresent()) {
+                    isl.get().setLatency(entry.getLatency());
+                    islRepository.createOrUpdate(isl.get());
+                } else {
+                    log.warn("Couldn't update {} latency for ISL {}_{} ===> {}_{}. Packet id:{}. ISL not found.",
+                            entry.getLatencyType(), islKey.getSrcSwitchId(), islKey.getSrcPort(),
+                            islKey.getDstSwitchId(), islKey.getDstPort(), entry.getPacketId());
+                    failed.add(islKey);
+                }
+            }
+            return failed;
+        });
+    }
+
     /**
      * Update latency of isl by source and destination endpoint.
      *
@@ -279,4 +329,13 @@ public class IslLatencyService {
             islRepository.createOrUpdate(isl);
         });
     }
+
+    @Value
+    @VisibleForTesting
+    static class PendingLatencyUpdate {
+        IslKey islKey;
+        long latency;
+        long packetId;
+        String latencyType;
+    }
 }
@@ -19,6 +19,7 @@ import org.openkilda.pce.PathComputerConfig;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.spi.PersistenceProvider;
 import org.openkilda.wfm.LaunchEnvironment;
+import org.openkilda.wfm.share.history.store.HistoryStoreConfig;
 import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.nbworker.bolts.DiscoveryEncoderBolt;
 import org.openkilda.wfm.topology.nbworker.bolts.FeatureTogglesBolt;
@@ -125,7 +126,8 @@ public class NbWorkerTopology extends AbstractTopology<NbWorkerTopologyConfig> {
         tb.setBolt(SWITCH_VALIDATIONS_BOLT_NAME, validationBolt, parallelism)
                 .shuffleGrouping(ROUTER_BOLT_NAME, StreamType.VALIDATION.toString());
 
-        HistoryOperationsBolt historyBolt = new HistoryOperationsBolt(persistenceManager);
+        HistoryStoreConfig historyStoreConfig = configurationProvider.getConfiguration(HistoryStoreConfig.class);
+        HistoryOperationsBolt historyBolt = new HistoryOperationsBolt(persistenceManager, historyStoreConfig);
         tb.setBolt(HISTORY_BOLT_NAME, historyBolt, parallelism)
                 .shuffleGrouping(ROUTER_BOLT_NAME, StreamType.HISTORY.toString());
 
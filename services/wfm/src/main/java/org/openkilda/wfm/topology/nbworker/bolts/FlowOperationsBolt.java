@@ -42,13 +42,13 @@ import org.openkilda.model.FlowPath;
 import org.openkilda.model.SwitchId;
 import org.openkilda.model.UnidirectionalFlow;
 import org.openkilda.persistence.PersistenceManager;
-import org.openkilda.persistence.repositories.FeatureTogglesRepository;
 import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.error.FlowNotFoundException;
 import org.openkilda.wfm.error.IslNotFoundException;
 import org.openkilda.wfm.error.SwitchNotFoundException;
 import org.openkilda.wfm.share.mappers.ConnectedDeviceMapper;
 import org.openkilda.wfm.share.mappers.FlowMapper;
+import org.openkilda.wfm.share.service.ConfigurationCache;
 import org.openkilda.wfm.topology.nbworker.StreamType;
 import org.openkilda.wfm.topology.nbworker.services.FlowOperationsService;
 
@@ -65,7 +65,7 @@ import java.util.stream.Collectors;
 
 public class FlowOperationsBolt extends PersistenceOperationsBolt {
     private transient FlowOperationsService flowOperationsService;
-    private transient FeatureTogglesRepository featureTogglesRepository;
+    private transient ConfigurationCache configurationCache;
 
     public FlowOperationsBolt(PersistenceManager persistenceManager) {
         super(persistenceManager);
@@ -77,7 +77,7 @@ public class FlowOperationsBolt extends PersistenceOperationsBolt {
     @Override
     public void init() {
         this.flowOperationsService = new FlowOperationsService(repositoryFactory, transactionManager);
-        this.featureTogglesRepository = repositoryFactory.createFeatureTogglesRepository();
+        this.configurationCache = new ConfigurationCache(repositoryFactory);
     }
 
     @Override
@@ -150,9 +150,8 @@ public class FlowOperationsBolt extends PersistenceOperationsBolt {
             throw new MessageException(ErrorType.NOT_FOUND, e.getMessage(), "ISL was not found.");
         }
 
-        boolean flowsRerouteViaFlowHs = featureTogglesRepository.find()
-                .map(FeatureToggles::getFlowsRerouteViaFlowHs)
-                .orElse(FeatureToggles.DEFAULTS.getFlowsRerouteViaFlowHs());
+        boolean flowsRerouteViaFlowHs = configurationCache.getFeatureToggle(
+                FeatureToggles::getFlowsRerouteViaFlowHs);
 
         flowOperationsService.groupFlowIdWithPathIdsForRerouting(paths)
                 .forEach((flowId, pathIds) -> {
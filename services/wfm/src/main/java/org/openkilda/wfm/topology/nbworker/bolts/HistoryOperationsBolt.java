@@ -25,6 +25,7 @@ import org.openkilda.messaging.payload.history.FlowEventPayload;
 import org.openkilda.messaging.payload.history.FlowHistoryPayload;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.share.history.service.HistoryService;
+import org.openkilda.wfm.share.history.store.HistoryStoreConfig;
 import org.openkilda.wfm.share.mappers.HistoryMapper;
 
 import org.apache.storm.tuple.Tuple;
@@ -35,15 +36,17 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 public class HistoryOperationsBolt extends PersistenceOperationsBolt {
+    private final HistoryStoreConfig historyStoreConfig;
     private transient HistoryService historyService;
 
-    public HistoryOperationsBolt(PersistenceManager persistenceManager) {
+    public HistoryOperationsBolt(PersistenceManager persistenceManager, HistoryStoreConfig historyStoreConfig) {
         super(persistenceManager);
+        this.historyStoreConfig = historyStoreConfig;
     }
 
     @Override
     protected void init() {
-        historyService = new HistoryService(transactionManager, repositoryFactory);
+        historyService = new HistoryService(transactionManager, repositoryFactory, historyStoreConfig);
     }
 
     @Override
@@ -37,7 +37,6 @@ import org.openkilda.model.Isl;
 import org.openkilda.model.LinkProps;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.PersistenceManager;
-import org.openkilda.persistence.repositories.FeatureTogglesRepository;
 import org.openkilda.persistence.repositories.IslRepository;
 import org.openkilda.persistence.repositories.LinkPropsRepository;
 import org.openkilda.wfm.CommandContext;
@@ -46,6 +45,7 @@ import org.openkilda.wfm.error.IslNotFoundException;
 import org.openkilda.wfm.error.LinkPropsException;
 import org.openkilda.wfm.share.mappers.IslMapper;
 import org.openkilda.wfm.share.mappers.LinkPropsMapper;
+import org.openkilda.wfm.share.service.ConfigurationCache;
 import org.openkilda.wfm.topology.nbworker.StreamType;
 import org.openkilda.wfm.topology.nbworker.services.FlowOperationsService;
 import org.openkilda.wfm.topology.nbworker.services.ILinkOperationsServiceCarrier;
@@ -70,7 +70,7 @@ public class LinkOperationsBolt extends PersistenceOperationsBolt implements ILi
 
     private transient LinkPropsRepository linkPropsRepository;
     private transient IslRepository islRepository;
-    private transient FeatureTogglesRepository featureTogglesRepository;
+    private transient ConfigurationCache configurationCache;
 
     public LinkOperationsBolt(PersistenceManager persistenceManager) {
         super(persistenceManager);
@@ -85,7 +85,7 @@ public class LinkOperationsBolt extends PersistenceOperationsBolt implements ILi
         this.flowOperationsService = new FlowOperationsService(repositoryFactory, transactionManager);
         linkPropsRepository = repositoryFactory.createLinkPropsRepository();
         islRepository = repositoryFactory.createIslRepository();
-        featureTogglesRepository = repositoryFactory.createFeatureTogglesRepository();
+        configurationCache = new ConfigurationCache(repositoryFactory);
     }
 
     @Override
@@ -312,9 +312,8 @@ public class LinkOperationsBolt extends PersistenceOperationsBolt implements ILi
                     dstSwitch, dstPort, underMaintenance);
 
             if (underMaintenance && evacuate) {
-                boolean flowsRerouteViaFlowHs = featureTogglesRepository.find()
-                        .map(FeatureToggles::getFlowsRerouteViaFlowHs)
-                        .orElse(FeatureToggles.DEFAULTS.getFlowsRerouteViaFlowHs());
+                boolean flowsRerouteViaFlowHs = configurationCache.getFeatureToggle(
+                        FeatureToggles::getFlowsRerouteViaFlowHs);
 
                 flowOperationsService.groupFlowIdWithPathIdsForRerouting(
                         flowOperationsService.getFlowPathsForLink(srcSwitch, srcPort, dstSwitch, dstPort)
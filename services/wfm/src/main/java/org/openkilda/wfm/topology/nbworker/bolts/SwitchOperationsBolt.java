@@ -38,11 +38,11 @@ import org.openkilda.model.PortProperties;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.PersistenceManager;
-import org.openkilda.persistence.repositories.FeatureTogglesRepository;
 import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.error.IllegalSwitchStateException;
 import org.openkilda.wfm.error.SwitchNotFoundException;
 import org.openkilda.wfm.share.mappers.PortMapper;
+import org.openkilda.wfm.share.service.ConfigurationCache;
 import org.openkilda.wfm.topology.nbworker.StreamType;
 import org.openkilda.wfm.topology.nbworker.services.FlowOperationsService;
 import org.openkilda.wfm.topology.nbworker.services.SwitchOperationsService;
@@ -59,7 +59,7 @@ public class SwitchOperationsBolt extends PersistenceOperationsBolt {
     private transient SwitchOperationsService switchOperationsService;
     private transient FlowOperationsService flowOperationsService;
 
-    private transient FeatureTogglesRepository featureTogglesRepository;
+    private transient ConfigurationCache configurationCache;
 
     public SwitchOperationsBolt(PersistenceManager persistenceManager) {
         super(persistenceManager);
@@ -74,7 +74,7 @@ public class SwitchOperationsBolt extends PersistenceOperationsBolt {
                 new SwitchOperationsService(repositoryFactory, transactionManager);
         this.flowOperationsService = new FlowOperationsService(repositoryFactory, transactionManager);
 
-        featureTogglesRepository = repositoryFactory.createFeatureTogglesRepository();
+        configurationCache = new ConfigurationCache(repositoryFactory);
     }
 
     @Override
@@ -130,9 +130,8 @@ public class SwitchOperationsBolt extends PersistenceOperationsBolt {
         }
 
         if (underMaintenance && evacuate) {
-            boolean flowsRerouteViaFlowHs = featureTogglesRepository.find()
-                    .map(FeatureToggles::getFlowsRerouteViaFlowHs)
-                    .orElse(FeatureToggles.DEFAULTS.getFlowsRerouteViaFlowHs());
+            boolean flowsRerouteViaFlowHs = configurationCache.getFeatureToggle(
+                    FeatureToggles::getFlowsRerouteViaFlowHs);
 
             flowOperationsService.groupFlowIdWithPathIdsForRerouting(
                     flowOperationsService.getFlowPathsForSwitch(switchId)
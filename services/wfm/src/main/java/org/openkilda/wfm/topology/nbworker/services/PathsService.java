@@ -25,11 +25,11 @@ import org.openkilda.pce.PathComputerConfig;
 import org.openkilda.pce.PathComputerFactory;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.exception.UnroutableFlowException;
-import org.openkilda.persistence.repositories.KildaConfigurationRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.repositories.SwitchRepository;
 import org.openkilda.wfm.error.SwitchNotFoundException;
 import org.openkilda.wfm.share.mappers.PathMapper;
+import org.openkilda.wfm.share.service.ConfigurationCache;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -42,11 +42,11 @@ public class PathsService {
     private static final int MAX_PATH_COUNT = 500;
     private PathComputer pathComputer;
     private SwitchRepository switchRepository;
-    private KildaConfigurationRepository kildaConfigurationRepository;
+    private ConfigurationCache configurationCache;
 
     public PathsService(RepositoryFactory repositoryFactory, PathComputerConfig pathComputerConfig) {
         switchRepository = repositoryFactory.createSwitchRepository();
-        kildaConfigurationRepository = repositoryFactory.createKildaConfigurationRepository();
+        configurationCache = new ConfigurationCache(repositoryFactory);
         PathComputerFactory pathComputerFactory = new PathComputerFactory(
                 pathComputerConfig, new AvailableNetworkFactory(pathComputerConfig, repositoryFactory));
         pathComputer = pathComputerFactory.getPathComputer();
@@ -68,7 +68,8 @@ public class PathsService {
             throw new SwitchNotFoundException(dstSwitchId);
         }
         // TODO(tdurakov): NB request should accept encapsulation type as well, right now will use env default
-        FlowEncapsulationType flowEncapsulationType = kildaConfigurationRepository.get().getFlowEncapsulationType();
+        FlowEncapsulationType flowEncapsulationType = configurationCache.getKildaConfiguration()
+                .getFlowEncapsulationType();
         List<Path> flowPaths = pathComputer.getNPaths(srcSwitchId, dstSwitchId, MAX_PATH_COUNT, flowEncapsulationType);
 
         return flowPaths.stream().map(PathMapper.INSTANCE::map)
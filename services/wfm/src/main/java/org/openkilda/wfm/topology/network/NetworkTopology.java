@@ -212,6 +212,7 @@ public class NetworkTopology extends AbstractTopology<NetworkTopologyConfig> {
         SwitchHandler bolt = new SwitchHandler(options, persistenceManager);
         Fields grouping = new Fields(SpeakerRouter.FIELD_ID_DATAPATH);
         topology.setBolt(SwitchHandler.BOLT_ID, bolt, scaleFactor)
+                .allGrouping(CoordinatorSpout.ID)
                 .fieldsGrouping(NetworkHistory.SPOUT_ID, grouping)
                 .fieldsGrouping(SpeakerRouter.BOLT_ID, grouping)
                 .directGrouping(SwitchManagerWorker.BOLT_ID, SwitchManagerWorker.STREAM_HUB_ID);
@@ -253,8 +254,10 @@ public class NetworkTopology extends AbstractTopology<NetworkTopologyConfig> {
         IslHandler bolt = new IslHandler(persistenceManager, options);
         Fields islGrouping = new Fields(UniIslHandler.FIELD_ID_ISL_SOURCE, UniIslHandler.FIELD_ID_ISL_DEST);
         topology.setBolt(IslHandler.BOLT_ID, bolt, scaleFactor)
+                .allGrouping(CoordinatorSpout.ID)
                 .fieldsGrouping(UniIslHandler.BOLT_ID, islGrouping)
-                .fieldsGrouping(SpeakerRouter.BOLT_ID, SpeakerRouter.STREAM_ISL_ID, islGrouping);
+                .fieldsGrouping(SpeakerRouter.BOLT_ID, SpeakerRouter.STREAM_ISL_ID, islGrouping)
+                .allGrouping(SpeakerRouter.BOLT_ID, SpeakerRouter.STREAM_BCAST_ID);
     }
 
     private void outputSpeaker(TopologyBuilder topology, int scaleFactor) {
@@ -291,7 +294,8 @@ public class NetworkTopology extends AbstractTopology<NetworkTopologyConfig> {
     private void outputStatus(TopologyBuilder topology, int scaleFactor) {
         StatusEncoder bolt = new StatusEncoder();
         topology.setBolt(StatusEncoder.BOLT_ID, bolt, scaleFactor)
-                .shuffleGrouping(IslHandler.BOLT_ID, IslHandler.STREAM_STATUS_ID);
+                .shuffleGrouping(IslHandler.BOLT_ID, IslHandler.STREAM_STATUS_ID)
+                .shuffleGrouping(SwitchHandler.BOLT_ID, SwitchHandler.STREAM_STATUS_ID);
 
         KafkaBolt output = buildKafkaBolt(topologyConfig.getKafkaNetworkIslStatusTopic());
         topology.setBolt(ComponentId.STATUS_OUTPUT.toString(), output, scaleFactor)
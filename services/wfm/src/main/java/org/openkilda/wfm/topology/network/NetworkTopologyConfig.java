@@ -110,6 +110,11 @@ public interface NetworkTopologyConfig extends AbstractTopologyConfig {
     @Default("60")
     int getPortAntiFlapStatsDumpingInterval();
 
+    // How often available bandwidth of active ISLs is compared with bandwidth of flow paths going through them.
+    @Key("isl.bandwidth.reconcile.interval.seconds")
+    @Default("600")
+    int getIslBandwidthReconcileInterval();
+
     @Configuration
     @Key("discovery")
     interface DiscoveryConfig {
@@ -132,5 +137,14 @@ public interface NetworkTopologyConfig extends AbstractTopologyConfig {
         @Key("db.write.repeats.time.frame")
         @Default("30")
         long getDbRepeatsTimeFrameSeconds();
+
+        // Switch and ISL status changes are collected during this window and written in batches, 0 - write at once.
+        @Key("db.write.coalesce.window.millis")
+        @Default("500")
+        long getDbWriteCoalesceWindowMillis();
+
+        @Key("db.write.batch.size")
+        @Default("200")
+        int getDbWriteBatchSize();
     }
 }
@@ -31,14 +31,15 @@ import org.openkilda.model.SwitchStatus;
 import org.openkilda.persistence.PersistenceException;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.TransactionManager;
-import org.openkilda.persistence.repositories.FeatureTogglesRepository;
 import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.IslRepository.IslStatusUpdate;
 import org.openkilda.persistence.repositories.LinkPropsRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.repositories.SwitchRepository;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.share.model.IslReference;
+import org.openkilda.wfm.share.service.ConfigurationCache;
 import org.openkilda.wfm.share.utils.AbstractBaseFsm;
 import org.openkilda.wfm.share.utils.FsmExecutor;
 import org.openkilda.wfm.topology.network.NetworkTopologyDashboardLogger;
@@ -51,6 +52,7 @@ import org.openkilda.wfm.topology.network.model.IslEndpointStatus;
 import org.openkilda.wfm.topology.network.model.NetworkOptions;
 import org.openkilda.wfm.topology.network.model.facts.DiscoveryFacts;
 import org.openkilda.wfm.topology.network.service.IIslCarrier;
+import org.openkilda.wfm.topology.network.storage.IslStatusWriter;
 import org.openkilda.wfm.topology.network.storm.bolt.isl.BfdManager;
 
 import lombok.Builder;
@@ -72,9 +74,10 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
     private final FlowPathRepository flowPathRepository;
     private final SwitchRepository switchRepository;
     private final TransactionManager transactionManager;
-    private final FeatureTogglesRepository featureTogglesRepository;
 
     private final RetryPolicy transactionRetryPolicy;
+    private final IslStatusWriter statusWriter;
+    private final ConfigurationCache configurationCache;
 
     private final BfdManager bfdManager;
 
@@ -82,25 +85,30 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
 
     private final DiscoveryFacts discoveryFacts;
 
+    // status changes can be written behind only when both ISL directions are already stored
+    private boolean persistentRecordExists = false;
+
     private final NetworkTopologyDashboardLogger logWrapper = new NetworkTopologyDashboardLogger(log);
 
     public static IslFsmFactory factory(PersistenceManager persistenceManager) {
         return new IslFsmFactory(persistenceManager);
     }
 
-    public IslFsm(PersistenceManager persistenceManager, BfdManager bfdManager, NetworkOptions options,
+    public IslFsm(PersistenceManager persistenceManager, IslStatusWriter statusWriter,
+                  ConfigurationCache configurationCache, BfdManager bfdManager, NetworkOptions options,
                   IslReference reference) {
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
         islRepository = repositoryFactory.createIslRepository();
         linkPropsRepository = repositoryFactory.createLinkPropsRepository();
         flowPathRepository = repositoryFactory.createFlowPathRepository();
         switchRepository = repositoryFactory.createSwitchRepository();
-        featureTogglesRepository = repositoryFactory.createFeatureTogglesRepository();
 
         transactionManager = persistenceManager.getTransactionManager();
         transactionRetryPolicy = transactionManager.makeRetryPolicyBlank()
                 .withMaxDuration(options.getDbRepeatMaxDurationSeconds(), TimeUnit.SECONDS);
 
+        this.statusWriter = statusWriter;
+        this.configurationCache = configurationCache;
         this.bfdManager = bfdManager;
 
         endpointStatus = new BiIslDataHolder<>(reference);
@@ -143,7 +151,7 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
     public void handleInitialDiscovery(IslFsmState from, IslFsmState to, IslFsmEvent event, IslFsmContext context) {
         updateLinkData(context.getEndpoint(), context.getIslData());
         updateEndpointStatusByEvent(event, context);
-        saveStatusTransaction();
+        scheduleStatusTransaction();
     }
 
     public void updateEndpointStatus(IslFsmState from, IslFsmState to, IslFsmEvent event, IslFsmContext context) {
@@ -153,12 +161,12 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
     public void updateAndPersistEndpointStatus(IslFsmState from, IslFsmState to, IslFsmEvent event,
                                                IslFsmContext context) {
         updateEndpointStatusByEvent(event, context);
-        saveStatusTransaction();
+        scheduleStatusTransaction();
     }
 
     public void downEnter(IslFsmState from, IslFsmState to, IslFsmEvent event, IslFsmContext context) {
         log.info("ISL {} become {}", discoveryFacts.getReference(), to);
-        saveStatusTransaction();
+        scheduleStatusTransaction();
         sendIslStatusUpdateNotification(context, IslStatus.INACTIVE);
     }
 
@@ -181,6 +189,7 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
 
         if (event != IslFsmEvent._HISTORY_UP) {
             // Do not produce reroute during recovery system state from DB
+            sendIslStatusUpdateNotification(context, IslStatus.ACTIVE);
             triggerDownFlowReroute(context);
         }
     }
@@ -206,7 +215,7 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
 
     public void movedEnter(IslFsmState from, IslFsmState to, IslFsmEvent event, IslFsmContext context) {
         log.info("ISL {} become {}", discoveryFacts.getReference(), to);
-        saveStatusTransaction();
+        scheduleStatusTransaction();
         sendIslStatusUpdateNotification(context, IslStatus.MOVED);
         bfdManager.disable(context.getOutput());
     }
@@ -218,8 +227,30 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
         }
     }
 
+    /**
+     * Compare stored available bandwidth of both ISL directions with bandwidth of flow paths going through them.
+     */
+    public void reconcileBandwidth(IslFsmState from, IslFsmState to, IslFsmEvent event, IslFsmContext context) {
+        IslReference reference = discoveryFacts.getReference();
+        reconcileBandwidth(reference.getSource(), reference.getDest());
+        reconcileBandwidth(reference.getDest(), reference.getSource());
+    }
+
     // -- private/service methods --
 
+    private void reconcileBandwidth(Endpoint source, Endpoint dest) {
+        try {
+            long drift = transactionManager.doInTransaction(transactionRetryPolicy,
+                    () -> islRepository.reconcileAvailableBandwidth(
+                            source.getDatapath(), source.getPortNumber(), dest.getDatapath(), dest.getPortNumber()));
+            if (drift != 0) {
+                log.warn("Available bandwidth of ISL {} ==> {} was off by {}, fixed", source, dest, drift);
+            }
+        } catch (PersistenceException e) {
+            log.error("Unable to reconcile available bandwidth of ISL {} ==> {}: {}", source, dest, e.getMessage());
+        }
+    }
+
     private void sendIslStatusUpdateNotification(IslFsmContext context, IslStatus status) {
         IslStatusUpdateNotification trigger = new IslStatusUpdateNotification(
                 discoveryFacts.getReference().getSource().getDatapath(),
@@ -239,8 +270,9 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
         Endpoint source = Endpoint.of(history.getSrcSwitch().getSwitchId(), history.getSrcPort());
         Endpoint dest = Endpoint.of(history.getDestSwitch().getSwitchId(), history.getDestPort());
         transactionManager.doInTransaction(() -> {
-            loadPersistentData(source, dest);
-            loadPersistentData(dest, source);
+            boolean forwardExists = loadPersistentData(source, dest);
+            boolean reverseExists = loadPersistentData(dest, source);
+            persistentRecordExists = forwardExists && reverseExists;
         });
     }
 
@@ -263,7 +295,7 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
         endpointStatus.put(context.getEndpoint(), status);
     }
 
-    private void loadPersistentData(Endpoint start, Endpoint end) {
+    private boolean loadPersistentData(Endpoint start, Endpoint end) {
         Optional<Isl> potentialIsl = islRepository.findByEndpoints(
                 start.getDatapath(), start.getPortNumber(),
                 end.getDatapath(), end.getPortNumber());
@@ -274,9 +306,11 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
             IslEndpointStatus status = new IslEndpointStatus(mapStatus(isl.getStatus()), isl.getDownReason());
             endpointStatus.put(endpoint, status);
             discoveryFacts.put(endpoint, new IslDataHolder(isl));
+            return true;
         } else {
             log.error("There is no persistent ISL data {} ==> {} (possible race condition during topology "
                               + "initialisation)", start, end);
+            return false;
         }
     }
 
@@ -302,24 +336,67 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
     }
 
     private void saveAllTransaction() {
+        // full ISL data write supersedes pending status changes
+        statusWriter.cancel(discoveryFacts.getReference());
         transactionManager.doInTransaction(transactionRetryPolicy, () -> saveAll(Instant.now()));
+        persistentRecordExists = true;
+    }
+
+    /**
+     * Write the status through the write-behind queue. Only for updates that are not followed by reroutes, reroutes
+     * read the ISL from DB and must not see the previous status. Status notifications carry the status themselves.
+     */
+    private void scheduleStatusTransaction() {
+        if (isWriteBehindAllowed()) {
+            scheduleStatus(Instant.now());
+        } else {
+            saveStatusTransaction();
+        }
     }
 
     private void saveStatusTransaction() {
+        // the direct write supersedes pending status changes
+        statusWriter.cancel(discoveryFacts.getReference());
         transactionManager.doInTransaction(transactionRetryPolicy, () -> saveStatus(Instant.now()));
     }
 
     private void saveStatusAndSetIslUnstableTimeTransaction(IslFsmContext context) {
+        boolean isUnstable = IslDownReason.PORT_DOWN == context.getDownReason();
+        // the direct write supersedes pending status changes
+        statusWriter.cancel(discoveryFacts.getReference());
         transactionManager.doInTransaction(transactionRetryPolicy, () -> {
             Instant timeNow = Instant.now();
 
             saveStatus(timeNow);
-            if (IslDownReason.PORT_DOWN == context.getDownReason()) {
+            if (isUnstable) {
                 setIslUnstableTime(timeNow);
             }
         });
     }
 
+    private boolean isWriteBehindAllowed() {
+        return persistentRecordExists && statusWriter.isEnabled();
+    }
+
+    private void scheduleStatus(Instant timeNow) {
+        IslReference reference = discoveryFacts.getReference();
+        scheduleStatus(reference.getSource(), reference.getDest(), endpointStatus.getForward(), timeNow);
+        scheduleStatus(reference.getDest(), reference.getSource(), endpointStatus.getReverse(), timeNow);
+    }
+
+    private void scheduleStatus(Endpoint source, Endpoint dest, IslEndpointStatus endpointData, Instant timeNow) {
+        statusWriter.schedule(IslStatusUpdate.builder()
+                .srcSwitchId(source.getDatapath())
+                .srcPort(source.getPortNumber())
+                .destSwitchId(dest.getDatapath())
+                .destPort(dest.getPortNumber())
+                .status(mapStatus(getAggregatedStatus()))
+                .actualStatus(mapStatus(endpointData.getStatus()))
+                .downReason(endpointData.getDownReason())
+                .timeModify(timeNow)
+                .build());
+    }
+
     private void saveAll(Instant timeNow) {
         Socket socket = prepareSocket();
         saveAll(socket.getSource(), socket.getDest(), timeNow, endpointStatus.getForward());
@@ -542,9 +619,7 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
 
     // TODO(surabujin): should this check been moved into reroute topology?
     private boolean shouldEmitDownFlowReroute() {
-        return featureTogglesRepository.find()
-                .map(FeatureToggles::getFlowsRerouteOnIslDiscoveryEnabled)
-                .orElse(FeatureToggles.DEFAULTS.getFlowsRerouteOnIslDiscoveryEnabled());
+        return configurationCache.getFeatureToggle(FeatureToggles::getFlowsRerouteOnIslDiscoveryEnabled);
     }
 
     private String makeRerouteReason(Endpoint endpoint, IslDownReason reason) {
@@ -632,7 +707,8 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
             builder = StateMachineBuilderFactory.create(
                     IslFsm.class, IslFsmState.class, IslFsmEvent.class, IslFsmContext.class,
                     // extra parameters
-                    PersistenceManager.class, BfdManager.class, NetworkOptions.class, IslReference.class);
+                    PersistenceManager.class, IslStatusWriter.class, ConfigurationCache.class, BfdManager.class,
+                    NetworkOptions.class, IslReference.class);
 
             String updateEndpointStatusMethod = "updateEndpointStatus";
             String updateAndPersistEndpointStatusMethod = "updateAndPersistEndpointStatus";
@@ -689,6 +765,9 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
                     .from(IslFsmState.UP).to(IslFsmState.DOWN).on(IslFsmEvent.ISL_DOWN);
             builder.transition()
                     .from(IslFsmState.UP).to(IslFsmState.MOVED).on(IslFsmEvent.ISL_MOVE);
+            builder.internalTransition()
+                    .within(IslFsmState.UP).on(IslFsmEvent.BANDWIDTH_RECONCILE)
+                    .callMethod("reconcileBandwidth");
             builder.onEntry(IslFsmState.UP)
                     .callMethod("upEnter");
             builder.onExit(IslFsmState.UP)
@@ -720,8 +799,10 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
         /**
          * Create and properly initialize new {@link IslFsm}.
          */
-        public IslFsm produce(BfdManager bfdManager, NetworkOptions options, IslReference reference) {
-            IslFsm fsm = builder.newStateMachine(IslFsmState.INIT, persistenceManager, bfdManager, options, reference);
+        public IslFsm produce(IslStatusWriter statusWriter, ConfigurationCache configurationCache,
+                              BfdManager bfdManager, NetworkOptions options, IslReference reference) {
+            IslFsm fsm = builder.newStateMachine(IslFsmState.INIT, persistenceManager, statusWriter,
+                                                 configurationCache, bfdManager, options, reference);
             fsm.start();
             return fsm;
         }
@@ -754,7 +835,7 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
         NEXT,
 
         HISTORY, _HISTORY_DOWN, _HISTORY_UP, _HISTORY_MOVED,
-        ISL_UP, ISL_DOWN, ISL_MOVE,
+        ISL_UP, ISL_DOWN, ISL_MOVE, BANDWIDTH_RECONCILE,
         _UP_ATTEMPT_SUCCESS, ISL_REMOVE, _ISL_REMOVE_SUCESS, _UP_ATTEMPT_FAIL
     }
 
@@ -15,6 +15,7 @@
 
 package org.openkilda.wfm.topology.network.controller.sw;
 
+import org.openkilda.messaging.info.event.SwitchStatusUpdateNotification;
 import org.openkilda.messaging.info.switches.MetersSyncEntry;
 import org.openkilda.messaging.info.switches.RulesSyncEntry;
 import org.openkilda.messaging.info.switches.SwitchSyncResponse;
@@ -42,6 +43,7 @@ import org.openkilda.wfm.topology.network.model.LinkStatus;
 import org.openkilda.wfm.topology.network.model.NetworkOptions;
 import org.openkilda.wfm.topology.network.model.facts.HistoryFacts;
 import org.openkilda.wfm.topology.network.service.ISwitchCarrier;
+import org.openkilda.wfm.topology.network.storage.SwitchStatusWriter;
 
 import lombok.Builder;
 import lombok.Value;
@@ -71,6 +73,7 @@ public final class SwitchFsm extends AbstractBaseFsm<SwitchFsm, SwitchFsmState,
     private final RetryPolicy transactionRetryPolicy;
     private final SwitchRepository switchRepository;
     private final SwitchPropertiesRepository switchPropertiesRepository;
+    private final SwitchStatusWriter statusWriter;
 
     private final SwitchId switchId;
 
@@ -88,7 +91,8 @@ public final class SwitchFsm extends AbstractBaseFsm<SwitchFsm, SwitchFsmState,
         return new SwitchFsmFactory();
     }
 
-    public SwitchFsm(PersistenceManager persistenceManager, SwitchId switchId, NetworkOptions options) {
+    public SwitchFsm(PersistenceManager persistenceManager, SwitchStatusWriter statusWriter, SwitchId switchId,
+                     NetworkOptions options) {
         this.transactionManager = persistenceManager.getTransactionManager();
         this.transactionRetryPolicy = transactionManager.makeRetryPolicyBlank()
                 .withMaxDuration(options.getDbRepeatMaxDurationSeconds(), TimeUnit.SECONDS);
@@ -96,6 +100,7 @@ public final class SwitchFsm extends AbstractBaseFsm<SwitchFsm, SwitchFsmState,
 
         this.switchId = switchId;
         this.switchPropertiesRepository = persistenceManager.getRepositoryFactory().createSwitchPropertiesRepository();
+        this.statusWriter = statusWriter;
 
         this.options = options;
     }
@@ -136,7 +141,10 @@ public final class SwitchFsm extends AbstractBaseFsm<SwitchFsm, SwitchFsmState,
     public void setupEnter(SwitchFsmState from, SwitchFsmState to, SwitchFsmEvent event, SwitchFsmContext context) {
         logWrapper.onSwitchUpdateStatus(switchId, NetworkTopologyDashboardLogger.SwitchState.ONLINE);
 
+        // full switch data write supersedes the pending status change
+        statusWriter.cancel(switchId);
         transactionManager.doInTransaction(transactionRetryPolicy, this::persistSwitchData);
+        sendSwitchStatusUpdateNotification(context, SwitchStatus.ACTIVE);
         updatePorts(context, speakerData, true);
         speakerData = null;
     }
@@ -148,7 +156,14 @@ public final class SwitchFsm extends AbstractBaseFsm<SwitchFsm, SwitchFsmState,
     public void offlineEnter(SwitchFsmState from, SwitchFsmState to, SwitchFsmEvent event,
                              SwitchFsmContext context) {
         logWrapper.onSwitchUpdateStatus(switchId, NetworkTopologyDashboardLogger.SwitchState.OFFLINE);
-        transactionManager.doInTransaction(transactionRetryPolicy, () -> updatePersistentStatus(SwitchStatus.INACTIVE));
+        // reroutes are driven by the ISL down events, their status is written directly
+        if (statusWriter.isEnabled()) {
+            statusWriter.schedule(switchId, SwitchStatus.INACTIVE);
+        } else {
+            transactionManager.doInTransaction(transactionRetryPolicy,
+                    () -> updatePersistentStatus(SwitchStatus.INACTIVE));
+        }
+        sendSwitchStatusUpdateNotification(context, SwitchStatus.INACTIVE);
 
         for (AbstractPort port : portByNumber.values()) {
             updateOnlineStatus(port, context, false);
@@ -412,6 +427,10 @@ public final class SwitchFsm extends AbstractBaseFsm<SwitchFsm, SwitchFsmState,
                 });
     }
 
+    private void sendSwitchStatusUpdateNotification(SwitchFsmContext context, SwitchStatus status) {
+        context.getOutput().switchStatusUpdateNotification(new SwitchStatusUpdateNotification(switchId, status));
+    }
+
     private void initialSwitchSetup(SwitchFsmContext context) {
         // FIXME(surabujin): move initial switch setup here (from FL)
     }
@@ -456,7 +475,7 @@ public final class SwitchFsm extends AbstractBaseFsm<SwitchFsm, SwitchFsmState,
             builder = StateMachineBuilderFactory.create(
                     SwitchFsm.class, SwitchFsmState.class, SwitchFsmEvent.class, SwitchFsmContext.class,
                     // extra parameters
-                    PersistenceManager.class, SwitchId.class, NetworkOptions.class);
+                    PersistenceManager.class, SwitchStatusWriter.class, SwitchId.class, NetworkOptions.class);
 
             // INIT
             builder.transition()
@@ -513,8 +532,9 @@ public final class SwitchFsm extends AbstractBaseFsm<SwitchFsm, SwitchFsmState,
             return new FsmExecutor<>(SwitchFsmEvent.NEXT);
         }
 
-        public SwitchFsm produce(PersistenceManager persistenceManager, SwitchId switchId, NetworkOptions options) {
-            return builder.newStateMachine(SwitchFsmState.INIT, persistenceManager, switchId, options);
+        public SwitchFsm produce(PersistenceManager persistenceManager, SwitchStatusWriter statusWriter,
+                                 SwitchId switchId, NetworkOptions options) {
+            return builder.newStateMachine(SwitchFsmState.INIT, persistenceManager, statusWriter, switchId, options);
         }
     }
 
@@ -46,12 +46,18 @@ public class NetworkOptions implements Serializable {
 
     private long dbRepeatMaxDurationSeconds;
 
+    private long dbWriteCoalesceWindow;
+
+    private int dbWriteBatchSize;
+
     private boolean isRemoveExcessWhenSwitchSync;
 
     private int countSynchronizationAttempts;
 
     private long antiFlapStatsDumpingInterval;
 
+    private long islBandwidthReconcileInterval;
+
     public NetworkOptions(NetworkTopologyConfig topologyConfig) {
         discoveryInterval = TimeUnit.SECONDS.toNanos(topologyConfig.getDiscoveryInterval());
         discoveryPacketTtl = TimeUnit.SECONDS.toNanos(topologyConfig.getDiscoveryPacketTtl());
@@ -66,10 +72,13 @@ public class NetworkOptions implements Serializable {
 
         NetworkTopologyConfig.DiscoveryConfig discoveryConfig = topologyConfig.getDiscoveryConfig();
         dbRepeatMaxDurationSeconds = discoveryConfig.getDbRepeatsTimeFrameSeconds();
+        dbWriteCoalesceWindow = TimeUnit.MILLISECONDS.toNanos(discoveryConfig.getDbWriteCoalesceWindowMillis());
+        dbWriteBatchSize = discoveryConfig.getDbWriteBatchSize();
 
         isRemoveExcessWhenSwitchSync = topologyConfig.isRemoveExcessWhenSwitchSync();
 
         countSynchronizationAttempts = topologyConfig.getCountSynchronizationAttempts();
         antiFlapStatsDumpingInterval = TimeUnit.SECONDS.toNanos(topologyConfig.getPortAntiFlapStatsDumpingInterval());
+        islBandwidthReconcileInterval = TimeUnit.SECONDS.toNanos(topologyConfig.getIslBandwidthReconcileInterval());
     }
 }
@@ -15,6 +15,7 @@
 
 package org.openkilda.wfm.topology.network.service;
 
+import org.openkilda.messaging.info.event.SwitchStatusUpdateNotification;
 import org.openkilda.model.Isl;
 import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.share.model.Endpoint;
@@ -38,4 +39,6 @@ public interface ISwitchCarrier {
     void setBfdPortOnlineMode(Endpoint endpoint, boolean mode);
 
     void sendSwitchSynchronizeRequest(String key, SwitchId switchId);
+
+    void switchStatusUpdateNotification(SwitchStatusUpdateNotification trigger);
 }
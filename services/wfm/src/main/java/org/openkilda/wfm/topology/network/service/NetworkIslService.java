@@ -16,11 +16,13 @@
 package org.openkilda.wfm.topology.network.service;
 
 import org.openkilda.messaging.info.event.IslBfdFlagUpdated;
+import org.openkilda.model.FeatureToggles;
 import org.openkilda.model.Isl;
 import org.openkilda.model.IslDownReason;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.share.model.IslReference;
+import org.openkilda.wfm.share.service.ConfigurationCache;
 import org.openkilda.wfm.share.utils.FsmExecutor;
 import org.openkilda.wfm.topology.network.controller.IslFsm;
 import org.openkilda.wfm.topology.network.controller.IslFsm.IslFsmContext;
@@ -28,28 +30,89 @@ import org.openkilda.wfm.topology.network.controller.IslFsm.IslFsmEvent;
 import org.openkilda.wfm.topology.network.controller.IslFsm.IslFsmState;
 import org.openkilda.wfm.topology.network.model.IslDataHolder;
 import org.openkilda.wfm.topology.network.model.NetworkOptions;
+import org.openkilda.wfm.topology.network.storage.IslStatusWriter;
 import org.openkilda.wfm.topology.network.storm.bolt.isl.BfdManager;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
 
 @Slf4j
 public class NetworkIslService {
+    private static final int BANDWIDTH_RECONCILE_BATCH_SIZE = 16;
+
     private final IslFsm.IslFsmFactory controllerFactory;
     private final Map<IslReference, IslController> controller = new HashMap<>();
     private final FsmExecutor<IslFsm, IslFsmState, IslFsmEvent, IslFsmContext> controllerExecutor;
 
     private final IIslCarrier carrier;
     private final NetworkOptions options;
+    private final IslStatusWriter statusWriter;
+    private final ConfigurationCache configurationCache;
+
+    private final Deque<IslReference> bandwidthReconcileQueue = new ArrayDeque<>();
+    private long bandwidthReconcileTime;
 
     public NetworkIslService(IIslCarrier carrier, PersistenceManager persistenceManager, NetworkOptions options) {
         this.carrier = carrier;
         this.options = options;
+        this.statusWriter = new IslStatusWriter(persistenceManager, options);
+        this.configurationCache = new ConfigurationCache(persistenceManager.getRepositoryFactory());
 
         controllerFactory = IslFsm.factory(persistenceManager);
         controllerExecutor = controllerFactory.produceExecutor();
+        bandwidthReconcileTime = now() + options.getIslBandwidthReconcileInterval();
+    }
+
+    public void tick() {
+        tick(now());
+    }
+
+    /**
+     * Consume timer tick. Write ISL status changes collected during the coalesce window.
+     */
+    public void tick(long timeNow) {
+        statusWriter.tick(timeNow);
+    }
+
+    /**
+     * Write pending ISL status changes, called when the bolt is shut down.
+     */
+    public void shutdown() {
+        statusWriter.shutdown();
+    }
+
+    public void bandwidthReconcileTick() {
+        bandwidthReconcileTick(now());
+    }
+
+    /**
+     * Consume bandwidth reconcile timer tick. Reconcile available bandwidth of active ISLs once per reconcile interval,
+     * a small batch of ISLs per tick to not block other ISL events.
+     */
+    public void bandwidthReconcileTick(long timeNow) {
+        if (options.getIslBandwidthReconcileInterval() <= 0) {
+            return;
+        }
+        if (bandwidthReconcileQueue.isEmpty()) {
+            if (timeNow < bandwidthReconcileTime) {
+                return;
+            }
+            bandwidthReconcileQueue.addAll(controller.keySet());
+            bandwidthReconcileTime = timeNow + options.getIslBandwidthReconcileInterval();
+        }
+
+        for (int i = 0; i < BANDWIDTH_RECONCILE_BATCH_SIZE && !bandwidthReconcileQueue.isEmpty(); i++) {
+            IslReference reference = bandwidthReconcileQueue.poll();
+            IslController islController = controller.get(reference);
+            if (islController != null && islController.fsm.getCurrentState() == IslFsmState.UP) {
+                IslFsmContext context = IslFsmContext.builder(carrier, reference.getSource()).build();
+                controllerExecutor.fire(islController.fsm, IslFsmEvent.BANDWIDTH_RECONCILE, context);
+            }
+        }
     }
 
     /**
@@ -60,7 +123,8 @@ public class NetworkIslService {
         if (!controller.containsKey(reference)) {
             ensureControllerIsMissing(reference);
 
-            IslController islController = new IslController(controllerFactory, options, reference);
+            IslController islController = new IslController(
+                    controllerFactory, statusWriter, configurationCache, options, reference);
             controller.put(reference, islController);
             IslFsmContext context = IslFsmContext.builder(carrier, endpoint)
                     .history(history)
@@ -120,6 +184,13 @@ public class NetworkIslService {
         }
     }
 
+    /**
+     * Replace cached feature toggles with the notified ones.
+     */
+    public void featureTogglesUpdate(FeatureToggles toggles) {
+        configurationCache.update(toggles);
+    }
+
     /**
      * Remove isl by request.
      */
@@ -138,6 +209,7 @@ public class NetworkIslService {
         controllerExecutor.fire(fsm, IslFsmEvent.ISL_REMOVE, context);
         if (fsm.isTerminated()) {
             controller.remove(reference);
+            statusWriter.cancel(reference);
             islController.bfdManager.disable(carrier);
             log.info("ISL {} have been removed", reference);
         } else {
@@ -147,6 +219,10 @@ public class NetworkIslService {
 
     // -- private --
 
+    private long now() {
+        return System.nanoTime();
+    }
+
     private void ensureControllerIsMissing(IslReference reference) {
         IslController islController = controller.get(reference);
         if (islController != null) {
@@ -164,16 +240,20 @@ public class NetworkIslService {
     }
 
     private IslController locateControllerCreateIfAbsent(IslReference reference) {
-        return controller.computeIfAbsent(reference, key -> new IslController(controllerFactory, options, reference));
+        return controller.computeIfAbsent(
+                reference, key -> new IslController(controllerFactory, statusWriter, configurationCache, options,
+                                                    reference));
     }
 
     private static final class IslController {
         private final IslFsm fsm;
         private final BfdManager bfdManager;
 
-        private IslController(IslFsm.IslFsmFactory controllerFactory, NetworkOptions options, IslReference reference) {
+        private IslController(IslFsm.IslFsmFactory controllerFactory, IslStatusWriter statusWriter,
+                              ConfigurationCache configurationCache, NetworkOptions options,
+                              IslReference reference) {
             bfdManager = new BfdManager(reference);
-            fsm = controllerFactory.produce(bfdManager, options, reference);
+            fsm = controllerFactory.produce(statusWriter, configurationCache, bfdManager, options, reference);
         }
     }
 }
@@ -30,6 +30,7 @@ import org.openkilda.wfm.topology.network.controller.sw.SwitchFsm.SwitchFsmEvent
 import org.openkilda.wfm.topology.network.controller.sw.SwitchFsm.SwitchFsmState;
 import org.openkilda.wfm.topology.network.model.NetworkOptions;
 import org.openkilda.wfm.topology.network.model.facts.HistoryFacts;
+import org.openkilda.wfm.topology.network.storage.SwitchStatusWriter;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -45,6 +46,7 @@ public class NetworkSwitchService {
     private static final NetworkTopologyDashboardLogger logWrapper = new NetworkTopologyDashboardLogger(log);
 
     private final PersistenceManager persistenceManager;
+    private final SwitchStatusWriter statusWriter;
 
     private final NetworkOptions options;
 
@@ -55,6 +57,7 @@ public class NetworkSwitchService {
         this.carrier = carrier;
         this.persistenceManager = persistenceManager;
         this.options = options;
+        this.statusWriter = new SwitchStatusWriter(persistenceManager, options);
 
         controllerFactory = SwitchFsm.factory();
         controllerExecutor = controllerFactory.produceExecutor();
@@ -63,12 +66,30 @@ public class NetworkSwitchService {
                  options.getBfdLogicalPortOffset());
     }
 
+    public void tick() {
+        tick(System.nanoTime());
+    }
+
+    /**
+     * Consume timer tick. Write switch status changes collected during the coalesce window.
+     */
+    public void tick(long timeNow) {
+        statusWriter.tick(timeNow);
+    }
+
+    /**
+     * Write pending switch status changes, called when the bolt is shut down.
+     */
+    public void shutdown() {
+        statusWriter.shutdown();
+    }
+
     /**
      * .
      */
     public void switchAddWithHistory(HistoryFacts history) {
         log.info("Switch service receive switch ADD from history request for {}", history.getSwitchId());
-        SwitchFsm switchFsm = controllerFactory.produce(persistenceManager, history.getSwitchId(),
+        SwitchFsm switchFsm = controllerFactory.produce(persistenceManager, statusWriter, history.getSwitchId(),
                                                         options);
 
         SwitchFsmContext fsmContext = SwitchFsmContext.builder(carrier)
@@ -213,6 +234,7 @@ public class NetworkSwitchService {
         controllerExecutor.fire(fsm, SwitchFsmEvent.SWITCH_REMOVE, context);
         if (fsm.isTerminated()) {
             controller.remove(datapath);
+            statusWriter.cancel(datapath);
             log.debug("Switch service removed FSM {}", datapath);
             logWrapper.onSwitchDelete(datapath);
         } else {
@@ -234,7 +256,7 @@ public class NetworkSwitchService {
         return controller.computeIfAbsent(
                 datapath, key -> {
                     logWrapper.onSwitchAdd(key);
-                    return controllerFactory.produce(persistenceManager, datapath, options);
+                    return controllerFactory.produce(persistenceManager, statusWriter, datapath, options);
                 });
     }
 }
@@ -19,31 +19,37 @@ import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.share.model.IslReference;
+import org.openkilda.wfm.share.utils.TimingWheel;
 
 import com.google.common.annotations.VisibleForTesting;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 @Slf4j
 public class NetworkWatcherService {
+    private static final int TIMEOUTS_WHEEL_SIZE = 512;
+
     private final IWatcherCarrier carrier;
     private final long awaitTime;
     private final Integer taskId;
 
     private long packetNo = 0;
-    private Set<Packet> producedPackets = new HashSet<>();
-    private Set<Packet> confirmedPackets = new HashSet<>();
-    private SortedMap<Long, Set<Packet>> timeouts = new TreeMap<>();
+
+    // all packets share the same await time, so the wheel is sized to keep all of them in one round
+    private final TimingWheel<Packet, PacketStatus> timeouts;
 
     public NetworkWatcherService(IWatcherCarrier carrier, long awaitTime, Integer taskId) {
         this.carrier = carrier;
         this.awaitTime = awaitTime;
         this.taskId = taskId;
+
+        long tickDuration = Math.max(1, awaitTime / (TIMEOUTS_WHEEL_SIZE / 2));
+        timeouts = new TimingWheel<>(tickDuration, TIMEOUTS_WHEEL_SIZE, Packet::getEndpoint);
     }
 
     public void addWatch(Endpoint endpoint) {
@@ -55,9 +61,7 @@ public class NetworkWatcherService {
         log.debug("Watcher service receive ADD-watch request for {} and produce packet id:{} task:{}",
                   endpoint, packet.packetNo, taskId);
 
-        producedPackets.add(packet);
-        timeouts.computeIfAbsent(currentTime + awaitTime, key -> new HashSet<>())
-                .add(packet);
+        timeouts.register(packet, PacketStatus.PRODUCED, currentTime + awaitTime);
 
         DiscoverIslCommandData discoveryRequest = new DiscoverIslCommandData(
                 endpoint.getDatapath(), endpoint.getPortNumber(), packetNo);
@@ -72,20 +76,11 @@ public class NetworkWatcherService {
     public void removeWatch(Endpoint endpoint) {
         log.debug("Watcher service receive REMOVE-watch request for {}", endpoint);
         carrier.clearDiscovery(endpoint);
-        producedPackets.removeIf(packet -> packet.endpoint.equals(endpoint));
-        confirmedPackets.removeIf(packet -> packet.endpoint.equals(endpoint));
+        timeouts.cancelGroup(endpoint);
     }
 
     void tick(long tickTime) {
-        SortedMap<Long, Set<Packet>> range = timeouts.subMap(0L, tickTime + 1);
-        if (!range.isEmpty()) {
-            for (Set<Packet> e : range.values()) {
-                for (Packet ee : e) {
-                    timeoutAction(ee);
-                }
-            }
-            range.clear();
-        }
+        timeouts.tick(tickTime, this::timeoutAction);
     }
 
     public void tick() {
@@ -98,8 +93,9 @@ public class NetworkWatcherService {
     public void confirmation(Endpoint endpoint, long packetNo) {
         log.debug("Watcher service receive SEND-confirmation for {} id:{} task:{}", endpoint, packetNo, taskId);
         Packet packet = Packet.of(endpoint, packetNo);
-        if (producedPackets.remove(packet)) {
-            confirmedPackets.add(packet);
+        Optional<PacketStatus> status = timeouts.get(packet);
+        if (status.isPresent() && status.get() == PacketStatus.PRODUCED) {
+            timeouts.replace(packet, PacketStatus.CONFIRMED);
         } else if (log.isDebugEnabled()) {
             log.debug("Can't find produced packet for {} id:{} task:{}", endpoint, packetNo, taskId);
         }
@@ -125,9 +121,7 @@ public class NetworkWatcherService {
                       packet.endpoint, packet.packetNo, taskId, ref);
         }
 
-        boolean wasProduced = producedPackets.remove(packet);
-        boolean wasConfirmed = confirmedPackets.remove(packet);
-        if (wasProduced || wasConfirmed) {
+        if (timeouts.cancel(packet).isPresent()) {
             carrier.discoveryReceived(packet.endpoint, packet.packetNo, discoveryEvent, now());
         } else {
             log.error("Receive invalid or removed discovery packet on {} id:{} task:{}",
@@ -135,10 +129,8 @@ public class NetworkWatcherService {
         }
     }
 
-    private void timeoutAction(Packet packet) {
-        producedPackets.remove(packet);
-
-        if (confirmedPackets.remove(packet)) {
+    private void timeoutAction(Packet packet, PacketStatus status) {
+        if (status == PacketStatus.CONFIRMED) {
             log.debug("Detect discovery packet lost sent via {} id:{} task:{}",
                       packet.endpoint, packet.packetNo, taskId);
             carrier.discoveryFailed(packet.getEndpoint(), packet.packetNo, now());
@@ -151,22 +143,34 @@ public class NetworkWatcherService {
 
     @VisibleForTesting
     Set<Packet> getProducedPackets() {
-        return producedPackets;
+        return getPackets(PacketStatus.PRODUCED);
     }
 
     @VisibleForTesting
     Set<Packet> getConfirmedPackets() {
-        return confirmedPackets;
+        return getPackets(PacketStatus.CONFIRMED);
     }
 
     @VisibleForTesting
-    SortedMap<Long, Set<Packet>> getTimeouts() {
+    TimingWheel<Packet, PacketStatus> getTimeouts() {
         return timeouts;
     }
 
+    private Set<Packet> getPackets(PacketStatus status) {
+        return timeouts.snapshot().entrySet().stream()
+                .filter(entry -> entry.getValue() == status)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
     @Value(staticConstructor = "of")
     public static class Packet {
         private final Endpoint endpoint;
         private final long packetNo;
     }
+
+    enum PacketStatus {
+        PRODUCED,
+        CONFIRMED
+    }
 }
@@ -0,0 +1,78 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.network.storage;
+
+import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.IslRepository.IslStatusUpdate;
+import org.openkilda.wfm.share.model.Endpoint;
+import org.openkilda.wfm.share.model.IslReference;
+import org.openkilda.wfm.topology.network.model.NetworkOptions;
+
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Write-behind queue of ISL status changes, each ISL direction is a separate entry.
+ */
+public class IslStatusWriter extends WriteBehindQueue<IslStatusWriter.Direction, IslStatusUpdate> {
+    private final IslRepository islRepository;
+
+    public IslStatusWriter(PersistenceManager persistenceManager, NetworkOptions options) {
+        super(persistenceManager.getTransactionManager(), options);
+        islRepository = persistenceManager.getRepositoryFactory().createIslRepository();
+    }
+
+    /**
+     * Put the status update of one ISL direction into the queue.
+     */
+    public void schedule(IslStatusUpdate update) {
+        Endpoint source = Endpoint.of(update.getSrcSwitchId(), update.getSrcPort());
+        Endpoint dest = Endpoint.of(update.getDestSwitchId(), update.getDestPort());
+        schedule(new Direction(source, dest), update);
+    }
+
+    /**
+     * Drop pending updates of both ISL directions.
+     */
+    public void cancel(IslReference reference) {
+        cancel(new Direction(reference.getSource(), reference.getDest()));
+        cancel(new Direction(reference.getDest(), reference.getSource()));
+    }
+
+    @Override
+    protected IslStatusUpdate merge(IslStatusUpdate current, IslStatusUpdate update) {
+        // the unstable time must survive a following status only update
+        if (update.getTimeUnstable() == null && current.getTimeUnstable() != null) {
+            return update.toBuilder()
+                    .timeUnstable(current.getTimeUnstable())
+                    .build();
+        }
+        return update;
+    }
+
+    @Override
+    protected void write(Map<Direction, IslStatusUpdate> batch) {
+        islRepository.updateStatus(batch.values());
+    }
+
+    @Value
+    public static class Direction {
+        Endpoint source;
+        Endpoint dest;
+    }
+}
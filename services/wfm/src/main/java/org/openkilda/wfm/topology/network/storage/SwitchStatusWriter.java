@@ -0,0 +1,41 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.network.storage;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchStatus;
+import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.repositories.SwitchRepository;
+import org.openkilda.wfm.topology.network.model.NetworkOptions;
+
+import java.util.Map;
+
+/**
+ * Write-behind queue of switch status changes.
+ */
+public class SwitchStatusWriter extends WriteBehindQueue<SwitchId, SwitchStatus> {
+    private final SwitchRepository switchRepository;
+
+    public SwitchStatusWriter(PersistenceManager persistenceManager, NetworkOptions options) {
+        super(persistenceManager.getTransactionManager(), options);
+        switchRepository = persistenceManager.getRepositoryFactory().createSwitchRepository();
+    }
+
+    @Override
+    protected void write(Map<SwitchId, SwitchStatus> batch) {
+        switchRepository.updateStatus(batch);
+    }
+}
@@ -0,0 +1,152 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.network.storage;
+
+import org.openkilda.persistence.TransactionManager;
+import org.openkilda.wfm.topology.network.model.NetworkOptions;
+
+import lombok.extern.slf4j.Slf4j;
+import net.jodah.failsafe.RetryPolicy;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesce DB updates of network entities produced by FSMs and write them in batches.
+ *
+ * <p>Only the latest update of each entity is kept. Pending updates are written when the oldest of them is older
+ * than the coalesce window or when there are batch size of them. Owners must call {@link #cancel(Object)} before
+ * writing the entity directly. Updates that are followed by events whose consumers read the entity from DB (reroutes)
+ * must be written directly. Pending updates are written on {@link #shutdown()}.
+ */
+@Slf4j
+public abstract class WriteBehindQueue<K, V> {
+    private final TransactionManager transactionManager;
+    private final RetryPolicy transactionRetryPolicy;
+
+    private final long coalesceWindow;
+    private final int batchSize;
+
+    private final Map<K, V> pending = new LinkedHashMap<>();
+    private long oldestPendingTime;
+    private boolean active = true;
+
+    protected WriteBehindQueue(TransactionManager transactionManager, NetworkOptions options) {
+        this.transactionManager = transactionManager;
+        this.transactionRetryPolicy = transactionManager.makeRetryPolicyBlank()
+                .withMaxDuration(options.getDbRepeatMaxDurationSeconds(), TimeUnit.SECONDS);
+
+        coalesceWindow = options.getDbWriteCoalesceWindow();
+        batchSize = Math.max(1, options.getDbWriteBatchSize());
+    }
+
+    /**
+     * Zero coalesce window or shutdown disables write-behind, owners must write entities directly in this case.
+     */
+    public boolean isEnabled() {
+        return active && coalesceWindow > 0;
+    }
+
+    /**
+     * Put the update into the queue, merging it with the pending update of the same entity.
+     */
+    public void schedule(K key, V update) {
+        V current = pending.get(key);
+        enqueue(key, current == null ? update : merge(current, update));
+
+        if (batchSize <= pending.size()) {
+            flush();
+        }
+    }
+
+    public void cancel(K key) {
+        pending.remove(key);
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * Write pending updates if the oldest of them has stayed in the queue for the coalesce window.
+     */
+    public void tick(long timeNow) {
+        if (!pending.isEmpty() && coalesceWindow <= timeNow - oldestPendingTime) {
+            flush();
+        }
+    }
+
+    /**
+     * Write all pending updates, one transaction per batch. Failed batches are put back into the queue.
+     */
+    public void flush() {
+        List<Map<K, V>> batches = new ArrayList<>();
+        Iterator<Map.Entry<K, V>> iter = pending.entrySet().iterator();
+        while (iter.hasNext()) {
+            Map<K, V> batch = new LinkedHashMap<>();
+            for (int i = 0; i < batchSize && iter.hasNext(); i++) {
+                Map.Entry<K, V> entry = iter.next();
+                batch.put(entry.getKey(), entry.getValue());
+            }
+            batches.add(batch);
+        }
+        pending.clear();
+
+        for (Map<K, V> batch : batches) {
+            try {
+                transactionManager.doInTransaction(transactionRetryPolicy, () -> write(batch));
+                log.debug("Flushed {} pending updates", batch.size());
+            } catch (RuntimeException e) {
+                // failsafe rethrows the original (not translated) exception when all retries are exhausted
+                log.error("Unable to flush {} pending updates, will retry on the next flush: {}",
+                          batch.size(), e.getMessage(), e);
+                batch.forEach(this::enqueue);
+            }
+        }
+    }
+
+    /**
+     * Write all pending updates and stop queueing, the following updates are written directly by owners.
+     */
+    public void shutdown() {
+        active = false;
+        flush();
+        if (!pending.isEmpty()) {
+            log.error("Unable to write {} pending updates on shutdown", pending.size());
+        }
+    }
+
+    protected V merge(V current, V update) {
+        return update;
+    }
+
+    protected abstract void write(Map<K, V> batch);
+
+    protected long now() {
+        return System.nanoTime();
+    }
+
+    private void enqueue(K key, V update) {
+        if (pending.isEmpty()) {
+            oldestPendingTime = now();
+        }
+        pending.put(key, update);
+    }
+}
@@ -19,12 +19,15 @@ import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.reroute.RerouteFlows;
 import org.openkilda.messaging.info.event.IslBfdFlagUpdated;
 import org.openkilda.messaging.info.event.IslStatusUpdateNotification;
+import org.openkilda.model.FeatureToggles;
 import org.openkilda.model.Isl;
 import org.openkilda.model.IslDownReason;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.bolt.KafkaEncoder;
+import org.openkilda.wfm.share.hubandspoke.CoordinatorSpout;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.share.model.IslReference;
 import org.openkilda.wfm.topology.network.model.IslDataHolder;
@@ -37,16 +40,27 @@ import org.openkilda.wfm.topology.network.storm.bolt.bfdport.command.BfdPortDisa
 import org.openkilda.wfm.topology.network.storm.bolt.bfdport.command.BfdPortEnableCommand;
 import org.openkilda.wfm.topology.network.storm.bolt.isl.command.IslCommand;
 import org.openkilda.wfm.topology.network.storm.bolt.speaker.SpeakerRouter;
+import org.openkilda.wfm.topology.network.storm.bolt.speaker.bcast.ISpeakerBcastConsumer;
+import org.openkilda.wfm.topology.network.storm.bolt.speaker.bcast.SpeakerBcast;
 import org.openkilda.wfm.topology.network.storm.bolt.uniisl.UniIslHandler;
 
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
+import org.apache.storm.utils.TupleUtils;
 
-public class IslHandler extends AbstractBolt implements IIslCarrier {
+import java.util.Map;
+
+public class IslHandler extends AbstractBolt implements IIslCarrier, ISpeakerBcastConsumer {
     public static final String BOLT_ID = ComponentId.ISL_HANDLER.toString();
 
+    /**
+     * Bandwidth reconcile runs DB transactions, so it is driven by its own low-rate timer instead of the coordinator
+     * ticks.
+     */
+    public static final int BANDWIDTH_RECONCILE_TICK_SECONDS = 1;
+
     public static final String FIELD_ID_DATAPATH = "datapath";
     public static final String FIELD_ID_COMMAND = UniIslHandler.FIELD_ID_COMMAND;
 
@@ -74,31 +88,76 @@ public class IslHandler extends AbstractBolt implements IIslCarrier {
 
     @Override
     protected void handleInput(Tuple input) throws Exception {
+        if (TupleUtils.isTick(input)) {
+            service.bandwidthReconcileTick();
+            return;
+        }
+
         String source = input.getSourceComponent();
-        if (UniIslHandler.BOLT_ID.equals(source)) {
+        if (CoordinatorSpout.ID.equals(source)) {
+            handleTimer();
+        } else if (UniIslHandler.BOLT_ID.equals(source)) {
             handleUniIslCommand(input);
         } else if (SpeakerRouter.BOLT_ID.equals(source)) {
-            handleSpeakerInput(input);
+            handleSpeakerRouterInput(input);
         } else {
             unhandledInput(input);
         }
     }
 
+    private void handleTimer() {
+        service.tick();
+    }
+
     private void handleUniIslCommand(Tuple input) throws PipelineException {
         IslCommand command = pullValue(input, UniIslHandler.FIELD_ID_COMMAND, IslCommand.class);
         command.apply(this);
     }
 
+    private void handleSpeakerRouterInput(Tuple input) throws PipelineException {
+        if (SpeakerRouter.STREAM_BCAST_ID.equals(input.getSourceStreamId())) {
+            handleSpeakerBcast(input);
+        } else {
+            handleSpeakerInput(input);
+        }
+    }
+
     private void handleSpeakerInput(Tuple input) throws PipelineException {
         IslCommand command = pullValue(input, SpeakerRouter.FIELD_ID_COMMAND, IslCommand.class);
         command.apply(this);
     }
 
+    private void handleSpeakerBcast(Tuple input) throws PipelineException {
+        SpeakerBcast command = pullValue(input, SpeakerRouter.FIELD_ID_COMMAND, SpeakerBcast.class);
+        command.apply(this);
+    }
+
+    @Override
+    protected CommandContext setupCommandContext() {
+        if (TupleUtils.isTick(getCurrentTuple())) {
+            return new CommandContext();
+        }
+        return super.setupCommandContext();
+    }
+
     @Override
     protected void init() {
         service = new NetworkIslService(this, persistenceManager, options);
     }
 
+    @Override
+    public void cleanup() {
+        service.shutdown();
+    }
+
+    @Override
+    public Map<String, Object> getComponentConfiguration() {
+        if (options.getIslBandwidthReconcileInterval() <= 0) {
+            return null;
+        }
+        return TupleUtils.putTickFrequencyIntoComponentConfig(null, BANDWIDTH_RECONCILE_TICK_SECONDS);
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer streamManager) {
         streamManager.declareStream(STREAM_BFD_PORT_ID, STREAM_BFD_PORT_FIELDS);
@@ -165,4 +224,9 @@ public class IslHandler extends AbstractBolt implements IIslCarrier {
     public void processIslRemove(IslReference reference) {
         service.remove(reference);
     }
+
+    @Override
+    public void processFeatureTogglesUpdate(FeatureToggles toggles) {
+        service.featureTogglesUpdate(toggles);
+    }
 }
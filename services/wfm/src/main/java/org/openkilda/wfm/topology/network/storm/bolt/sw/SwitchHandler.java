@@ -17,6 +17,7 @@ package org.openkilda.wfm.topology.network.storm.bolt.sw;
 
 import org.openkilda.messaging.error.rule.SwitchSyncErrorData;
 import org.openkilda.messaging.info.event.PortInfoData;
+import org.openkilda.messaging.info.event.SwitchStatusUpdateNotification;
 import org.openkilda.messaging.info.event.SwitchInfoData;
 import org.openkilda.messaging.info.switches.SwitchSyncResponse;
 import org.openkilda.messaging.model.SpeakerSwitchView;
@@ -26,6 +27,8 @@ import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.error.PipelineException;
+import org.openkilda.wfm.share.bolt.KafkaEncoder;
+import org.openkilda.wfm.share.hubandspoke.CoordinatorSpout;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.topology.network.model.LinkStatus;
 import org.openkilda.wfm.topology.network.model.NetworkOptions;
@@ -75,6 +78,10 @@ public class SwitchHandler extends AbstractBolt implements ISwitchCarrier {
     public static final Fields STREAM_BFD_PORT_FIELDS = new Fields(FIELD_ID_DATAPATH, FIELD_ID_COMMAND,
             FIELD_ID_CONTEXT);
 
+    public static final String STREAM_STATUS_ID = "status";
+    public static final Fields STREAM_STATUS_FIELDS = new Fields(
+            KafkaEncoder.FIELD_ID_KEY, KafkaEncoder.FIELD_ID_PAYLOAD, FIELD_ID_CONTEXT);
+
     private final NetworkOptions options;
     private final PersistenceManager persistenceManager;
 
@@ -89,7 +96,9 @@ public class SwitchHandler extends AbstractBolt implements ISwitchCarrier {
     protected void handleInput(Tuple input) throws PipelineException {
         String source = input.getSourceComponent();
 
-        if (SpeakerRouter.BOLT_ID.equals(source)) {
+        if (CoordinatorSpout.ID.equals(source)) {
+            handleTimer();
+        } else if (SpeakerRouter.BOLT_ID.equals(source)) {
             handleSpeakerInput(input);
         } else if (SwitchManagerWorker.BOLT_ID.equals(source)) {
             handleSwitchManagerWorkerInput(input);
@@ -100,6 +109,10 @@ public class SwitchHandler extends AbstractBolt implements ISwitchCarrier {
         }
     }
 
+    private void handleTimer() {
+        service.tick();
+    }
+
     private void handleHistoryInput(Tuple input) throws PipelineException {
         handleCommand(input, NetworkHistory.FIELD_ID_PAYLOAD);
     }
@@ -122,11 +135,17 @@ public class SwitchHandler extends AbstractBolt implements ISwitchCarrier {
         service = new NetworkSwitchService(this, persistenceManager, options);
     }
 
+    @Override
+    public void cleanup() {
+        service.shutdown();
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer streamManager) {
         streamManager.declareStream(STREAM_PORT_ID, STREAM_PORT_FIELDS);
         streamManager.declareStream(STREAM_BFD_PORT_ID, STREAM_BFD_PORT_FIELDS);
         streamManager.declareStream(STREAM_SWMANAGER_ID, STREAM_SWMANAGER_FIELDS);
+        streamManager.declareStream(STREAM_STATUS_ID, STREAM_STATUS_FIELDS);
     }
 
     @Override
@@ -176,6 +195,11 @@ public class SwitchHandler extends AbstractBolt implements ISwitchCarrier {
         emit(STREAM_SWMANAGER_ID, getCurrentTuple(), makeSwitchManagerWorkerTuple(key, switchId));
     }
 
+    @Override
+    public void switchStatusUpdateNotification(SwitchStatusUpdateNotification trigger) {
+        emit(STREAM_STATUS_ID, getCurrentTuple(), new Values(null, trigger, getCommandContext()));
+    }
+
     private Values makePortTuple(PortCommand command) {
         Endpoint endpoint = command.getEndpoint();
         CommandContext context = forkContext(endpoint.toString());
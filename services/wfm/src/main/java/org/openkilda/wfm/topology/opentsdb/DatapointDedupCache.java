@@ -0,0 +1,257 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.opentsdb;
+
+import org.openkilda.messaging.info.Datapoint;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Remembers the last value and time of each time series (metric and tags) to filter out repeated datapoints.
+ * <p/>
+ * A series is identified by a 128-bit hash of the metric and tags, the hash, value and time are kept in primitive
+ * arrays of an open addressing table, so an entry takes a few dozen bytes instead of a copy of the datapoint and its
+ * tags. Entries expire by generations: {@link #rotate()} drops the entries not touched since the previous rotation,
+ * without scanning the table.
+ * <p/>
+ * Not thread-safe.
+ */
+public class DatapointDedupCache {
+    private static final int MIN_CAPACITY = 1024;
+    private static final long SEED_HIGH = 0xcbf29ce484222325L;
+    private static final long SEED_LOW = 0x84222325cbf29ce4L;
+
+    private final long muteIfNoUpdatesMillis;
+
+    private Generation current;
+    private Generation previous;
+
+    private long hits;
+    private long misses;
+
+    public DatapointDedupCache(long muteIfNoUpdatesMillis) {
+        this.muteIfNoUpdatesMillis = muteIfNoUpdatesMillis;
+        current = new Generation(MIN_CAPACITY);
+        previous = new Generation(MIN_CAPACITY);
+    }
+
+    /**
+     * Checks whether the datapoint must be sent, i.e. it is the first datapoint of the series, its value differs from
+     * the last sent one, or the last value was sent too long ago. Remembers the datapoint if it must be sent.
+     */
+    public boolean isUpdateRequired(Datapoint datapoint) {
+        long keyHigh = hash(datapoint, SEED_HIGH);
+        long keyLow = hash(datapoint, SEED_LOW);
+        long valueBits = valueBits(datapoint.getValue());
+        byte valueType = valueType(datapoint.getValue());
+        long time = datapoint.getTime();
+
+        int index = current.find(keyHigh, keyLow);
+        Generation generation = current;
+        if (index < 0) {
+            index = previous.find(keyHigh, keyLow);
+            generation = previous;
+        }
+
+        boolean update = index < 0
+                || generation.valueTypes[index] != valueType
+                || generation.values[index] != valueBits
+                || time - generation.times[index] >= muteIfNoUpdatesMillis;
+        if (update) {
+            misses++;
+            current.put(keyHigh, keyLow, valueBits, valueType, time);
+        } else {
+            hits++;
+            if (generation == previous) {
+                current.put(keyHigh, keyLow, valueBits, valueType, generation.times[index]);
+            }
+        }
+        return update;
+    }
+
+    /**
+     * Drops the series not updated since the previous rotation.
+     */
+    public void rotate() {
+        Generation dropped = previous;
+        previous = current;
+        dropped.clear(Math.max(MIN_CAPACITY, previous.size * 2));
+        current = dropped;
+    }
+
+    /**
+     * Returns an estimation of the number of series in the cache, series moved between generations are counted twice.
+     */
+    public int size() {
+        return current.size + previous.size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Hash of the metric and tags, tags are combined independently of their order.
+     */
+    private static long hash(Datapoint datapoint, long seed) {
+        long result = mix(hash(datapoint.getMetric(), seed));
+        Map<String, String> tags = datapoint.getTags();
+        if (tags != null) {
+            long tagsHash = 0;
+            for (Map.Entry<String, String> tag : tags.entrySet()) {
+                tagsHash += mix(hash(tag.getValue(), hash(tag.getKey(), seed)) ^ 0x3d);
+            }
+            result = mix(result ^ tagsHash);
+        }
+        return result;
+    }
+
+    private static long hash(String value, long seed) {
+        long result = seed;
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                result = (result ^ value.charAt(i)) * 0x100000001b3L;
+            }
+            result = (result ^ value.length()) * 0x100000001b3L;
+        }
+        return result;
+    }
+
+    /**
+     * Finalization mix of MurmurHash3.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private static long valueBits(Number value) {
+        if (value instanceof Double || value instanceof Float) {
+            return Double.doubleToLongBits(value.doubleValue());
+        }
+        return value != null ? value.longValue() : 0;
+    }
+
+    /**
+     * Values of different types are never equal, like {@link Number#equals(Object)} of the boxed values.
+     */
+    private static byte valueType(Number value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof Long) {
+            return 1;
+        } else if (value instanceof Integer) {
+            return 2;
+        } else if (value instanceof Double) {
+            return 3;
+        } else if (value instanceof Float) {
+            return 4;
+        }
+        return 5;
+    }
+
+    private static final class Generation {
+        private long[] keysHigh;
+        private long[] keysLow;
+        private long[] values;
+        private byte[] valueTypes;
+        private long[] times;
+        private boolean[] used;
+        private int size;
+
+        Generation(int capacity) {
+            allocate(capacity);
+        }
+
+        int find(long keyHigh, long keyLow) {
+            int mask = used.length - 1;
+            for (int index = (int) keyLow & mask; used[index]; index = (index + 1) & mask) {
+                if (keysHigh[index] == keyHigh && keysLow[index] == keyLow) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+
+        void put(long keyHigh, long keyLow, long value, byte valueType, long time) {
+            if ((size + 1) * 2 > used.length) {
+                resize(used.length * 2);
+            }
+
+            int mask = used.length - 1;
+            int index = (int) keyLow & mask;
+            while (used[index] && (keysHigh[index] != keyHigh || keysLow[index] != keyLow)) {
+                index = (index + 1) & mask;
+            }
+            if (!used[index]) {
+                used[index] = true;
+                keysHigh[index] = keyHigh;
+                keysLow[index] = keyLow;
+                size++;
+            }
+            values[index] = value;
+            valueTypes[index] = valueType;
+            times[index] = time;
+        }
+
+        /**
+         * Drops all entries, the table is reallocated if the expected size is much less than the capacity.
+         */
+        void clear(int expectedCapacity) {
+            if (expectedCapacity * 4 <= used.length) {
+                allocate(Integer.highestOneBit(expectedCapacity - 1) << 1);
+            } else {
+                Arrays.fill(used, false);
+            }
+            size = 0;
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeysHigh = keysHigh;
+            long[] oldKeysLow = keysLow;
+            long[] oldValues = values;
+            byte[] oldValueTypes = valueTypes;
+            long[] oldTimes = times;
+            boolean[] oldUsed = used;
+
+            allocate(capacity);
+            size = 0;
+            for (int i = 0; i < oldUsed.length; i++) {
+                if (oldUsed[i]) {
+                    put(oldKeysHigh[i], oldKeysLow[i], oldValues[i], oldValueTypes[i], oldTimes[i]);
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            keysHigh = new long[capacity];
+            keysLow = new long[capacity];
+            values = new long[capacity];
+            valueTypes = new byte[capacity];
+            times = new long[capacity];
+            used = new boolean[capacity];
+        }
+    }
+}
@@ -17,7 +17,7 @@ package org.openkilda.wfm.topology.opentsdb;
 
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.wfm.LaunchEnvironment;
-import org.openkilda.wfm.kafka.InfoDataDeserializer;
+import org.openkilda.wfm.kafka.DatapointDeserializer;
 import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.opentsdb.OpenTsdbTopologyConfig.OpenTsdbConfig;
 import org.openkilda.wfm.topology.opentsdb.bolts.DatapointParseBolt;
@@ -92,7 +92,7 @@ public class OpenTsdbTopology extends AbstractTopology<OpenTsdbTopologyConfig> {
 
         //FIXME: We have to use the Message class for messaging.
         KafkaSpoutConfig<String, InfoData> config = getKafkaSpoutConfigBuilder(otsdbTopic, OTSDB_SPOUT_ID)
-                .setValue(InfoDataDeserializer.class)
+                .setValue(DatapointDeserializer.class)
                 .setRecordTranslator(new InfoDataTranslator())
                 .setFirstPollOffsetStrategy(KafkaSpoutConfig.FirstPollOffsetStrategy.UNCOMMITTED_EARLIEST)
                 .build();
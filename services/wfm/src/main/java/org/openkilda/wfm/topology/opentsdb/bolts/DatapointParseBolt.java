@@ -17,6 +17,7 @@ package org.openkilda.wfm.topology.opentsdb.bolts;
 
 import org.openkilda.messaging.info.Datapoint;
 import org.openkilda.messaging.info.InfoData;
+import org.openkilda.wfm.share.metrics.DatapointBatch;
 import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
 
 import org.apache.storm.task.OutputCollector;
@@ -48,10 +49,9 @@ public class DatapointParseBolt extends BaseRichBolt {
         LOGGER.debug("Processing datapoint: {}", data);
         try {
             if (data instanceof Datapoint) {
-                Datapoint datapoint = (Datapoint) data;
-                List<Object> stream = Stream.of(datapoint.simpleHashCode(), datapoint)
-                        .collect(Collectors.toList());
-                collector.emit(stream);
+                emit((Datapoint) data);
+            } else if (data instanceof DatapointBatch) {
+                ((DatapointBatch) data).getDatapoints().forEach(this::emit);
             } else {
                 LOGGER.error("Unhandled input tuple from {} with data {}", getClass().getName(), data);
             }
@@ -62,6 +62,12 @@ public class DatapointParseBolt extends BaseRichBolt {
         }
     }
 
+    private void emit(Datapoint datapoint) {
+        List<Object> stream = Stream.of(datapoint.simpleHashCode(), datapoint)
+                .collect(Collectors.toList());
+        collector.emit(stream);
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         declarer.declare(new Fields("hash", "datapoint"));
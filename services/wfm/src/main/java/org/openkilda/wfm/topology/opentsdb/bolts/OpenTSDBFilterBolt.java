@@ -16,8 +16,8 @@
 package org.openkilda.wfm.topology.opentsdb.bolts;
 
 import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.wfm.topology.opentsdb.DatapointDedupCache;
 
-import lombok.Value;
 import org.apache.storm.Config;
 import org.apache.storm.Constants;
 import org.apache.storm.opentsdb.bolt.TupleOpenTsdbDatapointMapper;
@@ -30,7 +30,6 @@ import org.apache.storm.tuple.Tuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -50,12 +49,19 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
                     TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getValueField(),
                     TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getTagsField());
 
-    private Map<DatapointKey, Datapoint> storage = new HashMap<>();
+    private transient DatapointDedupCache storage;
     private OutputCollector collector;
 
     @Override
     public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
         this.collector = collector;
+        storage = new DatapointDedupCache(MUTE_IF_NO_UPDATES_MILLIS);
+        if (context != null) {
+            int bucketSize = (int) MUTE_IF_NO_UPDATES_SECS;
+            context.registerMetric("dedup-cache-size", storage::size, bucketSize);
+            context.registerMetric("dedup-cache-hits", storage::getHits, bucketSize);
+            context.registerMetric("dedup-cache-misses", storage::getMisses, bucketSize);
+        }
     }
     
     @Override
@@ -70,13 +76,9 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
     public void execute(Tuple tuple) {
         
         if (isTickTuple(tuple)) {
-            // opentsdb using current epoch time (date +%s) in seconds
-            long now  = System.currentTimeMillis();
-            storage.entrySet().removeIf(entry ->  now - entry.getValue().getTime() > MUTE_IF_NO_UPDATES_MILLIS);
-
-            if (LOGGER.isTraceEnabled()) {
-                LOGGER.trace("storage after clean tulpe: {}", storage.toString());
-            }
+            storage.rotate();
+            LOGGER.debug("storage after clean tuple: size {}, hits {}, misses {}",
+                    storage.size(), storage.getHits(), storage.getMisses());
 
             collector.ack(tuple);
             return;
@@ -89,9 +91,7 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
 
         Datapoint datapoint = (Datapoint) tuple.getValueByField("datapoint");
 
-        if (isUpdateRequired(datapoint)) {
-            addDatapoint(datapoint);
-
+        if (storage.isUpdateRequired(datapoint)) {
             List<Object> stream = Stream.of(datapoint.getMetric(), datapoint.getTime(), datapoint.getValue(),
                     datapoint.getTags()).collect(Collectors.toList());
 
@@ -108,34 +108,6 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
         declarer.declare(DECLARED_FIELDS);
     }
 
-    private void addDatapoint(Datapoint datapoint) {
-        LOGGER.debug("adding datapoint: {}", datapoint);
-        LOGGER.debug("storage.size: {}", storage.size());
-        storage.put(new DatapointKey(datapoint.getMetric(), datapoint.getTags()), datapoint);
-        if (LOGGER.isTraceEnabled()) {
-            LOGGER.trace("addDatapoint storage: {}", storage.toString());
-        }
-    }
-
-    private boolean isUpdateRequired(Datapoint datapoint) {
-        boolean update = true;
-        Datapoint prevDatapoint = storage.get(new DatapointKey(datapoint.getMetric(), datapoint.getTags()));
-
-        if (prevDatapoint != null) {
-            if (LOGGER.isTraceEnabled()) {
-                LOGGER.trace("prev: {} cur: {} equals: {} time_delta: {}",
-                        prevDatapoint,
-                        datapoint,
-                        prevDatapoint.getValue().equals(datapoint.getValue()),
-                        datapoint.getTime() - prevDatapoint.getTime()
-                );
-            }
-            update = !prevDatapoint.getValue().equals(datapoint.getValue())
-                    || datapoint.getTime() - prevDatapoint.getTime() >= MUTE_IF_NO_UPDATES_MILLIS;
-        }
-        return update;
-    }
-    
     private boolean isTickTuple(Tuple tuple) {
         String sourceComponent = tuple.getSourceComponent();
         String sourceStreamId = tuple.getSourceStreamId();
@@ -143,12 +115,4 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
         return Constants.SYSTEM_COMPONENT_ID.equals(sourceComponent)
                 && Constants.SYSTEM_TICK_STREAM_ID.equals(sourceStreamId);
     }
-
-    @Value
-    private static class DatapointKey {
-
-        private String metric;
-
-        private Map<String, String> tags;
-    }
 }
@@ -23,6 +23,7 @@ import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.ping.bolt.Blacklist;
 import org.openkilda.wfm.topology.ping.bolt.ComponentId;
 import org.openkilda.wfm.topology.ping.bolt.FailReporter;
+import org.openkilda.wfm.topology.ping.bolt.FlowChangeDetector;
 import org.openkilda.wfm.topology.ping.bolt.FlowFetcher;
 import org.openkilda.wfm.topology.ping.bolt.FlowStatusEncoder;
 import org.openkilda.wfm.topology.ping.bolt.GroupCollector;
@@ -41,10 +42,14 @@ import org.openkilda.wfm.topology.ping.bolt.StatsProducer;
 import org.openkilda.wfm.topology.ping.bolt.TickDeduplicator;
 import org.openkilda.wfm.topology.ping.bolt.TickId;
 import org.openkilda.wfm.topology.ping.bolt.TimeoutManager;
+import org.openkilda.wfm.topology.utils.JsonKafkaTranslator;
 
+import com.google.common.collect.ImmutableList;
+import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.storm.generated.StormTopology;
 import org.apache.storm.kafka.bolt.KafkaBolt;
 import org.apache.storm.kafka.spout.KafkaSpout;
+import org.apache.storm.kafka.spout.KafkaSpoutConfig;
 import org.apache.storm.topology.TopologyBuilder;
 import org.apache.storm.tuple.Fields;
 
@@ -73,6 +78,7 @@ public class PingTopology extends AbstractTopology<PingTopologyConfig> {
 
         input(topology);
         inputRouter(topology);
+        flowChangeDetector(topology);
 
         flowFetcher(topology);
         periodicPingShaping(topology);
@@ -120,13 +126,35 @@ public class PingTopology extends AbstractTopology<PingTopologyConfig> {
                 .shuffleGrouping(ComponentId.INPUT.toString());
     }
 
+    /**
+     * Capture flow commands sent to the speaker (kilda.speaker.flow) to keep periodic ping flows up to date.
+     */
+    private void flowChangeDetector(TopologyBuilder topology) {
+        String spoutId = ComponentId.SPEAKER_FLOW_INPUT.toString();
+        KafkaSpoutConfig<String, String> config = makeKafkaSpoutConfig(
+                    ImmutableList.of(
+                            topologyConfig.getKafkaSpeakerFlowHsTopic(),
+                            topologyConfig.getKafkaSpeakerFlowTopic()),
+                    spoutId, StringDeserializer.class)
+                .setRecordTranslator(new JsonKafkaTranslator())
+                .build();
+        topology.setSpout(spoutId, new KafkaSpout<>(config), scaleFactor);
+
+        FlowChangeDetector bolt = new FlowChangeDetector();
+        topology.setBolt(FlowChangeDetector.BOLT_ID, bolt, scaleFactor)
+                .shuffleGrouping(spoutId);
+    }
+
     private void flowFetcher(TopologyBuilder topology) {
         PersistenceManager persistenceManager =
                 PersistenceProvider.getInstance().createPersistenceManager(configurationProvider);
 
-        FlowFetcher bolt = new FlowFetcher(persistenceManager);
+        FlowFetcher bolt = new FlowFetcher(persistenceManager, topologyConfig.getRegistrySettleTime(),
+                topologyConfig.getRegistryReconcileInterval());
+        // periodic pings and flow changes must be handled by the same task, it holds the registry of pingable flows
         topology.setBolt(FlowFetcher.BOLT_ID, bolt, scaleFactor)
                 .globalGrouping(TickDeduplicator.BOLT_ID, TickDeduplicator.STREAM_PING_ID)
+                .globalGrouping(FlowChangeDetector.BOLT_ID)
                 .shuffleGrouping(InputRouter.BOLT_ID, InputRouter.STREAM_ON_DEMAND_REQUEST_ID);
     }
 
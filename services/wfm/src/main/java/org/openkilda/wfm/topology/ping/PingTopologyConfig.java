@@ -47,6 +47,14 @@ public interface PingTopologyConfig extends AbstractTopologyConfig {
         return getPingConfig().getFailReset();
     }
 
+    default int getRegistrySettleTime() {
+        return getPingConfig().getRegistrySettleTime();
+    }
+
+    default int getRegistryReconcileInterval() {
+        return getPingConfig().getRegistryReconcileInterval();
+    }
+
     default String getKafkaPingTopic() {
         return getKafkaTopics().getPingTopic();
     }
@@ -63,6 +71,14 @@ public interface PingTopologyConfig extends AbstractTopologyConfig {
         return getKafkaTopics().getFlowStatusTopic();
     }
 
+    default String getKafkaSpeakerFlowTopic() {
+        return getKafkaTopics().getSpeakerFlowTopic();
+    }
+
+    default String getKafkaSpeakerFlowHsTopic() {
+        return getKafkaTopics().getSpeakerFlowHsTopic();
+    }
+
     default String getKafkaOtsdbTopic() {
         return getKafkaTopics().getOtsdbTopic();
     }
@@ -93,5 +109,13 @@ public interface PingTopologyConfig extends AbstractTopologyConfig {
         @Key("fail.reset")
         @Default("1800")
         int getFailReset();
+
+        @Key("registry.settle.time")
+        @Default("60")
+        int getRegistrySettleTime();
+
+        @Key("registry.reconcile.interval")
+        @Default("600")
+        int getRegistryReconcileInterval();
     }
 }
@@ -23,6 +23,9 @@ public enum ComponentId {
     INPUT_DECODER("input.decoder"),
     INPUT_ROUTER("input.router"),
 
+    SPEAKER_FLOW_INPUT("speaker_flow.input"),
+    FLOW_CHANGE_DETECTOR("flow_change.detector"),
+
     FLOW_FETCHER("flow_fetcher"),
     PING_PRODUCER("ping_producer"),
     PING_ROUTER("ping.router"),
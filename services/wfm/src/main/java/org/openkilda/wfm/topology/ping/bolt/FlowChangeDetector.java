@@ -0,0 +1,84 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.ping.bolt;
+
+import org.openkilda.floodlight.flow.request.SpeakerFlowRequest;
+import org.openkilda.messaging.AbstractMessage;
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.flow.BaseFlow;
+import org.openkilda.wfm.CommandContext;
+import org.openkilda.wfm.topology.utils.JsonKafkaTranslator;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import org.apache.storm.topology.OutputFieldsDeclarer;
+import org.apache.storm.tuple.Fields;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
+
+import java.io.IOException;
+
+/**
+ * Watch flow commands sent to the speaker and report IDs of the flows that are being installed, updated or removed.
+ */
+public class FlowChangeDetector extends Abstract {
+    public static final String BOLT_ID = ComponentId.FLOW_CHANGE_DETECTOR.toString();
+
+    public static final String FIELD_ID_FLOW_ID = Utils.FLOW_ID;
+
+    public static final Fields STREAM_FIELDS = new Fields(FIELD_ID_FLOW_ID, FIELD_ID_CONTEXT);
+
+    @Override
+    protected void handleInput(Tuple input) throws Exception {
+        String payload = pullValue(input, JsonKafkaTranslator.FIELD_ID_PAYLOAD, String.class);
+        try {
+            try {
+                handleDecoded(input, Utils.MAPPER.readValue(payload, AbstractMessage.class));
+            } catch (JsonMappingException e) {
+                handleDecoded(input, Utils.MAPPER.readValue(payload, Message.class));
+            }
+        } catch (IOException e) {
+            log.error("Unable to decode JSON message - error:{} json:\"{}\"", e, payload);
+        }
+    }
+
+    private void handleDecoded(Tuple input, AbstractMessage message) {
+        if (message instanceof SpeakerFlowRequest) {
+            CommandContext context = new CommandContext(message.getMessageContext().getCorrelationId());
+            emit(input, ((SpeakerFlowRequest) message).getFlowId(), context);
+        }
+    }
+
+    private void handleDecoded(Tuple input, Message message) {
+        if (message instanceof CommandMessage && ((CommandMessage) message).getData() instanceof BaseFlow) {
+            BaseFlow command = (BaseFlow) ((CommandMessage) message).getData();
+            emit(input, command.getId(), new CommandContext(message));
+        }
+    }
+
+    private void emit(Tuple input, String flowId, CommandContext context) {
+        if (flowId != null) {
+            getOutput().emit(input, new Values(flowId, context));
+        }
+    }
+
+    @Override
+    public void declareOutputFields(OutputFieldsDeclarer outputManager) {
+        outputManager.declare(STREAM_FIELDS);
+    }
+}
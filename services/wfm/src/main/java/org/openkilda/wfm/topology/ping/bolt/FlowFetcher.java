@@ -27,6 +27,7 @@ import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.mappers.FlowMapper;
 import org.openkilda.wfm.topology.ping.model.FlowRef;
 import org.openkilda.wfm.topology.ping.model.FlowsHeap;
+import org.openkilda.wfm.topology.ping.model.PeriodicFlowsRegistry;
 import org.openkilda.wfm.topology.ping.model.PingContext;
 import org.openkilda.wfm.topology.ping.model.PingContext.Kinds;
 
@@ -38,6 +39,7 @@ import org.apache.storm.tuple.Values;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 public class FlowFetcher extends Abstract {
@@ -57,11 +59,16 @@ public class FlowFetcher extends Abstract {
     public static final String STREAM_ON_DEMAND_RESPONSE_ID = "on_demand_response";
 
     private final PersistenceManager persistenceManager;
+    private final long registrySettleTime;
+    private final long registryReconcileInterval;
     private transient FlowPairRepository flowPairRepository;
     private FlowsHeap flowsHeap;
+    private PeriodicFlowsRegistry flowsRegistry;
 
-    public FlowFetcher(PersistenceManager persistenceManager) {
+    public FlowFetcher(PersistenceManager persistenceManager, int registrySettleTime, int registryReconcileInterval) {
         this.persistenceManager = persistenceManager;
+        this.registrySettleTime = TimeUnit.SECONDS.toMillis(registrySettleTime);
+        this.registryReconcileInterval = TimeUnit.SECONDS.toMillis(registryReconcileInterval);
     }
 
     @Override
@@ -72,6 +79,8 @@ public class FlowFetcher extends Abstract {
             handlePeriodicRequest(input);
         } else if (InputRouter.BOLT_ID.equals(component)) {
             handleOnDemandRequest(input);
+        } else if (FlowChangeDetector.BOLT_ID.equals(component)) {
+            handleFlowChange(input);
         } else {
             unhandledInput(input);
         }
@@ -79,13 +88,22 @@ public class FlowFetcher extends Abstract {
 
     private void handlePeriodicRequest(Tuple input) throws PipelineException {
         log.debug("Handle periodic ping request");
-        final List<BidirectionalFlowDto> flows = flowPairRepository.findWithPeriodicPingsEnabled().stream()
-                .map(pair -> new BidirectionalFlowDto(FlowMapper.INSTANCE.map(pair)))
-                .collect(Collectors.toList());
+        final long now = System.currentTimeMillis();
+        if (flowsRegistry.isReconcileRequired(now)) {
+            reconcileFlowsRegistry(now);
+        } else {
+            for (String flowId : flowsRegistry.takeChanged(now)) {
+                BidirectionalFlowDto flow = flowPairRepository.findById(flowId)
+                        .filter(pair -> pair.getForward().isPeriodicPings())
+                        .map(pair -> new BidirectionalFlowDto(FlowMapper.INSTANCE.map(pair)))
+                        .orElse(null);
+                flowsRegistry.update(flowId, flow);
+            }
+        }
 
         final CommandContext commandContext = pullContext(input);
         final FlowsHeap heap = new FlowsHeap();
-        for (BidirectionalFlowDto flow : flows) {
+        for (BidirectionalFlowDto flow : flowsRegistry.getFlows()) {
             PingContext pingContext = new PingContext(Kinds.PERIODIC, flow);
             emit(input, pingContext, commandContext);
 
@@ -96,6 +114,19 @@ public class FlowFetcher extends Abstract {
         flowsHeap = heap;
     }
 
+    private void reconcileFlowsRegistry(long now) {
+        final List<BidirectionalFlowDto> flows = flowPairRepository.findWithPeriodicPingsEnabled().stream()
+                .map(pair -> new BidirectionalFlowDto(FlowMapper.INSTANCE.map(pair)))
+                .collect(Collectors.toList());
+        log.debug("Reconcile periodic ping flows registry, {} flows loaded", flows.size());
+        flowsRegistry.reconcile(flows, now);
+    }
+
+    private void handleFlowChange(Tuple input) throws PipelineException {
+        String flowId = pullValue(input, FlowChangeDetector.FIELD_ID_FLOW_ID, String.class);
+        flowsRegistry.markChanged(flowId, System.currentTimeMillis());
+    }
+
     private void handleOnDemandRequest(Tuple input) throws PipelineException {
         log.debug("Handle on demand ping request");
         FlowPingRequest request = pullOnDemandRequest(input);
@@ -151,5 +182,6 @@ public class FlowFetcher extends Abstract {
     public void init() {
         flowPairRepository = persistenceManager.getRepositoryFactory().createFlowPairRepository();
         flowsHeap = new FlowsHeap();
+        flowsRegistry = new PeriodicFlowsRegistry(registrySettleTime, registryReconcileInterval);
     }
 }
@@ -0,0 +1,101 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.ping.model;
+
+import org.openkilda.messaging.model.BidirectionalFlowDto;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory set of flows with enabled periodic pings.
+ *
+ * <p>Flows reported as changed are re-read from the DB on each periodic tick until the settle time since their last
+ * change has passed, because flow operations update the DB both before and after the speaker commands we track. The
+ * whole set is re-read once per reconcile interval to catch changes that were not reported.
+ */
+public class PeriodicFlowsRegistry {
+    private final long settleTimeMillis;
+    private final long reconcileIntervalMillis;
+
+    private final Map<String, BidirectionalFlowDto> flows = new HashMap<>();
+    private final Map<String, Long> changed = new HashMap<>();
+    private Long lastReconcile = null;
+
+    public PeriodicFlowsRegistry(long settleTimeMillis, long reconcileIntervalMillis) {
+        this.settleTimeMillis = settleTimeMillis;
+        this.reconcileIntervalMillis = reconcileIntervalMillis;
+    }
+
+    public void markChanged(String flowId, long now) {
+        changed.put(flowId, now);
+    }
+
+    public boolean isReconcileRequired(long now) {
+        return lastReconcile == null || lastReconcile + reconcileIntervalMillis <= now;
+    }
+
+    /**
+     * Replace registry content with the full set of pingable flows.
+     */
+    public void reconcile(Collection<BidirectionalFlowDto> actual, long now) {
+        flows.clear();
+        for (BidirectionalFlowDto flow : actual) {
+            flows.put(flow.getFlowId(), flow);
+        }
+        lastReconcile = now;
+        dropSettled(now);
+    }
+
+    /**
+     * Return the flows that must be re-read from the DB, the ones that settled down are returned last time.
+     */
+    public List<String> takeChanged(long now) {
+        List<String> result = new ArrayList<>(changed.keySet());
+        dropSettled(now);
+        return result;
+    }
+
+    /**
+     * Store the actual state of the flow, {@code null} means the flow is gone or its periodic pings are disabled.
+     */
+    public void update(String flowId, BidirectionalFlowDto flow) {
+        if (flow != null) {
+            flows.put(flowId, flow);
+        } else {
+            flows.remove(flowId);
+        }
+    }
+
+    public Collection<BidirectionalFlowDto> getFlows() {
+        return Collections.unmodifiableCollection(flows.values());
+    }
+
+    private void dropSettled(long now) {
+        Iterator<Map.Entry<String, Long>> iter = changed.entrySet().iterator();
+        while (iter.hasNext()) {
+            if (iter.next().getValue() + settleTimeMillis <= now) {
+                iter.remove();
+            }
+        }
+    }
+}
@@ -19,8 +19,8 @@ import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.flow.FlowRerouteRequest;
 import org.openkilda.model.FeatureToggles;
 import org.openkilda.persistence.PersistenceManager;
-import org.openkilda.persistence.repositories.FeatureTogglesRepository;
 import org.openkilda.wfm.CommandContext;
+import org.openkilda.wfm.share.service.ConfigurationCache;
 import org.openkilda.wfm.topology.reroute.RerouteTopology;
 import org.openkilda.wfm.topology.reroute.model.FlowThrottlingData;
 import org.openkilda.wfm.topology.reroute.service.ReroutesThrottling;
@@ -47,7 +47,7 @@ public class FlowThrottlingBolt extends AbstractTickStatefulBolt<InMemoryKeyValu
     private final int defaultFlowPriority;
 
     private transient ReroutesThrottling reroutesThrottling;
-    private transient FeatureTogglesRepository featureTogglesRepository;
+    private transient ConfigurationCache configurationCache;
 
     public FlowThrottlingBolt(PersistenceManager persistenceManager,
                               long minDelay, long maxDelay, int defaultFlowPriority) {
@@ -63,9 +63,8 @@ public class FlowThrottlingBolt extends AbstractTickStatefulBolt<InMemoryKeyValu
         for (Map.Entry<String, FlowThrottlingData> entry : reroutesThrottling.getReroutes()) {
             String flowId = entry.getKey();
 
-            boolean flowsRerouteViaFlowHs = featureTogglesRepository.find()
-                    .map(FeatureToggles::getFlowsRerouteViaFlowHs)
-                    .orElse(FeatureToggles.DEFAULTS.getFlowsRerouteViaFlowHs());
+            boolean flowsRerouteViaFlowHs = configurationCache.getFeatureToggle(
+                    FeatureToggles::getFlowsRerouteViaFlowHs);
 
             FlowThrottlingData throttlingData = entry.getValue();
             CommandContext forkedContext = new CommandContext(throttlingData.getCorrelationId()).fork(flowId);
@@ -100,6 +99,6 @@ public class FlowThrottlingBolt extends AbstractTickStatefulBolt<InMemoryKeyValu
             state.put(REROUTES_THROTTLING, reroutesThrottling);
         }
 
-        featureTogglesRepository = persistenceManager.getRepositoryFactory().createFeatureTogglesRepository();
+        configurationCache = new ConfigurationCache(persistenceManager.getRepositoryFactory());
     }
 }
@@ -106,25 +106,27 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
                 .allGrouping(STATS_CACHE_FILTER_BOLT.name(), CACHE_UPDATE.name())
                 .fieldsGrouping(statsOfsBolt, StatsStreamType.CACHE_DATA.toString(), statsFields);
 
+        String metricPrefix = topologyConfig.getMetricPrefix();
+        boolean binaryEncoding = topologyConfig.isDatapointBinaryEncodingEnabled();
         builder.setBolt(PORT_STATS_METRIC_GEN.name(),
-                new PortMetricGenBolt(topologyConfig.getMetricPrefix()), parallelism)
+                new PortMetricGenBolt(metricPrefix, binaryEncoding), parallelism)
                 .fieldsGrouping(statsOfsBolt, StatsStreamType.PORT_STATS.toString(), fieldMessage);
         builder.setBolt(METER_CFG_STATS_METRIC_GEN.name(),
-                new MeterConfigMetricGenBolt(topologyConfig.getMetricPrefix()), parallelism)
+                new MeterConfigMetricGenBolt(metricPrefix, binaryEncoding), parallelism)
                 .fieldsGrouping(statsOfsBolt, StatsStreamType.METER_CONFIG_STATS.toString(), fieldMessage);
         builder.setBolt(SYSTEM_RULE_STATS_METRIC_GEN.name(),
-                new SystemRuleMetricGenBolt(topologyConfig.getMetricPrefix()), parallelism)
+                new SystemRuleMetricGenBolt(metricPrefix, binaryEncoding), parallelism)
                 .fieldsGrouping(statsOfsBolt, StatsStreamType.SYSTEM_RULE_STATS.toString(), statsFields);
         builder.setBolt(TABLE_STATS_METRIC_GEN.name(),
-                new TableStatsMetricGenBolt(topologyConfig.getMetricPrefix()), parallelism)
+                new TableStatsMetricGenBolt(metricPrefix, binaryEncoding), parallelism)
                 .fieldsGrouping(statsOfsBolt, StatsStreamType.TABLE_STATS.toString(), statsFields);
 
         logger.debug("starting flow_stats_metric_gen");
         builder.setBolt(FLOW_STATS_METRIC_GEN.name(),
-                new FlowMetricGenBolt(topologyConfig.getMetricPrefix()), parallelism)
+                new FlowMetricGenBolt(metricPrefix, binaryEncoding), parallelism)
                 .fieldsGrouping(STATS_CACHE_BOLT.name(), StatsStreamType.FLOW_STATS.toString(), statsWithCacheFields);
         builder.setBolt(METER_STATS_METRIC_GEN.name(),
-                new MeterStatsMetricGenBolt(topologyConfig.getMetricPrefix()), parallelism)
+                new MeterStatsMetricGenBolt(metricPrefix, binaryEncoding), parallelism)
                 .fieldsGrouping(STATS_CACHE_BOLT.name(), StatsStreamType.METER_STATS.toString(), statsWithCacheFields);
 
         builder.setBolt(TICK_BOLT.name(), new TickBolt(topologyConfig.getStatisticsRequestInterval()));
@@ -136,7 +138,8 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
                 .shuffleGrouping(STATS_REQUESTER_BOLT.name(), STATS_REQUEST.name());
 
         String openTsdbTopic = topologyConfig.getKafkaOtsdbTopic();
-        builder.setBolt("stats-opentsdb", createKafkaBolt(openTsdbTopic))
+        builder.setBolt("stats-opentsdb",
+                binaryEncoding ? buildBinaryKafkaBolt(openTsdbTopic) : createKafkaBolt(openTsdbTopic))
                 .shuffleGrouping(PORT_STATS_METRIC_GEN.name())
                 .shuffleGrouping(METER_STATS_METRIC_GEN.name())
                 .shuffleGrouping(METER_CFG_STATS_METRIC_GEN.name())
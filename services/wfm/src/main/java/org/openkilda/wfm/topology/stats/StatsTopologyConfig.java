@@ -44,6 +44,14 @@ public interface StatsTopologyConfig extends AbstractTopologyConfig {
     @Default("kilda.")
     String getMetricPrefix();
 
+    /**
+     * Emit datapoints as binary batches instead of JSON encoded datapoints. The opentsdb topology accepts both, enable
+     * it once the opentsdb topology which understands the binary batches is deployed.
+     */
+    @Key("opentsdb.datapoint.binary-encoding.enabled")
+    @Default("false")
+    boolean isDatapointBinaryEncodingEnabled();
+
     @Key("statistics.interval")
     @Default("60")
     int getStatisticsRequestInterval();
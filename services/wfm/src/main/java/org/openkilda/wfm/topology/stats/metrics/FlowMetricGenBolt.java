@@ -38,8 +38,8 @@ import javax.annotation.Nullable;
  */
 public class FlowMetricGenBolt extends MetricGenBolt {
 
-    public FlowMetricGenBolt(String metricPrefix) {
-        super(metricPrefix);
+    public FlowMetricGenBolt(String metricPrefix, boolean binaryEncoding) {
+        super(metricPrefix, binaryEncoding);
     }
 
     @Override
@@ -40,8 +40,8 @@ public class MeterStatsMetricGenBolt extends MetricGenBolt {
 
     public static final String UNKNOWN = "unknown";
 
-    public MeterStatsMetricGenBolt(String metricPrefix) {
-        super(metricPrefix);
+    public MeterStatsMetricGenBolt(String metricPrefix, boolean binaryEncoding) {
+        super(metricPrefix, binaryEncoding);
     }
 
     @Override
@@ -19,22 +19,33 @@ import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.info.Datapoint;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.error.JsonEncodeException;
+import org.openkilda.wfm.share.metrics.DatapointBinaryCodec;
 import org.openkilda.wfm.share.utils.MetricFormatter;
 import org.openkilda.wfm.topology.AbstractTopology;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.apache.storm.topology.OutputFieldsDeclarer;
+import org.apache.storm.tuple.Tuple;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Base bolt for metric generation. Metrics are emitted either as a JSON encoded {@link Datapoint} per tuple, or, if
+ * the binary encoding is enabled, as a single {@link DatapointBinaryCodec} batch per input tuple.
+ */
 public abstract class MetricGenBolt extends AbstractBolt {
 
     private MetricFormatter metricFormatter;
+    private final boolean binaryEncoding;
+
+    private transient List<Datapoint> batch;
 
-    public MetricGenBolt(String metricPrefix) {
+    public MetricGenBolt(String metricPrefix, boolean binaryEncoding) {
         this.metricFormatter = new MetricFormatter(metricPrefix);
+        this.binaryEncoding = binaryEncoding;
     }
 
     protected static List<Object> tuple(String metric, long timestamp, Number value, Map<String, String> tag)
@@ -49,7 +60,30 @@ public abstract class MetricGenBolt extends AbstractBolt {
         return Collections.singletonList(json);
     }
 
+    @Override
+    protected void dispatch(Tuple input) throws Exception {
+        if (!binaryEncoding) {
+            super.dispatch(input);
+            return;
+        }
+
+        batch = new ArrayList<>();
+        try {
+            super.dispatch(input);
+        } finally {
+            if (!batch.isEmpty()) {
+                getOutput().emit(Collections.singletonList(DatapointBinaryCodec.encode(batch)));
+            }
+            batch = null;
+        }
+    }
+
     void emitMetric(String metric, long timestamp, Number value, Map<String, String> tag) {
+        if (binaryEncoding) {
+            batch.add(new Datapoint(metricFormatter.format(metric), timestamp, tag, value));
+            return;
+        }
+
         try {
             getOutput().emit(tuple(metricFormatter.format(metric), timestamp, value, tag));
         } catch (JsonEncodeException e) {
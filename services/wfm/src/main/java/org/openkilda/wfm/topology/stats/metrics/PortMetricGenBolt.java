@@ -29,8 +29,8 @@ import java.util.Map;
 
 public class PortMetricGenBolt extends MetricGenBolt {
 
-    public PortMetricGenBolt(String metricPrefix) {
-        super(metricPrefix);
+    public PortMetricGenBolt(String metricPrefix, boolean binaryEncoding) {
+        super(metricPrefix, binaryEncoding);
     }
 
     @Override
@@ -70,6 +70,12 @@ public interface SwitchManagerTopologyConfig  extends AbstractTopologyConfig {
     @Description("The timeout for performing validate and synchronize operations")
     int getProcessTimeout();
 
+    @Key("swmanager.validate.all.concurrency")
+    @Default("10")
+    @Min(1)
+    @Description("How many switches are validated simultaneously by a network-wide validation")
+    int getValidateAllConcurrency();
+
     @Key("lldp-rate-limit")
     @Default("1")
     int getLldpRateLimit(); // rate in packets per second
@@ -18,6 +18,7 @@ package org.openkilda.wfm.topology.switchmanager.bolt;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.switches.SwitchValidateAllRequest;
 import org.openkilda.messaging.command.switches.SwitchValidateRequest;
 import org.openkilda.messaging.error.ErrorMessage;
 import org.openkilda.messaging.info.InfoData;
@@ -89,6 +90,8 @@ public class SwitchManagerHub extends HubBolt implements SwitchManagerCarrier {
         CommandData data = message.getData();
         if (data instanceof SwitchValidateRequest) {
             validateService.handleSwitchValidateRequest(key, (SwitchValidateRequest) data);
+        } else if (data instanceof SwitchValidateAllRequest) {
+            validateService.handleSwitchValidateAllRequest(key, (SwitchValidateAllRequest) data);
         } else {
             log.warn("Receive unexpected CommandMessage for key {}: {}", key, data);
         }
@@ -142,6 +145,11 @@ public class SwitchManagerHub extends HubBolt implements SwitchManagerCarrier {
         syncService.handleTaskTimeout(key);
     }
 
+    @Override
+    public void registerTimeoutCallback(String key) {
+        registerCallback(key);
+    }
+
     @Override
     public void cancelTimeoutCallback(String key) {
         cancelCallback(key);
@@ -50,7 +50,7 @@ import org.openkilda.wfm.topology.switchmanager.fsm.SwitchValidateFsm.SwitchVali
 import org.openkilda.wfm.topology.switchmanager.model.ValidateMetersResult;
 import org.openkilda.wfm.topology.switchmanager.model.ValidateRulesResult;
 import org.openkilda.wfm.topology.switchmanager.model.ValidationResult;
-import org.openkilda.wfm.topology.switchmanager.service.SwitchManagerCarrier;
+import org.openkilda.wfm.topology.switchmanager.service.SwitchValidateCarrier;
 import org.openkilda.wfm.topology.switchmanager.service.ValidationService;
 
 import lombok.extern.slf4j.Slf4j;
@@ -69,7 +69,7 @@ public class SwitchValidateFsm
 
     private final String key;
     private final SwitchValidateRequest request;
-    private final SwitchManagerCarrier carrier;
+    private final SwitchValidateCarrier carrier;
     private final ValidationService validationService;
     private SwitchId switchId;
     private boolean processMeters;
@@ -78,8 +78,9 @@ public class SwitchValidateFsm
     private List<MeterEntry> presentMeters;
     private ValidateRulesResult validateRulesResult;
     private ValidateMetersResult validateMetersResult;
+    private ValidationResult validationResult;
 
-    public SwitchValidateFsm(SwitchManagerCarrier carrier, String key, SwitchValidateRequest request,
+    public SwitchValidateFsm(SwitchValidateCarrier carrier, String key, SwitchValidateRequest request,
                              ValidationService validationService) {
         this.carrier = carrier;
         this.key = key;
@@ -100,7 +101,7 @@ public class SwitchValidateFsm
                         SwitchValidateState.class,
                         SwitchValidateEvent.class,
                         Object.class,
-                        SwitchManagerCarrier.class,
+                        SwitchValidateCarrier.class,
                         String.class,
                         SwitchValidateRequest.class,
                         ValidationService.class);
@@ -139,6 +140,17 @@ public class SwitchValidateFsm
         return key;
     }
 
+    public SwitchValidateRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * Result of the finished validation requested with sync, the sync is run by the owner of the FSM.
+     */
+    public ValidationResult getValidationResult() {
+        return validationResult;
+    }
+
     protected void initialized(SwitchValidateState from, SwitchValidateState to,
                                SwitchValidateEvent event, Object context) {
         log.info("Key: {}, validate FSM initialized", key);
@@ -229,8 +241,8 @@ public class SwitchValidateFsm
     protected void finished(SwitchValidateState from, SwitchValidateState to,
                             SwitchValidateEvent event, Object context) {
         if (request.isPerformSync()) {
-            carrier.runSwitchSync(key, request,
-                    new ValidationResult(flowEntries, processMeters, validateRulesResult, validateMetersResult));
+            validationResult = new ValidationResult(
+                    flowEntries, processMeters, validateRulesResult, validateMetersResult);
         } else {
             RulesValidationEntry rulesValidationEntry = new RulesValidationEntry(
                     validateRulesResult.getMissingRules(), validateRulesResult.getMisconfiguredRules(),
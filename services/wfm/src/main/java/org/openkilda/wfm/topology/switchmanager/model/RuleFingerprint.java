@@ -0,0 +1,100 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.switchmanager.model;
+
+import org.openkilda.messaging.info.rule.FlowApplyActions;
+import org.openkilda.messaging.info.rule.FlowEntry;
+import org.openkilda.messaging.info.rule.FlowInstructions;
+import org.openkilda.messaging.info.rule.FlowMatchField;
+
+import lombok.Value;
+
+import java.util.Objects;
+
+/**
+ * Canonical representation of the flow rule content: input port, output port and meter. It is calculated both for
+ * the rules expected from the flow model and for the rules dumped from a switch, so they can be compared directly.
+ *
+ * <p>A {@code null} component means that the value is unknown and must not be taken into account. A meter equal to
+ * {@link #NO_METER} means that the rule has (or must have) no meter.
+ */
+@Value
+public class RuleFingerprint {
+    public static final long NO_METER = 0L;
+    public static final String NO_OUTPUT = "";
+
+    private static final String IN_PORT = "in_port";
+
+    private Integer inPort;
+    private String output;
+    private Long meterId;
+
+    public static RuleFingerprint expected(Integer inPort, Integer outPort, Long meterId) {
+        return new RuleFingerprint(inPort, outPort != null ? String.valueOf(outPort) : null, meterId);
+    }
+
+    /**
+     * Builds the fingerprint of a dumped rule.
+     */
+    public static RuleFingerprint of(FlowEntry entry) {
+        FlowMatchField match = entry.getMatch();
+        Integer inPort = match != null && match.getInPort() != null ? parsePort(match.getInPort()) : null;
+
+        FlowInstructions instructions = entry.getInstructions();
+        if (instructions == null) {
+            return new RuleFingerprint(inPort, null, null);
+        }
+
+        FlowApplyActions actions = instructions.getApplyActions();
+        String output = actions != null ? actions.getFlowOutput() : null;
+        if (output == null) {
+            output = NO_OUTPUT;
+        } else if (IN_PORT.equalsIgnoreCase(output) && inPort != null) {
+            output = String.valueOf(inPort);
+        }
+
+        Long meterId = instructions.getGoToMeter();
+        if (meterId == null && actions != null && actions.getMeter() != null) {
+            meterId = Long.valueOf(actions.getMeter());
+        }
+
+        return new RuleFingerprint(inPort, output, meterId != null ? meterId : NO_METER);
+    }
+
+    /**
+     * Checks whether the present rule satisfies this expected fingerprint. A present rule without a meter is
+     * considered as a match, because the speaker doesn't install meters on switches that can't handle them.
+     */
+    public boolean isSatisfiedBy(RuleFingerprint actual) {
+        return matches(inPort, actual.inPort)
+                && matches(output, actual.output)
+                && (meterId == null || actual.meterId == null || actual.meterId == NO_METER
+                    || meterId.equals(actual.meterId));
+    }
+
+    private static boolean matches(Object expected, Object actual) {
+        return expected == null || actual == null || Objects.equals(expected, actual);
+    }
+
+    private static Integer parsePort(String port) {
+        try {
+            return Integer.valueOf(port);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -15,18 +15,12 @@
 
 package org.openkilda.wfm.topology.switchmanager.service;
 
-import org.openkilda.messaging.Message;
-import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.switches.SwitchValidateRequest;
 import org.openkilda.wfm.topology.switchmanager.SwitchManagerTopologyConfig;
 import org.openkilda.wfm.topology.switchmanager.model.ValidationResult;
 
-public interface SwitchManagerCarrier {
-    void sendCommandToSpeaker(String key, CommandData command);
-
-    void response(String key, Message message);
-
-    void cancelTimeoutCallback(String key);
+public interface SwitchManagerCarrier extends SwitchValidateCarrier {
+    void registerTimeoutCallback(String key);
 
     SwitchManagerTopologyConfig getTopologyConfig();
 
@@ -15,6 +15,7 @@
 
 package org.openkilda.wfm.topology.switchmanager.service;
 
+import org.openkilda.messaging.command.switches.SwitchValidateAllRequest;
 import org.openkilda.messaging.command.switches.SwitchValidateRequest;
 import org.openkilda.messaging.error.ErrorMessage;
 import org.openkilda.messaging.info.meter.SwitchMeterEntries;
@@ -25,6 +26,8 @@ public interface SwitchValidateService {
 
     void handleSwitchValidateRequest(String key, SwitchValidateRequest data);
 
+    void handleSwitchValidateAllRequest(String key, SwitchValidateAllRequest data);
+
     void handleFlowEntriesResponse(String key, SwitchFlowEntries data);
 
     void handleExpectedDefaultFlowEntriesResponse(String key, SwitchExpectedDefaultFlowEntries data);
@@ -17,10 +17,12 @@ package org.openkilda.wfm.topology.switchmanager.service;
 
 import org.openkilda.messaging.info.meter.MeterEntry;
 import org.openkilda.messaging.info.rule.FlowEntry;
+import org.openkilda.model.FlowPath;
 import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.topology.switchmanager.model.ValidateMetersResult;
 import org.openkilda.wfm.topology.switchmanager.model.ValidateRulesResult;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ValidationService {
@@ -28,4 +30,10 @@ public interface ValidationService {
                                       List<FlowEntry> expectedDefaultRules);
 
     ValidateMetersResult validateMeters(SwitchId switchId, List<MeterEntry> presentMeters);
+
+    /**
+     * Creates a validation service which takes expected state from the given paths instead of querying the
+     * repository for each switch.
+     */
+    ValidationService withPreloadedPaths(Collection<FlowPath> paths);
 }
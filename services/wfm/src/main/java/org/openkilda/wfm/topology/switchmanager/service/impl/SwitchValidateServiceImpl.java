@@ -15,12 +15,19 @@
 
 package org.openkilda.wfm.topology.switchmanager.service.impl;
 
+import org.openkilda.messaging.command.switches.SwitchValidateAllRequest;
 import org.openkilda.messaging.command.switches.SwitchValidateRequest;
 import org.openkilda.messaging.error.ErrorMessage;
+import org.openkilda.messaging.info.ChunkedInfoMessage;
 import org.openkilda.messaging.info.meter.SwitchMeterEntries;
 import org.openkilda.messaging.info.rule.SwitchExpectedDefaultFlowEntries;
 import org.openkilda.messaging.info.rule.SwitchFlowEntries;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.repositories.FlowPathRepository;
+import org.openkilda.persistence.repositories.SwitchRepository;
+import org.openkilda.wfm.share.utils.KeyProvider;
 import org.openkilda.wfm.topology.switchmanager.fsm.SwitchValidateFsm;
 import org.openkilda.wfm.topology.switchmanager.fsm.SwitchValidateFsm.SwitchValidateEvent;
 import org.openkilda.wfm.topology.switchmanager.fsm.SwitchValidateFsm.SwitchValidateState;
@@ -34,23 +41,31 @@ import org.squirrelframework.foundation.fsm.StateMachineBuilder;
 
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Slf4j
 public class SwitchValidateServiceImpl implements SwitchValidateService {
 
     private Map<String, SwitchValidateFsm> fsms = new HashMap<>();
+    // network-wide validations by keys of their per-switch validations
+    private Map<String, SwitchValidateSweep> sweeps = new HashMap<>();
 
     @VisibleForTesting
     ValidationService validationService;
     private SwitchManagerCarrier carrier;
+    private SwitchRepository switchRepository;
+    private FlowPathRepository flowPathRepository;
     private StateMachineBuilder<SwitchValidateFsm, SwitchValidateState, SwitchValidateEvent, Object> builder;
 
     public SwitchValidateServiceImpl(SwitchManagerCarrier carrier, PersistenceManager persistenceManager) {
         this.carrier = carrier;
         this.builder = SwitchValidateFsm.builder();
         this.validationService = new ValidationServiceImpl(persistenceManager, carrier.getTopologyConfig());
+        this.switchRepository = persistenceManager.getRepositoryFactory().createSwitchRepository();
+        this.flowPathRepository = persistenceManager.getRepositoryFactory().createFlowPathRepository();
     }
 
     @Override
@@ -61,6 +76,53 @@ public class SwitchValidateServiceImpl implements SwitchValidateService {
         process(fsm);
     }
 
+    @Override
+    public void handleSwitchValidateAllRequest(String key, SwitchValidateAllRequest request) {
+        List<SwitchId> switches = switchRepository.findAll().stream()
+                .filter(Switch::isActive)
+                .map(Switch::getSwitchId)
+                .collect(Collectors.toList());
+        log.info("Validating {} switches, key {}", switches.size(), key);
+
+        // every switch validation has its own timeout, the whole sweep is not limited by the process timeout
+        carrier.cancelTimeoutCallback(key);
+
+        if (switches.isEmpty()) {
+            carrier.response(key, new ChunkedInfoMessage(null, System.currentTimeMillis(), key, key, 0));
+            return;
+        }
+
+        SwitchValidateSweep sweep = new SwitchValidateSweep(carrier, key, request.isProcessMeters(), switches);
+        startSweepValidations(sweep);
+    }
+
+    /**
+     * Starts validations of the next chunk of switches. The expected state of the chunk is read by one query right
+     * before the switches are dumped, so it is not outdated by flow changes made while the sweep is running.
+     */
+    private void startSweepValidations(SwitchValidateSweep sweep) {
+        int concurrency = carrier.getTopologyConfig().getValidateAllConcurrency();
+        List<SwitchId> chunk = sweep.takePending(concurrency - sweep.getActiveCount());
+        if (chunk.isEmpty()) {
+            return;
+        }
+        ValidationService chunkValidationService = validationService.withPreloadedPaths(
+                flowPathRepository.findByEndpointOrSegmentDestSwitches(chunk));
+
+        // the whole chunk is marked active first, a validation finished right away must not start extra switches
+        Map<String, SwitchValidateRequest> requests = new LinkedHashMap<>();
+        for (SwitchId switchId : chunk) {
+            String subKey = KeyProvider.generateChainedKey(sweep.getKey());
+            requests.put(subKey, sweep.start(subKey, switchId));
+            sweeps.put(subKey, sweep);
+            carrier.registerTimeoutCallback(subKey);
+        }
+        for (Map.Entry<String, SwitchValidateRequest> entry : requests.entrySet()) {
+            process(builder.newStateMachine(SwitchValidateState.INITIALIZED, sweep, entry.getKey(), entry.getValue(),
+                    chunkValidationService));
+        }
+    }
+
     @Override
     public void handleFlowEntriesResponse(String key, SwitchFlowEntries data) {
         SwitchValidateFsm fsm = fsms.get(key);
@@ -154,6 +216,19 @@ public class SwitchValidateServiceImpl implements SwitchValidateService {
 
         if (exitStates.contains(fsm.getCurrentState())) {
             fsms.remove(fsm.getKey());
+
+            if (fsm.getCurrentState() == SwitchValidateState.FINISHED && fsm.getRequest().isPerformSync()) {
+                carrier.runSwitchSync(fsm.getKey(), fsm.getRequest(), fsm.getValidationResult());
+            }
+
+            SwitchValidateSweep sweep = sweeps.remove(fsm.getKey());
+            if (sweep != null) {
+                if (sweep.isCompleted()) {
+                    log.info("Validation of all switches is completed, key {}", sweep.getKey());
+                } else {
+                    startSweepValidations(sweep);
+                }
+            }
         }
     }
 }
@@ -0,0 +1,128 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.switchmanager.service.impl;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.command.CommandData;
+import org.openkilda.messaging.command.switches.SwitchValidateRequest;
+import org.openkilda.messaging.error.ErrorMessage;
+import org.openkilda.messaging.info.ChunkedInfoMessage;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.switches.SwitchValidationResponse;
+import org.openkilda.messaging.info.switches.SwitchValidationResultEntry;
+import org.openkilda.model.SwitchId;
+import org.openkilda.wfm.topology.switchmanager.service.SwitchValidateCarrier;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * State of a network-wide validation. Each switch is validated by its own {@code SwitchValidateFsm} which uses this
+ * object as a carrier, so per-switch responses are turned into chunks of the sweep response.
+ */
+@Slf4j
+class SwitchValidateSweep implements SwitchValidateCarrier {
+    private final SwitchValidateCarrier carrier;
+    @Getter
+    private final String key;
+    private final boolean processMeters;
+
+    private final Deque<SwitchId> pending;
+    private final Map<String, SwitchId> active = new HashMap<>();
+    private final int total;
+    private int completed = 0;
+
+    SwitchValidateSweep(SwitchValidateCarrier carrier, String key, boolean processMeters,
+                        Collection<SwitchId> switches) {
+        this.carrier = carrier;
+        this.key = key;
+        this.processMeters = processMeters;
+        this.pending = new ArrayDeque<>(switches);
+        this.total = switches.size();
+    }
+
+    int getActiveCount() {
+        return active.size();
+    }
+
+    boolean isCompleted() {
+        return completed == total;
+    }
+
+    /**
+     * Takes up to {@code limit} next switches to validate.
+     */
+    List<SwitchId> takePending(int limit) {
+        List<SwitchId> result = new ArrayList<>();
+        while (!pending.isEmpty() && result.size() < limit) {
+            result.add(pending.removeFirst());
+        }
+        return result;
+    }
+
+    /**
+     * Binds the taken switch to the given sub-request key.
+     */
+    SwitchValidateRequest start(String subKey, SwitchId switchId) {
+        active.put(subKey, switchId);
+        return SwitchValidateRequest.builder()
+                .switchId(switchId)
+                .processMeters(processMeters)
+                .build();
+    }
+
+    @Override
+    public void response(String subKey, Message message) {
+        SwitchId switchId = active.remove(subKey);
+        if (switchId == null) {
+            log.warn("Got response for unknown switch validation {} of sweep {}", subKey, key);
+            return;
+        }
+
+        SwitchValidationResultEntry.SwitchValidationResultEntryBuilder entry = SwitchValidationResultEntry.builder()
+                .switchId(switchId);
+        if (message instanceof InfoMessage
+                && ((InfoMessage) message).getData() instanceof SwitchValidationResponse) {
+            entry.result((SwitchValidationResponse) ((InfoMessage) message).getData());
+        } else if (message instanceof ErrorMessage) {
+            entry.error(((ErrorMessage) message).getData().getErrorMessage());
+        } else {
+            entry.error(String.format("Unexpected validation response: %s", message));
+        }
+
+        carrier.response(key, new ChunkedInfoMessage(entry.build(), System.currentTimeMillis(), key,
+                completed++, total));
+    }
+
+    @Override
+    public void sendCommandToSpeaker(String subKey, CommandData command) {
+        carrier.sendCommandToSpeaker(subKey, command);
+    }
+
+    @Override
+    public void cancelTimeoutCallback(String subKey) {
+        carrier.cancelTimeoutCallback(subKey);
+    }
+}
@@ -25,14 +25,15 @@ import org.openkilda.messaging.info.switches.MeterMisconfiguredInfoEntry;
 import org.openkilda.model.Cookie;
 import org.openkilda.model.Flow;
 import org.openkilda.model.FlowPath;
-import org.openkilda.model.LldpResources;
 import org.openkilda.model.Meter;
 import org.openkilda.model.MeterId;
+import org.openkilda.model.PathSegment;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.wfm.topology.switchmanager.SwitchManagerTopologyConfig;
+import org.openkilda.wfm.topology.switchmanager.model.RuleFingerprint;
 import org.openkilda.wfm.topology.switchmanager.model.SimpleMeterEntry;
 import org.openkilda.wfm.topology.switchmanager.model.ValidateMetersResult;
 import org.openkilda.wfm.topology.switchmanager.model.ValidateRulesResult;
@@ -45,6 +46,8 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -66,6 +69,10 @@ public class ValidationServiceImpl implements ValidationService {
     private final int lldpPacketSize;
     private final long lldpMeterBurstSizeInPackets;
 
+    // paths indexed by switch, set only for services created by withPreloadedPaths()
+    private final Map<SwitchId, List<FlowPath>> preloadedRulePaths;
+    private final Map<SwitchId, List<FlowPath>> preloadedMeterPaths;
+
     public ValidationServiceImpl(PersistenceManager persistenceManager, SwitchManagerTopologyConfig topologyConfig) {
         this.flowPathRepository = persistenceManager.getRepositoryFactory().createFlowPathRepository();
         this.flowMeterMinBurstSizeInKbits = topologyConfig.getFlowMeterMinBurstSizeInKbits();
@@ -73,6 +80,52 @@ public class ValidationServiceImpl implements ValidationService {
         this.lldpRateLimit = topologyConfig.getLldpRateLimit();
         this.lldpPacketSize = topologyConfig.getLldpPacketSize();
         this.lldpMeterBurstSizeInPackets = topologyConfig.getLldpMeterBurstSizeInPackets();
+        this.preloadedRulePaths = null;
+        this.preloadedMeterPaths = null;
+    }
+
+    private ValidationServiceImpl(ValidationServiceImpl origin, Collection<FlowPath> paths) {
+        this.flowPathRepository = origin.flowPathRepository;
+        this.flowMeterMinBurstSizeInKbits = origin.flowMeterMinBurstSizeInKbits;
+        this.flowMeterBurstCoefficient = origin.flowMeterBurstCoefficient;
+        this.lldpRateLimit = origin.lldpRateLimit;
+        this.lldpPacketSize = origin.lldpPacketSize;
+        this.lldpMeterBurstSizeInPackets = origin.lldpMeterBurstSizeInPackets;
+        this.preloadedRulePaths = new HashMap<>();
+        this.preloadedMeterPaths = new HashMap<>();
+
+        for (FlowPath path : paths) {
+            Set<SwitchId> ruleSwitches = new HashSet<>();
+            ruleSwitches.add(path.getSrcSwitch().getSwitchId());
+            ruleSwitches.add(path.getDestSwitch().getSwitchId());
+            for (PathSegment segment : path.getSegments()) {
+                ruleSwitches.add(segment.getDestSwitch().getSwitchId());
+            }
+            for (SwitchId switchId : ruleSwitches) {
+                preloadedRulePaths.computeIfAbsent(switchId, ignore -> new ArrayList<>()).add(path);
+            }
+            preloadedMeterPaths.computeIfAbsent(path.getSrcSwitch().getSwitchId(), ignore -> new ArrayList<>())
+                    .add(path);
+        }
+    }
+
+    @Override
+    public ValidationService withPreloadedPaths(Collection<FlowPath> paths) {
+        return new ValidationServiceImpl(this, paths);
+    }
+
+    private Collection<FlowPath> findRulePaths(SwitchId switchId) {
+        if (preloadedRulePaths != null) {
+            return preloadedRulePaths.getOrDefault(switchId, Collections.emptyList());
+        }
+        return flowPathRepository.findByEndpointOrSegmentDestSwitch(switchId);
+    }
+
+    private Collection<FlowPath> findMeterPaths(SwitchId switchId) {
+        if (preloadedMeterPaths != null) {
+            return preloadedMeterPaths.getOrDefault(switchId, Collections.emptyList());
+        }
+        return flowPathRepository.findBySrcSwitchIncludeProtected(switchId);
     }
 
     @Override
@@ -80,27 +133,57 @@ public class ValidationServiceImpl implements ValidationService {
                                              List<FlowEntry> expectedDefaultRules) {
         log.debug("Validating rules on switch {}", switchId);
 
-        Set<Long> expectedCookies = flowPathRepository.findBySegmentDestSwitch(switchId).stream()
-                .map(FlowPath::getCookie)
-                .map(Cookie::getValue)
-                .collect(Collectors.toSet());
+        Map<Long, RuleFingerprint> expectedRules = new HashMap<>();
+        for (FlowPath path : findRulePaths(switchId)) {
+            collectExpectedRules(switchId, path, expectedRules);
+        }
 
-        Collection<FlowPath> paths = flowPathRepository.findByEndpointSwitchIncludeProtected(switchId);
+        return makeRulesResponse(expectedRules, presentRules, expectedDefaultRules, switchId);
+    }
 
-        paths.stream()
-                .filter(filterOutProtectedPathWithSrcEndpoint(switchId))
-                .map(FlowPath::getCookie)
-                .map(Cookie::getValue)
-                .forEach(expectedCookies::add);
-
-        paths.stream().filter(path -> mustHaveLldpRule(switchId, path))
-                .map(FlowPath::getLldpResources)
-                .map(LldpResources::getCookie)
-                .map(Cookie::getValue)
-                .forEach(expectedCookies::add);
-
-        return makeRulesResponse(
-                expectedCookies, presentRules, expectedDefaultRules, switchId);
+    private void collectExpectedRules(SwitchId switchId, FlowPath path, Map<Long, RuleFingerprint> expectedRules) {
+        Flow flow = path.getFlow();
+        List<PathSegment> segments = path.getSegments();
+        Integer ingressPort = null;
+        Integer egressPort = null;
+        if (flow.isForward(path)) {
+            ingressPort = flow.getSrcPort();
+            egressPort = flow.getDestPort();
+        } else if (flow.isReverse(path)) {
+            ingressPort = flow.getDestPort();
+            egressPort = flow.getSrcPort();
+        }
+
+        if (path.getSrcSwitch().getSwitchId().equals(switchId) && !path.isProtected()) {
+            Integer outPort = null;
+            if (!segments.isEmpty()) {
+                outPort = segments.get(0).getSrcPort();
+            } else if (path.getDestSwitch().getSwitchId().equals(switchId)) {
+                outPort = egressPort;
+            }
+            long meterId = path.getMeterId() != null ? path.getMeterId().getValue() : RuleFingerprint.NO_METER;
+            expectedRules.put(path.getCookie().getValue(), RuleFingerprint.expected(ingressPort, outPort, meterId));
+        } else if (segments.isEmpty() && path.getDestSwitch().getSwitchId().equals(switchId)) {
+            // a path without segments can't tell the input port of its egress rule
+            expectedRules.put(path.getCookie().getValue(),
+                    RuleFingerprint.expected(null, egressPort, RuleFingerprint.NO_METER));
+        }
+
+        for (int i = 0; i < segments.size(); i++) {
+            PathSegment segment = segments.get(i);
+            if (segment.getDestSwitch().getSwitchId().equals(switchId)) {
+                Integer outPort = i + 1 < segments.size() ? Integer.valueOf(segments.get(i + 1).getSrcPort())
+                        : egressPort;
+                expectedRules.put(path.getCookie().getValue(),
+                        RuleFingerprint.expected(segment.getDestPort(), outPort, RuleFingerprint.NO_METER));
+            }
+        }
+
+        if (mustHaveLldpRule(switchId, path)) {
+            // content of LLDP rules is not tracked by the flow model, so only the cookie is checked
+            expectedRules.put(path.getLldpResources().getCookie().getValue(),
+                    RuleFingerprint.expected(null, null, null));
+        }
     }
 
     @VisibleForTesting
@@ -120,33 +203,53 @@ public class ValidationServiceImpl implements ValidationService {
         return false;
     }
 
-    private ValidateRulesResult makeRulesResponse(Set<Long> expectedCookies, List<FlowEntry> presentRules,
+    private ValidateRulesResult makeRulesResponse(Map<Long, RuleFingerprint> expectedRules,
+                                                  List<FlowEntry> presentRules,
                                                   List<FlowEntry> expectedDefaultRules, SwitchId switchId) {
-        Set<Long> presentCookies = presentRules.stream()
-                .map(FlowEntry::getCookie)
-                .filter(cookie -> !Cookie.isDefaultRule(cookie))
-                .collect(Collectors.toSet());
+        Map<Long, RuleFingerprint> presentFlowRules = new HashMap<>();
+        Map<Long, List<FlowEntry>> presentDefaultRules = new HashMap<>();
+        for (FlowEntry rule : presentRules) {
+            if (Cookie.isDefaultRule(rule.getCookie())) {
+                presentDefaultRules.computeIfAbsent(rule.getCookie(), ignore -> new ArrayList<>(1)).add(rule);
+            } else {
+                presentFlowRules.putIfAbsent(rule.getCookie(), RuleFingerprint.of(rule));
+            }
+        }
+
+        Set<Long> missingRules = new HashSet<>();
+        Set<Long> properRules = new HashSet<>();
+        Set<Long> excessRules = new HashSet<>();
+        Set<Long> misconfiguredRules = new HashSet<>();
+
+        for (Map.Entry<Long, RuleFingerprint> entry : expectedRules.entrySet()) {
+            RuleFingerprint present = presentFlowRules.get(entry.getKey());
+            if (present == null) {
+                missingRules.add(entry.getKey());
+            } else if (entry.getValue().isSatisfiedBy(present)) {
+                properRules.add(entry.getKey());
+            } else {
+                log.warn("On switch {} rule {} is misconfigured: expected {}, actual {}", switchId,
+                        Cookie.toString(entry.getKey()), entry.getValue(), present);
+                misconfiguredRules.add(entry.getKey());
+            }
+        }
+
+        for (Long cookie : presentFlowRules.keySet()) {
+            if (!expectedRules.containsKey(cookie)) {
+                excessRules.add(cookie);
+            }
+        }
 
-        Set<Long> missingRules = new HashSet<>(expectedCookies);
-        missingRules.removeAll(presentCookies);
         if (!missingRules.isEmpty() && log.isErrorEnabled()) {
             log.error("On switch {} the following rules are missed: {}", switchId,
                     cookiesIntoLogRepresentation(missingRules));
         }
-
-        Set<Long> properRules = new HashSet<>(expectedCookies);
-        properRules.retainAll(presentCookies);
-
-        Set<Long> excessRules = new HashSet<>(presentCookies);
-        excessRules.removeAll(expectedCookies);
         if (!excessRules.isEmpty() && log.isWarnEnabled()) {
             log.warn("On switch {} the following rules are excessive: {}", switchId,
                     cookiesIntoLogRepresentation(excessRules));
         }
 
-        Set<Long> misconfiguredRules = new HashSet<>();
-
-        validateDefaultRules(presentRules, expectedDefaultRules, missingRules, properRules, excessRules,
+        validateDefaultRules(presentDefaultRules, expectedDefaultRules, missingRules, properRules, excessRules,
                 misconfiguredRules);
 
         return new ValidateRulesResult(
@@ -156,42 +259,36 @@ public class ValidationServiceImpl implements ValidationService {
                 ImmutableList.copyOf(misconfiguredRules));
     }
 
-    private void validateDefaultRules(List<FlowEntry> presentRules, List<FlowEntry> expectedDefaultRules,
+    private void validateDefaultRules(Map<Long, List<FlowEntry>> presentDefaultRules,
+                                      List<FlowEntry> expectedDefaultRules,
                                       Set<Long> missingRules, Set<Long> properRules, Set<Long> excessRules,
                                       Set<Long> misconfiguredRules) {
-        List<FlowEntry> presentDefaultRules = presentRules.stream()
-                .filter(rule -> Cookie.isDefaultRule(rule.getCookie()))
-                .collect(Collectors.toList());
-
-        expectedDefaultRules.forEach(expectedDefaultRule -> {
-            List<FlowEntry> defaultRule = presentDefaultRules.stream()
-                    .filter(rule -> rule.getCookie() == expectedDefaultRule.getCookie())
-                    .collect(Collectors.toList());
-
-            if (defaultRule.isEmpty()) {
-                missingRules.add(expectedDefaultRule.getCookie());
+        Set<Long> expectedCookies = new HashSet<>();
+        for (FlowEntry expectedDefaultRule : expectedDefaultRules) {
+            long cookie = expectedDefaultRule.getCookie();
+            expectedCookies.add(cookie);
+
+            List<FlowEntry> defaultRule = presentDefaultRules.get(cookie);
+            if (defaultRule == null) {
+                missingRules.add(cookie);
             } else {
                 if (defaultRule.contains(expectedDefaultRule)) {
-                    properRules.add(expectedDefaultRule.getCookie());
+                    properRules.add(cookie);
                 } else {
-                    misconfiguredRules.add(expectedDefaultRule.getCookie());
+                    misconfiguredRules.add(cookie);
                 }
 
                 if (defaultRule.size() > 1) {
-                    misconfiguredRules.add(expectedDefaultRule.getCookie());
+                    misconfiguredRules.add(cookie);
                 }
             }
-        });
-
-        presentDefaultRules.forEach(presentDefaultRule -> {
-            List<FlowEntry> defaultRule = expectedDefaultRules.stream()
-                    .filter(rule -> rule.getCookie() == presentDefaultRule.getCookie())
-                    .collect(Collectors.toList());
+        }
 
-            if (defaultRule.isEmpty()) {
-                excessRules.add(presentDefaultRule.getCookie());
+        for (Long cookie : presentDefaultRules.keySet()) {
+            if (!expectedCookies.contains(cookie)) {
+                excessRules.add(cookie);
             }
-        });
+        }
     }
 
     private static String cookiesIntoLogRepresentation(Collection<Long> rules) {
@@ -204,7 +301,7 @@ public class ValidationServiceImpl implements ValidationService {
 
         presentMeters.removeIf(meterEntry -> MeterId.isMeterIdOfDefaultRule(meterEntry.getMeterId()));
 
-        Collection<FlowPath> paths = flowPathRepository.findBySrcSwitchIncludeProtected(switchId);
+        Collection<FlowPath> paths = findMeterPaths(switchId);
 
         if (paths.isEmpty()) {
             // we do not expect any flow meter on this switch
@@ -18,12 +18,17 @@ package org.openkilda.wfm.share.flow.resources;
 import static java.lang.String.format;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import org.openkilda.persistence.TransactionCallbackWithoutResult;
+import org.openkilda.persistence.repositories.FlowCookieRepository;
 import org.openkilda.wfm.Neo4jBasedTest;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
+
 public class CookiePoolTest extends Neo4jBasedTest {
 
     private CookiePool cookiePool;
@@ -59,6 +64,73 @@ public class CookiePoolTest extends Neo4jBasedTest {
         }
     }
 
+    @Test
+    public void shouldReloadCookiesWhenExhausted() {
+        for (int i = 5; i <= 25; i++) {
+            cookiePool.allocate(format("flow_%d", i));
+        }
+
+        // the cookie is released outside of the pool
+        FlowCookieRepository flowCookieRepository = persistenceManager.getRepositoryFactory()
+                .createFlowCookieRepository();
+        flowCookieRepository.delete(flowCookieRepository.findByCookie(17).get());
+
+        assertEquals(17, cookiePool.allocate("flow_26"));
+    }
+
+    @Test
+    public void shouldSkipCookieAllocatedByAnotherPool() {
+        CookiePool anotherPool = new CookiePool(persistenceManager, 5, 25);
+
+        assertEquals(5, cookiePool.allocate("flow_1"));
+        assertEquals(6, anotherPool.allocate("flow_2"));
+        assertEquals(7, cookiePool.allocate("flow_3"));
+        assertEquals(8, anotherPool.allocate("flow_4"));
+    }
+
+    @Test
+    public void shouldAllocateCookiesInBatch() {
+        assertEquals(Arrays.asList(5L, 6L, 7L), cookiePool.allocate("flow_1", 3));
+        assertEquals(3, persistenceManager.getRepositoryFactory().createFlowCookieRepository().findAll().size());
+    }
+
+    @Test
+    public void shouldKeepCookiesOfBatchAllocatedOnReload() {
+        CookiePool anotherPool = new CookiePool(persistenceManager, 5, 25, 7);
+
+        assertEquals(5, cookiePool.allocate("flow_1"));
+        assertEquals(7, anotherPool.allocate("flow_2"));
+
+        // the cookie 7 is found to be taken after 6 is taken for the batch, so the free-list is reloaded
+        assertEquals(Arrays.asList(6L, 8L), cookiePool.allocate("flow_3", 2));
+    }
+
+    @Test
+    public void shouldStartAllocationFromStartCookie() {
+        CookiePool pool = new CookiePool(persistenceManager, 5, 25, 25);
+
+        assertEquals(25, pool.allocate("flow_1"));
+        assertEquals(5, pool.allocate("flow_2"));
+    }
+
+    @Test
+    public void shouldNotReuseCookieOfRolledBackDeallocation() {
+        assertEquals(5, cookiePool.allocate("flow_1"));
+
+        TransactionCallbackWithoutResult<RuntimeException> rolledBackDeallocation = () -> {
+            cookiePool.deallocate(5);
+            throw new IllegalStateException("rollback");
+        };
+        try {
+            persistenceManager.getTransactionManager().doInTransaction(rolledBackDeallocation);
+            fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        assertEquals(6, cookiePool.allocate("flow_2"));
+    }
+
     @Test
     public void cookieLldp() {
         // checks that we able to create two cookies for one flow
@@ -0,0 +1,97 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.flow.resources;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+import java.util.Optional;
+
+public class FreeIdBitmapTest {
+
+    @Test
+    public void shouldAllocateLowestFreeId() {
+        FreeIdBitmap bitmap = new FreeIdBitmap(10, 20);
+        bitmap.markAllocated(11);
+
+        assertEquals(Optional.of(10L), bitmap.allocate());
+        assertEquals(Optional.of(12L), bitmap.allocate());
+        assertEquals(Optional.of(13L), bitmap.allocate());
+
+        bitmap.release(11);
+        assertEquals(Optional.of(11L), bitmap.allocate());
+        assertEquals(Optional.of(14L), bitmap.allocate());
+    }
+
+    @Test
+    public void shouldIgnoreIdsOutOfRange() {
+        FreeIdBitmap bitmap = new FreeIdBitmap(10, 11);
+        bitmap.markAllocated(9);
+        bitmap.markAllocated(12);
+        bitmap.release(12);
+
+        assertEquals(Optional.of(10L), bitmap.allocate());
+        assertEquals(Optional.of(11L), bitmap.allocate());
+    }
+
+    @Test
+    public void shouldReturnEmptyWhenExhausted() {
+        FreeIdBitmap bitmap = new FreeIdBitmap(1, 3);
+        for (int i = 0; i < 3; i++) {
+            bitmap.allocate();
+        }
+        assertFalse(bitmap.allocate().isPresent());
+
+        bitmap.release(2);
+        assertEquals(Optional.of(2L), bitmap.allocate());
+        assertFalse(bitmap.allocate().isPresent());
+
+        bitmap.clear();
+        assertEquals(Optional.of(1L), bitmap.allocate());
+    }
+
+    @Test
+    public void shouldAllocateFromStartIdAndWrapAround() {
+        FreeIdBitmap bitmap = new FreeIdBitmap(1, 4, 3);
+
+        assertEquals(Optional.of(3L), bitmap.allocate());
+        assertEquals(Optional.of(4L), bitmap.allocate());
+        assertEquals(Optional.of(1L), bitmap.allocate());
+
+        bitmap.release(3);
+        assertEquals(Optional.of(3L), bitmap.allocate());
+        assertEquals(Optional.of(2L), bitmap.allocate());
+        assertFalse(bitmap.allocate().isPresent());
+
+        bitmap.release(1);
+        assertEquals(Optional.of(1L), bitmap.allocate());
+
+        bitmap.clear();
+        assertEquals(Optional.of(3L), bitmap.allocate());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectStartIdOutOfRange() {
+        new FreeIdBitmap(10, 20, 21);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectInvalidRange() {
+        new FreeIdBitmap(10, 9);
+    }
+}
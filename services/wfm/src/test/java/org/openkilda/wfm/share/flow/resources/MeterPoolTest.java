@@ -26,12 +26,15 @@ import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.repositories.FlowMeterRepository;
 import org.openkilda.persistence.repositories.SwitchRepository;
+import org.openkilda.wfm.share.flow.resources.MeterPool.MeterRequest;
 import org.openkilda.wfm.Neo4jBasedTest;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
 public class MeterPoolTest extends Neo4jBasedTest {
     private static final SwitchId SWITCH_ID = new SwitchId("ff:00");
@@ -54,6 +57,48 @@ public class MeterPoolTest extends Neo4jBasedTest {
         flowMeterRepository = persistenceManager.getRepositoryFactory().createFlowMeterRepository();
     }
 
+    @Test
+    public void shouldSkipMeterAllocatedByAnotherPool() {
+        MeterPool anotherPool = new MeterPool(persistenceManager, new MeterId(31), new MeterId(40));
+
+        assertEquals(31, meterPool.allocate(SWITCH_ID, FLOW_1, PATH_ID_1).getValue());
+        assertEquals(32, anotherPool.allocate(SWITCH_ID, FLOW_2, PATH_ID_2).getValue());
+        assertEquals(33, meterPool.allocate(SWITCH_ID, FLOW_3, PATH_ID_3).getValue());
+    }
+
+    @Test
+    public void shouldAllocateMetersOfSeveralSwitchesInBatch() {
+        SwitchId anotherSwitchId = new SwitchId("ff:01");
+
+        List<MeterId> meterIds = meterPool.allocate(FLOW_1, Arrays.asList(new MeterRequest(SWITCH_ID, PATH_ID_1),
+                new MeterRequest(anotherSwitchId, PATH_ID_2), new MeterRequest(SWITCH_ID, PATH_ID_1)));
+
+        assertEquals(Arrays.asList(new MeterId(31), new MeterId(31), new MeterId(32)), meterIds);
+        assertEquals(2, flowMeterRepository.findBySwitchId(SWITCH_ID).size());
+        assertEquals(1, flowMeterRepository.findBySwitchId(anotherSwitchId).size());
+    }
+
+    @Test
+    public void shouldKeepMetersOfBatchAllocatedOnReload() {
+        MeterPool anotherPool = new MeterPool(persistenceManager, new MeterId(31), new MeterId(40), new MeterId(33));
+
+        assertEquals(31, meterPool.allocate(SWITCH_ID, FLOW_1, PATH_ID_1).getValue());
+        assertEquals(33, anotherPool.allocate(SWITCH_ID, FLOW_2, PATH_ID_2).getValue());
+
+        // the meter 33 is found to be taken after 32 is taken for the batch, so the free-list is reloaded
+        List<MeterId> meterIds = meterPool.allocate(FLOW_3, Arrays.asList(new MeterRequest(SWITCH_ID, PATH_ID_3),
+                new MeterRequest(SWITCH_ID, PATH_ID_3)));
+        assertEquals(Arrays.asList(new MeterId(32), new MeterId(34)), meterIds);
+    }
+
+    @Test
+    public void shouldStartAllocationFromStartMeter() {
+        MeterPool pool = new MeterPool(persistenceManager, new MeterId(31), new MeterId(40), new MeterId(40));
+
+        assertEquals(40, pool.allocate(SWITCH_ID, FLOW_1, PATH_ID_1).getValue());
+        assertEquals(31, pool.allocate(SWITCH_ID, FLOW_2, PATH_ID_2).getValue());
+    }
+
     @Test
     public void meterPoolTest() {
         long first = meterPool.allocate(SWITCH_ID, FLOW_1, PATH_ID_1).getValue();
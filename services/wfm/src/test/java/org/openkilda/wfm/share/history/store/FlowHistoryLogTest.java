@@ -0,0 +1,364 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.history.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.model.Cookie;
+import org.openkilda.model.FlowPathStatus;
+import org.openkilda.model.MeterId;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.history.FlowDump;
+import org.openkilda.model.history.FlowEvent;
+import org.openkilda.model.history.FlowHistory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class FlowHistoryLogTest {
+    private static final int SEGMENT_SIZE = 1024;
+    private static final Duration RETENTION = Duration.ofDays(1);
+    private static final String FLOW_ID = "flow-1";
+    private static final Instant START = Instant.parse("2019-10-01T00:00:00Z");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final MutableClock clock = new MutableClock(START);
+    private final List<FlowHistoryLog> logs = new ArrayList<>();
+    private Path root;
+
+    @Before
+    public void setUp() throws IOException {
+        root = folder.newFolder("history").toPath();
+    }
+
+    @After
+    public void tearDown() {
+        logs.forEach(FlowHistoryLog::close);
+    }
+
+    @Test
+    public void appendAndFindTest() {
+        FlowHistoryLog historyLog = makeLog();
+        FlowEvent first = makeEvent("task-1", START.plusSeconds(10));
+        FlowEvent second = makeEvent("task-2", START.plusSeconds(5));
+        FlowHistory history = makeHistory("task-1", "first action");
+        FlowDump dump = makeDump("task-1");
+        historyLog.append(Arrays.asList(first, second, history, dump));
+
+        assertEquals(Collections.singletonList(first), historyLog.findFlowEventsByTaskId("task-1"));
+        assertEquals(Arrays.asList(second, first), historyLog.findFlowEvents(FLOW_ID, START, START.plusSeconds(10)));
+        assertEquals(Collections.singletonList(second),
+                historyLog.findFlowEvents(FLOW_ID, START, START.plusSeconds(9)));
+        assertTrue(historyLog.findFlowEvents("other-flow", START, START.plusSeconds(10)).isEmpty());
+        assertEquals(Collections.singletonList(history), historyLog.findFlowHistory("task-1"));
+        assertEquals(Collections.singletonList(dump), historyLog.findFlowDumps("task-1"));
+        assertTrue(historyLog.findFlowDumps("task-2").isEmpty());
+        assertEquals(2, historyLog.findAll(FlowEvent.class).size());
+    }
+
+    @Test
+    public void reopenTest() {
+        FlowHistoryLog historyLog = makeLog();
+        historyLog.append(Collections.singletonList(makeEvent("task-1", START)));
+        historyLog.close();
+
+        FlowHistoryLog reopened = makeLog();
+        assertEquals(1, reopened.findFlowEventsByTaskId("task-1").size());
+
+        // writer continues the last segment of released writer directory
+        reopened.append(Collections.singletonList(makeEvent("task-2", START)));
+        assertEquals(2, reopened.findFlowEvents(FLOW_ID, START, START).size());
+        assertEquals(1, countWriterDirectories());
+        assertEquals(1, countSegments());
+    }
+
+    @Test
+    public void readerSeesRecordsOfOtherWritersTest() {
+        FlowHistoryLog firstWriter = makeLog();
+        FlowHistoryLog secondWriter = makeLog();
+        FlowHistoryLog reader = makeLog();
+
+        firstWriter.append(Collections.singletonList(makeEvent("task-1", START)));
+        assertEquals(1, reader.findFlowEvents(FLOW_ID, START, START).size());
+
+        secondWriter.append(Collections.singletonList(makeEvent("task-2", START)));
+        firstWriter.append(Collections.singletonList(makeHistory("task-2", "action")));
+
+        assertEquals(2, reader.findFlowEvents(FLOW_ID, START, START).size());
+        assertEquals(1, reader.findFlowHistory("task-2").size());
+        assertEquals(2, countWriterDirectories());
+    }
+
+    @Test
+    public void segmentRollTest() {
+        FlowHistoryLog historyLog = makeLog();
+        List<FlowEvent> events = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            FlowEvent event = makeEvent("task-" + i, START.plusSeconds(i));
+            events.add(event);
+            historyLog.append(Collections.singletonList(event));
+        }
+
+        assertTrue(countSegments() > 1);
+        assertEquals(events, makeLog().findFlowEvents(FLOW_ID, START, START.plusSeconds(50)));
+    }
+
+    @Test
+    public void failedAppendLeavesNoRecordsTest() {
+        FlowHistoryLog historyLog = makeLog();
+        historyLog.append(Collections.singletonList(makeEvent("task-0", START)));
+
+        // the batch fails on the last entity, after the others are written
+        List<Object> batch = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            batch.add(makeEvent("task-" + i, START));
+        }
+        batch.add("unsupported entity");
+        try {
+            historyLog.append(batch);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals(1, historyLog.findAll(FlowEvent.class).size());
+        assertEquals(1, makeLog().findAll(FlowEvent.class).size());
+
+        // retried batch is stored once
+        historyLog.append(batch.subList(0, 20));
+        assertEquals(21, historyLog.findAll(FlowEvent.class).size());
+        assertEquals(21, makeLog().findAll(FlowEvent.class).size());
+    }
+
+    @Test
+    public void retentionTest() throws IOException {
+        FlowHistoryLog historyLog = makeLog();
+        appendEvents(historyLog, "old", 20);
+        clock.advance(RETENTION.plusHours(1));
+        appendEvents(historyLog, "new", 20);
+        int segments = countSegments();
+
+        FlowHistoryLog reader = makeLog();
+        assertEquals(40, reader.findAll(FlowEvent.class).size());
+
+        assertTrue(historyLog.applyRetention() > 0);
+        assertTrue(countSegments() < segments);
+
+        // segment with both old and new records is kept until it expires completely
+        assertTrue(reader.findFlowEventsByTaskId("old-0").isEmpty());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(1, reader.findFlowEventsByTaskId("new-" + i).size());
+        }
+        assertEquals(reader.findAll(FlowEvent.class).size(), historyLog.findAll(FlowEvent.class).size());
+    }
+
+    @Test
+    public void retentionOfAbandonedWriterDirectoryTest() throws IOException {
+        FlowHistoryLog stopped = makeLog();
+        appendEvents(stopped, "stopped", 20);
+        FlowHistoryLog running = makeLog();
+        appendEvents(running, "running", 20);
+        FlowHistoryLog historyLog = makeLog();
+        appendEvents(historyLog, "own", 1);
+        stopped.close();
+
+        clock.advance(RETENTION.plusHours(1));
+        appendEvents(historyLog, "new", 1);
+        assertTrue(historyLog.applyRetention() > 0);
+
+        // directory of the stopped writer is expired completely, the running writer expires its own directory
+        FlowHistoryLog reader = makeLog();
+        assertTrue(reader.findFlowEventsByTaskId("stopped-0").isEmpty());
+        assertTrue(reader.findFlowEventsByTaskId("stopped-19").isEmpty());
+        assertEquals(22, reader.findAll(FlowEvent.class).size());
+        assertEquals(reader.findAll(FlowEvent.class).size(), historyLog.findAll(FlowEvent.class).size());
+
+        assertTrue(running.applyRetention() > 0);
+        assertTrue(reader.findFlowEventsByTaskId("running-0").isEmpty());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void openRequiresSharedVolumeTest() {
+        HistoryStoreConfig config = mock(HistoryStoreConfig.class);
+        when(config.getLogPath()).thenReturn(root.toString());
+        when(config.isLogShared()).thenReturn(false);
+
+        FlowHistoryLog.open(config);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void openRequiresMountedVolumeTest() {
+        HistoryStoreConfig config = mock(HistoryStoreConfig.class);
+        when(config.getLogPath()).thenReturn(root.resolve("not-mounted").toString());
+        when(config.isLogShared()).thenReturn(true);
+
+        FlowHistoryLog.open(config);
+    }
+
+    @Test
+    public void compactionTest() throws IOException {
+        FlowHistoryLog historyLog = makeLog();
+        for (int i = 0; i < 48; i++) {
+            appendEvents(historyLog, "hour-" + i, 1);
+            clock.advance(Duration.ofHours(1));
+        }
+        FlowHistoryLog reader = makeLog();
+        assertEquals(48, reader.findAll(FlowEvent.class).size());
+
+        // records appended in first 29 hours are expired
+        clock.advance(Duration.ofHours(5));
+        int segments = countSegments();
+        assertTrue(historyLog.compact() > 0);
+        assertTrue(countSegments() < segments);
+
+        assertEquals(19, reader.findAll(FlowEvent.class).size());
+        assertEquals(19, historyLog.findAll(FlowEvent.class).size());
+        assertTrue(reader.findFlowEventsByTaskId("hour-28-0").isEmpty());
+        assertEquals(1, reader.findFlowEventsByTaskId("hour-29-0").size());
+
+        // compacted log is readable after restart, new records are appended after compacted ones
+        historyLog.close();
+        FlowHistoryLog reopened = makeLog();
+        appendEvents(reopened, "hour-53", 1);
+        assertEquals(20, reopened.findAll(FlowEvent.class).size());
+        assertEquals(20, reader.findAll(FlowEvent.class).size());
+    }
+
+    private FlowHistoryLog makeLog() {
+        FlowHistoryLog historyLog = new FlowHistoryLog(root, SEGMENT_SIZE, RETENTION, clock);
+        logs.add(historyLog);
+        return historyLog;
+    }
+
+    private void appendEvents(FlowHistoryLog historyLog, String prefix, int count) {
+        for (int i = 0; i < count; i++) {
+            historyLog.append(Collections.singletonList(makeEvent(prefix + "-" + i, clock.instant())));
+        }
+    }
+
+    private long countWriterDirectories() {
+        try (Stream<Path> stream = Files.list(root)) {
+            return stream.filter(Files::isDirectory).count();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private int countSegments() {
+        try (Stream<Path> stream = Files.walk(root)) {
+            return stream.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(".log"))
+                    .collect(Collectors.toList())
+                    .size();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static FlowEvent makeEvent(String taskId, Instant timestamp) {
+        return FlowEvent.builder()
+                .flowId(FLOW_ID)
+                .taskId(taskId)
+                .timestamp(timestamp)
+                .actor("actor")
+                .action("Flow creating")
+                .details(null)
+                .build();
+    }
+
+    private static FlowHistory makeHistory(String taskId, String action) {
+        return FlowHistory.builder()
+                .taskId(taskId)
+                .timestamp(START)
+                .action(action)
+                .details("details")
+                .build();
+    }
+
+    private static FlowDump makeDump(String taskId) {
+        FlowDump dump = new FlowDump();
+        dump.setTaskId(taskId);
+        dump.setFlowId(FLOW_ID);
+        dump.setType("stateBefore");
+        dump.setBandwidth(1000);
+        dump.setIgnoreBandwidth(true);
+        dump.setForwardCookie(new Cookie(1));
+        dump.setReverseCookie(new Cookie(2));
+        dump.setSourceSwitch(new SwitchId(1));
+        dump.setDestinationSwitch(new SwitchId(2));
+        dump.setSourcePort(10);
+        dump.setDestinationPort(20);
+        dump.setSourceVlan(100);
+        dump.setDestinationVlan(200);
+        dump.setForwardMeterId(new MeterId(32));
+        dump.setReverseMeterId(null);
+        dump.setForwardPath("forward path");
+        dump.setReversePath("reverse path");
+        dump.setForwardStatus(FlowPathStatus.ACTIVE);
+        dump.setReverseStatus(null);
+        return dump;
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
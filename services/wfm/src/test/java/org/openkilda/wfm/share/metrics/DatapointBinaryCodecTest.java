@@ -0,0 +1,92 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.wfm.kafka.DatapointDeserializer;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class DatapointBinaryCodecTest {
+    private static final long TIMESTAMP = 1570000000000L;
+
+    @Test
+    public void shouldDecodeEncodedDatapoints() throws IOException {
+        List<Datapoint> datapoints = Arrays.asList(
+                new Datapoint("kilda.switch.rx-bytes", TIMESTAMP,
+                        ImmutableMap.of("switchid", "00000000000000ff", "port", "1"), 100L),
+                new Datapoint("kilda.switch.tx-bytes", TIMESTAMP,
+                        ImmutableMap.of("switchid", "00000000000000ff", "port", "1"), 200L),
+                new Datapoint("kilda.flow.latency", TIMESTAMP, Collections.emptyMap(), 0.5),
+                new Datapoint("kilda.flow.latency", null, null, null));
+
+        List<Datapoint> decoded = DatapointBinaryCodec.decode(DatapointBinaryCodec.encode(datapoints));
+
+        assertEquals(datapoints.size(), decoded.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(datapoints.get(i), decoded.get(i));
+            assertEquals(datapoints.get(i).getTime(), decoded.get(i).getTime());
+        }
+        assertEquals(null, decoded.get(3).getTime());
+        assertEquals(null, decoded.get(3).getValue());
+        assertTrue(decoded.get(3).getTags().isEmpty());
+    }
+
+    @Test
+    public void shouldWriteRepeatedStringsOnce() throws IOException {
+        List<Datapoint> datapoints = new ArrayList<>();
+        for (int port = 0; port < 100; port++) {
+            datapoints.add(new Datapoint("kilda.switch.rx-bytes", TIMESTAMP,
+                    ImmutableMap.of("switchid", "00000000000000ff", "port", "1"), port));
+        }
+
+        byte[] binary = DatapointBinaryCodec.encode(datapoints);
+        byte[] json = Utils.MAPPER.writeValueAsBytes(datapoints.get(0));
+
+        assertTrue(binary.length < json.length * datapoints.size() / 3);
+    }
+
+    @Test
+    public void shouldDeserializeBothBinaryAndJson() throws IOException {
+        Datapoint datapoint = new Datapoint("kilda.switch.rx-bytes", TIMESTAMP,
+                ImmutableMap.of("switchid", "00000000000000ff"), 100L);
+        DatapointDeserializer deserializer = new DatapointDeserializer();
+
+        InfoData binary = deserializer.deserialize("otsdb", DatapointBinaryCodec.encode(
+                Collections.singletonList(datapoint)));
+        assertEquals(new DatapointBatch(Collections.singletonList(datapoint)), binary);
+
+        byte[] json = Utils.MAPPER.writeValueAsBytes(datapoint);
+        assertFalse(DatapointBinaryCodec.isBinary(json));
+        Datapoint decoded = (Datapoint) deserializer.deserialize("otsdb", json);
+        assertEquals(datapoint.getMetric(), decoded.getMetric());
+        assertEquals(datapoint.getTags(), decoded.getTags());
+        assertEquals(100L, decoded.getValue().longValue());
+    }
+}
@@ -0,0 +1,150 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.model.FeatureToggles;
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.KildaConfiguration;
+import org.openkilda.persistence.repositories.FeatureTogglesRepository;
+import org.openkilda.persistence.repositories.KildaConfigurationRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.wfm.share.utils.ManualClock;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConfigurationCacheTest {
+    private static final Duration MAX_STALENESS = Duration.ofSeconds(10);
+
+    private final ManualClock clock = new ManualClock(Instant.EPOCH, ZoneOffset.UTC);
+
+    @Mock
+    private RepositoryFactory repositoryFactory;
+
+    @Mock
+    private FeatureTogglesRepository featureTogglesRepository;
+
+    @Mock
+    private KildaConfigurationRepository kildaConfigurationRepository;
+
+    private ConfigurationCache cache;
+
+    @Before
+    public void setUp() {
+        when(repositoryFactory.createFeatureTogglesRepository()).thenReturn(featureTogglesRepository);
+        when(repositoryFactory.createKildaConfigurationRepository()).thenReturn(kildaConfigurationRepository);
+
+        cache = new ConfigurationCache(repositoryFactory, MAX_STALENESS, clock);
+    }
+
+    @Test
+    public void readsWithinStalenessPeriodDoNotTouchDb() {
+        when(featureTogglesRepository.find()).thenReturn(Optional.of(makeToggles(true)));
+
+        assertTrue(cache.getFeatureToggle(FeatureToggles::getCreateFlowEnabled));
+        clock.adjust(MAX_STALENESS.minusMillis(1));
+        assertTrue(cache.getFeatureToggle(FeatureToggles::getCreateFlowEnabled));
+        assertTrue(cache.getFeatureToggles().isPresent());
+
+        verify(featureTogglesRepository, times(1)).find();
+    }
+
+    @Test
+    public void staleCopyIsReloaded() {
+        when(featureTogglesRepository.find())
+                .thenReturn(Optional.of(makeToggles(true)))
+                .thenReturn(Optional.of(makeToggles(false)));
+
+        assertTrue(cache.getFeatureToggle(FeatureToggles::getCreateFlowEnabled));
+        long version = cache.getVersion();
+
+        clock.adjust(MAX_STALENESS);
+        assertFalse(cache.getFeatureToggle(FeatureToggles::getCreateFlowEnabled));
+        assertEquals(version + 1, cache.getVersion());
+        verify(featureTogglesRepository, times(2)).find();
+    }
+
+    @Test
+    public void notifiedTogglesReplaceCachedOnes() {
+        when(featureTogglesRepository.find()).thenReturn(Optional.of(makeToggles(false)));
+
+        assertFalse(cache.getFeatureToggle(FeatureToggles::getCreateFlowEnabled));
+        long version = cache.getVersion();
+
+        cache.update(makeToggles(true));
+        assertTrue(cache.getFeatureToggle(FeatureToggles::getCreateFlowEnabled));
+        assertEquals(version + 1, cache.getVersion());
+
+        // the same value does not produce a new version
+        cache.update(makeToggles(true));
+        assertEquals(version + 1, cache.getVersion());
+        verify(featureTogglesRepository, times(1)).find();
+    }
+
+    @Test
+    public void missingTogglesFallBackToDefaults() {
+        when(featureTogglesRepository.find()).thenReturn(Optional.empty());
+
+        assertFalse(cache.getFeatureToggles().isPresent());
+        assertEquals(FeatureToggles.DEFAULTS.getUseBfdForIslIntegrityCheck(),
+                     cache.getFeatureToggle(FeatureToggles::getUseBfdForIslIntegrityCheck));
+    }
+
+    @Test
+    public void cachedConfigurationIsNotShared() {
+        when(kildaConfigurationRepository.get()).thenReturn(KildaConfiguration.builder()
+                .flowEncapsulationType(FlowEncapsulationType.TRANSIT_VLAN)
+                .build());
+
+        cache.getKildaConfiguration().setFlowEncapsulationType(FlowEncapsulationType.VXLAN);
+        assertEquals(FlowEncapsulationType.TRANSIT_VLAN, cache.getKildaConfiguration().getFlowEncapsulationType());
+        verify(kildaConfigurationRepository, times(1)).get();
+    }
+
+    @Test
+    public void invalidateForcesReload() {
+        cache.update(makeToggles(true));
+        assertTrue(cache.getFeatureToggle(FeatureToggles::getCreateFlowEnabled));
+        verify(featureTogglesRepository, never()).find();
+
+        when(featureTogglesRepository.find()).thenReturn(Optional.of(makeToggles(false)));
+        cache.invalidate();
+        assertFalse(cache.getFeatureToggle(FeatureToggles::getCreateFlowEnabled));
+    }
+
+    private FeatureToggles makeToggles(boolean createFlowEnabled) {
+        return FeatureToggles.builder()
+                .createFlowEnabled(createFlowEnabled)
+                .build();
+    }
+}
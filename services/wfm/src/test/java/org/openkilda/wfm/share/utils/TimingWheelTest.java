@@ -0,0 +1,120 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class TimingWheelTest {
+    @Test
+    public void expireOnlyReachedDeadlines() {
+        TimingWheel<String, Integer> wheel = new TimingWheel<>(10, 8);
+        wheel.register("a", 1, 15);
+        wheel.register("b", 2, 17);
+        wheel.register("c", 3, 40);
+
+        Map<String, Integer> expired = new LinkedHashMap<>();
+        wheel.tick(16, expired::put);
+        assertEquals(ImmutableMap.of("a", 1), expired);
+
+        // the same bucket is checked again on the next tick
+        wheel.tick(17, expired::put);
+        assertEquals(ImmutableMap.of("a", 1, "b", 2), expired);
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    public void keepTimeoutsOfNextRounds() {
+        TimingWheel<String, Integer> wheel = new TimingWheel<>(1, 4);
+        wheel.register("near", 1, 2);
+        wheel.register("far", 2, 2 + 4 * 3);
+
+        Map<String, Integer> expired = new LinkedHashMap<>();
+        wheel.tick(3, expired::put);
+        assertEquals(ImmutableMap.of("near", 1), expired);
+
+        wheel.tick(13, expired::put);
+        assertFalse(expired.containsKey("far"));
+
+        // a jump over several rounds checks each bucket once
+        wheel.tick(100, expired::put);
+        assertTrue(expired.containsKey("far"));
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void expireOverdueRegistration() {
+        TimingWheel<String, Integer> wheel = new TimingWheel<>(10, 8);
+        wheel.register("a", 1, 100);
+        wheel.tick(100, (key, value) -> { });
+        wheel.register("overdue", 2, 50);
+
+        Map<String, Integer> expired = new LinkedHashMap<>();
+        wheel.tick(101, expired::put);
+        assertEquals(ImmutableMap.of("overdue", 2), expired);
+    }
+
+    @Test
+    public void cancelAndReplace() {
+        TimingWheel<String, Integer> wheel = new TimingWheel<>(10, 8);
+        wheel.register("a", 1, 15);
+        wheel.register("b", 2, 15);
+        wheel.register("b", 3, 100);
+
+        assertEquals(1, (int) wheel.cancel("a").get());
+        assertFalse(wheel.cancel("a").isPresent());
+        assertTrue(wheel.replace("b", 4));
+        assertFalse(wheel.replace("a", 5));
+
+        Map<String, Integer> expired = new LinkedHashMap<>();
+        wheel.tick(20, expired::put);
+        assertTrue(expired.isEmpty());
+        wheel.tick(100, expired::put);
+        assertEquals(ImmutableMap.of("b", 4), expired);
+    }
+
+    @Test
+    public void cancelGroup() {
+        TimingWheel<String, Integer> wheel = new TimingWheel<>(10, 8, key -> key.substring(0, 1));
+        wheel.register("a1", 1, 15);
+        wheel.register("a2", 2, 25);
+        wheel.register("b1", 3, 15);
+
+        assertEquals(ImmutableMap.of("a1", 1, "a2", 2), wheel.cancelGroup("a"));
+        assertTrue(wheel.cancelGroup("a").isEmpty());
+        assertEquals(1, wheel.size());
+
+        Map<String, Integer> expired = new LinkedHashMap<>();
+        wheel.tick(100, expired::put);
+        assertEquals(ImmutableMap.of("b1", 3), expired);
+    }
+
+    @Test
+    public void handlerCanRegisterNewTimeouts() {
+        TimingWheel<String, Integer> wheel = new TimingWheel<>(10, 8);
+        wheel.register("a", 1, 15);
+        wheel.tick(20, (key, value) -> wheel.register(key, value + 1, 40));
+
+        assertEquals(2, (int) wheel.get("a").get());
+    }
+}
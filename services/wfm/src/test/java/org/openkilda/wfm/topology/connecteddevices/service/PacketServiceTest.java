@@ -17,6 +17,7 @@ package org.openkilda.wfm.topology.connecteddevices.service;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 
 import org.openkilda.messaging.info.event.LldpInfoData;
 import org.openkilda.model.ConnectedDevice;
@@ -24,10 +25,14 @@ import org.openkilda.model.FlowCookie;
 import org.openkilda.persistence.repositories.ConnectedDeviceRepository;
 import org.openkilda.persistence.repositories.FlowCookieRepository;
 import org.openkilda.wfm.Neo4jBasedTest;
+import org.openkilda.wfm.share.utils.ManualClock;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.Collection;
 
 public class PacketServiceTest extends Neo4jBasedTest {
@@ -42,6 +47,7 @@ public class PacketServiceTest extends Neo4jBasedTest {
     public static final String MANAGEMENT_ADDRESS = "127.0.0.1";
     public static final String FLOW_ID = "flow1";
     public static final int TTL = 120;
+    public static final Duration CACHE_TTL = Duration.ofSeconds(60);
 
     private ConnectedDeviceRepository connectedDeviceRepository;
     private FlowCookieRepository flowCookieRepository;
@@ -74,12 +80,69 @@ public class PacketServiceTest extends Neo4jBasedTest {
         Thread.sleep(10);
         // update
         packetService.handleLldpData(data);
+        packetService.flushLastSeen();
 
         Collection<ConnectedDevice> devices = connectedDeviceRepository.findAll();
         assertEquals(1, devices.size());
         assertNotEquals(devices.iterator().next().getTimeFirstSeen(), devices.iterator().next().getTimeLastSeen());
     }
 
+    @Test
+    public void testHandleLldpDataLastSeenIsWrittenOnFlush() {
+        ManualClock clock = new ManualClock(Instant.now(), ZoneOffset.UTC);
+        packetService = new PacketService(persistenceManager, CACHE_TTL, clock);
+        flowCookieRepository.createOrUpdate(new FlowCookie(FLOW_ID, COOKIE));
+        LldpInfoData data = createLldpInfoData(COOKIE);
+        packetService.handleLldpData(data);
+        Instant timeFirstSeen = clock.instant();
+
+        clock.adjust(Duration.ofSeconds(1));
+        packetService.handleLldpData(data);
+        assertEquals(timeFirstSeen, getDevice().getTimeLastSeen());
+
+        packetService.flushLastSeen();
+        assertEquals(clock.instant(), getDevice().getTimeLastSeen());
+        assertEquals(timeFirstSeen, getDevice().getTimeFirstSeen());
+    }
+
+    @Test
+    public void testHandleLldpDataChangedDeviceIsWrittenAtOnce() {
+        ManualClock clock = new ManualClock(Instant.now(), ZoneOffset.UTC);
+        packetService = new PacketService(persistenceManager, CACHE_TTL, clock);
+        flowCookieRepository.createOrUpdate(new FlowCookie(FLOW_ID, COOKIE));
+        packetService.handleLldpData(createLldpInfoData(COOKIE));
+
+        clock.adjust(Duration.ofSeconds(1));
+        packetService.handleLldpData(new LldpInfoData(COOKIE, MAC_ADDRESS, CHASSIS_ID, PORT_ID, TTL, POST,
+                "debian", SYSTEM_DESCRIPTION, CAPABILITIES, MANAGEMENT_ADDRESS));
+
+        ConnectedDevice device = getDevice();
+        assertEquals("debian", device.getSystemName());
+        assertEquals(clock.instant(), device.getTimeLastSeen());
+    }
+
+    @Test
+    public void testHandleLldpDataRemovedFlowCookieIsNoticedAfterCacheTtl() {
+        ManualClock clock = new ManualClock(Instant.now(), ZoneOffset.UTC);
+        packetService = new PacketService(persistenceManager, CACHE_TTL, clock);
+        FlowCookie flowCookie = new FlowCookie(FLOW_ID, COOKIE);
+        flowCookieRepository.createOrUpdate(flowCookie);
+        packetService.handleLldpData(createLldpInfoData(COOKIE));
+
+        flowCookieRepository.delete(flowCookie);
+        connectedDeviceRepository.delete(getDevice());
+        clock.adjust(CACHE_TTL);
+        packetService.handleLldpData(createLldpInfoData(COOKIE));
+
+        assertTrue(connectedDeviceRepository.findAll().isEmpty());
+    }
+
+    private ConnectedDevice getDevice() {
+        Collection<ConnectedDevice> devices = connectedDeviceRepository.findAll();
+        assertEquals(1, devices.size());
+        return devices.iterator().next();
+    }
+
     private LldpInfoData createLldpInfoData(long cookie) {
         return new LldpInfoData(cookie, MAC_ADDRESS, CHASSIS_ID, PORT_ID, TTL, POST, SYSTEM_NAME, SYSTEM_DESCRIPTION,
                 CAPABILITIES, MANAGEMENT_ADDRESS);
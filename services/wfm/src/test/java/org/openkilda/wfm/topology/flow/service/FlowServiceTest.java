@@ -17,16 +17,22 @@ package org.openkilda.wfm.topology.flow.service;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.openkilda.model.Cookie.buildLldpCookie;
 import static org.openkilda.model.SwitchFeature.MULTI_TABLE;
@@ -44,6 +50,7 @@ import org.openkilda.model.PathId;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.model.SwitchStatus;
+import org.openkilda.pce.BatchPathResult;
 import org.openkilda.pce.Path;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathComputerFactory;
@@ -65,6 +72,7 @@ import org.openkilda.wfm.share.flow.resources.FlowResourcesConfig;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesManager;
 import org.openkilda.wfm.share.flow.resources.ResourceAllocationException;
 import org.openkilda.wfm.share.flow.service.FlowCommandFactory;
+import org.openkilda.wfm.topology.flow.model.FlowBulkItem;
 import org.openkilda.wfm.topology.flow.model.FlowPathsWithEncapsulation;
 import org.openkilda.wfm.topology.flow.model.ReroutedFlowPaths;
 import org.openkilda.wfm.topology.flow.validation.FlowValidationException;
@@ -363,6 +371,139 @@ public class FlowServiceTest extends Neo4jBasedTest {
         assertEquals(flow.getFlowId(), foundFlow.get().getFlowId());
     }
 
+    @Test
+    public void shouldProcessBulkAndReportEachFlow() throws Exception {
+        when(pathComputer.getPath(any())).thenReturn(PATH_DIRECT_1_TO_3);
+        flowService.createFlow(getFlowBuilder().build(), null, mock(FlowCommandSender.class));
+
+        FlowBulkItem created = FlowBulkItem.create(getBulkFlow("bulk-1", 201), null);
+        FlowBulkItem conflicting = FlowBulkItem.create(getBulkFlow("bulk-2", 201), null);
+        FlowBulkItem unroutable = FlowBulkItem.create(getBulkFlow("bulk-3", 301), null);
+        FlowBulkItem deleted = FlowBulkItem.delete(FLOW_ID);
+
+        when(pathComputer.getPaths(anyList())).thenReturn(BatchPathResult.builder()
+                .path("bulk-1", PATH_1_TO_3_VIA_2)
+                .failure("bulk-3", "No path found")
+                .build());
+
+        FlowBulkCarrier carrier = mock(FlowBulkCarrier.class);
+        when(carrier.getCommandSender(any())).thenReturn(mock(FlowCommandSender.class));
+        flowService.processBulk(asList(created, conflicting, unroutable, deleted), 2, carrier);
+
+        verify(carrier).onFlowProcessed(eq(deleted), any());
+        verify(carrier).onFlowProcessed(eq(created), any());
+        verify(carrier).onFlowFailed(eq(conflicting), any(FlowValidationException.class));
+        verify(carrier).onFlowFailed(eq(unroutable), any(UnroutableFlowException.class));
+        verify(carrier, times(2)).getCommandSender(any());
+
+        assertFalse(flowRepository.exists(FLOW_ID));
+        assertTrue(flowRepository.exists("bulk-1"));
+        assertFalse(flowRepository.exists("bulk-2"));
+        assertFalse(flowRepository.exists("bulk-3"));
+    }
+
+    @Test
+    public void shouldRejectBulkWithFlowReferencedTwice() throws Exception {
+        when(pathComputer.getPath(any())).thenReturn(PATH_DIRECT_1_TO_3);
+        flowService.createFlow(getFlowBuilder().build(), null, mock(FlowCommandSender.class));
+
+        FlowBulkItem updated = FlowBulkItem.update(getBulkFlow(FLOW_ID, 201), null);
+        FlowBulkItem deleted = FlowBulkItem.delete(FLOW_ID);
+
+        FlowBulkCarrier carrier = mock(FlowBulkCarrier.class);
+        flowService.processBulk(asList(updated, deleted), 2, carrier);
+
+        verify(carrier).onFlowFailed(eq(updated), any(FlowValidationException.class));
+        verify(carrier).onFlowFailed(eq(deleted), any(FlowValidationException.class));
+        verify(carrier, never()).onFlowProcessed(any(), any());
+        verify(pathComputer, never()).getPaths(anyList());
+        assertTrue(flowRepository.exists(FLOW_ID));
+    }
+
+    @Test
+    public void shouldUpdateFlowOfBulk() throws Exception {
+        when(pathComputer.getPath(any())).thenReturn(PATH_DIRECT_1_TO_3);
+        flowService.createFlow(getFlowBuilder().build(), null, mock(FlowCommandSender.class));
+
+        FlowBulkItem updated = FlowBulkItem.update(getBulkFlow(FLOW_ID, 201), null);
+
+        when(pathComputer.getPaths(anyList())).thenReturn(BatchPathResult.builder()
+                .path(FLOW_ID, PATH_1_TO_3_VIA_2)
+                .build());
+
+        FlowBulkCarrier carrier = mock(FlowBulkCarrier.class);
+        FlowCommandSender sender = mock(FlowCommandSender.class);
+        when(carrier.getCommandSender(any())).thenReturn(sender);
+        flowService.processBulk(singletonList(updated), 2, carrier);
+
+        verify(carrier).onFlowProcessed(eq(updated), any());
+        verify(carrier, never()).onFlowFailed(any(), any());
+        verify(sender).sendFlowCommands(eq(FLOW_ID), anyList(), anyList(), anyList());
+
+        Flow updatedFlow = flowRepository.findById(FLOW_ID).get();
+        assertEquals(201, updatedFlow.getSrcVlan());
+        assertEquals(202, updatedFlow.getDestVlan());
+        checkSamePaths(PATH_1_TO_3_VIA_2.getForward(), updatedFlow.getForwardPath());
+        checkSamePaths(PATH_1_TO_3_VIA_2.getReverse(), updatedFlow.getReversePath());
+    }
+
+    @Test
+    public void shouldReadFlowOfBulkAgainWhenItIsStored() throws Exception {
+        when(pathComputer.getPath(any())).thenReturn(PATH_DIRECT_1_TO_3);
+        flowService.createFlow(getFlowBuilder().build(), null, mock(FlowCommandSender.class));
+
+        FlowBulkItem updated = FlowBulkItem.update(getBulkFlow(FLOW_ID, 201), null);
+        FlowBulkItem created = FlowBulkItem.create(getBulkFlow("bulk-1", 301), null);
+
+        when(pathComputer.getPaths(anyList())).thenReturn(BatchPathResult.builder()
+                .path(FLOW_ID, PATH_1_TO_3_VIA_2)
+                .path("bulk-1", PATH_1_TO_3_VIA_2)
+                .build());
+
+        FlowBulkCarrier carrier = mock(FlowBulkCarrier.class);
+        when(carrier.getCommandSender(any())).thenReturn(mock(FlowCommandSender.class));
+        FlowBulkJob job = flowService.startBulk(asList(updated, created), carrier);
+
+        // Both flows are changed by other requests after the bulk is validated.
+        flowService.deleteFlow(FLOW_ID, mock(FlowCommandSender.class));
+        flowService.createFlow(getBulkFlow("bulk-1", 401), null, mock(FlowCommandSender.class));
+
+        assertTrue(job.processNext(1));
+        assertFalse(job.processNext(1));
+
+        verify(carrier, never()).onFlowProcessed(any(), any());
+        verify(carrier).onFlowFailed(eq(updated), any(FlowNotFoundException.class));
+        verify(carrier).onFlowFailed(eq(created), any(FlowAlreadyExistException.class));
+        assertFalse(flowRepository.exists(FLOW_ID));
+        assertEquals(401, flowRepository.findById("bulk-1").get().getSrcVlan());
+    }
+
+    @Test
+    public void shouldRetryFailedBulkGroupOneByOne() throws Exception {
+        FlowBulkItem first = FlowBulkItem.create(getBulkFlow("bulk-1", 201), null);
+        FlowBulkItem second = FlowBulkItem.create(getBulkFlow("bulk-2", 301), null);
+
+        // The path of the second flow doesn't match its endpoints, so the whole group is rolled back.
+        when(pathComputer.getPaths(anyList())).thenReturn(BatchPathResult.builder()
+                .path("bulk-1", PATH_1_TO_3_VIA_2)
+                .path("bulk-2", PATH_DIRECT_1_TO_4)
+                .build());
+        when(pathComputer.getPath(any())).thenReturn(PATH_DIRECT_1_TO_3);
+
+        FlowBulkCarrier carrier = mock(FlowBulkCarrier.class);
+        when(carrier.getCommandSender(any())).thenReturn(mock(FlowCommandSender.class));
+        flowService.processBulk(asList(first, second), 2, carrier);
+
+        verify(carrier).onFlowProcessed(eq(first), any());
+        verify(carrier).onFlowProcessed(eq(second), any());
+        verify(carrier, never()).onFlowFailed(any(), any());
+        // Both flows of the failed group are stored with freshly computed paths.
+        verify(pathComputer, times(2)).getPath(any());
+
+        checkSamePaths(PATH_DIRECT_1_TO_3.getForward(), flowRepository.findById("bulk-1").get().getForwardPath());
+        checkSamePaths(PATH_DIRECT_1_TO_3.getForward(), flowRepository.findById("bulk-2").get().getForwardPath());
+    }
+
     private void checkSamePaths(Path path, FlowPath flowPath) {
         assertEquals(path.getSrcSwitchId(), flowPath.getSrcSwitch().getSwitchId());
         assertEquals(path.getDestSwitchId(), flowPath.getDestSwitch().getSwitchId());
@@ -459,6 +600,14 @@ public class FlowServiceTest extends Neo4jBasedTest {
                 .build();
     }
 
+    private Flow getBulkFlow(String flowId, int vlan) {
+        return getFlowBuilder()
+                .flowId(flowId)
+                .srcVlan(vlan)
+                .destVlan(vlan + 1)
+                .build();
+    }
+
     private Flow.FlowBuilder getFlowBuilder() {
         return Flow.builder()
                 .flowId(FLOW_ID)
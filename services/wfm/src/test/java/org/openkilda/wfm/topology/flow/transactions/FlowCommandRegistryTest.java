@@ -28,12 +28,14 @@ import static org.junit.Assert.assertTrue;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandGroup;
 import org.openkilda.messaging.command.CommandGroup.FailureReaction;
+import org.openkilda.messaging.command.flow.BaseFlow;
 import org.openkilda.messaging.command.flow.BaseInstallFlow;
 import org.openkilda.messaging.command.flow.DeallocateFlowResourcesRequest;
 import org.openkilda.messaging.command.flow.RemoveFlow;
 import org.openkilda.model.FlowEncapsulationType;
 import org.openkilda.model.PathId;
 import org.openkilda.model.SwitchId;
+import org.openkilda.wfm.share.utils.ManualClock;
 
 import net.jodah.failsafe.Failsafe;
 import net.jodah.failsafe.RetryPolicy;
@@ -42,6 +44,9 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -55,6 +60,10 @@ public class FlowCommandRegistryTest {
             new BaseInstallFlow(UUID.randomUUID(), TEST_FLOW, 0L, SWITCH_ID_1, 1, 1, false);
     private static final RemoveFlow FLOW_COMMAND_2 =
             new RemoveFlow(UUID.randomUUID(), TEST_FLOW, 0L, SWITCH_ID_1, null, null, false);
+    private static final BaseInstallFlow FLOW_COMMAND_3 =
+            new BaseInstallFlow(UUID.randomUUID(), TEST_FLOW, 0L, SWITCH_ID_1, 1, 1, false);
+    private static final BaseInstallFlow FLOW_COMMAND_4 =
+            new BaseInstallFlow(UUID.randomUUID(), TEST_FLOW, 0L, SWITCH_ID_1, 1, 1, false);
     private static final CommandData NON_FLOW_COMMAND =
             new DeallocateFlowResourcesRequest(TEST_FLOW, 0, 1L, new PathId(UUID.randomUUID().toString()),
                     FlowEncapsulationType.TRANSIT_VLAN);
@@ -333,6 +342,63 @@ public class FlowCommandRegistryTest {
         assertThat(expiredBatches, hasItem(batchId));
     }
 
+    @Test
+    public void shouldReturnExpiredBatchesInRegistrationOrder() throws UnknownBatchException {
+        ManualClock clock = new ManualClock(Instant.EPOCH, ZoneOffset.UTC);
+        FlowCommandRegistry registry = new FlowCommandRegistry(clock);
+        UUID firstBatchId = registerBatchWith2Groups(registry);
+        clock.adjust(Duration.ofSeconds(1));
+        UUID secondBatchId = registerBatchWithFlowCommand(registry, FLOW_COMMAND_3);
+        clock.adjust(Duration.ofSeconds(1));
+        registerBatchWithFlowCommand(registry, FLOW_COMMAND_4);
+
+        clock.adjust(Duration.ofSeconds(10));
+        Duration expirationTime = Duration.ofSeconds(10);
+        assertEquals(asList(firstBatchId, secondBatchId), new ArrayList<>(registry.getExpiredBatches(expirationTime)));
+
+        registry.removeBatch(firstBatchId);
+        assertEquals(singletonList(secondBatchId), new ArrayList<>(registry.getExpiredBatches(expirationTime)));
+    }
+
+    @Test
+    public void shouldKeepOtherBatchesOnBatchRemoval() throws UnknownBatchException, UnknownTransactionException {
+        FlowCommandRegistry registry = new FlowCommandRegistry();
+        UUID firstBatchId = registerBatchWithFlowCommand(registry, FLOW_COMMAND_3);
+        UUID secondBatchId = registerBatchWith2Groups(registry);
+        assertEquals(3, registry.getTransactionsCount());
+
+        registry.removeBatch(firstBatchId);
+        assertEquals(2, registry.getTransactionsCount());
+        assertEquals(secondBatchId, registry.getCurrentBatch(TEST_FLOW).get());
+        assertFalse(registry.getFailureReaction(TEST_FLOW, FLOW_COMMAND_3.getTransactionId()).isPresent());
+
+        assertEquals(FLOW_COMMAND_1, registry.pollNextGroup(TEST_FLOW).get(0));
+        assertEquals(secondBatchId, registry.removeCommand(TEST_FLOW, FLOW_COMMAND_1.getTransactionId()));
+    }
+
+    @Test
+    public void shouldNotChangeRegistryOnRejectedBatch() {
+        FlowCommandRegistry registry = new FlowCommandRegistry();
+        registerBatchWith2Groups(registry);
+
+        try {
+            registerBatchWith2Groups(registry);
+        } catch (IllegalArgumentException e) {
+            // expected, the transactions are already registered
+        }
+
+        assertEquals(2, registry.getTransactionsCount());
+        assertEquals(FLOW_COMMAND_1, registry.pollNextGroup(TEST_FLOW).get(0));
+    }
+
+    @Test
+    public void shouldNotObtainFailureReactionForWrongFlow() {
+        FlowCommandRegistry registry = new FlowCommandRegistry();
+        registerBatchWith2Groups(registry);
+
+        assertFalse(registry.getFailureReaction(TEST_FLOW + "_fake", FLOW_COMMAND_1.getTransactionId()).isPresent());
+    }
+
     private UUID registerBatchWith2Groups(FlowCommandRegistry registry) {
         List<CommandGroup> groups = asList(
                 new CommandGroup(singletonList(FLOW_COMMAND_1), FailureReaction.IGNORE),
@@ -340,6 +406,11 @@ public class FlowCommandRegistryTest {
         return registry.registerBatch(TEST_FLOW, groups, emptyList(), emptyList());
     }
 
+    private UUID registerBatchWithFlowCommand(FlowCommandRegistry registry, BaseFlow command) {
+        List<CommandGroup> groups = singletonList(new CommandGroup(singletonList(command), FailureReaction.IGNORE));
+        return registry.registerBatch(TEST_FLOW, groups, emptyList(), emptyList());
+    }
+
     private UUID registerBatchWithNonFlowCommand(FlowCommandRegistry registry) {
         List<CommandGroup> groups = asList(
                 new CommandGroup(singletonList(FLOW_COMMAND_1), FailureReaction.ABORT_BATCH),
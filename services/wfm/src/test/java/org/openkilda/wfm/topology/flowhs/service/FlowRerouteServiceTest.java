@@ -19,7 +19,6 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
@@ -66,6 +65,7 @@ import org.openkilda.wfm.share.flow.resources.FlowResources;
 import org.openkilda.wfm.share.flow.resources.FlowResources.PathResources;
 import org.openkilda.wfm.share.flow.resources.ResourceAllocationException;
 import org.openkilda.wfm.share.flow.resources.transitvlan.TransitVlanEncapsulation;
+import org.openkilda.wfm.share.history.service.HistoryService;
 
 import com.google.common.collect.Sets;
 import org.junit.Before;
@@ -97,8 +97,6 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
         RepositoryFactory repositoryFactory = mock(RepositoryFactory.class);
         when(repositoryFactory.createFlowRepository()).thenReturn(flowRepository);
 
-        when(flowPathRepository.getUsedBandwidthBetweenEndpoints(any(), anyInt(), any(), anyInt())).thenReturn(0L);
-
         when(repositoryFactory.createFlowPathRepository()).thenReturn(flowPathRepository);
 
         IslRepository islRepository = mock(IslRepository.class);
@@ -131,7 +129,7 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
         buildFlowResources();
 
         FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                new HistoryService(persistenceManager), pathComputer, flowResourcesManager);
 
         rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
 
@@ -153,7 +151,7 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
                 .thenThrow(new ResourceAllocationException("No resources"));
 
         FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                new HistoryService(persistenceManager), pathComputer, flowResourcesManager);
 
         rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
 
@@ -175,7 +173,7 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
         doThrow(new RuntimeException("Must fail")).when(flowPathRepository).lockInvolvedSwitches(any(), any());
 
         FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                new HistoryService(persistenceManager), pathComputer, flowResourcesManager);
 
         rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
 
@@ -191,7 +189,7 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
         buildFlowResources();
 
         FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                new HistoryService(persistenceManager), pathComputer, flowResourcesManager);
 
         rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
 
@@ -210,7 +208,7 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
         buildFlowResources();
 
         FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                new HistoryService(persistenceManager), pathComputer, flowResourcesManager);
 
         rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
 
@@ -250,7 +248,7 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
         buildFlowResources();
 
         FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                new HistoryService(persistenceManager), pathComputer, flowResourcesManager);
 
         rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
 
@@ -284,7 +282,7 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
         buildFlowResources();
 
         FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                new HistoryService(persistenceManager), pathComputer, flowResourcesManager);
 
         rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
 
@@ -325,7 +323,7 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
         buildFlowResources();
 
         FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                new HistoryService(persistenceManager), pathComputer, flowResourcesManager);
 
         rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
 
@@ -359,7 +357,7 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
         buildFlowResources();
 
         FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                new HistoryService(persistenceManager), pathComputer, flowResourcesManager);
 
         rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
 
@@ -410,7 +408,7 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
         buildFlowResources();
 
         FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                new HistoryService(persistenceManager), pathComputer, flowResourcesManager);
 
         rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
 
@@ -453,7 +451,7 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
         buildFlowResources();
 
         FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                new HistoryService(persistenceManager), pathComputer, flowResourcesManager);
 
         rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
 
@@ -492,7 +490,7 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
         buildFlowResources();
 
         FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                new HistoryService(persistenceManager), pathComputer, flowResourcesManager);
 
         rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
 
@@ -534,7 +532,7 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
         buildFlowResources();
 
         FlowRerouteService rerouteService = new FlowRerouteService(carrier, persistenceManager,
-                pathComputer, flowResourcesManager);
+                new HistoryService(persistenceManager), pathComputer, flowResourcesManager);
 
         rerouteService.handleRequest("test_key", commandContext, FLOW_ID, null);
 
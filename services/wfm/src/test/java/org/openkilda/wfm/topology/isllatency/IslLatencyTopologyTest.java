@@ -60,6 +60,8 @@ import java.util.UUID;
 public class IslLatencyTopologyTest extends AbstractStormTest {
 
     private static final int POLL_TIMEOUT = 1000;
+    private static final int LATENCY_FLUSH_INTERVAL = 1;
+    private static final int DATABASE_UPDATE_TIMEOUT = 5000;
     private static final String POLL_DATAPOINT_ASSERT_MESSAGE = "Could not poll any datapoint";
     private static final String METRIC_PREFIX = "kilda.";
     private static final int PORT_1 = 1;
@@ -89,6 +91,7 @@ public class IslLatencyTopologyTest extends AbstractStormTest {
         configOverlay.setProperty("neo4j.uri", embeddedNeo4jDb.getConnectionUri());
         configOverlay.setProperty("opentsdb.metric.prefix", METRIC_PREFIX);
         configOverlay.setProperty("neo4j.indexes.auto", "update");
+        configOverlay.setProperty("latency.flush.interval", String.valueOf(LATENCY_FLUSH_INTERVAL));
 
         launchEnvironment.setupOverlay(configOverlay);
         MultiPrefixConfigurationProvider configurationProvider = launchEnvironment.getConfigurationProvider();
@@ -156,28 +159,28 @@ public class IslLatencyTopologyTest extends AbstractStormTest {
         // we have no round trip latency so we have to use one way latency for Neo4j, but not for OpenTSDB
         pushMessage(firstOneWayLatency);
         assertTrue(otsdbConsumer.isEmpty());
-        assertEquals(latency1 * ONE_WAY_LATENCY_MULTIPLIER, getIslLatency(FORWARD_ISL));
+        assertIslLatency(FORWARD_ISL, latency1 * ONE_WAY_LATENCY_MULTIPLIER);
 
         // we got round trip latency so we will use it for metric and database
         long timestamp2 = pushMessage(firstRoundTripLatency);
         assertMetric(FORWARD_ISL, latency2, timestamp2);
-        assertEquals(latency2, getIslLatency(FORWARD_ISL));
+        assertIslLatency(FORWARD_ISL, latency2);
 
         // we got one way latency but bolts already has data with RTL latency. one way latency will be ignored
         pushMessage(secondOneWayLatency);
         assertTrue(otsdbConsumer.isEmpty());
-        assertEquals(latency2, getIslLatency(FORWARD_ISL));
+        assertIslLatency(FORWARD_ISL, latency2);
 
         // we got new round trip latency and it will be used for metric
         long timestamp4 = pushMessage(secondRoundTripLatency);
         assertMetric(FORWARD_ISL, latency4, timestamp4);
         // but not for database, because of big update time interval
-        assertEquals(latency2, getIslLatency(FORWARD_ISL));
+        assertIslLatency(FORWARD_ISL, latency2);
 
         // we got one way latency for reverse isl, but we already has RTL for forward ISL and we can use it
         long timestamp5 = pushMessage(reverseOneWayLatency);
         assertMetric(REVERSE_ISL, latency4, timestamp5);
-        assertEquals((latency2 + latency4) / 2, getIslLatency(REVERSE_ISL));
+        assertIslLatency(REVERSE_ISL, (latency2 + latency4) / 2);
     }
 
     private long pushMessage(InfoData infoData) throws JsonProcessingException {
@@ -235,6 +238,20 @@ public class IslLatencyTopologyTest extends AbstractStormTest {
         islRepository.createOrUpdate(isl);
     }
 
+    private void assertIslLatency(IslKey islKey, long expectedLatency) throws IslNotFoundException {
+        // latency bolt writes collected latencies into DB by tick, so wait for the next flush
+        long deadline = System.currentTimeMillis() + DATABASE_UPDATE_TIMEOUT;
+        while (getIslLatency(islKey) != expectedLatency && System.currentTimeMillis() < deadline) {
+            try {
+                sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        assertEquals(expectedLatency, getIslLatency(islKey));
+    }
+
     private long getIslLatency(IslKey islKey) throws IslNotFoundException {
         return getIslLatency(
                 islKey.getSrcSwitchId(), islKey.getSrcPort(), islKey.getDstSwitchId(), islKey.getDstPort());
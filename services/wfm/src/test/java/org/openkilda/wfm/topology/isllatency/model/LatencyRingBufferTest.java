@@ -0,0 +1,112 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.isllatency.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyRingBufferTest {
+    @Test
+    public void averageTest() {
+        LatencyRingBuffer buffer = new LatencyRingBuffer(10);
+        for (int i = 1; i <= 5; i++) {
+            buffer.add(i, 1);
+        }
+        assertEquals(5, buffer.size());
+        assertEquals(3, buffer.getAverage());
+    }
+
+    @Test
+    public void emptyBufferTest() {
+        LatencyRingBuffer buffer = new LatencyRingBuffer(10);
+        assertTrue(buffer.isEmpty());
+        assertEquals(-1, buffer.getAverage());
+        assertEquals(-1, buffer.getPercentile(0.5));
+    }
+
+    @Test
+    public void overwriteOldestTest() {
+        LatencyRingBuffer buffer = new LatencyRingBuffer(3);
+        for (int i = 1; i <= 5; i++) {
+            buffer.add(i * 10, i);
+        }
+        assertEquals(3, buffer.size());
+        assertEquals(40, buffer.getAverage());
+
+        // oldest remaining record has timestamp 3
+        buffer.expire(4);
+        assertEquals(2, buffer.size());
+        assertEquals(45, buffer.getAverage());
+    }
+
+    @Test
+    public void expireTest() {
+        LatencyRingBuffer buffer = new LatencyRingBuffer(16);
+        for (int i = 0; i < 10; i++) {
+            buffer.add(i, i * 1000);
+        }
+        buffer.expire(5000);
+        assertEquals(5, buffer.size());
+        assertEquals(7, buffer.getAverage());
+
+        buffer.expire(100000);
+        assertTrue(buffer.isEmpty());
+        assertEquals(-1, buffer.getAverage());
+
+        buffer.add(100, 200000);
+        assertFalse(buffer.isEmpty());
+        assertEquals(100, buffer.getAverage());
+    }
+
+    @Test
+    public void percentileTest() {
+        LatencyRingBuffer buffer = new LatencyRingBuffer(100);
+        for (int i = 0; i < 99; i++) {
+            buffer.add(1000, i);
+        }
+        buffer.add(1_000_000, 99);
+
+        long p50 = buffer.getPercentile(0.5);
+        assertTrue(p50 >= 1000 && p50 < 1250);
+        long p99 = buffer.getPercentile(0.99);
+        assertTrue(p99 >= 1000 && p99 < 1250);
+        long p100 = buffer.getPercentile(1);
+        assertTrue(p100 >= 1_000_000 && p100 < 1_250_000);
+
+        // evict the biggest sample
+        buffer.expire(100);
+        assertEquals(-1, buffer.getPercentile(1));
+    }
+
+    @Test
+    public void bucketBoundsTest() {
+        for (long value : new long[]{0, 1, 3, 4, 7, 8, 9, 100, 12345, 1L << 40, Long.MAX_VALUE}) {
+            int index = LatencyRingBuffer.bucketIndex(value);
+            assertTrue(value <= LatencyRingBuffer.bucketUpperBound(index));
+            if (index > 0) {
+                assertTrue(value > LatencyRingBuffer.bucketUpperBound(index - 1));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidCapacityTest() {
+        new LatencyRingBuffer(0);
+    }
+}
@@ -32,15 +32,13 @@ import org.openkilda.wfm.error.IslNotFoundException;
 import org.openkilda.wfm.error.SwitchNotFoundException;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.topology.isllatency.model.IslKey;
-import org.openkilda.wfm.topology.isllatency.model.LatencyRecord;
+import org.openkilda.wfm.topology.isllatency.model.LatencyRingBuffer;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.time.Instant;
-import java.util.LinkedList;
-import java.util.Queue;
 
 public class IslLatencyServiceTest extends Neo4jBasedTest {
     private static final SwitchId SWITCH_ID_1 = new SwitchId("00:00:00:00:00:00:00:01");
@@ -55,6 +53,7 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
     private static final IslKey FORWARD_ISL_KEY = new IslKey(SWITCH_ID_1, PORT_1, SWITCH_ID_2, PORT_2);
     public static final int LATENCY_UPDATE_INTERVAL = 100;
     public static final int LATENCY_UPDATE_TIME_RANGE = 10;
+    public static final int LATENCY_BUFFER_CAPACITY = 16;
 
 
     private SwitchRepository switchRepository;
@@ -65,7 +64,7 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
     public void setup() {
         islLatencyService = new IslLatencyService(
                 persistenceManager.getTransactionManager(), persistenceManager.getRepositoryFactory(),
-                LATENCY_UPDATE_INTERVAL, LATENCY_UPDATE_TIME_RANGE);
+                LATENCY_UPDATE_INTERVAL, LATENCY_UPDATE_TIME_RANGE, LATENCY_BUFFER_CAPACITY);
         switchRepository = persistenceManager.getRepositoryFactory().createSwitchRepository();
         islRepository = persistenceManager.getRepositoryFactory().createIslRepository();
 
@@ -107,11 +106,13 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
     public void handleOneWayIslLatencyTest() {
         assertTrue(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(1), System.currentTimeMillis());
+        islLatencyService.flush();
         assertForwardLatency(1);
 
         // second latency will be put in cache
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(10000), System.currentTimeMillis());
+        islLatencyService.flush();
         assertForwardLatency(1);
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
     }
@@ -121,12 +122,14 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
         assertTrue(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleRoundTripIslLatency(
                 createForwardRoundTripLatency(5), FORWARD_DESTINATION, System.currentTimeMillis());
+        islLatencyService.flush();
         assertForwardLatency(5);
 
         // second latency will be put in cache
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleRoundTripIslLatency(
                 createForwardRoundTripLatency(50000), FORWARD_DESTINATION, System.currentTimeMillis());
+        islLatencyService.flush();
         assertForwardLatency(5);
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
     }
@@ -135,23 +138,27 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
     public void handleRoundTripIslLatencyAfterOneWayIslLatencyTest() {
         assertTrue(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(7), System.currentTimeMillis());
+        islLatencyService.flush();
         assertForwardLatency(7);
 
         // second latency will be put in cache
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(70000), System.currentTimeMillis());
+        islLatencyService.flush();
         assertForwardLatency(7);
 
         // round trip latency will rewrite one way latency
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleRoundTripIslLatency(
                 createForwardRoundTripLatency(8), FORWARD_DESTINATION, System.currentTimeMillis());
+        islLatencyService.flush();
         assertForwardLatency(8);
 
         // second latency will be put in cache
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleRoundTripIslLatency(
                 createForwardRoundTripLatency(80000), FORWARD_DESTINATION, System.currentTimeMillis());
+        islLatencyService.flush();
         assertForwardLatency(8);
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
     }
@@ -163,6 +170,7 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
         IslRoundTripLatency data = new IslRoundTripLatency(SWITCH_ID_1, PORT_1, 1L, 0L);
         Endpoint destination = Endpoint.of(SWITCH_ID_2, PORT_2);
         islLatencyService.handleRoundTripIslLatency(data, destination, System.currentTimeMillis());
+        islLatencyService.flush();
 
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
     }
@@ -176,6 +184,7 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
 
         IslOneWayLatency nonExistent = new IslOneWayLatency(SWITCH_ID_1, fakePort, SWITCH_ID_2, fakePort, 3, PACKET_ID);
         islLatencyService.handleOneWayIslLatency(nonExistent, System.currentTimeMillis());
+        islLatencyService.flush();
 
         assertTrue(islLatencyService.isUpdateRequired(islKey));
     }
@@ -190,6 +199,7 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
         IslRoundTripLatency nonExistent = new IslRoundTripLatency(SWITCH_ID_1, fakePort, 4, PACKET_ID);
         islLatencyService.handleRoundTripIslLatency(
                 nonExistent, Endpoint.of(SWITCH_ID_2, fakePort), System.currentTimeMillis());
+        islLatencyService.flush();
 
         assertTrue(islLatencyService.isUpdateRequired(islKey));
     }
@@ -202,43 +212,55 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
     }
 
     @Test
-    public void calculateAverageLatencyTest() {
-        Queue<LatencyRecord> latencyRecords = new LinkedList<>();
+    public void flushCoalescesUpdatesTest() {
+        islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(3), System.currentTimeMillis());
+        assertForwardLatency(INITIAL_LATENCY);
 
-        for (int i = 1; i <= 5; i++) {
-            latencyRecords.add(new LatencyRecord(i, 1));
-        }
-        assertEquals(3, islLatencyService.calculateAverageLatency(latencyRecords));
+        // round trip latency replaces pending one way latency of the same ISL
+        islLatencyService.handleRoundTripIslLatency(
+                createForwardRoundTripLatency(4), FORWARD_DESTINATION, System.currentTimeMillis());
+        assertForwardLatency(INITIAL_LATENCY);
+
+        islLatencyService.flush();
+        assertForwardLatency(4);
     }
 
     @Test
-    public void calculateAverageLatencyEmptyTest() {
-        assertEquals(-1, islLatencyService.calculateAverageLatency(new LinkedList<>()));
+    public void flushSkipsNonExistentIslTest() {
+        int fakePort = 997;
+        IslKey islKey = new IslKey(SWITCH_ID_1, fakePort, SWITCH_ID_2, fakePort);
+
+        islLatencyService.handleOneWayIslLatency(
+                new IslOneWayLatency(SWITCH_ID_1, fakePort, SWITCH_ID_2, fakePort, 3, PACKET_ID),
+                System.currentTimeMillis());
+        islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(9), System.currentTimeMillis());
+        islLatencyService.flush();
+
+        assertForwardLatency(9);
+        assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
+        assertTrue(islLatencyService.isUpdateRequired(islKey));
     }
 
     @Test
-    public void pollExpiredRecordsTest() {
+    public void expireRecordsTest() {
         Instant time = Instant.now().minusSeconds(LATENCY_UPDATE_TIME_RANGE * 2);
-        Queue<LatencyRecord> latencyRecords = new LinkedList<>();
+        LatencyRingBuffer latencyRecords = new LatencyRingBuffer(LATENCY_BUFFER_CAPACITY);
 
         for (int i = 0; i < 5; i++) {
-            latencyRecords.add(new LatencyRecord(i, time.toEpochMilli()));
+            latencyRecords.add(i, time.toEpochMilli());
             time = time.plusSeconds(1);
         }
 
         time = Instant.now().minusSeconds(LATENCY_UPDATE_TIME_RANGE - 7);
         for (int i = 5; i < 10; i++) {
-            latencyRecords.add(new LatencyRecord(i, time.toEpochMilli()));
+            latencyRecords.add(i, time.toEpochMilli());
             time = time.plusSeconds(1);
         }
 
         assertEquals(10, latencyRecords.size());
-        islLatencyService.pollExpiredRecords(latencyRecords);
+        islLatencyService.expireRecords(latencyRecords);
         assertEquals(5, latencyRecords.size());
-
-        for (int i = 5; i < 10; i++) {
-            assertEquals(i, latencyRecords.poll().getLatency());
-        }
+        assertEquals(7, latencyRecords.getAverage());
     }
 
     private Switch createSwitch(SwitchId switchId) {
@@ -18,6 +18,7 @@ package org.openkilda.wfm.topology.network.service;
 import org.openkilda.messaging.command.reroute.RerouteFlows;
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.messaging.info.event.IslStatusUpdateNotification;
+import org.openkilda.messaging.info.event.SwitchStatusUpdateNotification;
 import org.openkilda.messaging.model.NoviBfdSession;
 import org.openkilda.model.Isl;
 import org.openkilda.model.IslDownReason;
@@ -217,4 +218,9 @@ public class NetworkIntegrationCarrier
     public void islStatusUpdateNotification(IslStatusUpdateNotification trigger) {
         // Real implementation emit event into external component, i.e.it is outside scope of this integration test.
     }
+
+    @Override
+    public void switchStatusUpdateNotification(SwitchStatusUpdateNotification trigger) {
+        // Real implementation emit event into external component, i.e.it is outside scope of this integration test.
+    }
 }
@@ -23,6 +23,7 @@ import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -40,11 +41,13 @@ import org.openkilda.model.SwitchId;
 import org.openkilda.model.SwitchStatus;
 import org.openkilda.persistence.Neo4jConfig;
 import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.TransactionCallback;
 import org.openkilda.persistence.TransactionCallbackWithoutResult;
 import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.FeatureTogglesRepository;
 import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.IslRepository.IslStatusUpdate;
 import org.openkilda.persistence.repositories.LinkPropsRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.repositories.SwitchRepository;
@@ -75,6 +78,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @RunWith(MockitoJUnitRunner.class)
 public class NetworkIslServiceTest {
@@ -374,6 +378,56 @@ public class NetworkIslServiceTest {
                                 && between(link.getTimeUnstable(), Instant.now()).getSeconds() < timeOutUnstableSec));
     }
 
+    @Test
+    public void writeBehindStatusChangesOfStoredIsl() {
+        long coalesceWindow = TimeUnit.SECONDS.toNanos(1);
+        service = new NetworkIslService(carrier, persistenceManager, NetworkOptions.builder()
+                .dbRepeatMaxDurationSeconds(30)
+                .dbWriteCoalesceWindow(coalesceWindow)
+                .dbWriteBatchSize(100)
+                .build());
+
+        Isl islAlphaBeta = makeIsl(endpointAlpha1, endpointBeta2).build();
+        Isl islBetaAlpha = makeIsl(endpointBeta2, endpointAlpha1).build();
+
+        IslReference reference = new IslReference(endpointAlpha1, endpointBeta2);
+        service.islUp(endpointAlpha1, reference, new IslDataHolder(islAlphaBeta));
+        mockPersistenceIsl(endpointAlpha1, endpointBeta2, islAlphaBeta);
+        mockPersistenceIsl(endpointBeta2, endpointAlpha1, islBetaAlpha);
+        service.islUp(endpointBeta2, reference, new IslDataHolder(islBetaAlpha));
+
+        // the UP -> DOWN transition triggers a reroute, so it is written before the reroute is emitted
+        reset(islRepository);
+        mockPersistenceIsl(endpointAlpha1, endpointBeta2, islAlphaBeta);
+        mockPersistenceIsl(endpointBeta2, endpointAlpha1, islBetaAlpha);
+        service.islDown(endpointAlpha1, reference, IslDownReason.PORT_DOWN);
+        verify(islRepository, atLeastOnce()).createOrUpdate(any());
+        verify(islRepository, never()).updateStatus(any());
+        verify(carrier).triggerReroute(any(RerouteAffectedFlows.class));
+
+        // a status change that is not followed by events is written behind
+        reset(islRepository);
+        service.islDown(endpointBeta2, reference, IslDownReason.PORT_DOWN);
+        verify(islRepository, never()).createOrUpdate(any());
+        verify(islRepository, never()).updateStatus(any());
+
+        long timeNow = System.nanoTime();
+        service.tick(timeNow + coalesceWindow);
+        verify(islRepository).updateStatus(argThat(updates -> {
+            Map<Endpoint, IslStatusUpdate> bySource = new HashMap<>();
+            updates.forEach(entry -> bySource.put(
+                    Endpoint.of(entry.getSrcSwitchId(), entry.getSrcPort()), entry));
+            IslStatusUpdate forward = bySource.get(endpointAlpha1);
+            IslStatusUpdate reverse = bySource.get(endpointBeta2);
+            return updates.size() == 2
+                    && forward.getStatus() == IslStatus.INACTIVE
+                    && forward.getActualStatus() == IslStatus.INACTIVE
+                    && reverse.getStatus() == IslStatus.INACTIVE
+                    && reverse.getActualStatus() == IslStatus.INACTIVE
+                    && reverse.getDownReason() == IslDownReason.PORT_DOWN;
+        }));
+    }
+
     @Test
     public void deleteWhenActive() {
         prepareAndPerformDelete(IslStatus.ACTIVE);
@@ -565,6 +619,51 @@ public class NetworkIslServiceTest {
         verifyIslBandwidthUpdate(50L, 300L);
     }
 
+    @Test
+    public void reconcileBandwidthOfActiveIslOncePerInterval() {
+        long reconcileInterval = TimeUnit.SECONDS.toNanos(60);
+        service = new NetworkIslService(carrier, persistenceManager, NetworkOptions.builder()
+                .dbRepeatMaxDurationSeconds(30)
+                .islBandwidthReconcileInterval(reconcileInterval)
+                .build());
+        doAnswer(invocation -> {
+            TransactionCallback<?, ?> tr = invocation.getArgument(1);
+            return tr.doInTransaction();
+        }).when(transactionManager).doInTransaction(Mockito.any(RetryPolicy.class),
+                                                    Mockito.any(TransactionCallback.class));
+
+        final Isl islAlphaBeta = makeIsl(endpointAlpha1, endpointBeta2).build();
+        final Isl islBetaAlpha = makeIsl(endpointBeta2, endpointAlpha1).build();
+        mockPersistenceIsl(endpointAlpha1, endpointBeta2, null);
+        mockPersistenceIsl(endpointBeta2, endpointAlpha1, null);
+        mockPersistenceLinkProps(endpointAlpha1, endpointBeta2, null);
+        mockPersistenceLinkProps(endpointBeta2, endpointAlpha1, null);
+
+        IslReference reference = new IslReference(endpointAlpha1, endpointBeta2);
+        service.islUp(endpointAlpha1, reference, new IslDataHolder(100L, 100L, 100L));
+        mockPersistenceIsl(endpointAlpha1, endpointBeta2, islAlphaBeta);
+        mockPersistenceIsl(endpointBeta2, endpointAlpha1, islBetaAlpha);
+        service.islUp(endpointBeta2, reference, new IslDataHolder(100L, 100L, 100L));
+
+        long timeNow = System.nanoTime();
+        service.bandwidthReconcileTick(timeNow);
+        verify(islRepository, never()).reconcileAvailableBandwidth(any(), any(Integer.class), any(),
+                                                                   any(Integer.class));
+
+        when(islRepository.reconcileAvailableBandwidth(endpointAlpha1.getDatapath(), endpointAlpha1.getPortNumber(),
+                                                       endpointBeta2.getDatapath(), endpointBeta2.getPortNumber()))
+                .thenReturn(10L);
+        service.bandwidthReconcileTick(timeNow + reconcileInterval);
+        service.bandwidthReconcileTick(timeNow + reconcileInterval + 1);
+
+        verify(islRepository).reconcileAvailableBandwidth(endpointAlpha1.getDatapath(),
+                                                          endpointAlpha1.getPortNumber(),
+                                                          endpointBeta2.getDatapath(), endpointBeta2.getPortNumber());
+        verify(islRepository).reconcileAvailableBandwidth(endpointBeta2.getDatapath(), endpointBeta2.getPortNumber(),
+                                                          endpointAlpha1.getDatapath(),
+                                                          endpointAlpha1.getPortNumber());
+    }
+
     private void verifyIslBandwidthUpdate(long expectedAlphaBetaBandwidth, long expectedBetaAlphaBandwidth) {
         // System.out.println(mockingDetails(islRepository).printInvocations());
         verify(islRepository, atLeastOnce()).createOrUpdate(argThat(
@@ -32,6 +32,7 @@ import org.openkilda.messaging.info.event.PortChangeType;
 import org.openkilda.messaging.info.event.PortInfoData;
 import org.openkilda.messaging.info.event.SwitchChangeType;
 import org.openkilda.messaging.info.event.SwitchInfoData;
+import org.openkilda.messaging.info.event.SwitchStatusUpdateNotification;
 import org.openkilda.messaging.info.switches.MetersSyncEntry;
 import org.openkilda.messaging.info.switches.RulesSyncEntry;
 import org.openkilda.messaging.info.switches.SwitchSyncResponse;
@@ -871,9 +872,15 @@ public class NetworkSwitchServiceTest {
                 new MetersSyncEntry(emptyList(), emptyList(), emptyList(), emptyList(), emptyList(), emptyList());
         SwitchSyncResponse response = new SwitchSyncResponse(alphaDatapath, rulesSyncEntry, metersSyncEntry);
         service.switchManagerResponse(response, captor.getValue());
+
+        verify(carrier).switchStatusUpdateNotification(new SwitchStatusUpdateNotification(
+                alphaDatapath, SwitchStatus.ACTIVE));
     }
 
     private void verifyNewSwitchAfterSwitchSync(List<SpeakerSwitchPortView> ports) {
+        verify(carrier).switchStatusUpdateNotification(new SwitchStatusUpdateNotification(
+                alphaDatapath, SwitchStatus.ACTIVE));
+
         verify(carrier).setupPortHandler(Endpoint.of(alphaDatapath, ports.get(0).getNumber()), null);
         verify(carrier).setupBfdPortHandler(Endpoint.of(alphaDatapath, ports.get(1).getNumber()), 1);
         verify(carrier).setupPortHandler(Endpoint.of(alphaDatapath, ports.get(2).getNumber()), null);
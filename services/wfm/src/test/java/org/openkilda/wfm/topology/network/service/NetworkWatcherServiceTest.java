@@ -59,7 +59,7 @@ public class NetworkWatcherServiceTest {
         w.addWatch(Endpoint.of(new SwitchId(2), 2), 3);
 
         assertThat(w.getConfirmedPackets().size(), is(0));
-        assertThat(w.getTimeouts().size(), is(3));
+        assertThat(w.getTimeouts().size(), is(5));
 
         verify(carrier, times(5)).sendDiscovery(any(DiscoverIslCommandData.class));
     }
@@ -90,8 +90,11 @@ public class NetworkWatcherServiceTest {
 
         assertThat(w.getConfirmedPackets().size(), is(1));
         assertThat(w.getProducedPackets().size(), is(2));
+        assertThat(w.getTimeouts().size(), is(3));
 
         w.tick(100);
+        verify(carrier).discoveryFailed(eq(Endpoint.of(new SwitchId(2), 1)), eq(2L), anyLong());
+        verify(carrier, times(1)).discoveryFailed(any(Endpoint.class), anyLong(), anyLong());
         assertThat(w.getTimeouts().size(), is(0));
     }
 
@@ -105,7 +108,7 @@ public class NetworkWatcherServiceTest {
         w.addWatch(Endpoint.of(new SwitchId(2), 2), 3);
 
         assertThat(w.getConfirmedPackets().size(), is(0));
-        assertThat(w.getTimeouts().size(), is(3));
+        assertThat(w.getTimeouts().size(), is(5));
         verify(carrier, times(5)).sendDiscovery(any(DiscoverIslCommandData.class));
 
         w.confirmation(Endpoint.of(new SwitchId(1), 1), 0);
@@ -134,7 +137,7 @@ public class NetworkWatcherServiceTest {
         w.addWatch(Endpoint.of(new SwitchId(2), 2), 3);
 
         assertThat(w.getConfirmedPackets().size(), is(0));
-        assertThat(w.getTimeouts().size(), is(3));
+        assertThat(w.getTimeouts().size(), is(5));
         verify(carrier, times(5)).sendDiscovery(any(DiscoverIslCommandData.class));
 
         w.confirmation(Endpoint.of(new SwitchId(1), 1), 0);
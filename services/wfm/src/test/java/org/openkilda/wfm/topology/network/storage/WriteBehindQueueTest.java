@@ -0,0 +1,154 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.network.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.persistence.TransactionCallbackWithoutResult;
+import org.openkilda.persistence.TransactionManager;
+import org.openkilda.wfm.topology.network.model.NetworkOptions;
+
+import com.google.common.collect.ImmutableMap;
+import net.jodah.failsafe.RetryPolicy;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.neo4j.driver.v1.exceptions.TransientException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(MockitoJUnitRunner.class)
+public class WriteBehindQueueTest {
+    private static final long COALESCE_WINDOW = TimeUnit.SECONDS.toNanos(1);
+
+    @Mock
+    private TransactionManager transactionManager;
+
+    @Before
+    public void setUp() {
+        when(transactionManager.makeRetryPolicyBlank()).thenReturn(new RetryPolicy());
+        doAnswer(invocation -> {
+            TransactionCallbackWithoutResult tr = invocation.getArgument(1);
+            tr.doInTransaction();
+            return null;
+        }).when(transactionManager).doInTransaction(any(RetryPolicy.class),
+                                                    any(TransactionCallbackWithoutResult.class));
+    }
+
+    @Test
+    public void coalesceUpdatesAndFlushOnTick() {
+        RecordingQueue queue = new RecordingQueue(10);
+
+        long timeStart = System.nanoTime();
+        queue.schedule("alpha", "down");
+        queue.schedule("beta", "down");
+        queue.schedule("alpha", "up");
+        assertEquals(2, queue.size());
+
+        queue.tick(timeStart);
+        assertTrue(queue.batches.isEmpty());
+
+        queue.tick(System.nanoTime() + COALESCE_WINDOW);
+        assertEquals(1, queue.batches.size());
+        assertEquals(ImmutableMap.of("alpha", "up", "beta", "down"), queue.batches.get(0));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void flushWhenBatchIsFull() {
+        RecordingQueue queue = new RecordingQueue(2);
+
+        queue.schedule("alpha", "down");
+        assertTrue(queue.batches.isEmpty());
+        queue.schedule("beta", "down");
+        assertEquals(ImmutableMap.of("alpha", "down", "beta", "down"), queue.batches.get(0));
+    }
+
+    @Test
+    public void cancelledUpdateIsNotWritten() {
+        RecordingQueue queue = new RecordingQueue(10);
+
+        queue.schedule("alpha", "down");
+        queue.schedule("beta", "down");
+        queue.cancel("alpha");
+
+        queue.flush();
+        assertEquals(ImmutableMap.of("beta", "down"), queue.batches.get(0));
+    }
+
+    @Test
+    public void failedBatchIsRetriedOnNextFlush() {
+        RecordingQueue queue = new RecordingQueue(10);
+        queue.failures = 1;
+
+        queue.schedule("alpha", "down");
+        queue.schedule("beta", "down");
+        queue.flush();
+        assertTrue(queue.batches.isEmpty());
+        assertEquals(2, queue.size());
+
+        queue.schedule("alpha", "up");
+        queue.flush();
+        assertEquals(ImmutableMap.of("alpha", "up", "beta", "down"), queue.batches.get(0));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void flushAndDisableOnShutdown() {
+        RecordingQueue queue = new RecordingQueue(10);
+
+        queue.schedule("alpha", "down");
+        assertTrue(queue.isEnabled());
+
+        queue.shutdown();
+        assertEquals(ImmutableMap.of("alpha", "down"), queue.batches.get(0));
+        assertEquals(0, queue.size());
+        assertFalse(queue.isEnabled());
+    }
+
+    private class RecordingQueue extends WriteBehindQueue<String, String> {
+        private final List<Map<String, String>> batches = new ArrayList<>();
+        private int failures;
+
+        RecordingQueue(int batchSize) {
+            super(transactionManager, NetworkOptions.builder()
+                    .dbRepeatMaxDurationSeconds(30)
+                    .dbWriteCoalesceWindow(COALESCE_WINDOW)
+                    .dbWriteBatchSize(batchSize)
+                    .build());
+        }
+
+        @Override
+        protected void write(Map<String, String> batch) {
+            if (0 < failures) {
+                failures--;
+                throw new TransientException("unit-test", "force write to fail");
+            }
+            batches.add(new LinkedHashMap<>(batch));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.opentsdb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.info.Datapoint;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class DatapointDedupCacheTest {
+    private static final long MUTE_MILLIS = 1000;
+    private static final long TIMESTAMP = 1570000000000L;
+
+    private final DatapointDedupCache cache = new DatapointDedupCache(MUTE_MILLIS);
+
+    @Test
+    public void shouldIgnoreOrderOfTags() {
+        Map<String, String> tags = new HashMap<>();
+        tags.put("switchid", "00000000000000ff");
+        tags.put("port", "1");
+
+        assertTrue(cache.isUpdateRequired(new Datapoint("metric", TIMESTAMP, tags, 1L)));
+        assertFalse(cache.isUpdateRequired(new Datapoint("metric", TIMESTAMP + 1,
+                ImmutableMap.of("port", "1", "switchid", "00000000000000ff"), 1L)));
+        assertTrue(cache.isUpdateRequired(new Datapoint("metric", TIMESTAMP + 1,
+                ImmutableMap.of("port", "00000000000000ff", "switchid", "1"), 1L)));
+
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void shouldCompareValuesLikeBoxedNumbers() {
+        assertTrue(cache.isUpdateRequired(new Datapoint("metric", TIMESTAMP, null, 1L)));
+        assertTrue(cache.isUpdateRequired(new Datapoint("metric", TIMESTAMP, null, 1)));
+        assertTrue(cache.isUpdateRequired(new Datapoint("metric", TIMESTAMP, null, 1.0)));
+        assertFalse(cache.isUpdateRequired(new Datapoint("metric", TIMESTAMP, null, 1.0)));
+    }
+
+    @Test
+    public void shouldRequireUpdateAfterMuteInterval() {
+        assertTrue(cache.isUpdateRequired(new Datapoint("metric", TIMESTAMP, null, 1L)));
+        assertFalse(cache.isUpdateRequired(new Datapoint("metric", TIMESTAMP + MUTE_MILLIS - 1, null, 1L)));
+        assertTrue(cache.isUpdateRequired(new Datapoint("metric", TIMESTAMP + MUTE_MILLIS, null, 1L)));
+    }
+
+    @Test
+    public void shouldDropSeriesNotUpdatedForGeneration() {
+        assertTrue(cache.isUpdateRequired(new Datapoint("active", TIMESTAMP, null, 1L)));
+        assertTrue(cache.isUpdateRequired(new Datapoint("idle", TIMESTAMP, null, 1L)));
+
+        cache.rotate();
+        assertFalse(cache.isUpdateRequired(new Datapoint("active", TIMESTAMP, null, 1L)));
+
+        cache.rotate();
+        assertFalse(cache.isUpdateRequired(new Datapoint("active", TIMESTAMP, null, 1L)));
+        assertTrue(cache.isUpdateRequired(new Datapoint("idle", TIMESTAMP, null, 1L)));
+    }
+
+    @Test
+    public void shouldKeepSeriesOnGrowth() {
+        int count = 100_000;
+        for (int i = 0; i < count; i++) {
+            assertTrue(cache.isUpdateRequired(new Datapoint("metric", TIMESTAMP, ImmutableMap.of("port", "" + i), 1)));
+        }
+        for (int i = 0; i < count; i++) {
+            assertFalse(cache.isUpdateRequired(new Datapoint("metric", TIMESTAMP, ImmutableMap.of("port", "" + i), 1)));
+        }
+        assertEquals(count, cache.size());
+    }
+}
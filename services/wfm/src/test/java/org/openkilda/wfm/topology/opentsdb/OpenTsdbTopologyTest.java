@@ -19,6 +19,7 @@ import static org.mockserver.integration.ClientAndServer.startClientAndServer;
 
 import org.openkilda.messaging.info.Datapoint;
 import org.openkilda.wfm.StableAbstractStormTest;
+import org.openkilda.wfm.share.metrics.DatapointBatch;
 import org.openkilda.wfm.topology.TestingKafkaBolt;
 
 import org.apache.storm.Testing;
@@ -34,6 +35,7 @@ import org.mockserver.model.HttpRequest;
 import org.mockserver.model.HttpResponse;
 import org.mockserver.verify.VerificationTimes;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
 
@@ -122,6 +124,27 @@ public class OpenTsdbTopologyTest extends StableAbstractStormTest {
         mockServer.verify(HttpRequest.request(), VerificationTimes.exactly(2));
     }
 
+    @Test
+    public void shouldSendEachDatapointOfBatch() throws Exception {
+        Datapoint datapoint1 = new Datapoint("metric", timestamp, Collections.emptyMap(), 123);
+        Datapoint datapoint2 = new Datapoint("metric", timestamp, Collections.emptyMap(), 456);
+
+        MockedSources sources = new MockedSources();
+
+        Testing.withTrackedCluster(clusterParam, (cluster) ->  {
+            OpenTsdbTopology topology = new TestingTargetTopology(new TestingKafkaBolt());
+
+            sources.addMockData(OpenTsdbTopology.OTSDB_SPOUT_ID,
+                    new Values(null, new DatapointBatch(Arrays.asList(datapoint1, datapoint2))));
+            completeTopologyParam.setMockedSources(sources);
+
+            StormTopology stormTopology = topology.createTopology();
+
+            Testing.completeTopology(cluster, stormTopology, completeTopologyParam);
+        });
+        mockServer.verify(HttpRequest.request(), VerificationTimes.exactly(2));
+    }
+
     private class TestingTargetTopology extends OpenTsdbTopology {
 
         private KafkaBolt kafkaBolt;
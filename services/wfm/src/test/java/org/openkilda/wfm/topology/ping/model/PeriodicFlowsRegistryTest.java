@@ -0,0 +1,89 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.ping.model;
+
+import org.openkilda.messaging.model.BidirectionalFlowDto;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class PeriodicFlowsRegistryTest {
+    private static final long SETTLE_TIME = 60;
+    private static final long RECONCILE_INTERVAL = 600;
+
+    @Test
+    public void reconcileOnStartAndByInterval() {
+        PeriodicFlowsRegistry registry = new PeriodicFlowsRegistry(SETTLE_TIME, RECONCILE_INTERVAL);
+        Assert.assertTrue(registry.isReconcileRequired(0));
+
+        registry.reconcile(ImmutableList.of(makeFlow("flow-a"), makeFlow("flow-b")), 0);
+        Assert.assertEquals(ImmutableSet.of("flow-a", "flow-b"), flowIds(registry.getFlows()));
+        Assert.assertFalse(registry.isReconcileRequired(RECONCILE_INTERVAL - 1));
+        Assert.assertTrue(registry.isReconcileRequired(RECONCILE_INTERVAL));
+
+        registry.reconcile(ImmutableList.of(makeFlow("flow-b")), RECONCILE_INTERVAL);
+        Assert.assertEquals(ImmutableSet.of("flow-b"), flowIds(registry.getFlows()));
+    }
+
+    @Test
+    public void changedFlowsAreReportedUntilSettled() {
+        PeriodicFlowsRegistry registry = new PeriodicFlowsRegistry(SETTLE_TIME, RECONCILE_INTERVAL);
+        registry.reconcile(ImmutableList.of(makeFlow("flow-a")), 0);
+
+        registry.markChanged("flow-a", 10);
+        registry.markChanged("flow-b", 20);
+        Assert.assertEquals(ImmutableSet.of("flow-a", "flow-b"), new HashSet<>(registry.takeChanged(30)));
+
+        // one more change of flow-b restarts its settle time
+        registry.markChanged("flow-b", 40);
+        Assert.assertEquals(ImmutableSet.of("flow-a", "flow-b"), new HashSet<>(registry.takeChanged(10 + SETTLE_TIME)));
+        Assert.assertEquals(ImmutableSet.of("flow-b"), new HashSet<>(registry.takeChanged(40 + SETTLE_TIME)));
+        Assert.assertTrue(registry.takeChanged(40 + SETTLE_TIME).isEmpty());
+    }
+
+    @Test
+    public void updateAndRemoveFlows() {
+        PeriodicFlowsRegistry registry = new PeriodicFlowsRegistry(SETTLE_TIME, RECONCILE_INTERVAL);
+        registry.reconcile(ImmutableList.of(makeFlow("flow-a")), 0);
+
+        registry.update("flow-b", makeFlow("flow-b"));
+        Assert.assertEquals(ImmutableSet.of("flow-a", "flow-b"), flowIds(registry.getFlows()));
+
+        registry.update("flow-a", null);
+        Assert.assertEquals(ImmutableSet.of("flow-b"), flowIds(registry.getFlows()));
+    }
+
+    private static BidirectionalFlowDto makeFlow(String flowId) {
+        return BidirectionalFlowDto.builder()
+                .flowId(flowId)
+                .periodicPings(true)
+                .build();
+    }
+
+    private static Set<String> flowIds(Collection<BidirectionalFlowDto> flows) {
+        return flows.stream()
+                .map(BidirectionalFlowDto::getFlowId)
+                .collect(Collectors.toSet());
+    }
+}
@@ -119,6 +119,8 @@ public class StatsTopologyTest extends AbstractStormTest {
         Properties configOverlay = new Properties();
         configOverlay.setProperty("neo4j.uri", embeddedNeo4jDb.getConnectionUri());
         configOverlay.setProperty("opentsdb.metric.prefix", METRIC_PREFIX);
+        // the test consumer reads JSON encoded datapoints
+        configOverlay.setProperty("opentsdb.datapoint.binary-encoding.enabled", "false");
         configOverlay.setProperty("neo4j.indexes.auto", "update"); // ask to create indexes/constraints if needed
 
         launchEnvironment.setupOverlay(configOverlay);
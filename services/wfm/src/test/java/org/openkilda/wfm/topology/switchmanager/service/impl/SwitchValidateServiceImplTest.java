@@ -18,6 +18,8 @@ package org.openkilda.wfm.topology.switchmanager.service.impl;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -29,10 +31,12 @@ import static org.mockito.Mockito.when;
 
 import org.openkilda.config.provider.PropertiesBasedConfigurationProvider;
 import org.openkilda.messaging.command.CommandData;
+import org.openkilda.messaging.command.switches.SwitchValidateAllRequest;
 import org.openkilda.messaging.command.switches.SwitchValidateRequest;
 import org.openkilda.messaging.error.ErrorData;
 import org.openkilda.messaging.error.ErrorMessage;
 import org.openkilda.messaging.error.ErrorType;
+import org.openkilda.messaging.info.ChunkedInfoMessage;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.meter.MeterEntry;
 import org.openkilda.messaging.info.meter.SwitchMeterEntries;
@@ -40,10 +44,14 @@ import org.openkilda.messaging.info.rule.FlowEntry;
 import org.openkilda.messaging.info.rule.SwitchExpectedDefaultFlowEntries;
 import org.openkilda.messaging.info.rule.SwitchFlowEntries;
 import org.openkilda.messaging.info.switches.SwitchValidationResponse;
+import org.openkilda.messaging.info.switches.SwitchValidationResultEntry;
+import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchStatus;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.SwitchRepository;
 import org.openkilda.wfm.topology.switchmanager.SwitchManagerTopologyConfig;
 import org.openkilda.wfm.topology.switchmanager.model.ValidateMetersResult;
 import org.openkilda.wfm.topology.switchmanager.model.ValidateRulesResult;
@@ -58,6 +66,8 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -75,6 +85,12 @@ public class SwitchValidateServiceImplTest {
     @Mock
     private SwitchManagerCarrier carrier;
 
+    @Mock
+    private SwitchRepository switchRepository;
+
+    @Mock
+    private FlowPathRepository flowPathRepository;
+
     private SwitchValidateServiceImpl service;
     private SwitchValidateRequest request;
 
@@ -89,9 +105,9 @@ public class SwitchValidateServiceImplTest {
                 configurationProvider.getConfiguration(SwitchManagerTopologyConfig.class);
         when(carrier.getTopologyConfig()).thenReturn(topologyConfig);
         RepositoryFactory repositoryFactory = Mockito.mock(RepositoryFactory.class);
-        FlowPathRepository flowPathRepository = Mockito.mock(FlowPathRepository.class);
 
         when(repositoryFactory.createFlowPathRepository()).thenReturn(flowPathRepository);
+        when(repositoryFactory.createSwitchRepository()).thenReturn(switchRepository);
         when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
 
         service = new SwitchValidateServiceImpl(carrier, persistenceManager);
@@ -251,6 +267,87 @@ public class SwitchValidateServiceImplTest {
         verifyNoMoreInteractions(validationService);
     }
 
+    @Test
+    public void validateAllSwitchesWithLimitedConcurrency() {
+        Properties properties = new Properties();
+        properties.setProperty("swmanager.validate.all.concurrency", "2");
+        SwitchManagerTopologyConfig topologyConfig = new PropertiesBasedConfigurationProvider(properties)
+                .getConfiguration(SwitchManagerTopologyConfig.class);
+        when(carrier.getTopologyConfig()).thenReturn(topologyConfig);
+        when(validationService.withPreloadedPaths(any())).thenReturn(validationService);
+        SwitchId inactiveSwitchId = new SwitchId(0x0000000000000004L);
+        when(switchRepository.findAll()).thenReturn(Arrays.asList(
+                buildSwitch(new SwitchId(0x0000000000000001L), SwitchStatus.ACTIVE),
+                buildSwitch(new SwitchId(0x0000000000000002L), SwitchStatus.ACTIVE),
+                buildSwitch(new SwitchId(0x0000000000000003L), SwitchStatus.ACTIVE),
+                buildSwitch(inactiveSwitchId, SwitchStatus.INACTIVE)));
+
+        service.handleSwitchValidateAllRequest(KEY, new SwitchValidateAllRequest(false));
+
+        verify(carrier).cancelTimeoutCallback(eq(KEY));
+        verify(flowPathRepository).findByEndpointOrSegmentDestSwitches(
+                eq(Arrays.asList(new SwitchId(0x0000000000000001L), new SwitchId(0x0000000000000002L))));
+        verify(validationService).withPreloadedPaths(any());
+        ArgumentCaptor<String> subKeyCaptor = ArgumentCaptor.forClass(String.class);
+        verify(carrier, times(2)).registerTimeoutCallback(subKeyCaptor.capture());
+        List<String> subKeys = subKeyCaptor.getAllValues();
+        ArgumentCaptor<CommandData> commandCaptor = ArgumentCaptor.forClass(CommandData.class);
+        verify(carrier, times(2)).sendCommandToSpeaker(eq(subKeys.get(0)), commandCaptor.capture());
+        verify(carrier, times(2)).sendCommandToSpeaker(eq(subKeys.get(1)), commandCaptor.capture());
+
+        completeSweepValidation(subKeys.get(0), new SwitchId(0x0000000000000001L));
+
+        // expected state of the next chunk is read when it is started
+        verify(flowPathRepository).findByEndpointOrSegmentDestSwitches(
+                eq(singletonList(new SwitchId(0x0000000000000003L))));
+        verify(validationService, times(2)).withPreloadedPaths(any());
+        verify(carrier, times(3)).registerTimeoutCallback(subKeyCaptor.capture());
+        String thirdSubKey = subKeyCaptor.getValue();
+        verify(carrier, times(2)).sendCommandToSpeaker(eq(thirdSubKey), commandCaptor.capture());
+
+        service.handleTaskTimeout(subKeys.get(1));
+        completeSweepValidation(thirdSubKey, new SwitchId(0x0000000000000003L));
+
+        ArgumentCaptor<ChunkedInfoMessage> chunkCaptor = ArgumentCaptor.forClass(ChunkedInfoMessage.class);
+        verify(carrier, times(3)).response(eq(KEY), chunkCaptor.capture());
+        List<ChunkedInfoMessage> chunks = chunkCaptor.getAllValues();
+        for (ChunkedInfoMessage chunk : chunks) {
+            assertEquals(3, chunk.getTotalMessages());
+            assertNotEquals(inactiveSwitchId, ((SwitchValidationResultEntry) chunk.getData()).getSwitchId());
+        }
+
+        SwitchValidationResultEntry first = (SwitchValidationResultEntry) chunks.get(0).getData();
+        assertEquals(new SwitchId(0x0000000000000001L), first.getSwitchId());
+        assertEquals(singletonList(flowEntry.getCookie()), first.getResult().getRules().getMissing());
+        SwitchValidationResultEntry timedOut = (SwitchValidationResultEntry) chunks.get(1).getData();
+        assertEquals(new SwitchId(0x0000000000000002L), timedOut.getSwitchId());
+        assertNull(timedOut.getResult());
+        assertNotNull(timedOut.getError());
+        assertEquals(new SwitchId(0x0000000000000003L), ((SwitchValidationResultEntry) chunks.get(2).getData())
+                .getSwitchId());
+    }
+
+    @Test
+    public void validateAllWithoutSwitches() {
+        service.handleSwitchValidateAllRequest(KEY, new SwitchValidateAllRequest(true));
+
+        verify(carrier).cancelTimeoutCallback(eq(KEY));
+        ArgumentCaptor<ChunkedInfoMessage> chunkCaptor = ArgumentCaptor.forClass(ChunkedInfoMessage.class);
+        verify(carrier).response(eq(KEY), chunkCaptor.capture());
+        assertEquals(0, chunkCaptor.getValue().getTotalMessages());
+        verifyZeroInteractions(validationService);
+    }
+
+    private void completeSweepValidation(String subKey, SwitchId switchId) {
+        service.handleFlowEntriesResponse(subKey, new SwitchFlowEntries(switchId, singletonList(flowEntry)));
+        service.handleExpectedDefaultFlowEntriesResponse(subKey,
+                new SwitchExpectedDefaultFlowEntries(switchId, emptyList()));
+        verify(carrier).cancelTimeoutCallback(eq(subKey));
+    }
+
+    private Switch buildSwitch(SwitchId switchId, SwitchStatus status) {
+        return Switch.builder().switchId(switchId).status(status).build();
+    }
 
     private void handleRequestAndInitDataReceive() {
         verify(carrier, times(1)).getTopologyConfig();
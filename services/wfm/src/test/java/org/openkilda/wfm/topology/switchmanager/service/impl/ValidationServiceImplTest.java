@@ -28,7 +28,10 @@ import static org.mockito.Mockito.when;
 
 import org.openkilda.config.provider.PropertiesBasedConfigurationProvider;
 import org.openkilda.messaging.info.meter.MeterEntry;
+import org.openkilda.messaging.info.rule.FlowApplyActions;
 import org.openkilda.messaging.info.rule.FlowEntry;
+import org.openkilda.messaging.info.rule.FlowInstructions;
+import org.openkilda.messaging.info.rule.FlowMatchField;
 import org.openkilda.messaging.info.switches.MeterInfoEntry;
 import org.openkilda.model.Cookie;
 import org.openkilda.model.DetectConnectedDevices;
@@ -37,6 +40,7 @@ import org.openkilda.model.FlowPath;
 import org.openkilda.model.LldpResources;
 import org.openkilda.model.MeterId;
 import org.openkilda.model.PathId;
+import org.openkilda.model.PathSegment;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.PersistenceManager;
@@ -54,6 +58,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Properties;
@@ -205,6 +210,68 @@ public class ValidationServiceImplTest {
         assertEquals(ImmutableSet.of(0x8000000000000004L), new HashSet<>(response.getExcessRules()));
     }
 
+    @Test
+    public void validateRulesProperContent() {
+        Flow flow = createFlowWithTransitSwitch();
+        ValidationService validationService = new ValidationServiceImpl(
+                persistenceManager().withPaths(flow.getForwardPath(), flow.getReversePath()).build(), topologyConfig);
+
+        List<FlowEntry> flowEntries = Lists.newArrayList(
+                buildFlowEntry(1L, "1", "3", 32L),
+                buildFlowEntry(2L, "3", "1", null));
+        ValidateRulesResult response = validationService.validateRules(SWITCH_ID_A, flowEntries, emptyList());
+        assertTrue(response.getMissingRules().isEmpty());
+        assertEquals(ImmutableSet.of(1L, 2L), new HashSet<>(response.getProperRules()));
+        assertTrue(response.getExcessRules().isEmpty());
+        assertTrue(response.getMisconfiguredRules().isEmpty());
+    }
+
+    @Test
+    public void validateRulesMisconfiguredContent() {
+        Flow flow = createFlowWithTransitSwitch();
+        ValidationService validationService = new ValidationServiceImpl(
+                persistenceManager().withPaths(flow.getForwardPath(), flow.getReversePath()).build(), topologyConfig);
+
+        List<FlowEntry> flowEntries = Lists.newArrayList(
+                buildFlowEntry(1L, "1", "3", 33L),
+                buildFlowEntry(2L, "4", "1", null));
+        ValidateRulesResult response = validationService.validateRules(SWITCH_ID_A, flowEntries, emptyList());
+        assertTrue(response.getMissingRules().isEmpty());
+        assertTrue(response.getProperRules().isEmpty());
+        assertTrue(response.getExcessRules().isEmpty());
+        assertEquals(ImmutableSet.of(1L, 2L), new HashSet<>(response.getMisconfiguredRules()));
+    }
+
+    @Test
+    public void validateRulesTransitContent() {
+        Flow flow = createFlowWithTransitSwitch();
+        ValidationService validationService = new ValidationServiceImpl(
+                persistenceManager().withPaths(flow.getForwardPath(), flow.getReversePath()).build(), topologyConfig);
+
+        List<FlowEntry> flowEntries = Lists.newArrayList(
+                buildFlowEntry(1L, "5", "6", null),
+                buildFlowEntry(2L, "6", "4", null));
+        ValidateRulesResult response = validationService.validateRules(SWITCH_ID_C, flowEntries, emptyList());
+        assertEquals(ImmutableSet.of(1L), new HashSet<>(response.getProperRules()));
+        assertEquals(ImmutableSet.of(2L), new HashSet<>(response.getMisconfiguredRules()));
+    }
+
+    @Test
+    public void validateRulesWithPreloadedPaths() {
+        Flow flow = createFlowWithTransitSwitch();
+        ValidationService validationService = new ValidationServiceImpl(persistenceManager().build(), topologyConfig)
+                .withPreloadedPaths(Lists.newArrayList(flow.getForwardPath(), flow.getReversePath()));
+
+        List<FlowEntry> flowEntries = Lists.newArrayList(
+                buildFlowEntry(1L, "5", "6", null),
+                buildFlowEntry(2L, "6", "5", null));
+        ValidateRulesResult response = validationService.validateRules(SWITCH_ID_C, flowEntries, emptyList());
+        assertEquals(ImmutableSet.of(1L, 2L), new HashSet<>(response.getProperRules()));
+
+        response = validationService.validateRules(SWITCH_ID_E, emptyList(), emptyList());
+        assertTrue(response.getMissingRules().isEmpty());
+    }
+
     @Test
     public void validateMetersEmpty() {
         ValidationService validationService = new ValidationServiceImpl(persistenceManager().build(), topologyConfig);
@@ -351,6 +418,43 @@ public class ValidationServiceImplTest {
         return flow;
     }
 
+    private Flow createFlowWithTransitSwitch() {
+        Switch switchC = Switch.builder().switchId(SWITCH_ID_C).build();
+        Flow flow = Flow.builder()
+                .flowId("flow")
+                .srcSwitch(switchA)
+                .srcPort(1)
+                .destSwitch(switchB)
+                .destPort(2)
+                .detectConnectedDevices(new DetectConnectedDevices(false, false, false, false))
+                .build();
+
+        FlowPath forwardPath = buildFlowPath(flow, switchA, switchB, "1", 1, null);
+        forwardPath.setMeterId(new MeterId(32));
+        forwardPath.setSegments(Lists.newArrayList(
+                PathSegment.builder().srcSwitch(switchA).srcPort(3).destSwitch(switchC).destPort(5).build(),
+                PathSegment.builder().srcSwitch(switchC).srcPort(6).destSwitch(switchB).destPort(7).build()));
+        FlowPath reversePath = buildFlowPath(flow, switchB, switchA, "2", 2, null);
+        reversePath.setSegments(Lists.newArrayList(
+                PathSegment.builder().srcSwitch(switchB).srcPort(7).destSwitch(switchC).destPort(6).build(),
+                PathSegment.builder().srcSwitch(switchC).srcPort(5).destSwitch(switchA).destPort(3).build()));
+
+        flow.setForwardPath(forwardPath);
+        flow.setReversePath(reversePath);
+        return flow;
+    }
+
+    private static FlowEntry buildFlowEntry(long cookie, String inPort, String output, Long meterId) {
+        return FlowEntry.builder()
+                .cookie(cookie)
+                .match(FlowMatchField.builder().inPort(inPort).build())
+                .instructions(FlowInstructions.builder()
+                        .applyActions(FlowApplyActions.builder().flowOutput(output).build())
+                        .goToMeter(meterId)
+                        .build())
+                .build();
+    }
+
     private static FlowPath buildFlowPath(Flow flow, Switch srcSwitch, Switch dstSwitch, String pathId, long cookie,
                                           Long lldpCookie) {
         LldpResources lldpResources = null;
@@ -376,9 +480,15 @@ public class ValidationServiceImplTest {
 
         private long[] segmentsCookies = new long[0];
         private long[] ingressCookies = new long[0];
+        private FlowPath[] contentPaths = new FlowPath[0];
         private LldpResources[] lldpResources = new LldpResources[0];
         private DetectConnectedDevices detectConnectedDevices = new DetectConnectedDevices(false, false, false, false);
 
+        private PersistenceManagerBuilder withPaths(FlowPath... paths) {
+            contentPaths = paths;
+            return this;
+        }
+
         private PersistenceManagerBuilder withSegmentsCookies(long... cookies) {
             segmentsCookies = cookies;
             return this;
@@ -400,13 +510,10 @@ public class ValidationServiceImplTest {
         }
 
         private PersistenceManager build() {
-            List<FlowPath> pathsBySegment = new ArrayList<>(segmentsCookies.length);
+            List<FlowPath> flowPaths = new ArrayList<>(segmentsCookies.length + ingressCookies.length);
             for (long cookie : segmentsCookies) {
-                FlowPath flowPath = mock(FlowPath.class);
-                when(flowPath.getCookie()).thenReturn(new Cookie(cookie));
-                pathsBySegment.add(flowPath);
+                flowPaths.add(buildSegmentFlowPath(cookie));
             }
-            List<FlowPath> flowPaths = new ArrayList<>(ingressCookies.length);
             for (int i = 0; i < ingressCookies.length; i++) {
                 long cookie = ingressCookies[i];
                 Flow flow = buildFlow(cookie, "flow_");
@@ -416,8 +523,8 @@ public class ValidationServiceImplTest {
                 }
                 flowPaths.add(flowPath);
             }
-            when(flowPathRepository.findBySegmentDestSwitch(any())).thenReturn(pathsBySegment);
-            when(flowPathRepository.findByEndpointSwitchIncludeProtected(any())).thenReturn(flowPaths);
+            flowPaths.addAll(Arrays.asList(contentPaths));
+            when(flowPathRepository.findByEndpointOrSegmentDestSwitch(any())).thenReturn(flowPaths);
 
             FlowPath flowPathA = mock(FlowPath.class);
             when(flowPathA.getSrcSwitch()).thenReturn(switchB);
@@ -467,6 +574,19 @@ public class ValidationServiceImplTest {
             return persistenceManager;
         }
 
+        private FlowPath buildSegmentFlowPath(long cookie) {
+            Flow flow = Flow.builder()
+                    .srcSwitch(switchB)
+                    .destSwitch(switchA)
+                    .detectConnectedDevices(detectConnectedDevices)
+                    .flowId("segment_flow_" + cookie)
+                    .build();
+            FlowPath flowPath = buildFlowPath(flow, switchB, switchA, "segment_path_" + cookie, cookie, null);
+            flowPath.setSegments(singletonList(PathSegment.builder()
+                    .srcSwitch(switchB).srcPort(1).destSwitch(switchA).destPort(2).build()));
+            return flowPath;
+        }
+
         private Flow buildFlow(long cookie, String flowIdPrefix) {
             return Flow.builder()
                     .srcSwitch(switchA)